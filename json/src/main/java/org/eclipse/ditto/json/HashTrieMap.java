@@ -0,0 +1,538 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An immutable map implemented as hash array mapped trie. {@link #with(Object, Object)} and {@link #without(Object)}
+ * return a new map which shares all nodes with this map except the ones on the path to the changed entry, so updating a
+ * large map copies O(log n) small arrays instead of all entries. The iteration order is unspecified.
+ * <p>
+ * The modifying methods of {@link Map} throw an {@link UnsupportedOperationException}. Neither keys nor values may be
+ * {@code null}.
+ * </p>
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+@Immutable
+public final class HashTrieMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_SHIFT = 30;
+
+    // 7 levels of bitmap nodes consume all bits of the hash, collision nodes are the 8th level
+    private static final int MAX_DEPTH = 8;
+
+    private static final HashTrieMap<?, ?> EMPTY = new HashTrieMap<>(null, 0);
+
+    @Nullable private final BitmapNode root;
+    private final int size;
+    private int hashCode;
+
+    private HashTrieMap(@Nullable final BitmapNode root, final int size) {
+        this.root = root;
+        this.size = size;
+        hashCode = 0;
+    }
+
+    /**
+     * Returns the empty {@code HashTrieMap}.
+     *
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     * @return the empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> HashTrieMap<K, V> empty() {
+        return (HashTrieMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a {@code HashTrieMap} containing the entries of the given map.
+     *
+     * @param map the map to copy.
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     * @return the map; {@code map} itself if it is a {@code HashTrieMap}.
+     * @throws NullPointerException if {@code map} is {@code null} or contains {@code null} keys or values.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> HashTrieMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+        requireNonNull(map, "The map to copy must not be null!");
+        if (map instanceof HashTrieMap) {
+            return (HashTrieMap<K, V>) map;
+        }
+        HashTrieMap<K, V> result = empty();
+        for (final Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a map which associates the given key with the given value and contains all other entries of this map.
+     *
+     * @param key the key.
+     * @param value the value.
+     * @return the new map or this map if it already associates {@code key} with {@code value}.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public HashTrieMap<K, V> with(final K key, final V value) {
+        requireNonNull(key, "The key must not be null!");
+        requireNonNull(value, "The value must not be null!");
+
+        final Leaf leaf = new Leaf(key, value, spread(key.hashCode()));
+        if (null == root) {
+            return new HashTrieMap<>(new BitmapNode(bitPosition(leaf.hash, 0), new Object[]{leaf}), 1);
+        }
+        final int[] sizeChange = new int[1];
+        final BitmapNode newRoot = (BitmapNode) root.put(leaf, 0, sizeChange);
+        return newRoot == root ? this : new HashTrieMap<>(newRoot, size + sizeChange[0]);
+    }
+
+    /**
+     * Returns a map which contains all entries of this map except the one of the given key.
+     *
+     * @param key the key.
+     * @return the new map or this map if it does not contain {@code key}.
+     */
+    public HashTrieMap<K, V> without(final Object key) {
+        if (null == root || null == key) {
+            return this;
+        }
+        final Node newRoot = root.remove(key, spread(key.hashCode()), 0);
+        if (newRoot == root) {
+            return this;
+        } else if (null == newRoot) {
+            return empty();
+        }
+        return new HashTrieMap<>((BitmapNode) newRoot, size - 1);
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(@Nullable final Object key) {
+        final Leaf leaf = findLeaf(key);
+        return null != leaf ? (V) leaf.getValue() : null;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return null != findLeaf(key);
+    }
+
+    @Nullable
+    private Leaf findLeaf(@Nullable final Object key) {
+        if (null == root || null == key) {
+            return null;
+        }
+        return root.find(key, spread(key.hashCode()), 0);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new LeafIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Indicates whether this map and the given map contain the same keys with values which are equal according to
+     * the given predicate. Subtrees shared by both maps are not compared entry by entry, so comparing a map with an
+     * updated version of itself costs O(log n).
+     *
+     * @param other the other map.
+     * @param valuesEqual the predicate for the values of the same key.
+     * @return whether the maps are equal.
+     */
+    boolean hasEqualEntries(final HashTrieMap<?, ?> other, final BiPredicate<Object, Object> valuesEqual) {
+        if (this == other) {
+            return true;
+        }
+        if (size != other.size) {
+            return false;
+        }
+        return null == root || nodesEqual(root, other.root, valuesEqual);
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (o instanceof HashTrieMap) {
+            return hasEqualEntries((HashTrieMap<?, ?>) o, Objects::equals);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+        if (0 == result) {
+            result = super.hashCode();
+            hashCode = result;
+        }
+        return result;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bitPosition(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static boolean nodesEqual(@Nullable final Object left, @Nullable final Object right,
+            final BiPredicate<Object, Object> valuesEqual) {
+
+        if (left == right) {
+            return true;
+        } else if (left instanceof Leaf && right instanceof Leaf) {
+            final Leaf leftLeaf = (Leaf) left;
+            final Leaf rightLeaf = (Leaf) right;
+            return leftLeaf.hash == rightLeaf.hash && leftLeaf.getKey().equals(rightLeaf.getKey()) &&
+                    valuesEqual.test(leftLeaf.getValue(), rightLeaf.getValue());
+        } else if (left instanceof BitmapNode && right instanceof BitmapNode) {
+            final BitmapNode leftNode = (BitmapNode) left;
+            final BitmapNode rightNode = (BitmapNode) right;
+            if (leftNode.bitmap != rightNode.bitmap) {
+                return false;
+            }
+            for (int i = 0; i < leftNode.slots.length; i++) {
+                if (!nodesEqual(leftNode.slots[i], rightNode.slots[i], valuesEqual)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (left instanceof CollisionNode && right instanceof CollisionNode) {
+            final CollisionNode leftNode = (CollisionNode) left;
+            final CollisionNode rightNode = (CollisionNode) right;
+            if (leftNode.slots.length != rightNode.slots.length) {
+                return false;
+            }
+            for (final Object slot : leftNode.slots) {
+                final Leaf leftLeaf = (Leaf) slot;
+                final Leaf rightLeaf = rightNode.find(leftLeaf.getKey(), leftLeaf.hash, 0);
+                if (null == rightLeaf || !valuesEqual.test(leftLeaf.getValue(), rightLeaf.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // as the trie has a canonical shape for each set of keys, differently shaped tries have different keys
+        return false;
+    }
+
+    private static Object[] insert(final Object[] slots, final int index, final Object slot) {
+        final Object[] result = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, result, 0, index);
+        result[index] = slot;
+        System.arraycopy(slots, index, result, index + 1, slots.length - index);
+        return result;
+    }
+
+    private static Object[] replace(final Object[] slots, final int index, final Object slot) {
+        final Object[] result = slots.clone();
+        result[index] = slot;
+        return result;
+    }
+
+    private static Object[] removeAt(final Object[] slots, final int index) {
+        final Object[] result = new Object[slots.length - 1];
+        System.arraycopy(slots, 0, result, 0, index);
+        System.arraycopy(slots, index + 1, result, index, slots.length - index - 1);
+        return result;
+    }
+
+    private static Node merge(final Leaf first, final Leaf second, final int shift) {
+        if (shift > MAX_SHIFT) {
+            return new CollisionNode(new Object[]{first, second});
+        }
+        final int firstIndex = (first.hash >>> shift) & MASK;
+        final int secondIndex = (second.hash >>> shift) & MASK;
+        if (firstIndex == secondIndex) {
+            return new BitmapNode(1 << firstIndex, new Object[]{merge(first, second, shift + BITS)});
+        }
+        final Object[] slots = firstIndex < secondIndex
+                ? new Object[]{first, second}
+                : new Object[]{second, first};
+        return new BitmapNode((1 << firstIndex) | (1 << secondIndex), slots);
+    }
+
+    /**
+     * An entry of the trie.
+     */
+    private static final class Leaf extends SimpleImmutableEntry<Object, Object> {
+
+        private static final long serialVersionUID = 4302466585262405276L;
+
+        private final int hash;
+
+        private Leaf(final Object key, final Object value, final int hash) {
+            super(key, value);
+            this.hash = hash;
+        }
+
+        private boolean hasKey(final Object key, final int hash) {
+            return this.hash == hash && getKey().equals(key);
+        }
+
+    }
+
+    /**
+     * An inner node of the trie; its slots are leaves or nodes.
+     */
+    private abstract static class Node {
+
+        final Object[] slots;
+
+        private Node(final Object[] slots) {
+            this.slots = slots;
+        }
+
+        @Nullable
+        abstract Leaf find(Object key, int hash, int shift);
+
+        abstract Node put(Leaf leaf, int shift, int[] sizeChange);
+
+        @Nullable
+        abstract Node remove(Object key, int hash, int shift);
+
+        @Nullable
+        Leaf getSingleLeaf() {
+            return 1 == slots.length && slots[0] instanceof Leaf ? (Leaf) slots[0] : null;
+        }
+
+    }
+
+    private static final class BitmapNode extends Node {
+
+        private final int bitmap;
+
+        private BitmapNode(final int bitmap, final Object[] slots) {
+            super(slots);
+            this.bitmap = bitmap;
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Nullable
+        @Override
+        Leaf find(final Object key, final int hash, final int shift) {
+            final int bit = bitPosition(hash, shift);
+            if (0 == (bitmap & bit)) {
+                return null;
+            }
+            final Object slot = slots[index(bit)];
+            if (slot instanceof Node) {
+                return ((Node) slot).find(key, hash, shift + BITS);
+            }
+            final Leaf leaf = (Leaf) slot;
+            return leaf.hasKey(key, hash) ? leaf : null;
+        }
+
+        @Override
+        Node put(final Leaf leaf, final int shift, final int[] sizeChange) {
+            final int bit = bitPosition(leaf.hash, shift);
+            final int index = index(bit);
+            if (0 == (bitmap & bit)) {
+                sizeChange[0] = 1;
+                return new BitmapNode(bitmap | bit, insert(slots, index, leaf));
+            }
+            final Object slot = slots[index];
+            if (slot instanceof Node) {
+                final Node child = ((Node) slot).put(leaf, shift + BITS, sizeChange);
+                return child == slot ? this : new BitmapNode(bitmap, replace(slots, index, child));
+            }
+            final Leaf existingLeaf = (Leaf) slot;
+            if (existingLeaf.hasKey(leaf.getKey(), leaf.hash)) {
+                return existingLeaf.getValue() == leaf.getValue()
+                        ? this
+                        : new BitmapNode(bitmap, replace(slots, index, leaf));
+            }
+            sizeChange[0] = 1;
+            return new BitmapNode(bitmap, replace(slots, index, merge(existingLeaf, leaf, shift + BITS)));
+        }
+
+        @Nullable
+        @Override
+        Node remove(final Object key, final int hash, final int shift) {
+            final int bit = bitPosition(hash, shift);
+            if (0 == (bitmap & bit)) {
+                return this;
+            }
+            final int index = index(bit);
+            final Object slot = slots[index];
+            if (slot instanceof Node) {
+                final Node child = ((Node) slot).remove(key, hash, shift + BITS);
+                if (child == slot) {
+                    return this;
+                } else if (null == child) {
+                    return removeSlot(bit, index);
+                }
+                // keep the shape canonical by pulling single leaves up
+                final Leaf singleLeaf = child.getSingleLeaf();
+                return new BitmapNode(bitmap, replace(slots, index, null != singleLeaf ? singleLeaf : child));
+            }
+            return ((Leaf) slot).hasKey(key, hash) ? removeSlot(bit, index) : this;
+        }
+
+        @Nullable
+        private Node removeSlot(final int bit, final int index) {
+            return 1 == slots.length ? null : new BitmapNode(bitmap ^ bit, removeAt(slots, index));
+        }
+
+    }
+
+    /**
+     * Node of leaves whose keys have the same hash.
+     */
+    private static final class CollisionNode extends Node {
+
+        private CollisionNode(final Object[] slots) {
+            super(slots);
+        }
+
+        private int indexOf(final Object key, final int hash) {
+            for (int i = 0; i < slots.length; i++) {
+                if (((Leaf) slots[i]).hasKey(key, hash)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Nullable
+        @Override
+        Leaf find(final Object key, final int hash, final int shift) {
+            final int index = indexOf(key, hash);
+            return 0 <= index ? (Leaf) slots[index] : null;
+        }
+
+        @Override
+        Node put(final Leaf leaf, final int shift, final int[] sizeChange) {
+            final int index = indexOf(leaf.getKey(), leaf.hash);
+            if (0 > index) {
+                sizeChange[0] = 1;
+                return new CollisionNode(insert(slots, slots.length, leaf));
+            }
+            return ((Leaf) slots[index]).getValue() == leaf.getValue()
+                    ? this
+                    : new CollisionNode(replace(slots, index, leaf));
+        }
+
+        @Nullable
+        @Override
+        Node remove(final Object key, final int hash, final int shift) {
+            final int index = indexOf(key, hash);
+            if (0 > index) {
+                return this;
+            }
+            return 1 == slots.length ? null : new CollisionNode(removeAt(slots, index));
+        }
+
+    }
+
+    @NotThreadSafe
+    private static final class LeafIterator<K, V> implements Iterator<Entry<K, V>> {
+
+        private final Object[][] slotStack;
+        private final int[] indexStack;
+        private int depth;
+        @Nullable private Leaf next;
+
+        private LeafIterator(@Nullable final Node root) {
+            slotStack = new Object[MAX_DEPTH][];
+            indexStack = new int[MAX_DEPTH];
+            if (null != root) {
+                slotStack[0] = root.slots;
+                depth = 0;
+            } else {
+                depth = -1;
+            }
+            advance();
+        }
+
+        private void advance() {
+            while (0 <= depth) {
+                final Object[] slots = slotStack[depth];
+                if (indexStack[depth] < slots.length) {
+                    final Object slot = slots[indexStack[depth]++];
+                    if (slot instanceof Node) {
+                        depth++;
+                        slotStack[depth] = ((Node) slot).slots;
+                        indexStack[depth] = 0;
+                    } else {
+                        next = (Leaf) slot;
+                        return;
+                    }
+                } else {
+                    depth--;
+                }
+            }
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return null != next;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            final Leaf result = next;
+            if (null == result) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return (Entry<K, V>) (Entry<?, ?>) result;
+        }
+
+    }
+
+}
@@ -84,4 +84,10 @@ final class ImmutableJsonDouble extends AbstractJsonNumber<Double> {
         return getValue().hashCode();
     }
 
+    @Override
+    public long getUpperBoundForStringSize() {
+        // the longest string representation is like "-2.2250738585072014E-308"
+        return 24L;
+    }
+
 }
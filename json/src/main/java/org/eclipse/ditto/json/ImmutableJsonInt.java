@@ -63,4 +63,10 @@ final class ImmutableJsonInt extends AbstractJsonNumber<Integer> {
         return getValue();
     }
 
+    @Override
+    public long getUpperBoundForStringSize() {
+        // the longest string representation is like "-2147483648"
+        return 11L;
+    }
+
 }
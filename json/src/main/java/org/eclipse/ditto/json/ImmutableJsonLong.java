@@ -67,4 +67,10 @@ final class ImmutableJsonLong extends AbstractJsonNumber<Long> {
         return value.hashCode();
     }
 
+    @Override
+    public long getUpperBoundForStringSize() {
+        // the longest string representation is like "-9223372036854775808"
+        return 20L;
+    }
+
 }
@@ -46,9 +46,9 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
 
     @Nullable private static ImmutableJsonObject emptyInstance = null;
 
-    private final SoftReferencedFieldMap fieldMap;
+    private final FieldMap fieldMap;
 
-    private ImmutableJsonObject(final SoftReferencedFieldMap theFieldMap) {
+    private ImmutableJsonObject(final FieldMap theFieldMap) {
         fieldMap = theFieldMap;
     }
 
@@ -501,42 +501,46 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
         return fieldMap.hashCode();
     }
 
+    @Override
+    public long getUpperBoundForStringSize() {
+        return fieldMap.getUpperBoundForStringSize();
+    }
+
     @Override
     public String toString() {
         return fieldMap.asJsonObjectString();
     }
 
+    /**
+     * The fields of a JSON object together with their JSON string representation.
+     */
     @Immutable
-    static final class SoftReferencedFieldMap {
+    abstract static class FieldMap {
 
-        private final String jsonObjectStringRepresentation;
         private int hashCode;
-        private SoftReference<Map<String, JsonField>> fieldsReference;
 
-        private SoftReferencedFieldMap(final Map<String, JsonField> jsonFieldMap, final String stringRepresentation) {
-            jsonObjectStringRepresentation = stringRepresentation;
-            fieldsReference = new SoftReference<>(Collections.unmodifiableMap(new LinkedHashMap<>(jsonFieldMap)));
-            hashCode = 0;
-        }
+        /**
+         * @return the fields by their key names in the order of the JSON object.
+         */
+        abstract Map<String, JsonField> fields();
 
-        static SoftReferencedFieldMap empty() {
-            return of(Collections.emptyMap(), "{}");
-        }
+        /**
+         * @return the string representation of the JSON object if it is already known or {@code null}.
+         */
+        @Nullable
+        abstract String getKnownJsonObjectString();
 
-        static SoftReferencedFieldMap of(final Map<String, JsonField> fieldMap) {
-            return of(fieldMap, null);
-        }
+        abstract String asJsonObjectString();
 
-        static SoftReferencedFieldMap of(final Map<String, JsonField> jsonFieldMap,
-                @Nullable final String stringRepresentation) {
+        abstract long getUpperBoundForStringSize();
 
-            if (null != stringRepresentation) {
-                return new SoftReferencedFieldMap(jsonFieldMap, stringRepresentation);
-            }
-            return new SoftReferencedFieldMap(jsonFieldMap, createStringRepresentation(jsonFieldMap));
-        }
+        abstract FieldMap put(String key, JsonField value);
 
-        private static String createStringRepresentation(final Map<String, JsonField> jsonFieldMap) {
+        abstract FieldMap putAll(Iterable<JsonField> jsonFields);
+
+        abstract FieldMap remove(String key);
+
+        static String createStringRepresentation(final Map<String, JsonField> jsonFieldMap) {
             final StringBuilder stringBuilder = new StringBuilder(512);
             stringBuilder.append('{');
             String delimiter = "";
@@ -567,37 +571,97 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
             return fields().get(key);
         }
 
-        SoftReferencedFieldMap put(final String key, final JsonField value) {
-            final Map<String, JsonField> fieldsCopy = copyFields();
-            fieldsCopy.put(key, value);
-            return of(fieldsCopy);
+        Stream<JsonField> getStream() {
+            return fields().values().stream();
+        }
+
+        Iterator<JsonField> getIterator() {
+            return fields().values().iterator();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FieldMap)) {
+                return false;
+            }
+            final FieldMap that = (FieldMap) o;
+            final String jsonObjectString = getKnownJsonObjectString();
+            final String thatJsonObjectString = that.getKnownJsonObjectString();
+            if (null != jsonObjectString && null != thatJsonObjectString) {
+                if (jsonObjectString.equals(thatJsonObjectString)) {
+                    return true;
+                } else if (jsonObjectString.length() != thatJsonObjectString.length()) {
+                    return false;
+                }
+            }
+            return Objects.equals(fields(), that.fields());
         }
 
-        private Map<String, JsonField> copyFields() {
-            return new LinkedHashMap<>(fields());
+        @Override
+        public int hashCode() {
+            int result = hashCode;
+            if (0 == result) {
+                result = fields().hashCode();
+                hashCode = result;
+            }
+            return result;
         }
 
-        SoftReferencedFieldMap putAll(final Iterable<JsonField> jsonFields) {
-            final Map<String, JsonField> fieldsCopy = copyFields();
-            jsonFields.forEach(jsonField -> fieldsCopy.put(jsonField.getKeyName(), jsonField));
-            return of(fieldsCopy);
+    }
+
+    /**
+     * Field map of JSON objects which are parsed or built at once. The string representation is kept while the fields
+     * are only softly referenced and parsed again from the string representation when needed. Altering the field map
+     * returns a {@link TrieFieldMap}.
+     */
+    @Immutable
+    static final class SoftReferencedFieldMap extends FieldMap {
+
+        private final String jsonObjectStringRepresentation;
+        private SoftReference<Map<String, JsonField>> fieldsReference;
+
+        private SoftReferencedFieldMap(final Map<String, JsonField> jsonFieldMap, final String stringRepresentation) {
+            jsonObjectStringRepresentation = stringRepresentation;
+            fieldsReference = new SoftReference<>(Collections.unmodifiableMap(new LinkedHashMap<>(jsonFieldMap)));
         }
 
-        SoftReferencedFieldMap remove(final String key) {
-            final Map<String, JsonField> fieldsCopy = copyFields();
-            fieldsCopy.remove(key);
-            return of(fieldsCopy);
+        static SoftReferencedFieldMap empty() {
+            return of(Collections.emptyMap(), "{}");
         }
 
-        Stream<JsonField> getStream() {
-            return fields().values().stream();
+        static SoftReferencedFieldMap of(final Map<String, JsonField> fieldMap) {
+            return of(fieldMap, null);
         }
 
-        Iterator<JsonField> getIterator() {
-            return fields().values().iterator();
+        static SoftReferencedFieldMap of(final Map<String, JsonField> jsonFieldMap,
+                @Nullable final String stringRepresentation) {
+
+            if (null != stringRepresentation) {
+                return new SoftReferencedFieldMap(jsonFieldMap, stringRepresentation);
+            }
+            return new SoftReferencedFieldMap(jsonFieldMap, createStringRepresentation(jsonFieldMap));
+        }
+
+        @Override
+        FieldMap put(final String key, final JsonField value) {
+            return TrieFieldMap.of(fields()).put(key, value);
         }
 
-        private Map<String, JsonField> fields() {
+        @Override
+        FieldMap putAll(final Iterable<JsonField> jsonFields) {
+            return TrieFieldMap.of(fields()).putAll(jsonFields);
+        }
+
+        @Override
+        FieldMap remove(final String key) {
+            return TrieFieldMap.of(fields()).remove(key);
+        }
+
+        @Override
+        Map<String, JsonField> fields() {
             Map<String, JsonField> result = fieldsReference.get();
             if (null == result) {
                 result = parseToMap(jsonObjectStringRepresentation);
@@ -613,36 +677,114 @@ final class ImmutableJsonObject extends AbstractJsonValue implements JsonObject
         }
 
         @Override
-        public boolean equals(final Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+        String getKnownJsonObjectString() {
+            return jsonObjectStringRepresentation;
+        }
+
+        @Override
+        String asJsonObjectString() {
+            return jsonObjectStringRepresentation;
+        }
+
+        @Override
+        long getUpperBoundForStringSize() {
+            // each UTF-16 char takes at most 3 bytes in UTF-8
+            return 3L * jsonObjectStringRepresentation.length();
+        }
+
+    }
+
+    /**
+     * Field map of JSON objects which were derived from another JSON object by altering fields. The fields are kept in
+     * a {@link LinkedHashTrieMap}, so altering a field shares all other fields with the original field map instead of
+     * copying them. The string representation is only created when needed.
+     */
+    @Immutable
+    static final class TrieFieldMap extends FieldMap {
+
+        private final LinkedHashTrieMap<String, JsonField> fields;
+        private final long stringSizeUpperBound;
+        @Nullable private String jsonObjectStringRepresentation;
+
+        private TrieFieldMap(final LinkedHashTrieMap<String, JsonField> fields, final long stringSizeUpperBound) {
+            this.fields = fields;
+            this.stringSizeUpperBound = stringSizeUpperBound;
+            jsonObjectStringRepresentation = null;
+        }
+
+        static TrieFieldMap of(final Map<String, JsonField> jsonFieldMap) {
+            // the braces
+            long stringSizeUpperBound = 2L;
+            for (final JsonField jsonField : jsonFieldMap.values()) {
+                stringSizeUpperBound += getUpperBoundForStringSize(jsonField);
             }
-            final SoftReferencedFieldMap that = (SoftReferencedFieldMap) o;
-            if (jsonObjectStringRepresentation.equals(that.jsonObjectStringRepresentation)) {
-                return true;
-            } else if (jsonObjectStringRepresentation.length() == that.jsonObjectStringRepresentation.length()) {
-                return Objects.equals(fields(), that.fields());
+            return new TrieFieldMap(LinkedHashTrieMap.copyOf(jsonFieldMap), stringSizeUpperBound);
+        }
+
+        /*
+         * The bound of a field map is the sum of the bounds of its fields, thus it is updated along with the fields
+         * instead of being computed from all fields again.
+         */
+        private static long getUpperBoundForStringSize(@Nullable final JsonField jsonField) {
+            if (null == jsonField) {
+                return 0L;
             }
-            return false;
+            // key, colon, value and comma
+            return ImmutableJsonString.getUpperBoundForStringSize(jsonField.getKeyName()) + 1 +
+                    jsonField.getValue().getUpperBoundForStringSize() + 1;
         }
 
         @Override
-        public int hashCode() {
-            int result = hashCode;
-            if (0 == result) {
-                result = fields().hashCode();
-                hashCode = result;
+        FieldMap put(final String key, final JsonField value) {
+            return new TrieFieldMap(fields.with(key, value), stringSizeUpperBound
+                    - getUpperBoundForStringSize(fields.get(key)) + getUpperBoundForStringSize(value));
+        }
+
+        @Override
+        FieldMap putAll(final Iterable<JsonField> jsonFields) {
+            LinkedHashTrieMap<String, JsonField> result = fields;
+            long resultStringSizeUpperBound = stringSizeUpperBound;
+            for (final JsonField jsonField : jsonFields) {
+                final String key = jsonField.getKeyName();
+                resultStringSizeUpperBound += getUpperBoundForStringSize(jsonField)
+                        - getUpperBoundForStringSize(result.get(key));
+                result = result.with(key, jsonField);
             }
-            return result;
+            return new TrieFieldMap(result, resultStringSizeUpperBound);
         }
 
-        String asJsonObjectString() {
+        @Override
+        FieldMap remove(final String key) {
+            return new TrieFieldMap(fields.without(key),
+                    stringSizeUpperBound - getUpperBoundForStringSize(fields.get(key)));
+        }
+
+        @Override
+        long getUpperBoundForStringSize() {
+            return stringSizeUpperBound;
+        }
+
+        @Override
+        Map<String, JsonField> fields() {
+            return fields;
+        }
+
+        @Nullable
+        @Override
+        String getKnownJsonObjectString() {
             return jsonObjectStringRepresentation;
         }
 
+        @Override
+        String asJsonObjectString() {
+            String result = jsonObjectStringRepresentation;
+            if (null == result) {
+                result = createStringRepresentation(fields);
+                jsonObjectStringRepresentation = result;
+            }
+            return result;
+        }
+
     }
 
     /**
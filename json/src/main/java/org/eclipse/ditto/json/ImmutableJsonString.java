@@ -27,10 +27,12 @@ final class ImmutableJsonString extends AbstractJsonValue {
 
     private final String value;
     @Nullable private String stringRepresentation;
+    private long stringSizeUpperBound;
 
     private ImmutableJsonString(final String jsonString) {
         value = jsonString;
         stringRepresentation = null;
+        stringSizeUpperBound = 0L;
     }
 
     /**
@@ -87,4 +89,39 @@ final class ImmutableJsonString extends AbstractJsonValue {
         return javaStringToEscapedJsonString.apply(value);
     }
 
+    @Override
+    public long getUpperBoundForStringSize() {
+        long result = stringSizeUpperBound;
+        if (0L == result) {
+            result = getUpperBoundForStringSize(value);
+            stringSizeUpperBound = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns an upper bound of the size in bytes of the given Java string as UTF-8 encoded and escaped JSON string
+     * including the surrounding quotes. The string is only scanned, not escaped.
+     *
+     * @param javaString the Java string.
+     * @return the upper bound.
+     */
+    static long getUpperBoundForStringSize(final CharSequence javaString) {
+        long result = 2L;
+        for (int i = 0; i < javaString.length(); i++) {
+            final char c = javaString.charAt(i);
+            if (c <= 0x001F || '"' == c || '\\' == c || 0x2028 == c || 0x2029 == c) {
+                // escaped by at most six chars
+                result += 6;
+            } else if (c < 0x0080) {
+                result += 1;
+            } else if (c < 0x0800) {
+                result += 2;
+            } else {
+                result += 3;
+            }
+        }
+        return result;
+    }
+
 }
@@ -272,4 +272,17 @@ public interface JsonValue {
         return isString() ? asString() : toString();
     }
 
+    /**
+     * Returns an upper bound of the size in bytes of the UTF-8 encoded {@link #toString() string representation} of
+     * this value. As each character is encoded by at least one byte, it is an upper bound of the length of the string
+     * representation as well. The implementations of this library cache the bound or derive it from the bounds of
+     * their fields, thus it can be used to check size limits without serializing this value.
+     *
+     * @return the upper bound of the serialized size.
+     */
+    default long getUpperBoundForStringSize() {
+        // each UTF-16 char takes at most 3 bytes in UTF-8
+        return 3L * toString().length();
+    }
+
 }
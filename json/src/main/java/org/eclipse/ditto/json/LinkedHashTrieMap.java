@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An immutable map which iterates its entries in insertion order like a {@link java.util.LinkedHashMap}: replacing
+ * the value of a key keeps its position. The entries are indexed by a {@link HashTrieMap} and ordered by a sparse trie
+ * of positions, so adding, replacing and removing an entry costs O(log n) while sharing all other nodes with this map.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+@Immutable
+final class LinkedHashTrieMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    // positions are non-negative ints, so at most 7 levels of 5 bits each
+    private static final int MAX_DEPTH = 7;
+
+    private static final LinkedHashTrieMap<?, ?> EMPTY =
+            new LinkedHashTrieMap<>(HashTrieMap.empty(), new Object[WIDTH], 0, 0);
+
+    private final HashTrieMap<K, PositionedEntry> index;
+    private final Object[] orderRoot;
+    private final int orderShift;
+    private final int nextPosition;
+
+    private LinkedHashTrieMap(final HashTrieMap<K, PositionedEntry> index, final Object[] orderRoot,
+            final int orderShift, final int nextPosition) {
+
+        this.index = index;
+        this.orderRoot = orderRoot;
+        this.orderShift = orderShift;
+        this.nextPosition = nextPosition;
+    }
+
+    /**
+     * Returns the empty {@code LinkedHashTrieMap}.
+     *
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     * @return the empty map.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> LinkedHashTrieMap<K, V> empty() {
+        return (LinkedHashTrieMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a {@code LinkedHashTrieMap} containing the entries of the given map in its iteration order.
+     *
+     * @param map the map to copy.
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     * @return the map.
+     * @throws NullPointerException if {@code map} is {@code null} or contains {@code null} keys or values.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> LinkedHashTrieMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+        requireNonNull(map, "The map to copy must not be null!");
+        if (map instanceof LinkedHashTrieMap) {
+            return (LinkedHashTrieMap<K, V>) map;
+        }
+        LinkedHashTrieMap<K, V> result = empty();
+        for (final Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a map which associates the given key with the given value and contains all other entries of this map.
+     * A new key is appended, an existing key keeps its position.
+     *
+     * @param key the key.
+     * @param value the value.
+     * @return the new map or this map if it already associates {@code key} with {@code value}.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    LinkedHashTrieMap<K, V> with(final K key, final V value) {
+        requireNonNull(key, "The key must not be null!");
+        requireNonNull(value, "The value must not be null!");
+
+        final PositionedEntry existingEntry = index.get(key);
+        if (null != existingEntry) {
+            if (existingEntry.getValue() == value) {
+                return this;
+            }
+            return withEntry(new PositionedEntry(key, value, existingEntry.position), nextPosition);
+        }
+        return withEntry(new PositionedEntry(key, value, nextPosition), nextPosition + 1);
+    }
+
+    private LinkedHashTrieMap<K, V> withEntry(final PositionedEntry entry, final int newNextPosition) {
+        Object[] root = orderRoot;
+        int shift = orderShift;
+        while (0 != (entry.position >>> shift >>> BITS)) {
+            // grow the order trie by one level
+            final Object[] newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            root = newRoot;
+            shift += BITS;
+        }
+        @SuppressWarnings("unchecked")
+        final K key = (K) entry.getKey();
+        return new LinkedHashTrieMap<>(index.with(key, entry), setPosition(root, shift, entry.position, entry), shift,
+                newNextPosition);
+    }
+
+    /**
+     * Returns a map which contains all entries of this map except the one of the given key.
+     *
+     * @param key the key.
+     * @return the new map or this map if it does not contain {@code key}.
+     */
+    LinkedHashTrieMap<K, V> without(final Object key) {
+        final PositionedEntry existingEntry = index.get(key);
+        if (null == existingEntry) {
+            return this;
+        }
+        final HashTrieMap<K, PositionedEntry> newIndex = index.without(key);
+        if (newIndex.isEmpty()) {
+            return empty();
+        }
+        final LinkedHashTrieMap<K, V> result = new LinkedHashTrieMap<>(newIndex,
+                setPosition(orderRoot, orderShift, existingEntry.position, null), orderShift, nextPosition);
+        if (nextPosition - newIndex.size() > Math.max(WIDTH, newIndex.size())) {
+            // more than half of the positions are unused: renumber them
+            return LinkedHashTrieMap.<K, V>empty().withAll(result);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private LinkedHashTrieMap<K, V> withAll(final LinkedHashTrieMap<?, ?> entries) {
+        LinkedHashTrieMap<K, V> result = this;
+        for (final Entry<?, ?> entry : entries.entrySet()) {
+            result = result.with((K) entry.getKey(), (V) entry.getValue());
+        }
+        return result;
+    }
+
+    private static Object[] setPosition(@Nullable final Object[] node, final int shift, final int position,
+            @Nullable final Object value) {
+
+        final Object[] result = null != node ? node.clone() : new Object[WIDTH];
+        final int slot = (position >>> shift) & MASK;
+        if (0 == shift) {
+            result[slot] = value;
+        } else {
+            result[slot] = setPosition((Object[]) result[slot], shift - BITS, position, value);
+        }
+        return result;
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(@Nullable final Object key) {
+        final PositionedEntry entry = index.get(key);
+        return null != entry ? (V) entry.getValue() : null;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new PositionIterator<>(orderRoot, orderShift);
+            }
+
+            @Override
+            public int size() {
+                return index.size();
+            }
+        };
+    }
+
+    /**
+     * Indicates whether this map contains the same keys with equal values as the given map, regardless of the order.
+     * Subtrees shared by both maps are not compared entry by entry.
+     *
+     * @param other the other map.
+     * @return whether the maps are equal.
+     */
+    boolean hasEqualEntries(final LinkedHashTrieMap<?, ?> other) {
+        return index.hasEqualEntries(other.index, (left, right) ->
+                Objects.equals(((PositionedEntry) left).getValue(), ((PositionedEntry) right).getValue()));
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (o instanceof LinkedHashTrieMap) {
+            return hasEqualEntries((LinkedHashTrieMap<?, ?>) o);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * An entry which knows its position in the iteration order.
+     */
+    private static final class PositionedEntry extends SimpleImmutableEntry<Object, Object> {
+
+        private static final long serialVersionUID = -4106302867125634563L;
+
+        private final int position;
+
+        private PositionedEntry(final Object key, final Object value, final int position) {
+            super(key, value);
+            this.position = position;
+        }
+
+    }
+
+    @NotThreadSafe
+    private static final class PositionIterator<K, V> implements Iterator<Entry<K, V>> {
+
+        private final int leafDepth;
+        private final Object[][] slotStack;
+        private final int[] indexStack;
+        private int depth;
+        @Nullable private PositionedEntry next;
+
+        private PositionIterator(final Object[] root, final int shift) {
+            leafDepth = shift / BITS;
+            slotStack = new Object[MAX_DEPTH][];
+            indexStack = new int[MAX_DEPTH];
+            slotStack[0] = root;
+            depth = 0;
+            advance();
+        }
+
+        private void advance() {
+            while (0 <= depth) {
+                final Object[] slots = slotStack[depth];
+                if (indexStack[depth] < slots.length) {
+                    final Object slot = slots[indexStack[depth]++];
+                    if (null == slot) {
+                        continue;
+                    }
+                    if (depth < leafDepth) {
+                        depth++;
+                        slotStack[depth] = (Object[]) slot;
+                        indexStack[depth] = 0;
+                    } else {
+                        next = (PositionedEntry) slot;
+                        return;
+                    }
+                } else {
+                    depth--;
+                }
+            }
+            next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return null != next;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            final PositionedEntry result = next;
+            if (null == result) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return (Entry<K, V>) (Entry<?, ?>) result;
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link HashTrieMap}.
+ */
+public final class HashTrieMapTest {
+
+    @Test
+    public void emptyMapIsEmpty() {
+        final HashTrieMap<String, Integer> underTest = HashTrieMap.empty();
+
+        assertThat(underTest).isEmpty();
+        assertThat(underTest.get("a")).isNull();
+        assertThat(underTest.without("a")).isSameAs(underTest);
+    }
+
+    @Test
+    public void withAddsAndReplacesEntries() {
+        final HashTrieMap<String, Integer> original = HashTrieMap.<String, Integer>empty().with("a", 1).with("b", 2);
+        final HashTrieMap<String, Integer> underTest = original.with("a", 3);
+
+        assertThat(underTest).hasSize(2).containsEntry("a", 3).containsEntry("b", 2);
+        assertThat(original).hasSize(2).containsEntry("a", 1).containsEntry("b", 2);
+    }
+
+    @Test
+    public void withSameValueReturnsSameInstance() {
+        final Integer value = 1000;
+        final HashTrieMap<String, Integer> underTest = HashTrieMap.<String, Integer>empty().with("a", value);
+
+        assertThat(underTest.with("a", value)).isSameAs(underTest);
+    }
+
+    @Test
+    public void withoutRemovesEntry() {
+        final HashTrieMap<String, Integer> original = HashTrieMap.<String, Integer>empty().with("a", 1).with("b", 2);
+        final HashTrieMap<String, Integer> underTest = original.without("a");
+
+        assertThat(underTest).hasSize(1).containsEntry("b", 2).doesNotContainKey("a");
+        assertThat(original).hasSize(2);
+        assertThat(underTest.without("a")).isSameAs(underTest);
+    }
+
+    @Test
+    public void tryToAddNullKey() {
+        assertThatNullPointerException().isThrownBy(() -> HashTrieMap.empty().with(null, 1));
+    }
+
+    @Test
+    public void tryToAddNullValue() {
+        assertThatNullPointerException().isThrownBy(() -> HashTrieMap.empty().with("a", null));
+    }
+
+    @Test
+    public void tryToModifyByMapInterface() {
+        final Map<String, Integer> underTest = HashTrieMap.<String, Integer>empty().with("a", 1);
+
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> underTest.put("b", 2));
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> underTest.remove("a"));
+    }
+
+    @Test
+    public void collidingKeysAreKeptApart() {
+        final CollidingKey first = new CollidingKey("first");
+        final CollidingKey second = new CollidingKey("second");
+        final CollidingKey third = new CollidingKey("third");
+
+        final HashTrieMap<CollidingKey, Integer> underTest =
+                HashTrieMap.<CollidingKey, Integer>empty().with(first, 1).with(second, 2).with(third, 3);
+
+        assertThat(underTest).hasSize(3).containsEntry(first, 1).containsEntry(second, 2).containsEntry(third, 3);
+        assertThat(underTest.without(second)).hasSize(2).containsEntry(first, 1).containsEntry(third, 3);
+        assertThat(underTest.without(second).without(third).without(first)).isEmpty();
+        assertThat(underTest.without(second).with(second, 2)).isEqualTo(underTest);
+    }
+
+    @Test
+    public void randomOperationsBehaveLikeHashMap() {
+        final Random random = new Random(42L);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        HashTrieMap<Integer, Integer> underTest = HashTrieMap.empty();
+
+        for (int i = 0; i < 20_000; i++) {
+            final Integer key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                underTest = underTest.without(key);
+            } else {
+                expected.put(key, i);
+                underTest = underTest.with(key, i);
+            }
+        }
+
+        assertThat(underTest).hasSize(expected.size());
+        assertThat(underTest).isEqualTo(expected);
+        assertThat(expected).isEqualTo(underTest);
+        assertThat(underTest.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(HashTrieMap.copyOf(expected)).isEqualTo(underTest);
+    }
+
+    @Test
+    public void mapsWithEqualEntriesInDifferentHistoryAreEqual() {
+        HashTrieMap<Integer, String> ascending = HashTrieMap.empty();
+        HashTrieMap<Integer, String> descending = HashTrieMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            ascending = ascending.with(i, String.valueOf(i));
+            descending = descending.with(999 - i, String.valueOf(999 - i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            ascending = ascending.without(i);
+            descending = descending.without(i);
+        }
+
+        assertThat(ascending).isEqualTo(descending);
+        assertThat(ascending.hashCode()).isEqualTo(descending.hashCode());
+        assertThat(ascending.with(1, "x")).isNotEqualTo(descending);
+    }
+
+    private static final class CollidingKey {
+
+        private final String name;
+
+        private CollidingKey(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof CollidingKey && name.equals(((CollidingKey) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@ import static org.mutabilitydetector.unittesting.AllowedReason.provided;
 import static org.mutabilitydetector.unittesting.MutabilityAssert.assertInstancesOf;
 import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -30,6 +31,7 @@ import java.util.Optional;
 import java.util.function.Function;
 
 import org.assertj.core.api.Assertions;
+import org.eclipse.ditto.json.ImmutableJsonObject.FieldMap;
 import org.eclipse.ditto.json.ImmutableJsonObject.SoftReferencedFieldMap;
 import org.junit.Test;
 
@@ -72,20 +74,20 @@ public final class ImmutableJsonObjectTest {
     public void assertImmutability() {
         assertInstancesOf(ImmutableJsonObject.class,
                 areImmutable(),
-                provided(SoftReferencedFieldMap.class).isAlsoImmutable());
+                provided(FieldMap.class).isAlsoImmutable());
     }
 
     @Test
     public void testHashCodeAndEquals() {
         final Map<String, JsonField> jsonFieldsRed = toMap("foo", JsonValue.of(1));
         final Map<String, JsonField> jsonFieldsBlack = toMap("foo", JsonValue.of(2));
-        final SoftReferencedFieldMap redFieldMap = SoftReferencedFieldMap.of(jsonFieldsRed);
-        final SoftReferencedFieldMap blackFieldMap = SoftReferencedFieldMap.of(jsonFieldsBlack);
+        final FieldMap redFieldMap = SoftReferencedFieldMap.of(jsonFieldsRed);
+        final FieldMap blackFieldMap = SoftReferencedFieldMap.of(jsonFieldsBlack);
         final ImmutableJsonObject redObject = ImmutableJsonObject.of(jsonFieldsRed);
         final ImmutableJsonObject blackObject = ImmutableJsonObject.of(jsonFieldsBlack);
 
         EqualsVerifier.forClass(ImmutableJsonObject.class)
-                .withPrefabValues(SoftReferencedFieldMap.class, redFieldMap, blackFieldMap)
+                .withPrefabValues(FieldMap.class, redFieldMap, blackFieldMap)
                 .withPrefabValues(ImmutableJsonObject.class, redObject, blackObject)
                 .withNonnullFields("fieldMap")
                 .verify();
@@ -1335,6 +1337,60 @@ public final class ImmutableJsonObjectTest {
         Assertions.assertThat(objectWithoutDefinition).isEqualTo(objectWithDefinition);
     }
 
+    @Test
+    public void alteredJsonObjectEqualsParsedJsonObject() {
+        final JsonObject parsed = JsonObject.of("{\"a\":1,\"b\":{\"c\":2},\"d\":3}");
+
+        final JsonObject altered = JsonObject.of("{\"a\":0,\"b\":{\"c\":1},\"x\":true}")
+                .setValue("a", 1)
+                .setValue(JsonPointer.of("b/c"), 2)
+                .remove("x")
+                .setValue("d", 3);
+
+        Assertions.assertThat(altered).isEqualTo(parsed);
+        Assertions.assertThat(parsed).isEqualTo(altered);
+        Assertions.assertThat(altered.hashCode()).isEqualTo(parsed.hashCode());
+        Assertions.assertThat(altered.toString()).isEqualTo(parsed.toString());
+    }
+
+    @Test
+    public void alteredJsonObjectKeepsOrderOfFields() {
+        final JsonObject underTest = JsonObject.of("{\"a\":1,\"b\":2,\"c\":3}")
+                .setValue("b", 4)
+                .remove("a")
+                .setValue("a", 5);
+
+        Assertions.assertThat(underTest.toString()).isEqualTo("{\"b\":4,\"c\":3,\"a\":5}");
+    }
+
+    @Test
+    public void upperBoundForStringSizeOfAlteredJsonObjectIsNotExceeded() {
+        final JsonObject underTest = JsonObject.newBuilder()
+                .set("a", "\u00e4\u20ac")
+                .set("b", JsonObject.newBuilder().set("c", 1.5).set("d", true).build())
+                .set("\"e\"", JsonArray.of(1, 2, 3))
+                .build()
+                .setValue(JsonPointer.of("b/c"), Long.MIN_VALUE)
+                .setValue("f", "\n")
+                .remove("a");
+
+        final String jsonString = underTest.toString();
+        Assertions.assertThat(underTest.getUpperBoundForStringSize())
+                .isGreaterThanOrEqualTo(jsonString.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void upperBoundForStringSizeDoesNotGrowByRepeatedUpdates() {
+        final JsonObject original = JsonObject.newBuilder().set("a", 1).set("b", "foo").build().setValue("a", 2);
+        JsonObject underTest = original;
+        for (int i = 0; i < 1000; i++) {
+            underTest = underTest.setValue("a", i % 2).remove("c").setValue("c", "bar");
+        }
+
+        Assertions.assertThat(underTest.remove("c").setValue("a", 2).getUpperBoundForStringSize())
+                .isEqualTo(original.getUpperBoundForStringSize());
+    }
+
     private static Map<String, JsonField> toMap(final CharSequence key, final JsonValue value) {
         final Map<String, JsonField> result = new LinkedHashMap<>();
         result.put(key.toString(), toField(key, value));
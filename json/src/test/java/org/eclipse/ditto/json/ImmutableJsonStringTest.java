@@ -16,6 +16,8 @@ import static org.mutabilitydetector.unittesting.AllowedReason.assumingFields;
 import static org.mutabilitydetector.unittesting.MutabilityAssert.assertInstancesOf;
 import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable;
 
+import java.nio.charset.StandardCharsets;
+
 import org.junit.Test;
 
 import com.eclipsesource.json.Json;
@@ -33,7 +35,8 @@ public final class ImmutableJsonStringTest {
     public void assertImmutability() {
         assertInstancesOf(ImmutableJsonString.class,
                 areImmutable(),
-                assumingFields("stringRepresentation").areModifiedAsPartOfAnUnobservableCachingStrategy());
+                assumingFields("stringRepresentation", "stringSizeUpperBound")
+                        .areModifiedAsPartOfAnUnobservableCachingStrategy());
     }
 
     @Test
@@ -41,7 +44,7 @@ public final class ImmutableJsonStringTest {
         EqualsVerifier.forClass(ImmutableJsonString.class)
                 .usingGetClass()
                 .withRedefinedSuperclass()
-                .withIgnoredFields("stringRepresentation")
+                .withIgnoredFields("stringRepresentation", "stringSizeUpperBound")
                 .withNonnullFields("value")
                 .verify();
     }
@@ -90,4 +93,18 @@ public final class ImmutableJsonStringTest {
         assertThat(underTest.asString()).isEqualTo(KNOWN_STRING_VALUE);
     }
 
+    @Test
+    public void upperBoundForStringSizeIsNotExceeded() {
+        final String[] values = {"", KNOWN_STRING_VALUE, "\"quoted\"\n\t\\", "\u0001\u001F", "\u00e4\u00f6\u00fc",
+                "\u20ac\u2028\u2029", "\ud83d\ude00"};
+
+        for (final String value : values) {
+            final ImmutableJsonString underTest = ImmutableJsonString.of(value);
+
+            assertThat(underTest.getUpperBoundForStringSize())
+                    .isGreaterThanOrEqualTo(underTest.toString().getBytes(StandardCharsets.UTF_8).length)
+                    .isGreaterThanOrEqualTo(underTest.toString().length());
+        }
+    }
+
 }
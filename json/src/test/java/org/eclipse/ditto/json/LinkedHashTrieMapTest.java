@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LinkedHashTrieMap}.
+ */
+public final class LinkedHashTrieMapTest {
+
+    @Test
+    public void iteratesInInsertionOrder() {
+        final LinkedHashTrieMap<String, Integer> underTest = LinkedHashTrieMap.<String, Integer>empty()
+                .with("c", 1)
+                .with("a", 2)
+                .with("b", 3);
+
+        assertThat(underTest.keySet()).containsExactly("c", "a", "b");
+    }
+
+    @Test
+    public void replacedValueKeepsItsPosition() {
+        final LinkedHashTrieMap<String, Integer> underTest = LinkedHashTrieMap.<String, Integer>empty()
+                .with("c", 1)
+                .with("a", 2)
+                .with("b", 3)
+                .with("c", 4);
+
+        assertThat(underTest.keySet()).containsExactly("c", "a", "b");
+        assertThat(underTest.get("c")).isEqualTo(4);
+    }
+
+    @Test
+    public void removedAndAddedAgainKeyIsAppended() {
+        final LinkedHashTrieMap<String, Integer> underTest = LinkedHashTrieMap.<String, Integer>empty()
+                .with("c", 1)
+                .with("a", 2)
+                .with("b", 3)
+                .without("c")
+                .with("c", 4);
+
+        assertThat(underTest.keySet()).containsExactly("a", "b", "c");
+        assertThat(underTest.without("x")).isSameAs(underTest);
+    }
+
+    @Test
+    public void copyKeepsOrderOfCopiedMap() {
+        final Map<String, Integer> expected = new LinkedHashMap<>();
+        for (int i = 100; i > 0; i--) {
+            expected.put("key" + i, i);
+        }
+
+        final LinkedHashTrieMap<String, Integer> underTest = LinkedHashTrieMap.copyOf(expected);
+
+        assertThat(new ArrayList<>(underTest.entrySet())).isEqualTo(new ArrayList<>(expected.entrySet()));
+    }
+
+    @Test
+    public void randomOperationsBehaveLikeLinkedHashMap() {
+        final Random random = new Random(42L);
+        final Map<Integer, Integer> expected = new LinkedHashMap<>();
+        LinkedHashTrieMap<Integer, Integer> underTest = LinkedHashTrieMap.empty();
+
+        for (int i = 0; i < 20_000; i++) {
+            final Integer key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                underTest = underTest.without(key);
+            } else {
+                expected.put(key, i);
+                underTest = underTest.with(key, i);
+            }
+        }
+
+        assertThat(new ArrayList<>(underTest.entrySet())).isEqualTo(new ArrayList<>(expected.entrySet()));
+        assertThat(underTest).isEqualTo(expected);
+        assertThat(underTest.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    @Test
+    public void orderDoesNotAffectEquality() {
+        final LinkedHashTrieMap<String, Integer> first = LinkedHashTrieMap.<String, Integer>empty()
+                .with("a", 1)
+                .with("b", 2);
+        final LinkedHashTrieMap<String, Integer> second = LinkedHashTrieMap.<String, Integer>empty()
+                .with("b", 2)
+                .with("a", 1);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+        assertThat(first.with("a", 3)).isNotEqualTo(second);
+    }
+
+}
@@ -42,6 +42,17 @@ public interface QueryBuilder {
      */
     QueryBuilder skip(long n);
 
+    /**
+     * Continues the query after the position of the given cursor of a previous result page. A cursor can only be
+     * used with the sort it was created for and without skipping elements.
+     *
+     * @param cursor the cursor of a previous result page
+     * @return this builder
+     * @throws NullPointerException if {@code cursor} is {@code null}.
+     * @throws IllegalArgumentException if {@code cursor} is invalid or does not match the sort or skip of the query.
+     */
+    QueryBuilder cursor(String cursor);
+
     /**
      * Builds the Query.
      *
@@ -299,6 +299,11 @@ final class ImmutableAttributes implements Attributes {
                 .collect(JsonCollectors.fieldsToObject());
     }
 
+    @Override
+    public long getUpperBoundForStringSize() {
+        return wrapped.getUpperBoundForStringSize();
+    }
+
     @Override
     public String toString() {
         return wrapped.toString();
@@ -298,6 +298,11 @@ final class ImmutableFeatureProperties implements FeatureProperties {
                 .collect(JsonCollectors.fieldsToObject());
     }
 
+    @Override
+    public long getUpperBoundForStringSize() {
+        return wrapped.getUpperBoundForStringSize();
+    }
+
     @Override
     public String toString() {
         return wrapped.toString();
@@ -12,11 +12,8 @@ package org.eclipse.ditto.model.things;
 
 import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -25,6 +22,7 @@ import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
+import org.eclipse.ditto.json.HashTrieMap;
 import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.json.JsonField;
 import org.eclipse.ditto.json.JsonFieldDefinition;
@@ -46,10 +44,10 @@ final class ImmutableFeatures implements Features {
             JsonFactory.newIntFieldDefinition(JsonSchemaVersion.getJsonKey(), FieldType.SPECIAL, FieldType.HIDDEN,
                     JsonSchemaVersion.V_1, JsonSchemaVersion.V_2);
 
-    private final Map<String, Feature> features;
+    private final HashTrieMap<String, Feature> features;
 
-    private ImmutableFeatures(final Map<String, Feature> features) {
-        this.features = Collections.unmodifiableMap(new HashMap<>(checkNotNull(features, "features")));
+    private ImmutableFeatures(final HashTrieMap<String, Feature> features) {
+        this.features = checkNotNull(features, "features");
     }
 
     /**
@@ -58,7 +56,7 @@ final class ImmutableFeatures implements Features {
      * @return a new empty {@code ImmutableFeatures} instance.
      */
     public static ImmutableFeatures empty() {
-        return new ImmutableFeatures(new HashMap<>());
+        return new ImmutableFeatures(HashTrieMap.empty());
     }
 
     /**
@@ -71,8 +69,10 @@ final class ImmutableFeatures implements Features {
     public static ImmutableFeatures of(final Iterable<Feature> features) {
         checkNotNull(features, "initial features");
 
-        final Map<String, Feature> featureMap = new HashMap<>();
-        features.forEach(feature -> featureMap.put(feature.getId(), feature));
+        HashTrieMap<String, Feature> featureMap = HashTrieMap.empty();
+        for (final Feature feature : features) {
+            featureMap = featureMap.with(feature.getId(), feature);
+        }
 
         return new ImmutableFeatures(featureMap);
     }
@@ -89,10 +89,9 @@ final class ImmutableFeatures implements Features {
         checkNotNull(feature, "initial Feature");
         checkNotNull(additionalFeatures, "additional initial Features");
 
-        final Map<String, Feature> features = new HashMap<>(1 + additionalFeatures.length);
-        features.put(feature.getId(), feature);
+        HashTrieMap<String, Feature> features = HashTrieMap.<String, Feature>empty().with(feature.getId(), feature);
         for (final Feature additionalFeature : additionalFeatures) {
-            features.put(additionalFeature.getId(), additionalFeature);
+            features = features.with(additionalFeature.getId(), additionalFeature);
         }
 
         return new ImmutableFeatures(features);
@@ -126,9 +125,7 @@ final class ImmutableFeatures implements Features {
     }
 
     private Features createNewFeaturesWithNewFeature(final Feature newFeature) {
-        final Map<String, Feature> featuresCopy = copyFeatures();
-        featuresCopy.put(newFeature.getId(), newFeature);
-        return new ImmutableFeatures(featuresCopy);
+        return new ImmutableFeatures(features.with(newFeature.getId(), newFeature));
     }
 
     @Override
@@ -137,14 +134,7 @@ final class ImmutableFeatures implements Features {
             return this;
         }
 
-        final Map<String, Feature> featuresCopy = copyFeatures();
-        featuresCopy.remove(featureId);
-
-        return new ImmutableFeatures(featuresCopy);
-    }
-
-    private Map<String, Feature> copyFeatures() {
-        return new HashMap<>(features);
+        return new ImmutableFeatures(features.without(featureId));
     }
 
     @Override
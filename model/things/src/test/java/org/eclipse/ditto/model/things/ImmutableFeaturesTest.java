@@ -18,7 +18,6 @@ import static org.eclipse.ditto.model.things.TestConstants.Feature.FLUX_CAPACITO
 import static org.eclipse.ditto.model.things.assertions.DittoThingsAssertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
-import static org.mutabilitydetector.unittesting.AllowedReason.assumingFields;
 import static org.mutabilitydetector.unittesting.AllowedReason.provided;
 import static org.mutabilitydetector.unittesting.MutabilityAssert.assertInstancesOf;
 import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable;
@@ -26,6 +25,7 @@ import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable
 import java.lang.ref.SoftReference;
 import java.util.Optional;
 
+import org.eclipse.ditto.json.HashTrieMap;
 import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
@@ -59,6 +59,9 @@ public final class ImmutableFeaturesTest {
         EqualsVerifier.forClass(ImmutableFeatures.class)
                 .usingGetClass()
                 .withPrefabValues(SoftReference.class, red, black)
+                .withPrefabValues(HashTrieMap.class, HashTrieMap.empty().with("foo", FLUX_CAPACITOR),
+                        HashTrieMap.empty())
+                .withNonnullFields("features")
                 .verify();
     }
 
@@ -66,8 +69,7 @@ public final class ImmutableFeaturesTest {
     public void assertImmutability() {
         assertInstancesOf(ImmutableFeatures.class,
                 areImmutable(),
-                provided(JsonObject.class, Feature.class).isAlsoImmutable(),
-                assumingFields("features").areSafelyCopiedUnmodifiableCollectionsWithImmutableElements());
+                provided(JsonObject.class, Feature.class, HashTrieMap.class).isAlsoImmutable());
     }
 
     @Test(expected = NullPointerException.class)
@@ -15,7 +15,7 @@ import java.util
 import org.eclipse.ditto.model.rql.ParserException
 import org.eclipse.ditto.model.rqlparser.internal.RqlParserBase
 import org.eclipse.ditto.model.thingsearch
-import org.eclipse.ditto.model.thingsearch.{LimitOption, Option, SearchModelFactory, SortOption, SortOptionEntry}
+import org.eclipse.ditto.model.thingsearch.{CursorOption, LimitOption, Option, SearchModelFactory, SortOption, SortOptionEntry}
 import org.eclipse.ditto.model.thingsearchparser.OptionParser
 import org.parboiled2._
 
@@ -26,11 +26,14 @@ import scala.util.{Failure, Success}
   * RQL Parser. Parses options in the RQL "standard" according to https://github.com/persvr/rql with the following EBNF:
   * <pre>
   * Options                    = Option, { ',', Option }
-  * Option                     = Sort | Limit
+  * Option                     = Sort | Limit | Cursor
   * Sort                       = "sort", '(', SortProperty, { ',', SortProperty }, ')'
   * SortProperty               = SortOrder, PropertyLiteral
   * SortOrder                  = '+' | '-'
   * Limit                      = "limit", '(', IntegerLiteral, ',', IntegerLiteral, ')'
+  * Cursor                     = "cursor", '(', CursorLiteral, ')'
+  * CursorLiteral              = CursorChar, { CursorChar }
+  * CursorChar                 = Letter | Digit | '-' | '_'
   * </pre>
   */
 private class RqlOptionParser(override val input: ParserInput) extends RqlParserBase(input) {
@@ -48,10 +51,10 @@ private class RqlOptionParser(override val input: ParserInput) extends RqlParser
   }
 
   /**
-    * Option                     = Sort | Limit
+    * Option                     = Sort | Limit | Cursor
     */
   private def Option: Rule1[thingsearch.Option] = rule {
-    Sort | Limit
+    Sort | Limit | Cursor
   }
 
   /**
@@ -89,6 +92,21 @@ private class RqlOptionParser(override val input: ParserInput) extends RqlParser
     "limit" ~ '(' ~ LongLiteral ~ ',' ~ LongLiteral ~ ')' ~> ((offset: java.lang.Long, count: java.lang.Long) =>
       SearchModelFactory.newLimitOption(offset.toInt, count.toInt))
   }
+
+  /**
+    * Cursor                     = "cursor", '(', CursorLiteral, ')'
+    */
+  private def Cursor: Rule1[CursorOption] = rule {
+    "cursor" ~ '(' ~ CursorLiteral ~ ')' ~> ((cursor: String) => SearchModelFactory.newCursorOption(cursor))
+  }
+
+  /**
+    * CursorLiteral              = CursorChar, { CursorChar }
+    * CursorChar                 = Letter | Digit | '-' | '_'
+    */
+  private def CursorLiteral: Rule1[String] = rule {
+    capture(oneOrMore(CharPredicate.AlphaNum ++ "-_"))
+  }
 }
 
 /**
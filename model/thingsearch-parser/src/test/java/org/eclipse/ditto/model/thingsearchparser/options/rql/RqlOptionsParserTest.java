@@ -16,6 +16,7 @@ import java.util.List;
 
 import org.eclipse.ditto.json.JsonPointer;
 import org.eclipse.ditto.model.rql.ParserException;
+import org.eclipse.ditto.model.thingsearch.CursorOption;
 import org.eclipse.ditto.model.thingsearch.LimitOption;
 import org.eclipse.ditto.model.thingsearch.Option;
 import org.eclipse.ditto.model.thingsearch.SortOption;
@@ -150,4 +151,23 @@ public final class RqlOptionsParserTest {
     public void invalidLimitArgumentsExceedsLong() throws ParserException {
         parser.parse("limit(100000000000000000000,10)");
     }
+
+    @Test
+    public void parseCursorSuccess() throws ParserException {
+        final List<Option> options = parser.parse("sort(+thingId),cursor(eyJ2IjpbMV19_-A)");
+        assertThat(options.size()).isEqualTo(2);
+
+        final CursorOption cursorOption = (CursorOption) options.get(1);
+        assertThat(cursorOption.getCursor()).isEqualTo("eyJ2IjpbMV19_-A");
+    }
+
+    @Test(expected = ParserException.class)
+    public void invalidCursorWithIllegalCharacters() throws ParserException {
+        parser.parse("cursor(a/b)");
+    }
+
+    @Test(expected = ParserException.class)
+    public void invalidEmptyCursor() throws ParserException {
+        parser.parse("cursor()");
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.model.thingsearch;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The cursor option continues a search after the last result of a previous page. In contrast to the offset of a
+ * {@link LimitOption}, a cursor does not require the search to skip all results of the previous pages.
+ * <p>
+ * The cursor is opaque to the client; it is returned by {@link SearchResult#getCursor()} and is only valid for the
+ * filter and sort option it was created for.
+ * </p>
+ */
+@Immutable
+public interface CursorOption extends Option {
+
+    /**
+     * Returns the cursor of this option.
+     *
+     * @return the cursor.
+     */
+    String getCursor();
+
+    /**
+     * Returns the string representation of this cursor option. The string consists of the prefix
+     * {@code "cursor("} which is followed by the cursor and finally of the suffix {@code ")"}.
+     *
+     * @return the string representation of this cursor option.
+     */
+    @Override
+    String toString();
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.model.thingsearch;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.Objects;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable implementation of {@link CursorOption}.
+ */
+@Immutable
+final class ImmutableCursorOption implements CursorOption {
+
+    private final String cursor;
+
+    private ImmutableCursorOption(final String cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Returns a new instance of {@code ImmutableCursorOption} with the given cursor.
+     *
+     * @param cursor the cursor to be set.
+     * @return the new cursor option.
+     * @throws NullPointerException if {@code cursor} is {@code null}.
+     */
+    public static ImmutableCursorOption of(final String cursor) {
+        return new ImmutableCursorOption(checkNotNull(cursor, "cursor"));
+    }
+
+    @Override
+    public void accept(final OptionVisitor visitor) {
+        visitor.visit(this);
+    }
+
+    @Override
+    public String getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ImmutableCursorOption that = (ImmutableCursorOption) o;
+        return Objects.equals(cursor, that.cursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cursor);
+    }
+
+    @Override
+    public String toString() {
+        return "cursor(" + cursor + ")";
+    }
+
+}
@@ -14,15 +14,18 @@ import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 import org.eclipse.ditto.json.JsonArray;
 import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.json.JsonField;
 import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
 import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
 
@@ -34,10 +37,12 @@ final class ImmutableSearchResult implements SearchResult {
 
     private final JsonArray items;
     private final long nextPageOffset;
+    @Nullable private final String cursor;
 
-    private ImmutableSearchResult(final JsonArray items, final long nextPageOffset) {
+    private ImmutableSearchResult(final JsonArray items, final long nextPageOffset, @Nullable final String cursor) {
         this.items = checkNotNull(items, "items");
         this.nextPageOffset = nextPageOffset;
+        this.cursor = cursor;
     }
 
     /**
@@ -59,7 +64,23 @@ final class ImmutableSearchResult implements SearchResult {
      * @throws NullPointerException if {@code items} is {@code null}.
      */
     public static ImmutableSearchResult of(final JsonArray items, final long nextPageOffset) {
-        return new ImmutableSearchResult(items, nextPageOffset);
+        return new ImmutableSearchResult(items, nextPageOffset, null);
+    }
+
+    /**
+     * Returns a new {@code ImmutableSearchResult} instance initialized with the given items, the given next page
+     * offset and the given cursor.
+     *
+     * @param items the initial items of the result.
+     * @param nextPageOffset the offset of the next page.
+     * @param cursor the cursor of the next page or {@code null}.
+     * @return a new {@code ImmutableSearchResult}.
+     * @throws NullPointerException if {@code items} is {@code null}.
+     */
+    public static ImmutableSearchResult of(final JsonArray items, final long nextPageOffset,
+            @Nullable final String cursor) {
+
+        return new ImmutableSearchResult(items, nextPageOffset, cursor);
     }
 
     /**
@@ -74,8 +95,9 @@ final class ImmutableSearchResult implements SearchResult {
     public static ImmutableSearchResult fromJson(final JsonObject jsonObject) {
         final JsonArray extractedItems = jsonObject.getValueOrThrow(JsonFields.ITEMS);
         final long extractedNextPageOffset = jsonObject.getValueOrThrow(JsonFields.NEXT_PAGE_OFFSET);
+        final String extractedCursor = jsonObject.getValue(JsonFields.CURSOR).orElse(null);
 
-        return of(extractedItems, extractedNextPageOffset);
+        return of(extractedItems, extractedNextPageOffset, extractedCursor);
     }
 
     @Override
@@ -88,9 +110,14 @@ final class ImmutableSearchResult implements SearchResult {
         return nextPageOffset;
     }
 
+    @Override
+    public Optional<String> getCursor() {
+        return Optional.ofNullable(cursor);
+    }
+
     @Override
     public boolean hasNextPage() {
-        return nextPageOffset != NO_NEXT_PAGE;
+        return nextPageOffset != NO_NEXT_PAGE || null != cursor;
     }
 
     @Override
@@ -116,11 +143,14 @@ final class ImmutableSearchResult implements SearchResult {
     @Override
     public JsonObject toJson(final JsonSchemaVersion schemaVersion, final Predicate<JsonField> thePredicate) {
         final Predicate<JsonField> predicate = schemaVersion.and(thePredicate);
-        return JsonFactory.newObjectBuilder()
+        final JsonObjectBuilder jsonObjectBuilder = JsonFactory.newObjectBuilder()
                 .set(SearchResult.JsonFields.SCHEMA_VERSION, schemaVersion.toInt(), predicate)
                 .set(JsonFields.ITEMS, items, predicate)
-                .set(JsonFields.NEXT_PAGE_OFFSET, nextPageOffset, predicate)
-                .build();
+                .set(JsonFields.NEXT_PAGE_OFFSET, nextPageOffset, predicate);
+        if (null != cursor) {
+            jsonObjectBuilder.set(JsonFields.CURSOR, cursor, predicate);
+        }
+        return jsonObjectBuilder.build();
     }
 
     @Override
@@ -132,17 +162,19 @@ final class ImmutableSearchResult implements SearchResult {
             return false;
         }
         final ImmutableSearchResult that = (ImmutableSearchResult) o;
-        return nextPageOffset == that.nextPageOffset && Objects.equals(items, that.items);
+        return nextPageOffset == that.nextPageOffset && Objects.equals(items, that.items) &&
+                Objects.equals(cursor, that.cursor);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(items, nextPageOffset);
+        return Objects.hash(items, nextPageOffset, cursor);
     }
 
     @Override
     public String toString() {
-        return getClass().getSimpleName() + " [items=" + items + ", nextPageOffset=" + nextPageOffset + "]";
+        return getClass().getSimpleName() + " [items=" + items + ", nextPageOffset=" + nextPageOffset +
+                ", cursor=" + cursor + "]";
     }
 
 }
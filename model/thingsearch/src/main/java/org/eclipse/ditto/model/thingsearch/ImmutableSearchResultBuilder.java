@@ -12,6 +12,7 @@ package org.eclipse.ditto.model.thingsearch;
 
 import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import org.eclipse.ditto.json.JsonArray;
@@ -27,10 +28,13 @@ final class ImmutableSearchResultBuilder implements SearchResultBuilder {
 
     private final JsonArrayBuilder jsonArrayBuilder;
     private long offset;
+    @Nullable private String cursor;
 
-    private ImmutableSearchResultBuilder(final JsonArrayBuilder theJsonArrayBuilder, final long theOffset) {
+    private ImmutableSearchResultBuilder(final JsonArrayBuilder theJsonArrayBuilder, final long theOffset,
+            @Nullable final String theCursor) {
         jsonArrayBuilder = theJsonArrayBuilder;
         offset = theOffset;
+        cursor = theCursor;
     }
 
     /**
@@ -39,7 +43,7 @@ final class ImmutableSearchResultBuilder implements SearchResultBuilder {
      * @return a new builder.
      */
     public static ImmutableSearchResultBuilder newInstance() {
-        return new ImmutableSearchResultBuilder(JsonFactory.newArrayBuilder(), SearchResult.NO_NEXT_PAGE);
+        return new ImmutableSearchResultBuilder(JsonFactory.newArrayBuilder(), SearchResult.NO_NEXT_PAGE, null);
     }
 
     /**
@@ -55,7 +59,8 @@ final class ImmutableSearchResultBuilder implements SearchResultBuilder {
 
         final JsonArrayBuilder jsonArrayBuilder = JsonFactory.newArrayBuilder(searchResult.getItems());
 
-        return new ImmutableSearchResultBuilder(jsonArrayBuilder, searchResult.getNextPageOffset());
+        return new ImmutableSearchResultBuilder(jsonArrayBuilder, searchResult.getNextPageOffset(),
+                searchResult.getCursor().orElse(null));
     }
 
     @Override
@@ -64,6 +69,12 @@ final class ImmutableSearchResultBuilder implements SearchResultBuilder {
         return this;
     }
 
+    @Override
+    public SearchResultBuilder cursor(@Nullable final String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
     @Override
     public SearchResultBuilder add(final JsonValue value, final JsonValue... furtherValues) {
         jsonArrayBuilder.add(value, furtherValues);
@@ -85,7 +96,7 @@ final class ImmutableSearchResultBuilder implements SearchResultBuilder {
     @Override
     public SearchResult build() {
         final JsonArray searchResultsJsonArray = jsonArrayBuilder.build();
-        return ImmutableSearchResult.of(searchResultsJsonArray, offset);
+        return ImmutableSearchResult.of(searchResultsJsonArray, offset, cursor);
     }
 
 }
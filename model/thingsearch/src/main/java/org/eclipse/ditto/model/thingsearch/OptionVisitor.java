@@ -29,6 +29,16 @@ public interface OptionVisitor {
      */
     void visit(SortOption sortOption);
 
+    /**
+     * Is called by a {@link CursorOption} in its {@link CursorOption#accept(OptionVisitor)} method. Delegates to
+     * {@link #visit(Option)} by default.
+     *
+     * @param cursorOption an instance of the {@link CursorOption}.
+     */
+    default void visit(final CursorOption cursorOption) {
+        visit((Option) cursorOption);
+    }
+
     /**
      * Is called by a {@link Option} in its {@link Option#accept(OptionVisitor)} method.
      *
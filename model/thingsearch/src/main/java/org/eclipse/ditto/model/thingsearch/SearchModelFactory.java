@@ -14,6 +14,7 @@ import static org.eclipse.ditto.model.base.exceptions.DittoJsonException.wrapJso
 
 import java.util.List;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 import org.eclipse.ditto.json.JsonArray;
@@ -50,6 +51,21 @@ public final class SearchModelFactory {
         return ImmutableSearchResult.of(items, nextPageOffset);
     }
 
+    /**
+     * Creates a new {@link SearchResult} with a cursor pointing to the next page.
+     *
+     * @param items the items.
+     * @param nextPageOffset the offset of the next page or {@link SearchResult#NO_NEXT_PAGE}.
+     * @param cursor the cursor of the next page or {@code null} if there is no next page.
+     * @return the new immutable search results object.
+     * @throws NullPointerException if {@code items} is {@code null}.
+     */
+    public static SearchResult newSearchResult(final JsonArray items, final long nextPageOffset,
+            @Nullable final String cursor) {
+
+        return ImmutableSearchResult.of(items, nextPageOffset, cursor);
+    }
+
     /**
      * Returns a new immutable empty {@link SearchResult}.
      *
@@ -244,4 +260,15 @@ public final class SearchModelFactory {
         return ImmutableLimitOption.of(offset, count);
     }
 
+    /**
+     * Creates a new {@link CursorOption} for the provided {@code cursor}.
+     *
+     * @param cursor the cursor returned by a previous {@link SearchResult}.
+     * @return the created CursorOption.
+     * @throws NullPointerException if {@code cursor} is {@code null}.
+     */
+    public static CursorOption newCursorOption(final String cursor) {
+        return ImmutableCursorOption.of(cursor);
+    }
+
 }
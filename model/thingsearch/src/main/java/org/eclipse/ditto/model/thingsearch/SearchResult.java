@@ -10,6 +10,7 @@
  */
 package org.eclipse.ditto.model.thingsearch;
 
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import javax.annotation.concurrent.Immutable;
@@ -71,9 +72,17 @@ public interface SearchResult extends Iterable<JsonValue>, Jsonifiable.WithField
      */
     long getNextPageOffset();
 
+    /**
+     * Get the cursor of the next page if there are more matching results available. The cursor can be passed as
+     * {@link CursorOption} to the next search in order to continue after the last item of this result.
+     *
+     * @return the cursor of the next page or an empty Optional, if there is no next page.
+     */
+    Optional<String> getCursor();
+
     /**
      * Returns {@code true} if there is a next page and thus {@link #getNextPageOffset()} does not equal
-     * {@link #NO_NEXT_PAGE}, otherwise {@code false}.
+     * {@link #NO_NEXT_PAGE} or there is a {@link #getCursor() cursor}, otherwise {@code false}.
      *
      * @return {@code true} if there is a next page, otherwise {@code false}.
      */
@@ -142,6 +151,13 @@ public interface SearchResult extends Iterable<JsonValue>, Jsonifiable.WithField
                 JsonFactory.newLongFieldDefinition("nextPageOffset", FieldType.REGULAR, JsonSchemaVersion.V_1,
                         JsonSchemaVersion.V_2);
 
+        /**
+         * JSON field containing the cursor of the next page.
+         */
+        public static final JsonFieldDefinition<String> CURSOR =
+                JsonFactory.newStringFieldDefinition("cursor", FieldType.REGULAR, JsonSchemaVersion.V_1,
+                        JsonSchemaVersion.V_2);
+
         private JsonFields() {
             throw new AssertionError();
         }
@@ -10,6 +10,7 @@
  */
 package org.eclipse.ditto.model.thingsearch;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import org.eclipse.ditto.json.JsonValue;
@@ -29,6 +30,15 @@ public interface SearchResultBuilder {
      */
     SearchResultBuilder nextPageOffset(long nextPageOffset);
 
+    /**
+     * Set the cursor of the next page if there are more matching results available or {@code null}, if there is no
+     * next page.
+     *
+     * @param cursor the cursor of the next page.
+     * @return this builder to allow method chaining.
+     */
+    SearchResultBuilder cursor(@Nullable String cursor);
+
     /**
      * Adds at least one {@link JsonValue} to the {@code SearchResult} to be built.
      *
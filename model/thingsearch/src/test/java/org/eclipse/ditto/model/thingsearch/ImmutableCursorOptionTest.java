@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.model.thingsearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mutabilitydetector.unittesting.MutabilityAssert.assertInstancesOf;
+import static org.mutabilitydetector.unittesting.MutabilityMatchers.areImmutable;
+
+import org.junit.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+/**
+ * Unit test for {@link ImmutableCursorOption}.
+ */
+public final class ImmutableCursorOptionTest {
+
+    private static final String KNOWN_CURSOR = "LAAAAANzAAA";
+
+    @Test
+    public void assertImmutability() {
+        assertInstancesOf(ImmutableCursorOption.class, areImmutable());
+    }
+
+    @Test
+    public void testHashCodeAndEquals() {
+        EqualsVerifier.forClass(ImmutableCursorOption.class)
+                .usingGetClass()
+                .verify();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void tryToCreateInstanceWithNullCursor() {
+        ImmutableCursorOption.of(null);
+    }
+
+    @Test
+    public void getCursorReturnsExpected() {
+        assertThat(ImmutableCursorOption.of(KNOWN_CURSOR).getCursor()).isEqualTo(KNOWN_CURSOR);
+    }
+
+    @Test
+    public void toStringReturnsExpected() {
+        assertThat(ImmutableCursorOption.of(KNOWN_CURSOR).toString()).isEqualTo("cursor(" + KNOWN_CURSOR + ")");
+    }
+
+}
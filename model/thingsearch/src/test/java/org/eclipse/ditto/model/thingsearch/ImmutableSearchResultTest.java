@@ -56,6 +56,17 @@ public final class ImmutableSearchResultTest {
         assertThat(searchResult.hasNextPage()).isTrue();
     }
 
+    @Test
+    public void searchResultWithCursorHasNextPage() {
+        final JsonArray items = JsonFactory.newArray("[1,2,3]");
+        final String cursor = "AAAA";
+
+        final SearchResult searchResult = ImmutableSearchResult.of(items, SearchResult.NO_NEXT_PAGE, cursor);
+
+        assertThat(searchResult.getCursor()).contains(cursor);
+        assertThat(searchResult.hasNextPage()).isTrue();
+    }
+
     @Test
     public void emptySearchResult() {
         final SearchResult searchResult = ImmutableSearchResult.empty();
@@ -131,6 +142,17 @@ public final class ImmutableSearchResultTest {
         assertThat(searchResult.getNextPageOffset()).isEqualTo(nextPageOffset);
     }
 
+    @Test
+    public void toJsonAndFromJsonWithCursor() {
+        final JsonArray items = JsonFactory.newArray("[1,2,3]");
+        final ImmutableSearchResult searchResult = ImmutableSearchResult.of(items, SearchResult.NO_NEXT_PAGE, "AAAA");
+
+        final String jsonStr = searchResult.toJsonString();
+
+        assertThat(jsonStr).isEqualTo("{\"items\":[1,2,3],\"nextPageOffset\":-1,\"cursor\":\"AAAA\"}");
+        assertThat(ImmutableSearchResult.fromJson(JsonFactory.newObject(jsonStr))).isEqualTo(searchResult);
+    }
+
     @Test
     public void fromEmptyJson() {
         final String jsonStr = "{\"items\":[],\"nextPageOffset\":-1}";
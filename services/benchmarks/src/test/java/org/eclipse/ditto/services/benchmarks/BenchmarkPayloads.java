@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.json.FieldType;
+import org.eclipse.ditto.model.things.Feature;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.model.things.ThingsModelFactory;
+import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocoladapter.ProtocolFactory;
+import org.eclipse.ditto.signals.base.Signal;
+import org.eclipse.ditto.signals.commands.things.modify.ModifyThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingsResponse;
+
+/**
+ * The payload corpus of the benchmarks. It consists of
+ * <ul>
+ * <li>a small telemetry event as sent by devices at a high rate,</li>
+ * <li>a large Thing with 40 features and</li>
+ * <li>a batch response retrieving 25 medium sized Things.</li>
+ * </ul>
+ */
+final class BenchmarkPayloads {
+
+    /**
+     * Name of the telemetry event payload.
+     */
+    static final String TELEMETRY_EVENT = "telemetry-event";
+
+    /**
+     * Name of the payload modifying the large Thing.
+     */
+    static final String MODIFY_LARGE_THING = "modify-large-thing";
+
+    /**
+     * Name of the batch response payload.
+     */
+    static final String BATCH_RESPONSE = "batch-response";
+
+    private static final int BATCH_SIZE = 25;
+    private static final int FEATURES_PER_BATCH_THING = 4;
+
+    private BenchmarkPayloads() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @return the DittoHeaders of a typical command or event.
+     */
+    static DittoHeaders dittoHeaders() {
+        return DittoHeaders.newBuilder()
+                .correlationId("0b8a7cb3-6ab6-4b3f-a8b0-c1d2b5e2f3a4")
+                .authorizationSubjects("integration:benchmark:connection", "nginx:benchmark-user")
+                .source("integration:benchmark:connection")
+                .responseRequired(false)
+                .contentType("application/vnd.eclipse.ditto+json")
+                .putHeader("device_id", "sensor-0815")
+                .putHeader("reply-to", "benchmark/replies")
+                .build();
+    }
+
+    /**
+     * @return the large Thing of the corpus.
+     */
+    static Thing largeThing() {
+        return ThingsModelFactory.newThing(load("large-thing.json"));
+    }
+
+    /**
+     * @return medium sized Things derived from the large Thing, each with a few features.
+     */
+    static List<Thing> batchOfThings() {
+        final Thing largeThing = largeThing();
+        final List<Feature> features = largeThing.getFeatures()
+                .orElseThrow(IllegalStateException::new)
+                .stream()
+                .limit(FEATURES_PER_BATCH_THING)
+                .collect(Collectors.toList());
+        final List<Thing> things = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final String thingId = "org.eclipse.ditto.benchmark:thing-" + i;
+            things.add(largeThing.toBuilder()
+                    .setId(thingId)
+                    .setPolicyId(thingId)
+                    .setFeatures(features)
+                    .build());
+        }
+        return things;
+    }
+
+    /**
+     * Returns the signal of the payload with the given name.
+     *
+     * @param name the name of the payload.
+     * @return the signal.
+     * @throws IllegalArgumentException if there is no payload with the given name.
+     */
+    static Signal<?> signal(final String name) {
+        switch (name) {
+            case TELEMETRY_EVENT:
+                return DittoProtocolAdapter.newInstance()
+                        .fromAdaptable(ProtocolFactory.jsonifiableAdaptableFromJson(load("telemetry-event.json")));
+            case MODIFY_LARGE_THING:
+                final Thing thing = largeThing();
+                return ModifyThing.of(thing.getId().orElseThrow(IllegalStateException::new), thing, null,
+                        dittoHeaders());
+            case BATCH_RESPONSE:
+                return RetrieveThingsResponse.of(batchOfThings(), FieldType.notHidden(), null, dittoHeaders());
+            default:
+                throw new IllegalArgumentException("Unknown payload: " + name);
+        }
+    }
+
+    /**
+     * Returns the Ditto Protocol JSON of the payload with the given name.
+     *
+     * @param name the name of the payload.
+     * @return the Ditto Protocol JSON.
+     * @throws IllegalArgumentException if there is no payload with the given name.
+     */
+    static JsonObject dittoProtocolJson(final String name) {
+        if (TELEMETRY_EVENT.equals(name)) {
+            return load("telemetry-event.json");
+        }
+        final Adaptable adaptable = DittoProtocolAdapter.newInstance().toAdaptable(signal(name));
+        return ProtocolFactory.wrapAsJsonifiableAdaptable(adaptable).toJson();
+    }
+
+    private static JsonObject load(final String resourceName) {
+        final InputStream inputStream =
+                BenchmarkPayloads.class.getClassLoader().getResourceAsStream("payloads/" + resourceName);
+        if (null == inputStream) {
+            throw new IllegalStateException("Missing payload resource: " + resourceName);
+        }
+        try (final Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            final JsonValue jsonValue = JsonFactory.readFrom(reader);
+            return jsonValue.asObject();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH Benchmark for the round trips of {@link DittoHeaders} which are done for every signal entering or leaving a
+ * service.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class DittoHeadersBenchmark {
+
+    private static final String OTHER_CORRELATION_ID = "6f1e2d3c-4b5a-4978-8695-a4b3c2d1e0f9";
+
+    private DittoHeaders dittoHeaders;
+    private Map<String, String> headersMap;
+    private JsonObject headersJson;
+
+    @Setup
+    public void setUp() {
+        dittoHeaders = BenchmarkPayloads.dittoHeaders();
+        headersMap = new HashMap<>(dittoHeaders);
+        headersJson = dittoHeaders.toJson();
+    }
+
+    @Benchmark
+    public DittoHeaders fromMap() {
+        return DittoHeaders.of(headersMap);
+    }
+
+    @Benchmark
+    public DittoHeaders fromJsonObject() {
+        return DittoHeaders.newBuilder(headersJson).build();
+    }
+
+    @Benchmark
+    public JsonObject toJson() {
+        return dittoHeaders.toJson();
+    }
+
+    @Benchmark
+    public DittoHeaders stringRoundTrip() {
+        return DittoHeaders.newBuilder(JsonFactory.newObject(dittoHeaders.toJson().toString())).build();
+    }
+
+    @Benchmark
+    public DittoHeaders modifyHeaders() {
+        return dittoHeaders.toBuilder().correlationId(OTHER_CORRELATION_ID).build();
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocoladapter.HeaderTranslator;
+import org.eclipse.ditto.services.gateway.endpoints.HttpRequestActor;
+import org.eclipse.ditto.services.gateway.endpoints.HttpRequestCorrelators;
+import org.eclipse.ditto.services.gateway.starter.service.util.ConfigKeys;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.http.javadsl.model.HttpRequest;
+import akka.http.javadsl.model.HttpResponse;
+
+/**
+ * JMH Benchmark dispatching bursts of concurrent HTTP requests to a proxy actor which answers immediately, once by
+ * starting one {@link HttpRequestActor} per request and once by the {@link HttpRequestCorrelators}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class HttpRequestDispatchBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final String THING_ID = "org.eclipse.ditto.benchmark:thing";
+
+    @Param({"actor-per-request", "correlator"})
+    public String mode;
+
+    private ActorSystem actorSystem;
+    private ActorRef proxyActor;
+    private HeaderTranslator headerTranslator;
+    private HttpRequestCorrelators correlators;
+    private HttpRequest request;
+    private List<RetrieveThing> commands;
+
+    @Setup
+    public void setUp() {
+        actorSystem = ActorSystem.create(getClass().getSimpleName(), ConfigFactory.empty()
+                .withValue(ConfigKeys.AKKA_HTTP_SERVER_REQUEST_TIMEOUT, ConfigValueFactory.fromAnyRef("60s"))
+                .withValue(ConfigKeys.HTTP_REQUEST_DISPATCH_MODE, ConfigValueFactory.fromAnyRef(mode))
+                .withValue(ConfigKeys.HTTP_REQUEST_DISPATCH_CORRELATORS, ConfigValueFactory.fromAnyRef(8))
+                .withValue(ConfigKeys.HTTP_REQUEST_DISPATCH_TIMEOUT_TICK, ConfigValueFactory.fromAnyRef("100ms"))
+                .withFallback(ConfigFactory.load()));
+        proxyActor = actorSystem.actorOf(Props.create(RespondingProxyActor.class));
+        headerTranslator = DittoProtocolAdapter.headerTranslator();
+        correlators = HttpRequestCorrelators.get(actorSystem);
+        request = HttpRequest.GET("/api/2/things/" + THING_ID);
+        commands = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            commands.add(RetrieveThing.of(THING_ID, DittoHeaders.newBuilder()
+                    .correlationId("benchmark-" + i)
+                    .responseRequired(true)
+                    .build()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        actorSystem.terminate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public List<HttpResponse> dispatchConcurrentRequests() {
+        final List<CompletableFuture<HttpResponse>> responseFutures = new ArrayList<>(CONCURRENT_REQUESTS);
+        final boolean byCorrelators = "correlator".equals(mode);
+        for (final RetrieveThing command : commands) {
+            final CompletableFuture<HttpResponse> responseFuture = new CompletableFuture<>();
+            if (byCorrelators) {
+                correlators.dispatch(proxyActor, headerTranslator, request, command, responseFuture);
+            } else {
+                actorSystem.actorOf(HttpRequestActor.props(proxyActor, headerTranslator, request, responseFuture))
+                        .tell(command, ActorRef.noSender());
+            }
+            responseFutures.add(responseFuture);
+        }
+        final List<HttpResponse> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        responseFutures.forEach(responseFuture -> responses.add(responseFuture.join()));
+        return responses;
+    }
+
+    /**
+     * Stands in for the proxy actor and answers every {@link RetrieveThing} immediately.
+     */
+    public static final class RespondingProxyActor extends AbstractActor {
+
+        private final JsonObject thing = JsonObject.newBuilder().set("thingId", THING_ID).build();
+
+        @Override
+        public Receive createReceive() {
+            return receiveBuilder()
+                    .match(RetrieveThing.class, command -> getSender().tell(
+                            RetrieveThingResponse.of(command.getThingId(), thing, command.getDittoHeaders()),
+                            getSelf()))
+                    .build();
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.services.models.things.ThingsMappingStrategy;
+import org.eclipse.ditto.services.utils.cluster.JsonifiableSerializer;
+import org.eclipse.ditto.services.utils.cluster.MappingStrategy;
+import org.eclipse.ditto.signals.base.Signal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+
+/**
+ * JMH Benchmark for the {@link JsonifiableSerializer} which (de-)serializes every signal sent between the cluster
+ * nodes.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class JsonifiableSerializerBenchmark {
+
+    @Param({BenchmarkPayloads.TELEMETRY_EVENT, BenchmarkPayloads.MODIFY_LARGE_THING, BenchmarkPayloads.BATCH_RESPONSE})
+    public String payload;
+
+    private ActorSystem actorSystem;
+    private JsonifiableSerializer serializer;
+    private Signal<?> signal;
+    private String manifest;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        actorSystem = ActorSystem.create(getClass().getSimpleName(), ConfigFactory.empty()
+                .withValue(MappingStrategy.CONFIGKEY_DITTO_MAPPING_STRATEGY_IMPLEMENTATION,
+                        ConfigValueFactory.fromAnyRef(ThingsMappingStrategy.class.getName()))
+                // the batch response does not fit into the default buffer of 64 KiB
+                .withValue("akka.actor.serializers-json.direct-buffer-size", ConfigValueFactory.fromAnyRef("1 MiB"))
+                .withFallback(ConfigFactory.load()));
+        serializer = new JsonifiableSerializer((ExtendedActorSystem) actorSystem);
+        signal = BenchmarkPayloads.signal(payload);
+        manifest = serializer.manifest(signal);
+        serialized = serializer.toBinary(signal);
+    }
+
+    @TearDown
+    public void tearDown() {
+        actorSystem.terminate();
+    }
+
+    @Benchmark
+    public byte[] toBinary() {
+        return serializer.toBinary(signal);
+    }
+
+    @Benchmark
+    public Object fromBinary() {
+        return serializer.fromBinary(serialized, manifest);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocoladapter.JsonifiableAdaptable;
+import org.eclipse.ditto.protocoladapter.ProtocolAdapter;
+import org.eclipse.ditto.protocoladapter.ProtocolFactory;
+import org.eclipse.ditto.signals.base.Signal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH Benchmark for the conversions of the {@link DittoProtocolAdapter} which are done for each message sent or
+ * received via the WebSocket or a connection.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class ProtocolAdapterBenchmark {
+
+    @Param({BenchmarkPayloads.TELEMETRY_EVENT, BenchmarkPayloads.MODIFY_LARGE_THING, BenchmarkPayloads.BATCH_RESPONSE})
+    public String payload;
+
+    private final ProtocolAdapter protocolAdapter = DittoProtocolAdapter.newInstance();
+
+    private String jsonString;
+    private JsonObject jsonObject;
+    private JsonifiableAdaptable adaptable;
+    private Signal<?> signal;
+
+    @Setup
+    public void setUp() {
+        jsonObject = BenchmarkPayloads.dittoProtocolJson(payload);
+        jsonString = jsonObject.toString();
+        adaptable = ProtocolFactory.jsonifiableAdaptableFromJson(jsonObject);
+        signal = protocolAdapter.fromAdaptable(adaptable);
+    }
+
+    @Benchmark
+    public JsonifiableAdaptable jsonifiableAdaptableFromJson() {
+        return ProtocolFactory.jsonifiableAdaptableFromJson(jsonObject);
+    }
+
+    @Benchmark
+    public JsonifiableAdaptable jsonifiableAdaptableFromString() {
+        return ProtocolFactory.jsonifiableAdaptableFromJson(JsonFactory.newObject(jsonString));
+    }
+
+    @Benchmark
+    public Signal<?> fromAdaptable() {
+        return protocolAdapter.fromAdaptable(adaptable);
+    }
+
+    @Benchmark
+    public Adaptable toAdaptable() {
+        return protocolAdapter.toAdaptable(signal);
+    }
+
+    @Benchmark
+    public Signal<?> stringToSignal() {
+        return protocolAdapter.fromAdaptable(
+                ProtocolFactory.jsonifiableAdaptableFromJson(JsonFactory.newObject(jsonString)));
+    }
+
+    @Benchmark
+    public String signalToString() {
+        return ProtocolFactory.wrapAsJsonifiableAdaptable(protocolAdapter.toAdaptable(signal)).toJsonString();
+    }
+
+}
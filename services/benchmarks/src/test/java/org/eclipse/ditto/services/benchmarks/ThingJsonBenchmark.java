@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.model.base.json.FieldType;
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.model.things.ThingsModelFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH Benchmark for (de-)serializing the large {@link Thing} of the corpus from and to JSON.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class ThingJsonBenchmark {
+
+    private Thing thing;
+    private JsonObject thingJson;
+    private String thingJsonString;
+
+    @Setup
+    public void setUp() {
+        thing = BenchmarkPayloads.largeThing();
+        thingJson = thing.toJson(JsonSchemaVersion.LATEST, FieldType.regularOrSpecial());
+        thingJsonString = thingJson.toString();
+    }
+
+    @Benchmark
+    public Thing newThingFromJsonObject() {
+        return ThingsModelFactory.newThing(thingJson);
+    }
+
+    @Benchmark
+    public Thing newThingFromString() {
+        return ThingsModelFactory.newThing(thingJsonString);
+    }
+
+    @Benchmark
+    public JsonObject toJsonRegularOrSpecial() {
+        return thing.toJson(JsonSchemaVersion.LATEST, FieldType.regularOrSpecial());
+    }
+
+    @Benchmark
+    public String toJsonString() {
+        return thing.toJsonString();
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.things.Feature;
+import org.eclipse.ditto.model.things.Thing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH Benchmark for repeatedly updating single values of a large {@link Thing} and of a large {@link JsonObject}, as
+ * the things persistence does for every modify command. Run with {@code -prof gc} to see the allocation per update.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class ThingUpdateBenchmark {
+
+    private static final JsonPointer PROPERTY_POINTER = JsonPointer.of("status/counter");
+
+    @Param({"10", "1000"})
+    public int objectSize;
+
+    private Thing thing;
+    private String featureId;
+    private JsonObject jsonObject;
+    private String jsonKey;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        thing = BenchmarkPayloads.largeThing();
+        featureId = thing.getFeatures()
+                .flatMap(features -> features.stream().findFirst())
+                .map(Feature::getId)
+                .orElseThrow(() -> new IllegalStateException("The large thing has no features!"));
+
+        final JsonObjectBuilder jsonObjectBuilder = JsonObject.newBuilder();
+        for (int i = 0; i < objectSize; i++) {
+            jsonObjectBuilder.set("key" + i, JsonObject.newBuilder().set("value", i).build());
+        }
+        jsonObject = jsonObjectBuilder.build();
+        jsonKey = "key" + objectSize / 2;
+        counter = 0;
+    }
+
+    @Benchmark
+    public Thing setFeatureProperty() {
+        thing = thing.setFeatureProperty(featureId, PROPERTY_POINTER, JsonValue.of(counter++));
+        return thing;
+    }
+
+    @Benchmark
+    public JsonObject setJsonObjectValue() {
+        jsonObject = jsonObject.setValue(jsonKey, counter++);
+        return jsonObject;
+    }
+
+    @Benchmark
+    public String setJsonObjectValueAndSerialize() {
+        jsonObject = jsonObject.setValue(jsonKey, counter++);
+        return jsonObject.toString();
+    }
+
+}
@@ -0,0 +1,4 @@
+package org.eclipse.ditto.services.benchmarks.generated;
+public class DittoHeadersBenchmark_jmh extends DittoHeadersBenchmark_jmh_B3 {
+}
+
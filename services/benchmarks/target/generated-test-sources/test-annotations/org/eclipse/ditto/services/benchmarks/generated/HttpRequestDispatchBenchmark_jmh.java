@@ -0,0 +1,4 @@
+package org.eclipse.ditto.services.benchmarks.generated;
+public class HttpRequestDispatchBenchmark_jmh extends HttpRequestDispatchBenchmark_jmh_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.eclipse.ditto.services.benchmarks.generated;
+public class JsonValueCodecBenchmark_jmh extends JsonValueCodecBenchmark_jmh_B3 {
+}
+
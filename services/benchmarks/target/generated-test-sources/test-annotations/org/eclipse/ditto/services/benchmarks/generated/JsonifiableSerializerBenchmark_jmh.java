@@ -0,0 +1,4 @@
+package org.eclipse.ditto.services.benchmarks.generated;
+public class JsonifiableSerializerBenchmark_jmh extends JsonifiableSerializerBenchmark_jmh_B3 {
+}
+
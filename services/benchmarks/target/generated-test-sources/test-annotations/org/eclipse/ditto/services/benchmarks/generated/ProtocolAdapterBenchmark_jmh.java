@@ -0,0 +1,4 @@
+package org.eclipse.ditto.services.benchmarks.generated;
+public class ProtocolAdapterBenchmark_jmh extends ProtocolAdapterBenchmark_jmh_B3 {
+}
+
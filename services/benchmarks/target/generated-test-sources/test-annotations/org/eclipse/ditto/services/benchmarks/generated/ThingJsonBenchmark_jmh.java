@@ -0,0 +1,4 @@
+package org.eclipse.ditto.services.benchmarks.generated;
+public class ThingJsonBenchmark_jmh extends ThingJsonBenchmark_jmh_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.eclipse.ditto.services.benchmarks.generated;
+public class ThingUpdateBenchmark_jmh extends ThingUpdateBenchmark_jmh_B3 {
+}
+
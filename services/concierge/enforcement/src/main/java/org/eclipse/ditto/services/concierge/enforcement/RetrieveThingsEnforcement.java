@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.concierge.enforcement;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonFieldSelector;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.headers.WithDittoHeaders;
+import org.eclipse.ditto.model.base.json.FieldType;
+import org.eclipse.ditto.model.base.json.Jsonifiable;
+import org.eclipse.ditto.model.enforcers.Enforcer;
+import org.eclipse.ditto.model.policies.Policy;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.services.models.concierge.EntityId;
+import org.eclipse.ditto.services.models.concierge.cache.Entry;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThingResponse;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThings;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThingsResponse;
+import org.eclipse.ditto.services.utils.cache.Cache;
+import org.eclipse.ditto.services.utils.cluster.ShardRegionExtractor;
+import org.eclipse.ditto.signals.base.ShardedMessageEnvelope;
+import org.eclipse.ditto.signals.commands.base.Command;
+import org.eclipse.ditto.signals.commands.things.ThingCommand;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThings;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import akka.NotUsed;
+import akka.actor.ActorRef;
+import akka.pattern.PatternsCS;
+import akka.stream.javadsl.Source;
+
+/**
+ * Retrieves the Things of a {@link RetrieveThings} or {@link SudoRetrieveThings} command in batches.
+ * <p>
+ * Instead of sending one {@code RetrieveThing} per Thing through the enforcer actor of the Thing, the enforcers of all
+ * Things are looked up in the caches, the permission to read is checked once per distinct enforcer and the authorized
+ * Things are retrieved with one command per shard of the Things shard region, which the Things service answers with
+ * all Things of the shard at once. The view on each Thing is restricted by its enforcer like for a single
+ * {@code RetrieveThing}.
+ * </p>
+ * <p>
+ * The retrieved Things are emitted as one {@link RetrieveThingResponse} or {@link SudoRetrieveThingResponse} per
+ * Thing. Things which do not exist or which the requester may not read are omitted. If the Things of a shard cannot be
+ * retrieved, e.g. because the shard does not answer in time, the emitted source fails instead of silently omitting
+ * them.
+ * </p>
+ */
+public final class RetrieveThingsEnforcement {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveThingsEnforcement.class);
+
+    private static final Pattern THING_ID_PATTERN = Pattern.compile(Thing.ID_REGEX);
+    private static final JsonPointer THING_ID = Thing.JsonFields.ID.getPointer();
+
+    private final ActorRef thingsShardRegion;
+    private final ShardRegionExtractor shardRegionExtractor;
+    private final Cache<EntityId, Entry<EntityId>> thingIdCache;
+    private final EnforcerRetriever thingEnforcerRetriever;
+    private final Function<WithDittoHeaders, CompletionStage<WithDittoHeaders>> preEnforcer;
+    private final Duration askTimeout;
+    private final int maxParallelism;
+
+    /**
+     * Constructor.
+     *
+     * @param thingsShardRegion the ActorRef to the Things shard region.
+     * @param shardRegionExtractor the extractor of the Things shard region.
+     * @param thingIdCache the thing-id-cache.
+     * @param policyEnforcerCache the policy-enforcer cache.
+     * @param aclEnforcerCache the acl-enforcer cache.
+     * @param preEnforcer a function executed before actual enforcement, may be {@code null}.
+     * @param askTimeout how long to wait for the Things of one shard.
+     * @param maxParallelism how many shards to ask at the same time.
+     */
+    public RetrieveThingsEnforcement(final ActorRef thingsShardRegion,
+            final ShardRegionExtractor shardRegionExtractor,
+            final Cache<EntityId, Entry<EntityId>> thingIdCache,
+            final Cache<EntityId, Entry<Enforcer>> policyEnforcerCache,
+            final Cache<EntityId, Entry<Enforcer>> aclEnforcerCache,
+            @Nullable final Function<WithDittoHeaders, CompletionStage<WithDittoHeaders>> preEnforcer,
+            final Duration askTimeout,
+            final int maxParallelism) {
+
+        this.thingsShardRegion = requireNonNull(thingsShardRegion);
+        this.shardRegionExtractor = requireNonNull(shardRegionExtractor);
+        this.thingIdCache = requireNonNull(thingIdCache);
+        thingEnforcerRetriever =
+                PolicyOrAclEnforcerRetrieverFactory.create(thingIdCache, policyEnforcerCache, aclEnforcerCache);
+        this.preEnforcer = null != preEnforcer ? preEnforcer : CompletableFuture::completedFuture;
+        this.askTimeout = requireNonNull(askTimeout);
+        this.maxParallelism = maxParallelism;
+    }
+
+    /**
+     * Checks whether a {@code RetrieveThings} command can be retrieved in batches. This is not the case if the inlined
+     * policy of the Things is selected, which has to be retrieved for each Thing.
+     *
+     * @param retrieveThings the command.
+     * @return whether the command can be passed to {@link #retrieveThings(RetrieveThings)}.
+     */
+    public static boolean isApplicable(final RetrieveThings retrieveThings) {
+        return !retrieveThings.getSelectedFields()
+                .filter(selector -> selector.getPointers().stream().anyMatch(pointer -> pointer.getRoot()
+                        .filter(key -> Policy.INLINED_FIELD_NAME.equals(key.toString()))
+                        .isPresent()))
+                .isPresent();
+    }
+
+    /**
+     * Retrieves the Things of a {@code RetrieveThings} command which the requester may read.
+     *
+     * @param retrieveThings the command.
+     * @return source of a {@code RetrieveThingResponse} for each retrieved Thing.
+     */
+    public Source<Jsonifiable<?>, NotUsed> retrieveThings(final RetrieveThings retrieveThings) {
+        final DittoHeaders dittoHeaders = retrieveThings.getDittoHeaders();
+        final JsonFieldSelector selectedFields = retrieveThings.getSelectedFields().orElse(null);
+
+        return Source.fromCompletionStage(authorize(getValidThingIds(retrieveThings.getThingIds()), dittoHeaders))
+                .flatMapConcat(views -> retrieveByShard(new ArrayList<>(views.keySet()),
+                        thingIds -> RetrieveThings.getBuilder(thingIds)
+                                .selectedFields(withThingId(selectedFields))
+                                .dittoHeaders(dittoHeaders)
+                                .build(),
+                        response -> toRetrieveThingResponses(response, views, selectedFields, dittoHeaders)));
+    }
+
+    /**
+     * Retrieves the Things of a {@code SudoRetrieveThings} command without authorization.
+     *
+     * @param sudoRetrieveThings the command.
+     * @return source of a {@code SudoRetrieveThingResponse} for each retrieved Thing.
+     */
+    public Source<Jsonifiable<?>, NotUsed> retrieveThings(final SudoRetrieveThings sudoRetrieveThings) {
+        final DittoHeaders dittoHeaders = sudoRetrieveThings.getDittoHeaders();
+        final JsonFieldSelector selectedFields = sudoRetrieveThings.getSelectedFields().orElse(null);
+
+        return retrieveByShard(getValidThingIds(sudoRetrieveThings.getThingIds()),
+                thingIds -> SudoRetrieveThings.of(thingIds, withThingId(selectedFields), dittoHeaders),
+                response -> toSudoRetrieveThingResponses(response, selectedFields, dittoHeaders));
+    }
+
+    private static List<String> getValidThingIds(final List<String> thingIds) {
+        return thingIds.stream()
+                .filter(Objects::nonNull)
+                .filter(thingId -> THING_ID_PATTERN.matcher(thingId).matches())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Looks up the enforcer of each Thing and checks the permission to read once per enforcer.
+     *
+     * @return the view restriction of each readable Thing in the order of the passed Thing IDs.
+     */
+    private CompletionStage<Map<String, UnaryOperator<RetrieveThingResponse>>> authorize(
+            final List<String> thingIds, final DittoHeaders dittoHeaders) {
+
+        final Map<String, CompletableFuture<Optional<EntityId>>> enforcerKeys = new LinkedHashMap<>();
+        thingIds.forEach(thingId -> enforcerKeys.put(thingId, retrieveEnforcerKey(thingId, dittoHeaders)));
+
+        return allOf(enforcerKeys.values()).thenCompose(enforcerKeysRetrieved -> {
+            final Map<EntityId, CompletableFuture<Optional<UnaryOperator<RetrieveThingResponse>>>> viewsByEnforcer =
+                    new HashMap<>();
+            final Map<String, CompletableFuture<Optional<UnaryOperator<RetrieveThingResponse>>>> viewsByThing =
+                    new LinkedHashMap<>();
+            enforcerKeys.forEach((thingId, enforcerKey) -> enforcerKey.join().ifPresent(key ->
+                    viewsByThing.put(thingId, viewsByEnforcer.computeIfAbsent(key,
+                            k -> authorizeByEnforcer(k, RetrieveThing.of(thingId, dittoHeaders))))));
+
+            return allOf(viewsByEnforcer.values()).thenApply(enforcersRetrieved -> {
+                final Map<String, UnaryOperator<RetrieveThingResponse>> result = new LinkedHashMap<>();
+                viewsByThing.forEach((thingId, view) -> view.join().ifPresent(v -> result.put(thingId, v)));
+                LOGGER.debug("Authorized <{}> of <{}> Things with <{}> enforcers.", result.size(), thingIds.size(),
+                        viewsByEnforcer.size());
+                return result;
+            });
+        });
+    }
+
+    private CompletableFuture<Optional<EntityId>> retrieveEnforcerKey(final String thingId,
+            final DittoHeaders dittoHeaders) {
+
+        return preEnforcer.apply(RetrieveThing.of(thingId, dittoHeaders))
+                .thenCompose(preEnforced -> thingIdCache.get(EntityId.of(ThingCommand.RESOURCE_TYPE, thingId)))
+                .thenApply(entry -> entry.filter(Entry::exists).map(Entry::getValue))
+                .exceptionally(error -> {
+                    // e.g. the namespace of the Thing is blocked
+                    LOGGER.debug("Omitting Thing <{}>: {}", thingId, error.getMessage());
+                    return Optional.empty();
+                })
+                .toCompletableFuture();
+    }
+
+    private CompletableFuture<Optional<UnaryOperator<RetrieveThingResponse>>> authorizeByEnforcer(
+            final EntityId enforcerKey, final RetrieveThing retrieveThing) {
+
+        final CompletableFuture<Optional<UnaryOperator<RetrieveThingResponse>>> result = new CompletableFuture<>();
+        thingEnforcerRetriever.retrieveByEnforcerKey(enforcerKey, enforcerEntry ->
+                result.complete(enforcerEntry.exists()
+                        ? authorizeByEnforcer(enforcerKey, enforcerEntry.getValue(), retrieveThing)
+                        : Optional.empty()))
+                .whenComplete((aVoid, error) -> result.complete(Optional.empty()));
+        return result;
+    }
+
+    private static Optional<UnaryOperator<RetrieveThingResponse>> authorizeByEnforcer(final EntityId enforcerKey,
+            final Enforcer enforcer, final RetrieveThing retrieveThing) {
+
+        if (ThingCommand.RESOURCE_TYPE.equals(enforcerKey.getResourceType())) {
+            // the ACL of a Thing either grants READ on the whole Thing or not at all
+            return ThingCommandEnforcement.authorizeByAcl(enforcer, retrieveThing)
+                    .map(authorized -> UnaryOperator.identity());
+        }
+        return ThingCommandEnforcement.authorizeByPolicy(enforcer, retrieveThing)
+                .map(authorized -> response ->
+                        ThingCommandEnforcement.buildJsonViewForThingQueryCommandResponse(response, enforcer));
+    }
+
+    private Source<Jsonifiable<?>, NotUsed> retrieveByShard(final List<String> thingIds,
+            final Function<List<String>, Command<?>> commandFactory,
+            final Function<Object, List<Jsonifiable<?>>> responseHandler) {
+
+        final Collection<List<String>> thingIdsByShard = thingIds.stream()
+                .collect(Collectors.groupingBy(shardRegionExtractor::shardIdOf, LinkedHashMap::new,
+                        Collectors.toList()))
+                .values();
+        final int parallelism = Math.max(1, Math.min(thingIdsByShard.size(), maxParallelism));
+
+        return Source.from(thingIdsByShard)
+                .mapAsyncUnordered(parallelism, shardThingIds ->
+                        askShard(commandFactory.apply(shardThingIds), shardThingIds.get(0)))
+                .mapConcat(responseHandler::apply);
+    }
+
+    /**
+     * Sends a command to the supervisor of one of the Things of a shard, which retrieves all Things of the command.
+     */
+    private CompletionStage<Object> askShard(final Command<?> command, final String thingId) {
+        final ShardedMessageEnvelope envelope = ShardedMessageEnvelope.of(thingId, command.getType(),
+                command.toJson(command.getImplementedSchemaVersion(), FieldType.regularOrSpecial()),
+                command.getDittoHeaders());
+        return PatternsCS.ask(thingsShardRegion, envelope, askTimeout.toMillis());
+    }
+
+    private static List<Jsonifiable<?>> toRetrieveThingResponses(final Object response,
+            final Map<String, UnaryOperator<RetrieveThingResponse>> views,
+            @Nullable final JsonFieldSelector selectedFields,
+            final DittoHeaders dittoHeaders) {
+
+        if (!(response instanceof RetrieveThingsResponse)) {
+            throw toFailure(RetrieveThingsResponse.class, response);
+        }
+        final RetrieveThingsResponse retrieveThingsResponse = (RetrieveThingsResponse) response;
+        final List<Jsonifiable<?>> result = new ArrayList<>();
+        for (final JsonObject thing : getThings(
+                retrieveThingsResponse.getEntity(retrieveThingsResponse.getImplementedSchemaVersion()))) {
+            final String thingId = thing.getValueOrThrow(Thing.JsonFields.ID);
+            final UnaryOperator<RetrieveThingResponse> view = views.get(thingId);
+            if (null != view) {
+                final JsonObject thingView = view.apply(RetrieveThingResponse.of(thingId, thing, dittoHeaders))
+                        .getEntity()
+                        .asObject();
+                result.add(RetrieveThingResponse.of(thingId, withoutUnselectedThingId(thingView, selectedFields),
+                        dittoHeaders));
+            }
+        }
+        return result;
+    }
+
+    private static List<Jsonifiable<?>> toSudoRetrieveThingResponses(final Object response,
+            @Nullable final JsonFieldSelector selectedFields,
+            final DittoHeaders dittoHeaders) {
+
+        if (!(response instanceof SudoRetrieveThingsResponse)) {
+            throw toFailure(SudoRetrieveThingsResponse.class, response);
+        }
+        final SudoRetrieveThingsResponse sudoRetrieveThingsResponse = (SudoRetrieveThingsResponse) response;
+        return getThings(sudoRetrieveThingsResponse.getEntity(sudoRetrieveThingsResponse.getImplementedSchemaVersion()))
+                .stream()
+                .map(thing -> SudoRetrieveThingResponse.of(withoutUnselectedThingId(thing, selectedFields),
+                        dittoHeaders))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fails the retrieval if a shard answered with an error, e.g. a {@code ThingUnavailableException} for a Thing
+     * which did not answer in time, so that its Things are not mistaken for non-existing.
+     */
+    private static RuntimeException toFailure(final Class<?> expectedResponseClass, final Object response) {
+        if (response instanceof DittoRuntimeException) {
+            return (DittoRuntimeException) response;
+        }
+        LOGGER.warn("Expected <{}>, got: <{}>", expectedResponseClass.getSimpleName(), response);
+        return new IllegalStateException("Unexpected response to batched retrieval: " + response);
+    }
+
+    private static List<JsonObject> getThings(final JsonValue things) {
+        if (!things.isArray()) {
+            return Collections.emptyList();
+        }
+        return things.asArray().stream()
+                .filter(JsonValue::isObject)
+                .map(JsonValue::asObject)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The Thing ID is always retrieved to correlate the Things of a shard. It is removed again if it was not
+     * selected.
+     */
+    @Nullable
+    private static JsonFieldSelector withThingId(@Nullable final JsonFieldSelector selectedFields) {
+        if (null == selectedFields || selectedFields.getPointers().contains(THING_ID)) {
+            return selectedFields;
+        }
+        return JsonFactory.newFieldSelectorBuilder()
+                .addPointers(selectedFields)
+                .addPointer(THING_ID)
+                .build();
+    }
+
+    private static JsonObject withoutUnselectedThingId(final JsonObject thing,
+            @Nullable final JsonFieldSelector selectedFields) {
+
+        if (null == selectedFields || selectedFields.getPointers().contains(THING_ID)) {
+            return thing;
+        }
+        return thing.remove(THING_ID);
+    }
+
+    private static <T> CompletableFuture<Void> allOf(final Collection<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+}
@@ -652,7 +652,7 @@ public final class ThingCommandEnforcement extends AbstractEnforcement<ThingComm
      * @param enforcer the enforcer.
      * @return response with view on entity restricted by enforcer..
      */
-    private static <T extends ThingQueryCommandResponse> T buildJsonViewForThingQueryCommandResponse(
+    static <T extends ThingQueryCommandResponse> T buildJsonViewForThingQueryCommandResponse(
             final ThingQueryCommandResponse<T> response,
             final Enforcer enforcer) {
 
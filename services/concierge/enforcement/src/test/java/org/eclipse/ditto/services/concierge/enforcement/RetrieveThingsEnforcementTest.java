@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.concierge.enforcement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.eclipse.ditto.model.base.json.JsonSchemaVersion.V_2;
+import static org.eclipse.ditto.model.policies.SubjectIssuer.GOOGLE;
+import static org.eclipse.ditto.model.things.Permission.READ;
+import static org.eclipse.ditto.services.concierge.enforcement.TestSetup.SUBJECT;
+import static org.eclipse.ditto.services.concierge.enforcement.TestSetup.headers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonFieldSelector;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseOptions;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.json.Jsonifiable;
+import org.eclipse.ditto.model.enforcers.Enforcer;
+import org.eclipse.ditto.model.enforcers.PolicyEnforcers;
+import org.eclipse.ditto.model.policies.PoliciesModelFactory;
+import org.eclipse.ditto.model.policies.PoliciesResourceType;
+import org.eclipse.ditto.model.policies.Policy;
+import org.eclipse.ditto.services.models.concierge.EntityId;
+import org.eclipse.ditto.services.models.concierge.cache.Entry;
+import org.eclipse.ditto.services.utils.cache.Cache;
+import org.eclipse.ditto.services.utils.cache.CaffeineCache;
+import org.eclipse.ditto.services.utils.cluster.ShardRegionExtractor;
+import org.eclipse.ditto.signals.base.ShardedMessageEnvelope;
+import org.eclipse.ditto.signals.commands.policies.PolicyCommand;
+import org.eclipse.ditto.signals.commands.things.exceptions.ThingUnavailableException;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThings;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingsResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import akka.actor.ActorSystem;
+import akka.stream.ActorMaterializer;
+import akka.stream.javadsl.Sink;
+import akka.testkit.TestProbe;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Tests {@link RetrieveThingsEnforcement}.
+ */
+public final class RetrieveThingsEnforcementTest {
+
+    private static final String READABLE_POLICY_ID = "ns:readable";
+    private static final String UNREADABLE_POLICY_ID = "ns:unreadable";
+
+    private static final String THING_ID_1 = "ns:thing1";
+    private static final String THING_ID_2 = "ns:thing2";
+    private static final String UNREADABLE_THING_ID = "ns:thing3";
+    private static final String NONEXISTENT_THING_ID = "ns:thing4";
+
+    private static final JsonParseOptions JSON_PARSE_OPTIONS =
+            JsonFactory.newParseOptionsBuilder().withoutUrlDecoding().build();
+
+    private ActorSystem system;
+    private TestProbe thingsShardRegion;
+    private AtomicInteger policyEnforcerLoads;
+    private RetrieveThingsEnforcement underTest;
+
+    @Before
+    public void init() {
+        system = ActorSystem.create();
+        thingsShardRegion = TestProbe.apply(system);
+        policyEnforcerLoads = new AtomicInteger();
+
+        final Cache<EntityId, Entry<EntityId>> thingIdCache = CaffeineCache.of(Caffeine.newBuilder(),
+                (key, executor) -> CompletableFuture.completedFuture(enforcerKeyOf(key.getId())));
+        final Cache<EntityId, Entry<Enforcer>> policyEnforcerCache = CaffeineCache.of(Caffeine.newBuilder(),
+                (key, executor) -> {
+                    policyEnforcerLoads.incrementAndGet();
+                    return CompletableFuture.completedFuture(
+                            Entry.of(1L, PolicyEnforcers.defaultEvaluator(policyOf(key.getId()))));
+                });
+        final Cache<EntityId, Entry<Enforcer>> aclEnforcerCache = CaffeineCache.of(Caffeine.newBuilder(),
+                (key, executor) -> CompletableFuture.completedFuture(Entry.nonexistent()));
+
+        underTest = new RetrieveThingsEnforcement(thingsShardRegion.ref(),
+                ShardRegionExtractor.of(1, Collections.emptyMap()), thingIdCache, policyEnforcerCache,
+                aclEnforcerCache, null, Duration.ofSeconds(10), 4);
+    }
+
+    @After
+    public void shutdown() {
+        if (system != null) {
+            TestKit.shutdownActorSystem(system);
+        }
+    }
+
+    @Test
+    public void retrieveReadableThingsWithOneCommandPerShard() throws Exception {
+        final DittoHeaders dittoHeaders = headers(V_2);
+        final RetrieveThings retrieveThings =
+                RetrieveThings.getBuilder(THING_ID_1, UNREADABLE_THING_ID, NONEXISTENT_THING_ID, THING_ID_2)
+                        .selectedFields(fieldSelector("attributes"))
+                        .dittoHeaders(dittoHeaders)
+                        .build();
+
+        final CompletableFuture<List<Jsonifiable<?>>> result = underTest.retrieveThings(retrieveThings)
+                .runWith(Sink.seq(), ActorMaterializer.create(system))
+                .toCompletableFuture();
+
+        final ShardedMessageEnvelope envelope = thingsShardRegion.expectMsgClass(ShardedMessageEnvelope.class);
+        assertThat(envelope.getType()).isEqualTo(RetrieveThings.TYPE);
+        assertThat(envelope.getMessage().getValue(RetrieveThings.JSON_THING_IDS))
+                .contains(JsonFactory.newArrayBuilder().add(THING_ID_1, THING_ID_2).build());
+        thingsShardRegion.reply(RetrieveThingsResponse.of(Arrays.asList(thing(THING_ID_1), thing(THING_ID_2)),
+                "ns", dittoHeaders));
+
+        final List<RetrieveThingResponse> responses = result.get(10, TimeUnit.SECONDS).stream()
+                .map(RetrieveThingResponse.class::cast)
+                .collect(Collectors.toList());
+
+        assertThat(responses).extracting(RetrieveThingResponse::getThingId).containsExactly(THING_ID_1, THING_ID_2);
+        assertThat(responses).extracting(response -> response.getEntity(V_2))
+                .containsOnly(JsonObject.newBuilder()
+                        .set("attributes", JsonObject.newBuilder().set("public", 1).build())
+                        .build());
+        assertThat(policyEnforcerLoads.get()).isEqualTo(2);
+        thingsShardRegion.expectNoMessage(scala.concurrent.duration.Duration.create(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void failedShardFailsTheRetrieval() {
+        final DittoHeaders dittoHeaders = headers(V_2);
+        final RetrieveThings retrieveThings = RetrieveThings.getBuilder(THING_ID_1, THING_ID_2)
+                .dittoHeaders(dittoHeaders)
+                .build();
+
+        final CompletableFuture<List<Jsonifiable<?>>> result = underTest.retrieveThings(retrieveThings)
+                .runWith(Sink.seq(), ActorMaterializer.create(system))
+                .toCompletableFuture();
+
+        thingsShardRegion.expectMsgClass(ShardedMessageEnvelope.class);
+        final ThingUnavailableException thingUnavailable =
+                ThingUnavailableException.newBuilder(THING_ID_2).dittoHeaders(dittoHeaders).build();
+        thingsShardRegion.reply(thingUnavailable);
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                .withCause(thingUnavailable);
+    }
+
+    @Test
+    public void policyCannotBeRetrievedInBatches() {
+        assertThat(RetrieveThingsEnforcement.isApplicable(RetrieveThings.getBuilder(THING_ID_1)
+                .selectedFields(fieldSelector("thingId,_policy/entries"))
+                .build())).isFalse();
+        assertThat(RetrieveThingsEnforcement.isApplicable(RetrieveThings.getBuilder(THING_ID_1)
+                .selectedFields(fieldSelector("thingId,policyId"))
+                .build())).isTrue();
+    }
+
+    private static JsonFieldSelector fieldSelector(final String fields) {
+        return JsonFactory.newFieldSelector(fields, JSON_PARSE_OPTIONS);
+    }
+
+    private static Entry<EntityId> enforcerKeyOf(final String thingId) {
+        switch (thingId) {
+            case THING_ID_1:
+            case THING_ID_2:
+                return Entry.of(1L, EntityId.of(PolicyCommand.RESOURCE_TYPE, READABLE_POLICY_ID));
+            case UNREADABLE_THING_ID:
+                return Entry.of(1L, EntityId.of(PolicyCommand.RESOURCE_TYPE, UNREADABLE_POLICY_ID));
+            default:
+                return Entry.nonexistent();
+        }
+    }
+
+    private static Policy policyOf(final String policyId) {
+        final String grantedSubject = READABLE_POLICY_ID.equals(policyId) ? SUBJECT.getId() : "other:subject";
+        return PoliciesModelFactory.newPolicyBuilder(policyId)
+                .setRevision(1L)
+                .forLabel("read")
+                .setSubject(GOOGLE, grantedSubject)
+                .setGrantedPermissions(PoliciesResourceType.thingResource(JsonPointer.empty()), READ.name())
+                .setRevokedPermissions(PoliciesResourceType.thingResource(JsonPointer.of("/attributes/secret")),
+                        READ.name())
+                .build();
+    }
+
+    private static String thing(final String thingId) {
+        return JsonObject.newBuilder()
+                .set("thingId", thingId)
+                .set("attributes", JsonObject.newBuilder().set("public", 1).set("secret", 2).build())
+                .build()
+                .toString();
+    }
+
+}
@@ -15,6 +15,9 @@ import static org.eclipse.ditto.services.models.thingsearch.ThingsSearchConstant
 
 import java.util.Objects;
 
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.services.concierge.enforcement.RetrieveThingsEnforcement;
 import org.eclipse.ditto.services.concierge.util.config.AbstractConciergeConfigReader;
 import org.eclipse.ditto.services.concierge.util.config.ConciergeConfigReader;
 import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThings;
@@ -62,10 +65,26 @@ public final class DispatcherActorCreator {
     public static Props props(final ConciergeConfigReader configReader, final ActorRef pubSubMediator,
             final ActorRef enforcerShardRegion) {
 
+        return props(configReader, pubSubMediator, enforcerShardRegion, (RetrieveThingsEnforcement) null);
+    }
+
+    /**
+     * Create Akka actor configuration Props object without pre-enforcer which retrieves Things in batches.
+     *
+     * @param configReader the configReader for the concierge service.
+     * @param pubSubMediator Akka pub-sub mediator.
+     * @param enforcerShardRegion shard region of enforcer actors.
+     * @param retrieveThingsEnforcement retrieves Things in batches, or {@code null} to retrieve each Thing via the
+     * enforcer shard region.
+     * @return the Props object.
+     */
+    public static Props props(final ConciergeConfigReader configReader, final ActorRef pubSubMediator,
+            final ActorRef enforcerShardRegion, @Nullable final RetrieveThingsEnforcement retrieveThingsEnforcement) {
+
         return GraphActor.partial(actorContext -> {
             DispatcherActorCreator.initActor(actorContext.self(), pubSubMediator);
             return DispatcherActorCreator.dispatchGraph(actorContext, configReader, pubSubMediator,
-                    enforcerShardRegion);
+                    enforcerShardRegion, retrieveThingsEnforcement);
         });
     }
 
@@ -87,7 +106,7 @@ public final class DispatcherActorCreator {
             return Flow.<WithSender>create()
                     .via(preEnforcer)
                     .via(DispatcherActorCreator.dispatchGraph(actorContext, configReader, pubSubMediator,
-                            enforcerShardRegion));
+                            enforcerShardRegion, null));
         });
     }
 
@@ -98,17 +117,20 @@ public final class DispatcherActorCreator {
      * @param configReader the configReader for the concierge service.
      * @param pubSubMediator Akka pub-sub mediator.
      * @param enforcerShardRegion shard region of enforcer actors.
+     * @param retrieveThingsEnforcement retrieves Things in batches, may be {@code null}.
      * @return Akka stream graph to dispatch {@code RetrieveThings} and {@code ThingSearchCommand}.
      */
     private static Graph<FlowShape<WithSender, WithSender>, NotUsed> dispatchGraph(
             final AbstractActor.ActorContext actorContext,
             final AbstractConciergeConfigReader configReader,
             final ActorRef pubSubMediator,
-            final ActorRef enforcerShardRegion) {
+            final ActorRef enforcerShardRegion,
+            @Nullable final RetrieveThingsEnforcement retrieveThingsEnforcement) {
 
         return Flow.<WithSender>create()
                 .via(DispatcherActorCreator.dispatchSearchCommands(pubSubMediator))
-                .via(DispatcherActorCreator.dispatchRetrieveThings(actorContext, configReader, enforcerShardRegion));
+                .via(DispatcherActorCreator.dispatchRetrieveThings(actorContext, configReader, enforcerShardRegion,
+                        retrieveThingsEnforcement));
     }
 
     /**
@@ -168,14 +190,16 @@ public final class DispatcherActorCreator {
      * @param actorContext context of the dispatcher actor.
      * @param configReader the configReader for the concierge service.
      * @param enforcerShardRegion shard region of enforcer actors.
+     * @param retrieveThingsEnforcement retrieves Things in batches, may be {@code null}.
      * @return Akka stream graph that forwards relevant commands to the enforcer shard region.
      */
     private static Graph<FlowShape<WithSender, WithSender>, NotUsed> dispatchRetrieveThings(
             final ActorContext actorContext,
             final AbstractConciergeConfigReader configReader,
-            final ActorRef enforcerShardRegion) {
+            final ActorRef enforcerShardRegion,
+            @Nullable final RetrieveThingsEnforcement retrieveThingsEnforcement) {
 
-        final Props props = ThingsAggregatorActor.props(configReader, enforcerShardRegion);
+        final Props props = ThingsAggregatorActor.props(configReader, enforcerShardRegion, retrieveThingsEnforcement);
         final ActorRef thingsAggregatorActor = actorContext.actorOf(props, ThingsAggregatorActor.ACTOR_NAME);
 
         return GraphDSL.create(builder -> {
@@ -23,6 +23,7 @@ import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.model.base.json.Jsonifiable;
 import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.services.concierge.enforcement.RetrieveThingsEnforcement;
 import org.eclipse.ditto.services.concierge.util.config.AbstractConciergeConfigReader;
 import org.eclipse.ditto.services.models.concierge.ConciergeWrapper;
 import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThing;
@@ -32,6 +33,7 @@ import org.eclipse.ditto.signals.commands.base.Command;
 import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
 import org.eclipse.ditto.signals.commands.things.query.RetrieveThings;
 
+import akka.NotUsed;
 import akka.actor.AbstractActor;
 import akka.actor.ActorRef;
 import akka.actor.Props;
@@ -47,6 +49,10 @@ import scala.concurrent.ExecutionContext;
 
 /**
  * Actor to aggregate the retrieved Things from persistence.
+ * <p>
+ * If a {@link RetrieveThingsEnforcement} is given, the Things are retrieved in batches per enforcer and shard;
+ * otherwise each Thing is retrieved with its own command via the enforcer shard region.
+ * </p>
  */
 public final class ThingsAggregatorActor extends AbstractActor {
 
@@ -65,9 +71,12 @@ public final class ThingsAggregatorActor extends AbstractActor {
     private final java.time.Duration retrieveSingleThingTimeout;
     private final int maxParallelism;
     private final ActorMaterializer actorMaterializer;
+    @Nullable private final RetrieveThingsEnforcement retrieveThingsEnforcement;
 
-    private ThingsAggregatorActor(final AbstractConciergeConfigReader configReader, final ActorRef targetActor) {
+    private ThingsAggregatorActor(final AbstractConciergeConfigReader configReader, final ActorRef targetActor,
+            @Nullable final RetrieveThingsEnforcement retrieveThingsEnforcement) {
         this.targetActor = targetActor;
+        this.retrieveThingsEnforcement = retrieveThingsEnforcement;
         aggregatorDispatcher = getContext().system().dispatchers().lookup(AGGREGATOR_INTERNAL_DISPATCHER);
         retrieveSingleThingTimeout = configReader.thingsAggregatorSingleRetrieveThingTimeout();
         maxParallelism = configReader.thingsAggregatorMaxParallelism();
@@ -82,12 +91,26 @@ public final class ThingsAggregatorActor extends AbstractActor {
      * @return the Akka configuration Props object
      */
     public static Props props(final AbstractConciergeConfigReader configReader, final ActorRef targetActor) {
+        return props(configReader, targetActor, null);
+    }
+
+    /**
+     * Creates Akka configuration object Props for this ThingsAggregatorActor.
+     *
+     * @param configReader the configReader for the concierge service.
+     * @param targetActor the Actor selection to delegate "asks" for the aggregation to.
+     * @param retrieveThingsEnforcement retrieves Things in batches, or {@code null} to delegate each Thing to the
+     * {@code targetActor}.
+     * @return the Akka configuration Props object
+     */
+    public static Props props(final AbstractConciergeConfigReader configReader, final ActorRef targetActor,
+            @Nullable final RetrieveThingsEnforcement retrieveThingsEnforcement) {
         return Props.create(ThingsAggregatorActor.class, new Creator<ThingsAggregatorActor>() {
             private static final long serialVersionUID = 1L;
 
             @Override
             public ThingsAggregatorActor create() {
-                return new ThingsAggregatorActor(configReader, targetActor);
+                return new ThingsAggregatorActor(configReader, targetActor, retrieveThingsEnforcement);
             }
         }).withDispatcher(AGGREGATOR_INTERNAL_DISPATCHER);
     }
@@ -124,11 +147,19 @@ public final class ThingsAggregatorActor extends AbstractActor {
     }
 
     private void retrieveThings(final RetrieveThings retrieveThings, final ActorRef resultReceiver) {
+        if (null != retrieveThingsEnforcement && RetrieveThingsEnforcement.isApplicable(retrieveThings)) {
+            sendResult(retrieveThingsEnforcement.retrieveThings(retrieveThings), resultReceiver);
+            return;
+        }
         final JsonFieldSelector selectedFields = retrieveThings.getSelectedFields().orElse(null);
         retrieveThingsAndSendResult(retrieveThings.getThingIds(), selectedFields, retrieveThings, resultReceiver);
     }
 
     private void retrieveThings(final SudoRetrieveThings sudoRetrieveThings, final ActorRef resultReceiver) {
+        if (null != retrieveThingsEnforcement) {
+            sendResult(retrieveThingsEnforcement.retrieveThings(sudoRetrieveThings), resultReceiver);
+            return;
+        }
         final JsonFieldSelector selectedFields = sudoRetrieveThings.getSelectedFields().orElse(null);
         retrieveThingsAndSendResult(sudoRetrieveThings.getThingIds(), selectedFields, sudoRetrieveThings,
                 resultReceiver);
@@ -167,6 +198,15 @@ public final class ThingsAggregatorActor extends AbstractActor {
                 .to(resultReceiver);
     }
 
+    private void sendResult(final Source<Jsonifiable<?>, NotUsed> commandResponses, final ActorRef resultReceiver) {
+        final CompletionStage<?> commandResponseSource = commandResponses
+                .log("command-response", log)
+                .runWith(StreamRefs.sourceRef(), actorMaterializer);
+
+        PatternsCS.pipe(commandResponseSource, aggregatorDispatcher)
+                .to(resultReceiver);
+    }
+
     private int calculateParallelism(final List<String> thingIds) {
         final int size = thingIds.size();
         if (size < (maxParallelism / 2)) {
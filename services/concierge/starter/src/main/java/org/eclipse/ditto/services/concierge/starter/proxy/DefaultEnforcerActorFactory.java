@@ -33,6 +33,7 @@ import org.eclipse.ditto.services.concierge.enforcement.EnforcementProvider;
 import org.eclipse.ditto.services.concierge.enforcement.EnforcerActorCreator;
 import org.eclipse.ditto.services.concierge.enforcement.LiveSignalEnforcement;
 import org.eclipse.ditto.services.concierge.enforcement.PolicyCommandEnforcement;
+import org.eclipse.ditto.services.concierge.enforcement.RetrieveThingsEnforcement;
 import org.eclipse.ditto.services.concierge.enforcement.ThingCommandEnforcement;
 import org.eclipse.ditto.services.concierge.enforcement.placeholders.PlaceholderSubstitution;
 import org.eclipse.ditto.services.concierge.enforcement.validators.CommandWithOptionalEntityValidator;
@@ -143,8 +144,15 @@ public final class DefaultEnforcerActorFactory extends AbstractEnforcerActorFact
                 ConciergeMessagingConstants.BLOCKED_NAMESPACES_UPDATER_NAME,
                 blockedNamespacesUpdaterProps);
 
-        context.actorOf(DispatcherActorCreator.props(configReader, pubSubMediator, enforcerShardRegion),
-                DispatcherActorCreator.ACTOR_NAME);
+        final RetrieveThingsEnforcement retrieveThingsEnforcement = configReader.thingsAggregatorBatchedRetrieval()
+                ? new RetrieveThingsEnforcement(thingsShardRegionProxy,
+                ShardRegionExtractor.of(configReader.cluster().numberOfShards(), actorSystem), thingIdCache,
+                policyEnforcerCache, aclEnforcerCache, preEnforcer,
+                configReader.thingsAggregatorSingleRetrieveThingTimeout(),
+                configReader.thingsAggregatorMaxParallelism())
+                : null;
+        context.actorOf(DispatcherActorCreator.props(configReader, pubSubMediator, enforcerShardRegion,
+                retrieveThingsEnforcement), DispatcherActorCreator.ACTOR_NAME);
 
         return enforcerShardRegion;
     }
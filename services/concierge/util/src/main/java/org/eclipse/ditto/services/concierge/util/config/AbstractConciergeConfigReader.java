@@ -32,6 +32,9 @@ public abstract class AbstractConciergeConfigReader extends AbstractServiceConfi
     private static final String PATH_THINGS_AGGREGATOR_MAX_PARALLELISM =
             PATH_PREFIX_THINGS_AGGREGATOR + "max-parallelism";
 
+    private static final String PATH_THINGS_AGGREGATOR_BATCHED_RETRIEVAL =
+            PATH_PREFIX_THINGS_AGGREGATOR + "batched-retrieval";
+
 
     protected AbstractConciergeConfigReader(final Config config, final String serviceName) {
         super(config, serviceName);
@@ -74,4 +77,15 @@ public abstract class AbstractConciergeConfigReader extends AbstractServiceConfi
         return config.getInt(PATH_THINGS_AGGREGATOR_MAX_PARALLELISM);
     }
 
+    /**
+     * Retrieve whether the {@code ThingsAggregatorActor} should retrieve Things in batches per enforcer and shard
+     * instead of one {@code RetrieveThing} per Thing.
+     *
+     * @return whether batched retrieval is enabled.
+     */
+    public boolean thingsAggregatorBatchedRetrieval() {
+        return config.hasPath(PATH_THINGS_AGGREGATOR_BATCHED_RETRIEVAL) &&
+                config.getBoolean(PATH_THINGS_AGGREGATOR_BATCHED_RETRIEVAL);
+    }
+
 }
@@ -10,9 +10,13 @@
  */
 package org.eclipse.ditto.services.connectivity.mapping;
 
-import java.nio.CharBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -20,6 +24,9 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.model.base.common.DittoConstants;
 import org.eclipse.ditto.model.base.exceptions.DittoJsonException;
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
@@ -61,9 +68,8 @@ public final class DittoMessageMapper implements MessageMapper {
 
     @Override
     public Optional<Adaptable> map(final ExternalMessage message) {
-        final String payload = extractPayloadAsString(message);
         final JsonifiableAdaptable jsonifiableAdaptable = DittoJsonException.wrapJsonRuntimeException(() ->
-                ProtocolFactory.jsonifiableAdaptableFromJson(JsonFactory.newObject(payload))
+                ProtocolFactory.jsonifiableAdaptableFromJson(extractPayloadAsJsonObject(message))
         );
 
         final DittoHeaders mergedHeaders = mergeHeaders(message, jsonifiableAdaptable);
@@ -89,26 +95,55 @@ public final class DittoMessageMapper implements MessageMapper {
                 .build());
     }
 
-    private static String extractPayloadAsString(final ExternalMessage message) {
-        final Optional<String> payload;
+    private static JsonObject extractPayloadAsJsonObject(final ExternalMessage message) {
         if (message.isTextMessage()) {
-            payload = message.getTextPayload();
+            return message.getTextPayload()
+                    .filter(s -> !s.isEmpty())
+                    .map(JsonFactory::newObject)
+                    .orElseThrow(() -> emptyPayloadException(message));
         } else if (message.isBytesMessage()) {
+            // parse the bytes directly instead of decoding them into an intermediate String first
+            final ByteBuffer bytePayload = message.getBytePayload()
+                    .filter(ByteBuffer::hasRemaining)
+                    .orElseThrow(() -> emptyPayloadException(message));
             final Charset charset = Optional.ofNullable(message.getHeaders()
                     .get(ExternalMessage.CONTENT_TYPE_HEADER))
                     .map(MessageMappers::determineCharset)
                     .orElse(StandardCharsets.UTF_8);
-            payload = message.getBytePayload().map(charset::decode).map(CharBuffer::toString);
+            return readJsonObject(bytePayload, charset);
         } else {
-            payload = Optional.empty();
+            throw emptyPayloadException(message);
         }
+    }
+
+    private static JsonObject readJsonObject(final ByteBuffer bytePayload, final Charset charset) {
+        final ByteBuffer readOnlyPayload = bytePayload.asReadOnlyBuffer();
+        final byte[] bytes;
+        final int offset;
+        if (readOnlyPayload.hasArray()) {
+            bytes = readOnlyPayload.array();
+            offset = readOnlyPayload.arrayOffset() + readOnlyPayload.position();
+        } else {
+            bytes = new byte[readOnlyPayload.remaining()];
+            readOnlyPayload.get(bytes);
+            offset = 0;
+        }
+        final Reader reader =
+                new InputStreamReader(new ByteArrayInputStream(bytes, offset, bytePayload.remaining()), charset);
+        final JsonValue jsonValue = JsonFactory.readFrom(reader);
+        if (!jsonValue.isObject()) {
+            throw JsonParseException.newBuilder()
+                    .message(MessageFormat.format("<{0}> is not a valid JSON object!", jsonValue))
+                    .build();
+        }
+        return jsonValue.asObject();
+    }
 
-        return payload.filter(s -> !s.isEmpty()).orElseThrow(() ->
-                MessageMappingFailedException.newBuilder(message.findContentType().orElse(""))
-                        .description(
-                                "As payload was absent or empty, please make sure to send payload in your messages.")
-                        .dittoHeaders(DittoHeaders.of((message.getHeaders())))
-                        .build());
+    private static MessageMappingFailedException emptyPayloadException(final ExternalMessage message) {
+        return MessageMappingFailedException.newBuilder(message.findContentType().orElse(""))
+                .description("As payload was absent or empty, please make sure to send payload in your messages.")
+                .dittoHeaders(DittoHeaders.of((message.getHeaders())))
+                .build();
     }
 
     /**
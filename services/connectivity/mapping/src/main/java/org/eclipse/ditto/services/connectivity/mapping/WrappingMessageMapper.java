@@ -12,6 +12,7 @@ package org.eclipse.ditto.services.connectivity.mapping;
 
 import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -85,6 +86,13 @@ final class WrappingMessageMapper implements MessageMapper {
         final Optional<Adaptable> mappedOpt = delegate.map(enhancedMessage);
 
         return mappedOpt.map(mapped -> {
+            final Optional<DittoHeaders> mappedHeadersOpt = mapped.getHeaders();
+            if (mappedHeadersOpt.isPresent() &&
+                    containsCorrelationIdAndReplyTo(mappedHeadersOpt.get(), message.getHeaders())) {
+                // e.g. the DittoMessageMapper already merged all headers of the message, no need to copy them again
+                return mapped;
+            }
+
             final DittoHeadersBuilder headersBuilder = DittoHeaders.newBuilder();
             headersBuilder.correlationId(correlationId);
 
@@ -107,16 +115,29 @@ final class WrappingMessageMapper implements MessageMapper {
         final Optional<ExternalMessage> mappedOpt = delegate.map(adaptable);
 
         return mappedOpt.map(mapped -> {
+            final boolean isResponse = adaptable.getPayload().getStatus().isPresent();
+            final Optional<String> replyTo = adaptable.getHeaders().map(h -> h.get(ExternalMessage.REPLY_TO_HEADER));
+            if (mapped.isResponse() == isResponse &&
+                    replyTo.map(r -> r.equals(mapped.getHeaders().get(ExternalMessage.REPLY_TO_HEADER))).orElse(true)) {
+                // nothing to add, e.g. for messages of the DittoMessageMapper
+                return mapped;
+            }
+
             final ExternalMessageBuilder messageBuilder = ExternalMessageFactory.newExternalMessageBuilder(mapped);
-            messageBuilder.asResponse(adaptable.getPayload().getStatus().isPresent());
-            adaptable.getHeaders()
-                    .map(h -> h.get(ExternalMessage.REPLY_TO_HEADER))
-                    .ifPresent(
-                            replyTo -> messageBuilder.withAdditionalHeaders(ExternalMessage.REPLY_TO_HEADER, replyTo));
+            messageBuilder.asResponse(isResponse);
+            replyTo.ifPresent(r -> messageBuilder.withAdditionalHeaders(ExternalMessage.REPLY_TO_HEADER, r));
             return messageBuilder.build();
         });
     }
 
+    private static boolean containsCorrelationIdAndReplyTo(final Map<String, String> mappedHeaders,
+            final Map<String, String> messageHeaders) {
+
+        return mappedHeaders.containsKey(DittoHeaderDefinition.CORRELATION_ID.getKey()) &&
+                (!messageHeaders.containsKey(ExternalMessage.REPLY_TO_HEADER) ||
+                        mappedHeaders.containsKey(ExternalMessage.REPLY_TO_HEADER));
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.connectivity.mapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.model.base.common.DittoConstants;
+import org.eclipse.ditto.protocoladapter.Adaptable;
+import org.eclipse.ditto.protocoladapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocoladapter.ProtocolAdapter;
+import org.eclipse.ditto.services.models.connectivity.ExternalMessage;
+import org.eclipse.ditto.services.models.connectivity.ExternalMessageFactory;
+import org.eclipse.ditto.signals.base.Signal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH Benchmark for mapping Ditto Protocol messages with the default {@link DittoMessageMapper} wrapped like in the
+ * {@link MessageMapperRegistry} of a connection, including the conversion to and from {@link Signal}s.
+ */
+@State(Scope.Benchmark)
+public class DittoMessageMapperBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int WARMUP_TIME = 1000;
+    private static final int MEASUREMENT_TIME = 1000;
+
+    private static final JsonObject DITTO_PROTOCOL_MESSAGE = JsonFactory.newObjectBuilder()
+            .set("topic", "org.eclipse.ditto/jmh-test/things/twin/commands/modify")
+            .set("headers", JsonFactory.newObjectBuilder()
+                    .set("correlation-id", UUID.randomUUID().toString())
+                    .set("response-required", false)
+                    .build())
+            .set("path", "/features/environment/properties")
+            .set("value", JsonFactory.newObjectBuilder()
+                    .set("temperature", 21.5)
+                    .set("humidity", 48)
+                    .set("pressure", 1013.25)
+                    .set("unit", "metric")
+                    .build())
+            .build();
+
+    private final MessageMapper messageMapper = WrappingMessageMapper.wrap(new DittoMessageMapper());
+    private final ProtocolAdapter protocolAdapter = DittoProtocolAdapter.newInstance();
+
+    private final ExternalMessage textMessage;
+    private final ExternalMessage bytesMessage;
+    private final Signal<?> signal;
+
+    public DittoMessageMapperBenchmark() {
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("correlation-id", UUID.randomUUID().toString());
+        headers.put(ExternalMessage.CONTENT_TYPE_HEADER, DittoConstants.DITTO_PROTOCOL_CONTENT_TYPE);
+        headers.put(ExternalMessage.REPLY_TO_HEADER, "replies");
+        textMessage = ExternalMessageFactory.newExternalMessageBuilder(headers)
+                .withText(DITTO_PROTOCOL_MESSAGE.toString())
+                .build();
+        bytesMessage = ExternalMessageFactory.newExternalMessageBuilder(headers)
+                .withBytes(DITTO_PROTOCOL_MESSAGE.toString().getBytes(StandardCharsets.UTF_8))
+                .build();
+        signal = mapToSignal(textMessage);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public Signal<?> mapTextMessageToSignal() {
+        return mapToSignal(textMessage);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public Signal<?> mapBytesMessageToSignal() {
+        return mapToSignal(bytesMessage);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, time = WARMUP_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, time = MEASUREMENT_TIME, timeUnit = TimeUnit.MILLISECONDS)
+    public ExternalMessage mapSignalToExternalMessage() {
+        final Adaptable adaptable = protocolAdapter.toAdaptable(signal);
+        return messageMapper.map(adaptable).orElseThrow(IllegalStateException::new);
+    }
+
+    private Signal<?> mapToSignal(final ExternalMessage externalMessage) {
+        final Adaptable adaptable = messageMapper.map(externalMessage).orElseThrow(IllegalStateException::new);
+        return protocolAdapter.fromAdaptable(adaptable);
+    }
+
+}
@@ -14,6 +14,7 @@ package org.eclipse.ditto.services.connectivity.mapping;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.HashMap;
@@ -61,6 +62,37 @@ public class DittoMessageMapperTest {
         createValidIncomingMappings().forEach((in, out) -> assertThat(underTest.map(in)).isEqualTo(out));
     }
 
+    @Test
+    public void mapBytesMessage() {
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("header-key", "header-value");
+        headers.put(ExternalMessage.CONTENT_TYPE_HEADER, DittoConstants.DITTO_PROTOCOL_CONTENT_TYPE);
+        final String payload = JsonFactory.newObjectBuilder()
+                .set("topic", "org.eclipse.ditto/thing1/things/twin/commands/modify")
+                .set("path", "/attributes/\u00e4")
+                .set("value", "\u00fc")
+                .build()
+                .toString();
+
+        final ExternalMessage textMessage = ExternalMessageFactory.newExternalMessageBuilder(headers)
+                .withText(payload)
+                .build();
+        final ExternalMessage bytesMessage = ExternalMessageFactory.newExternalMessageBuilder(headers)
+                .withBytes(payload.getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        assertThat(underTest.map(bytesMessage)).isEqualTo(underTest.map(textMessage));
+    }
+
+    @Test
+    public void mapEmptyBytesMessageFails() {
+        final ExternalMessage message = ExternalMessageFactory.newExternalMessageBuilder(Collections.emptyMap())
+                .withBytes(new byte[0])
+                .build();
+
+        assertThatExceptionOfType(MessageMappingFailedException.class).isThrownBy(() -> underTest.map(message));
+    }
+
     @Test
     public void mapMessageFails() {
         createInvalidIncomingMappings().forEach((in, e) -> assertThatExceptionOfType(e.getClass()).isThrownBy(
@@ -83,7 +83,9 @@ import akka.event.DiagnosticLoggingAdapter;
 import akka.japi.Pair;
 import akka.japi.pf.FSMStateFunctionBuilder;
 import akka.pattern.PatternsCS;
+import akka.routing.ConsistentHashingPool;
 import akka.routing.DefaultResizer;
+import akka.routing.Pool;
 import akka.routing.Resizer;
 import akka.routing.RoundRobinPool;
 import akka.util.Timeout;
@@ -884,7 +886,8 @@ public abstract class BaseClientActor extends AbstractFSM<BaseClientState, BaseC
 
     /**
      * Starts the {@link MessageMappingProcessorActor} responsible for payload transformation/mapping as child actor
-     * behind a (cluster node local) RoundRobin pool and a dynamic resizer from the current mapping context.
+     * behind a (cluster node local) RoundRobin pool and a dynamic resizer from the current mapping context. If the
+     * connection configures a partition key, a ConsistentHashing pool with one actor per partition is used instead.
      */
     protected Either<DittoRuntimeException, ActorRef> startMessageMappingProcessor() {
         final MappingContext mappingContext = stateData().getConnection().getMappingContext().orElse(null);
@@ -893,7 +896,8 @@ public abstract class BaseClientActor extends AbstractFSM<BaseClientState, BaseC
 
     /**
      * Starts the {@link MessageMappingProcessorActor} responsible for payload transformation/mapping as child actor
-     * behind a (cluster node local) RoundRobin pool and a dynamic resizer.
+     * behind a (cluster node local) RoundRobin pool and a dynamic resizer, or behind a ConsistentHashing pool if the
+     * connection configures a partition key (see {@link MessageMappingProcessorPartitioning}).
      *
      * @param mappingContext the MappingContext containing information about how to map external messages
      */
@@ -921,11 +925,24 @@ public abstract class BaseClientActor extends AbstractFSM<BaseClientState, BaseC
             final Props props =
                     MessageMappingProcessorActor.props(getSelf(), conciergeForwarder, processor, connectionId());
 
-            final Resizer resizer = new DefaultResizer(1, connection.getProcessorPoolSize());
-            messageMappingProcessorActor = getContext().actorOf(new RoundRobinPool(1)
-                    .withDispatcher("message-mapping-processor-dispatcher")
-                    .withResizer(resizer)
-                    .props(props), nextChildActorName(MessageMappingProcessorActor.ACTOR_NAME));
+            final Optional<MessageMappingProcessorPartitioning> partitioning =
+                    MessageMappingProcessorPartitioning.of(connection);
+            final Pool pool;
+            if (partitioning.isPresent()) {
+                // one pipeline per partition so that messages of the same device are processed in order
+                log.info("Partitioning messages to <{}> MessageMappingProcessorActors with <{}>.",
+                        connection.getProcessorPoolSize(), partitioning.get());
+                pool = new ConsistentHashingPool(connection.getProcessorPoolSize())
+                        .withHashMapper(partitioning.get())
+                        .withDispatcher("message-mapping-processor-dispatcher");
+            } else {
+                final Resizer resizer = new DefaultResizer(1, connection.getProcessorPoolSize());
+                pool = new RoundRobinPool(1)
+                        .withDispatcher("message-mapping-processor-dispatcher")
+                        .withResizer(resizer);
+            }
+            messageMappingProcessorActor = getContext().actorOf(pool.props(props),
+                    nextChildActorName(MessageMappingProcessorActor.ACTOR_NAME));
         } else {
             log.info("MessageMappingProcessor already instantiated: not initializing again.");
         }
@@ -108,7 +108,11 @@ import akka.persistence.RecoveryCompleted;
 import akka.persistence.SaveSnapshotSuccess;
 import akka.persistence.SnapshotOffer;
 import akka.routing.Broadcast;
-import akka.routing.RoundRobinPool;
+import akka.routing.ConsistentHashingPool;
+import akka.routing.ConsistentHashingRouter.ConsistentHashableEnvelope;
+import akka.routing.GetRoutees;
+import akka.routing.Pool;
+import akka.routing.Routees;
 import scala.concurrent.ExecutionContextExecutor;
 import scala.concurrent.duration.Duration;
 import scala.concurrent.duration.FiniteDuration;
@@ -158,6 +162,7 @@ public final class ConnectionActor extends AbstractPersistentActor {
     @Nullable private ActorRef clientActorRouter;
     @Nullable private Connection connection;
     @Nullable private SignalFilter signalFilter = null;
+    private boolean targetsContainPlaceholders = false;
 
     private long lastSnapshotSequenceNr = -1L;
     private boolean snapshotInProgress = false;
@@ -305,6 +310,7 @@ public final class ConnectionActor extends AbstractPersistentActor {
         connection = theConnection;
         if (theConnection != null) {
             signalFilter = new SignalFilter(theConnection);
+            targetsContainPlaceholders = PlaceholderFilter.containsPlaceholders(theConnection.getTargets());
         }
     }
 
@@ -402,14 +408,36 @@ public final class ConnectionActor extends AbstractPersistentActor {
         }
 
         // forward to client actor if topic was subscribed and there are targets that are authorized to read
-        final Set<Target> filteredTargets =
-                PlaceholderFilter.filterTargets(subscribedAndAuthorizedTargets, signal.getId(),
-                        unresolvedPlaceholder -> log.info(UNRESOLVED_PLACEHOLDERS_MESSAGE, unresolvedPlaceholder));
+        final Set<Target> filteredTargets = targetsContainPlaceholders
+                ? PlaceholderFilter.filterTargets(subscribedAndAuthorizedTargets, signal.getId(),
+                unresolvedPlaceholder -> log.info(UNRESOLVED_PLACEHOLDERS_MESSAGE, unresolvedPlaceholder))
+                : subscribedAndAuthorizedTargets;
 
         log.debug("Forwarding signal <{}> to client actor with targets: {}.", signal.getType(), filteredTargets);
 
         final OutboundSignal outbound = OutboundSignalFactory.newOutboundSignal(signal, filteredTargets);
-        clientActorRouter.tell(outbound, getSender());
+        clientActorRouter.tell(toClientActorRouting(outbound), getSender());
+    }
+
+    /**
+     * Wraps the given signal for the router of the client actors: all signals of a Thing are routed to the same client
+     * actor in order to keep their order.
+     *
+     * @param outboundSignal the signal to publish.
+     * @return the envelope to send to the router created from {@link #newClientActorPool(int)}.
+     */
+    static ConsistentHashableEnvelope toClientActorRouting(final OutboundSignal outboundSignal) {
+        return new ConsistentHashableEnvelope(outboundSignal, outboundSignal.getSource().getId());
+    }
+
+    /**
+     * Creates the router pool of the client actors of a connection which is distributed over the cluster.
+     *
+     * @param clientCount the number of client actors.
+     * @return the pool routing signals by {@link #toClientActorRouting(OutboundSignal)}.
+     */
+    static Pool newClientActorPool(final int clientCount) {
+        return new ConsistentHashingPool(clientCount);
     }
 
     private void testConnection(final TestConnection command) {
@@ -845,9 +873,8 @@ public final class ConnectionActor extends AbstractPersistentActor {
             final ClusterRouterPoolSettings clusterRouterPoolSettings =
                     new ClusterRouterPoolSettings(clientCount, 1, true,
                             Collections.singleton(CLUSTER_ROLE));
-            final RoundRobinPool roundRobinPool = new RoundRobinPool(clientCount);
             final Props clusterRouterPoolProps =
-                    new ClusterRouterPool(roundRobinPool, clusterRouterPoolSettings).props(props);
+                    new ClusterRouterPool(newClientActorPool(clientCount), clusterRouterPoolSettings).props(props);
 
             // start client actor without name so it does not conflict with its previous incarnation
             clientActorRouter = getContext().actorOf(clusterRouterPoolProps);
@@ -953,7 +980,7 @@ public final class ConnectionActor extends AbstractPersistentActor {
      * Local helper-actor which is started for aggregating several CommandResponses sent back by potentially several
      * {@code clientActors} (behind a cluster Router running on different cluster nodes).
      */
-    private static final class AggregateActor extends AbstractActor {
+    static final class AggregateActor extends AbstractActor {
 
         private final DiagnosticLoggingAdapter log = LogUtil.obtain(this);
 
@@ -962,10 +989,11 @@ public final class ConnectionActor extends AbstractPersistentActor {
 
         private final String connectionId;
         private final ActorRef clientActor;
-        private final int expectedResponses;
         private final long timeout;
 
+        private int expectedResponses;
         private int responseCount = 0;
+        @Nullable private Command<?> command;
         @Nullable private ActorRef origin;
         @Nullable private DittoHeaders originHeaders;
 
@@ -998,13 +1026,25 @@ public final class ConnectionActor extends AbstractPersistentActor {
         @Override
         public Receive createReceive() {
             return ReceiveBuilder.create()
-                    .match(Command.class, command -> {
-                        clientActor.tell(new Broadcast(command), getSelf());
-                        originHeaders = command.getDittoHeaders();
+                    .match(Command.class, cmd -> {
+                        // ask for the routees first: there are fewer client actors than configured if the cluster
+                        // has fewer connectivity nodes than the client count of the connection
+                        command = cmd;
+                        originHeaders = cmd.getDittoHeaders();
                         origin = getSender();
+                        clientActor.tell(GetRoutees.getInstance(), getSelf());
                         getContext().setReceiveTimeout(
                                 Duration.create(timeout / 2.0, TimeUnit.MILLISECONDS));
                     })
+                    .match(Routees.class, routees -> {
+                        final int routeeCount = routees.getRoutees().size();
+                        if (routeeCount > 0 && routeeCount < expectedResponses) {
+                            log.debug("Expecting <{}> instead of <{}> responses as only <{}> client actors are " +
+                                    "running.", routeeCount, expectedResponses, routeeCount);
+                            expectedResponses = routeeCount;
+                        }
+                        clientActor.tell(new Broadcast(command), getSelf());
+                    })
                     .match(ReceiveTimeout.class, timeout -> {
                         // send back (partially) gathered responses
                         sendBackAggregatedResults();
@@ -187,7 +187,8 @@ public final class MessageMappingProcessor {
         if (contentTypeOpt.isPresent()) {
             final String contentType = contentTypeOpt.get();
             if (registry.getDefaultMapper().getContentType().filter(contentType::equals).isPresent()) {
-                log.info("Selected Default MessageMapper for mapping ExternalMessage as content-type matched <{}>",
+                // happens for every Ditto Protocol message, so do not log on info level
+                log.debug("Selected Default MessageMapper for mapping ExternalMessage as content-type matched <{}>",
                         contentType);
                 return registry.getDefaultMapper();
             }
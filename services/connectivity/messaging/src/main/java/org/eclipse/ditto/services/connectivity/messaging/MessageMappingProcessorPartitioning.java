@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.connectivity.messaging;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.model.base.headers.DittoHeaderDefinition;
+import org.eclipse.ditto.model.connectivity.Connection;
+import org.eclipse.ditto.services.models.connectivity.ExternalMessage;
+import org.eclipse.ditto.services.models.connectivity.OutboundSignal;
+import org.eclipse.ditto.services.models.connectivity.placeholder.HeadersPlaceholder;
+import org.eclipse.ditto.services.models.connectivity.placeholder.PlaceholderFactory;
+import org.eclipse.ditto.services.models.connectivity.placeholder.PlaceholderTemplate;
+import org.eclipse.ditto.signals.base.WithId;
+
+import akka.routing.ConsistentHashingRouter;
+
+/**
+ * Determines to which of the {@link MessageMappingProcessorActor}s of a connection a message is routed. Messages
+ * with the same partition key are always processed by the same actor, so the order of messages of one device or
+ * Thing is preserved while messages of different devices are mapped in parallel.
+ * <p>
+ * The partition key of inbound {@link ExternalMessage}s is resolved from the {@link HeadersPlaceholder} template
+ * configured as {@value #PARTITION_KEY_CONFIG} in the specific config of the connection, e. g.
+ * {@code {{ header:device_id }}}. Outbound signals and responses are partitioned by their Thing ID.
+ * </p>
+ */
+@Immutable
+public final class MessageMappingProcessorPartitioning implements ConsistentHashingRouter.ConsistentHashMapper {
+
+    /**
+     * Key of the specific config of a connection which holds the partition key template for inbound messages.
+     */
+    public static final String PARTITION_KEY_CONFIG = "processorPartitionKey";
+
+    private static final HeadersPlaceholder HEADERS_PLACEHOLDER = PlaceholderFactory.newHeadersPlaceholder();
+
+    private final PlaceholderTemplate partitionKeyTemplate;
+
+    private MessageMappingProcessorPartitioning(final String partitionKeyTemplate) {
+        // compiled once as the template is rendered for every inbound message
+        this.partitionKeyTemplate = PlaceholderTemplate.compile(partitionKeyTemplate);
+    }
+
+    /**
+     * Returns the partitioning of the given connection.
+     *
+     * @param connection the connection.
+     * @return the partitioning or an empty Optional if the connection does not configure a partition key, i. e.
+     * if messages do not have to be processed in order.
+     * @throws NullPointerException if {@code connection} is {@code null}.
+     */
+    static Optional<MessageMappingProcessorPartitioning> of(final Connection connection) {
+        checkNotNull(connection, "connection");
+        return Optional.ofNullable(connection.getSpecificConfig().get(PARTITION_KEY_CONFIG))
+                .filter(template -> !template.trim().isEmpty())
+                .map(MessageMappingProcessorPartitioning::new);
+    }
+
+    @Override
+    public Object hashKey(final Object message) {
+        // always answer a String: other keys would be serialized by the router to compute their hash
+        if (message instanceof ExternalMessage) {
+            return hashKey((ExternalMessage) message);
+        } else if (message instanceof OutboundSignal) {
+            return ((OutboundSignal) message).getSource().getId();
+        } else if (message instanceof WithId) {
+            return ((WithId) message).getId();
+        }
+        return String.valueOf(System.identityHashCode(message));
+    }
+
+    private String hashKey(final ExternalMessage externalMessage) {
+        final Map<String, String> headers = externalMessage.getHeaders();
+        final String partitionKey = resolvePartitionKey(headers);
+        if (null != partitionKey) {
+            return partitionKey;
+        }
+        // messages without partition key are processed unordered
+        final String correlationId = headers.get(DittoHeaderDefinition.CORRELATION_ID.getKey());
+        return null != correlationId ? correlationId : String.valueOf(System.identityHashCode(externalMessage));
+    }
+
+    @Nullable
+    private String resolvePartitionKey(final Map<String, String> headers) {
+        try {
+            return partitionKeyTemplate.render(headers, HEADERS_PLACEHOLDER, false);
+        } catch (final DittoRuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "partitionKeyTemplate=" + partitionKeyTemplate.getTemplate() +
+                "]";
+    }
+
+}
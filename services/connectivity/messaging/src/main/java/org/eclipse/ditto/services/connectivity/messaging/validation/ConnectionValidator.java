@@ -31,7 +31,10 @@ import org.eclipse.ditto.model.query.criteria.CriteriaFactoryImpl;
 import org.eclipse.ditto.model.query.expression.ThingsFieldExpressionFactory;
 import org.eclipse.ditto.model.query.filter.QueryFilterCriteriaFactory;
 import org.eclipse.ditto.model.query.things.ModelBasedThingsFieldExpressionFactory;
+import org.eclipse.ditto.services.connectivity.messaging.MessageMappingProcessorPartitioning;
 import org.eclipse.ditto.services.connectivity.messaging.internal.SSLContextCreator;
+import org.eclipse.ditto.services.models.connectivity.placeholder.PlaceholderFactory;
+import org.eclipse.ditto.services.models.connectivity.placeholder.PlaceholderFilter;
 
 /**
  * Validate a connection according to its type.
@@ -75,6 +78,7 @@ public final class ConnectionValidator {
         final AbstractProtocolValidator spec = specMap.get(connection.getConnectionType());
         validateSourceAndTargetAddressesAreNonempty(connection, dittoHeaders);
         validateFormatOfCertificates(connection, dittoHeaders);
+        validateProcessorPartitionKey(connection, dittoHeaders);
         if (spec != null) {
             // throw error at validation site for clarity of stack trace
             spec.validate(connection, dittoHeaders);
@@ -116,6 +120,26 @@ public final class ConnectionValidator {
         }
     }
 
+    private static void validateProcessorPartitionKey(final Connection connection,
+            final DittoHeaders dittoHeaders) {
+
+        final String partitionKey =
+                connection.getSpecificConfig().get(MessageMappingProcessorPartitioning.PARTITION_KEY_CONFIG);
+        if (partitionKey != null) {
+            try {
+                PlaceholderFilter.validate(partitionKey, PlaceholderFactory.newHeadersPlaceholder(), false);
+            } catch (final DittoRuntimeException e) {
+                final String message = String.format("The %s <%s> of connection <%s> is invalid.",
+                        MessageMappingProcessorPartitioning.PARTITION_KEY_CONFIG, partitionKey, connection.getId());
+                throw ConnectionConfigurationInvalidException.newBuilder(message)
+                        .description("Only header placeholders are supported, e.g. '{{ header:device_id }}'.")
+                        .cause(e)
+                        .dittoHeaders(dittoHeaders)
+                        .build();
+            }
+        }
+    }
+
     private static DittoRuntimeException emptyAddressesError(final String location, final DittoHeaders dittoHeaders) {
         final String message = location + ": addresses may not be empty.";
         return ConnectionConfigurationInvalidException.newBuilder(message)
@@ -15,6 +15,7 @@ import static org.eclipse.ditto.services.connectivity.messaging.MockClientActor.
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -29,6 +30,7 @@ import org.eclipse.ditto.model.connectivity.ConnectionStatus;
 import org.eclipse.ditto.model.connectivity.ConnectivityModelFactory;
 import org.eclipse.ditto.model.connectivity.Target;
 import org.eclipse.ditto.services.models.connectivity.OutboundSignal;
+import org.eclipse.ditto.services.models.connectivity.OutboundSignalFactory;
 import org.eclipse.ditto.services.utils.test.Retry;
 import org.eclipse.ditto.signals.base.Signal;
 import org.eclipse.ditto.signals.commands.connectivity.AggregatedConnectivityCommandResponse;
@@ -49,6 +51,7 @@ import org.eclipse.ditto.signals.commands.connectivity.query.RetrieveConnectionM
 import org.eclipse.ditto.signals.commands.connectivity.query.RetrieveConnectionResponse;
 import org.eclipse.ditto.signals.commands.connectivity.query.RetrieveConnectionStatus;
 import org.eclipse.ditto.signals.commands.connectivity.query.RetrieveConnectionStatusResponse;
+import org.eclipse.ditto.signals.events.things.ThingDeleted;
 import org.hamcrest.CoreMatchers;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -535,6 +538,116 @@ public final class ConnectionActorTest extends WithMockServers {
         }};
     }
 
+    @Test
+    public void signalsOfTheSameThingAreRoutedToTheSameClientActor() {
+        new TestKit(actorSystem) {{
+            final TestKit probe = new TestKit(actorSystem);
+            final ActorRef clientActorRouter =
+                    actorSystem.actorOf(ConnectionActor.newClientActorPool(4).props(RouteeActor.props(probe)));
+
+            final Set<ActorRef> clientActorsOfOneThing = new HashSet<>();
+            final Set<ActorRef> clientActorsOfAllThings = new HashSet<>();
+            for (int i = 0; i < 40; i++) {
+                clientActorRouter.tell(ConnectionActor.toClientActorRouting(outboundSignal("ditto:thing")), getRef());
+                probe.expectMsgClass(OutboundSignal.class);
+                clientActorsOfOneThing.add(probe.getLastSender());
+
+                clientActorRouter.tell(ConnectionActor.toClientActorRouting(outboundSignal("ditto:thing-" + i)),
+                        getRef());
+                probe.expectMsgClass(OutboundSignal.class);
+                clientActorsOfAllThings.add(probe.getLastSender());
+            }
+
+            assertThat(clientActorsOfOneThing).hasSize(1);
+            assertThat(clientActorsOfAllThings.size()).isGreaterThan(1);
+        }};
+    }
+
+    @Test
+    public void aggregatedMetricsCoverAllRunningClientActors() {
+        new TestKit(actorSystem) {{
+            final TestKit probe = new TestKit(actorSystem);
+            final ActorRef clientActorRouter =
+                    actorSystem.actorOf(ConnectionActor.newClientActorPool(3).props(RouteeActor.props(probe)));
+            // 5 clients are configured but only 3 are running, e.g. because the cluster has only 3 nodes
+            final ActorRef aggregateActor = actorSystem.actorOf(
+                    ConnectionActor.AggregateActor.props(connectionId, clientActorRouter, 5, 20_000L));
+
+            aggregateActor.tell(RetrieveConnectionMetrics.of(connectionId, DittoHeaders.empty()), getRef());
+
+            // answered before the receive timeout of the aggregate actor
+            final AggregatedConnectivityCommandResponse response =
+                    expectMsgClass(AggregatedConnectivityCommandResponse.class);
+            assertThat(response.getAggregatedResponses()).hasSize(3);
+            assertThat(response.getAggregatedResponses().stream()
+                    .map(r -> ((RetrieveConnectionMetricsResponse) r).getConnectionMetrics()
+                            .getConnectionStatusDetails())
+                    .distinct()
+                    .count()).isEqualTo(3L);
+        }};
+    }
+
+    @Test
+    public void aggregatedStatusCoversAllRunningClientActors() {
+        new TestKit(actorSystem) {{
+            final TestKit probe = new TestKit(actorSystem);
+            final ActorRef clientActorRouter =
+                    actorSystem.actorOf(ConnectionActor.newClientActorPool(3).props(RouteeActor.props(probe)));
+            final ActorRef aggregateActor = actorSystem.actorOf(
+                    ConnectionActor.AggregateActor.props(connectionId, clientActorRouter, 5, 20_000L));
+
+            aggregateActor.tell(openConnection, getRef());
+
+            // answered before the receive timeout of the aggregate actor, i.e. after all 3 client actors responded
+            expectMsgClass(Status.Success.class);
+            probe.expectNoMessage();
+        }};
+    }
+
+    private static OutboundSignal outboundSignal(final String thingId) {
+        return OutboundSignalFactory.newOutboundSignal(ThingDeleted.of(thingId, 1L, DittoHeaders.empty()),
+                Collections.singleton(TestConstants.Targets.TWIN_TARGET));
+    }
+
+    /**
+     * Client actor which answers management commands itself and tells all other messages to the probe with itself as
+     * sender.
+     */
+    static final class RouteeActor extends AbstractActor {
+
+        private final TestKit probe;
+
+        private RouteeActor(final TestKit probe) {
+            this.probe = probe;
+        }
+
+        static Props props(final TestKit probe) {
+            return Props.create(RouteeActor.class, new Creator<RouteeActor>() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public RouteeActor create() {
+                    return new RouteeActor(probe);
+                }
+            });
+        }
+
+        @Override
+        public Receive createReceive() {
+            return receiveBuilder()
+                    .match(OpenConnection.class, oc -> sender().tell(new Status.Success("connected"), self()))
+                    .match(RetrieveConnectionMetrics.class, rcm -> {
+                        final ConnectionMetrics metrics = ConnectivityModelFactory.newConnectionMetrics(
+                                ConnectionStatus.OPEN, self().path().name(), Instant.EPOCH,
+                                BaseClientState.CONNECTED.name(), Collections.emptyList(), Collections.emptyList());
+                        sender().tell(RetrieveConnectionMetricsResponse.of(rcm.getConnectionId(), metrics,
+                                rcm.getDittoHeaders()), self());
+                    })
+                    .matchAny(m -> probe.getRef().tell(m, self()))
+                    .build();
+        }
+    }
+
     static class TestActor extends AbstractActor {
 
         private final TestKit probe;
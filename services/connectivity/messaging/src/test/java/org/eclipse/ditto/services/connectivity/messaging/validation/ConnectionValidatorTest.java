@@ -31,6 +31,7 @@ import org.eclipse.ditto.model.connectivity.ConnectivityModelFactory;
 import org.eclipse.ditto.model.connectivity.Topic;
 import org.eclipse.ditto.model.connectivity.credentials.ClientCertificateCredentials;
 import org.eclipse.ditto.model.query.filter.QueryFilterCriteriaFactory;
+import org.eclipse.ditto.services.connectivity.messaging.MessageMappingProcessorPartitioning;
 import org.eclipse.ditto.services.connectivity.messaging.amqp.AmqpValidator;
 import org.junit.Test;
 
@@ -114,6 +115,19 @@ public class ConnectionValidatorTest {
                 .isThrownBy(() -> underTest.validate(connection, DittoHeaders.empty()));
     }
 
+    @Test
+    public void rejectConnectionWithUnsupportedProcessorPartitionKey() {
+        final ActorSystem system = ActorSystem.create(getClass().getSimpleName(), ConfigFactory.load("test"));
+        final Connection connection = createConnection("connectionId", system).toBuilder()
+                .specificConfig(Collections.singletonMap(MessageMappingProcessorPartitioning.PARTITION_KEY_CONFIG,
+                        "{{ thing:id }}"))
+                .build();
+
+        final ConnectionValidator underTest = ConnectionValidator.of(AmqpValidator.newInstance());
+        assertThatExceptionOfType(ConnectionConfigurationInvalidException.class)
+                .isThrownBy(() -> underTest.validate(connection, DittoHeaders.empty()));
+    }
+
     @Test
     public void rejectConnectionWithIllFormedTrustedCertificates() {
         final ActorSystem system = ActorSystem.create(getClass().getSimpleName(), ConfigFactory.load("test"));
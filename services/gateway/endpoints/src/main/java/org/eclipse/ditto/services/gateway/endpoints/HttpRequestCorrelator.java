@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.endpoints;
+
+import static org.eclipse.ditto.services.gateway.starter.service.util.FireAndForgetMessageUtil.isFireAndForgetMessage;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.model.base.common.HttpStatusCode;
+import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.model.messages.MessageTimeoutException;
+import org.eclipse.ditto.protocoladapter.HeaderTranslator;
+import org.eclipse.ditto.services.gateway.starter.service.util.ConfigKeys;
+import org.eclipse.ditto.services.utils.akka.LogUtil;
+import org.eclipse.ditto.signals.commands.base.Command;
+import org.eclipse.ditto.signals.commands.messages.MessageCommand;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.Cancellable;
+import akka.actor.Props;
+import akka.actor.Status;
+import akka.event.DiagnosticLoggingAdapter;
+import akka.http.javadsl.model.HttpRequest;
+import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.StatusCodes;
+import akka.japi.Creator;
+import akka.japi.pf.ReceiveBuilder;
+import akka.pattern.PatternsCS;
+import akka.util.Timeout;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Long-lived actor which dispatches the commands of many HTTP requests to the proxy actor and completes the HTTP
+ * responses by correlating the command responses with the pending requests. Replaces starting one
+ * {@link HttpRequestActor} per HTTP request; the timeouts of the pending requests are kept in a {@link TimerWheel}
+ * which is advanced periodically.
+ * <p>
+ * Each dispatched command gets a token of its own and is asked with a temporary sender, whose reply is piped back to
+ * the correlator together with the token. Responses are thus correlated by dispatch and not by the correlation-id
+ * chosen by the client: a late response can never complete a newer request which reuses the same correlation-id.
+ * </p>
+ */
+public final class HttpRequestCorrelator extends AbstractActor {
+
+    /**
+     * The name prefix of the correlator actors.
+     */
+    static final String ACTOR_NAME_PREFIX = "httpRequestCorrelator";
+
+    private final DiagnosticLoggingAdapter logger = LogUtil.obtain(this);
+
+    private final Duration serverRequestTimeout;
+    private final Duration timeoutTick;
+    private final Map<Long, PendingRequest> pendingRequests;
+    private final TimerWheel<Long> requestTimeouts;
+
+    @Nullable private Cancellable tickSchedule;
+    private long nextToken;
+
+    private HttpRequestCorrelator(final Duration timeoutTick) {
+        this.timeoutTick = timeoutTick;
+        serverRequestTimeout = getContext().getSystem().settings().config()
+                .getDuration(ConfigKeys.AKKA_HTTP_SERVER_REQUEST_TIMEOUT);
+        pendingRequests = new HashMap<>();
+        final int wheelSize = (int) Math.min(Integer.MAX_VALUE,
+                serverRequestTimeout.toMillis() / Math.max(1L, timeoutTick.toMillis()) + 1);
+        requestTimeouts = new TimerWheel<>(timeoutTick, wheelSize, nowMillis());
+        nextToken = 0L;
+    }
+
+    /**
+     * Creates the Akka configuration object of a {@code HttpRequestCorrelator}.
+     *
+     * @param timeoutTick the resolution of the request timeouts.
+     * @return the configuration object.
+     */
+    static Props props(final Duration timeoutTick) {
+        return Props.create(HttpRequestCorrelator.class, new Creator<HttpRequestCorrelator>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public HttpRequestCorrelator create() {
+                return new HttpRequestCorrelator(timeoutTick);
+            }
+        });
+    }
+
+    @Override
+    public void preStart() {
+        final FiniteDuration tick = FiniteDuration.apply(timeoutTick.toMillis(), TimeUnit.MILLISECONDS);
+        tickSchedule = getContext().getSystem().scheduler()
+                .schedule(tick, tick, getSelf(), Tick.INSTANCE, getContext().dispatcher(), ActorRef.noSender());
+    }
+
+    @Override
+    public void postStop() {
+        if (tickSchedule != null) {
+            tickSchedule.cancel();
+        }
+    }
+
+    @Override
+    public Receive createReceive() {
+        return ReceiveBuilder.create()
+                .match(Dispatch.class, this::dispatch)
+                .match(Correlated.class, this::correlate)
+                .match(Tick.class, tick -> expireRequests())
+                .matchAny(m -> logger.warning("Got uncorrelatable message, dropping it: {}", m))
+                .build();
+    }
+
+    private void dispatch(final Dispatch dispatch) {
+        final Object element = dispatch.element;
+        final HttpResponseFactory responseFactory = new HttpResponseFactory(dispatch.headerTranslator, logger);
+        if (element instanceof Status.Failure) {
+            completeWithResult(dispatch.httpResponseFuture,
+                    responseFactory.forStreamFailure(((Status.Failure) element).cause()));
+        } else if (element instanceof DittoRuntimeException) {
+            completeWithResult(dispatch.httpResponseFuture,
+                    responseFactory.forDittoRuntimeException((DittoRuntimeException) element));
+        } else if (element instanceof Command) {
+            dispatchCommand(dispatch, (Command<?>) element, responseFactory);
+        } else {
+            logger.warning("Got unknown message, expected a 'Command': {}", element);
+            completeWithResult(dispatch.httpResponseFuture,
+                    HttpResponse.create().withStatus(HttpStatusCode.INTERNAL_SERVER_ERROR.toInt()));
+        }
+    }
+
+    private void dispatchCommand(final Dispatch dispatch, final Command<?> command,
+            final HttpResponseFactory responseFactory) {
+
+        if (command instanceof MessageCommand) {
+            final MessageCommand<?, ?> messageCommand = (MessageCommand<?, ?>) command;
+            LogUtil.enhanceLogWithCorrelationId(logger, messageCommand);
+            logger.info("Got <MessageCommand> with subject <{}>, told the targetActor about it",
+                    messageCommand.getMessage().getSubject());
+            final Duration messageTimeout = isFireAndForgetMessage(messageCommand) ? null
+                    : messageCommand.getMessage().getTimeout().orElse(null);
+            awaitResponse(command, new PendingRequest(dispatch, responseFactory, messageTimeout));
+        } else if (!command.getDittoHeaders().isResponseRequired()) {
+            dispatch.proxyActor.tell(command, getSelf());
+            completeWithResult(dispatch.httpResponseFuture, HttpResponse.create().withStatus(StatusCodes.ACCEPTED));
+        } else {
+            awaitResponse(command, new PendingRequest(dispatch, responseFactory, null));
+        }
+    }
+
+    private void awaitResponse(final Command<?> command, final PendingRequest pendingRequest) {
+        final Duration timeout = pendingRequest.messageTimeout != null
+                ? Duration.ofSeconds(pendingRequest.messageTimeout.getSeconds())
+                : serverRequestTimeout;
+        final long token = nextToken++;
+        pendingRequests.put(token, pendingRequest);
+        requestTimeouts.schedule(token, timeout, nowMillis());
+
+        // the ask outlives the timer wheel, so that the request expires here before the ask times out
+        final Timeout askTimeout = Timeout.apply(timeout.plus(timeoutTick).plus(timeoutTick).toMillis(),
+                TimeUnit.MILLISECONDS);
+        final CompletionStage<Correlated> correlated = PatternsCS.ask(pendingRequest.proxyActor, command, askTimeout)
+                .handle((response, error) -> new Correlated(token,
+                        error != null ? new Status.Failure(error) : response));
+        PatternsCS.pipe(correlated, getContext().dispatcher()).to(getSelf());
+    }
+
+    private void correlate(final Correlated correlated) {
+        final PendingRequest pendingRequest = pendingRequests.remove(correlated.token);
+        if (pendingRequest == null) {
+            logger.debug("Got response of expired request, dropping it: {}", correlated.response);
+            return;
+        }
+        requestTimeouts.cancel(correlated.token);
+        completeWithResult(pendingRequest.httpResponseFuture,
+                pendingRequest.responseFactory.forCommandResult(pendingRequest.request, correlated.response));
+    }
+
+    private void expireRequests() {
+        for (final Long token : requestTimeouts.advance(nowMillis())) {
+            final PendingRequest pendingRequest = pendingRequests.remove(token);
+            if (pendingRequest == null) {
+                continue;
+            }
+            LogUtil.enhanceLogWithCorrelationId(logger, pendingRequest.correlationId);
+            if (pendingRequest.messageTimeout != null) {
+                logger.info("Got no message response after timeout {}", pendingRequest.messageTimeout);
+                completeWithResult(pendingRequest.httpResponseFuture, pendingRequest.responseFactory
+                        .forDittoRuntimeException(
+                                new MessageTimeoutException(pendingRequest.messageTimeout.getSeconds())));
+            } else {
+                // note that we do not need to send a response here, this is handled by RequestTimeoutHandlingDirective
+                logger.warning("No response within server request timeout ({}), forgetting the request.",
+                        serverRequestTimeout);
+            }
+        }
+    }
+
+    private void completeWithResult(final CompletableFuture<HttpResponse> httpResponseFuture,
+            final HttpResponse response) {
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Responding with HttpResponse code '{}'", response.status().intValue());
+            logger.debug("Responding with Entity: {}", response.entity());
+        }
+        httpResponseFuture.complete(response);
+        logger.clearMDC();
+    }
+
+    private static long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    /**
+     * Message to dispatch an element of the request stream of a HTTP request.
+     */
+    static final class Dispatch {
+
+        private final ActorRef proxyActor;
+        private final HeaderTranslator headerTranslator;
+        private final HttpRequest request;
+        private final Object element;
+        private final CompletableFuture<HttpResponse> httpResponseFuture;
+
+        Dispatch(final ActorRef proxyActor, final HeaderTranslator headerTranslator, final HttpRequest request,
+                final Object element, final CompletableFuture<HttpResponse> httpResponseFuture) {
+            this.proxyActor = proxyActor;
+            this.headerTranslator = headerTranslator;
+            this.request = request;
+            this.element = element;
+            this.httpResponseFuture = httpResponseFuture;
+        }
+
+    }
+
+    private static final class PendingRequest {
+
+        private final ActorRef proxyActor;
+        @Nullable private final String correlationId;
+        private final HttpRequest request;
+        private final CompletableFuture<HttpResponse> httpResponseFuture;
+        private final HttpResponseFactory responseFactory;
+        @Nullable private final Duration messageTimeout;
+
+        private PendingRequest(final Dispatch dispatch, final HttpResponseFactory responseFactory,
+                @Nullable final Duration messageTimeout) {
+            proxyActor = dispatch.proxyActor;
+            correlationId = ((Command<?>) dispatch.element).getDittoHeaders().getCorrelationId().orElse(null);
+            request = dispatch.request;
+            httpResponseFuture = dispatch.httpResponseFuture;
+            this.responseFactory = responseFactory;
+            this.messageTimeout = messageTimeout;
+        }
+
+    }
+
+    /**
+     * Response or failure of a dispatched command together with the token of its dispatch.
+     */
+    private static final class Correlated {
+
+        private final long token;
+        private final Object response;
+
+        private Correlated(final long token, final Object response) {
+            this.token = token;
+            this.response = response;
+        }
+
+    }
+
+    private static final class Tick {
+
+        private static final Tick INSTANCE = new Tick();
+
+        private Tick() {}
+
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.endpoints;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ditto.protocoladapter.HeaderTranslator;
+import org.eclipse.ditto.services.gateway.starter.service.util.ConfigKeys;
+
+import com.typesafe.config.Config;
+
+import akka.actor.AbstractExtensionId;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Extension;
+import akka.http.javadsl.model.HttpRequest;
+import akka.http.javadsl.model.HttpResponse;
+
+/**
+ * Akka extension holding the pool of {@link HttpRequestCorrelator}s of an actor system. The elements of the request
+ * streams of HTTP requests are spread across the correlators round-robin; each correlator receives the responses of
+ * the commands it dispatched.
+ */
+public final class HttpRequestCorrelators implements Extension {
+
+    private static final ExtensionId EXTENSION_ID = new ExtensionId();
+
+    private final List<ActorRef> correlators;
+    private final AtomicInteger nextCorrelator;
+
+    private HttpRequestCorrelators(final List<ActorRef> correlators) {
+        this.correlators = correlators;
+        nextCorrelator = new AtomicInteger();
+    }
+
+    /**
+     * Returns the {@code HttpRequestCorrelators} of an actor system; the correlators are started on first access.
+     *
+     * @param actorSystem the actor system.
+     * @return the correlators.
+     */
+    public static HttpRequestCorrelators get(final ActorSystem actorSystem) {
+        return EXTENSION_ID.get(actorSystem);
+    }
+
+    /**
+     * Dispatches an element of the request stream of a HTTP request, i. e. a
+     * {@link org.eclipse.ditto.signals.commands.base.Command}, a
+     * {@link org.eclipse.ditto.model.base.exceptions.DittoRuntimeException} or an {@link akka.actor.Status.Failure}.
+     *
+     * @param proxyActor the proxy actor which delegates commands.
+     * @param headerTranslator the {@link HeaderTranslator} used to map ditto headers to (external) Http headers.
+     * @param request the HTTP request.
+     * @param element the element of the request stream.
+     * @param httpResponseFuture the completable future which is completed with a HTTP response.
+     */
+    public void dispatch(final ActorRef proxyActor, final HeaderTranslator headerTranslator,
+            final HttpRequest request, final Object element,
+            final CompletableFuture<HttpResponse> httpResponseFuture) {
+
+        final HttpRequestCorrelator.Dispatch dispatch =
+                new HttpRequestCorrelator.Dispatch(proxyActor, headerTranslator, request, element, httpResponseFuture);
+        selectCorrelator().tell(dispatch, ActorRef.noSender());
+    }
+
+    private ActorRef selectCorrelator() {
+        return correlators.get(Math.floorMod(nextCorrelator.getAndIncrement(), correlators.size()));
+    }
+
+    private static final class ExtensionId extends AbstractExtensionId<HttpRequestCorrelators> {
+
+        @Override
+        public HttpRequestCorrelators createExtension(final ExtendedActorSystem system) {
+            final Config config = system.settings().config();
+            final int numberOfCorrelators = Math.max(1, config.getInt(ConfigKeys.HTTP_REQUEST_DISPATCH_CORRELATORS));
+            final Duration timeoutTick = config.getDuration(ConfigKeys.HTTP_REQUEST_DISPATCH_TIMEOUT_TICK);
+
+            final List<ActorRef> correlators = new ArrayList<>(numberOfCorrelators);
+            for (int i = 0; i < numberOfCorrelators; i++) {
+                correlators.add(system.actorOf(HttpRequestCorrelator.props(timeoutTick),
+                        HttpRequestCorrelator.ACTOR_NAME_PREFIX + i));
+            }
+            return new HttpRequestCorrelators(Collections.unmodifiableList(correlators));
+        }
+
+    }
+
+}
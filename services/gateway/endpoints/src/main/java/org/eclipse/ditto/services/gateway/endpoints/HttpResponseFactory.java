@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.endpoints;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.eclipse.ditto.json.JsonRuntimeException;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.common.HttpStatusCode;
+import org.eclipse.ditto.model.base.exceptions.DittoJsonException;
+import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.model.base.headers.DittoHeaderDefinition;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.messages.Message;
+import org.eclipse.ditto.protocoladapter.HeaderTranslator;
+import org.eclipse.ditto.services.utils.akka.LogUtil;
+import org.eclipse.ditto.signals.base.WithOptionalEntity;
+import org.eclipse.ditto.signals.commands.base.CommandResponse;
+import org.eclipse.ditto.signals.commands.base.ErrorResponse;
+import org.eclipse.ditto.signals.commands.base.WithEntity;
+import org.eclipse.ditto.signals.commands.messages.MessageCommandResponse;
+import org.eclipse.ditto.signals.commands.messages.SendMessageAcceptedResponse;
+
+import akka.actor.Status;
+import akka.event.DiagnosticLoggingAdapter;
+import akka.http.javadsl.model.ContentType;
+import akka.http.javadsl.model.ContentTypes;
+import akka.http.javadsl.model.HttpEntities;
+import akka.http.javadsl.model.HttpHeader;
+import akka.http.javadsl.model.HttpRequest;
+import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.StatusCodes;
+import akka.http.javadsl.model.Uri;
+import akka.http.javadsl.model.headers.Location;
+import akka.http.javadsl.model.headers.RawHeader;
+import akka.http.scaladsl.model.ContentType$;
+import akka.http.scaladsl.model.EntityStreamSizeException;
+import akka.pattern.AskTimeoutException;
+import akka.util.ByteString;
+import scala.util.Either;
+
+/**
+ * Translates the results of commands issued for HTTP requests into {@link HttpResponse}s. Shared by the
+ * {@link HttpRequestActor} and the {@link HttpRequestCorrelator} so that both ways of dispatching HTTP requests
+ * respond identically.
+ */
+final class HttpResponseFactory {
+
+    private static final ContentType CONTENT_TYPE_JSON = ContentTypes.APPLICATION_JSON;
+    private static final ContentType CONTENT_TYPE_TEXT = ContentTypes.TEXT_PLAIN_UTF8;
+
+    private final HeaderTranslator headerTranslator;
+    private final DiagnosticLoggingAdapter logger;
+
+    /**
+     * Creates a new {@code HttpResponseFactory}.
+     *
+     * @param headerTranslator the {@link HeaderTranslator} used to map ditto headers to (external) Http headers.
+     * @param logger the logger of the actor using the factory.
+     */
+    HttpResponseFactory(final HeaderTranslator headerTranslator, final DiagnosticLoggingAdapter logger) {
+        this.headerTranslator = headerTranslator;
+        this.logger = logger;
+    }
+
+    /**
+     * Translates a message received while awaiting the response to a command into a {@code HttpResponse}.
+     *
+     * @param request the HTTP request the command was created for.
+     * @param result the received message, e.g. a command response or a failure.
+     * @return the HTTP response.
+     */
+    HttpResponse forCommandResult(final HttpRequest request, final Object result) {
+        if (result instanceof HttpResponse) {
+            // If an actor downstream replies with an HTTP response, simply forward it.
+            return (HttpResponse) result;
+        } else if (result instanceof SendMessageAcceptedResponse) {
+            return HttpResponse.create().withStatus(HttpStatusCode.ACCEPTED.toInt());
+        } else if (result instanceof MessageCommandResponse) {
+            return handleMessageResponseMessage((MessageCommandResponse<?, ?>) result);
+        } else if (result instanceof CommandResponse && result instanceof WithEntity) {
+            final CommandResponse<?> commandResponse = (CommandResponse<?>) result;
+            LogUtil.enhanceLogWithCorrelationId(logger, commandResponse);
+            logger.debug("Got 'CommandResponse' 'WithEntity' message");
+            return createWithEntityResponse(commandResponse, (WithEntity<?>) result);
+        } else if (result instanceof CommandResponse && result instanceof WithOptionalEntity) {
+            final CommandResponse<?> commandResponse = (CommandResponse<?>) result;
+            LogUtil.enhanceLogWithCorrelationId(logger, commandResponse);
+            logger.debug("Got 'CommandResponse' 'WithOptionalEntity' message");
+            return createCommandResponse(request, commandResponse, (WithOptionalEntity) result);
+        } else if (result instanceof ErrorResponse) {
+            final ErrorResponse<?> errorResponse = (ErrorResponse<?>) result;
+            LogUtil.enhanceLogWithCorrelationId(logger, errorResponse);
+            return forDittoRuntimeException(errorResponse.getDittoRuntimeException());
+        } else if (result instanceof CommandResponse) {
+            LogUtil.enhanceLogWithCorrelationId(logger, (CommandResponse<?>) result);
+            logger.error("Got 'CommandResponse' message which did not implement the required interfaces "
+                    + "'WithEntity' / 'WithOptionalEntity': {}", result);
+            return HttpResponse.create().withStatus(HttpStatusCode.INTERNAL_SERVER_ERROR.toInt());
+        } else if (result instanceof JsonRuntimeException) {
+            // wrap JsonRuntimeExceptions
+            return forDittoRuntimeException(new DittoJsonException((JsonRuntimeException) result));
+        } else if (result instanceof DittoRuntimeException) {
+            return forDittoRuntimeException((DittoRuntimeException) result);
+        } else if (result instanceof Status.Failure) {
+            final Throwable cause = ((Status.Failure) result).cause();
+            if (cause instanceof AskTimeoutException) {
+                logger.warning("Got AskTimeoutException when a command response was expected: '{}'",
+                        cause.getMessage());
+            } else if (cause instanceof DittoRuntimeException) {
+                return forDittoRuntimeException((DittoRuntimeException) cause);
+            } else {
+                logger.error(cause.fillInStackTrace(), "Got Status.Failure when a command response was expected: '{}'",
+                        cause.getMessage());
+            }
+            return HttpResponse.create().withStatus(HttpStatusCode.INTERNAL_SERVER_ERROR.toInt());
+        } else {
+            logger.warning("Got unknown message, expected a command response: {}", result);
+            return HttpResponse.create().withStatus(HttpStatusCode.INTERNAL_SERVER_ERROR.toInt());
+        }
+    }
+
+    /**
+     * Translates a failure of the request stream which happened before a command could be created into a
+     * {@code HttpResponse}.
+     *
+     * @param failure the failure of the stream.
+     * @return the HTTP response.
+     */
+    HttpResponse forStreamFailure(final Throwable failure) {
+        Throwable cause = failure;
+        if (cause instanceof JsonRuntimeException) {
+            // wrap JsonRuntimeExceptions
+            cause = new DittoJsonException((JsonRuntimeException) cause);
+        }
+
+        if (cause instanceof DittoRuntimeException) {
+            return forDittoRuntimeException((DittoRuntimeException) cause);
+        } else if (cause instanceof EntityStreamSizeException) {
+            logger.warning("Got EntityStreamSizeException when a 'Command' was expected which means that " +
+                    "the max. allowed http payload size configured in Akka was overstepped in this request.");
+            return HttpResponse.create().withStatus(HttpStatusCode.REQUEST_ENTITY_TOO_LARGE.toInt());
+        } else {
+            logger.error(cause, "Got unknown Status.Failure when a 'Command' was expected");
+            return HttpResponse.create().withStatus(HttpStatusCode.INTERNAL_SERVER_ERROR.toInt());
+        }
+    }
+
+    /**
+     * Translates a {@code DittoRuntimeException} into a {@code HttpResponse} carrying the external headers of the
+     * exception.
+     *
+     * @param dre the exception.
+     * @return the HTTP response.
+     */
+    HttpResponse forDittoRuntimeException(final DittoRuntimeException dre) {
+        if (dre.getDittoHeaders().getCorrelationId().isPresent()) {
+            LogUtil.enhanceLogWithCorrelationId(logger, dre);
+        }
+        logger.info("DittoRuntimeException '{}': {}", dre.getErrorCode(), dre.getMessage());
+
+        final HttpResponse responseWithoutHeaders = HttpResponse.create().withStatus(dre.getStatusCode().toInt());
+        if (HttpStatusCode.NOT_MODIFIED.equals(dre.getStatusCode())) {
+            return enhanceResponseWithExternalDittoHeaders(responseWithoutHeaders, dre.getDittoHeaders());
+        } else {
+            return enhanceResponseWithExternalDittoHeaders(
+                    responseWithoutHeaders.withEntity(CONTENT_TYPE_JSON, ByteString.fromString(dre.toJsonString())),
+                    dre.getDittoHeaders());
+        }
+    }
+
+    private static boolean hasPlainTextContentType(final DittoHeaders dittoHeaders) {
+        final String contentTypeHeader = DittoHeaderDefinition.CONTENT_TYPE.name();
+        return dittoHeaders.containsKey(contentTypeHeader) &&
+                "text/plain".equalsIgnoreCase(dittoHeaders.get(contentTypeHeader));
+    }
+
+    private static HttpResponse addEntityAccordingToContentType(final HttpResponse response, final JsonValue entity,
+            final DittoHeaders dittoHeaders) {
+
+        if (hasPlainTextContentType(dittoHeaders)) {
+            return response.withEntity(CONTENT_TYPE_TEXT, ByteString.fromString(entity.asString()));
+        } else {
+            return response.withEntity(CONTENT_TYPE_JSON, ByteString.fromString(entity.toString()));
+        }
+    }
+
+    private static HttpResponse addEntityAccordingToContentType(final HttpResponse response, final String entityPlain,
+            final DittoHeaders dittoHeaders) {
+
+        if (hasPlainTextContentType(dittoHeaders)) {
+            return response.withEntity(CONTENT_TYPE_TEXT, ByteString.fromString(entityPlain));
+        } else {
+            return response.withEntity(CONTENT_TYPE_JSON, ByteString.fromString(entityPlain));
+        }
+    }
+
+    private HttpResponse createWithEntityResponse(final CommandResponse<?> commandResponse,
+            final WithEntity<?> withEntity) {
+
+        final HttpResponse responseWithoutHeaders = HttpResponse.create()
+                .withStatus(commandResponse.getStatusCode().toInt());
+        final HttpResponse responseWithoutBody = enhanceResponseWithExternalDittoHeaders(
+                responseWithoutHeaders, commandResponse.getDittoHeaders());
+
+        final Optional<String> entityPlainString = withEntity.getEntityPlainString();
+        if (entityPlainString.isPresent()) {
+            return addEntityAccordingToContentType(responseWithoutBody, entityPlainString.get(),
+                    commandResponse.getDittoHeaders());
+        } else {
+            return addEntityAccordingToContentType(responseWithoutBody,
+                    withEntity.getEntity(commandResponse.getImplementedSchemaVersion()),
+                    commandResponse.getDittoHeaders());
+        }
+    }
+
+    private HttpResponse createCommandResponse(final HttpRequest request, final CommandResponse commandResponse,
+            final WithOptionalEntity withOptionalEntity) {
+
+        final Function<HttpResponse, HttpResponse> addExternalDittoHeaders =
+                response -> enhanceResponseWithExternalDittoHeaders(response, commandResponse.getDittoHeaders());
+        final Function<HttpResponse, HttpResponse> addModifiedLocationHeaderForCreatedResponse =
+                createModifiedLocationHeaderAddingResponseMapper(request, commandResponse);
+        final Function<HttpResponse, HttpResponse> addHeaders =
+                addExternalDittoHeaders.andThen(addModifiedLocationHeaderForCreatedResponse);
+
+        final Function<HttpResponse, HttpResponse> addBodyIfEntityExists =
+                createBodyAddingResponseMapper(commandResponse, withOptionalEntity);
+
+        return createHttpResponseWithHeadersAndBody(commandResponse, addHeaders, addBodyIfEntityExists);
+    }
+
+    private static Function<HttpResponse, HttpResponse> createBodyAddingResponseMapper(
+            final CommandResponse commandResponse, final WithOptionalEntity withOptionalEntity) {
+        return response -> {
+            if (StatusCodes.NO_CONTENT.equals(response.status())) {
+                return response;
+            } else {
+                return withOptionalEntity.getEntity(commandResponse.getImplementedSchemaVersion())
+                        .map(entity ->
+                                addEntityAccordingToContentType(response, entity, commandResponse.getDittoHeaders()))
+                        .orElse(response);
+            }
+        };
+    }
+
+    private static Function<HttpResponse, HttpResponse> createModifiedLocationHeaderAddingResponseMapper(
+            final HttpRequest request, final CommandResponse commandResponse) {
+        return response -> {
+            if (HttpStatusCode.CREATED == commandResponse.getStatusCode()) {
+                Uri newUri = request.getUri();
+                if (!request.method().isIdempotent()) {
+                    // only for not idempotent requests (e.g.: POST), add the "createdId" to the path:
+                    final String uriStr = newUri.toString();
+                    String createdLocation;
+                    final int uriIdIndex = uriStr.indexOf(commandResponse.getId());
+
+                    // if the uri contains the id, but *not* at the beginning
+                    if (uriIdIndex > 0) {
+                        createdLocation =
+                                uriStr.substring(0, uriIdIndex) + commandResponse.getId() +
+                                        commandResponse.getResourcePath().toString();
+                    } else {
+                        createdLocation = uriStr + "/" + commandResponse.getId() + commandResponse.getResourcePath()
+                                .toString();
+                    }
+
+                    if (createdLocation.endsWith("/")) {
+                        createdLocation = createdLocation.substring(0, createdLocation.length() - 1);
+                    }
+                    newUri = Uri.create(createdLocation);
+                }
+                return response.addHeader(Location.create(newUri));
+            } else {
+                return response;
+            }
+        };
+    }
+
+    private static HttpResponse createHttpResponseWithHeadersAndBody(
+            final CommandResponse commandResponse, final Function<HttpResponse, HttpResponse> addHeaders,
+            final Function<HttpResponse, HttpResponse> addBody) {
+        final HttpResponse response = HttpResponse.create().withStatus(commandResponse.getStatusCodeValue());
+
+        return addBody.apply(addHeaders.apply(response));
+    }
+
+    private HttpResponse handleMessageResponseMessage(final MessageCommandResponse<?, ?> messageCommandResponse) {
+        HttpResponse httpResponse;
+
+        final Message<?> message = messageCommandResponse.getMessage();
+        final Optional<?> optionalPayload = message.getPayload();
+        final Optional<ByteBuffer> optionalRawPayload = message.getRawPayload();
+        final Optional<HttpStatusCode> responseStatusCode =
+                Optional.of(messageCommandResponse.getStatusCode())
+                        .filter(code -> StatusCodes.lookup(code.toInt()).isPresent())
+                        // only allow status code which are known to akka-http
+                        .filter(code -> !HttpStatusCode.BAD_GATEWAY.equals(code));
+        // filter "bad gateway" 502 from being used as this is used Ditto internally for graceful HTTP shutdown
+
+        // if statusCode is != NO_CONTENT
+        if (responseStatusCode.map(status -> status != HttpStatusCode.NO_CONTENT).orElse(true)) {
+            final Optional<ContentType> optionalContentType = message.getContentType().map(ContentType$.MODULE$::parse)
+                    .filter(Either::isRight)
+                    .map(Either::right)
+                    .map(Either.RightProjection::get);
+
+            httpResponse =
+                    HttpResponse.create()
+                            .withStatus(responseStatusCode.orElse(HttpStatusCode.OK).toInt());
+
+            if (optionalPayload.isPresent()) {
+                final Object payload = optionalPayload.get();
+
+                if (optionalContentType.isPresent()) {
+                    httpResponse = httpResponse.withEntity(
+                            HttpEntities.create(optionalContentType.get(),
+                                    ByteString.ByteStrings.fromString(payload.toString())));
+                } else {
+                    httpResponse = httpResponse.withEntity(
+                            HttpEntities.create(payload.toString()));
+                }
+            } else if (optionalRawPayload.isPresent()) {
+
+                final ByteBuffer rawPayload = optionalRawPayload.get();
+                if (optionalContentType.isPresent()) {
+                    httpResponse = httpResponse.withEntity(
+                            HttpEntities.create(optionalContentType.get(), rawPayload.array()));
+                } else {
+                    httpResponse = httpResponse.withEntity(
+                            HttpEntities.create(rawPayload.array()));
+                }
+            }
+        } else {
+            // if payload was missing OR statusCode was NO_CONTENT:
+            optionalRawPayload.ifPresent(byteBuffer ->
+                    logger.info("Response payload was set, but response statusCode was also set to: {}. Ignoring the " +
+                            "response payload. Command=<{}>", responseStatusCode, messageCommandResponse)
+            );
+            httpResponse =
+                    HttpResponse.create().withStatus(responseStatusCode.orElse(HttpStatusCode.NO_CONTENT).toInt());
+        }
+
+        return enhanceResponseWithExternalDittoHeaders(httpResponse, messageCommandResponse.getDittoHeaders());
+    }
+
+    private HttpResponse enhanceResponseWithExternalDittoHeaders(final HttpResponse response,
+            final DittoHeaders allDittoHeaders) {
+        final Map<String, String> externalHeaders = headerTranslator.toExternalHeaders(allDittoHeaders);
+
+        if (externalHeaders.isEmpty()) {
+            logger.debug("No external headers for enhancing the response, returning it as-is.");
+            return response;
+        }
+
+        logger.debug("Enhancing response with external headers: <{}>.", externalHeaders);
+        final List<HttpHeader> externalHttpHeaders = new LinkedList<>();
+        externalHeaders.forEach((k, v) -> (externalHttpHeaders).add(RawHeader.create(k, v)));
+
+        return response.withHeaders(externalHttpHeaders);
+    }
+
+}
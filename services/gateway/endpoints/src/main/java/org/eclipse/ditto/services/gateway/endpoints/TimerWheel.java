@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.endpoints;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Hashed timer wheel for many timeouts of the same magnitude. Keys are put into the slot of the tick of their
+ * deadline; advancing the wheel only looks at the slots of the ticks which passed, so scheduling, cancelling and
+ * expiring a key costs constant time regardless of the number of pending keys.
+ *
+ * @param <K> the type of the keys.
+ */
+@NotThreadSafe
+final class TimerWheel<K> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<Set<K>> slots;
+    private final Map<K, Long> deadlineTicks;
+    private long currentTick;
+
+    /**
+     * Creates a new {@code TimerWheel}.
+     *
+     * @param tick the resolution of the timeouts.
+     * @param wheelSize the number of slots; should cover the usual timeout in order to avoid sweeping keys in later
+     * rounds.
+     * @param nowMillis the current time in milliseconds.
+     */
+    TimerWheel(final Duration tick, final int wheelSize, final long nowMillis) {
+        tickMillis = Math.max(1L, tick.toMillis());
+        startMillis = nowMillis;
+        slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+        deadlineTicks = new HashMap<>();
+        currentTick = 0L;
+    }
+
+    /**
+     * Schedules the timeout of a key; a previous timeout of the key is replaced.
+     *
+     * @param key the key.
+     * @param timeout the duration after which the key expires.
+     * @param nowMillis the current time in milliseconds.
+     */
+    void schedule(final K key, final Duration timeout, final long nowMillis) {
+        cancel(key);
+        final long deadlineMillis = nowMillis + timeout.toMillis() - startMillis;
+        final long deadlineTick = Math.max(currentTick + 1, (deadlineMillis + tickMillis - 1) / tickMillis);
+        deadlineTicks.put(key, deadlineTick);
+        slotOf(deadlineTick).add(key);
+    }
+
+    /**
+     * Cancels the timeout of a key.
+     *
+     * @param key the key.
+     * @return whether the key had a pending timeout.
+     */
+    boolean cancel(final K key) {
+        final Long deadlineTick = deadlineTicks.remove(key);
+        if (deadlineTick != null) {
+            slotOf(deadlineTick).remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Advances the wheel to the current time.
+     *
+     * @param nowMillis the current time in milliseconds.
+     * @return the keys which expired since the last advance.
+     */
+    List<K> advance(final long nowMillis) {
+        final long targetTick = (nowMillis - startMillis) / tickMillis;
+        final List<K> expired = new ArrayList<>();
+        final long lastSweptTick = Math.min(targetTick, currentTick + slots.size());
+        for (long tick = currentTick + 1; tick <= lastSweptTick; tick++) {
+            final Iterator<K> keys = slotOf(tick).iterator();
+            while (keys.hasNext()) {
+                final K key = keys.next();
+                if (deadlineTicks.get(key) <= targetTick) {
+                    keys.remove();
+                    deadlineTicks.remove(key);
+                    expired.add(key);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    /**
+     * @return the number of keys with pending timeouts.
+     */
+    int size() {
+        return deadlineTicks.size();
+    }
+
+    private Set<K> slotOf(final long tick) {
+        return slots.get((int) (tick % slots.size()));
+    }
+
+}
@@ -29,6 +29,8 @@ import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
 import org.eclipse.ditto.protocoladapter.HeaderTranslator;
 import org.eclipse.ditto.services.gateway.endpoints.HttpRequestActor;
+import org.eclipse.ditto.services.gateway.endpoints.HttpRequestCorrelators;
+import org.eclipse.ditto.services.gateway.starter.service.util.ConfigKeys;
 import org.eclipse.ditto.services.utils.akka.LogUtil;
 import org.eclipse.ditto.services.utils.protocol.ProtocolAdapterProvider;
 import org.eclipse.ditto.services.utils.protocol.ProtocolConfigReader;
@@ -39,16 +41,20 @@ import org.slf4j.LoggerFactory;
 
 import com.typesafe.config.Config;
 
+import akka.NotUsed;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
+import akka.actor.Status;
 import akka.http.javadsl.model.ContentTypes;
 import akka.http.javadsl.model.HttpResponse;
 import akka.http.javadsl.server.RequestContext;
 import akka.http.javadsl.server.Route;
 import akka.japi.function.Function;
+import akka.japi.pf.PFBuilder;
 import akka.stream.ActorMaterializer;
 import akka.stream.ActorMaterializerSettings;
 import akka.stream.Supervision;
+import akka.stream.javadsl.Flow;
 import akka.stream.javadsl.Sink;
 import akka.stream.javadsl.Source;
 import akka.stream.javadsl.StreamConverters;
@@ -69,10 +75,13 @@ public abstract class AbstractRoute {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractRoute.class);
 
+    private static final String CORRELATOR_DISPATCH_MODE = "correlator";
+
     protected final ActorRef proxyActor;
     protected final ActorMaterializer materializer;
     private final ActorSystem actorSystem;
     private final HeaderTranslator headerTranslator;
+    private final boolean dispatchByCorrelators;
 
     /**
      * Constructs the abstract route builder.
@@ -96,6 +105,9 @@ public abstract class AbstractRoute {
         headerTranslator = protocolAdapterProvider.getHttpHeaderTranslator();
         LOGGER.debug("Using headerTranslator <{}>.", headerTranslator);
 
+        dispatchByCorrelators =
+                CORRELATOR_DISPATCH_MODE.equals(config.getString(ConfigKeys.HTTP_REQUEST_DISPATCH_MODE));
+
         materializer = ActorMaterializer.create(ActorMaterializerSettings.create(actorSystem)
                 .withSupervisionStrategy((Function<Throwable, Supervision.Directive>) exc -> {
                             if (exc instanceof DittoRuntimeException) {
@@ -157,8 +169,7 @@ public abstract class AbstractRoute {
                             .dittoHeaders(dittoHeaders)
                             .build();
                 })
-                .to(Sink.actorRef(createHttpPerRequestActor(ctx, httpResponseFuture),
-                        HttpRequestActor.COMPLETE_MESSAGE))
+                .to(createHttpRequestSink(ctx, httpResponseFuture))
                 .run(materializer);
 
         // optional step: transform the response entity:
@@ -202,6 +213,32 @@ public abstract class AbstractRoute {
         return responseStage; // default: do nothing
     }
 
+    /**
+     * Creates the sink for the request stream of a HTTP request which dispatches the command and completes the
+     * {@code httpResponseFuture}. Depending on the configured dispatch mode, the elements of the stream are sent to a
+     * new {@link HttpRequestActor} or to the {@link HttpRequestCorrelators} of the actor system.
+     *
+     * @param ctx the context of the HTTP request.
+     * @param httpResponseFuture the completable future which is completed with a HTTP response.
+     * @param <T> the type of the elements of the request stream.
+     * @return the sink.
+     */
+    protected <T> Sink<T, NotUsed> createHttpRequestSink(final RequestContext ctx,
+            final CompletableFuture<HttpResponse> httpResponseFuture) {
+
+        if (dispatchByCorrelators) {
+            final HttpRequestCorrelators correlators = HttpRequestCorrelators.get(actorSystem);
+            return Flow.<T>create()
+                    .<Object>map(element -> element)
+                    .recover(new PFBuilder<Throwable, Object>().matchAny(Status.Failure::new).build())
+                    .to(Sink.foreach(element -> correlators.dispatch(proxyActor, headerTranslator, ctx.getRequest(),
+                            element, httpResponseFuture)));
+        } else {
+            return Sink.actorRef(createHttpPerRequestActor(ctx, httpResponseFuture),
+                    HttpRequestActor.COMPLETE_MESSAGE);
+        }
+    }
+
     protected ActorRef createHttpPerRequestActor(final RequestContext ctx,
             final CompletableFuture<HttpResponse> httpResponseFuture) {
         return actorSystem.actorOf(HttpRequestActor.props(proxyActor, headerTranslator, ctx.getRequest(),
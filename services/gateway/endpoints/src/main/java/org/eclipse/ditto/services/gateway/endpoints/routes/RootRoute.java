@@ -199,7 +199,11 @@ public final class RootRoute {
                 config.getDuration(ConfigKeys.MESSAGE_MAX_TIMEOUT),
                 config.getDuration(ConfigKeys.CLAIMMESSAGE_DEFAULT_TIMEOUT),
                 config.getDuration(ConfigKeys.CLAIMMESSAGE_MAX_TIMEOUT));
-        thingSearchRoute = new ThingSearchRoute(proxyActor, actorSystem);
+        thingSearchRoute = new ThingSearchRoute(proxyActor, actorSystem,
+                config.getDuration(ConfigKeys.SEARCH_STREAM_ASK_TIMEOUT),
+                config.getInt(ConfigKeys.SEARCH_STREAM_BATCH_SIZE),
+                config.getDuration(ConfigKeys.SEARCH_STREAM_BATCH_INTERVAL),
+                config.getInt(ConfigKeys.SEARCH_STREAM_PARALLELISM));
 
         websocketRoute = new WebsocketRoute(streamingActor,
                 config.getInt(ConfigKeys.WEBSOCKET_SUBSCRIBER_BACKPRESSURE),
@@ -27,7 +27,6 @@ import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.model.base.common.HttpStatusCode;
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
-import org.eclipse.ditto.services.gateway.endpoints.HttpRequestActor;
 import org.eclipse.ditto.services.gateway.endpoints.directives.CustomPathMatchers;
 import org.eclipse.ditto.services.gateway.endpoints.routes.AbstractRoute;
 import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoCountThings;
@@ -122,8 +121,7 @@ public final class StatsRoute extends AbstractRoute {
                 .fold(ByteString.empty(), ByteString::concat)
                 .map(ByteString::utf8String)
                 .map(requestJsonToCommandFunction)
-                .to(Sink.actorRef(createHttpPerRequestActor(ctx, httpResponseFuture),
-                        HttpRequestActor.COMPLETE_MESSAGE))
+                .to(createHttpRequestSink(ctx, httpResponseFuture))
                 .run(materializer);
 
         return completeWithFuture(httpResponseFuture);
@@ -133,8 +131,7 @@ public final class StatsRoute extends AbstractRoute {
         final CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
 
         Source.single(command)
-                .to(Sink.actorRef(createHttpPerRequestActor(ctx, httpResponseFuture),
-                        HttpRequestActor.COMPLETE_MESSAGE))
+                .to(createHttpRequestSink(ctx, httpResponseFuture))
                 .run(materializer);
 
         final CompletionStage<HttpResponse> allThingsCountHttpResponse = Source.fromCompletionStage(httpResponseFuture)
@@ -21,10 +21,15 @@ public enum ThingSearchParameter {
     FILTER("filter"),
 
     /**
-     * Request parameter for the options (sort, limit) to apply.
+     * Request parameter for the options (sort, limit, cursor) to apply.
      */
     OPTION("option"),
 
+    /**
+     * Request parameter for the cursor of the next page which was returned with a previous page.
+     */
+    CURSOR("cursor"),
+
     /**
      * Request parameter for including only the selected fields in the Thing JSON document(s).
      */
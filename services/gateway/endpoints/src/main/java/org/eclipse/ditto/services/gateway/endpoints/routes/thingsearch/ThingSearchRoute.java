@@ -10,29 +10,58 @@
  */
 package org.eclipse.ditto.services.gateway.endpoints.routes.thingsearch;
 
+import static akka.http.javadsl.server.Directives.complete;
+import static akka.http.javadsl.server.Directives.completeOK;
 import static akka.http.javadsl.server.Directives.get;
+import static akka.http.javadsl.server.Directives.onSuccess;
 import static akka.http.javadsl.server.Directives.parameterOptional;
 import static akka.http.javadsl.server.Directives.path;
 import static akka.http.javadsl.server.Directives.pathEndOrSingleSlash;
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.json.JsonFieldSelector;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.services.gateway.endpoints.directives.CustomPathMatchers;
 import org.eclipse.ditto.services.gateway.endpoints.routes.AbstractRoute;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThings;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingsResponse;
 import org.eclipse.ditto.signals.commands.thingsearch.query.CountThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThings;
+import org.eclipse.ditto.signals.commands.thingsearch.query.StreamThings;
 
+import akka.NotUsed;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
+import akka.http.javadsl.marshalling.sse.EventStreamMarshalling;
+import akka.http.javadsl.model.ContentType;
+import akka.http.javadsl.model.HttpCharsets;
+import akka.http.javadsl.model.HttpEntities;
+import akka.http.javadsl.model.HttpResponse;
+import akka.http.javadsl.model.MediaTypes;
+import akka.http.javadsl.model.headers.Accept;
+import akka.http.javadsl.model.sse.ServerSentEvent;
 import akka.http.javadsl.server.Directives;
 import akka.http.javadsl.server.RequestContext;
 import akka.http.javadsl.server.Route;
+import akka.pattern.PatternsCS;
+import akka.stream.SourceRef;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
 
 /**
  * Builder for creating Akka HTTP routes for {@code /search/things}.
@@ -43,16 +72,37 @@ public final class ThingSearchRoute extends AbstractRoute {
     public static final String PATH_THINGS = "things";
 
     private static final String PATH_COUNT = "count";
+    private static final String PATH_STREAM = "stream";
+
+    private static final ContentType NDJSON_CONTENT_TYPE =
+            MediaTypes.applicationWithFixedCharset("x-ndjson", HttpCharsets.UTF_8).toContentType();
+    private static final ByteString NEWLINE = ByteString.fromString("\n");
+
+    private final Duration streamAskTimeout;
+    private final int streamBatchSize;
+    private final Duration streamBatchInterval;
+    private final int streamParallelism;
 
     /**
      * Constructs the {@code /search/things} route builder.
      *
      * @param proxyActor an actor selection of the command delegating actor.
      * @param actorSystem the ActorSystem to use.
+     * @param streamAskTimeout the timeout for the Thing IDs and for each batch of Things of a stream.
+     * @param streamBatchSize the maximum number of Things of a stream retrieved at once.
+     * @param streamBatchInterval how long to wait for Thing IDs before a smaller batch is retrieved.
+     * @param streamParallelism the number of batches of a stream retrieved in parallel.
      * @throws NullPointerException if any argument is {@code null}.
      */
-    public ThingSearchRoute(final ActorRef proxyActor, final ActorSystem actorSystem) {
+    public ThingSearchRoute(final ActorRef proxyActor, final ActorSystem actorSystem,
+            final Duration streamAskTimeout, final int streamBatchSize, final Duration streamBatchInterval,
+            final int streamParallelism) {
+
         super(proxyActor, actorSystem);
+        this.streamAskTimeout = checkNotNull(streamAskTimeout, "streamAskTimeout");
+        this.streamBatchSize = streamBatchSize;
+        this.streamBatchInterval = checkNotNull(streamBatchInterval, "streamBatchInterval");
+        this.streamParallelism = streamParallelism;
     }
 
     /**
@@ -67,6 +117,8 @@ public final class ThingSearchRoute extends AbstractRoute {
                                 Directives.route(
                                         // /search/things/count
                                         path(PATH_COUNT, () -> countThings(ctx, dittoHeaders)),
+                                        // /search/things/stream
+                                        path(PATH_STREAM, () -> streamThings(ctx, dittoHeaders)),
                                         // /search/things
                                         pathEndOrSingleSlash(() -> searchThings(ctx, dittoHeaders))
                                 )
@@ -97,19 +149,53 @@ public final class ThingSearchRoute extends AbstractRoute {
      */
     private Route searchThings(final RequestContext ctx, final DittoHeaders dittoHeaders) {
         return get(
-                () -> // GET things?filter=<filterString>&options=<optionsString>&fields=<fieldsString>&namespaces=<namespacesString>
+                () -> // GET things?filter=<filterString>&options=<optionsString>&fields=<fieldsString>&namespaces=<namespacesString>&cursor=<cursorString>
                         parameterOptional(ThingSearchParameter.FILTER.toString(), filterString ->
                                 parameterOptional(ThingSearchParameter.NAMESPACES.toString(), namespacesString ->
                                         parameterOptional(ThingSearchParameter.OPTION.toString(), optionsString ->
-                                                parameterOptional(ThingSearchParameter.FIELDS.toString(),
-                                                        fieldsString -> handlePerRequest(ctx,
-                                                                QueryThings.of(calculateFilter(filterString),
-                                                                        calculateOptions(optionsString),
+                                                parameterOptional(ThingSearchParameter.CURSOR.toString(),
+                                                        cursorString ->
+                                                        parameterOptional(ThingSearchParameter.FIELDS.toString(),
+                                                                fieldsString -> handlePerRequest(ctx,
+                                                                        QueryThings.of(calculateFilter(filterString),
+                                                                                calculateOptions(optionsString,
+                                                                                        cursorString),
+                                                                                AbstractRoute.calculateSelectedFields(
+                                                                                        fieldsString)
+                                                                                        .orElse(null),
+                                                                                calculateNamespaces(namespacesString),
+                                                                                dittoHeaders))
+                                                        )
+                                                )
+                                        )
+                                )
+                        )
+        );
+    }
+
+    /*
+     * Describes {@code /search/things/stream} route.
+     *
+     * @return {@code /search/things/stream} route.
+     */
+    private Route streamThings(final RequestContext ctx, final DittoHeaders dittoHeaders) {
+        return get(
+                () -> // GET things/stream?filter=<filterString>&options=<optionsString>&fields=<fieldsString>&namespaces=<namespacesString>&cursor=<cursorString>
+                        parameterOptional(ThingSearchParameter.FILTER.toString(), filterString ->
+                                parameterOptional(ThingSearchParameter.NAMESPACES.toString(), namespacesString ->
+                                        parameterOptional(ThingSearchParameter.OPTION.toString(), optionsString ->
+                                                parameterOptional(ThingSearchParameter.CURSOR.toString(),
+                                                        cursorString ->
+                                                        parameterOptional(ThingSearchParameter.FIELDS.toString(),
+                                                                fieldsString -> completeWithThingsStream(ctx,
+                                                                        StreamThings.of(calculateFilter(filterString),
+                                                                                calculateOptions(optionsString,
+                                                                                        cursorString),
+                                                                                calculateNamespaces(namespacesString),
+                                                                                dittoHeaders),
                                                                         AbstractRoute.calculateSelectedFields(
                                                                                 fieldsString)
-                                                                                .orElse(null),
-                                                                        calculateNamespaces(namespacesString),
-                                                                        dittoHeaders))
+                                                                                .orElse(null)))
                                                 )
                                         )
                                 )
@@ -117,6 +203,68 @@ public final class ThingSearchRoute extends AbstractRoute {
         );
     }
 
+    /*
+     * The search service answers StreamThings with a SourceRef of Thing IDs. The Things are retrieved batch by batch
+     * with a bounded number of parallel RetrieveThings which are enforced by the policies like all other retrievals.
+     * As the HTTP response is a stream as well, the database cursor is read only as fast as the client consumes.
+     */
+    private Route completeWithThingsStream(final RequestContext ctx, final StreamThings streamThings,
+            @Nullable final JsonFieldSelector fields) {
+
+        final CompletionStage<Object> response = PatternsCS.ask(proxyActor, streamThings, streamAskTimeout);
+        return onSuccess(() -> response, thingIds -> {
+            if (thingIds instanceof DittoRuntimeException) {
+                throw (DittoRuntimeException) thingIds;
+            } else if (!(thingIds instanceof SourceRef)) {
+                throw new IllegalStateException("Expected a SourceRef for StreamThings, but got: " + thingIds);
+            }
+            @SuppressWarnings("unchecked")
+            final Source<String, NotUsed> things =
+                    retrieveThings(((SourceRef<String>) thingIds).getSource(), fields,
+                            streamThings.getDittoHeaders());
+
+            if (acceptsEventStream(ctx)) {
+                return completeOK(things.map(ServerSentEvent::create), EventStreamMarshalling.toEventStream());
+            }
+            // newline delimited JSON: one Thing per line
+            return complete(HttpResponse.create().withEntity(HttpEntities.createChunked(NDJSON_CONTENT_TYPE,
+                    things.map(thing -> ByteString.fromString(thing).concat(NEWLINE)))));
+        });
+    }
+
+    private Source<String, NotUsed> retrieveThings(final Source<String, NotUsed> thingIds,
+            @Nullable final JsonFieldSelector fields, final DittoHeaders dittoHeaders) {
+
+        return thingIds.groupedWithin(streamBatchSize, streamBatchInterval)
+                .mapAsync(streamParallelism, batch -> PatternsCS.ask(proxyActor,
+                        RetrieveThings.getBuilder(batch)
+                                .dittoHeaders(dittoHeaders)
+                                .selectedFields(fields)
+                                .build(),
+                        streamAskTimeout))
+                .mapConcat(ThingSearchRoute::toThingsJson);
+    }
+
+    private static List<String> toThingsJson(final Object retrieveThingsResponse) {
+        if (retrieveThingsResponse instanceof RetrieveThingsResponse) {
+            final RetrieveThingsResponse response = (RetrieveThingsResponse) retrieveThingsResponse;
+            return response.getEntity(response.getImplementedSchemaVersion()).asArray().stream()
+                    .map(JsonValue::toString)
+                    .collect(Collectors.toList());
+        } else if (retrieveThingsResponse instanceof DittoRuntimeException) {
+            throw (DittoRuntimeException) retrieveThingsResponse;
+        }
+        throw new IllegalStateException("Expected a RetrieveThingsResponse, but got: " + retrieveThingsResponse);
+    }
+
+    private static boolean acceptsEventStream(final RequestContext ctx) {
+        return ctx.getRequest().getHeader(Accept.class)
+                .map(accept -> StreamSupport.stream(accept.getMediaRanges().spliterator(), false)
+                        .filter(mediaRange -> !"*".equals(mediaRange.mainType()))
+                        .anyMatch(mediaRange -> mediaRange.matches(MediaTypes.TEXT_EVENT_STREAM)))
+                .orElse(false);
+    }
+
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     private static String calculateFilter(final Optional<String> filterString) {
         return filterString.orElse(null);
@@ -138,10 +286,21 @@ public final class ThingSearchRoute extends AbstractRoute {
     }
 
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-    private static List<String> calculateOptions(final Optional<String> optionsString) {
-        return optionsString
+    @Nullable
+    private static List<String> calculateOptions(final Optional<String> optionsString,
+            final Optional<String> cursorString) {
+
+        final List<String> options = optionsString
                 .map(s -> Arrays.asList(s.split(",")))
                 .orElse(null);
+        if (!cursorString.isPresent()) {
+            return options;
+        }
+
+        // the cursor parameter is a shortcut for the cursor option
+        final List<String> optionsWithCursor = null != options ? new ArrayList<>(options) : new ArrayList<>();
+        optionsWithCursor.add("cursor(" + cursorString.get() + ")");
+        return optionsWithCursor;
     }
 
 }
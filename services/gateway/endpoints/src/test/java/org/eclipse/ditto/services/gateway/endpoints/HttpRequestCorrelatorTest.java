@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.endpoints;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.messages.Message;
+import org.eclipse.ditto.model.messages.MessageBuilder;
+import org.eclipse.ditto.model.messages.MessageDirection;
+import org.eclipse.ditto.protocoladapter.HeaderTranslator;
+import org.eclipse.ditto.signals.commands.base.Command;
+import org.eclipse.ditto.signals.commands.messages.SendThingMessage;
+import org.eclipse.ditto.signals.commands.things.exceptions.ThingNotAccessibleException;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.http.javadsl.model.HttpRequest;
+import akka.http.javadsl.model.HttpResponse;
+import akka.testkit.javadsl.TestKit;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Unit test for {@link HttpRequestCorrelator}.
+ */
+public final class HttpRequestCorrelatorTest {
+
+    private static final String THING_ID = "org.eclipse.ditto:thing";
+    private static final String CORRELATION_ID = "correlation-id";
+
+    private static ActorSystem actorSystem;
+
+    @BeforeClass
+    public static void initActorSystem() {
+        actorSystem = ActorSystem.create("AkkaTestSystem", ConfigFactory.load("test"));
+    }
+
+    @AfterClass
+    public static void shutdownActorSystem() {
+        TestKit.shutdownActorSystem(actorSystem);
+    }
+
+    @Test
+    public void responseCompletesItsRequest() throws Exception {
+        new TestKit(actorSystem) {{
+            final ActorRef underTest = actorSystem.actorOf(HttpRequestCorrelator.props(Duration.ofMillis(100L)));
+
+            final CompletableFuture<HttpResponse> response = dispatch(underTest, getRef(), retrieveThing());
+            final RetrieveThing command = expectMsgClass(RetrieveThing.class);
+            reply(retrieveThingResponse(command));
+
+            assertThat(await(response).status().intValue()).isEqualTo(200);
+        }};
+    }
+
+    @Test
+    public void requestsWithTheSameCorrelationIdAreCompletedByTheirOwnResponses() throws Exception {
+        new TestKit(actorSystem) {{
+            final ActorRef underTest = actorSystem.actorOf(HttpRequestCorrelator.props(Duration.ofMillis(100L)));
+
+            final CompletableFuture<HttpResponse> first = dispatch(underTest, getRef(), retrieveThing());
+            final RetrieveThing firstCommand = expectMsgClass(RetrieveThing.class);
+            final ActorRef firstSender = getLastSender();
+            final CompletableFuture<HttpResponse> second = dispatch(underTest, getRef(), retrieveThing());
+            expectMsgClass(RetrieveThing.class);
+            final ActorRef secondSender = getLastSender();
+
+            secondSender.tell(ThingNotAccessibleException.newBuilder(THING_ID)
+                    .dittoHeaders(firstCommand.getDittoHeaders())
+                    .build(), getRef());
+            assertThat(await(second).status().intValue()).isEqualTo(404);
+            assertThat(first).isNotDone();
+
+            firstSender.tell(retrieveThingResponse(firstCommand), getRef());
+            assertThat(await(first).status().intValue()).isEqualTo(200);
+        }};
+    }
+
+    @Test
+    public void messageCommandExpiresAfterItsTimeout() throws Exception {
+        new TestKit(actorSystem) {{
+            final ActorRef underTest = actorSystem.actorOf(HttpRequestCorrelator.props(Duration.ofMillis(100L)));
+
+            final CompletableFuture<HttpResponse> response = dispatch(underTest, getRef(), sendThingMessage(1L));
+            expectMsgClass(SendThingMessage.class);
+            assertThat(response).isNotDone();
+
+            assertThat(await(response).status().intValue()).isEqualTo(408);
+        }};
+    }
+
+    @Test
+    public void lateResponseDoesNotCompleteNewerRequestWithTheSameCorrelationId() throws Exception {
+        new TestKit(actorSystem) {{
+            final ActorRef underTest = actorSystem.actorOf(HttpRequestCorrelator.props(Duration.ofMillis(100L)));
+
+            final CompletableFuture<HttpResponse> expired = dispatch(underTest, getRef(), sendThingMessage(1L));
+            expectMsgClass(SendThingMessage.class);
+            final ActorRef expiredSender = getLastSender();
+            assertThat(await(expired).status().intValue()).isEqualTo(408);
+
+            final CompletableFuture<HttpResponse> newer = dispatch(underTest, getRef(), retrieveThing());
+            final RetrieveThing newerCommand = expectMsgClass(RetrieveThing.class);
+            final ActorRef newerSender = getLastSender();
+
+            expiredSender.tell(ThingNotAccessibleException.newBuilder(THING_ID)
+                    .dittoHeaders(newerCommand.getDittoHeaders())
+                    .build(), getRef());
+            expectNoMessage(FiniteDuration.create(300L, TimeUnit.MILLISECONDS));
+            assertThat(newer).isNotDone();
+
+            newerSender.tell(retrieveThingResponse(newerCommand), getRef());
+            assertThat(await(newer).status().intValue()).isEqualTo(200);
+        }};
+    }
+
+    private static CompletableFuture<HttpResponse> dispatch(final ActorRef correlator, final ActorRef proxyActor,
+            final Command<?> command) {
+
+        final CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
+        correlator.tell(new HttpRequestCorrelator.Dispatch(proxyActor, HeaderTranslator.empty(), HttpRequest.create(),
+                command, httpResponseFuture), ActorRef.noSender());
+        return httpResponseFuture;
+    }
+
+    private static RetrieveThing retrieveThing() {
+        return RetrieveThing.of(THING_ID, DittoHeaders.newBuilder().correlationId(CORRELATION_ID).build());
+    }
+
+    private static RetrieveThingResponse retrieveThingResponse(final RetrieveThing command) {
+        return RetrieveThingResponse.of(THING_ID, JsonObject.newBuilder().set("thingId", THING_ID).build(),
+                command.getDittoHeaders());
+    }
+
+    private static SendThingMessage<?> sendThingMessage(final long timeoutInSeconds) {
+        final Message<Object> message = Message.newBuilder(
+                MessageBuilder.newHeadersBuilder(MessageDirection.TO, THING_ID, "subject")
+                        .timeout(timeoutInSeconds)
+                        .build())
+                .build();
+        return SendThingMessage.of(THING_ID, message, DittoHeaders.newBuilder().correlationId(CORRELATION_ID).build());
+    }
+
+    private static HttpResponse await(final CompletableFuture<HttpResponse> response) throws Exception {
+        return response.get(5L, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.endpoints;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimerWheel}.
+ */
+public final class TimerWheelTest {
+
+    private static final Duration TICK = Duration.ofMillis(100L);
+    private static final long START = 1_000_000L;
+
+    private TimerWheel<String> underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new TimerWheel<>(TICK, 10, START);
+    }
+
+    @Test
+    public void keyExpiresAfterItsTimeout() {
+        underTest.schedule("a", Duration.ofMillis(250L), START);
+
+        assertThat(underTest.advance(START + 200L)).isEmpty();
+        assertThat(underTest.advance(START + 300L)).containsExactly("a");
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    public void cancelledKeyDoesNotExpire() {
+        underTest.schedule("a", Duration.ofMillis(100L), START);
+
+        assertThat(underTest.cancel("a")).isTrue();
+        assertThat(underTest.cancel("a")).isFalse();
+        assertThat(underTest.advance(START + 1000L)).isEmpty();
+    }
+
+    @Test
+    public void rescheduledKeyExpiresOnlyOnce() {
+        underTest.schedule("a", Duration.ofMillis(100L), START);
+        underTest.schedule("a", Duration.ofMillis(500L), START);
+
+        assertThat(underTest.advance(START + 200L)).isEmpty();
+        assertThat(underTest.advance(START + 500L)).containsExactly("a");
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    public void keyBeyondOneRoundExpiresInLaterRound() {
+        underTest.schedule("a", Duration.ofMillis(1500L), START);
+
+        assertThat(underTest.advance(START + 1000L)).isEmpty();
+        assertThat(underTest.advance(START + 1400L)).isEmpty();
+        assertThat(underTest.advance(START + 1500L)).containsExactly("a");
+    }
+
+    @Test
+    public void advancingOverManyRoundsExpiresAllDueKeys() {
+        underTest.schedule("a", Duration.ofMillis(300L), START);
+        underTest.schedule("b", Duration.ofMillis(2500L), START);
+        underTest.schedule("c", Duration.ofMillis(9000L), START);
+
+        assertThat(underTest.advance(START + 5000L)).containsExactlyInAnyOrder("a", "b");
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+}
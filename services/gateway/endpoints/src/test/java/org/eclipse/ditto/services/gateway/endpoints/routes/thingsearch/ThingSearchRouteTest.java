@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.endpoints.routes.thingsearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.services.gateway.endpoints.EndpointTestBase;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThings;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingsResponse;
+import org.eclipse.ditto.signals.commands.thingsearch.query.StreamThings;
+import org.junit.Before;
+import org.junit.Test;
+
+import akka.http.javadsl.model.HttpRequest;
+import akka.http.javadsl.model.StatusCodes;
+import akka.http.javadsl.testkit.TestRoute;
+import akka.http.javadsl.testkit.TestRouteResult;
+import akka.stream.javadsl.Source;
+import akka.stream.javadsl.StreamRefs;
+
+/**
+ * Tests {@link ThingSearchRoute}.
+ */
+public final class ThingSearchRouteTest extends EndpointTestBase {
+
+    private static final List<String> THING_IDS =
+            Arrays.asList("org.eclipse.ditto:thing1", "org.eclipse.ditto:thing2", "org.eclipse.ditto:thing3",
+                    "org.eclipse.ditto:thing4", "org.eclipse.ditto:thing5");
+    private static final int BATCH_SIZE = 2;
+
+    private List<List<String>> retrievedBatches;
+    private TestRoute underTest;
+
+    @Before
+    public void setUp() {
+        retrievedBatches = new CopyOnWriteArrayList<>();
+        final ThingSearchRoute thingSearchRoute = new ThingSearchRoute(createDummyResponseActor(this::respond),
+                system(), Duration.ofSeconds(10), BATCH_SIZE, Duration.ofMillis(100), 2);
+
+        underTest = testRoute(extractRequestContext(ctx ->
+                thingSearchRoute.buildSearchRoute(ctx, DittoHeaders.empty())));
+    }
+
+    @Test
+    public void streamThingsRetrievesThingsInConfiguredBatches() {
+        final TestRouteResult result = underTest.run(HttpRequest.GET("/search/things/stream"));
+
+        result.assertStatusCode(StatusCodes.OK);
+        assertThat(entityToString(result.entity()).split("\n"))
+                .containsExactly(THING_IDS.stream().map(ThingSearchRouteTest::thing).toArray(String[]::new));
+        assertThat(retrievedBatches).allSatisfy(batch -> assertThat(batch.size()).isLessThanOrEqualTo(BATCH_SIZE));
+        assertThat(retrievedBatches.stream().flatMap(List::stream).collect(Collectors.toList()))
+                .containsExactlyElementsOf(THING_IDS);
+    }
+
+    private Optional<Object> respond(final Object message) {
+        if (message instanceof StreamThings) {
+            return Optional.of(Source.from(THING_IDS)
+                    .runWith(StreamRefs.sourceRef(), materializer())
+                    .toCompletableFuture()
+                    .join());
+        } else if (message instanceof RetrieveThings) {
+            final RetrieveThings retrieveThings = (RetrieveThings) message;
+            retrievedBatches.add(retrieveThings.getThingIds());
+            return Optional.of(RetrieveThingsResponse.of(retrieveThings.getThingIds()
+                    .stream()
+                    .map(ThingSearchRouteTest::thing)
+                    .collect(Collectors.toList()), null, retrieveThings.getDittoHeaders()));
+        }
+        return Optional.empty();
+    }
+
+    private static String thing(final String thingId) {
+        return JsonObject.newBuilder().set("thingId", thingId).build().toString();
+    }
+
+}
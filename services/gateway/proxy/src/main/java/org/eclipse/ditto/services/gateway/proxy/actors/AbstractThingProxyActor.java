@@ -10,17 +10,34 @@
  */
 package org.eclipse.ditto.services.gateway.proxy.actors;
 
+import java.util.Optional;
+
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.headers.WithDittoHeaders;
+import org.eclipse.ditto.model.base.headers.entitytag.EntityTag;
+import org.eclipse.ditto.services.gateway.starter.service.util.ConfigKeys;
 import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThings;
 import org.eclipse.ditto.services.utils.aggregator.ThingsAggregatorProxyActor;
 import org.eclipse.ditto.services.utils.akka.LogUtil;
+import org.eclipse.ditto.services.utils.headers.conditional.IfNoneMatchPreconditionHeader;
 import org.eclipse.ditto.signals.base.Signal;
 import org.eclipse.ditto.signals.commands.base.Command;
 import org.eclipse.ditto.signals.commands.devops.DevOpsCommand;
+import org.eclipse.ditto.signals.commands.things.exceptions.ThingPreconditionNotModifiedException;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
 import org.eclipse.ditto.signals.commands.things.query.RetrieveThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThings;
+import org.eclipse.ditto.signals.events.policies.PolicyEvent;
+import org.eclipse.ditto.signals.events.things.ThingEvent;
+
+import com.typesafe.config.Config;
 
 import akka.actor.ActorRef;
+import akka.actor.Status;
+import akka.cluster.pubsub.DistributedPubSubMediator;
 import akka.japi.pf.ReceiveBuilder;
+import akka.pattern.PatternsCS;
 
 /**
  * Abstract implementation of {@link AbstractProxyActor} for all {@link org.eclipse.ditto.signals.commands.base.Command}s
@@ -31,6 +48,8 @@ public abstract class AbstractThingProxyActor extends AbstractProxyActor {
     private final ActorRef devOpsCommandsActor;
     private final ActorRef conciergeForwarder;
     private final ActorRef aggregatorProxyActor;
+    private final ThingResponseCache responseCache;
+    private final long requestTimeoutMillis;
 
     protected AbstractThingProxyActor(final ActorRef pubSubMediator,
             final ActorRef devOpsCommandsActor,
@@ -42,6 +61,17 @@ public abstract class AbstractThingProxyActor extends AbstractProxyActor {
 
         aggregatorProxyActor = getContext().actorOf(ThingsAggregatorProxyActor.props(conciergeForwarder),
                 ThingsAggregatorProxyActor.ACTOR_NAME);
+
+        final Config config = getContext().system().settings().config();
+        responseCache = ThingResponseCache.of(config.getDuration(ConfigKeys.CACHE_THINGS_EXPIRY),
+                config.getLong(ConfigKeys.CACHE_THINGS_MAX), config.getBoolean(ConfigKeys.CACHE_THINGS_BODIES));
+        requestTimeoutMillis = config.getDuration(ConfigKeys.AKKA_HTTP_SERVER_REQUEST_TIMEOUT).toMillis();
+        if (responseCache.isEnabled()) {
+            // every gateway instance caches on its own and thus has to receive all events
+            pubSubMediator.tell(new DistributedPubSubMediator.Subscribe(ThingEvent.TYPE_PREFIX, getSelf()), getSelf());
+            pubSubMediator.tell(new DistributedPubSubMediator.Subscribe(PolicyEvent.TYPE_PREFIX, getSelf()),
+                    getSelf());
+        }
     }
 
     @Override
@@ -66,11 +96,18 @@ public abstract class AbstractThingProxyActor extends AbstractProxyActor {
                         }
                 )
 
+                /* answer RetrieveThing from the cache if possible */
+                .match(RetrieveThing.class, responseCache::isCacheable, this::retrieveThing)
+
                 /* send all other Commands to Concierge Service */
                 .match(Command.class, this::forwardToConciergeService)
 
                 /* Live Signals */
-                .match(Signal.class, ProxyActor::isLiveSignal, this::forwardToConciergeService);
+                .match(Signal.class, ProxyActor::isLiveSignal, this::forwardToConciergeService)
+
+                /* persisted Events invalidating the cache */
+                .match(ThingEvent.class, event -> responseCache.invalidateThing(event.getThingId()))
+                .match(PolicyEvent.class, event -> responseCache.invalidateAll());
     }
 
     @Override
@@ -87,4 +124,44 @@ public abstract class AbstractThingProxyActor extends AbstractProxyActor {
         conciergeForwarder.forward(signal, getContext());
     }
 
+    private void retrieveThing(final RetrieveThing retrieveThing) {
+        final ActorRef sender = getSender();
+        final ActorRef self = getSelf();
+        final Optional<ThingResponseCache.Entry> cached = responseCache.get(retrieveThing);
+        if (cached.isPresent()) {
+            final EntityTag eTag = cached.get().getETag();
+            final DittoHeaders dittoHeaders = retrieveThing.getDittoHeaders().toBuilder().eTag(eTag).build();
+            final Optional<IfNoneMatchPreconditionHeader> ifNoneMatch =
+                    IfNoneMatchPreconditionHeader.fromDittoHeaders(dittoHeaders);
+            if (ifNoneMatch.isPresent() && !ifNoneMatch.get().meetsConditionFor(eTag)) {
+                LogUtil.enhanceLogWithCorrelationId(getLogger(), retrieveThing);
+                getLogger().debug("Answering <{}> with 'Not Modified' from cache.", retrieveThing.getType());
+                sender.tell(ThingPreconditionNotModifiedException
+                        .newBuilder(ifNoneMatch.get().getValue(), eTag.toString())
+                        .dittoHeaders(dittoHeaders)
+                        .build(), getSelf());
+                return;
+            }
+            final Optional<RetrieveThingResponse> response = cached.get().getResponse();
+            if (response.isPresent()) {
+                sender.tell(response.get().setDittoHeaders(dittoHeaders), getSelf());
+                return;
+            }
+        }
+
+        final ThingResponseCache.Snapshot snapshot = responseCache.snapshot(retrieveThing);
+        PatternsCS.ask(conciergeForwarder, retrieveThing, requestTimeoutMillis)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        sender.tell(new Status.Failure(error), self);
+                        return;
+                    }
+                    if (response instanceof RetrieveThingResponse ||
+                            response instanceof ThingPreconditionNotModifiedException) {
+                        responseCache.put(retrieveThing, snapshot, (WithDittoHeaders) response);
+                    }
+                    sender.tell(response, self);
+                });
+    }
+
 }
@@ -15,7 +15,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.model.thingsearch.SearchResult;
+import org.eclipse.ditto.services.models.thingsearch.ThingsSearchConstants;
 import org.eclipse.ditto.services.gateway.starter.service.util.ConfigKeys;
 import org.eclipse.ditto.services.utils.akka.LogUtil;
 import org.eclipse.ditto.signals.commands.things.query.RetrieveThings;
@@ -39,6 +41,11 @@ import scala.concurrent.duration.Duration;
  * This is needed in gateway so that we can maintain the max. cluster-message size in Ditto while still being able to
  * respond to searches with max. 200 search results.
  * </p>
+ * <p>
+ * Responses which already contain the selected fields read from the search index (marked with the header
+ * {@value ThingsSearchConstants#INDEX_PROJECTION_HEADER}) are passed to the {@code originatingSender} without
+ * retrieving the things.
+ * </p>
  */
 final class QueryThingsPerRequestActor extends AbstractActor {
 
@@ -102,6 +109,11 @@ final class QueryThingsPerRequestActor extends AbstractActor {
                         // shortcut - for no search results we don't have to lookup the things
                         originatingSender.tell(qtr, getSelf());
 
+                        stopMyself();
+                    } else if (isProjectedFromIndex(qtr)) {
+                        // shortcut - the search result already contains the selected fields of the things
+                        originatingSender.tell(qtr.setDittoHeaders(withoutIndexProjectionHeader(qtr)), getSelf());
+
                         stopMyself();
                     } else {
                         final RetrieveThings retrieveThings = RetrieveThings.getBuilder(thingIds)
@@ -121,6 +133,8 @@ final class QueryThingsPerRequestActor extends AbstractActor {
                                 QueryThingsResponse.of(SearchResult.newBuilder()
                                                 .addAll(rtr.getEntity(rtr.getImplementedSchemaVersion()).asArray())
                                                 .nextPageOffset(queryThingsResponse.getSearchResult().getNextPageOffset())
+                                                .cursor(queryThingsResponse.getSearchResult().getCursor()
+                                                        .orElse(null))
                                                 .build(),
                                         rtr.getDittoHeaders()
                                 );
@@ -141,6 +155,17 @@ final class QueryThingsPerRequestActor extends AbstractActor {
                 .build();
     }
 
+    private static boolean isProjectedFromIndex(final QueryThingsResponse queryThingsResponse) {
+        return queryThingsResponse.getDittoHeaders().containsKey(ThingsSearchConstants.INDEX_PROJECTION_HEADER);
+    }
+
+    private static DittoHeaders withoutIndexProjectionHeader(final QueryThingsResponse queryThingsResponse) {
+        return queryThingsResponse.getDittoHeaders()
+                .toBuilder()
+                .removeHeader(ThingsSearchConstants.INDEX_PROJECTION_HEADER)
+                .build();
+    }
+
     private void stopMyself() {
         getContext().stop(getSelf());
     }
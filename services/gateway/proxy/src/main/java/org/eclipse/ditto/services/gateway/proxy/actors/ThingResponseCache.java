@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.proxy.actors;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.headers.WithDittoHeaders;
+import org.eclipse.ditto.model.base.headers.entitytag.EntityTag;
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.protocoladapter.TopicPath;
+import org.eclipse.ditto.services.utils.cache.MetricsStatsCounter;
+import org.eclipse.ditto.services.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.services.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches the ETags and optionally the responses of recent {@link RetrieveThing} commands per Thing, selected fields,
+ * schema version and authorization subjects, so that the gateway can answer {@code If-None-Match} revalidations with
+ * {@code 304 (Not Modified)} and repeated reads without a round trip through the cluster.
+ * <p>
+ * Entries of a Thing are invalidated by all events of the Thing; all entries are invalidated by Policy events, as a
+ * changed Policy may restrict what any authorization subject is allowed to read. The entries of a Thing are held in
+ * one container which is replaced on invalidation; a response is only cached if the container which was current
+ * before the command was sent is still current, so that an event arriving during the retrieval is not overwritten by
+ * the outdated response. As events may be delayed in the cluster, an entry may be stale for at most the configured
+ * expiry.
+ * </p>
+ * <p>
+ * Hits, misses and invalidations are reported via {@link DittoMetrics} with the names of
+ * {@link MetricsStatsCounter.MetricName}.
+ * </p>
+ */
+final class ThingResponseCache {
+
+    private static final String CACHE_NAME = "gateway_thing_cache";
+    private static final String CACHE_NAME_TAG = "cache_name";
+
+    @Nullable private final Cache<String, Snapshot> cache;
+    private final boolean cacheBodies;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    private ThingResponseCache(@Nullable final Cache<String, Snapshot> cache, final boolean cacheBodies) {
+        this.cache = cache;
+        this.cacheBodies = cacheBodies;
+        hits = counter(MetricsStatsCounter.MetricName.HITS);
+        misses = counter(MetricsStatsCounter.MetricName.MISSES);
+        invalidations = counter(MetricsStatsCounter.MetricName.ESTIMATED_INVALIDATIONS);
+    }
+
+    private static Counter counter(final MetricsStatsCounter.MetricName metricName) {
+        return DittoMetrics.counter(metricName.getValue()).tag(CACHE_NAME_TAG, CACHE_NAME);
+    }
+
+    /**
+     * Returns a new {@code ThingResponseCache}.
+     *
+     * @param expiry how long responses are cached at most; the cache is disabled if it is zero or negative.
+     * @param maximumThings the maximum number of Things whose responses are cached.
+     * @param cacheBodies whether the responses are cached in addition to their ETags.
+     * @return the cache.
+     * @throws NullPointerException if {@code expiry} is {@code null}.
+     */
+    static ThingResponseCache of(final Duration expiry, final long maximumThings, final boolean cacheBodies) {
+        requireNonNull(expiry, "The expiry must not be null!");
+        if (expiry.isZero() || expiry.isNegative()) {
+            return disabled();
+        }
+        return new ThingResponseCache(Caffeine.newBuilder()
+                .maximumSize(maximumThings)
+                .expireAfterWrite(expiry)
+                .build(), cacheBodies);
+    }
+
+    /**
+     * Returns a {@code ThingResponseCache} which never caches any response.
+     *
+     * @return the disabled cache.
+     */
+    static ThingResponseCache disabled() {
+        return new ThingResponseCache(null, false);
+    }
+
+    /**
+     * Indicates whether this cache caches responses at all and thus has to be informed about events.
+     *
+     * @return {@code true} if this cache is enabled.
+     */
+    boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Indicates whether the given command may be answered from this cache: live commands, commands retrieving an old
+     * revision and commands with an {@code If-Match} header are always passed to the cluster.
+     *
+     * @param retrieveThing the command.
+     * @return {@code true} if the command is cacheable.
+     */
+    boolean isCacheable(final RetrieveThing retrieveThing) {
+        final DittoHeaders dittoHeaders = retrieveThing.getDittoHeaders();
+        return cache != null &&
+                !retrieveThing.getSnapshotRevision().isPresent() &&
+                !dittoHeaders.getChannel().filter(TopicPath.Channel.LIVE.getName()::equals).isPresent() &&
+                !dittoHeaders.getIfMatch().isPresent();
+    }
+
+    /**
+     * Returns the container of the entries of the Thing of the given command. It has to be taken before the command
+     * is sent to the cluster and passed to {@link #put(RetrieveThing, Snapshot, WithDittoHeaders)} afterwards.
+     *
+     * @param retrieveThing the command.
+     * @return the current container of the entries of its Thing.
+     */
+    Snapshot snapshot(final RetrieveThing retrieveThing) {
+        if (cache == null) {
+            return new Snapshot();
+        }
+        return cache.get(retrieveThing.getThingId(), thingId -> new Snapshot());
+    }
+
+    /**
+     * Returns the cached ETag and response of a command with the same Thing, selected fields, schema version and
+     * authorization subjects as the given one.
+     *
+     * @param retrieveThing the command.
+     * @return the cached entry or an empty Optional.
+     */
+    Optional<Entry> get(final RetrieveThing retrieveThing) {
+        if (cache == null) {
+            return Optional.empty();
+        }
+        final Snapshot snapshot = cache.getIfPresent(retrieveThing.getThingId());
+        final Entry entry = snapshot != null ? snapshot.entries.get(Key.of(retrieveThing)) : null;
+        if (entry != null) {
+            hits.increment();
+            return Optional.of(entry);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Caches the ETag of the given response to the given command and, if configured and the response is a
+     * {@link RetrieveThingResponse}, the response itself, unless an event of its Thing arrived since the snapshot was
+     * taken.
+     *
+     * @param retrieveThing the command.
+     * @param snapshot the container of the entries of the Thing taken before the command was sent.
+     * @param response the response to the command, i.e. a {@code RetrieveThingResponse} or the exception telling that
+     * the Thing was not modified.
+     */
+    void put(final RetrieveThing retrieveThing, final Snapshot snapshot, final WithDittoHeaders response) {
+        final Optional<EntityTag> eTag = response.getDittoHeaders().getETag();
+        if (cache != null && eTag.isPresent() && cache.getIfPresent(retrieveThing.getThingId()) == snapshot) {
+            final RetrieveThingResponse body =
+                    cacheBodies && response instanceof RetrieveThingResponse ? (RetrieveThingResponse) response : null;
+            snapshot.entries.put(Key.of(retrieveThing), new Entry(eTag.get(), body));
+        }
+    }
+
+    /**
+     * Invalidates the entries of the Thing with the given ID.
+     *
+     * @param thingId the ID of a Thing which was changed.
+     */
+    void invalidateThing(final String thingId) {
+        if (cache != null) {
+            cache.invalidate(thingId);
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Invalidates all entries, as the Things of a changed Policy are not known.
+     */
+    void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * The container of the cached entries of one Thing.
+     */
+    static final class Snapshot {
+
+        private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+        private Snapshot() {
+            super();
+        }
+
+    }
+
+    /**
+     * The ETag and optionally the response cached for a command.
+     */
+    @Immutable
+    static final class Entry {
+
+        private final EntityTag eTag;
+        @Nullable private final RetrieveThingResponse response;
+
+        private Entry(final EntityTag eTag, @Nullable final RetrieveThingResponse response) {
+            this.eTag = eTag;
+            this.response = response;
+        }
+
+        /**
+         * Returns the ETag of the Thing.
+         *
+         * @return the ETag.
+         */
+        EntityTag getETag() {
+            return eTag;
+        }
+
+        /**
+         * Returns the cached response.
+         *
+         * @return the response or an empty Optional if only the ETag is cached.
+         */
+        Optional<RetrieveThingResponse> getResponse() {
+            return Optional.ofNullable(response);
+        }
+
+    }
+
+    /**
+     * The parts of a retrieve command which determine its response besides the Thing ID. The order of the
+     * authorization subjects does not matter.
+     */
+    @Immutable
+    private static final class Key {
+
+        private final JsonSchemaVersion schemaVersion;
+        @Nullable private final String selectedFields;
+        private final Set<String> authorizationSubjectIds;
+
+        private Key(final JsonSchemaVersion schemaVersion, @Nullable final String selectedFields,
+                final Set<String> authorizationSubjectIds) {
+
+            this.schemaVersion = schemaVersion;
+            this.selectedFields = selectedFields;
+            this.authorizationSubjectIds = authorizationSubjectIds;
+        }
+
+        private static Key of(final RetrieveThing retrieveThing) {
+            return new Key(retrieveThing.getImplementedSchemaVersion(),
+                    retrieveThing.getSelectedFields().map(Object::toString).orElse(null),
+                    Collections.unmodifiableSet(new HashSet<>(
+                            retrieveThing.getDittoHeaders().getAuthorizationContext().getAuthorizationSubjectIds())));
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return schemaVersion == that.schemaVersion &&
+                    Objects.equals(selectedFields, that.selectedFields) &&
+                    Objects.equals(authorizationSubjectIds, that.authorizationSubjectIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(schemaVersion, selectedFields, authorizationSubjectIds);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "schemaVersion=" + schemaVersion +
+                    ", selectedFields=" + selectedFields +
+                    ", authorizationSubjectIds=" + authorizationSubjectIds +
+                    "]";
+        }
+
+    }
+
+}
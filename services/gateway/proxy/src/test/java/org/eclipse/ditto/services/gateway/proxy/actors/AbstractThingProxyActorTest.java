@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.proxy.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.headers.entitytag.EntityTag;
+import org.eclipse.ditto.model.base.headers.entitytag.EntityTagMatchers;
+import org.eclipse.ditto.signals.commands.things.exceptions.ThingPreconditionNotModifiedException;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
+import org.eclipse.ditto.signals.events.things.AttributeModified;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.testkit.TestProbe;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Tests the cached retrieval of Things by {@link AbstractThingProxyActor}.
+ */
+public final class AbstractThingProxyActorTest {
+
+    private static final String THING_ID = "org.eclipse.ditto:thing";
+    private static final EntityTag E_TAG = EntityTag.strong("\"rev:1\"");
+    private static final DittoHeaders HEADERS = DittoHeaders.newBuilder()
+            .authorizationSubjects("subject")
+            .correlationId("correlation-id")
+            .build();
+
+    private ActorSystem actorSystem;
+    private TestProbe conciergeForwarder;
+    private ActorRef underTest;
+
+    @Before
+    public void setUp() {
+        actorSystem = ActorSystem.create("AkkaTestSystem", ConfigFactory.load("test"));
+        conciergeForwarder = TestProbe.apply(actorSystem);
+        underTest = actorSystem.actorOf(ProxyActor.props(TestProbe.apply(actorSystem).ref(),
+                TestProbe.apply(actorSystem).ref(), conciergeForwarder.ref()));
+    }
+
+    @After
+    public void tearDown() {
+        if (actorSystem != null) {
+            TestKit.shutdownActorSystem(actorSystem);
+        }
+    }
+
+    @Test
+    public void cachedBodyAnswersLaterRetrievals() {
+        new TestKit(actorSystem) {{
+            retrieveThroughConcierge(this);
+
+            underTest.tell(RetrieveThing.of(THING_ID, HEADERS), getRef());
+
+            final RetrieveThingResponse response = expectMsgClass(RetrieveThingResponse.class);
+            assertThat(response.getEntity()).isEqualTo(thingJson());
+            assertThat(response.getDittoHeaders().getETag()).contains(E_TAG);
+            conciergeForwarder.expectNoMessage();
+        }};
+    }
+
+    @Test
+    public void matchingIfNoneMatchIsAnsweredWithNotModifiedFromCache() {
+        new TestKit(actorSystem) {{
+            retrieveThroughConcierge(this);
+
+            final DittoHeaders ifNoneMatch = HEADERS.toBuilder()
+                    .ifNoneMatch(EntityTagMatchers.fromStrings(E_TAG.toString()))
+                    .build();
+            underTest.tell(RetrieveThing.of(THING_ID, ifNoneMatch), getRef());
+
+            final ThingPreconditionNotModifiedException notModified =
+                    expectMsgClass(ThingPreconditionNotModifiedException.class);
+            assertThat(notModified.getDittoHeaders().getETag()).contains(E_TAG);
+            conciergeForwarder.expectNoMessage();
+        }};
+    }
+
+    @Test
+    public void thingEventInvalidatesCachedResponse() {
+        new TestKit(actorSystem) {{
+            retrieveThroughConcierge(this);
+
+            underTest.tell(AttributeModified.of(THING_ID, JsonPointer.of("counter"), JsonValue.of(2), 2L,
+                    DittoHeaders.empty()), ActorRef.noSender());
+            retrieveThroughConcierge(this);
+        }};
+    }
+
+    private void retrieveThroughConcierge(final TestKit client) {
+        underTest.tell(RetrieveThing.of(THING_ID, HEADERS), client.getRef());
+
+        conciergeForwarder.expectMsgClass(RetrieveThing.class);
+        final RetrieveThingResponse response = RetrieveThingResponse.of(THING_ID, thingJson(),
+                HEADERS.toBuilder().eTag(E_TAG).build());
+        conciergeForwarder.reply(response);
+
+        client.expectMsgEquals(response);
+    }
+
+    private static JsonObject thingJson() {
+        return JsonObject.newBuilder().set("thingId", THING_ID).build();
+    }
+
+}
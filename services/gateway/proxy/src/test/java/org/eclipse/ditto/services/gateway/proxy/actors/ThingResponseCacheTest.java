@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.gateway.proxy.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.headers.entitytag.EntityTag;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ThingResponseCache}.
+ */
+public final class ThingResponseCacheTest {
+
+    private static final String THING_ID = "org.eclipse.ditto:thing";
+    private static final EntityTag E_TAG = EntityTag.strong("\"rev:1\"");
+    private static final DittoHeaders HEADERS = DittoHeaders.newBuilder().authorizationSubjects("a", "b").build();
+    private static final RetrieveThing RETRIEVE_THING = RetrieveThing.of(THING_ID, HEADERS);
+    private static final RetrieveThingResponse RESPONSE = RetrieveThingResponse.of(THING_ID,
+            JsonObject.newBuilder().set("thingId", THING_ID).build(), HEADERS.toBuilder().eTag(E_TAG).build());
+
+    private ThingResponseCache underTest;
+
+    @Before
+    public void setUp() {
+        underTest = ThingResponseCache.of(Duration.ofMinutes(1L), 100L, true);
+    }
+
+    @Test
+    public void eTagAndResponseAreCachedForEquivalentCommands() {
+        underTest.put(RETRIEVE_THING, underTest.snapshot(RETRIEVE_THING), RESPONSE);
+
+        final RetrieveThing equivalentCommand =
+                RetrieveThing.of(THING_ID, DittoHeaders.newBuilder().authorizationSubjects("b", "a").build());
+        final ThingResponseCache.Entry entry = underTest.get(equivalentCommand).orElseThrow(AssertionError::new);
+
+        assertThat(entry.getETag()).isEqualTo(E_TAG);
+        assertThat(entry.getResponse()).contains(RESPONSE);
+    }
+
+    @Test
+    public void responsesOfOtherSubjectsAreNotShared() {
+        underTest.put(RETRIEVE_THING, underTest.snapshot(RETRIEVE_THING), RESPONSE);
+
+        final RetrieveThing otherSubjectsCommand =
+                RetrieveThing.of(THING_ID, DittoHeaders.newBuilder().authorizationSubjects("a").build());
+
+        assertThat(underTest.get(otherSubjectsCommand)).isEmpty();
+    }
+
+    @Test
+    public void onlyETagIsCachedIfBodiesAreDisabled() {
+        final ThingResponseCache eTagCache = ThingResponseCache.of(Duration.ofMinutes(1L), 100L, false);
+        eTagCache.put(RETRIEVE_THING, eTagCache.snapshot(RETRIEVE_THING), RESPONSE);
+
+        final ThingResponseCache.Entry entry = eTagCache.get(RETRIEVE_THING).orElseThrow(AssertionError::new);
+
+        assertThat(entry.getETag()).isEqualTo(E_TAG);
+        assertThat(entry.getResponse()).isEmpty();
+    }
+
+    @Test
+    public void eventsInvalidateEntries() {
+        underTest.put(RETRIEVE_THING, underTest.snapshot(RETRIEVE_THING), RESPONSE);
+        underTest.invalidateThing(THING_ID);
+
+        assertThat(underTest.get(RETRIEVE_THING)).isEmpty();
+
+        underTest.put(RETRIEVE_THING, underTest.snapshot(RETRIEVE_THING), RESPONSE);
+        underTest.invalidateAll();
+
+        assertThat(underTest.get(RETRIEVE_THING)).isEmpty();
+    }
+
+    @Test
+    public void responseIsNotCachedIfThingChangedDuringRetrieval() {
+        final ThingResponseCache.Snapshot snapshot = underTest.snapshot(RETRIEVE_THING);
+        underTest.invalidateThing(THING_ID);
+        underTest.put(RETRIEVE_THING, snapshot, RESPONSE);
+
+        assertThat(underTest.get(RETRIEVE_THING)).isEmpty();
+    }
+
+    @Test
+    public void liveAndConditionalCommandsAreNotCacheable() {
+        assertThat(underTest.isCacheable(RETRIEVE_THING)).isTrue();
+        assertThat(underTest.isCacheable(RetrieveThing.of(THING_ID, HEADERS.toBuilder().channel("live").build())))
+                .isFalse();
+        assertThat(underTest.isCacheable(RetrieveThing.getBuilder(THING_ID, HEADERS).withSnapshotRevision(1L).build()))
+                .isFalse();
+        assertThat(ThingResponseCache.disabled().isCacheable(RETRIEVE_THING)).isFalse();
+    }
+
+}
@@ -47,6 +47,20 @@ public final class ConfigKeys {
      */
     public static final String SCHEMA_VERSIONS = HTTP_PREFIX + "schema-versions";
 
+    private static final String HTTP_REQUEST_DISPATCH_PREFIX = HTTP_PREFIX + "request-dispatch.";
+    /**
+     * How HTTP requests are dispatched: {@code actor-per-request} or {@code correlator}.
+     */
+    public static final String HTTP_REQUEST_DISPATCH_MODE = HTTP_REQUEST_DISPATCH_PREFIX + "mode";
+    /**
+     * The number of correlator actors in {@code correlator} mode.
+     */
+    public static final String HTTP_REQUEST_DISPATCH_CORRELATORS = HTTP_REQUEST_DISPATCH_PREFIX + "correlators";
+    /**
+     * The resolution of the request timeouts in {@code correlator} mode.
+     */
+    public static final String HTTP_REQUEST_DISPATCH_TIMEOUT_TICK = HTTP_REQUEST_DISPATCH_PREFIX + "timeout-tick";
+
     private static final String WEBSOCKET_PREFIX = GATEWAY_PREFIX + "websocket.";
     /**
      * Key of the Websocket subscriber backpressure config.
@@ -79,6 +93,24 @@ public final class ConfigKeys {
      */
     public static final String CLAIMMESSAGE_MAX_TIMEOUT = CLAIMMESSAGE_PREFIX + "max-timeout";
 
+    private static final String SEARCH_STREAM_PREFIX = GATEWAY_PREFIX + "search-stream.";
+    /**
+     * The timeout for the stream of Thing IDs and for each batch of Things retrieved via /search/things/stream.
+     */
+    public static final String SEARCH_STREAM_ASK_TIMEOUT = SEARCH_STREAM_PREFIX + "ask-timeout";
+    /**
+     * The maximum number of Things retrieved at once via /search/things/stream.
+     */
+    public static final String SEARCH_STREAM_BATCH_SIZE = SEARCH_STREAM_PREFIX + "batch-size";
+    /**
+     * How long to wait for the Thing IDs of a batch of Things retrieved via /search/things/stream.
+     */
+    public static final String SEARCH_STREAM_BATCH_INTERVAL = SEARCH_STREAM_PREFIX + "batch-interval";
+    /**
+     * The number of batches of Things retrieved in parallel via /search/things/stream.
+     */
+    public static final String SEARCH_STREAM_PARALLELISM = SEARCH_STREAM_PREFIX + "parallelism";
+
     private static final String AUTHENTICATION_PREFIX = GATEWAY_PREFIX + "authentication.";
     private static final String AUTHENTICATION_DUMMY_PREFIX = AUTHENTICATION_PREFIX + "dummy.";
     /**
@@ -156,6 +188,23 @@ public final class ConfigKeys {
      */
     public static final String CACHE_PUBLIC_KEYS_EXPIRY = CACHE_PREFIX + "publickeys.expiry";
 
+    private static final String CACHE_THINGS_PREFIX = CACHE_PREFIX + "things.";
+
+    /**
+     * The maximum number of Things whose retrieve responses are cached.
+     */
+    public static final String CACHE_THINGS_MAX = CACHE_THINGS_PREFIX + "maxentries";
+
+    /**
+     * How long retrieve responses of Things are cached at most; zero disables the cache.
+     */
+    public static final String CACHE_THINGS_EXPIRY = CACHE_THINGS_PREFIX + "expiry";
+
+    /**
+     * Whether the bodies of retrieve responses of Things are cached in addition to their ETags.
+     */
+    public static final String CACHE_THINGS_BODIES = CACHE_THINGS_PREFIX + "bodies";
+
     private static final String SECRETS_PREFIX = "secrets.";
     /**
      * Key of the gateway devops password.
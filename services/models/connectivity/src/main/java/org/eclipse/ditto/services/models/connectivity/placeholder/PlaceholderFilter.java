@@ -12,17 +12,16 @@ package org.eclipse.ditto.services.models.connectivity.placeholder;
 
 import static org.eclipse.ditto.services.models.connectivity.placeholder.Placeholder.SEPARATOR;
 
-import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
@@ -53,22 +52,47 @@ public final class PlaceholderFilter {
     public static AuthorizationContext filterAuthorizationContext(final AuthorizationContext authorizationContext,
             final Map<String, String> headers) {
 
+        final List<AuthorizationSubject> authorizationSubjects = authorizationContext.getAuthorizationSubjects();
+
         // check if we have to replace anything at all
-        if (authorizationContext.stream()
-                .map(AuthorizationSubject::getId)
-                .noneMatch(Placeholders::containsAnyPlaceholder)) {
+        boolean containsPlaceholders = false;
+        for (final AuthorizationSubject authorizationSubject : authorizationSubjects) {
+            if (PlaceholderTemplate.of(authorizationSubject.getId()).containsPlaceholders()) {
+                containsPlaceholders = true;
+                break;
+            }
+        }
+        if (!containsPlaceholders) {
             return authorizationContext;
         }
 
         final HeadersPlaceholder headersPlaceholder = PlaceholderFactory.newHeadersPlaceholder();
-        final List<AuthorizationSubject> subjects = authorizationContext.stream()
-                .map(AuthorizationSubject::getId)
-                .map(id -> apply(id, headers, headersPlaceholder))
-                .map(AuthorizationModelFactory::newAuthSubject)
-                .collect(Collectors.toList());
+        final List<AuthorizationSubject> subjects = new ArrayList<>(authorizationSubjects.size());
+        for (final AuthorizationSubject authorizationSubject : authorizationSubjects) {
+            final String id = PlaceholderTemplate.of(authorizationSubject.getId())
+                    .render(headers, headersPlaceholder, false);
+            subjects.add(AuthorizationModelFactory.newAuthSubject(id));
+        }
         return AuthorizationModelFactory.newAuthContext(subjects);
     }
 
+    /**
+     * Checks whether the address of any of the passed {@code targets} contains placeholders. The addresses are
+     * compiled and cached, so this check is meant to be done once when a connection is opened. If it yields
+     * {@code false}, {@link #filterTargets(Set, String, Consumer)} does not need to be called at all.
+     *
+     * @param targets the targets to check.
+     * @return whether at least one target address contains placeholders.
+     */
+    public static boolean containsPlaceholders(final Collection<Target> targets) {
+        for (final Target target : targets) {
+            if (PlaceholderTemplate.of(target.getAddress()).containsPlaceholders()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Apply {@link ThingPlaceholder}s to the passed {@code targets} with the passed {@code thingId}.
      *
@@ -80,18 +104,18 @@ public final class PlaceholderFilter {
     public static Set<Target> filterTargets(final Set<Target> targets, final String thingId,
             final Consumer<String> unresolvedPlaceholderListener) {
         // check if we have to replace anything at all
-        if (targets.stream().map(Target::getAddress).noneMatch(Placeholders::containsAnyPlaceholder)) {
+        if (!containsPlaceholders(targets)) {
             return targets;
         }
 
-        return targets.stream()
-                .map(target -> {
-                    final String filtered =
-                            applyThingPlaceholder(target.getAddress(), thingId, unresolvedPlaceholderListener);
-                    return filtered != null ? target.withAddress(filtered) : null;
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+        final Set<Target> result = new HashSet<>();
+        for (final Target target : targets) {
+            final String filtered = applyThingPlaceholder(target.getAddress(), thingId, unresolvedPlaceholderListener);
+            if (filtered != null) {
+                result.add(target.withAddress(filtered));
+            }
+        }
+        return result;
     }
 
     /**
@@ -105,22 +129,22 @@ public final class PlaceholderFilter {
     public static Map<String, String> filterAddressesAsMap(final Collection<String> addresses, final String thingId,
             final Consumer<String> unresolvedPlaceholderListener) {
 
-        return addresses.stream()
-                .flatMap(address -> {
-                    final String filteredAddress =
-                            applyThingPlaceholder(address, thingId, unresolvedPlaceholderListener);
-                    return filteredAddress == null
-                            ? Stream.empty()
-                            : Stream.of(new AbstractMap.SimpleEntry<>(address, filteredAddress));
-                })
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        final Map<String, String> result = new HashMap<>();
+        for (final String address : addresses) {
+            final String filteredAddress = applyThingPlaceholder(address, thingId, unresolvedPlaceholderListener);
+            if (filteredAddress != null) {
+                result.put(address, filteredAddress);
+            }
+        }
+        return result;
     }
 
     @Nullable
     private static String applyThingPlaceholder(final String address, final String thingId,
             final Consumer<String> unresolvedPlaceholderListener) {
         try {
-            return apply(address, thingId, PlaceholderFactory.newThingPlaceholder());
+            return PlaceholderTemplate.of(address)
+                    .render(thingId, PlaceholderFactory.newThingPlaceholder(), false);
         } catch (final UnresolvedPlaceholderException e) {
             unresolvedPlaceholderListener.accept(address);
             return null;
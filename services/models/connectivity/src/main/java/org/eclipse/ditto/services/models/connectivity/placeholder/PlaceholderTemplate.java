@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.models.connectivity.placeholder;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+import static org.eclipse.ditto.services.models.connectivity.placeholder.Placeholder.SEPARATOR;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.model.base.common.Placeholders;
+import org.eclipse.ditto.model.connectivity.UnresolvedPlaceholderException;
+
+/**
+ * A template string (e. g. a target address or an authorization subject) which was parsed once into literal
+ * segments and placeholder references. Rendering a compiled template does not scan the template again.
+ * <p>
+ * Templates whose literal parts could form new placeholders together with resolved values (i. e. which contain
+ * {@code '{'} outside of placeholders or legacy placeholders) are not compiled and are always rendered by
+ * {@link PlaceholderFilter#apply(String, Object, Placeholder, boolean)}, so the result is the same for both paths.
+ * </p>
+ */
+@Immutable
+public final class PlaceholderTemplate {
+
+    /**
+     * Maximum number of compiled templates kept in the cache. The cache is only fed with templates from connection
+     * configurations, so this limit is just a safeguard.
+     */
+    private static final int MAX_CACHED_TEMPLATES = 4096;
+
+    private static final Map<String, PlaceholderTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile(Pattern.quote("{{")
+            + Placeholders.ANY_NUMBER_OF_SPACES
+            + Placeholders.PLACEHOLDER_GROUP
+            + Placeholders.ANY_NUMBER_OF_SPACES
+            + Pattern.quote("}}"));
+
+    // PLACEHOLDER_GROUP is the first group of PLACEHOLDER_PATTERN
+    private static final int PLACEHOLDER_GROUP_INDEX = 1;
+
+    private static final char PLACEHOLDER_START_CHAR = '{';
+
+    private final String template;
+    @Nullable private final List<Segment> segments;
+    private final boolean containsPlaceholders;
+
+    private PlaceholderTemplate(final String template, @Nullable final List<Segment> segments,
+            final boolean containsPlaceholders) {
+        this.template = template;
+        this.segments = segments;
+        this.containsPlaceholders = containsPlaceholders;
+    }
+
+    /**
+     * Returns the compiled template for the given template string. Compiled templates are cached.
+     *
+     * @param template the template string.
+     * @return the compiled template.
+     * @throws NullPointerException if {@code template} is {@code null}.
+     */
+    static PlaceholderTemplate of(final String template) {
+        checkNotNull(template, "template");
+        final PlaceholderTemplate cached = CACHE.get(template);
+        if (null != cached) {
+            return cached;
+        }
+        final PlaceholderTemplate compiled = compile(template);
+        if (CACHE.size() >= MAX_CACHED_TEMPLATES) {
+            CACHE.clear();
+        }
+        CACHE.put(template, compiled);
+        return compiled;
+    }
+
+    /**
+     * Parses the given template string without consulting the cache.
+     *
+     * @param template the template string.
+     * @return the compiled template.
+     * @throws NullPointerException if {@code template} is {@code null}.
+     */
+    public static PlaceholderTemplate compile(final String template) {
+        checkNotNull(template, "template");
+        if (!Placeholders.containsAnyPlaceholder(template)) {
+            return new PlaceholderTemplate(template, Collections.singletonList(Segment.literal(template)), false);
+        }
+
+        final List<Segment> segments = new ArrayList<>();
+        final Matcher matcher = PLACEHOLDER_PATTERN.matcher(template);
+        int literalStart = 0;
+        while (matcher.find()) {
+            final String literal = template.substring(literalStart, matcher.start());
+            if (literal.indexOf(PLACEHOLDER_START_CHAR) >= 0) {
+                return new PlaceholderTemplate(template, null, true);
+            }
+            if (!literal.isEmpty()) {
+                segments.add(Segment.literal(literal));
+            }
+            segments.add(Segment.placeholder(matcher.group(), matcher.group(PLACEHOLDER_GROUP_INDEX)));
+            literalStart = matcher.end();
+        }
+        final String tail = template.substring(literalStart);
+        if (tail.indexOf(PLACEHOLDER_START_CHAR) >= 0) {
+            // also covers legacy placeholders which are handled by Placeholders only
+            return new PlaceholderTemplate(template, null, true);
+        }
+        if (!tail.isEmpty()) {
+            segments.add(Segment.literal(tail));
+        }
+        return new PlaceholderTemplate(template, Collections.unmodifiableList(segments), true);
+    }
+
+    /**
+     * @return the template string this template was compiled from.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return whether the template contains any placeholder, i. e. whether rendering it can yield a different string.
+     */
+    boolean containsPlaceholders() {
+        return containsPlaceholders;
+    }
+
+    /**
+     * Resolves the placeholders of this template with the given placeholder. Behaves exactly like
+     * {@link PlaceholderFilter#apply(String, Object, Placeholder, boolean)} for the template string.
+     *
+     * @param value the value containing the source of the replacement that is passed to the placeholder.
+     * @param placeholder the placeholder to apply to this template.
+     * @param allowUnresolved if {@code false} an exception is thrown if there are any unresolved placeholders.
+     * @param <T> the input type of the placeholder.
+     * @return the template string with the resolved values.
+     * @throws UnresolvedPlaceholderException if {@code allowUnresolved} is false and not all placeholders were
+     * resolved.
+     */
+    public <T> String render(final T value, final Placeholder<T> placeholder, final boolean allowUnresolved) {
+        if (!containsPlaceholders) {
+            return template;
+        }
+        if (null == segments) {
+            return PlaceholderFilter.apply(template, value, placeholder, allowUnresolved);
+        }
+
+        final StringBuilder result = new StringBuilder(template.length() + 32);
+        boolean unresolved = false;
+        for (final Segment segment : segments) {
+            if (segment.isLiteral()) {
+                result.append(segment.text);
+            } else {
+                final String resolved = segment.resolve(value, placeholder);
+                if (null == resolved) {
+                    unresolved = true;
+                    result.append(segment.text);
+                } else if (resolved.indexOf(PLACEHOLDER_START_CHAR) >= 0) {
+                    // the resolved value might form a new placeholder, let the generic algorithm decide
+                    return PlaceholderFilter.apply(template, value, placeholder, allowUnresolved);
+                } else {
+                    result.append(resolved);
+                }
+            }
+        }
+
+        final String rendered = result.toString();
+        if (unresolved && !allowUnresolved) {
+            throw UnresolvedPlaceholderException.newBuilder(rendered).build();
+        }
+        return rendered;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "template=" + template +
+                ", compiled=" + (null != segments) +
+                ", containsPlaceholders=" + containsPlaceholders +
+                "]";
+    }
+
+    /**
+     * Either a literal part of a template or a reference to a placeholder.
+     */
+    @Immutable
+    private static final class Segment {
+
+        private final String text;
+        @Nullable private final String placeholder;
+        @Nullable private final String prefix;
+        @Nullable private final String name;
+
+        private Segment(final String text, @Nullable final String placeholder, @Nullable final String prefix,
+                @Nullable final String name) {
+            this.text = text;
+            this.placeholder = placeholder;
+            this.prefix = prefix;
+            this.name = name;
+        }
+
+        private static Segment literal(final String text) {
+            return new Segment(text, null, null, null);
+        }
+
+        private static Segment placeholder(final String match, final String placeholder) {
+            final int separatorIndex = placeholder.indexOf(SEPARATOR);
+            if (separatorIndex == -1) {
+                return new Segment(match, placeholder, null, null);
+            }
+            return new Segment(match, placeholder, placeholder.substring(0, separatorIndex),
+                    placeholder.substring(separatorIndex + 1));
+        }
+
+        private boolean isLiteral() {
+            return null == placeholder;
+        }
+
+        @Nullable
+        private <T> String resolve(final T value, final Placeholder<T> thePlaceholder) {
+            if (null == prefix || null == name) {
+                throw UnresolvedPlaceholderException.newBuilder(String.valueOf(placeholder)).build();
+            }
+            if (prefix.equals(thePlaceholder.getPrefix()) && thePlaceholder.supports(name)) {
+                return thePlaceholder.apply(value, name).orElse(null);
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.models.connectivity.placeholder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.ditto.model.connectivity.UnresolvedPlaceholderException;
+import org.junit.Test;
+
+/**
+ * Tests {@link PlaceholderTemplate}.
+ */
+public final class PlaceholderTemplateTest {
+
+    private static final Map<String, String> HEADERS = new HashMap<>();
+    private static final String THING_ID = "org.eclipse.ditto:myThing";
+
+    private final HeadersPlaceholder headersPlaceholder = PlaceholderFactory.newHeadersPlaceholder();
+    private final ThingPlaceholder thingPlaceholder = PlaceholderFactory.newThingPlaceholder();
+
+    static {
+        HEADERS.put("device-id", "device-12345");
+        HEADERS.put("curly", "{{ header:device-id }}");
+    }
+
+    @Test
+    public void templateWithoutPlaceholdersIsReturnedAsIs() {
+        final String template = "eclipse:ditto";
+        final PlaceholderTemplate underTest = PlaceholderTemplate.compile(template);
+
+        assertThat(underTest.containsPlaceholders()).isFalse();
+        assertThat(underTest.render(THING_ID, thingPlaceholder, false)).isSameAs(template);
+    }
+
+    @Test
+    public void ofReturnsCachedTemplate() {
+        final String template = "events/{{ thing:id }}";
+
+        assertThat(PlaceholderTemplate.of(template)).isSameAs(PlaceholderTemplate.of(template));
+    }
+
+    @Test
+    public void renderingIsEqualToPlaceholderFilter() {
+        assertRendersLikeFilter("{{ thing:id }}", THING_ID, thingPlaceholder, false);
+        assertRendersLikeFilter("a/{{thing:namespace}}/b/{{ thing:name }}/c", THING_ID, thingPlaceholder, false);
+        assertRendersLikeFilter("{{ thing:id }}/{{ header:device-id }}", THING_ID, thingPlaceholder, true);
+        assertRendersLikeFilter("{{ header:device-id }}:{{ header:unknown }}", HEADERS, headersPlaceholder, true);
+        assertRendersLikeFilter("{{ {{  header:device-id  }} }}", HEADERS, headersPlaceholder, true);
+        assertRendersLikeFilter("x-{{ header:curly }}", HEADERS, headersPlaceholder, true);
+    }
+
+    @Test
+    public void renderingThrowsLikePlaceholderFilter() {
+        assertThatExceptionOfType(UnresolvedPlaceholderException.class).isThrownBy(
+                () -> PlaceholderTemplate.compile("{{ thing:id }}/{{ header:device-id }}")
+                        .render(THING_ID, thingPlaceholder, false));
+        assertThatExceptionOfType(UnresolvedPlaceholderException.class).isThrownBy(
+                () -> PlaceholderTemplate.compile("{{ thing:unknown }}").render(THING_ID, thingPlaceholder, false));
+        assertThatExceptionOfType(UnresolvedPlaceholderException.class).isThrownBy(
+                () -> PlaceholderTemplate.compile("{{ id }}").render(THING_ID, thingPlaceholder, true));
+        assertThatExceptionOfType(UnresolvedPlaceholderException.class).isThrownBy(
+                () -> PlaceholderTemplate.compile("{{ {{  header:device-id  }} }}")
+                        .render(HEADERS, headersPlaceholder, false));
+        assertThatExceptionOfType(UnresolvedPlaceholderException.class).isThrownBy(
+                () -> PlaceholderTemplate.compile("x-{{ header:curly }}").render(HEADERS, headersPlaceholder, false));
+    }
+
+    private static <T> void assertRendersLikeFilter(final String template, final T value,
+            final Placeholder<T> placeholder, final boolean allowUnresolved) {
+
+        final String expected = PlaceholderFilter.apply(template, value, placeholder, allowUnresolved);
+
+        assertThat(PlaceholderTemplate.compile(template).render(value, placeholder, allowUnresolved))
+                .isEqualTo(expected);
+    }
+
+}
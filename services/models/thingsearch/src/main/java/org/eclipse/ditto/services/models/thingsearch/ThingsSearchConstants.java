@@ -46,6 +46,33 @@ public final class ThingsSearchConstants {
      */
     public static final String SEARCH_ACTOR_PATH = ROOT_ACTOR_PATH + "/thingsSearch";
 
+    /**
+     * Header of a {@code QueryThingsResponse} whose search result already contains the selected fields of the found
+     * Things read from the search index, so that the Things do not have to be retrieved.
+     */
+    public static final String INDEX_PROJECTION_HEADER = "ditto-search-index-projection";
+
+    /**
+     * Header of a {@code CountThingsResponse} which indicates how accurate its count is: one of
+     * {@value #COUNT_ACCURACY_EXACT}, {@value #COUNT_ACCURACY_CACHED} and {@value #COUNT_ACCURACY_ESTIMATED}.
+     */
+    public static final String COUNT_ACCURACY_HEADER = "ditto-search-count-accuracy";
+
+    /**
+     * Accuracy of a count which was determined for the response.
+     */
+    public static final String COUNT_ACCURACY_EXACT = "exact";
+
+    /**
+     * Accuracy of a count which was determined for an earlier identical request and may be stale.
+     */
+    public static final String COUNT_ACCURACY_CACHED = "cached";
+
+    /**
+     * Accuracy of a count which was estimated from collection statistics.
+     */
+    public static final String COUNT_ACCURACY_ESTIMATED = "estimated";
+
     /*
      * Inhibit instantiation of this utility class.
      */
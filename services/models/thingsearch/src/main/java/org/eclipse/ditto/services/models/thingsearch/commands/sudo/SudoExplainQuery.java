@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.models.thingsearch.commands.sudo;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonFieldDefinition;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.json.FieldType;
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.signals.commands.base.AbstractCommand;
+import org.eclipse.ditto.signals.commands.base.CommandJsonDeserializer;
+import org.eclipse.ditto.utils.jsr305.annotations.AllValuesAreNonnullByDefault;
+
+/**
+ * Command which explains how a search with a filter would be executed without executing it: the normalized filter,
+ * whether the search is executed by {@code find} or by aggregation and which index is hinted. The path is explained
+ * for a search authorized with the schema version of the command headers.
+ */
+@Immutable
+@AllValuesAreNonnullByDefault
+public final class SudoExplainQuery extends AbstractCommand<SudoExplainQuery>
+        implements ThingSearchSudoCommand<SudoExplainQuery> {
+
+    /**
+     * Name of the command.
+     */
+    public static final String NAME = "sudoExplainQuery";
+
+    /**
+     * Type of this command.
+     */
+    public static final String TYPE = TYPE_PREFIX + NAME;
+
+    static final JsonFieldDefinition<String> JSON_FILTER =
+            JsonFactory.newStringFieldDefinition("filter", FieldType.REGULAR, JsonSchemaVersion.V_1,
+                    JsonSchemaVersion.V_2);
+
+    @Nullable private final String filter;
+
+    private SudoExplainQuery(@Nullable final String filter, final DittoHeaders dittoHeaders) {
+        super(TYPE, dittoHeaders);
+        this.filter = filter;
+    }
+
+    /**
+     * Returns a new instance of {@code SudoExplainQuery}.
+     *
+     * @param filter the filter to explain or {@code null} to explain a search for all Things.
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code dittoHeaders} is {@code null}.
+     */
+    public static SudoExplainQuery of(@Nullable final String filter, final DittoHeaders dittoHeaders) {
+        return new SudoExplainQuery(filter, dittoHeaders);
+    }
+
+    /**
+     * Creates a new {@code SudoExplainQuery} from a JSON string.
+     *
+     * @param jsonString the JSON string of which the command is to be created.
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code jsonString} is {@code null}.
+     * @throws IllegalArgumentException if {@code jsonString} is empty.
+     * @throws org.eclipse.ditto.json.JsonParseException if the passed in {@code jsonString} was not in the expected
+     * format.
+     */
+    public static SudoExplainQuery fromJson(final String jsonString, final DittoHeaders dittoHeaders) {
+        return fromJson(JsonFactory.newObject(jsonString), dittoHeaders);
+    }
+
+    /**
+     * Creates a new {@code SudoExplainQuery} from a JSON object.
+     *
+     * @param jsonObject the JSON object of which the command is to be created.
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code jsonObject} is {@code null}.
+     * @throws org.eclipse.ditto.json.JsonParseException if the passed in {@code jsonObject} was not in the expected
+     * format.
+     */
+    public static SudoExplainQuery fromJson(final JsonObject jsonObject, final DittoHeaders dittoHeaders) {
+        return new CommandJsonDeserializer<SudoExplainQuery>(TYPE, jsonObject).deserialize(() ->
+                new SudoExplainQuery(jsonObject.getValue(JSON_FILTER).orElse(null), dittoHeaders));
+    }
+
+    /**
+     * Returns the filter to explain.
+     *
+     * @return the filter or an empty Optional if a search for all Things is explained.
+     */
+    public Optional<String> getFilter() {
+        return Optional.ofNullable(filter);
+    }
+
+    @Override
+    protected void appendPayload(final JsonObjectBuilder jsonObjectBuilder, final JsonSchemaVersion schemaVersion,
+            final Predicate<JsonField> thePredicate) {
+
+        final Predicate<JsonField> predicate = schemaVersion.and(thePredicate);
+        getFilter().ifPresent(theFilter -> jsonObjectBuilder.set(JSON_FILTER, theFilter, predicate));
+    }
+
+    @Override
+    public Category getCategory() {
+        return Category.QUERY;
+    }
+
+    @Override
+    public SudoExplainQuery setDittoHeaders(final DittoHeaders dittoHeaders) {
+        return new SudoExplainQuery(filter, dittoHeaders);
+    }
+
+    @SuppressWarnings({"squid:MethodCyclomaticComplexity", "squid:S1067"})
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SudoExplainQuery that = (SudoExplainQuery) o;
+        return that.canEqual(this) && Objects.equals(filter, that.filter) && super.equals(that);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), filter);
+    }
+
+    @Override
+    protected boolean canEqual(@Nullable final Object other) {
+        return (other instanceof SudoExplainQuery);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" + super.toString() + ", filter=" + filter + "]";
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.models.thingsearch.commands.sudo;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.common.HttpStatusCode;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.signals.commands.base.AbstractCommandResponse;
+import org.eclipse.ditto.signals.commands.base.CommandResponseJsonDeserializer;
+
+/**
+ * Response to a {@link SudoExplainQuery} containing the plan of the search.
+ */
+@Immutable
+public final class SudoExplainQueryResponse extends AbstractCommandResponse<SudoExplainQueryResponse>
+        implements ThingSearchSudoCommandResponse<SudoExplainQueryResponse> {
+
+    /**
+     * Type of this response.
+     */
+    public static final String TYPE = TYPE_PREFIX + SudoExplainQuery.NAME;
+
+    private final JsonObject plan;
+
+    private SudoExplainQueryResponse(final JsonObject plan, final DittoHeaders dittoHeaders) {
+        super(TYPE, HttpStatusCode.OK, dittoHeaders);
+        this.plan = plan;
+    }
+
+    /**
+     * Returns a new instance of {@code SudoExplainQueryResponse}.
+     *
+     * @param plan the plan of the search.
+     * @param dittoHeaders the headers of the command which caused this response.
+     * @return the response.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static SudoExplainQueryResponse of(final JsonObject plan, final DittoHeaders dittoHeaders) {
+        checkNotNull(plan, "plan");
+
+        return new SudoExplainQueryResponse(plan, dittoHeaders);
+    }
+
+    /**
+     * Creates a response to a {@link SudoExplainQuery} command from a JSON string.
+     *
+     * @param jsonString the JSON string of which the response is to be created.
+     * @param dittoHeaders the headers of the command which caused this response.
+     * @return the response.
+     * @throws NullPointerException if {@code jsonString} is {@code null}.
+     * @throws IllegalArgumentException if {@code jsonString} is empty.
+     * @throws org.eclipse.ditto.json.JsonParseException if the passed in {@code jsonString} was not in the expected
+     * format.
+     */
+    public static SudoExplainQueryResponse fromJson(final String jsonString, final DittoHeaders dittoHeaders) {
+        return fromJson(JsonFactory.newObject(jsonString), dittoHeaders);
+    }
+
+    /**
+     * Creates a response to a {@link SudoExplainQuery} command from a JSON object.
+     *
+     * @param jsonObject the JSON object of which the response is to be created.
+     * @param dittoHeaders the headers of the command which caused this response.
+     * @return the response.
+     * @throws NullPointerException if {@code jsonObject} is {@code null}.
+     * @throws org.eclipse.ditto.json.JsonParseException if the passed in {@code jsonObject} was not in the expected
+     * format.
+     */
+    public static SudoExplainQueryResponse fromJson(final JsonObject jsonObject, final DittoHeaders dittoHeaders) {
+        return new CommandResponseJsonDeserializer<SudoExplainQueryResponse>(TYPE, jsonObject)
+                .deserialize(statusCode -> of(jsonObject.getValueOrThrow(JsonFields.PAYLOAD).asObject(),
+                        dittoHeaders));
+    }
+
+    /**
+     * Returns the plan of the search.
+     *
+     * @return the plan.
+     */
+    public JsonObject getPlan() {
+        return plan;
+    }
+
+    @Override
+    protected void appendPayload(final JsonObjectBuilder jsonObjectBuilder, final JsonSchemaVersion schemaVersion,
+            final Predicate<JsonField> thePredicate) {
+        final Predicate<JsonField> predicate = schemaVersion.and(thePredicate);
+        jsonObjectBuilder.set(JsonFields.PAYLOAD, plan, predicate);
+    }
+
+    @Override
+    public JsonValue getEntity(final JsonSchemaVersion schemaVersion) {
+        return plan;
+    }
+
+    @Override
+    public SudoExplainQueryResponse setEntity(final JsonValue entity) {
+        checkNotNull(entity, "entity");
+        return of(entity.asObject(), getDittoHeaders());
+    }
+
+    @Override
+    public SudoExplainQueryResponse setDittoHeaders(final DittoHeaders dittoHeaders) {
+        return of(plan, dittoHeaders);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), plan);
+    }
+
+    @SuppressWarnings({"squid:MethodCyclomaticComplexity", "squid:S1067"})
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SudoExplainQueryResponse that = (SudoExplainQueryResponse) o;
+        return that.canEqual(this) && Objects.equals(plan, that.plan) && super.equals(that);
+    }
+
+    @Override
+    protected boolean canEqual(@Nullable final Object other) {
+        return (other instanceof SudoExplainQueryResponse);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" + super.toString() + ", plan=" + plan + "]";
+    }
+
+}
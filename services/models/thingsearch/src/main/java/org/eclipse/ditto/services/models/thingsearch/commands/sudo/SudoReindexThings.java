@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.models.thingsearch.commands.sudo;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonFieldDefinition;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.json.FieldType;
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.signals.commands.base.AbstractCommand;
+import org.eclipse.ditto.signals.commands.base.CommandJsonDeserializer;
+import org.eclipse.ditto.utils.jsr305.annotations.AllValuesAreNonnullByDefault;
+
+/**
+ * Command which starts, aborts or retrieves the status of a rebuild of the search index (without authorization).
+ * Rebuilding the whole search index writes all Things into shadow collections which replace the live search index
+ * once they caught up. Rebuilding only the Things modified since a point in time writes them into the live search
+ * index directly, as the shadow collections would lack all other Things.
+ */
+@Immutable
+@AllValuesAreNonnullByDefault
+public final class SudoReindexThings extends AbstractCommand<SudoReindexThings>
+        implements ThingSearchSudoCommand<SudoReindexThings> {
+
+    /**
+     * Name of the command.
+     */
+    public static final String NAME = "sudoReindexThings";
+
+    /**
+     * Type of this command.
+     */
+    public static final String TYPE = TYPE_PREFIX + NAME;
+
+    static final JsonFieldDefinition<String> JSON_ACTION =
+            JsonFactory.newStringFieldDefinition("action", FieldType.REGULAR, JsonSchemaVersion.V_1,
+                    JsonSchemaVersion.V_2);
+
+    static final JsonFieldDefinition<String> JSON_SINCE =
+            JsonFactory.newStringFieldDefinition("since", FieldType.REGULAR, JsonSchemaVersion.V_1,
+                    JsonSchemaVersion.V_2);
+
+    private final Action action;
+    @Nullable private final Instant since;
+
+    private SudoReindexThings(final Action action, @Nullable final Instant since, final DittoHeaders dittoHeaders) {
+        super(TYPE, dittoHeaders);
+        this.action = action;
+        this.since = since;
+    }
+
+    /**
+     * Returns a command which starts rebuilding the search index from all Things modified since the given point in
+     * time.
+     *
+     * @param since the point in time since when modified Things are indexed in place or {@code null} to rebuild the
+     * whole search index.
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code dittoHeaders} is {@code null}.
+     */
+    public static SudoReindexThings start(@Nullable final Instant since, final DittoHeaders dittoHeaders) {
+        return new SudoReindexThings(Action.START, since, dittoHeaders);
+    }
+
+    /**
+     * Returns a command which aborts the running rebuild of the search index.
+     *
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code dittoHeaders} is {@code null}.
+     */
+    public static SudoReindexThings abort(final DittoHeaders dittoHeaders) {
+        return new SudoReindexThings(Action.ABORT, null, dittoHeaders);
+    }
+
+    /**
+     * Returns a command which retrieves the progress of the current or last rebuild of the search index.
+     *
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code dittoHeaders} is {@code null}.
+     */
+    public static SudoReindexThings status(final DittoHeaders dittoHeaders) {
+        return new SudoReindexThings(Action.STATUS, null, dittoHeaders);
+    }
+
+    /**
+     * Creates a new {@code SudoReindexThings} from a JSON string.
+     *
+     * @param jsonString the JSON string of which the command is to be created.
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code jsonString} is {@code null}.
+     * @throws IllegalArgumentException if {@code jsonString} is empty.
+     * @throws org.eclipse.ditto.json.JsonParseException if the passed in {@code jsonString} was not in the expected
+     * format.
+     */
+    public static SudoReindexThings fromJson(final String jsonString, final DittoHeaders dittoHeaders) {
+        return fromJson(JsonFactory.newObject(jsonString), dittoHeaders);
+    }
+
+    /**
+     * Creates a new {@code SudoReindexThings} from a JSON object.
+     *
+     * @param jsonObject the JSON object of which the command is to be created.
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code jsonObject} is {@code null}.
+     * @throws org.eclipse.ditto.json.JsonParseException if the passed in {@code jsonObject} was not in the expected
+     * format.
+     */
+    public static SudoReindexThings fromJson(final JsonObject jsonObject, final DittoHeaders dittoHeaders) {
+        return new CommandJsonDeserializer<SudoReindexThings>(TYPE, jsonObject).deserialize(() -> {
+            final String actionName = jsonObject.getValueOrThrow(JSON_ACTION);
+            final Action action = Action.forName(actionName).orElseThrow(() -> JsonParseException.newBuilder()
+                    .message("The action <" + actionName + "> is unknown, expected one of " +
+                            Arrays.toString(Action.values()) + "!")
+                    .build());
+            final Instant since = jsonObject.getValue(JSON_SINCE).map(Instant::parse).orElse(null);
+
+            return new SudoReindexThings(action, since, dittoHeaders);
+        });
+    }
+
+    /**
+     * Returns the action to perform.
+     *
+     * @return the action.
+     */
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * Returns the point in time since when modified Things are indexed by a started rebuild.
+     *
+     * @return the point in time or an empty Optional if all Things are indexed.
+     */
+    public Optional<Instant> getSince() {
+        return Optional.ofNullable(since);
+    }
+
+    @Override
+    protected void appendPayload(final JsonObjectBuilder jsonObjectBuilder, final JsonSchemaVersion schemaVersion,
+            final Predicate<JsonField> thePredicate) {
+
+        final Predicate<JsonField> predicate = schemaVersion.and(thePredicate);
+        jsonObjectBuilder.set(JSON_ACTION, action.toString(), predicate);
+        getSince().ifPresent(instant -> jsonObjectBuilder.set(JSON_SINCE, instant.toString(), predicate));
+    }
+
+    @Override
+    public Category getCategory() {
+        return action == Action.STATUS ? Category.QUERY : Category.MODIFY;
+    }
+
+    @Override
+    public SudoReindexThings setDittoHeaders(final DittoHeaders dittoHeaders) {
+        return new SudoReindexThings(action, since, dittoHeaders);
+    }
+
+    @SuppressWarnings({"squid:MethodCyclomaticComplexity", "squid:S1067"})
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SudoReindexThings that = (SudoReindexThings) o;
+        return that.canEqual(this) && action == that.action && Objects.equals(since, that.since) && super.equals(that);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), action, since);
+    }
+
+    @Override
+    protected boolean canEqual(@Nullable final Object other) {
+        return (other instanceof SudoReindexThings);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" + super.toString() + ", action=" + action + ", since=" + since + "]";
+    }
+
+    /**
+     * The actions of a {@code SudoReindexThings} command.
+     */
+    public enum Action {
+
+        /**
+         * Starts a rebuild if none is running.
+         */
+        START("start"),
+
+        /**
+         * Aborts the running rebuild and drops its shadow collections.
+         */
+        ABORT("abort"),
+
+        /**
+         * Retrieves the progress of the current or last rebuild.
+         */
+        STATUS("status");
+
+        private final String name;
+
+        Action(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the action with the given name.
+         *
+         * @param name the name of the action.
+         * @return the action or an empty Optional if no action has the name.
+         * @throws NullPointerException if {@code name} is {@code null}.
+         */
+        public static Optional<Action> forName(final CharSequence name) {
+            checkNotNull(name, "name");
+            return Arrays.stream(values())
+                    .filter(action -> action.name.contentEquals(name))
+                    .findAny();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+}
@@ -42,6 +42,8 @@ public final class ThingSearchSudoCommandRegistry extends AbstractCommandRegistr
 
         parseStrategies.put(SudoCountThings.TYPE, SudoCountThings::fromJson);
         parseStrategies.put(SudoRetrieveNamespaceReport.TYPE, SudoRetrieveNamespaceReport::fromJson);
+        parseStrategies.put(SudoReindexThings.TYPE, SudoReindexThings::fromJson);
+        parseStrategies.put(SudoExplainQuery.TYPE, SudoExplainQuery::fromJson);
 
         return new ThingSearchSudoCommandRegistry(parseStrategies);
     }
@@ -42,6 +42,8 @@ public final class ThingSearchSudoCommandResponseRegistry
 
         parseStrategies.put(CountThingsResponse.TYPE, CountThingsResponse::fromJson); //returned by SudoCountThings
         parseStrategies.put(SudoRetrieveNamespaceReportResponse.TYPE, SudoRetrieveNamespaceReportResponse::fromJson);
+        parseStrategies.put(SudoReindexThingsResponse.TYPE, SudoReindexThingsResponse::fromJson);
+        parseStrategies.put(SudoExplainQueryResponse.TYPE, SudoExplainQueryResponse::fromJson);
 
         return new ThingSearchSudoCommandResponseRegistry(parseStrategies);
     }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.models.thingsearch.commands.sudo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.signals.commands.thingsearch.ThingSearchCommand;
+import org.junit.Test;
+import org.mutabilitydetector.unittesting.MutabilityAssert;
+import org.mutabilitydetector.unittesting.MutabilityMatchers;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+/**
+ * Tests {@link SudoExplainQuery}.
+ */
+public final class SudoExplainQueryTest {
+
+    private static final String KNOWN_FILTER = "and(eq(thingId,\"org.eclipse.ditto:t\"),gt(attributes/size,5))";
+
+    private static final String JSON = JsonFactory.newObjectBuilder()
+            .set(ThingSearchCommand.JsonFields.TYPE, SudoExplainQuery.TYPE)
+            .set(SudoExplainQuery.JSON_FILTER, KNOWN_FILTER)
+            .build().toString();
+
+    /** */
+    @Test
+    public void assertImmutability() {
+        MutabilityAssert.assertInstancesOf(SudoExplainQuery.class, MutabilityMatchers.areImmutable());
+    }
+
+    /** */
+    @Test
+    public void testHashCodeAndEquals() {
+        EqualsVerifier.forClass(SudoExplainQuery.class)
+                .usingGetClass()
+                .withRedefinedSuperclass()
+                .verify();
+    }
+
+    /** */
+    @Test
+    public void toJsonReturnsExpected() {
+        assertThat(SudoExplainQuery.of(KNOWN_FILTER, DittoHeaders.empty()).toJsonString()).isEqualTo(JSON);
+    }
+
+    /** */
+    @Test
+    public void fromJsonReturnsExpected() {
+        final SudoExplainQuery command = SudoExplainQuery.fromJson(JSON, DittoHeaders.empty());
+
+        assertThat(command.getFilter()).contains(KNOWN_FILTER);
+    }
+
+    /** */
+    @Test
+    public void fromJsonWithoutFilter() {
+        final String json = JsonFactory.newObjectBuilder()
+                .set(ThingSearchCommand.JsonFields.TYPE, SudoExplainQuery.TYPE)
+                .build().toString();
+
+        assertThat(SudoExplainQuery.fromJson(json, DittoHeaders.empty()).getFilter()).isEmpty();
+    }
+
+}
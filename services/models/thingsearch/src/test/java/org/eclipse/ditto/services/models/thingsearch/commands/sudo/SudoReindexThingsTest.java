@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.models.thingsearch.commands.sudo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Instant;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.signals.commands.thingsearch.ThingSearchCommand;
+import org.junit.Test;
+import org.mutabilitydetector.unittesting.MutabilityAssert;
+import org.mutabilitydetector.unittesting.MutabilityMatchers;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+/**
+ * Tests {@link SudoReindexThings}.
+ */
+public final class SudoReindexThingsTest {
+
+    private static final Instant KNOWN_SINCE = Instant.parse("2018-06-01T00:00:00Z");
+
+    private static final String JSON_START = JsonFactory.newObjectBuilder()
+            .set(ThingSearchCommand.JsonFields.TYPE, SudoReindexThings.TYPE)
+            .set(SudoReindexThings.JSON_ACTION, "start")
+            .set(SudoReindexThings.JSON_SINCE, KNOWN_SINCE.toString())
+            .build().toString();
+
+    private static final String JSON_STATUS = JsonFactory.newObjectBuilder()
+            .set(ThingSearchCommand.JsonFields.TYPE, SudoReindexThings.TYPE)
+            .set(SudoReindexThings.JSON_ACTION, "status")
+            .build().toString();
+
+    /** */
+    @Test
+    public void assertImmutability() {
+        MutabilityAssert.assertInstancesOf(SudoReindexThings.class, MutabilityMatchers.areImmutable());
+    }
+
+    /** */
+    @Test
+    public void testHashCodeAndEquals() {
+        EqualsVerifier.forClass(SudoReindexThings.class)
+                .usingGetClass()
+                .withRedefinedSuperclass()
+                .verify();
+    }
+
+    /** */
+    @Test
+    public void toJsonOfStart() {
+        assertThat(SudoReindexThings.start(KNOWN_SINCE, DittoHeaders.empty()).toJsonString()).isEqualTo(JSON_START);
+    }
+
+    /** */
+    @Test
+    public void toJsonOfStatus() {
+        assertThat(SudoReindexThings.status(DittoHeaders.empty()).toJsonString()).isEqualTo(JSON_STATUS);
+    }
+
+    /** */
+    @Test
+    public void fromJsonOfStart() {
+        final SudoReindexThings command = SudoReindexThings.fromJson(JSON_START, DittoHeaders.empty());
+
+        assertThat(command.getAction()).isEqualTo(SudoReindexThings.Action.START);
+        assertThat(command.getSince()).contains(KNOWN_SINCE);
+    }
+
+    /** */
+    @Test
+    public void fromJsonOfStatus() {
+        final SudoReindexThings command = SudoReindexThings.fromJson(JSON_STATUS, DittoHeaders.empty());
+
+        assertThat(command).isEqualTo(SudoReindexThings.status(DittoHeaders.empty()));
+        assertThat(command.getSince()).isEmpty();
+    }
+
+    /** */
+    @Test
+    public void fromJsonWithUnknownAction() {
+        final String json = JsonFactory.newObjectBuilder()
+                .set(ThingSearchCommand.JsonFields.TYPE, SudoReindexThings.TYPE)
+                .set(SudoReindexThings.JSON_ACTION, "restart")
+                .build().toString();
+
+        assertThatExceptionOfType(JsonParseException.class)
+                .isThrownBy(() -> SudoReindexThings.fromJson(json, DittoHeaders.empty()));
+    }
+
+}
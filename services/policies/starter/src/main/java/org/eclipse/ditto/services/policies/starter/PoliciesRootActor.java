@@ -26,6 +26,7 @@ import org.eclipse.ditto.services.base.config.HttpConfigReader;
 import org.eclipse.ditto.services.base.config.ServiceConfigReader;
 import org.eclipse.ditto.services.models.policies.PoliciesMessagingConstants;
 import org.eclipse.ditto.services.policies.persistence.actors.policies.PoliciesPersistenceStreamingActorCreator;
+import org.eclipse.ditto.services.policies.persistence.actors.policies.PoliciesWarmUpActorCreator;
 import org.eclipse.ditto.services.policies.persistence.actors.policy.PolicyNamespaceOpsActor;
 import org.eclipse.ditto.services.policies.persistence.actors.policy.PolicySupervisorActor;
 import org.eclipse.ditto.services.policies.util.ConfigKeys;
@@ -154,14 +155,23 @@ public final class PoliciesRootActor extends AbstractActor {
         pubSubMediator.tell(new DistributedPubSubMediator.Put(getSelf()), getSelf());
         pubSubMediator.tell(new DistributedPubSubMediator.Put(persistenceStreamingActor), getSelf());
 
+        final ShardRegionExtractor shardRegionExtractor =
+                ShardRegionExtractor.of(numberOfShards, getContext().getSystem());
         final ActorRef policiesShardRegion = ClusterSharding.get(getContext().system())
                 .start(PoliciesMessagingConstants.SHARD_REGION, policySupervisorProps, shardingSettings,
-                        ShardRegionExtractor.of(numberOfShards, getContext().getSystem()));
+                        shardRegionExtractor);
 
         // start cluster singleton for namespace ops
         ClusterUtil.startSingleton(getContext(), CLUSTER_ROLE, PolicyNamespaceOpsActor.ACTOR_NAME,
                 PolicyNamespaceOpsActor.props(pubSubMediator, config));
 
+        // start cluster singleton which recovers recently active policies on start and on shard rebalancing
+        if (config.getBoolean(ConfigKeys.POLICIES_WARM_UP_ENABLED)) {
+            ClusterUtil.startSingleton(getContext(), CLUSTER_ROLE, PoliciesWarmUpActorCreator.ACTOR_NAME,
+                    PoliciesWarmUpActorCreator.props(config, config.getConfig(ConfigKeys.POLICIES_WARM_UP),
+                            policiesShardRegion, shardRegionExtractor::shardIdOf));
+        }
+
         retrieveStatisticsDetailsResponseSupplier = RetrieveStatisticsDetailsResponseSupplier.of(policiesShardRegion,
                 PoliciesMessagingConstants.SHARD_REGION, log);
 
@@ -32,6 +32,16 @@ public final class ConfigKeys {
     public static final String POLICIES_TAGS_STREAMING_CACHE_SIZE = POLICIES_TAGS_PREFIX +
             "streaming-cache-size";
 
+    /**
+     * The config of the warm-up which recovers recently active policies on start and on shard rebalancing.
+     */
+    public static final String POLICIES_WARM_UP = POLICIES_PREFIX + "warm-up";
+
+    /**
+     * Whether the warm-up of policies is enabled.
+     */
+    public static final String POLICIES_WARM_UP_ENABLED = POLICIES_WARM_UP + ".enabled";
+
     public static final class Policy {
 
         private static final String PREFIX = POLICIES_PREFIX + "policy.";
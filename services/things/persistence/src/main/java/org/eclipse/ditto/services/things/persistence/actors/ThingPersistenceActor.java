@@ -10,7 +10,12 @@
  */
 package org.eclipse.ditto.services.things.persistence.actors;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -19,6 +24,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
+import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.model.base.headers.WithDittoHeaders;
@@ -41,7 +47,10 @@ import org.eclipse.ditto.signals.base.WithThingId;
 import org.eclipse.ditto.signals.base.WithType;
 import org.eclipse.ditto.signals.commands.base.Command;
 import org.eclipse.ditto.signals.commands.things.exceptions.ThingNotAccessibleException;
+import org.eclipse.ditto.signals.commands.things.exceptions.ThingUnavailableException;
 import org.eclipse.ditto.signals.commands.things.modify.CreateThing;
+import org.eclipse.ditto.signals.events.things.ThingCreated;
+import org.eclipse.ditto.signals.events.things.ThingDeleted;
 import org.eclipse.ditto.signals.events.things.ThingEvent;
 import org.eclipse.ditto.signals.events.things.ThingModifiedEvent;
 
@@ -56,6 +65,7 @@ import akka.actor.Props;
 import akka.cluster.pubsub.DistributedPubSubMediator;
 import akka.event.DiagnosticLoggingAdapter;
 import akka.japi.Creator;
+import akka.japi.Procedure;
 import akka.japi.pf.FI;
 import akka.japi.pf.ReceiveBuilder;
 import akka.persistence.AbstractPersistentActor;
@@ -67,6 +77,12 @@ import scala.concurrent.duration.Duration;
 
 /**
  * PersistentActor which "knows" the state of a single {@link Thing}.
+ * <p>
+ * If event batching is enabled, commands are not stashed while the event of a previous command is written to the
+ * journal. Instead they are handled against the Thing including all events not yet persisted, and their events are
+ * written together with the next write. Replies are sent in the order of the commands once the events of all
+ * previous commands are persisted. Events which change the lifecycle of the Thing are always persisted one by one.
+ * </p>
  */
 public final class ThingPersistenceActor extends AbstractPersistentActor implements ThingPersistenceActorInterface {
 
@@ -85,6 +101,12 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
      */
     static final String SNAPSHOT_PLUGIN_ID = "akka-contrib-mongodb-persistence-things-snapshots";
 
+    /**
+     * The ID of the snapshot plugin this persistence actor uses if delta snapshots are enabled. It restores delta
+     * snapshots and delegates everything else to {@link #SNAPSHOT_PLUGIN_ID}.
+     */
+    static final String DELTA_SNAPSHOT_PLUGIN_ID = "akka-contrib-mongodb-persistence-things-delta-snapshots";
+
     private static final CommandReceiveStrategy COMMAND_RECEIVE_STRATEGY = CommandReceiveStrategy.getInstance();
     private static final CreateThingStrategy CREATE_THING_STRATEGY = CreateThingStrategy.getInstance();
 
@@ -96,6 +118,21 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
     private final java.time.Duration activityCheckDeletedInterval;
     private final Receive handleThingEvents;
     private final long snapshotThreshold;
+    private final long snapshotThresholdBytes;
+    private final boolean snapshotDeltaEnabled;
+    private final boolean eventBatchingEnabled;
+    private final int eventBatchMaxSize;
+    private final java.time.Duration eventBatchMaxLatency;
+
+    /**
+     * Events waiting for the next write to the journal and replies waiting for these events.
+     */
+    private final List<BatchEntry> eventBatch;
+
+    /**
+     * Events written to the journal whose write is not yet confirmed, in the order of the writes.
+     */
+    private final Deque<BatchEntry> unconfirmedEvents;
 
     /**
      * Context for all {@link CommandReceiveStrategy} strategies - contains references to fields of {@code this}
@@ -106,6 +143,10 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
     private long accessCounter;
     private Cancellable activityChecker;
     private Thing thing;
+    @Nullable private Thing speculativeThing;
+    private int batchedEventCount;
+    private int persistRejections;
+    @Nullable private Cancellable eventBatchFlush;
 
     ThingPersistenceActor(final String thingId, final ActorRef pubSubMediator,
             final ThingSnapshotter.Create thingSnapshotterCreate) {
@@ -120,11 +161,20 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
         activityCheckDeletedInterval = config.getDuration(ConfigKeys.Thing.ACTIVITY_CHECK_DELETED_INTERVAL);
 
         // Activity checking
-        snapshotThreshold = getSnapshotThreshold(config);
+        snapshotThreshold = getSnapshotThreshold(config, ConfigKeys.Thing.SNAPSHOT_THRESHOLD);
+        snapshotThresholdBytes = getSnapshotThreshold(config, ConfigKeys.Thing.SNAPSHOT_THRESHOLD_BYTES);
 
         // Snapshotting
+        snapshotDeltaEnabled = config.getBoolean(ConfigKeys.Thing.SNAPSHOT_DELTA_ENABLED);
         thingSnapshotter = getSnapshotter(config, thingSnapshotterCreate);
 
+        // Event batching
+        eventBatchingEnabled = config.getBoolean(ConfigKeys.Thing.EVENT_BATCHING_ENABLED);
+        eventBatchMaxSize = config.getInt(ConfigKeys.Thing.EVENT_BATCHING_MAX_SIZE);
+        eventBatchMaxLatency = config.getDuration(ConfigKeys.Thing.EVENT_BATCHING_MAX_LATENCY);
+        eventBatch = new ArrayList<>();
+        unconfirmedEvents = new ArrayDeque<>();
+
         final Runnable becomeCreatedRunnable = this::becomeThingCreatedHandler;
         final Runnable becomeDeletedRunnable = this::becomeThingDeletedHandler;
         defaultContext =
@@ -138,11 +188,11 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
                 }).build();
     }
 
-    private static long getSnapshotThreshold(final Config config) {
-        final long result = config.getLong(ConfigKeys.Thing.SNAPSHOT_THRESHOLD);
+    private static long getSnapshotThreshold(final Config config, final String configKey) {
+        final long result = config.getLong(configKey);
         if (result < 0) {
             throw new ConfigurationException(String.format("Config setting <%s> must be positive but is <%d>!",
-                    ConfigKeys.Thing.SNAPSHOT_THRESHOLD, result));
+                    configKey, result));
         }
         return result;
     }
@@ -247,7 +297,7 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
 
     @Override
     public String snapshotPluginId() {
-        return SNAPSHOT_PLUGIN_ID;
+        return snapshotDeltaEnabled ? DELTA_SNAPSHOT_PLUGIN_ID : SNAPSHOT_PLUGIN_ID;
     }
 
     @Override
@@ -258,6 +308,10 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
         if (activityChecker != null) {
             activityChecker.cancel();
         }
+        cancelEventBatchFlush();
+        if (!eventBatch.isEmpty()) {
+            log.warning("Stopped with <{}> events of Thing <{}> not yet persisted.", batchedEventCount, thingId);
+        }
     }
 
     @Override
@@ -337,7 +391,8 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
     private void becomeThingCreatedHandler() {
         final FI.UnitApply<Command> commandHandler = command -> handleCommand(command, COMMAND_RECEIVE_STRATEGY);
         final ReceiveBuilder receiveBuilder = ReceiveBuilder.create()
-                .match(Command.class, COMMAND_RECEIVE_STRATEGY::isDefined, commandHandler);
+                .match(Command.class, COMMAND_RECEIVE_STRATEGY::isDefined, commandHandler)
+                .match(FlushEventBatch.class, flush -> flushEventBatch());
 
         final Receive receive = new StrategyAwareReceiveBuilder(receiveBuilder, log)
                 .matchEach(thingSnapshotter.strategies())
@@ -356,10 +411,14 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
     private void handleCommand(final Command command, final CommandStrategy commandStrategy) {
         final CommandStrategy.Result result;
         try {
-            result = commandStrategy.apply(defaultContext, thing,
+            result = commandStrategy.apply(defaultContext, getSpeculativeThing(),
                     getNextRevisionNumber(), command);
         } catch (final DittoRuntimeException e) {
-            getSender().tell(e, getSelf());
+            if (eventBatchingEnabled) {
+                replyAfterPreviousEvents(getSender(), e);
+            } else {
+                getSender().tell(e, getSelf());
+            }
             return;
         }
 
@@ -369,17 +428,31 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
         final BiConsumer<ThingModifiedEvent, BiConsumer<ThingModifiedEvent, Thing>> persistAndApplyConsumer =
                 this::persistAndApplyEvent;
 
-        result.apply(defaultContext, persistAndApplyConsumer, asyncNotifySender());
+        if (eventBatchingEnabled) {
+            final InOrderReplies replies = new InOrderReplies();
+            result.apply(defaultContext, persistAndApplyConsumer, replies);
+            replies.commandHandled();
+        } else {
+            result.apply(defaultContext, persistAndApplyConsumer, asyncNotifySender());
+        }
     }
 
     private long getNextRevisionNumber() {
-        return getRevisionNumber() + 1;
+        return getRevisionNumber() + unconfirmedEvents.size() + batchedEventCount + 1;
+    }
+
+    /**
+     * @return the Thing including the events which are not yet persisted, against which commands are handled.
+     */
+    private Thing getSpeculativeThing() {
+        return null != speculativeThing ? speculativeThing : thing;
     }
 
     private void becomeThingDeletedHandler() {
         final FI.UnitApply<CreateThing> commandHandler = command -> handleCommand(command, CREATE_THING_STRATEGY);
         final ReceiveBuilder receiveBuilder = ReceiveBuilder.create()
-                .match(CreateThing.class, CREATE_THING_STRATEGY::isDefined, commandHandler);
+                .match(CreateThing.class, CREATE_THING_STRATEGY::isDefined, commandHandler)
+                .match(FlushEventBatch.class, flush -> flushEventBatch());
 
         final Receive receive = new StrategyAwareReceiveBuilder(receiveBuilder, log)
                 .matchEach(thingSnapshotter.strategies())
@@ -403,11 +476,12 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
             final A event,
             final BiConsumer<A, Thing> handler) {
 
+        final Thing currentThing = getSpeculativeThing();
         final A modifiedEvent;
-        if (thing != null) {
+        if (currentThing != null) {
             // set version of event to the version of the thing
             final DittoHeaders newHeaders = event.getDittoHeaders().toBuilder()
-                    .schemaVersion(thing.getImplementedSchemaVersion())
+                    .schemaVersion(currentThing.getImplementedSchemaVersion())
                     .build();
             modifiedEvent = event.setDittoHeaders(newHeaders);
         } else {
@@ -415,8 +489,12 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
         }
 
         if (modifiedEvent.getDittoHeaders().isDryRun()) {
-            handler.accept(modifiedEvent, thing);
+            handler.accept(modifiedEvent, currentThing);
+        } else if (isBatchable(modifiedEvent)) {
+            batchEvent(modifiedEvent, handler);
         } else {
+            // events written before have to be persisted first
+            flushEventBatch();
             persistEvent(modifiedEvent, persistedEvent -> {
                 // after the event was persisted, apply the event on the current actor state
                 applyEvent(persistedEvent);
@@ -441,13 +519,192 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
             handler.accept(persistedEvent);
 
             // save a snapshot if there were too many changes since the last snapshot
-            if (snapshotThresholdPassed()) {
-                thingSnapshotter.takeSnapshotInternal();
-            }
+            takeSnapshotIfThresholdPassed(persistedEvent);
         });
     }
 
-    private boolean snapshotThresholdPassed() {
+    private boolean isBatchable(final ThingModifiedEvent event) {
+        return eventBatchingEnabled && null != thing && !(event instanceof ThingCreated) &&
+                !(event instanceof ThingDeleted);
+    }
+
+    /**
+     * Applies an event to the speculative Thing right away and persists it with the next write to the journal, which
+     * is started immediately if no write is in flight.
+     */
+    private <A extends ThingModifiedEvent<? extends A>> void batchEvent(final A event,
+            final BiConsumer<A, Thing> handler) {
+
+        LogUtil.enhanceLogWithCorrelationId(log, event.getDittoHeaders().getCorrelationId());
+        log.debug("Batching Event <{}>.", event.getType());
+
+        final EventStrategy<ThingEvent> eventHandleStrategy = EventHandleStrategy.getInstance();
+        speculativeThing = eventHandleStrategy.handle(event, getSpeculativeThing(), getNextRevisionNumber());
+        eventBatch.add(new BatchEntry(event, getSender(), () -> {
+            LogUtil.enhanceLogWithCorrelationId(log, event.getDittoHeaders().getCorrelationId());
+            log.info("Successfully persisted Event <{}>.", event.getType());
+
+            applyEvent(event);
+            handler.accept(event, thing);
+
+            takeSnapshotIfThresholdPassed(event);
+            if (unconfirmedEvents.isEmpty() && 0 < batchedEventCount) {
+                flushEventBatch();
+            }
+        }));
+        batchedEventCount++;
+
+        if (unconfirmedEvents.isEmpty() || batchedEventCount >= eventBatchMaxSize) {
+            flushEventBatch();
+        } else if (null == eventBatchFlush) {
+            eventBatchFlush = getContext().system()
+                    .scheduler()
+                    .scheduleOnce(Duration.create(eventBatchMaxLatency.toMillis(), TimeUnit.MILLISECONDS),
+                            getSelf(), FlushEventBatch.INSTANCE, getContext().dispatcher(), null);
+        }
+    }
+
+    /**
+     * Starts writing all batched events to the journal.
+     */
+    private void flushEventBatch() {
+        cancelEventBatchFlush();
+        if (eventBatch.isEmpty()) {
+            return;
+        }
+        log.debug("Persisting a batch of <{}> Events.", batchedEventCount);
+
+        List<BatchEntry> events = new ArrayList<>();
+        for (final BatchEntry entry : eventBatch) {
+            if (null != entry.event) {
+                events.add(entry);
+            } else {
+                persistEventsAsync(events);
+                events = new ArrayList<>();
+                deferAsync(entry, (Procedure<BatchEntry>) deferred -> deferred.handler.run());
+            }
+        }
+        persistEventsAsync(events);
+
+        eventBatch.clear();
+        batchedEventCount = 0;
+    }
+
+    private void persistEventsAsync(final List<BatchEntry> entries) {
+        if (!entries.isEmpty()) {
+            final List<ThingModifiedEvent> events = new ArrayList<>(entries.size());
+            entries.forEach(entry -> events.add(entry.event));
+            unconfirmedEvents.addAll(entries);
+            // the handlers of persistAllAsync are called in the order of the events
+            persistAllAsync(events, persistedEvent -> unconfirmedEvents.remove().handler.run());
+        }
+    }
+
+    /**
+     * Fails the command of a batched event which the journal rejected, e.g. because it is too large. The speculative
+     * Thing is rebuilt from the persisted Thing and the remaining events, and replies which waited for the rejected
+     * event are failed as they were based on it.
+     */
+    @Override
+    public void onPersistRejected(final Throwable cause, final Object event, final long seqNr) {
+        final BatchEntry rejectedEntry = unconfirmedEvents.peek();
+        if (null == rejectedEntry || rejectedEntry.event != event) {
+            super.onPersistRejected(cause, event, seqNr);
+            return;
+        }
+        unconfirmedEvents.remove();
+        persistRejections++;
+
+        final ThingModifiedEvent rejectedEvent = rejectedEntry.event;
+        LogUtil.enhanceLogWithCorrelationId(log, rejectedEvent.getDittoHeaders().getCorrelationId());
+        log.error(cause, "Rejected to persist Event <{}> with sequence number <{}>.", rejectedEvent.getType(),
+                seqNr);
+        rejectedEntry.sender.tell(newThingUnavailableException(rejectedEvent.getDittoHeaders()), getSelf());
+
+        resetSpeculativeThing();
+        if (unconfirmedEvents.isEmpty() && 0 < batchedEventCount) {
+            flushEventBatch();
+        }
+    }
+
+    private void resetSpeculativeThing() {
+        speculativeThing = null;
+        if (unconfirmedEvents.isEmpty() && 0 == batchedEventCount) {
+            return;
+        }
+        final EventStrategy<ThingEvent> eventHandleStrategy = EventHandleStrategy.getInstance();
+        long revision = getRevisionNumber();
+        for (final BatchEntry entry : unconfirmedEvents) {
+            speculativeThing = eventHandleStrategy.handle(entry.event, getSpeculativeThing(), ++revision);
+        }
+        for (final BatchEntry entry : eventBatch) {
+            if (null != entry.event) {
+                speculativeThing = eventHandleStrategy.handle(entry.event, getSpeculativeThing(), ++revision);
+            }
+        }
+    }
+
+    private ThingUnavailableException newThingUnavailableException(final DittoHeaders dittoHeaders) {
+        return ThingUnavailableException.newBuilder(thingId).dittoHeaders(dittoHeaders).build();
+    }
+
+    private void cancelEventBatchFlush() {
+        if (null != eventBatchFlush) {
+            eventBatchFlush.cancel();
+            eventBatchFlush = null;
+        }
+    }
+
+    /**
+     * Sends a reply once the events of all previous commands are persisted.
+     */
+    private void replyAfterPreviousEvents(final ActorRef sender, final WithDittoHeaders message) {
+        final int rejectionsBefore = persistRejections;
+        if (0 < batchedEventCount) {
+            eventBatch.add(new BatchEntry(null, sender,
+                    () -> replyUnlessRejected(sender, message, rejectionsBefore)));
+        } else if (!unconfirmedEvents.isEmpty()) {
+            deferAsync(message, (Procedure<WithDittoHeaders>) deferred ->
+                    replyUnlessRejected(sender, deferred, rejectionsBefore));
+        } else {
+            sender.tell(message, getSelf());
+        }
+    }
+
+    private void replyUnlessRejected(final ActorRef sender, final WithDittoHeaders message,
+            final int rejectionsBefore) {
+
+        if (rejectionsBefore == persistRejections) {
+            sender.tell(message, getSelf());
+        } else {
+            sender.tell(newThingUnavailableException(message.getDittoHeaders()), getSelf());
+        }
+    }
+
+    private void takeSnapshotIfThresholdPassed(final ThingModifiedEvent event) {
+        if (0 < snapshotThresholdBytes) {
+            thingSnapshotter.addEventSize(estimateEventSize(event));
+        }
+        if (snapshotThresholdPassed()) {
+            thingSnapshotter.takeSnapshotInternal();
+        }
+    }
+
+    /**
+     * Estimates the size of an event by the size bound of its entity, which is known without serializing the event.
+     */
+    private static long estimateEventSize(final ThingModifiedEvent event) {
+        final Optional<JsonValue> entity = event.getEntity(event.getImplementedSchemaVersion());
+        return event.getResourcePath().toString().length() +
+                entity.map(JsonValue::getUpperBoundForStringSize).orElse(0L);
+    }
+
+        private boolean snapshotThresholdPassed() {
+        if (0 < snapshotThresholdBytes &&
+                thingSnapshotter.getEventSizeSinceLatestSnapshot() > snapshotThresholdBytes) {
+            // large events pass the threshold earlier
+            return true;
+        }
         if (thingSnapshotter.getLatestSnapshotSequenceNr() > 0) {
             return (getRevisionNumber() - thingSnapshotter.getLatestSnapshotSequenceNr()) > snapshotThreshold;
         } else {
@@ -458,6 +715,10 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
 
     private <A extends ThingModifiedEvent> void applyEvent(final A event) {
         handleThingEvents.onMessage().apply(event);
+        if (unconfirmedEvents.isEmpty() && 0 == batchedEventCount) {
+            // all events are persisted
+            speculativeThing = null;
+        }
         notifySubscribers(event);
     }
 
@@ -564,6 +825,66 @@ public final class ThingPersistenceActor extends AbstractPersistentActor impleme
 
     }
 
+    /**
+     * Replies to a command with event batching enabled. Replies given while the command is handled wait for the events
+     * of all previous commands, replies given after the command's own event was persisted or from another thread are
+     * sent immediately.
+     */
+    private final class InOrderReplies implements Consumer<WithDittoHeaders> {
+
+        private final ActorRef sender;
+        private final ActorRef self;
+        private final Thread commandThread;
+        private volatile boolean handlingCommand;
+
+        private InOrderReplies() {
+            accessCounter++;
+            sender = getSender();
+            self = getSelf();
+            commandThread = Thread.currentThread();
+            handlingCommand = true;
+        }
+
+        @Override
+        public void accept(final WithDittoHeaders message) {
+            if (handlingCommand && Thread.currentThread() == commandThread) {
+                replyAfterPreviousEvents(sender, message);
+            } else {
+                sender.tell(message, self);
+            }
+        }
+
+        private void commandHandled() {
+            handlingCommand = false;
+        }
+
+    }
+
+    /**
+     * An event waiting for the next write to the journal together with the sender of its command and the handler to
+     * call once it is persisted, or a reply waiting for the events before it.
+     */
+    private static final class BatchEntry {
+
+        @Nullable private final ThingModifiedEvent event;
+        private final ActorRef sender;
+        private final Runnable handler;
+
+        private BatchEntry(@Nullable final ThingModifiedEvent event, final ActorRef sender, final Runnable handler) {
+            this.event = event;
+            this.sender = sender;
+            this.handler = handler;
+        }
+
+    }
+
+    /**
+     * Message to flush the event batch after the maximum batch latency.
+     */
+    private enum FlushEventBatch {
+        INSTANCE
+    }
+
     /**
      * This strategy handles any messages for a previous deleted Thing.
      */
@@ -16,18 +16,36 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.model.base.headers.WithDittoHeaders;
 import org.eclipse.ditto.services.base.actors.ShutdownNamespaceBehavior;
+import org.eclipse.ditto.services.models.things.ThingsMessagingConstants;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThing;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThingResponse;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThings;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThingsResponse;
 import org.eclipse.ditto.services.things.persistence.strategies.AbstractReceiveStrategy;
 import org.eclipse.ditto.services.things.persistence.strategies.ReceiveStrategy;
 import org.eclipse.ditto.services.utils.akka.LogUtil;
+import org.eclipse.ditto.signals.commands.base.Command;
 import org.eclipse.ditto.signals.commands.things.exceptions.ThingUnavailableException;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThings;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingsResponse;
 
 import akka.actor.AbstractActor;
 import akka.actor.ActorKilledException;
@@ -36,9 +54,11 @@ import akka.actor.OneForOneStrategy;
 import akka.actor.Props;
 import akka.actor.SupervisorStrategy;
 import akka.actor.Terminated;
+import akka.cluster.sharding.ClusterSharding;
 import akka.event.DiagnosticLoggingAdapter;
 import akka.japi.Creator;
 import akka.japi.pf.DeciderBuilder;
+import akka.pattern.PatternsCS;
 import scala.concurrent.duration.FiniteDuration;
 
 /**
@@ -49,6 +69,12 @@ import scala.concurrent.duration.FiniteDuration;
  * Between the termination of the child and the restart, this actor answers to all requests with a
  * {@link ThingUnavailableException} as fail fast strategy.
  * </p>
+ * <p>
+ * {@link RetrieveThings} and {@link SudoRetrieveThings} for the Things of one shard are sent to the supervisor of one
+ * of these Things, which retrieves all of them from the local shard and answers with one response. Things which
+ * do not exist or may not be read are omitted from the response; if a Thing does not answer in time, the command is
+ * answered with a {@link ThingUnavailableException} for that Thing instead.
+ * </p>
  */
 public final class ThingSupervisorActor extends AbstractActor {
 
@@ -59,6 +85,7 @@ public final class ThingSupervisorActor extends AbstractActor {
     private final Duration minBackOff;
     private final Duration maxBackOff;
     private final double randomFactor;
+    private final Duration retrieveThingTimeout;
     private final SupervisorStrategy supervisorStrategy;
     private final ShutdownNamespaceBehavior shutdownNamespaceBehavior;
 
@@ -68,6 +95,7 @@ public final class ThingSupervisorActor extends AbstractActor {
     private ThingSupervisorActor(final Duration minBackOff,
             final Duration maxBackOff,
             final double randomFactor,
+            final Duration retrieveThingTimeout,
             final Function<String, Props> thingPersistenceActorPropsFactory,
             final SupervisorStrategy supervisorStrategy,
             final ActorRef pubSubMediator) {
@@ -81,6 +109,7 @@ public final class ThingSupervisorActor extends AbstractActor {
         this.minBackOff = minBackOff;
         this.maxBackOff = maxBackOff;
         this.randomFactor = randomFactor;
+        this.retrieveThingTimeout = retrieveThingTimeout;
         this.supervisorStrategy = supervisorStrategy;
 
         shutdownNamespaceBehavior = ShutdownNamespaceBehavior.fromId(thingId, pubSubMediator, getSelf());
@@ -100,6 +129,8 @@ public final class ThingSupervisorActor extends AbstractActor {
      * @param maxBackOff the exponential back-off is capped to this duration.
      * @param randomFactor after calculation of the exponential back-off an additional random delay based on this factor
      * is added, e.g. `0.2` adds up to `20%` delay. In order to skip this additional delay pass in `0`.
+     * @param retrieveThingTimeout timeout for retrieving a single Thing of a {@link RetrieveThings} or
+     * {@link SudoRetrieveThings} command.
      * @param thingPersistenceActorPropsFactory factory for creating Props to be used for creating
      * {@link ThingPersistenceActor}s.
      * @return the {@link Props} to create this actor.
@@ -108,6 +139,7 @@ public final class ThingSupervisorActor extends AbstractActor {
             final Duration minBackOff,
             final Duration maxBackOff,
             final double randomFactor,
+            final Duration retrieveThingTimeout,
             final Function<String, Props> thingPersistenceActorPropsFactory) {
 
         return Props.create(ThingSupervisorActor.class, new Creator<ThingSupervisorActor>() {
@@ -121,8 +153,8 @@ public final class ThingSupervisorActor extends AbstractActor {
                         .matchAny(e -> SupervisorStrategy.escalate())
                         .build());
 
-                return new ThingSupervisorActor(minBackOff, maxBackOff, randomFactor, thingPersistenceActorPropsFactory,
-                        oneForOneStrategy, pubSubMediator);
+                return new ThingSupervisorActor(minBackOff, maxBackOff, randomFactor, retrieveThingTimeout,
+                        thingPersistenceActorPropsFactory, oneForOneStrategy, pubSubMediator);
             }
         });
     }
@@ -133,6 +165,8 @@ public final class ThingSupervisorActor extends AbstractActor {
         result.add(new StartChildStrategy());
         result.add(new ChildTerminatedStrategy());
         result.add(new ManualResetStrategy());
+        result.add(new RetrieveThingsStrategy());
+        result.add(new SudoRetrieveThingsStrategy());
 
         return result;
     }
@@ -166,6 +200,59 @@ public final class ThingSupervisorActor extends AbstractActor {
         }
     }
 
+    private void retrieveThingsOfShard(final List<String> thingIds,
+            final DittoHeaders dittoHeaders,
+            final Function<String, Command<?>> retrieveThingFactory,
+            final Function<List<String>, Object> responseFactory) {
+
+        final ActorRef thingsShardRegion =
+                ClusterSharding.get(getContext().getSystem()).shardRegion(ThingsMessagingConstants.SHARD_REGION);
+        final Map<String, CompletableFuture<Optional<String>>> thingFutures = new LinkedHashMap<>();
+        thingIds.stream()
+                .distinct()
+                .forEach(id -> thingFutures.put(id,
+                        PatternsCS.ask(thingsShardRegion, retrieveThingFactory.apply(id), retrieveThingTimeout)
+                                .thenApply(ThingSupervisorActor::getThingPlainJson)
+                                .toCompletableFuture()));
+
+        final CompletionStage<Object> response =
+                CompletableFuture.allOf(thingFutures.values().toArray(new CompletableFuture[0]))
+                        .<Object>thenApply(aVoid -> responseFactory.apply(thingFutures.values()
+                                .stream()
+                                .map(CompletableFuture::join)
+                                .filter(Optional::isPresent)
+                                .map(Optional::get)
+                                .collect(Collectors.toList())))
+                        .exceptionally(error -> {
+                            // do not answer with an incomplete list of Things as if the others did not exist
+                            final String unavailableThingId = thingFutures.entrySet()
+                                    .stream()
+                                    .filter(entry -> entry.getValue().isCompletedExceptionally())
+                                    .map(Map.Entry::getKey)
+                                    .findFirst()
+                                    .orElse(thingId);
+                            return ThingUnavailableException.newBuilder(unavailableThingId)
+                                    .dittoHeaders(dittoHeaders)
+                                    .build();
+                        });
+
+        PatternsCS.pipe(response, getContext().dispatcher()).to(getSender());
+    }
+
+    private static Optional<String> getThingPlainJson(final Object response) {
+        if (response instanceof RetrieveThingResponse) {
+            final RetrieveThingResponse retrieveThingResponse = (RetrieveThingResponse) response;
+            return Optional.of(retrieveThingResponse.getEntityPlainString().orElseGet(() ->
+                    retrieveThingResponse.getEntity(retrieveThingResponse.getImplementedSchemaVersion()).toString()));
+        } else if (response instanceof SudoRetrieveThingResponse) {
+            final SudoRetrieveThingResponse sudoRetrieveThingResponse = (SudoRetrieveThingResponse) response;
+            return Optional.of(sudoRetrieveThingResponse.getEntityPlainString().orElseGet(() ->
+                    sudoRetrieveThingResponse.getEntity(sudoRetrieveThingResponse.getImplementedSchemaVersion())
+                            .toString()));
+        }
+        return Optional.empty();
+    }
+
     /**
      * Message that should be sent to this actor to indicate a working child and reset the exponential back off
      * mechanism.
@@ -262,6 +349,51 @@ public final class ThingSupervisorActor extends AbstractActor {
 
     }
 
+    /**
+     * This strategy handles a {@link RetrieveThings} command for Things of the shard of this actor.
+     */
+    @NotThreadSafe
+    private final class RetrieveThingsStrategy extends AbstractReceiveStrategy<RetrieveThings> {
+
+        RetrieveThingsStrategy() {
+            super(RetrieveThings.class, log);
+        }
+
+        @Override
+        public void doApply(final RetrieveThings message) {
+            final DittoHeaders dittoHeaders = message.getDittoHeaders();
+            retrieveThingsOfShard(message.getThingIds(), dittoHeaders,
+                    id -> message.getSelectedFields()
+                            .map(selectedFields -> RetrieveThing.getBuilder(id, dittoHeaders)
+                                    .withSelectedFields(selectedFields)
+                                    .build())
+                            .orElseGet(() -> RetrieveThing.of(id, dittoHeaders)),
+                    thingsPlainJson -> RetrieveThingsResponse.of(thingsPlainJson, message.getNamespace().orElse(null),
+                            dittoHeaders));
+        }
+
+    }
+
+    /**
+     * This strategy handles a {@link SudoRetrieveThings} command for Things of the shard of this actor.
+     */
+    @NotThreadSafe
+    private final class SudoRetrieveThingsStrategy extends AbstractReceiveStrategy<SudoRetrieveThings> {
+
+        SudoRetrieveThingsStrategy() {
+            super(SudoRetrieveThings.class, log);
+        }
+
+        @Override
+        public void doApply(final SudoRetrieveThings message) {
+            final DittoHeaders dittoHeaders = message.getDittoHeaders();
+            retrieveThingsOfShard(message.getThingIds(), dittoHeaders,
+                    id -> SudoRetrieveThing.of(id, message.getSelectedFields().orElse(null), dittoHeaders),
+                    thingsPlainJson -> SudoRetrieveThingsResponse.of(thingsPlainJson, dittoHeaders));
+        }
+
+    }
+
     /**
      * This strategy handles all other messages by forwarding all messages to the child if it is active or by replying
      * immediately with a {@link ThingUnavailableException} if the child has terminated (fail fast).
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.things.persistence.actors;
+
+import java.util.function.Function;
+
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThing;
+import org.eclipse.ditto.services.utils.persistence.mongo.warmup.EntityWarmUpActor;
+
+import com.typesafe.config.Config;
+
+import akka.actor.ActorRef;
+import akka.actor.Props;
+
+/**
+ * Creates an actor which recovers recently active things in the shard region before they are requested.
+ */
+public final class ThingsWarmUpActorCreator {
+
+    /**
+     * The name of the created Actor in the ActorSystem.
+     */
+    public static final String ACTOR_NAME = EntityWarmUpActor.ACTOR_NAME;
+
+    private ThingsWarmUpActorCreator() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Creates Akka configuration object Props for the warm-up actor of things.
+     *
+     * @param config the actor system configuration.
+     * @param warmUpConfig the configuration of the warm-up.
+     * @param shardRegion the shard region of things.
+     * @param shardIdOf computes the shard ID of a thing ID.
+     * @return the Akka configuration Props object.
+     */
+    public static Props props(final Config config, final Config warmUpConfig, final ActorRef shardRegion,
+            final Function<String, String> shardIdOf) {
+
+        return EntityWarmUpActor.props(config, warmUpConfig, "thing", ThingPersistenceActor.PERSISTENCE_ID_PREFIX,
+                shardRegion, shardIdOf, thingId -> SudoRetrieveThing.of(thingId, DittoHeaders.empty()));
+    }
+
+}
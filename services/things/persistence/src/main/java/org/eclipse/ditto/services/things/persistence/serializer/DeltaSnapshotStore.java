@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.things.persistence.serializer;
+
+import java.text.MessageFormat;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonObject;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ActorRef;
+import akka.pattern.PatternsCS;
+import akka.persistence.DeleteSnapshotFailure;
+import akka.persistence.DeleteSnapshotSuccess;
+import akka.persistence.DeleteSnapshotsFailure;
+import akka.persistence.DeleteSnapshotsSuccess;
+import akka.persistence.Persistence;
+import akka.persistence.SaveSnapshotFailure;
+import akka.persistence.SaveSnapshotSuccess;
+import akka.persistence.SelectedSnapshot;
+import akka.persistence.SnapshotMetadata;
+import akka.persistence.SnapshotProtocol;
+import akka.persistence.SnapshotSelectionCriteria;
+import akka.persistence.snapshot.japi.SnapshotStore;
+import akka.util.Timeout;
+import scala.compat.java8.FutureConverters;
+import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Snapshot store plugin which restores {@link DeltaSnapshots delta snapshots} by merging them with their base snapshot.
+ * Saving and deleting snapshots as well as loading full snapshots is delegated to the snapshot store plugin configured
+ * by {@code delegate}.
+ */
+public final class DeltaSnapshotStore extends SnapshotStore {
+
+    /**
+     * Config key of the ID of the snapshot store plugin which actually stores the snapshots.
+     */
+    static final String DELEGATE = "delegate";
+
+    /**
+     * Config key of how long to wait for the delegate snapshot store plugin.
+     */
+    static final String ASK_TIMEOUT = "ask-timeout";
+
+    private final ActorRef delegate;
+    private final Timeout askTimeout;
+
+    /**
+     * Constructs a new {@code DeltaSnapshotStore}. Called by Akka Persistence with the config of the plugin.
+     *
+     * @param config the config of the plugin.
+     */
+    public DeltaSnapshotStore(final Config config) {
+        delegate = Persistence.get(context().system()).snapshotStoreFor(config.getString(DELEGATE),
+                ConfigFactory.empty());
+        askTimeout = new Timeout(Duration.create(config.getDuration(ASK_TIMEOUT).toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public Future<Optional<SelectedSnapshot>> doLoadAsync(final String persistenceId,
+            final SnapshotSelectionCriteria criteria) {
+
+        final CompletionStage<Optional<SelectedSnapshot>> result = loadFromDelegate(persistenceId, criteria)
+                .thenCompose(selectedSnapshot -> {
+                    if (selectedSnapshot.isPresent()) {
+                        final OptionalLong baseSequenceNr =
+                                DeltaSnapshots.getBaseSequenceNr(selectedSnapshot.get().snapshot());
+                        if (baseSequenceNr.isPresent()) {
+                            return loadBaseAndMerge(persistenceId, selectedSnapshot.get(),
+                                    baseSequenceNr.getAsLong());
+                        }
+                    }
+                    return CompletableFuture.completedFuture(selectedSnapshot);
+                });
+        return FutureConverters.toScala(result);
+    }
+
+    private CompletionStage<Optional<SelectedSnapshot>> loadBaseAndMerge(final String persistenceId,
+            final SelectedSnapshot deltaSnapshot, final long baseSequenceNr) {
+
+        final SnapshotSelectionCriteria baseCriteria =
+                SnapshotSelectionCriteria.create(baseSequenceNr, Long.MAX_VALUE, baseSequenceNr, 0L);
+        return loadFromDelegate(persistenceId, baseCriteria).thenApply(baseSnapshot -> {
+            final JsonObject baseJson = baseSnapshot.flatMap(base -> DeltaSnapshots.toJson(base.snapshot()))
+                    .orElseThrow(() -> new CompletionException(new IllegalStateException(MessageFormat.format(
+                            "Base snapshot <{0}> of delta snapshot <{1}> does not exist!", baseSequenceNr,
+                            deltaSnapshot.metadata()))));
+            final JsonObject deltaJson = DeltaSnapshots.toJson(deltaSnapshot.snapshot())
+                    .orElseThrow(() -> new CompletionException(new IllegalStateException(MessageFormat.format(
+                            "Delta snapshot <{0}> is no BSON document!", deltaSnapshot.metadata()))));
+            final Object mergedSnapshot = DeltaSnapshots.toSnapshot(DeltaSnapshots.merge(baseJson, deltaJson));
+            return Optional.of(SelectedSnapshot.create(deltaSnapshot.metadata(), mergedSnapshot));
+        });
+    }
+
+    private CompletionStage<Optional<SelectedSnapshot>> loadFromDelegate(final String persistenceId,
+            final SnapshotSelectionCriteria criteria) {
+
+        final SnapshotProtocol.LoadSnapshot loadSnapshot =
+                new SnapshotProtocol.LoadSnapshot(persistenceId, criteria, criteria.maxSequenceNr());
+        return askDelegate(loadSnapshot).thenApply(response -> {
+            if (response instanceof SnapshotProtocol.LoadSnapshotResult) {
+                final SnapshotProtocol.LoadSnapshotResult result = (SnapshotProtocol.LoadSnapshotResult) response;
+                return result.snapshot().isDefined() ? Optional.of(result.snapshot().get())
+                        : Optional.<SelectedSnapshot>empty();
+            } else if (response instanceof SnapshotProtocol.LoadSnapshotFailed) {
+                throw new CompletionException(((SnapshotProtocol.LoadSnapshotFailed) response).cause());
+            }
+            throw unexpectedResponse(response);
+        });
+    }
+
+    @Override
+    public Future<Void> doSaveAsync(final SnapshotMetadata metadata, final Object snapshot) {
+        final CompletionStage<Void> result = askDelegate(new SnapshotProtocol.SaveSnapshot(metadata, snapshot))
+                .thenApply(response -> {
+                    if (response instanceof SaveSnapshotSuccess) {
+                        return null;
+                    } else if (response instanceof SaveSnapshotFailure) {
+                        throw new CompletionException(((SaveSnapshotFailure) response).cause());
+                    }
+                    throw unexpectedResponse(response);
+                });
+        return FutureConverters.toScala(result);
+    }
+
+    @Override
+    public Future<Void> doDeleteAsync(final SnapshotMetadata metadata) {
+        final CompletionStage<Void> result = askDelegate(new SnapshotProtocol.DeleteSnapshot(metadata))
+                .thenApply(response -> {
+                    if (response instanceof DeleteSnapshotSuccess) {
+                        return null;
+                    } else if (response instanceof DeleteSnapshotFailure) {
+                        throw new CompletionException(((DeleteSnapshotFailure) response).cause());
+                    }
+                    throw unexpectedResponse(response);
+                });
+        return FutureConverters.toScala(result);
+    }
+
+    @Override
+    public Future<Void> doDeleteAsync(final String persistenceId, final SnapshotSelectionCriteria criteria) {
+        final CompletionStage<Void> result =
+                askDelegate(new SnapshotProtocol.DeleteSnapshots(persistenceId, criteria))
+                        .thenApply(response -> {
+                            if (response instanceof DeleteSnapshotsSuccess) {
+                                return null;
+                            } else if (response instanceof DeleteSnapshotsFailure) {
+                                throw new CompletionException(
+                                        ((DeleteSnapshotsFailure) response).cause());
+                            }
+                            throw unexpectedResponse(response);
+                        });
+        return FutureConverters.toScala(result);
+    }
+
+    private CompletionStage<Object> askDelegate(final Object message) {
+        return PatternsCS.ask(delegate, message, askTimeout);
+    }
+
+    private static CompletionException unexpectedResponse(final Object response) {
+        return new CompletionException(new IllegalStateException(
+                MessageFormat.format("Unexpected response from snapshot store: <{0}>", response)));
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.things.persistence.serializer;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonArrayBuilder;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.services.utils.persistence.mongo.DittoBsonJson;
+
+import com.mongodb.DBObject;
+
+/**
+ * Computes and applies delta snapshots. A delta snapshot only contains the fields of a snapshot which differ from an
+ * earlier full snapshot, the base, together with the sequence number of the base:
+ * <pre>
+ * {
+ *   "__deltaBase": 42,
+ *   "__set": [{"p": ["attributes", "temperature"], "v": 23.5}],
+ *   "__remove": [["features", "lamp"]]
+ * }
+ * </pre>
+ * Paths are arrays of keys rather than JSON pointers because keys of attributes may contain slashes. Arrays are
+ * replaced as a whole.
+ */
+@Immutable
+public final class DeltaSnapshots {
+
+    /**
+     * JSON key for the sequence number of the base snapshot of a delta snapshot.
+     */
+    public static final String BASE_JSON_KEY = "__deltaBase";
+
+    static final String SET_JSON_KEY = "__set";
+    static final String REMOVE_JSON_KEY = "__remove";
+    static final String PATH_JSON_KEY = "p";
+    static final String VALUE_JSON_KEY = "v";
+
+    private static final JsonKey BASE_KEY = JsonFactory.newKey(BASE_JSON_KEY);
+    private static final JsonKey SET_KEY = JsonFactory.newKey(SET_JSON_KEY);
+    private static final JsonKey REMOVE_KEY = JsonFactory.newKey(REMOVE_JSON_KEY);
+    private static final JsonKey PATH_KEY = JsonFactory.newKey(PATH_JSON_KEY);
+    private static final JsonKey VALUE_KEY = JsonFactory.newKey(VALUE_JSON_KEY);
+
+    private DeltaSnapshots() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Computes the delta which turns {@code base} into {@code target}.
+     *
+     * @param base the JSON of the base snapshot.
+     * @param target the JSON of the snapshot to be expressed as delta.
+     * @param baseSequenceNr the sequence number of the base snapshot.
+     * @return the delta snapshot.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static JsonObject diff(final JsonObject base, final JsonObject target, final long baseSequenceNr) {
+        checkNotNull(base, "base");
+        checkNotNull(target, "target");
+
+        final JsonArrayBuilder setOperations = JsonFactory.newArrayBuilder();
+        final JsonArrayBuilder removeOperations = JsonFactory.newArrayBuilder();
+        diff(base, target, JsonFactory.newArrayBuilder().build(), setOperations, removeOperations);
+
+        return JsonFactory.newObjectBuilder()
+                .set(JsonFactory.newField(BASE_KEY, JsonValue.of(baseSequenceNr)))
+                .set(JsonFactory.newField(SET_KEY, setOperations.build()))
+                .set(JsonFactory.newField(REMOVE_KEY, removeOperations.build()))
+                .build();
+    }
+
+    private static void diff(final JsonObject base, final JsonObject target, final JsonArray path,
+            final JsonArrayBuilder setOperations, final JsonArrayBuilder removeOperations) {
+
+        for (final JsonField targetField : target) {
+            final JsonKey key = targetField.getKey();
+            final JsonValue targetValue = targetField.getValue();
+            final JsonArray fieldPath = path.add(key.toString());
+            final Optional<JsonField> baseField = base.getField(key);
+            if (!baseField.isPresent()) {
+                setOperations.add(setOperation(fieldPath, targetValue));
+            } else {
+                final JsonValue baseValue = baseField.get().getValue();
+                if (baseValue.isObject() && targetValue.isObject()) {
+                    diff(baseValue.asObject(), targetValue.asObject(), fieldPath, setOperations, removeOperations);
+                } else if (!baseValue.equals(targetValue)) {
+                    setOperations.add(setOperation(fieldPath, targetValue));
+                }
+            }
+        }
+        for (final JsonField baseField : base) {
+            final JsonKey key = baseField.getKey();
+            if (!target.getField(key).isPresent()) {
+                removeOperations.add(path.add(key.toString()));
+            }
+        }
+    }
+
+    private static JsonObject setOperation(final JsonArray path, final JsonValue value) {
+        return JsonFactory.newObjectBuilder()
+                .set(JsonFactory.newField(PATH_KEY, path))
+                .set(JsonFactory.newField(VALUE_KEY, value))
+                .build();
+    }
+
+    /**
+     * Applies a delta snapshot to the JSON of its base snapshot. The sequence number of the base is kept in the
+     * result in order to tell that the snapshot was restored from a delta.
+     *
+     * @param base the JSON of the base snapshot.
+     * @param delta the delta snapshot.
+     * @return the JSON of the full snapshot.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws JsonParseException if {@code delta} is no valid delta snapshot.
+     */
+    public static JsonObject merge(final JsonObject base, final JsonObject delta) {
+        checkNotNull(base, "base");
+        checkNotNull(delta, "delta");
+
+        JsonObject result = base;
+        for (final JsonValue removeOperation : getArray(delta, REMOVE_KEY)) {
+            result = result.remove(toPointer(removeOperation));
+        }
+        for (final JsonValue setOperation : getArray(delta, SET_KEY)) {
+            if (!setOperation.isObject()) {
+                throw new JsonParseException("Invalid set operation of delta snapshot: " + setOperation);
+            }
+            final JsonObject operation = setOperation.asObject();
+            final JsonValue path = operation.getValue(PATH_KEY).orElseGet(JsonFactory::nullLiteral);
+            final JsonValue value = operation.getValue(VALUE_KEY).orElseGet(JsonFactory::nullLiteral);
+            result = result.setValue(toPointer(path), value);
+        }
+        return result.set(JsonFactory.newField(BASE_KEY, delta.getValue(BASE_KEY).orElseGet(JsonFactory::nullLiteral)));
+    }
+
+    private static JsonArray getArray(final JsonObject delta, final JsonKey key) {
+        return delta.getValue(key)
+                .filter(JsonValue::isArray)
+                .map(JsonValue::asArray)
+                .orElseGet(() -> JsonFactory.newArrayBuilder().build());
+    }
+
+    private static JsonPointer toPointer(final JsonValue path) {
+        if (!path.isArray() || path.asArray().isEmpty()) {
+            throw new JsonParseException("Invalid path of delta snapshot: " + path);
+        }
+        JsonPointer result = JsonFactory.emptyPointer();
+        for (final JsonValue key : path.asArray()) {
+            if (!key.isString()) {
+                throw new JsonParseException("Invalid path of delta snapshot: " + path);
+            }
+            result = result.addLeaf(JsonFactory.newKey(key.asString()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sequence number of the base snapshot if the specified JSON is a delta snapshot or was restored from
+     * one.
+     *
+     * @param snapshotJson the JSON of a snapshot.
+     * @return the sequence number of the base snapshot or an empty optional.
+     */
+    public static OptionalLong getBaseSequenceNr(final JsonObject snapshotJson) {
+        return snapshotJson.getValue(BASE_KEY)
+                .filter(JsonValue::isNumber)
+                .map(value -> OptionalLong.of(value.asLong()))
+                .orElseGet(OptionalLong::empty);
+    }
+
+    /**
+     * Returns the sequence number of the base snapshot if the specified raw snapshot of the snapshot store is a delta
+     * snapshot or was restored from one.
+     *
+     * @param snapshot the raw snapshot.
+     * @return the sequence number of the base snapshot or an empty optional.
+     */
+    public static OptionalLong getBaseSequenceNr(@Nullable final Object snapshot) {
+        if (snapshot instanceof DBObject) {
+            final Object baseSequenceNr = ((DBObject) snapshot).get(BASE_JSON_KEY);
+            if (baseSequenceNr instanceof Number) {
+                return OptionalLong.of(((Number) baseSequenceNr).longValue());
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Converts a raw snapshot of the snapshot store to JSON.
+     *
+     * @param snapshot the raw snapshot.
+     * @return the JSON of the snapshot or an empty optional if the snapshot is no BSON document.
+     */
+    public static Optional<JsonObject> toJson(@Nullable final Object snapshot) {
+        if (snapshot instanceof DBObject) {
+            final JsonValue json = DittoBsonJson.getInstance().serialize((DBObject) snapshot);
+            if (json.isObject()) {
+                return Optional.of(json.asObject());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Converts the JSON of a snapshot to the raw snapshot of the snapshot store.
+     *
+     * @param snapshotJson the JSON of the snapshot.
+     * @return the raw snapshot.
+     */
+    public static Object toSnapshot(final JsonObject snapshotJson) {
+        return DittoBsonJson.getInstance().parse(snapshotJson);
+    }
+
+}
@@ -12,7 +12,9 @@ package org.eclipse.ditto.services.things.persistence.serializer;
 
 import java.beans.Introspector;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -34,23 +36,42 @@ import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.model.base.json.FieldType;
 import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
 import org.eclipse.ditto.model.policies.Policy;
+import org.eclipse.ditto.services.utils.persistence.mongo.CompactEventJournalFormat;
 import org.eclipse.ditto.services.utils.persistence.mongo.DittoBsonJson;
 import org.eclipse.ditto.signals.events.base.Event;
 import org.eclipse.ditto.signals.events.base.EventRegistry;
 import org.eclipse.ditto.signals.events.things.AclEntryCreated;
+import org.eclipse.ditto.signals.events.things.AclEntryDeleted;
+import org.eclipse.ditto.signals.events.things.AclEntryModified;
+import org.eclipse.ditto.signals.events.things.AclModified;
 import org.eclipse.ditto.signals.events.things.AttributeCreated;
+import org.eclipse.ditto.signals.events.things.AttributeDeleted;
+import org.eclipse.ditto.signals.events.things.AttributeModified;
 import org.eclipse.ditto.signals.events.things.AttributesCreated;
+import org.eclipse.ditto.signals.events.things.AttributesDeleted;
+import org.eclipse.ditto.signals.events.things.AttributesModified;
 import org.eclipse.ditto.signals.events.things.FeatureCreated;
+import org.eclipse.ditto.signals.events.things.FeatureDefinitionCreated;
+import org.eclipse.ditto.signals.events.things.FeatureDefinitionDeleted;
+import org.eclipse.ditto.signals.events.things.FeatureDefinitionModified;
+import org.eclipse.ditto.signals.events.things.FeatureDeleted;
 import org.eclipse.ditto.signals.events.things.FeatureModified;
 import org.eclipse.ditto.signals.events.things.FeaturePropertiesCreated;
+import org.eclipse.ditto.signals.events.things.FeaturePropertiesDeleted;
 import org.eclipse.ditto.signals.events.things.FeaturePropertiesModified;
 import org.eclipse.ditto.signals.events.things.FeaturePropertyCreated;
 import org.eclipse.ditto.signals.events.things.FeaturePropertyDeleted;
 import org.eclipse.ditto.signals.events.things.FeaturePropertyModified;
 import org.eclipse.ditto.signals.events.things.FeaturesCreated;
+import org.eclipse.ditto.signals.events.things.FeaturesDeleted;
 import org.eclipse.ditto.signals.events.things.FeaturesModified;
+import org.eclipse.ditto.signals.events.things.PolicyIdCreated;
+import org.eclipse.ditto.signals.events.things.PolicyIdModified;
+import org.eclipse.ditto.signals.events.things.ThingCreated;
+import org.eclipse.ditto.signals.events.things.ThingDeleted;
 import org.eclipse.ditto.signals.events.things.ThingEvent;
 import org.eclipse.ditto.signals.events.things.ThingEventRegistry;
+import org.eclipse.ditto.signals.events.things.ThingModified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,13 +112,73 @@ public final class ThingMongoEventAdapter implements EventAdapter {
             JsonFactory.newJsonObjectFieldDefinition("payload", FieldType.REGULAR, JsonSchemaVersion.V_1,
                     JsonSchemaVersion.V_2);
 
+    /*
+     * Dictionaries of the compact journal format. Their indices are persisted, thus new entries must only be appended.
+     */
+    private static final List<String> EVENT_TYPES = Arrays.asList(
+            ThingCreated.TYPE,
+            ThingModified.TYPE,
+            ThingDeleted.TYPE,
+            AclModified.TYPE,
+            AclEntryCreated.TYPE,
+            AclEntryModified.TYPE,
+            AclEntryDeleted.TYPE,
+            PolicyIdCreated.TYPE,
+            PolicyIdModified.TYPE,
+            AttributesCreated.TYPE,
+            AttributesModified.TYPE,
+            AttributesDeleted.TYPE,
+            AttributeCreated.TYPE,
+            AttributeModified.TYPE,
+            AttributeDeleted.TYPE,
+            FeaturesCreated.TYPE,
+            FeaturesModified.TYPE,
+            FeaturesDeleted.TYPE,
+            FeatureCreated.TYPE,
+            FeatureModified.TYPE,
+            FeatureDeleted.TYPE,
+            FeatureDefinitionCreated.TYPE,
+            FeatureDefinitionModified.TYPE,
+            FeatureDefinitionDeleted.TYPE,
+            FeaturePropertiesCreated.TYPE,
+            FeaturePropertiesModified.TYPE,
+            FeaturePropertiesDeleted.TYPE,
+            FeaturePropertyCreated.TYPE,
+            FeaturePropertyModified.TYPE,
+            FeaturePropertyDeleted.TYPE);
+
+    private static final List<String> FIELD_NAMES = Arrays.asList(
+            "_timestamp",
+            "thingId",
+            "thing",
+            "policyId",
+            "acl",
+            "aclEntry",
+            "authorizationSubject",
+            "attributes",
+            "attribute",
+            "features",
+            "feature",
+            "featureId",
+            "definition",
+            "properties",
+            "property",
+            "value",
+            "__lifecycle",
+            "_revision",
+            "_modified",
+            "_namespace");
+
     private final Map<String, Function<JsonObject, JsonObject>> migrationMappings;
     private final ExtendedActorSystem system;
     private final EventRegistry<ThingEvent> eventRegistry;
+    private final CompactEventJournalFormat compactFormat;
 
     public ThingMongoEventAdapter(@Nullable final ExtendedActorSystem system) {
         this.system = system;
         eventRegistry = ThingEventRegistry.newInstance();
+        compactFormat = CompactEventJournalFormat.fromConfig(null != system ? system.settings().config() : null,
+                EVENT_TYPES, FIELD_NAMES);
 
         migrationMappings = new HashMap<>();
         migrationMappings.put(FeatureModified.NAME,
@@ -131,7 +212,7 @@ public final class ThingMongoEventAdapter implements EventAdapter {
     @Override
     public String manifest(final Object event) {
         if (event instanceof Event) {
-            return ((Event) event).getType();
+            return compactFormat.manifest(((Event) event).getType());
         } else {
             throw new IllegalArgumentException(
                     "Unable to create manifest for a non-'Event' object! Was: " + event.getClass());
@@ -147,8 +228,9 @@ public final class ThingMongoEventAdapter implements EventAdapter {
                     theEvent.toJson(schemaVersion, IS_REVISION.negate().and(FieldType.regularOrSpecial())) //
                             // remove the policy entries from thing event payload
                             .remove(POLICY_IN_THING_EVENT_PAYLOAD);
-            final DittoBsonJson dittoBsonJson = DittoBsonJson.getInstance();
-            final Object bson = dittoBsonJson.parse(jsonObject);
+            final Object bson = compactFormat.isEnabled()
+                    ? compactFormat.toJournal(jsonObject)
+                    : DittoBsonJson.getInstance().parse(jsonObject);
             final Set<String> readSubjects = calculateReadSubjects(theEvent);
             return new Tagged(bson, readSubjects);
         } else {
@@ -166,8 +248,7 @@ public final class ThingMongoEventAdapter implements EventAdapter {
     public EventSeq fromJournal(final Object event, final String manifest) {
         if (event instanceof DBObject) {
             final DBObject dbObject = (DBObject) event;
-            final DittoBsonJson dittoBsonJson = DittoBsonJson.getInstance();
-            return EventSeq.single(tryToCreateEventFrom(dittoBsonJson.serialize(dbObject)));
+            return EventSeq.single(tryToCreateEventFrom(dbObject));
         } else {
             throw new IllegalArgumentException(
                     "Unable to fromJournal a non-'DBObject' object! Was: " + event.getClass());
@@ -175,11 +256,14 @@ public final class ThingMongoEventAdapter implements EventAdapter {
     }
 
     @Nullable
-    private Event tryToCreateEventFrom(final JsonValue json) {
+    private Event tryToCreateEventFrom(final DBObject dbObject) {
         try {
+            final JsonValue json = CompactEventJournalFormat.isCompact(dbObject)
+                    ? compactFormat.fromJournal(dbObject)
+                    : DittoBsonJson.getInstance().serialize(dbObject);
             return createEventFrom(json);
         } catch (final JsonParseException | DittoRuntimeException e) {
-            final String message = MessageFormat.format("Could not deserialize ThingEvent JSON: ''{0}''", json);
+            final String message = MessageFormat.format("Could not deserialize ThingEvent: ''{0}''", dbObject);
             if (system != null) {
                 system.log().error(e, message);
             } else {
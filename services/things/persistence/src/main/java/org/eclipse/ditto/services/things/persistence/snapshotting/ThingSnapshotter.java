@@ -15,6 +15,7 @@ import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
@@ -24,21 +25,25 @@ import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
 import org.eclipse.ditto.model.things.Thing;
 import org.eclipse.ditto.services.things.persistence.actors.ThingPersistenceActor;
 import org.eclipse.ditto.services.things.persistence.actors.ThingPersistenceActorInterface;
+import org.eclipse.ditto.services.things.persistence.serializer.DeltaSnapshots;
 import org.eclipse.ditto.services.things.persistence.serializer.SnapshotTag;
 import org.eclipse.ditto.services.things.persistence.serializer.ThingWithSnapshotTag;
 import org.eclipse.ditto.services.things.persistence.strategies.AbstractReceiveStrategy;
 import org.eclipse.ditto.services.things.persistence.strategies.ReceiveStrategy;
+import org.eclipse.ditto.services.things.starter.util.ConfigKeys;
 import org.eclipse.ditto.services.utils.persistence.SnapshotAdapter;
 import org.eclipse.ditto.signals.commands.base.Command;
 import org.eclipse.ditto.signals.commands.base.CommandResponse;
 import org.eclipse.ditto.signals.commands.things.exceptions.ThingUnavailableException;
 
 import com.mongodb.annotations.NotThreadSafe;
+import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
 import akka.actor.ActorRef;
@@ -67,6 +72,11 @@ import scala.concurrent.duration.FiniteDuration;
  * <li>Deletes redundant snapshots and events.</li>
  * <li>Handles responses from the snapshot store and the event journal.</li>
  * </ol>
+ * <p>
+ * If delta snapshots are enabled, unprotected snapshots are saved as {@link DeltaSnapshots delta} to the last full
+ * unprotected snapshot, the base, as long as the delta is small compared to the base. Once too many deltas were saved
+ * for one base, the next snapshot is a full snapshot again and becomes the new base.
+ * </p>
  */
 public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandResponse<?>> {
 
@@ -92,12 +102,25 @@ public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandRe
     @Nullable private final FiniteDuration saveSnapshotTimeout;
     @Nullable private final FiniteDuration loadSnapshotTimeout;
     @Nullable private final ActorRef snapshotPlugin;
+    private final int deltaMaxCount;
+    private final double deltaMaxSizeRatio;
 
     private SnapshotterState snapshotterState;
     private SnapshotterState lastSaneSnapshotterState;
     private boolean shouldTakeMaintenanceSnapshot;
     @Nullable private Cancellable scheduledMaintenanceSnapshot;
     @Nullable private Cancellable scheduledSnapshotTimeout;
+    private long eventSizeSinceLatestSnapshot;
+
+    // bookkeeping of delta snapshots: the base is the last full snapshot; its JSON is only known if the base was
+    // saved or recovered by this snapshotter.
+    private long deltaBaseSequenceNr;
+    @Nullable private JsonObject deltaBaseJson;
+    private long deltaBaseSize;
+    private long latestDeltaSequenceNr;
+    private int deltaCount;
+    private boolean pendingDelta;
+    @Nullable private JsonObject pendingBaseJson;
 
     /**
      * Internal constructor.
@@ -122,6 +145,38 @@ public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandRe
             @Nullable final FiniteDuration loadSnapshotTimeout,
             @Nullable final ActorRef snapshotPlugin) {
 
+        this(persistenceActor, snapshotAdapter, snapshotDeleteOld, eventsDeleteOld, log, snapshotInterval,
+                saveSnapshotTimeout, loadSnapshotTimeout, snapshotPlugin, 0, 0.0);
+    }
+
+    /**
+     * Internal constructor.
+     *
+     * @param persistenceActor The persistence actor to whom this snapshotter belongs. Must not be null.
+     * @param snapshotAdapter Serializer and deserializer of snapshots. Must not be null.
+     * @param snapshotDeleteOld Whether old and unprotected snapshots should be deleted.
+     * @param eventsDeleteOld Whether events before a successfully saved snapshot should be deleted.
+     * @param log The logger. If null, nothing is logged.
+     * @param snapshotInterval How long to wait between scheduled maintenance snapshots.
+     * @param saveSnapshotTimeout How long to wait for the snapshot store before giving up.
+     * @param loadSnapshotTimeout How long to wait for {@code snapshotPlugin} before giving up.
+     * @param snapshotPlugin The actor from whom old snapshots can be retrieved. If null, no snapshot is retrieved.
+     * @param deltaMaxCount How many delta snapshots may be saved for one full snapshot. If 0, no delta snapshots are
+     * saved.
+     * @param deltaMaxSizeRatio The maximal size of a delta snapshot relative to the size of its full snapshot.
+     */
+    protected ThingSnapshotter(final ThingPersistenceActorInterface persistenceActor,
+            final SnapshotAdapter<ThingWithSnapshotTag> snapshotAdapter,
+            final boolean snapshotDeleteOld,
+            final boolean eventsDeleteOld,
+            @Nullable final DiagnosticLoggingAdapter log,
+            @Nullable final FiniteDuration snapshotInterval,
+            @Nullable final FiniteDuration saveSnapshotTimeout,
+            @Nullable final FiniteDuration loadSnapshotTimeout,
+            @Nullable final ActorRef snapshotPlugin,
+            final int deltaMaxCount,
+            final double deltaMaxSizeRatio) {
+
         this.saveSnapshotTimeout = saveSnapshotTimeout;
         this.loadSnapshotTimeout = loadSnapshotTimeout;
 
@@ -136,10 +191,14 @@ public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandRe
 
         this.snapshotAdapter = snapshotAdapter;
         this.snapshotPlugin = snapshotPlugin;
+        this.deltaMaxCount = deltaMaxCount;
+        this.deltaMaxSizeRatio = deltaMaxSizeRatio;
 
         scheduledMaintenanceSnapshot = null;
         scheduledSnapshotTimeout = null;
         shouldTakeMaintenanceSnapshot = false;
+        eventSizeSinceLatestSnapshot = 0L;
+        resetDeltaBase(0L, null);
     }
 
     /**
@@ -172,7 +231,17 @@ public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandRe
                 Duration.create(3000, TimeUnit.MILLISECONDS),
 
                 Persistence.get(persistenceActor.getContext().system())
-                        .snapshotStoreFor(persistenceActor.snapshotPluginId(), ConfigFactory.empty()));
+                        .snapshotStoreFor(persistenceActor.snapshotPluginId(), ConfigFactory.empty()),
+
+                getDeltaMaxCount(persistenceActor.getContext().system().settings().config()),
+                persistenceActor.getContext().system().settings().config()
+                        .getDouble(ConfigKeys.Thing.SNAPSHOT_DELTA_MAX_SIZE_RATIO));
+    }
+
+    private static int getDeltaMaxCount(final Config config) {
+        return config.getBoolean(ConfigKeys.Thing.SNAPSHOT_DELTA_ENABLED)
+                ? config.getInt(ConfigKeys.Thing.SNAPSHOT_DELTA_MAX_COUNT)
+                : 0;
     }
 
     /**
@@ -259,6 +328,22 @@ public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandRe
         return snapshotterState.getSequenceNr();
     }
 
+    /**
+     * Records the size of an event persisted since the latest snapshot.
+     *
+     * @param eventSize The size of the event.
+     */
+    public void addEventSize(final long eventSize) {
+        eventSizeSinceLatestSnapshot += eventSize;
+    }
+
+    /**
+     * @return The summed up size of the events persisted since the latest ongoing snapshot or the last saved snapshot.
+     */
+    public long getEventSizeSinceLatestSnapshot() {
+        return eventSizeSinceLatestSnapshot;
+    }
+
     /**
      * @return True if the last snapshot is up to date and no snapshotting is ongoing, false otherwise.
      */
@@ -322,9 +407,32 @@ public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandRe
                 .map(ThingWithSnapshotTag::getSnapshotTag)
                 .orElse(SnapshotTag.UNPROTECTED);
         snapshotterState = new SnapshotterState(false, metadata.sequenceNr(), snapshotTag, null, null);
+        if (0 < deltaMaxCount) {
+            recoverDeltaBase(snapshotOffer.snapshot(), metadata.sequenceNr(), snapshotTag);
+        }
         return result;
     }
 
+    // A recovered full snapshot becomes the base of the next delta snapshots. A snapshot restored from a delta is
+    // not the base itself, thus the next snapshot is a full one which replaces the base and the delta.
+    private void recoverDeltaBase(final Object snapshot, final long sequenceNr, final SnapshotTag snapshotTag) {
+        final OptionalLong baseSequenceNr = DeltaSnapshots.getBaseSequenceNr(snapshot);
+        if (baseSequenceNr.isPresent()) {
+            resetDeltaBase(baseSequenceNr.getAsLong(), null);
+            latestDeltaSequenceNr = sequenceNr;
+        } else if (SnapshotTag.UNPROTECTED == snapshotTag) {
+            resetDeltaBase(sequenceNr, DeltaSnapshots.toJson(snapshot).orElse(null));
+        }
+    }
+
+    private void resetDeltaBase(final long baseSequenceNr, @Nullable final JsonObject baseJson) {
+        deltaBaseSequenceNr = baseSequenceNr;
+        deltaBaseJson = baseJson;
+        deltaBaseSize = null != baseJson ? baseJson.toString().length() : 0L;
+        latestDeltaSequenceNr = 0L;
+        deltaCount = 0;
+    }
+
     /**
      * Strategies related to snapshotting. A {@link ThingPersistenceActor} activates snapshotting functions by
      * including these strategies in its receive function.
@@ -389,11 +497,43 @@ public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandRe
 
         final ThingWithSnapshotTag thingWithSnapshotTag = ThingWithSnapshotTag.newInstance(thing, snapshotTag);
         final Object snapshotSubject = snapshotAdapter.toSnapshotStore(thingWithSnapshotTag);
-        persistenceActor.saveSnapshot(snapshotSubject);
+        persistenceActor.saveSnapshot(toDeltaIfSmaller(snapshotSubject, snapshotTag));
+        eventSizeSinceLatestSnapshot = 0L;
 
         saveSnapshotStarted(snapshotSequenceNr, snapshotTag, sender, dittoHeaders);
     }
 
+    /**
+     * Converts a full snapshot to a delta snapshot if delta snapshots are enabled, the base of the delta is known and
+     * the delta is small enough. Remembers whether a delta or a new base is saved.
+     *
+     * @param snapshot The full snapshot.
+     * @param snapshotTag Whether the snapshot is protected.
+     * @return The snapshot to be saved.
+     */
+    private Object toDeltaIfSmaller(final Object snapshot, final SnapshotTag snapshotTag) {
+        pendingDelta = false;
+        pendingBaseJson = null;
+        if (0 >= deltaMaxCount || SnapshotTag.UNPROTECTED != snapshotTag) {
+            return snapshot;
+        }
+        final Optional<JsonObject> snapshotJson = DeltaSnapshots.toJson(snapshot);
+        if (!snapshotJson.isPresent()) {
+            return snapshot;
+        }
+        if (null != deltaBaseJson && deltaCount < deltaMaxCount) {
+            final JsonObject delta = DeltaSnapshots.diff(deltaBaseJson, snapshotJson.get(), deltaBaseSequenceNr);
+            if (delta.toString().length() <= deltaBaseSize * deltaMaxSizeRatio) {
+                doLog(logger -> logger.debug("Saving delta snapshot to base <{}> for Thing <{}>.",
+                        deltaBaseSequenceNr, persistenceActor.getThingId()));
+                pendingDelta = true;
+                return DeltaSnapshots.toSnapshot(delta);
+            }
+        }
+        pendingBaseJson = snapshotJson.get();
+        return snapshot;
+    }
+
     /**
      * Decides whether an incoming response from the snapshot store arrived out of order.
      *
@@ -570,7 +710,17 @@ public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandRe
                     sender.tell(response, persistenceActor.self());
                 }
 
-                deleteOldSnapshot(lastSaneSnapshotterState.getSequenceNr(), lastSaneSnapshotterState.getSnapshotTag());
+                if (pendingDelta) {
+                    // the base is still needed; only the previous delta is replaced.
+                    deleteOldSnapshot(latestDeltaSequenceNr, SnapshotTag.UNPROTECTED);
+                    latestDeltaSequenceNr = newSnapshotSequenceNr;
+                    deltaCount++;
+                } else {
+                    final long lastSaneSequenceNr = lastSaneSnapshotterState.getSequenceNr();
+                    deleteOldSnapshot(lastSaneSequenceNr, lastSaneSnapshotterState.getSnapshotTag());
+                    deleteReplacedDeltaSnapshots(lastSaneSequenceNr, newSnapshotSequenceNr);
+                    resetDeltaBase(null != pendingBaseJson ? newSnapshotSequenceNr : 0L, pendingBaseJson);
+                }
                 deleteEventsOlderThan(newSnapshotSequenceNr);
 
                 // will update lastSaneSnapshotterState. Must be called once all access to lastSaneSnapshotterState
@@ -588,6 +738,15 @@ public abstract class ThingSnapshotter<T extends Command<?>, R extends CommandRe
             }
         }
 
+        // a full snapshot replaces the base and the latest delta snapshot.
+        private void deleteReplacedDeltaSnapshots(final long lastSaneSequenceNr, final long newSnapshotSequenceNr) {
+            for (final long sequenceNr : new long[]{deltaBaseSequenceNr, latestDeltaSequenceNr}) {
+                if (sequenceNr != lastSaneSequenceNr && sequenceNr != newSnapshotSequenceNr) {
+                    deleteOldSnapshot(sequenceNr, SnapshotTag.UNPROTECTED);
+                }
+            }
+        }
+
         private void deleteEventsOlderThan(final long newSnapshotSequenceNumber) {
             if (eventsDeleteOld && newSnapshotSequenceNumber > 1) {
                 /* don't delete the newest event (although not required for restoring thing due to the existing
@@ -180,8 +180,10 @@ public abstract class PersistenceActorTestBase {
         final Duration minBackOff = Duration.ofSeconds(7);
         final Duration maxBackOff = Duration.ofSeconds(60);
         final double randomFactor = 0.2;
+        final Duration retrieveThingTimeout = Duration.ofSeconds(20);
 
         final Props props = ThingSupervisorActor.props(pubSubMediator, minBackOff, maxBackOff, randomFactor,
+                retrieveThingTimeout,
                 this::getPropsOfThingPersistenceActor);
 
         return actorSystem.actorOf(props, thingId);
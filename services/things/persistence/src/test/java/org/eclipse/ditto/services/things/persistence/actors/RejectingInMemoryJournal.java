@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.things.persistence.actors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import akka.dispatch.Futures;
+import akka.persistence.AtomicWrite;
+import akka.persistence.PersistentRepr;
+import akka.persistence.journal.Tagged;
+import akka.persistence.journal.japi.AsyncWriteJournal;
+import scala.collection.JavaConverters;
+import scala.concurrent.Future;
+
+/**
+ * In-memory journal which rejects all writes containing the value {@value #REJECTED_VALUE}, as a journal would reject
+ * too large documents.
+ */
+public final class RejectingInMemoryJournal extends AsyncWriteJournal {
+
+    /**
+     * Writes containing this value are rejected.
+     */
+    static final String REJECTED_VALUE = "rejected-by-the-journal";
+
+    private static final Map<String, List<PersistentRepr>> JOURNAL = new ConcurrentHashMap<>();
+
+    @Override
+    public Future<Iterable<Optional<Exception>>> doAsyncWriteMessages(final Iterable<AtomicWrite> messages) {
+        final List<Optional<Exception>> results = new ArrayList<>();
+        for (final AtomicWrite write : messages) {
+            final List<PersistentRepr> payload = JavaConverters.seqAsJavaListConverter(write.payload()).asJava();
+            if (payload.stream().anyMatch(repr -> String.valueOf(repr.payload()).contains(REJECTED_VALUE))) {
+                results.add(Optional.of(new IllegalArgumentException("Rejected write of " + write.persistenceId())));
+            } else {
+                payload.forEach(repr -> getEvents(write.persistenceId()).add(untagged(repr)));
+                results.add(Optional.empty());
+            }
+        }
+        return Futures.successful(results);
+    }
+
+    @Override
+    public Future<Void> doAsyncDeleteMessagesTo(final String persistenceId, final long toSequenceNr) {
+        getEvents(persistenceId).removeIf(repr -> repr.sequenceNr() <= toSequenceNr);
+        return Futures.successful(null);
+    }
+
+    @Override
+    public Future<Void> doAsyncReplayMessages(final String persistenceId, final long fromSequenceNr,
+            final long toSequenceNr, final long max, final Consumer<PersistentRepr> replayCallback) {
+
+        getEvents(persistenceId).stream()
+                .filter(repr -> repr.sequenceNr() >= fromSequenceNr && repr.sequenceNr() <= toSequenceNr)
+                .limit(max)
+                .forEach(replayCallback);
+        return Futures.successful(null);
+    }
+
+    @Override
+    public Future<Long> doAsyncReadHighestSequenceNr(final String persistenceId, final long fromSequenceNr) {
+        return Futures.successful(getEvents(persistenceId).stream()
+                .mapToLong(PersistentRepr::sequenceNr)
+                .max()
+                .orElse(0L));
+    }
+
+    private static PersistentRepr untagged(final PersistentRepr repr) {
+        return repr.payload() instanceof Tagged ? repr.withPayload(((Tagged) repr.payload()).payload()) : repr;
+    }
+
+    private static List<PersistentRepr> getEvents(final String persistenceId) {
+        return JOURNAL.computeIfAbsent(persistenceId, id -> new CopyOnWriteArrayList<>());
+    }
+
+}
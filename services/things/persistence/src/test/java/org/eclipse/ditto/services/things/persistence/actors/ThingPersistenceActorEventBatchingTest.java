@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.things.persistence.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.ditto.services.things.persistence.actors.ETagTestUtils.modifyAttributeResponse;
+
+import java.util.List;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.services.utils.test.Retry;
+import org.eclipse.ditto.signals.commands.things.exceptions.ThingNotAccessibleException;
+import org.eclipse.ditto.signals.commands.things.exceptions.ThingUnavailableException;
+import org.eclipse.ditto.signals.commands.things.modify.CreateThing;
+import org.eclipse.ditto.signals.commands.things.modify.CreateThingResponse;
+import org.eclipse.ditto.signals.commands.things.modify.DeleteThing;
+import org.eclipse.ditto.signals.commands.things.modify.DeleteThingResponse;
+import org.eclipse.ditto.signals.commands.things.modify.ModifyAttribute;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveAttribute;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveAttributeResponse;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThing;
+import org.eclipse.ditto.signals.commands.things.query.RetrieveThingResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ActorRef;
+import akka.actor.PoisonPill;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Tests {@link ThingPersistenceActor} with event batching enabled.
+ */
+public final class ThingPersistenceActorEventBatchingTest extends PersistenceActorTestBase {
+
+    private static final JsonPointer COUNTER = JsonFactory.newPointer("counter");
+    private static final int MODIFICATIONS = 50;
+    private static final int REJECTED_MODIFICATION = 5;
+
+    @Before
+    public void setUp() {
+        setup(ConfigFactory.parseString("ditto.things.thing.event-batching {\n" +
+                "  enabled = true\n" +
+                "  max-size = 10\n" +
+                "}\n" +
+                "akka-contrib-mongodb-persistence-things-journal.class = \"" +
+                RejectingInMemoryJournal.class.getName() + "\""));
+    }
+
+    @Test
+    public void repliesAreSentInOrderOfCommands() {
+        new TestKit(actorSystem) {{
+            final Thing thing = createThingV2WithRandomId();
+            final String thingId = thing.getId().orElseThrow(IllegalStateException::new);
+            final ActorRef underTest = createPersistenceActorFor(thingId);
+
+            underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+            expectMsgClass(CreateThingResponse.class);
+
+            for (int i = 0; i < MODIFICATIONS; i++) {
+                underTest.tell(ModifyAttribute.of(thingId, COUNTER, JsonValue.of(i), dittoHeadersV2), getRef());
+            }
+            underTest.tell(RetrieveAttribute.of(thingId, COUNTER, dittoHeadersV2), getRef());
+
+            for (int i = 0; i < MODIFICATIONS; i++) {
+                expectMsgEquals(modifyAttributeResponse(thingId, COUNTER, JsonValue.of(i), dittoHeadersV2, 0 == i));
+            }
+            final RetrieveAttributeResponse retrieveAttributeResponse =
+                    expectMsgClass(RetrieveAttributeResponse.class);
+            assertThat(retrieveAttributeResponse.getAttributeValue()).isEqualTo(JsonValue.of(MODIFICATIONS - 1));
+        }};
+    }
+
+    @Test
+    public void batchedEventsAreRecovered() {
+        new TestKit(actorSystem) {{
+            final Thing thing = createThingV2WithRandomId();
+            final String thingId = thing.getId().orElseThrow(IllegalStateException::new);
+            ActorRef underTest = createPersistenceActorFor(thingId);
+
+            underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+            expectMsgClass(CreateThingResponse.class);
+
+            for (int i = 0; i < MODIFICATIONS; i++) {
+                underTest.tell(ModifyAttribute.of(thingId, COUNTER, JsonValue.of(i), dittoHeadersV2), getRef());
+            }
+            underTest.tell(RetrieveThing.of(thingId, dittoHeadersV2), getRef());
+            receiveN(MODIFICATIONS);
+            final Thing expectedThing = expectMsgClass(RetrieveThingResponse.class).getThing();
+
+            // restart actor to recover thing state
+            watch(underTest);
+            underTest.tell(PoisonPill.getInstance(), getRef());
+            expectTerminated(underTest);
+            underTest = Retry.untilSuccess(() -> createPersistenceActorFor(thingId));
+
+            underTest.tell(RetrieveThing.of(thingId, dittoHeadersV2), getRef());
+            final Thing recoveredThing = expectMsgClass(RetrieveThingResponse.class).getThing();
+            assertThat(recoveredThing.getRevision()).isEqualTo(expectedThing.getRevision());
+            assertThat(recoveredThing.getAttributes().flatMap(attributes -> attributes.getValue(COUNTER)))
+                    .contains(JsonValue.of(MODIFICATIONS - 1));
+        }};
+    }
+
+    @Test
+    public void rejectedEventsFailTheirCommandsWithoutBlockingLaterCommands() {
+        new TestKit(actorSystem) {{
+            final Thing thing = createThingV2WithRandomId();
+            final String thingId = thing.getId().orElseThrow(IllegalStateException::new);
+            ActorRef underTest = createPersistenceActorFor(thingId);
+
+            underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+            expectMsgClass(CreateThingResponse.class);
+
+            for (int i = 0; i < MODIFICATIONS; i++) {
+                final JsonValue value = REJECTED_MODIFICATION == i
+                        ? JsonValue.of(RejectingInMemoryJournal.REJECTED_VALUE)
+                        : JsonValue.of(i);
+                underTest.tell(ModifyAttribute.of(thingId, COUNTER, value, dittoHeadersV2), getRef());
+            }
+            final List<Object> replies = receiveN(MODIFICATIONS);
+            assertThat(replies.get(REJECTED_MODIFICATION)).isInstanceOf(ThingUnavailableException.class);
+            assertThat(replies.get(MODIFICATIONS - 1)).isEqualTo(
+                    modifyAttributeResponse(thingId, COUNTER, JsonValue.of(MODIFICATIONS - 1), dittoHeadersV2, false));
+
+            // the actor goes on with the persisted Thing
+            underTest.tell(ModifyAttribute.of(thingId, COUNTER, JsonValue.of(MODIFICATIONS), dittoHeadersV2),
+                    getRef());
+            expectMsgEquals(
+                    modifyAttributeResponse(thingId, COUNTER, JsonValue.of(MODIFICATIONS), dittoHeadersV2, false));
+            underTest.tell(RetrieveThing.of(thingId, dittoHeadersV2), getRef());
+            final Thing expectedThing = expectMsgClass(RetrieveThingResponse.class).getThing();
+            assertThat(expectedThing.getAttributes().flatMap(attributes -> attributes.getValue(COUNTER)))
+                    .contains(JsonValue.of(MODIFICATIONS));
+
+            // restart actor to recover thing state
+            watch(underTest);
+            underTest.tell(PoisonPill.getInstance(), getRef());
+            expectTerminated(underTest);
+            underTest = Retry.untilSuccess(() -> createPersistenceActorFor(thingId));
+
+            underTest.tell(RetrieveThing.of(thingId, dittoHeadersV2), getRef());
+            final Thing recoveredThing = expectMsgClass(RetrieveThingResponse.class).getThing();
+            assertThat(recoveredThing.getRevision()).isEqualTo(expectedThing.getRevision());
+            assertThat(recoveredThing.getAttributes()).isEqualTo(expectedThing.getAttributes());
+        }};
+    }
+
+    @Test
+    public void deleteThingWaitsForBatchedEvents() {
+        new TestKit(actorSystem) {{
+            final Thing thing = createThingV2WithRandomId();
+            final String thingId = thing.getId().orElseThrow(IllegalStateException::new);
+            final ActorRef underTest = createPersistenceActorFor(thingId);
+
+            underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+            expectMsgClass(CreateThingResponse.class);
+
+            for (int i = 0; i < MODIFICATIONS; i++) {
+                underTest.tell(ModifyAttribute.of(thingId, COUNTER, JsonValue.of(i), dittoHeadersV2), getRef());
+            }
+            underTest.tell(DeleteThing.of(thingId, dittoHeadersV2), getRef());
+            underTest.tell(RetrieveThing.of(thingId, dittoHeadersV2), getRef());
+
+            receiveN(MODIFICATIONS);
+            expectMsgClass(DeleteThingResponse.class);
+            expectMsgClass(ThingNotAccessibleException.class);
+        }};
+    }
+
+}
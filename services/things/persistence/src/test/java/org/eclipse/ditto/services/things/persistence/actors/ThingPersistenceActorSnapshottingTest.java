@@ -47,6 +47,8 @@ import org.eclipse.ditto.signals.commands.things.modify.CreateThing;
 import org.eclipse.ditto.signals.commands.things.modify.CreateThingResponse;
 import org.eclipse.ditto.signals.commands.things.modify.DeleteThing;
 import org.eclipse.ditto.signals.commands.things.modify.DeleteThingResponse;
+import org.eclipse.ditto.signals.commands.things.modify.ModifyAttribute;
+import org.eclipse.ditto.signals.commands.things.modify.ModifyAttributeResponse;
 import org.eclipse.ditto.signals.commands.things.modify.ModifyThing;
 import org.eclipse.ditto.signals.commands.things.modify.ModifyThingResponse;
 import org.eclipse.ditto.signals.commands.things.modify.TagThing;
@@ -764,6 +766,55 @@ public final class ThingPersistenceActorSnapshottingTest extends PersistenceActo
         };
     }
 
+    /**
+     * Checks that a Thing is recovered from delta snapshots, including a full snapshot taken after
+     * {@link ConfigKeys.Thing#SNAPSHOT_DELTA_MAX_COUNT} deltas, when the events have been deleted.
+     */
+    @Test
+    public void thingIsRecoveredFromDeltaSnapshots() {
+        final int deltaMaxCount = 3;
+        final int modifications = 2 * deltaMaxCount + 1;
+        final Config customConfig = createNewDefaultTestConfig()
+                .withValue(ConfigKeys.Thing.SNAPSHOT_THRESHOLD, ConfigValueFactory.fromAnyRef(0))
+                .withValue(ConfigKeys.Thing.SNAPSHOT_DELETE_OLD, ConfigValueFactory.fromAnyRef(false))
+                .withValue(ConfigKeys.Thing.SNAPSHOT_DELTA_ENABLED, ConfigValueFactory.fromAnyRef(true))
+                .withValue(ConfigKeys.Thing.SNAPSHOT_DELTA_MAX_COUNT, ConfigValueFactory.fromAnyRef(deltaMaxCount));
+        setup(customConfig);
+
+        new TestKit(actorSystem) {
+            {
+                final Thing thing = createThingV2WithRandomId();
+                final String thingId = thing.getId().orElseThrow(IllegalStateException::new);
+
+                ActorRef underTest = createPersistenceActorFor(thingId);
+
+                underTest.tell(CreateThing.of(thing, null, dittoHeadersV2), getRef());
+                expectMsgClass(CreateThingResponse.class);
+
+                final RetrieveThing retrieveThing = RetrieveThing.getBuilder(thingId, dittoHeadersV2)
+                        .withSelectedFields(FIELD_SELECTOR)
+                        .build();
+                for (int i = 0; i < modifications; i++) {
+                    underTest.tell(ModifyAttribute.of(thingId, JsonFactory.newPointer("/attr" + i),
+                            JsonValue.of(i), dittoHeadersV2), getRef());
+                    expectMsgClass(ModifyAttributeResponse.class);
+                }
+                underTest.tell(retrieveThing, getRef());
+                final Thing expectedThing = expectMsgClass(RetrieveThingResponse.class).getThing();
+
+                // restart actor to recover thing state from the snapshots
+                watch(underTest);
+                underTest.tell(PoisonPill.getInstance(), getRef());
+                expectTerminated(underTest);
+                underTest = Retry.untilSuccess(() -> createPersistenceActorFor(thingId));
+
+                underTest.tell(retrieveThing, getRef());
+                final Thing recoveredThing = expectMsgClass(RetrieveThingResponse.class).getThing();
+                assertThingInResponse(recoveredThing, expectedThing, modifications + 1);
+            }
+        };
+    }
+
     /** */
     @Test
     public void actorCannotBeStartedWithNegativeSnapshotThreshold() {
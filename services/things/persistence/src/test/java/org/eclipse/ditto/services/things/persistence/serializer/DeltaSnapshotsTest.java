@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.things.persistence.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.model.base.json.FieldType;
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.model.things.TestConstants;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.model.things.ThingsModelFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link DeltaSnapshots}.
+ */
+public final class DeltaSnapshotsTest {
+
+    private static final JsonObject BASE = JsonFactory.newObject("{" +
+            "\"thingId\":\"org.eclipse.ditto:thing\"," +
+            "\"_revision\":4," +
+            "\"attributes\":{\"a/b\":1,\"unchanged\":{\"x\":[1,2]},\"removed\":true}," +
+            "\"__snapshotTag\":\"UNPROTECTED\"" +
+            "}");
+
+    private static final JsonObject TARGET = JsonFactory.newObject("{" +
+            "\"thingId\":\"org.eclipse.ditto:thing\"," +
+            "\"_revision\":5," +
+            "\"attributes\":{\"a/b\":null,\"unchanged\":{\"x\":[1,2]},\"added\":{\"y\":\"z\"}}," +
+            "\"__snapshotTag\":\"UNPROTECTED\"" +
+            "}");
+
+    @Test
+    public void diffContainsChangedFieldsOnly() {
+        final JsonObject delta = DeltaSnapshots.diff(BASE, TARGET, 4L);
+
+        assertThat(delta).isEqualTo(JsonFactory.newObject("{" +
+                "\"__deltaBase\":4," +
+                "\"__set\":[" +
+                "{\"p\":[\"_revision\"],\"v\":5}," +
+                "{\"p\":[\"attributes\",\"a/b\"],\"v\":null}," +
+                "{\"p\":[\"attributes\",\"added\"],\"v\":{\"y\":\"z\"}}" +
+                "]," +
+                "\"__remove\":[[\"attributes\",\"removed\"]]" +
+                "}"));
+    }
+
+    @Test
+    public void mergeRestoresTargetAndKeepsBaseSequenceNr() {
+        final JsonObject merged = DeltaSnapshots.merge(BASE, DeltaSnapshots.diff(BASE, TARGET, 4L));
+
+        assertThat(merged.remove(DeltaSnapshots.BASE_JSON_KEY)).isEqualTo(TARGET);
+        assertThat(DeltaSnapshots.getBaseSequenceNr(merged)).hasValue(4L);
+    }
+
+    @Test
+    public void mergeOfStoredSnapshotsRestoresThing() {
+        final JsonObject base =
+                TestConstants.Thing.THING_V2.toJson(JsonSchemaVersion.V_2, FieldType.regularOrSpecial());
+        final Thing targetThing = TestConstants.Thing.THING_V2.toBuilder()
+                .setAttribute(JsonFactory.newPointer("location/latitude"), JsonFactory.newValue(1.5))
+                .setRevision(2L)
+                .build();
+        final JsonObject target = targetThing.toJson(JsonSchemaVersion.V_2, FieldType.regularOrSpecial());
+        final Object storedBase = DeltaSnapshots.toSnapshot(base);
+        final Object storedDelta = DeltaSnapshots.toSnapshot(DeltaSnapshots.diff(base, target, 1L));
+
+        final JsonObject merged = DeltaSnapshots.merge(DeltaSnapshots.toJson(storedBase).get(),
+                DeltaSnapshots.toJson(storedDelta).get());
+
+        assertThat(DeltaSnapshots.getBaseSequenceNr(storedDelta)).hasValue(1L);
+        assertThat(DeltaSnapshots.getBaseSequenceNr(storedBase)).isEmpty();
+        assertThat(ThingsModelFactory.newThing(merged)).isEqualTo(targetThing);
+    }
+
+    @Test
+    public void mergeRejectsInvalidPath() {
+        final JsonObject delta = JsonFactory.newObject("{\"__deltaBase\":4,\"__set\":[{\"p\":\"/thingId\",\"v\":1}]}");
+
+        assertThatExceptionOfType(JsonParseException.class).isThrownBy(() -> DeltaSnapshots.merge(BASE, delta));
+    }
+
+}
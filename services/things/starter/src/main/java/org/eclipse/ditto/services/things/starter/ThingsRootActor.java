@@ -27,6 +27,7 @@ import org.eclipse.ditto.services.models.things.ThingsMessagingConstants;
 import org.eclipse.ditto.services.things.persistence.actors.ThingNamespaceOpsActor;
 import org.eclipse.ditto.services.things.persistence.actors.ThingSupervisorActor;
 import org.eclipse.ditto.services.things.persistence.actors.ThingsPersistenceStreamingActorCreator;
+import org.eclipse.ditto.services.things.persistence.actors.ThingsWarmUpActorCreator;
 import org.eclipse.ditto.services.things.persistence.snapshotting.ThingSnapshotter;
 import org.eclipse.ditto.services.things.starter.util.ConfigKeys;
 import org.eclipse.ditto.services.utils.akka.LogUtil;
@@ -155,16 +156,25 @@ final class ThingsRootActor extends AbstractActor {
                 ClusterShardingSettings.create(getContext().system())
                         .withRole(CLUSTER_ROLE);
 
+        final ShardRegionExtractor shardRegionExtractor =
+                ShardRegionExtractor.of(numberOfShards, getContext().getSystem());
         final ActorRef thingsShardRegion = ClusterSharding.get(getContext().system())
                 .start(ThingsMessagingConstants.SHARD_REGION,
                         thingSupervisorProps,
                         shardingSettings,
-                        ShardRegionExtractor.of(numberOfShards, getContext().getSystem()));
+                        shardRegionExtractor);
 
         // start cluster singleton for namespace ops
         ClusterUtil.startSingleton(getContext(), CLUSTER_ROLE, ThingNamespaceOpsActor.ACTOR_NAME,
                 ThingNamespaceOpsActor.props(pubSubMediator, config));
 
+        // start cluster singleton which recovers recently active things on start and on shard rebalancing
+        if (config.getBoolean(ConfigKeys.THINGS_WARM_UP_ENABLED)) {
+            ClusterUtil.startSingleton(getContext(), CLUSTER_ROLE, ThingsWarmUpActorCreator.ACTOR_NAME,
+                    ThingsWarmUpActorCreator.props(config, config.getConfig(ConfigKeys.THINGS_WARM_UP),
+                            thingsShardRegion, shardRegionExtractor::shardIdOf));
+        }
+
         retrieveStatisticsDetailsResponseSupplier = RetrieveStatisticsDetailsResponseSupplier.of(thingsShardRegion,
                 ThingsMessagingConstants.SHARD_REGION, log);
 
@@ -281,8 +291,9 @@ final class ThingsRootActor extends AbstractActor {
         final Duration minBackOff = config.getDuration(ConfigKeys.Thing.SUPERVISOR_EXPONENTIAL_BACKOFF_MIN);
         final Duration maxBackOff = config.getDuration(ConfigKeys.Thing.SUPERVISOR_EXPONENTIAL_BACKOFF_MAX);
         final double randomFactor = config.getDouble(ConfigKeys.Thing.SUPERVISOR_EXPONENTIAL_BACKOFF_RANDOM_FACTOR);
+        final Duration retrieveThingTimeout = config.getDuration(ConfigKeys.Thing.SUPERVISOR_RETRIEVE_THING_TIMEOUT);
 
-        return ThingSupervisorActor.props(pubSubMediator, minBackOff, maxBackOff, randomFactor,
+        return ThingSupervisorActor.props(pubSubMediator, minBackOff, maxBackOff, randomFactor, retrieveThingTimeout,
                 ThingPersistenceActorPropsFactory.getInstance(pubSubMediator, thingSnapshotterCreate));
     }
 
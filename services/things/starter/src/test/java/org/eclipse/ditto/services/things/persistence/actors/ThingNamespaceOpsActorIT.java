@@ -92,8 +92,10 @@ public final class ThingNamespaceOpsActorIT extends EventSourceNamespaceOpsActor
         final Duration minBackOff = Duration.ofSeconds(36000);
         final Duration maxBackOff = Duration.ofSeconds(36000);
         final double randomFactor = 0.2;
+        final Duration retrieveThingTimeout = Duration.ofSeconds(20);
 
         final Props props = ThingSupervisorActor.props(pubSubMediator, minBackOff, maxBackOff, randomFactor,
+                retrieveThingTimeout,
                 theId -> ThingPersistenceActor.props(theId, pubSubMediator));
 
         return system.actorOf(props, id);
@@ -35,6 +35,16 @@ public final class ConfigKeys {
     public static final String THINGS_TAGS_STREAMING_CACHE_SIZE = THINGS_TAGS_PREFIX +
             "streaming-cache-size";
 
+    /**
+     * The config of the warm-up which recovers recently active things on start and on shard rebalancing.
+     */
+    public static final String THINGS_WARM_UP = THINGS_PREFIX + "warm-up";
+
+    /**
+     * Whether the warm-up of things is enabled.
+     */
+    public static final String THINGS_WARM_UP_ENABLED = THINGS_WARM_UP + ".enabled";
+
     public static final class Thing {
 
         private static final String PREFIX = THINGS_PREFIX + "thing.";
@@ -47,6 +57,10 @@ public final class ConfigKeys {
 
         private static final String SNAPSHOT_PREFIX = PREFIX + "snapshot.";
 
+        private static final String SNAPSHOT_DELTA_PREFIX = SNAPSHOT_PREFIX + "delta.";
+
+        private static final String EVENT_BATCHING_PREFIX = PREFIX + "event-batching.";
+
         /**
          * The random factor of the exponential back-off strategy.
          */
@@ -63,6 +77,11 @@ public final class ConfigKeys {
          */
         public static final String SUPERVISOR_EXPONENTIAL_BACKOFF_MIN = SUPERVISOR_EXPONENTIAL_BACKOFF + "min";
 
+        /**
+         * The timeout for retrieving a single Thing of a batched retrieval of the Things of a shard.
+         */
+        public static final String SUPERVISOR_RETRIEVE_THING_TIMEOUT = SUPERVISOR_PREFIX + "retrieve-thing-timeout";
+
         /**
          * Whether to delete old Events or not when a Snapshot is taken.
          */
@@ -78,6 +97,28 @@ public final class ConfigKeys {
          */
         public static final String SNAPSHOT_THRESHOLD = SNAPSHOT_PREFIX + "threshold";
 
+        /**
+         * Every amount of JSON characters of events (configured by this key), this Actor will create a snapshot of the
+         * thing. A value of 0 disables the size based snapshot threshold.
+         */
+        public static final String SNAPSHOT_THRESHOLD_BYTES = SNAPSHOT_PREFIX + "threshold-bytes";
+
+        /**
+         * Whether snapshots may be saved as delta to the last full snapshot.
+         */
+        public static final String SNAPSHOT_DELTA_ENABLED = SNAPSHOT_DELTA_PREFIX + "enabled";
+
+        /**
+         * The maximal amount of delta snapshots saved for one full snapshot before the next full snapshot is saved.
+         */
+        public static final String SNAPSHOT_DELTA_MAX_COUNT = SNAPSHOT_DELTA_PREFIX + "max-count";
+
+        /**
+         * The maximal size of a delta snapshot relative to the size of its full snapshot. Larger deltas are saved as
+         * full snapshot.
+         */
+        public static final String SNAPSHOT_DELTA_MAX_SIZE_RATIO = SNAPSHOT_DELTA_PREFIX + "max-size-ratio";
+
         /**
          * The interval when to do snapshot for a Thing which had changes to it.
          */
@@ -96,6 +137,22 @@ public final class ConfigKeys {
          */
         public static final String ACTIVITY_CHECK_INTERVAL = PREFIX + "activity.check.interval";
 
+        /**
+         * Whether commands arriving while an event is written are handled right away and their events written
+         * together with the next write.
+         */
+        public static final String EVENT_BATCHING_ENABLED = EVENT_BATCHING_PREFIX + "enabled";
+
+        /**
+         * The maximum amount of events of a Thing written to the journal at once.
+         */
+        public static final String EVENT_BATCHING_MAX_SIZE = EVENT_BATCHING_PREFIX + "max-size";
+
+        /**
+         * How long an event waits at most for the write in flight before it is written anyway.
+         */
+        public static final String EVENT_BATCHING_MAX_LATENCY = EVENT_BATCHING_PREFIX + "max-latency";
+
         private Thing() {
             throw new AssertionError();
         }
@@ -11,9 +11,10 @@
 package org.eclipse.ditto.services.thingsearch.common.model;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
- * ResultList defines the offset of the next page in addition to the standard list operations.
+ * ResultList defines the offset and the cursor of the next page in addition to the standard list operations.
  *
  * @param <E> the type of the items
  */
@@ -30,4 +31,11 @@ public interface ResultList<E> extends List<E> {
      * @return the offset of the next page
      */
     long nextPageOffset();
+
+    /**
+     * Gets the cursor of the next page, if there is a next page.
+     *
+     * @return the cursor of the next page
+     */
+    Optional<String> cursor();
 }
@@ -18,6 +18,9 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
 
 /**
  * Immutable implementation of {@link ResultList}.
@@ -28,6 +31,7 @@ public final class ResultListImpl<E> implements ResultList<E> {
 
     private final List<E> items;
     private final long nextPageOffset;
+    @Nullable private final String cursor;
 
     /**
      * Constructor.
@@ -36,8 +40,20 @@ public final class ResultListImpl<E> implements ResultList<E> {
      * @param nextPageOffset the offset of the next page or {@link ResultList#NO_NEXT_PAGE}
      */
     public ResultListImpl(final List<E> items, final long nextPageOffset) {
+        this(items, nextPageOffset, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param items the items
+     * @param nextPageOffset the offset of the next page or {@link ResultList#NO_NEXT_PAGE}
+     * @param cursor the cursor of the next page or {@code null}
+     */
+    public ResultListImpl(final List<E> items, final long nextPageOffset, @Nullable final String cursor) {
         this.items = Collections.unmodifiableList(new ArrayList<>(requireNonNull(items)));
         this.nextPageOffset = nextPageOffset;
+        this.cursor = cursor;
     }
 
     @Override
@@ -160,6 +176,11 @@ public final class ResultListImpl<E> implements ResultList<E> {
         return nextPageOffset;
     }
 
+    @Override
+    public Optional<String> cursor() {
+        return Optional.ofNullable(cursor);
+    }
+
     // CS:OFF
     @SuppressWarnings("squid:S109")
     @Override
@@ -168,6 +189,7 @@ public final class ResultListImpl<E> implements ResultList<E> {
         int result = 1;
         result = (prime * result) + ((items == null) ? 0 : items.hashCode());
         result = (prime * result) + (int) (nextPageOffset ^ (nextPageOffset >>> 32));
+        result = (prime * result) + ((cursor == null) ? 0 : cursor.hashCode());
         return result;
     } // CS:ON
 
@@ -198,12 +220,19 @@ public final class ResultListImpl<E> implements ResultList<E> {
         if (nextPageOffset != other.nextPageOffset) {
             return false;
         }
+        if (cursor == null) {
+            if (other.cursor != null) {
+                return false;
+            }
+        } else if (!cursor.equals(other.cursor)) {
+            return false;
+        }
         return true;
     }
 
     @Override
     public String toString() {
-        return "ResultListImpl [items=" + items + ", nextPageOffset=" + nextPageOffset + "]";
+        return "ResultListImpl [items=" + items + ", nextPageOffset=" + nextPageOffset + ", cursor=" + cursor + "]";
     }
 
 }
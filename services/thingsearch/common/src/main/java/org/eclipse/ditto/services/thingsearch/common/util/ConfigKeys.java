@@ -69,6 +69,47 @@ public final class ConfigKeys {
      */
     public static final String INDEX_INITIALIZATION_ENABLED = SEARCH_PREFIX + "index-initialization." + ENABLED_SUFFIX;
 
+    /**
+     * Key of the configuration whether searches which select only indexed fields are answered from the search index
+     * instead of retrieving the found Things.
+     */
+    public static final String INDEX_PROJECTION_ENABLED = SEARCH_PREFIX + "index-projection." + ENABLED_SUFFIX;
+
+    /**
+     * Key of the list of typed index fields: attributes or feature properties of one namespace with values of one
+     * type, which are indexed by a partial index each.
+     */
+    public static final String TYPED_INDEX_FIELDS = SEARCH_PREFIX + "typed-index-fields";
+
+    private static final String COUNT_PREFIX = SEARCH_PREFIX + "count.";
+
+    /**
+     * Key configuring how long (as Duration) counts are cached per filter, namespaces and authorization subjects.
+     */
+    public static final String COUNT_CACHE_MAX_AGE = COUNT_PREFIX + "cache.max-age";
+
+    /**
+     * Key configuring the maximum number of cached counts.
+     */
+    public static final String COUNT_CACHE_MAXIMUM_SIZE = COUNT_PREFIX + "cache.maximum-size";
+
+    /**
+     * Key of the configuration whether sudo counts without filter are estimated from the collection statistics.
+     */
+    public static final String COUNT_ESTIMATION_ENABLED = COUNT_PREFIX + "estimation." + ENABLED_SUFFIX;
+
+    private static final String QUERY_CACHE_PREFIX = SEARCH_PREFIX + "query-cache.";
+
+    /**
+     * Key configuring how long (as Duration) the Thing IDs found by a query are cached at most.
+     */
+    public static final String QUERY_CACHE_MAX_AGE = QUERY_CACHE_PREFIX + "max-age";
+
+    /**
+     * Key configuring the maximum number of cached query results.
+     */
+    public static final String QUERY_CACHE_MAXIMUM_SIZE = QUERY_CACHE_PREFIX + "maximum-size";
+
     private static final String DELETION_PREFIX = SEARCH_PREFIX + "deletion.";
 
     /**
@@ -170,6 +211,11 @@ public final class ConfigKeys {
     public static final String THINGS_SYNCER_ELEMENTS_STREAMED_PER_BATCH = SYNC_THINGS_PREFIX +
             "elements-streamed-per-batch";
 
+    /**
+     * Things-Sync: The maximum number of stream intervals streamed in parallel while the sync is behind.
+     */
+    public static final String THINGS_SYNCER_PARALLELISM = SYNC_THINGS_PREFIX + "parallelism";
+
     private static final String SYNC_POLICIES_PREFIX = SYNC_PREFIX + "policies.";
 
     /**
@@ -226,6 +272,44 @@ public final class ConfigKeys {
     public static final String POLICIES_SYNCER_ELEMENTS_STREAMED_PER_BATCH = SYNC_POLICIES_PREFIX +
             "elements-streamed-per-batch";
 
+    /**
+     * Policies-Sync: The maximum number of stream intervals streamed in parallel while the sync is behind.
+     */
+    public static final String POLICIES_SYNCER_PARALLELISM = SYNC_POLICIES_PREFIX + "parallelism";
+
+    private static final String REINDEX_PREFIX = SEARCH_UPDATER_PREFIX + "reindex.";
+
+    /**
+     * Reindex: The number of Things and Policies retrieved in parallel while rebuilding the search index.
+     */
+    public static final String REINDEX_PARALLELISM = REINDEX_PREFIX + "parallelism";
+
+    /**
+     * Reindex: The maximum number of Things written to the shadow collections in one bulk write.
+     */
+    public static final String REINDEX_BULK_SIZE = REINDEX_PREFIX + "bulk-size";
+
+    /**
+     * Reindex: The timeout for retrieving a Thing or Policy while rebuilding the search index (as a Duration).
+     */
+    public static final String REINDEX_ASK_TIMEOUT = REINDEX_PREFIX + "ask-timeout";
+
+    /**
+     * Reindex: The maximum idle time of the stream of modified Things (as a Duration).
+     */
+    public static final String REINDEX_MAX_IDLE_TIME = REINDEX_PREFIX + "max-idle-time";
+
+    /**
+     * Reindex: The elements to be streamed per batch by the things service.
+     */
+    public static final String REINDEX_ELEMENTS_STREAMED_PER_BATCH = REINDEX_PREFIX + "elements-streamed-per-batch";
+
+    /**
+     * Reindex: The maximum number of Policies cached while rebuilding the search index, so that a Policy shared by
+     * many Things is retrieved only once.
+     */
+    public static final String REINDEX_POLICY_CACHE_SIZE = REINDEX_PREFIX + "policy-cache-size";
+
     /*
      * This class is not designed for instantiation.
      */
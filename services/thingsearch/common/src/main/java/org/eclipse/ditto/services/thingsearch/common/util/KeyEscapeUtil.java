@@ -35,4 +35,16 @@ public final class KeyEscapeUtil {
         requireNonNull(str);
         return str.replace("$", FAKE_DOLLAR).replace(".", FAKE_DOT);
     }
+
+    /**
+     * Reverts {@link #escape(String)}. Keys which contained the replacement characters before escaping cannot be
+     * distinguished from escaped keys.
+     *
+     * @param str the escaped String
+     * @return the unescaped String
+     */
+    public static String unescape(final String str) {
+        requireNonNull(str);
+        return str.replace(FAKE_DOLLAR, "$").replace(FAKE_DOT, ".");
+    }
 }
@@ -26,4 +26,11 @@ public class KeyEscapeUtilTest {
         assertSame("escapingNotNecessary", KeyEscapeUtil.escape("escapingNotNecessary"));
         assertEquals("\uFF04org\uFF0Eeclipse\uFF0Editto", KeyEscapeUtil.escape("$org.eclipse.ditto"));
     }
+
+    /** */
+    @Test
+    public void unescape() {
+        assertSame("escapingNotNecessary", KeyEscapeUtil.unescape("escapingNotNecessary"));
+        assertEquals("$org.eclipse.ditto", KeyEscapeUtil.unescape(KeyEscapeUtil.escape("$org.eclipse.ditto")));
+    }
 }
@@ -28,6 +28,17 @@ public final class PersistenceConstants {
      */
     public static final String POLICIES_BASED_SEARCH_INDEX_COLLECTION_NAME = "policiesBasedSearchIndex";
 
+    /**
+     * The name of the shadow collection into which a rebuild of the search index writes the things.
+     */
+    public static final String THINGS_REINDEX_COLLECTION_NAME = THINGS_COLLECTION_NAME + "_reindex";
+
+    /**
+     * The name of the shadow collection into which a rebuild of the search index writes the policies based index.
+     */
+    public static final String POLICIES_BASED_SEARCH_INDEX_REINDEX_COLLECTION_NAME =
+            POLICIES_BASED_SEARCH_INDEX_COLLECTION_NAME + "_reindex";
+
     /**
      * The collection name for the collection storing state about things sync.
      */
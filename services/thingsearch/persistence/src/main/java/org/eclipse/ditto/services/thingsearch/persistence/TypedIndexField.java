@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence;
+
+import static java.util.Objects.requireNonNull;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.FIELD_ATTRIBUTES;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.FIELD_FEATURES;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.FIELD_ID;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.FIELD_NAMESPACE;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.FIELD_PROPERTIES;
+import static org.eclipse.ditto.services.thingsearch.persistence.read.MongoThingsSearchPersistence.filterNotDeleted;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.eclipse.ditto.services.utils.persistence.mongo.indices.Index;
+import org.eclipse.ditto.services.utils.persistence.mongo.indices.IndexFactory;
+
+/**
+ * A field of the Things of one namespace which is declared to always hold values of one type, e.g. the attribute
+ * {@code manufacturer} of the namespace {@code org.eclipse.ditto} which is always a string.
+ * <p>
+ * The search index stores attributes and feature properties nested below {@code attributes} and {@code features} as
+ * well. A typed index field defines a partial index on this nested field which only contains the Things of its
+ * namespace whose field holds a value of the declared type. Thus the index is small and can serve filters and sorting
+ * on the field of dashboards which target the namespace.
+ * </p>
+ */
+@Immutable
+public final class TypedIndexField {
+
+    private static final String SLASH = "/";
+    private static final String FIELD_ATTRIBUTES_PREFIX = FIELD_ATTRIBUTES + SLASH;
+    private static final String FIELD_FEATURES_PREFIX = FIELD_FEATURES + SLASH;
+    private static final String FIELD_PROPERTIES_INFIX = SLASH + FIELD_PROPERTIES + SLASH;
+    private static final String INDEX_NAME_PREFIX = "typed:";
+
+    private final String namespace;
+    private final String path;
+    private final Type type;
+    private final String indexedFieldName;
+
+    private TypedIndexField(final String namespace, final String path, final Type type,
+            final String indexedFieldName) {
+
+        this.namespace = namespace;
+        this.path = path;
+        this.type = type;
+        this.indexedFieldName = indexedFieldName;
+    }
+
+    /**
+     * Returns a new {@code TypedIndexField}.
+     *
+     * @param namespace the namespace of the Things whose field is indexed.
+     * @param path the path of the field in the Things, either {@code attributes/<key>} or
+     * {@code features/<featureId>/properties/<property>}.
+     * @param type the type of the values of the field.
+     * @return the typed index field.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code path} neither points to an attribute nor to a property of a feature.
+     */
+    public static TypedIndexField of(final String namespace, final String path, final Type type) {
+        requireNonNull(namespace, "The namespace must not be null!");
+        requireNonNull(path, "The path must not be null!");
+        requireNonNull(type, "The type must not be null!");
+
+        final String relativePath = path.startsWith(SLASH) ? path.substring(1) : path;
+        return new TypedIndexField(namespace, relativePath, type, mapToIndexedFieldName(relativePath));
+    }
+
+    private static String mapToIndexedFieldName(final String path) {
+        if (path.startsWith(FIELD_ATTRIBUTES_PREFIX) && path.length() > FIELD_ATTRIBUTES_PREFIX.length()) {
+            final String key = path.substring(FIELD_ATTRIBUTES_PREFIX.length());
+            return MongoSortKeyMappingFunction.mapSortKey(FIELD_ATTRIBUTES, key);
+        }
+        if (path.startsWith(FIELD_FEATURES_PREFIX)) {
+            final int propertiesIndex = path.indexOf(FIELD_PROPERTIES_INFIX, FIELD_FEATURES_PREFIX.length());
+            final int propertyIndex = propertiesIndex + FIELD_PROPERTIES_INFIX.length();
+            if (propertiesIndex > FIELD_FEATURES_PREFIX.length() && propertyIndex < path.length()) {
+                final String featureId = path.substring(FIELD_FEATURES_PREFIX.length(), propertiesIndex);
+                final String property = path.substring(propertyIndex);
+                return MongoSortKeyMappingFunction.mapSortKey(FIELD_FEATURES, featureId, FIELD_PROPERTIES, property);
+            }
+        }
+        throw new IllegalArgumentException(
+                "The path <" + path + "> of a typed index field must point to an attribute or a feature property!");
+    }
+
+    /**
+     * Returns the namespace of the Things whose field is indexed.
+     *
+     * @return the namespace.
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Returns the path of the field in the Things.
+     *
+     * @return the path without leading slash.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the type of the values of the field.
+     *
+     * @return the type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the name of the nested field in the search index which holds the values of this field.
+     *
+     * @return the indexed field name.
+     */
+    public String getIndexedFieldName() {
+        return indexedFieldName;
+    }
+
+    /**
+     * Returns the Bson restricting the indexed field to values of the type of this field.
+     *
+     * @return the type restriction.
+     */
+    public BsonDocument getTypeRestriction() {
+        return new BsonDocument(indexedFieldName, new BsonDocument("$type", new BsonString(type.getBsonTypeAlias())));
+    }
+
+    /**
+     * Returns the partial index on the indexed field: it only contains the not deleted Things of the namespace whose
+     * field holds a value of the type of this field.
+     *
+     * @return the index.
+     */
+    public Index toIndex() {
+        final BsonDocument partialFilterExpression = filterNotDeleted()
+                .append(FIELD_NAMESPACE, new BsonString(namespace))
+                .append(indexedFieldName, getTypeRestriction().get(indexedFieldName));
+
+        return IndexFactory.newInstance(INDEX_NAME_PREFIX + namespace + ":" + path,
+                Arrays.asList(indexedFieldName, FIELD_ID), false)
+                .withPartialFilterExpression(partialFilterExpression);
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final TypedIndexField that = (TypedIndexField) o;
+        return Objects.equals(namespace, that.namespace) &&
+                Objects.equals(path, that.path) &&
+                type == that.type &&
+                Objects.equals(indexedFieldName, that.indexedFieldName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(namespace, path, type, indexedFieldName);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "namespace=" + namespace +
+                ", path=" + path +
+                ", type=" + type +
+                ", indexedFieldName=" + indexedFieldName +
+                "]";
+    }
+
+    /**
+     * The types of the values of typed index fields.
+     */
+    public enum Type {
+
+        /**
+         * JSON strings.
+         */
+        STRING("string"),
+
+        /**
+         * JSON numbers.
+         */
+        NUMBER("number"),
+
+        /**
+         * JSON booleans.
+         */
+        BOOLEAN("bool");
+
+        private final String bsonTypeAlias;
+
+        Type(final String bsonTypeAlias) {
+            this.bsonTypeAlias = bsonTypeAlias;
+        }
+
+        /**
+         * Returns the type with the given name, ignoring case.
+         *
+         * @param name the name of the type, e.g. {@code "string"}.
+         * @return the type.
+         * @throws NullPointerException if {@code name} is {@code null}.
+         * @throws IllegalArgumentException if no type has the given name.
+         */
+        public static Type forName(final String name) {
+            requireNonNull(name, "The name must not be null!");
+            return valueOf(name.toUpperCase(Locale.ENGLISH));
+        }
+
+        /**
+         * Indicates whether the given operand of a search predicate is of this type. Only filters whose operands are
+         * of the type of a field can be answered by its typed index.
+         *
+         * @param operand the operand as parsed from the search filter.
+         * @return {@code true} if {@code operand} is of this type.
+         */
+        public boolean matches(@Nullable final Object operand) {
+            switch (this) {
+                case STRING:
+                    return operand instanceof String;
+                case NUMBER:
+                    return operand instanceof Number;
+                case BOOLEAN:
+                    return operand instanceof Boolean;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Indicates whether all given operands of a search predicate are of this type.
+         *
+         * @param operands the operands as parsed from the search filter.
+         * @return {@code true} if {@code operands} is not empty and all of its elements are of this type.
+         */
+        public boolean matchesAll(final Collection<?> operands) {
+            return !operands.isEmpty() && operands.stream().allMatch(this::matches);
+        }
+
+        String getBsonTypeAlias() {
+            return bsonTypeAlias;
+        }
+
+    }
+
+}
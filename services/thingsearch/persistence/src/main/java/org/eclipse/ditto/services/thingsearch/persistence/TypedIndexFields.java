@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.bson.conversions.Bson;
+import org.eclipse.ditto.model.query.criteria.Predicate;
+import org.eclipse.ditto.model.query.criteria.visitors.PredicateVisitor;
+import org.eclipse.ditto.model.query.expression.FilterFieldExpression;
+import org.eclipse.ditto.model.query.expression.visitors.FilterFieldExpressionVisitor;
+import org.eclipse.ditto.services.thingsearch.common.util.ConfigKeys;
+import org.eclipse.ditto.services.thingsearch.persistence.read.criteria.visitors.CreateBsonPredicateVisitor;
+import org.eclipse.ditto.services.utils.persistence.mongo.indices.Index;
+
+import com.mongodb.client.model.Filters;
+import com.typesafe.config.Config;
+
+/**
+ * The {@link TypedIndexField}s declared by the configuration of the things-search service.
+ */
+@Immutable
+public final class TypedIndexFields {
+
+    private static final String NAMESPACE_KEY = "namespace";
+    private static final String PATH_KEY = "path";
+    private static final String TYPE_KEY = "type";
+
+    private static final TypedIndexFields EMPTY = new TypedIndexFields(Collections.emptyMap());
+
+    private final Map<String, List<TypedIndexField>> fieldsByIndexedFieldName;
+
+    private TypedIndexFields(final Map<String, List<TypedIndexField>> fieldsByIndexedFieldName) {
+        this.fieldsByIndexedFieldName = fieldsByIndexedFieldName;
+    }
+
+    /**
+     * Returns an instance without any typed index fields.
+     *
+     * @return the empty instance.
+     */
+    public static TypedIndexFields empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns an instance containing the given typed index fields.
+     *
+     * @param typedIndexFields the typed index fields.
+     * @return the instance.
+     * @throws NullPointerException if {@code typedIndexFields} is {@code null}.
+     */
+    public static TypedIndexFields of(final Collection<TypedIndexField> typedIndexFields) {
+        requireNonNull(typedIndexFields, "The typed index fields must not be null!");
+
+        final Map<String, List<TypedIndexField>> fieldsByIndexedFieldName = new LinkedHashMap<>();
+        typedIndexFields.stream()
+                .distinct()
+                .forEach(field -> fieldsByIndexedFieldName
+                        .computeIfAbsent(field.getIndexedFieldName(), name -> new ArrayList<>())
+                        .add(field));
+        fieldsByIndexedFieldName.replaceAll((name, fields) -> Collections.unmodifiableList(fields));
+
+        return new TypedIndexFields(Collections.unmodifiableMap(fieldsByIndexedFieldName));
+    }
+
+    /**
+     * Reads the typed index fields from the list at {@value ConfigKeys#TYPED_INDEX_FIELDS} of the given config. Each
+     * element of the list is an object with a {@code namespace}, a {@code path} and a {@code type}, which is one of
+     * {@code string}, {@code number} and {@code boolean}.
+     *
+     * @param config the config of the things-search service.
+     * @return the declared typed index fields, empty if the config does not declare any.
+     * @throws NullPointerException if {@code config} is {@code null}.
+     * @throws com.typesafe.config.ConfigException if a declaration lacks a value.
+     * @throws IllegalArgumentException if a declaration has an unknown type or a path which neither points to an
+     * attribute nor to a feature property.
+     */
+    public static TypedIndexFields fromConfig(final Config config) {
+        requireNonNull(config, "The config must not be null!");
+        if (!config.hasPath(ConfigKeys.TYPED_INDEX_FIELDS)) {
+            return empty();
+        }
+        return of(config.getConfigList(ConfigKeys.TYPED_INDEX_FIELDS)
+                .stream()
+                .map(declaration -> TypedIndexField.of(declaration.getString(NAMESPACE_KEY),
+                        declaration.getString(PATH_KEY),
+                        TypedIndexField.Type.forName(declaration.getString(TYPE_KEY))))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Indicates whether no typed index fields are declared.
+     *
+     * @return {@code true} if there are no typed index fields.
+     */
+    public boolean isEmpty() {
+        return fieldsByIndexedFieldName.isEmpty();
+    }
+
+    /**
+     * Returns the partial indices of all typed index fields.
+     *
+     * @return the indices.
+     */
+    public List<Index> getIndices() {
+        return fieldsByIndexedFieldName.values()
+                .stream()
+                .flatMap(List::stream)
+                .map(TypedIndexField::toIndex)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a filter on the nested field of a typed index field which is implied by the given field-based search
+     * criteria, if the field of the criteria is a declared typed index field and the operands of the predicate are of
+     * its type. The filter restricts the nested field to values of that type and applies the predicate to them, so
+     * adding it to the filter of the criteria does not change the search result, but enables MongoDB to use the
+     * partial index of the typed index field.
+     *
+     * @param fieldExpression the field of the criteria.
+     * @param predicate the predicate of the criteria.
+     * @return the filter on the typed index field or an empty Optional.
+     */
+    public Optional<Bson> getTypedIndexFilter(final FilterFieldExpression fieldExpression,
+            final Predicate predicate) {
+
+        if (isEmpty()) {
+            return Optional.empty();
+        }
+        return fieldExpression.acceptFilterVisitor(IndexedFieldNameVisitor.INSTANCE)
+                .map(fieldsByIndexedFieldName::get)
+                .flatMap(fields -> predicate.accept(new MatchingFieldVisitor(fields)))
+                .map(field -> Filters.and(field.getTypeRestriction(),
+                        CreateBsonPredicateVisitor.apply(predicate, field.getIndexedFieldName())));
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final TypedIndexFields that = (TypedIndexFields) o;
+        return fieldsByIndexedFieldName.equals(that.fieldsByIndexedFieldName);
+    }
+
+    @Override
+    public int hashCode() {
+        return fieldsByIndexedFieldName.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "fieldsByIndexedFieldName=" + fieldsByIndexedFieldName +
+                "]";
+    }
+
+    /**
+     * Maps attributes and feature properties to the names of their nested fields in the search index.
+     */
+    private static final class IndexedFieldNameVisitor implements FilterFieldExpressionVisitor<Optional<String>> {
+
+        private static final IndexedFieldNameVisitor INSTANCE = new IndexedFieldNameVisitor();
+
+        @Override
+        public Optional<String> visitAttribute(final String key) {
+            return Optional.of(MongoSortKeyMappingFunction.mapSortKey(PersistenceConstants.FIELD_ATTRIBUTES, key));
+        }
+
+        @Override
+        public Optional<String> visitFeatureIdProperty(final String featureId, final String property) {
+            return Optional.of(MongoSortKeyMappingFunction.mapSortKey(PersistenceConstants.FIELD_FEATURES, featureId,
+                    PersistenceConstants.FIELD_PROPERTIES, property));
+        }
+
+        @Override
+        public Optional<String> visitFeatureProperty(final String property) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<String> visitSimple(final String fieldName) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<String> visitAcl() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<String> visitGlobalReads() {
+            return Optional.empty();
+        }
+
+    }
+
+    /**
+     * Finds the typed index field whose type matches the operands of a predicate. Negations are not supported as
+     * they match values of any type.
+     */
+    private static final class MatchingFieldVisitor implements PredicateVisitor<Optional<TypedIndexField>> {
+
+        private final List<TypedIndexField> candidates;
+
+        private MatchingFieldVisitor(final List<TypedIndexField> candidates) {
+            this.candidates = candidates;
+        }
+
+        private Optional<TypedIndexField> findMatching(final Object operand) {
+            return candidates.stream().filter(field -> field.getType().matches(operand)).findFirst();
+        }
+
+        @Override
+        public Optional<TypedIndexField> visitEq(final Object value) {
+            return findMatching(value);
+        }
+
+        @Override
+        public Optional<TypedIndexField> visitGe(final Object value) {
+            return findMatching(value);
+        }
+
+        @Override
+        public Optional<TypedIndexField> visitGt(final Object value) {
+            return findMatching(value);
+        }
+
+        @Override
+        public Optional<TypedIndexField> visitIn(final List<?> values) {
+            return candidates.stream().filter(field -> field.getType().matchesAll(values)).findFirst();
+        }
+
+        @Override
+        public Optional<TypedIndexField> visitLe(final Object value) {
+            return findMatching(value);
+        }
+
+        @Override
+        public Optional<TypedIndexField> visitLike(final String value) {
+            return findMatching(value);
+        }
+
+        @Override
+        public Optional<TypedIndexField> visitLt(final Object value) {
+            return findMatching(value);
+        }
+
+        @Override
+        public Optional<TypedIndexField> visitNe(final Object value) {
+            return Optional.empty();
+        }
+
+    }
+
+}
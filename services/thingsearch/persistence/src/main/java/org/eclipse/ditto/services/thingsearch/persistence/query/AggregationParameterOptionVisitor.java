@@ -16,10 +16,13 @@ import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.eclipse.ditto.model.query.SortDirection;
 import org.eclipse.ditto.model.query.SortOption;
 import org.eclipse.ditto.model.query.expression.FieldExpressionFactory;
 import org.eclipse.ditto.model.query.expression.SortFieldExpression;
+import org.eclipse.ditto.model.thingsearch.CursorOption;
 import org.eclipse.ditto.model.thingsearch.LimitOption;
 import org.eclipse.ditto.model.thingsearch.Option;
 import org.eclipse.ditto.model.thingsearch.OptionVisitor;
@@ -36,6 +39,7 @@ public final class AggregationParameterOptionVisitor implements OptionVisitor {
 
     private final AggregationBuilder aggregationBuilder;
     private final FieldExpressionFactory fieldExpressionFactory;
+    @Nullable private String cursor;
 
     /**
      * @param fieldExpressionFactory the FieldExpressionFactory.
@@ -57,6 +61,10 @@ public final class AggregationParameterOptionVisitor implements OptionVisitor {
     public AggregationParameterOptionVisitor visitAll(final List<Option> options) {
         checkNotNull(options, "options");
         options.forEach(o -> o.accept(this));
+        // the cursor is applied last as it is validated against the sort and the offset
+        if (null != cursor) {
+            aggregationBuilder.cursor(cursor);
+        }
         return this;
     }
 
@@ -77,6 +85,12 @@ public final class AggregationParameterOptionVisitor implements OptionVisitor {
         aggregationBuilder.sortOptions(sortOptions);
     }
 
+    @Override
+    public void visit(final CursorOption cursorOption) {
+        checkNotNull(cursorOption, "cursor option");
+        cursor = cursorOption.getCursor();
+    }
+
     @Override
     public void visit(final Option option) {
         // not required yet
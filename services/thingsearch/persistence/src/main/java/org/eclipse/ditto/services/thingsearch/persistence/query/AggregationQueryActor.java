@@ -32,6 +32,8 @@ import org.eclipse.ditto.signals.commands.base.Command;
 import org.eclipse.ditto.signals.commands.thingsearch.exceptions.InvalidOptionException;
 import org.eclipse.ditto.signals.commands.thingsearch.query.CountThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThings;
+import org.eclipse.ditto.signals.commands.thingsearch.query.StreamThings;
+import org.eclipse.ditto.signals.commands.thingsearch.query.ThingSearchQueryCommand;
 
 import akka.actor.AbstractActor;
 import akka.actor.Props;
@@ -40,8 +42,8 @@ import akka.japi.Creator;
 import akka.japi.pf.ReceiveBuilder;
 
 /**
- * Actor handling the parsing of search queries. It accepts {@link CountThings} and {@link QueryThings} commands and
- * responses with a corresponding {@link PolicyRestrictedSearchAggregation}.
+ * Actor handling the parsing of search queries. It accepts {@link CountThings}, {@link QueryThings} and {@link
+ * StreamThings} commands and responses with a corresponding {@link PolicyRestrictedSearchAggregation}.
  * <p>
  * This actor receives only messages which where emitted by API v. 2 requests.
  */
@@ -94,6 +96,7 @@ public final class AggregationQueryActor extends AbstractActor {
         return ReceiveBuilder.create()
                 .match(CountThings.class, cmd -> catchDittoRuntimeException(this::handleCountThings, cmd))
                 .match(QueryThings.class, cmd -> catchDittoRuntimeException(this::handleQueryThings, cmd))
+                .match(StreamThings.class, cmd -> catchDittoRuntimeException(this::handleStreamThings, cmd))
                 .match(SudoCountThings.class, cmd -> catchDittoRuntimeException(this::handleSudoCountThings, cmd))
                 .matchAny(any -> {
                     logger.warning("Got unknown message '{}'", any);
@@ -133,6 +136,32 @@ public final class AggregationQueryActor extends AbstractActor {
     }
 
     private void handleQueryThings(final QueryThings command) {
+        final DittoHeaders dittoHeaders = command.getDittoHeaders();
+        final AggregationBuilder aggregationBuilder =
+                aggregationBuilderFactory.newBuilder(parseFilterCriteria(command))
+                        .authorizationSubjects(dittoHeaders.getAuthorizationContext().getAuthorizationSubjectIds());
+
+        command.getOptions()
+                .map(optionStrings -> String.join(",", optionStrings))
+                .ifPresent(options -> setOptions(options, aggregationBuilder, dittoHeaders));
+
+        getSender().tell(aggregationBuilder.build(), getSelf());
+    }
+
+    private void handleStreamThings(final StreamThings command) {
+        final DittoHeaders dittoHeaders = command.getDittoHeaders();
+        final AggregationBuilder aggregationBuilder =
+                aggregationBuilderFactory.newStreamBuilder(parseFilterCriteria(command))
+                        .authorizationSubjects(dittoHeaders.getAuthorizationContext().getAuthorizationSubjectIds());
+
+        command.getOptions()
+                .map(optionStrings -> String.join(",", optionStrings))
+                .ifPresent(options -> setOptions(options, aggregationBuilder, dittoHeaders));
+
+        getSender().tell(aggregationBuilder.build(), getSelf());
+    }
+
+    private Criteria parseFilterCriteria(final ThingSearchQueryCommand<?> command) {
         final Criteria filterCriteria;
         final DittoHeaders dittoHeaders = command.getDittoHeaders();
         final Set<String> namespaces = command.getNamespaces().orElse(null);
@@ -148,14 +177,7 @@ public final class AggregationQueryActor extends AbstractActor {
 
         EnsureMonotonicityVisitor.apply(filterCriteria, dittoHeaders);
 
-        final AggregationBuilder aggregationBuilder = aggregationBuilderFactory.newBuilder(filterCriteria)
-                .authorizationSubjects(dittoHeaders.getAuthorizationContext().getAuthorizationSubjectIds());
-
-        command.getOptions()
-                .map(optionStrings -> String.join(",", optionStrings))
-                .ifPresent(options -> setOptions(options, aggregationBuilder, dittoHeaders));
-
-        getSender().tell(aggregationBuilder.build(), getSelf());
+        return filterCriteria;
     }
 
     private void handleSudoCountThings(final SudoCountThings command) {
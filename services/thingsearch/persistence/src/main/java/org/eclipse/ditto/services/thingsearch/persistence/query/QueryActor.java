@@ -36,6 +36,7 @@ import org.eclipse.ditto.signals.commands.base.Command;
 import org.eclipse.ditto.signals.commands.thingsearch.exceptions.InvalidOptionException;
 import org.eclipse.ditto.signals.commands.thingsearch.query.CountThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThings;
+import org.eclipse.ditto.signals.commands.thingsearch.query.StreamThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.ThingSearchQueryCommand;
 
 import akka.actor.AbstractActor;
@@ -45,8 +46,8 @@ import akka.japi.Creator;
 import akka.japi.pf.ReceiveBuilder;
 
 /**
- * Actor handling the parsing of search queries. It accepts {@link CountThings} and {@link QueryThings} commands and
- * responses with a corresponding {@link Query}.
+ * Actor handling the parsing of search queries. It accepts {@link CountThings}, {@link QueryThings} and {@link
+ * StreamThings} commands and responses with a corresponding {@link Query}.
  * <p>
  * This actor receives only messages which where emitted by API v. 1 requests.
  */
@@ -99,6 +100,7 @@ public final class QueryActor extends AbstractActor {
         return ReceiveBuilder.create()
                 .match(CountThings.class, cmd -> catchDittoRuntimeException(this::handleCountThings, cmd))
                 .match(QueryThings.class, cmd -> catchDittoRuntimeException(this::handleQueryThings, cmd))
+                .match(StreamThings.class, cmd -> catchDittoRuntimeException(this::handleStreamThings, cmd))
                 .match(SudoCountThings.class, cmd -> catchDittoRuntimeException(this::handleSudoCountThings, cmd))
                 .matchAny(any -> {
                     logger.warning("Got unknown message '{}'", any);
@@ -167,6 +169,19 @@ public final class QueryActor extends AbstractActor {
         getSender().tell(queryBuilder.build(), getSelf());
     }
 
+    private void handleStreamThings(final StreamThings command) {
+        final Criteria criteria = parseCriteriaWithAuthorization(command);
+        final DittoHeaders dittoHeaders = command.getDittoHeaders();
+
+        final QueryBuilder queryBuilder = queryBuilderFactory.newUnlimitedBuilder(criteria);
+
+        command.getOptions()
+                .map(optionStrings -> String.join(",", optionStrings))
+                .ifPresent(options -> setOptions(options, queryBuilder, dittoHeaders));
+
+        getSender().tell(queryBuilder.build(), getSelf());
+    }
+
     private void handleSudoCountThings(final SudoCountThings command) {
         final Criteria filterCriteria = queryFilterCriteriaFactory.filterCriteria(
                 command.getFilter().orElse(null), command.getDittoHeaders());
@@ -46,6 +46,16 @@ public interface AggregationBuilder {
      */
     AggregationBuilder skip(long n);
 
+    /**
+     * Continues the aggregation after the position of the given cursor of a previous result page. A cursor can only
+     * be used with the sort it was created for and without skipping elements.
+     *
+     * @param cursor the cursor of a previous result page.
+     * @return this builder.
+     * @throws NullPointerException if {@code cursor} is {@code null}.
+     */
+    AggregationBuilder cursor(String cursor);
+
     /**
      * Sets the filter criteria used for filtering things.
      *
@@ -34,4 +34,13 @@ public interface AggregationBuilderFactory {
      */
     AggregationBuilder newCountBuilder(Criteria criteria);
 
+    /**
+     * Creates a new {@link AggregationBuilder} for streaming all search results. The aggregations created by it
+     * neither skip nor limit the results.
+     *
+     * @param criteria the query criteria
+     * @return the builder
+     */
+    AggregationBuilder newStreamBuilder(Criteria criteria);
+
 }
@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.read;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonFieldSelector;
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.services.thingsearch.common.util.KeyEscapeUtil;
+import org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants;
+import org.eclipse.ditto.services.thingsearch.persistence.write.IndexLengthRestrictionEnforcer;
+
+import com.mongodb.client.model.Filters;
+
+/**
+ * Reads selected fields of Things from the documents of the search index instead of retrieving the Things from the
+ * Things service.
+ * <p>
+ * Only the Thing ID, attributes and feature properties are indexed. The index holds these values exactly unless
+ * they are arrays or {@code null} (both are indexed as {@code null}), empty objects or strings which may have been
+ * shortened by the {@link IndexLengthRestrictionEnforcer}; a Thing with such a selected value cannot be projected.
+ * Attributes and feature properties are restricted to the values the requester may read according to the ACL of the
+ * Thing or the policy grants which are stored for each value in the search index.
+ * </p>
+ * <p>
+ * The search index is updated asynchronously, so the projection may be older than the Thing, just like the search
+ * result itself.
+ * </p>
+ */
+@Immutable
+public final class IndexProjection {
+
+    private static final JsonPointer THING_ID = Thing.JsonFields.ID.getPointer();
+    private static final JsonKey ATTRIBUTES = JsonKey.of(PersistenceConstants.FIELD_ATTRIBUTES);
+    private static final JsonKey FEATURES = JsonKey.of(PersistenceConstants.FIELD_FEATURES);
+    private static final JsonKey PROPERTIES = JsonKey.of(PersistenceConstants.FIELD_PROPERTIES);
+
+    private final List<JsonPointer> pointers;
+    private final Bson thingsProjection;
+    @Nullable private final Bson grantsResourceFilter;
+
+    private IndexProjection(final List<JsonPointer> pointers) {
+        this.pointers = Collections.unmodifiableList(pointers);
+        thingsProjection = createThingsProjection(pointers);
+        grantsResourceFilter = createGrantsResourceFilter(pointers);
+    }
+
+    /**
+     * Returns the projection of the given fields if all of them are indexed.
+     *
+     * @param fieldSelector the selected fields of a search query.
+     * @return the projection or an empty Optional if a field is not indexed.
+     * @throws NullPointerException if {@code fieldSelector} is {@code null}.
+     */
+    public static Optional<IndexProjection> of(final JsonFieldSelector fieldSelector) {
+        checkNotNull(fieldSelector, "field selector");
+        final List<JsonPointer> pointers = new ArrayList<>(fieldSelector.getPointers());
+        if (pointers.isEmpty() || !pointers.stream().allMatch(IndexProjection::isIndexed)) {
+            return Optional.empty();
+        }
+        return Optional.of(new IndexProjection(pointers));
+    }
+
+    private static boolean isIndexed(final JsonPointer pointer) {
+        if (THING_ID.equals(pointer) || pointer.getRoot().filter(ATTRIBUTES::equals).isPresent()) {
+            return true;
+        }
+        // feature definitions are not indexed and every indexed feature has properties
+        return pointer.getRoot().filter(FEATURES::equals).isPresent() &&
+                pointer.get(2).filter(PROPERTIES::equals).isPresent();
+    }
+
+    /**
+     * Returns the filter of the given Things which are not deleted and still visible to the given authorization
+     * subjects.
+     *
+     * @param thingIds the IDs of the Things.
+     * @param authorizationSubjects the authorization subjects of the requester.
+     * @return the filter.
+     */
+    public static Bson getThingsFilter(final Collection<String> thingIds,
+            final Collection<String> authorizationSubjects) {
+
+        return Filters.and(Filters.in(PersistenceConstants.FIELD_ID, thingIds),
+                MongoThingsSearchPersistence.filterNotDeleted(),
+                Filters.or(Filters.in(PersistenceConstants.FIELD_INTERNAL_ACL, authorizationSubjects),
+                        Filters.in(PersistenceConstants.FIELD_INTERNAL_GLOBAL_READS, authorizationSubjects)));
+    }
+
+    /**
+     * @return the projection of the documents of the things collection.
+     */
+    public Bson getThingsProjection() {
+        return thingsProjection;
+    }
+
+    /**
+     * Returns the filter of the policy grants needed to project the given Things.
+     *
+     * @param thingIds the IDs of the Things.
+     * @return the filter or an empty Optional if no policy grants are needed.
+     */
+    public Optional<Bson> getGrantsFilter(final Collection<String> thingIds) {
+        return Optional.ofNullable(grantsResourceFilter)
+                .map(resourceFilter -> Filters.and(Filters.in(PersistenceConstants.FIELD_THING_ID, thingIds),
+                        resourceFilter));
+    }
+
+    /**
+     * Projects the selected fields of a document of the things collection.
+     *
+     * @param thingDocument the document found by {@link #getThingsFilter(Collection, Collection)} and read with
+     * {@link #getThingsProjection()}.
+     * @param grants the documents of the policy grants found by {@link #getGrantsFilter(Collection)} by their ID.
+     * @param authorizationSubjects the authorization subjects of the requester.
+     * @return the selected fields the requester may read or an empty Optional if the search index does not hold the
+     * exact values of the selected fields.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public Optional<JsonObject> project(final Document thingDocument, final Map<String, Document> grants,
+            final Collection<String> authorizationSubjects) {
+
+        checkNotNull(thingDocument, "thing document");
+        checkNotNull(grants, "grants");
+        checkNotNull(authorizationSubjects, "authorization subjects");
+
+        final ThingProjector projector = new ThingProjector(thingDocument, grants, authorizationSubjects);
+        JsonObject result = JsonFactory.newObject();
+        for (final JsonPointer pointer : pointers) {
+            final JsonValue value;
+            if (THING_ID.equals(pointer)) {
+                value = JsonValue.of(projector.thingId);
+            } else {
+                value = projector.project(pointer);
+            }
+            if (!projector.exact) {
+                return Optional.empty();
+            } else if (null != value) {
+                result = result.setValue(pointer, value);
+            }
+        }
+        return Optional.of(result);
+    }
+
+    private static Bson createThingsProjection(final Collection<JsonPointer> pointers) {
+        // nested paths of a projected path must not be projected again
+        final Collection<String> paths = new TreeSet<>();
+        pointers.stream()
+                .filter(pointer -> !THING_ID.equals(pointer))
+                .map(IndexProjection::toDocumentPath)
+                .sorted()
+                .forEach(path -> {
+                    if (paths.stream().noneMatch(projected -> path.startsWith(projected + "."))) {
+                        paths.add(path);
+                    }
+                });
+
+        final Document projection = new Document(PersistenceConstants.FIELD_ID, 1)
+                .append(PersistenceConstants.FIELD_POLICY_ID, 1);
+        paths.forEach(path -> projection.append(path, 1));
+        return projection;
+    }
+
+    @Nullable
+    private static Bson createGrantsResourceFilter(final Collection<JsonPointer> pointers) {
+        final List<Pattern> resourcePrefixes = pointers.stream()
+                .filter(pointer -> !THING_ID.equals(pointer))
+                .map(IndexProjection::toResource)
+                .distinct()
+                .map(resource -> Pattern.compile("^" + Pattern.quote(resource)))
+                .collect(Collectors.toList());
+        return resourcePrefixes.isEmpty() ? null : Filters.in(PersistenceConstants.FIELD_RESOURCE, resourcePrefixes);
+    }
+
+    private static String toDocumentPath(final JsonPointer pointer) {
+        final List<String> escapedKeys = new ArrayList<>(pointer.getLevelCount());
+        pointer.forEach(key -> escapedKeys.add(KeyEscapeUtil.escape(key.toString())));
+        return String.join(".", escapedKeys);
+    }
+
+    /*
+     * Resource of the policy grants of a pointer to an attribute or feature property, see the ResourcePermissions
+     * of the search updater. The resource of feature properties does not contain the feature ID.
+     */
+    private static String toResource(final JsonPointer pointer) {
+        if (pointer.getRoot().filter(ATTRIBUTES::equals).isPresent()) {
+            return PersistenceConstants.FIELD_ATTRIBUTE_PREFIX + subPointer(pointer, 1);
+        }
+        return PersistenceConstants.FIELD_FEATURE_PROPERTIES_PREFIX + subPointer(pointer, 3);
+    }
+
+    private static String subPointer(final JsonPointer pointer, final int level) {
+        return pointer.getSubPointer(level).map(JsonPointer::toString).orElse("");
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final IndexProjection that = (IndexProjection) o;
+        return Objects.equals(pointers, that.pointers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pointers);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "pointers=" + pointers +
+                "]";
+    }
+
+    /**
+     * Projects the values of one Thing and remembers whether all of them are exact.
+     */
+    private static final class ThingProjector {
+
+        private final Document thingDocument;
+        private final String thingId;
+        private final Map<String, Document> grants;
+        private final Collection<String> authorizationSubjects;
+        private final boolean readableByAcl;
+        private boolean exact = true;
+
+        private ThingProjector(final Document thingDocument, final Map<String, Document> grants,
+                final Collection<String> authorizationSubjects) {
+
+            this.thingDocument = thingDocument;
+            thingId = thingDocument.getString(PersistenceConstants.FIELD_ID);
+            this.grants = grants;
+            this.authorizationSubjects = authorizationSubjects;
+            // Things without policy are visible by their ACL, which grants READ on the whole Thing
+            readableByAcl = null == thingDocument.get(PersistenceConstants.FIELD_POLICY_ID);
+        }
+
+        @Nullable
+        private JsonValue project(final JsonPointer pointer) {
+            Object current = thingDocument;
+            for (final JsonKey key : pointer) {
+                final String escapedKey = KeyEscapeUtil.escape(key.toString());
+                if (!(current instanceof Document) || !((Document) current).containsKey(escapedKey)) {
+                    // the field does not exist
+                    return null;
+                }
+                current = ((Document) current).get(escapedKey);
+            }
+            return projectValue(pointer, current);
+        }
+
+        @Nullable
+        private JsonValue projectValue(final JsonPointer path, @Nullable final Object value) {
+            if (value instanceof Document) {
+                return projectObject(path, (Document) value);
+            } else if (null == value) {
+                // arrays are indexed as null
+                exact = false;
+                return null;
+            } else if (!isReadable(path)) {
+                return null;
+            } else if (value instanceof String) {
+                return projectString(path, (String) value);
+            } else if (value instanceof Boolean) {
+                return JsonValue.of(((Boolean) value).booleanValue());
+            } else if (value instanceof Integer) {
+                return JsonValue.of(((Integer) value).intValue());
+            } else if (value instanceof Long) {
+                return JsonValue.of(((Long) value).longValue());
+            } else if (value instanceof Double) {
+                return JsonValue.of(((Double) value).doubleValue());
+            }
+            exact = false;
+            return null;
+        }
+
+        @Nullable
+        private JsonValue projectObject(final JsonPointer path, final Document document) {
+            if (document.isEmpty()) {
+                // neither the ACL nor policy grants of empty objects are indexed
+                exact = false;
+                return null;
+            }
+            final JsonObjectBuilder builder = JsonFactory.newObjectBuilder();
+            document.forEach((escapedKey, childValue) -> {
+                final JsonKey key = JsonKey.of(KeyEscapeUtil.unescape(escapedKey));
+                final JsonValue projectedChild = projectValue(path.addLeaf(key), childValue);
+                if (null != projectedChild) {
+                    builder.set(JsonFactory.newField(key, projectedChild));
+                }
+            });
+            final JsonObject result = builder.build();
+            // objects without readable values are omitted
+            return result.isEmpty() ? null : result;
+        }
+
+        @Nullable
+        private JsonValue projectString(final JsonPointer path, final String value) {
+            if (mayBeShortened(path, value)) {
+                exact = false;
+                return null;
+            }
+            return JsonValue.of(value);
+        }
+
+        /*
+         * Only values of top-level attributes and feature properties are shortened.
+         */
+        private boolean mayBeShortened(final JsonPointer path, final String value) {
+            if (isAttribute(path)) {
+                return path.getLevelCount() == 2 &&
+                        IndexLengthRestrictionEnforcer.mayBeShortened(thingId, null, path.nextLevel(), value);
+            }
+            return path.getLevelCount() == 4 && IndexLengthRestrictionEnforcer.mayBeShortened(thingId,
+                    getFeatureId(path), path.nextLevel().nextLevel().nextLevel(), value);
+        }
+
+        private boolean isReadable(final JsonPointer path) {
+            if (readableByAcl) {
+                return true;
+            }
+            final Document grant = grants.get(getGrantId(path));
+            return null != grant &&
+                    containsAuthorizationSubject(grant.get(PersistenceConstants.FIELD_GRANTED)) &&
+                    !containsAuthorizationSubject(grant.get(PersistenceConstants.FIELD_REVOKED));
+        }
+
+        private String getGrantId(final JsonPointer path) {
+            final String resource = toResource(path);
+            return isAttribute(path)
+                    ? thingId + ":" + resource
+                    : thingId + ":" + getFeatureId(path) + resource;
+        }
+
+        private boolean containsAuthorizationSubject(@Nullable final Object subjectIds) {
+            return subjectIds instanceof Collection &&
+                    ((Collection<?>) subjectIds).stream().anyMatch(authorizationSubjects::contains);
+        }
+
+        private static boolean isAttribute(final JsonPointer path) {
+            return path.getRoot().filter(ATTRIBUTES::equals).isPresent();
+        }
+
+        private static String getFeatureId(final JsonPointer path) {
+            return path.get(1).map(JsonKey::toString).orElse("");
+        }
+
+    }
+
+}
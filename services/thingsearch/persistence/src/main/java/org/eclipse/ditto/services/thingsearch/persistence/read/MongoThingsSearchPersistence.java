@@ -16,8 +16,11 @@ import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceCons
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
@@ -26,6 +29,7 @@ import org.bson.BsonBoolean;
 import org.bson.BsonDocument;
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.model.query.Query;
 import org.eclipse.ditto.services.models.thingsearch.SearchNamespaceReportResult;
 import org.eclipse.ditto.services.models.thingsearch.SearchNamespaceResultEntry;
@@ -33,16 +37,19 @@ import org.eclipse.ditto.services.thingsearch.common.model.ResultList;
 import org.eclipse.ditto.services.thingsearch.common.model.ResultListImpl;
 import org.eclipse.ditto.services.thingsearch.persistence.Indices;
 import org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants;
-import org.eclipse.ditto.services.thingsearch.persistence.read.criteria.visitors.CreateBsonVisitor;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexFields;
 import org.eclipse.ditto.services.thingsearch.persistence.read.query.MongoQuery;
+import org.eclipse.ditto.services.thingsearch.persistence.read.query.ThingsSearchCursor;
 import org.eclipse.ditto.services.utils.config.MongoConfig;
 import org.eclipse.ditto.services.utils.persistence.mongo.MongoClientWrapper;
+import org.eclipse.ditto.services.utils.persistence.mongo.indices.Index;
 import org.eclipse.ditto.services.utils.persistence.mongo.indices.IndexInitializer;
 import org.eclipse.ditto.signals.commands.base.exceptions.GatewayQueryTimeExceededException;
 
 import com.mongodb.MongoExecutionTimeoutException;
 import com.mongodb.client.model.CountOptions;
 import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.FindPublisher;
 import com.mongodb.reactivestreams.client.MongoCollection;
 
 import akka.NotUsed;
@@ -60,11 +67,14 @@ import scala.PartialFunction;
 public class MongoThingsSearchPersistence implements ThingsSearchPersistence {
 
     private final MongoCollection<Document> collection;
+    private final MongoCollection<Document> policiesCollection;
     private final LoggingAdapter log;
 
     private final ActorMaterializer materializer;
     private final IndexInitializer indexInitializer;
     private final Duration maxQueryTime;
+    private final TypedIndexFields typedIndexFields;
+    private final QueryPlanner queryPlanner;
 
     /**
      * Initializes the things search persistence with a passed in {@code persistence}.
@@ -74,10 +84,14 @@ public class MongoThingsSearchPersistence implements ThingsSearchPersistence {
      */
     public MongoThingsSearchPersistence(final MongoClientWrapper clientWrapper, final ActorSystem actorSystem) {
         collection = clientWrapper.getDatabase().getCollection(PersistenceConstants.THINGS_COLLECTION_NAME);
+        policiesCollection = clientWrapper.getDatabase()
+                .getCollection(PersistenceConstants.POLICIES_BASED_SEARCH_INDEX_COLLECTION_NAME);
         log = Logging.getLogger(actorSystem, getClass());
         materializer = ActorMaterializer.create(actorSystem);
         indexInitializer = IndexInitializer.of(clientWrapper.getDatabase(), materializer);
         maxQueryTime = MongoConfig.getMaxQueryTime(actorSystem.settings().config());
+        typedIndexFields = TypedIndexFields.fromConfig(actorSystem.settings().config());
+        queryPlanner = QueryPlanner.of(typedIndexFields);
     }
 
     /**
@@ -91,7 +105,9 @@ public class MongoThingsSearchPersistence implements ThingsSearchPersistence {
 
     @Override
     public CompletionStage<Void> initializeIndices() {
-        return indexInitializer.initialize(PersistenceConstants.THINGS_COLLECTION_NAME, Indices.Things.all())
+        final List<Index> indices = new ArrayList<>(Indices.Things.all());
+        indices.addAll(typedIndexFields.getIndices());
+        return indexInitializer.initialize(PersistenceConstants.THINGS_COLLECTION_NAME, indices)
                 .exceptionally(t -> {
                     log.error(t, "Index-Initialization failed: {}", t.getMessage());
                     return null;
@@ -144,21 +160,39 @@ public class MongoThingsSearchPersistence implements ThingsSearchPersistence {
 
         final Source<Document, NotUsed> source = aggregation.execute(collection, maxQueryTime);
 
-        return source.map(doc -> doc.getString(PersistenceConstants.FIELD_ID))
-                .fold(new ArrayList<String>(), (list, id) -> {
-                    list.add(id);
+        return source.fold(new ArrayList<Document>(), (list, doc) -> {
+                    list.add(doc);
                     return list;
                 })
-                .map(resultsPlus0ne -> toResultList(resultsPlus0ne, aggregation.getSkip(), aggregation.getLimit()))
+                .map(resultsPlus0ne -> toResultList(resultsPlus0ne, aggregation.getSkip(), aggregation.getLimit(),
+                        aggregation.getSort(), aggregation.hasCursor()))
                 .mapError(handleMongoExecutionTimeExceededException())
                 .log("findAll");
     }
 
+    @Override
+    public Source<String, NotUsed> stream(final PolicyRestrictedSearchAggregation aggregation) {
+        checkNotNull(aggregation, "aggregation");
+
+        return aggregation.stream(collection)
+                .map(doc -> doc.getString(PersistenceConstants.FIELD_ID))
+                .log("stream");
+    }
+
+    @Override
+    public Source<Long, NotUsed> estimateCount() {
+        // a count without filter is answered from the metadata of the collection
+        return Source.fromPublisher(collection.count())
+                .mapError(handleMongoExecutionTimeExceededException())
+                .log("estimateCount");
+    }
+
     @Override
     public Source<Long, NotUsed> count(final Query query) {
         checkNotNull(query, "query");
 
-        final BsonDocument queryFilter = getMongoFilter(query);
+        final QueryPlan plan = plan(query);
+        final BsonDocument queryFilter = plan.getFilter();
         log.debug("count with query filter <{}>.", queryFilter);
 
         final Bson filter = and(filterNotDeleted(), queryFilter);
@@ -167,6 +201,7 @@ public class MongoThingsSearchPersistence implements ThingsSearchPersistence {
                 .skip(query.getSkip())
                 .limit(query.getLimit())
                 .maxTime(maxQueryTime.getSeconds(), TimeUnit.SECONDS);
+        plan.getHint().ifPresent(countOptions::hint);
 
         return Source.fromPublisher(collection.count(filter, countOptions))
                 .mapError(handleMongoExecutionTimeExceededException())
@@ -177,61 +212,157 @@ public class MongoThingsSearchPersistence implements ThingsSearchPersistence {
     public Source<ResultList<String>, NotUsed> findAll(final Query query) {
         checkNotNull(query, "query");
 
-        final BsonDocument queryFilter = getMongoFilter(query);
+        final QueryPlan plan = plan(query);
+        final BsonDocument queryFilter = plan.getFilter();
         if (log.isDebugEnabled()) {
             log.debug("findAll with query filter <{}>.", queryFilter);
         }
 
-        final Bson filter = and(filterNotDeleted(), queryFilter);
-        final Optional<Bson> sortOptions = Optional.of(getMongoSort(query));
+        final MongoQuery mongoQuery = (MongoQuery) query;
+        final Optional<ThingsSearchCursor> cursor = mongoQuery.getCursor();
+        final Bson filter = cursor.isPresent()
+                ? and(filterNotDeleted(), queryFilter, cursor.get().toFilter())
+                : and(filterNotDeleted(), queryFilter);
+        final BsonDocument sort = ThingsSearchCursor.sortWithTiebreaker(mongoQuery.getSortOptionsAsBson());
 
         final int limit = query.getLimit();
         final int skip = query.getSkip();
-        final Bson projection = new Document(PersistenceConstants.FIELD_ID, 1);
+        final Bson projection = createProjection(sort);
 
-        return Source.fromPublisher(collection.find(filter, Document.class)
-                .sort(sortOptions.orElse(null))
+        return Source.fromPublisher(hint(collection.find(filter, Document.class), plan)
+                .sort(sort)
                 .limit(limit + 1)
                 .skip(skip)
                 .projection(projection)
                 .maxTime(maxQueryTime.getSeconds(), TimeUnit.SECONDS)
         )
-                .map(doc -> doc.getString(PersistenceConstants.FIELD_ID))
-                .fold(new ArrayList<String>(), (list, id) -> {
-                    list.add(id);
+                .fold(new ArrayList<Document>(), (list, doc) -> {
+                    list.add(doc);
                     return list;
                 })
-                .map(resultsPlus0ne -> toResultList(resultsPlus0ne, skip, limit))
+                .map(resultsPlus0ne -> toResultList(resultsPlus0ne, skip, limit, sort, cursor.isPresent()))
                 .mapError(handleMongoExecutionTimeExceededException())
                 .log("findAll");
     }
 
-    private ResultList<String> toResultList(final List<String> resultsPlus0ne, final int skip, final int limit) {
+    @Override
+    public Source<String, NotUsed> stream(final Query query) {
+        checkNotNull(query, "query");
+
+        final MongoQuery mongoQuery = (MongoQuery) query;
+        final QueryPlan plan = plan(query);
+        final Bson filter = mongoQuery.getCursor()
+                .map(cursor -> and(filterNotDeleted(), plan.getFilter(), cursor.toFilter()))
+                .orElseGet(() -> and(filterNotDeleted(), plan.getFilter()));
+        final BsonDocument sort = ThingsSearchCursor.sortWithTiebreaker(mongoQuery.getSortOptionsAsBson());
+
+        // no maxTime: the time to consume the stream is not bounded, the driver fetches batches on demand
+        return Source.fromPublisher(hint(collection.find(filter, Document.class), plan)
+                .sort(sort)
+                .projection(new Document(PersistenceConstants.FIELD_ID, 1))
+        )
+                .map(doc -> doc.getString(PersistenceConstants.FIELD_ID))
+                .log("stream");
+    }
+
+    @Override
+    public Source<Optional<List<JsonObject>>, NotUsed> project(final List<String> thingIds,
+            final IndexProjection projection, final Collection<String> authorizationSubjects) {
+
+        checkNotNull(thingIds, "thing IDs");
+        checkNotNull(projection, "projection");
+        checkNotNull(authorizationSubjects, "authorization subjects");
+
+        final Source<Map<String, Document>, NotUsed> thingDocuments =
+                findById(collection, IndexProjection.getThingsFilter(thingIds, authorizationSubjects),
+                        projection.getThingsProjection());
+        final Source<Map<String, Document>, NotUsed> grants = projection.getGrantsFilter(thingIds)
+                .map(grantsFilter -> findById(policiesCollection, grantsFilter, new Document()
+                        .append(PersistenceConstants.FIELD_GRANTED, 1)
+                        .append(PersistenceConstants.FIELD_REVOKED, 1)))
+                .orElseGet(() -> Source.single(Collections.<String, Document>emptyMap()));
+
+        return thingDocuments.zipWith(grants, (things, thingGrants) -> {
+            final List<JsonObject> projectedThings = new ArrayList<>(things.size());
+            for (final String thingId : thingIds) {
+                final Document thingDocument = things.get(thingId);
+                if (null != thingDocument) {
+                    final Optional<JsonObject> projectedThing =
+                            projection.project(thingDocument, thingGrants, authorizationSubjects);
+                    if (!projectedThing.isPresent()) {
+                        log.debug("Search index does not hold the exact values of <{}> for <{}>.", projection,
+                                thingId);
+                        return Optional.<List<JsonObject>>empty();
+                    }
+                    projectedThings.add(projectedThing.get());
+                }
+            }
+            return Optional.of(projectedThings);
+        })
+                .mapError(handleMongoExecutionTimeExceededException())
+                .log("project");
+    }
+
+    private Source<Map<String, Document>, NotUsed> findById(final MongoCollection<Document> mongoCollection,
+            final Bson filter, final Bson projection) {
+
+        return Source.fromPublisher(mongoCollection.find(filter, Document.class)
+                .projection(projection)
+                .maxTime(maxQueryTime.getSeconds(), TimeUnit.SECONDS)
+        )
+                .fold(new HashMap<String, Document>(), (map, doc) -> {
+                    map.put(doc.getString(PersistenceConstants.FIELD_ID), doc);
+                    return map;
+                })
+                .map(Collections::unmodifiableMap);
+    }
+
+    /*
+     * The values of the sort keys are needed to create the cursor of the next page.
+     */
+    private static Bson createProjection(final BsonDocument sort) {
+        final Document projection = new Document(PersistenceConstants.FIELD_ID, 1);
+        sort.keySet().forEach(sortKey -> projection.append(sortKey, 1));
+        return projection;
+    }
+
+    private ResultList<String> toResultList(final List<Document> resultsPlus0ne, final int skip, final int limit,
+            final BsonDocument sort, final boolean pagedByCursor) {
+
         log.debug("Creating paged ResultList from parameters: resultsPlusOne=<{}>,skip={},limit={}",
                 resultsPlus0ne, skip, limit);
 
         final ResultList<String> pagedResultList;
         if (resultsPlus0ne.size() <= limit) {
-            pagedResultList = new ResultListImpl<>(resultsPlus0ne, ResultList.NO_NEXT_PAGE);
+            pagedResultList = new ResultListImpl<>(toIds(resultsPlus0ne), ResultList.NO_NEXT_PAGE);
         } else {
             // MongoDB returned limit + 1 items. However only <limit> items are of interest per page.
             resultsPlus0ne.remove(limit);
-            final long nextPageOffset = (long) skip + limit;
-            pagedResultList = new ResultListImpl<>(resultsPlus0ne, nextPageOffset);
+            // pages requested by cursor cannot be continued by offset
+            final long nextPageOffset = pagedByCursor ? ResultList.NO_NEXT_PAGE : (long) skip + limit;
+            final String cursor = ThingsSearchCursor.encode(sort, resultsPlus0ne.get(limit - 1));
+            pagedResultList = new ResultListImpl<>(toIds(resultsPlus0ne), nextPageOffset, cursor);
         }
 
         log.debug("Returning paged ResultList: {}", pagedResultList);
         return pagedResultList;
     }
 
-    private static BsonDocument getMongoFilter(final Query query) {
-        return org.eclipse.ditto.services.utils.persistence.mongo.BsonUtil.toBsonDocument(
-                CreateBsonVisitor.apply(query.getCriteria()));
+    private static List<String> toIds(final List<Document> documents) {
+        final List<String> ids = new ArrayList<>(documents.size());
+        documents.forEach(doc -> ids.add(doc.getString(PersistenceConstants.FIELD_ID)));
+        return ids;
     }
 
-    private static Bson getMongoSort(final Query query) {
-        final MongoQuery mongoQuery = (MongoQuery) query;
-        return mongoQuery.getSortOptionsAsBson();
+    /*
+     * Queries reach the persistence only if they are executed by 'find'.
+     */
+    private QueryPlan plan(final Query query) {
+        return queryPlanner.plan(query.getCriteria(), false);
+    }
+
+    private static <T> FindPublisher<T> hint(final FindPublisher<T> findPublisher, final QueryPlan plan) {
+        return plan.getHint().map(findPublisher::hint).orElse(findPublisher);
     }
 
     private PartialFunction<Throwable, Throwable> handleMongoExecutionTimeExceededException() {
@@ -13,6 +13,7 @@ package org.eclipse.ditto.services.thingsearch.persistence.read;
 import java.time.Duration;
 import java.util.List;
 
+import org.bson.BsonDocument;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.eclipse.ditto.model.query.criteria.Criteria;
@@ -54,6 +55,20 @@ public interface PolicyRestrictedSearchAggregation {
      */
     Criteria getCriteria();
 
+    /**
+     * Returns the sort of the search results including the Thing ID as tiebreaker.
+     *
+     * @return the sort.
+     */
+    BsonDocument getSort();
+
+    /**
+     * Indicates whether this aggregation continues after the cursor of a previous result page.
+     *
+     * @return {@code true} if a cursor was given.
+     */
+    boolean hasCursor();
+
     /**
      * Executes this aggregation on the specified collection.
      *
@@ -63,4 +78,14 @@ public interface PolicyRestrictedSearchAggregation {
      */
     Source<Document, NotUsed> execute(MongoCollection<Document> collection, final Duration maxTime);
 
+    /**
+     * Executes this aggregation on the specified collection with a server-side cursor: the results are fetched batch
+     * by batch as they are requested downstream instead of being collected into one reply.
+     *
+     * @param collection the MongoDB collection to be aggregated.
+     * @return source of the results.
+     * @throws NullPointerException if {@code collection} is {@code null}.
+     */
+    Source<Document, NotUsed> stream(MongoCollection<Document> collection);
+
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.read;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.bson.BsonDocument;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.model.query.criteria.Criteria;
+
+/**
+ * The result of planning a search by the {@link QueryPlanner}: the normalized criteria, the MongoDB filter created
+ * from them, the way the search is executed and an optional index hint.
+ */
+@Immutable
+public final class QueryPlan {
+
+    private final Criteria criteria;
+    private final BsonDocument filter;
+    private final Path path;
+    @Nullable private final BsonDocument hint;
+    private final boolean reordered;
+
+    QueryPlan(final Criteria criteria, final BsonDocument filter, final Path path,
+            @Nullable final BsonDocument hint, final boolean reordered) {
+
+        this.criteria = criteria;
+        this.filter = filter;
+        this.path = path;
+        this.hint = hint;
+        this.reordered = reordered;
+    }
+
+    /**
+     * Returns the normalized criteria.
+     *
+     * @return the criteria.
+     */
+    public Criteria getCriteria() {
+        return criteria;
+    }
+
+    /**
+     * Returns the MongoDB filter of the normalized criteria for the {@code find} path. It does not contain the filter
+     * of not-deleted Things.
+     *
+     * @return the filter.
+     */
+    public BsonDocument getFilter() {
+        return filter;
+    }
+
+    /**
+     * Returns the way the search is executed.
+     *
+     * @return the path.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the index the {@code find} path should use.
+     *
+     * @return the index hint or an empty Optional if MongoDB is to choose the index.
+     */
+    public Optional<BsonDocument> getHint() {
+        return Optional.ofNullable(hint);
+    }
+
+    /**
+     * Indicates whether the normalization changed the criteria.
+     *
+     * @return {@code true} if the criteria were simplified or their conjuncts reordered.
+     */
+    public boolean isReordered() {
+        return reordered;
+    }
+
+    /**
+     * Returns the plan as JSON object to explain it to a user.
+     *
+     * @return the JSON object.
+     */
+    public JsonObject toJson() {
+        final JsonObjectBuilder builder = JsonFactory.newObjectBuilder()
+                .set("path", path.toString())
+                .set("reordered", reordered)
+                .set("filter", JsonFactory.newObject(filter.toJson()));
+        getHint().ifPresent(index -> builder.set("hint", JsonFactory.newObject(index.toJson())));
+        return builder.build();
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final QueryPlan that = (QueryPlan) o;
+        return reordered == that.reordered &&
+                Objects.equals(criteria, that.criteria) &&
+                Objects.equals(filter, that.filter) &&
+                path == that.path &&
+                Objects.equals(hint, that.hint);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(criteria, filter, path, hint, reordered);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "filter=" + filter +
+                ", path=" + path +
+                ", hint=" + hint +
+                ", reordered=" + reordered +
+                "]";
+    }
+
+    /**
+     * The ways to execute a search.
+     */
+    public enum Path {
+
+        /**
+         * A plain {@code find} on the Things collection, authorized by ACL and global reads.
+         */
+        FIND("find"),
+
+        /**
+         * A {@link PolicyRestrictedSearchAggregation} which looks up the policy index to check the grants of the
+         * fields the filter refers to.
+         */
+        AGGREGATION("aggregation");
+
+        private final String name;
+
+        Path(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+}
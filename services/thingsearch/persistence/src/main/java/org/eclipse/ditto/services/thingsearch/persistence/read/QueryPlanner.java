@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.read;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.eclipse.ditto.model.query.criteria.Criteria;
+import org.eclipse.ditto.model.query.criteria.CriteriaFactory;
+import org.eclipse.ditto.model.query.criteria.CriteriaFactoryImpl;
+import org.eclipse.ditto.model.query.criteria.Predicate;
+import org.eclipse.ditto.model.query.criteria.visitors.CriteriaVisitor;
+import org.eclipse.ditto.model.query.criteria.visitors.PredicateVisitor;
+import org.eclipse.ditto.model.query.expression.ExistsFieldExpression;
+import org.eclipse.ditto.model.query.expression.FieldExpressionUtil;
+import org.eclipse.ditto.model.query.expression.FilterFieldExpression;
+import org.eclipse.ditto.model.query.expression.SimpleFieldExpressionImpl;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexFields;
+import org.eclipse.ditto.services.thingsearch.persistence.read.criteria.visitors.CreateBsonVisitor;
+import org.eclipse.ditto.services.thingsearch.persistence.read.criteria.visitors.IsPolicyLookupNeededVisitor;
+import org.eclipse.ditto.services.utils.persistence.mongo.BsonUtil;
+
+/**
+ * Plans the execution of a search. The planner
+ * <ul>
+ * <li>normalizes the criteria: nested conjunctions and disjunctions are flattened, duplicates and neutral elements
+ * are removed, junctions of a single element are replaced by the element and disjunctions of equalities on the same
+ * field are merged into one {@code in},</li>
+ * <li>orders the conjuncts by their expected selectivity, so that equalities on the Thing ID, the namespace and typed
+ * index fields come first and negations last,</li>
+ * <li>chooses between the {@code find} and the aggregation path and</li>
+ * <li>hints the index of the Thing ID if the criteria restrict the Thing ID to a list of values.</li>
+ * </ul>
+ * MongoDB itself does not depend on the order of the conjuncts of a {@code $and} when choosing an index; the order
+ * mainly matters for the match stages of the aggregation and for the readability of the explained plan. Only indices
+ * which are not partial are hinted, as hinting a partial index may yield incomplete results.
+ */
+@Immutable
+public final class QueryPlanner {
+
+    private static final CriteriaFactory CRITERIA_FACTORY = new CriteriaFactoryImpl();
+    private static final BsonDocument ID_INDEX_HINT = new BsonDocument(FieldExpressionUtil.FIELD_ID, new BsonInt32(1));
+
+    private final TypedIndexFields typedIndexFields;
+
+    private QueryPlanner(final TypedIndexFields typedIndexFields) {
+        this.typedIndexFields = typedIndexFields;
+    }
+
+    /**
+     * Returns a new {@code QueryPlanner}.
+     *
+     * @param typedIndexFields the declared typed index fields whose equalities are ordered first.
+     * @return the planner.
+     * @throws NullPointerException if {@code typedIndexFields} is {@code null}.
+     */
+    public static QueryPlanner of(final TypedIndexFields typedIndexFields) {
+        return new QueryPlanner(checkNotNull(typedIndexFields, "typed index fields"));
+    }
+
+    /**
+     * Plans the search for the given criteria.
+     *
+     * @param criteria the criteria of the search.
+     * @param authorizedByPolicies whether the search is authorized by policies, i.e. neither with API version 1 nor
+     * without authorization.
+     * @return the plan.
+     * @throws NullPointerException if {@code criteria} is {@code null}.
+     */
+    public QueryPlan plan(final Criteria criteria, final boolean authorizedByPolicies) {
+        checkNotNull(criteria, "criteria");
+
+        final Term normalizedTerm = criteria.accept(new NormalizeVisitor());
+        final Criteria normalizedCriteria = normalizedTerm.criteria;
+        final boolean policyLookupNeeded = normalizedCriteria.accept(new IsPolicyLookupNeededVisitor());
+        final QueryPlan.Path path = authorizedByPolicies && policyLookupNeeded
+                ? QueryPlan.Path.AGGREGATION
+                : QueryPlan.Path.FIND;
+        final BsonDocument filter =
+                BsonUtil.toBsonDocument(CreateBsonVisitor.apply(normalizedCriteria, typedIndexFields));
+        final BsonDocument hint = restrictsThingIds(normalizedTerm) ? ID_INDEX_HINT.clone() : null;
+
+        return new QueryPlan(normalizedCriteria, filter, path, hint, !criteria.equals(normalizedCriteria));
+    }
+
+    /**
+     * Normalizes the given criteria without changing the Things they match.
+     *
+     * @param criteria the criteria to normalize.
+     * @return the normalized criteria.
+     * @throws NullPointerException if {@code criteria} is {@code null}.
+     */
+    public Criteria normalize(final Criteria criteria) {
+        return checkNotNull(criteria, "criteria").accept(new NormalizeVisitor()).criteria;
+    }
+
+    private static boolean restrictsThingIds(final Term term) {
+        final Stream<Term> conjuncts = term.kind == Kind.AND ? term.children.stream() : Stream.of(term);
+        return conjuncts.anyMatch(Term::isThingIdEquality);
+    }
+
+    /**
+     * The kinds of criteria in the order in which they are checked within a conjunction. Conjunctions and the
+     * neutral element never occur within a normalized conjunction.
+     */
+    private enum Kind {
+        KEY_EQUALITY,
+        EQUALITY,
+        EXISTS,
+        RANGE,
+        LIKE,
+        NOT_EQUAL,
+        OR,
+        NOR,
+        AND,
+        ANY
+    }
+
+    private static final class Term {
+
+        private final Criteria criteria;
+        private final Kind kind;
+        private final List<Term> children;
+        @Nullable private final FilterFieldExpression fieldExpression;
+        @Nullable private final List<?> equalValues;
+
+        private Term(final Criteria criteria, final Kind kind, final List<Term> children,
+                @Nullable final FilterFieldExpression fieldExpression, @Nullable final List<?> equalValues) {
+
+            this.criteria = criteria;
+            this.kind = kind;
+            this.children = children;
+            this.fieldExpression = fieldExpression;
+            this.equalValues = equalValues;
+        }
+
+        private static Term junction(final Criteria criteria, final Kind kind, final List<Term> children) {
+            return new Term(criteria, kind, children, null, null);
+        }
+
+        private boolean isThingIdEquality() {
+            return equalValues != null && fieldExpression instanceof SimpleFieldExpressionImpl &&
+                    FieldExpressionUtil.FIELD_ID.equals(((SimpleFieldExpressionImpl) fieldExpression).getFieldName());
+        }
+
+    }
+
+    private final class NormalizeVisitor implements CriteriaVisitor<Term> {
+
+        @Override
+        public Term visitAnd(final Stream<Term> conjuncts) {
+            final List<Term> terms = distinct(flatten(conjuncts, Kind.AND).stream()
+                    .filter(term -> term.kind != Kind.ANY)
+                    .collect(Collectors.toList()));
+            if (terms.isEmpty()) {
+                return visitAny();
+            } else if (terms.size() == 1) {
+                return terms.get(0);
+            }
+            // stable sort: conjuncts of the same kind keep the order of the filter
+            terms.sort(Comparator.comparing(term -> term.kind));
+            return Term.junction(CRITERIA_FACTORY.and(toCriteria(terms)), Kind.AND, terms);
+        }
+
+        @Override
+        public Term visitAny() {
+            return Term.junction(CRITERIA_FACTORY.any(), Kind.ANY, Collections.emptyList());
+        }
+
+        @Override
+        public Term visitExists(final ExistsFieldExpression fieldExpression) {
+            return Term.junction(CRITERIA_FACTORY.existsCriteria(fieldExpression), Kind.EXISTS,
+                    Collections.emptyList());
+        }
+
+        @Override
+        public Term visitField(final FilterFieldExpression fieldExpression, final Predicate predicate) {
+            final Optional<List<?>> equalValues = predicate.accept(GetEqualValuesVisitor.INSTANCE);
+            final Kind kind;
+            if (equalValues.isPresent()) {
+                kind = isKeyField(fieldExpression, predicate) ? Kind.KEY_EQUALITY : Kind.EQUALITY;
+            } else {
+                kind = predicate.accept(GetKindVisitor.INSTANCE);
+            }
+            return new Term(CRITERIA_FACTORY.fieldCriteria(fieldExpression, predicate), kind,
+                    Collections.emptyList(), fieldExpression, equalValues.orElse(null));
+        }
+
+        @Override
+        public Term visitNor(final Stream<Term> negativeDisjoints) {
+            final List<Term> terms = distinct(negativeDisjoints.collect(Collectors.toList()));
+            return Term.junction(CRITERIA_FACTORY.nor(toCriteria(terms)), Kind.NOR, terms);
+        }
+
+        @Override
+        public Term visitOr(final Stream<Term> disjoints) {
+            final List<Term> flattened = flatten(disjoints, Kind.OR);
+            if (flattened.stream().anyMatch(term -> term.kind == Kind.ANY)) {
+                return visitAny();
+            }
+            final List<Term> terms = distinct(mergeEqualities(flattened));
+            if (terms.size() == 1) {
+                return terms.get(0);
+            }
+            return Term.junction(CRITERIA_FACTORY.or(toCriteria(terms)), Kind.OR, terms);
+        }
+
+        private boolean isKeyField(final FilterFieldExpression fieldExpression, final Predicate predicate) {
+            if (fieldExpression instanceof SimpleFieldExpressionImpl) {
+                // Thing ID and namespace
+                return true;
+            }
+            return typedIndexFields.getTypedIndexFilter(fieldExpression, predicate).isPresent();
+        }
+
+        /*
+         * Merges equalities on the same field within a disjunction into one "in" at the position of the first one.
+         */
+        private List<Term> mergeEqualities(final List<Term> disjoints) {
+            final List<Term> merged = new ArrayList<>(disjoints.size());
+            final List<Term> consumed = new ArrayList<>();
+            for (final Term disjoint : disjoints) {
+                if (consumed.stream().anyMatch(term -> term == disjoint)) {
+                    continue;
+                }
+                if (disjoint.equalValues == null) {
+                    merged.add(disjoint);
+                    continue;
+                }
+                final List<Term> sameField = disjoints.stream()
+                        .filter(term -> term.equalValues != null && disjoint.fieldExpression != null &&
+                                disjoint.fieldExpression.equals(term.fieldExpression))
+                        .collect(Collectors.toList());
+                if (sameField.size() < 2) {
+                    merged.add(disjoint);
+                } else {
+                    final List<Object> values = new ArrayList<>();
+                    sameField.forEach(term -> term.equalValues.stream()
+                            .filter(value -> !values.contains(value))
+                            .forEach(values::add));
+                    consumed.addAll(sameField);
+                    merged.add(visitField(disjoint.fieldExpression, CRITERIA_FACTORY.in(values)));
+                }
+            }
+            return merged;
+        }
+
+    }
+
+    private static List<Term> flatten(final Stream<Term> terms, final Kind junctionKind) {
+        return terms.flatMap(term -> term.kind == junctionKind ? term.children.stream() : Stream.of(term))
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Criteria do not have a hash code consistent with equals, thus duplicates are removed by equals only.
+     */
+    private static List<Term> distinct(final List<Term> terms) {
+        final List<Term> distinctTerms = new ArrayList<>(terms.size());
+        for (final Term term : terms) {
+            if (distinctTerms.stream().noneMatch(distinctTerm -> distinctTerm.criteria.equals(term.criteria))) {
+                distinctTerms.add(term);
+            }
+        }
+        return distinctTerms;
+    }
+
+    private static List<Criteria> toCriteria(final List<Term> terms) {
+        return terms.stream().map(term -> term.criteria).collect(Collectors.toList());
+    }
+
+    private static final class GetEqualValuesVisitor implements PredicateVisitor<Optional<List<?>>> {
+
+        private static final GetEqualValuesVisitor INSTANCE = new GetEqualValuesVisitor();
+
+        @Override
+        public Optional<List<?>> visitEq(@Nullable final Object value) {
+            return Optional.of(Collections.singletonList(value));
+        }
+
+        @Override
+        public Optional<List<?>> visitGe(final Object value) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<List<?>> visitGt(final Object value) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<List<?>> visitIn(final List<?> values) {
+            return Optional.of(values);
+        }
+
+        @Override
+        public Optional<List<?>> visitLe(final Object value) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<List<?>> visitLike(final String value) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<List<?>> visitLt(final Object value) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<List<?>> visitNe(final Object value) {
+            return Optional.empty();
+        }
+
+    }
+
+    private static final class GetKindVisitor implements PredicateVisitor<Kind> {
+
+        private static final GetKindVisitor INSTANCE = new GetKindVisitor();
+
+        @Override
+        public Kind visitEq(final Object value) {
+            return Kind.EQUALITY;
+        }
+
+        @Override
+        public Kind visitGe(final Object value) {
+            return Kind.RANGE;
+        }
+
+        @Override
+        public Kind visitGt(final Object value) {
+            return Kind.RANGE;
+        }
+
+        @Override
+        public Kind visitIn(final List<?> values) {
+            return Kind.EQUALITY;
+        }
+
+        @Override
+        public Kind visitLe(final Object value) {
+            return Kind.RANGE;
+        }
+
+        @Override
+        public Kind visitLike(final String value) {
+            return Kind.LIKE;
+        }
+
+        @Override
+        public Kind visitLt(final Object value) {
+            return Kind.RANGE;
+        }
+
+        @Override
+        public Kind visitNe(final Object value) {
+            return Kind.NOT_EQUAL;
+        }
+
+    }
+
+}
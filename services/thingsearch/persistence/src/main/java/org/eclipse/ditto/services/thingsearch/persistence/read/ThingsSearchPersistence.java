@@ -10,8 +10,12 @@
  */
 package org.eclipse.ditto.services.thingsearch.persistence.read;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.model.query.Query;
 import org.eclipse.ditto.services.models.thingsearch.SearchNamespaceReportResult;
 import org.eclipse.ditto.services.thingsearch.common.model.ResultList;
@@ -49,6 +53,16 @@ public interface ThingsSearchPersistence {
      */
     Source<ResultList<String>, NotUsed> findAll(PolicyRestrictedSearchAggregation policyRestrictedSearchAggregation);
 
+    /**
+     * Returns the IDs of all found documents one after another without paging. The source reads from a single
+     * database cursor as fast as it is consumed; skip and limit of the aggregation are ignored.
+     *
+     * @param policyRestrictedSearchAggregation the policyRestrictedSearchAggregation for matching.
+     * @return an {@link Source} which emits the IDs in the sort order of the aggregation.
+     * @throws NullPointerException if {@code policyRestrictedSearchAggregation} is {@code null}.
+     */
+    Source<String, NotUsed> stream(PolicyRestrictedSearchAggregation policyRestrictedSearchAggregation);
+
     /**
      * Generate a report of things per Namespace.
      *
@@ -56,6 +70,14 @@ public interface ThingsSearchPersistence {
      */
     Source<SearchNamespaceReportResult, NotUsed> generateNamespaceCountReport();
 
+    /**
+     * Returns an estimation of the number of Things in the search index from the statistics of the collection without
+     * scanning any index. The estimation includes Things marked as deleted which are not yet physically deleted.
+     *
+     * @return an {@link Source} which emits the estimated count.
+     */
+    Source<Long, NotUsed> estimateCount();
+
     /**
      * Returns the count of documents found by the given {@code query}.
      *
@@ -74,4 +96,28 @@ public interface ThingsSearchPersistence {
      */
     Source<ResultList<String>, NotUsed> findAll(Query query);
 
+    /**
+     * Returns the IDs of all found documents one after another without paging. The source reads from a single
+     * database cursor as fast as it is consumed; skip and limit of the query are ignored.
+     *
+     * @param query the query for matching.
+     * @return an {@link Source} which emits the IDs in the sort order of the query.
+     * @throws NullPointerException if {@code query} is {@code null}.
+     */
+    Source<String, NotUsed> stream(Query query);
+
+    /**
+     * Reads the selected fields of the given Things from the search index instead of retrieving the Things.
+     *
+     * @param thingIds the IDs of the Things in the order of the search result.
+     * @param projection the selected fields.
+     * @param authorizationSubjects the authorization subjects of the requester.
+     * @return an {@link Source} which emits the projected Things still visible to the requester in the order of
+     * {@code thingIds}, or an empty Optional if the search index does not hold the exact values of the selected
+     * fields of all Things.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    Source<Optional<List<JsonObject>>, NotUsed> project(List<String> thingIds, IndexProjection projection,
+            Collection<String> authorizationSubjects);
+
 }
@@ -20,6 +20,7 @@ import org.eclipse.ditto.model.query.criteria.Predicate;
 import org.eclipse.ditto.model.query.criteria.visitors.CriteriaVisitor;
 import org.eclipse.ditto.model.query.expression.ExistsFieldExpression;
 import org.eclipse.ditto.model.query.expression.FilterFieldExpression;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexFields;
 import org.eclipse.ditto.services.thingsearch.persistence.read.expression.visitors.GetExistsBsonVisitor;
 import org.eclipse.ditto.services.thingsearch.persistence.read.expression.visitors.GetFilterBsonVisitor;
 
@@ -30,8 +31,10 @@ import com.mongodb.client.model.Filters;
  */
 public class CreateBsonVisitor implements CriteriaVisitor<Bson> {
 
-    private CreateBsonVisitor() {
-        // only internally instantiable
+    private final TypedIndexFields typedIndexFields;
+
+    private CreateBsonVisitor(final TypedIndexFields typedIndexFields) {
+        this.typedIndexFields = typedIndexFields;
     }
 
     /**
@@ -41,7 +44,20 @@ public class CreateBsonVisitor implements CriteriaVisitor<Bson> {
      * @return the Bson object
      */
     public static Bson apply(final Criteria criteria) {
-        return criteria.accept(new CreateBsonVisitor());
+        return apply(criteria, TypedIndexFields.empty());
+    }
+
+    /**
+     * Creates the Bson object used for the PolicyRestrictedSearchAggregation. Field-based criteria on typed index
+     * fields additionally filter the nested field of the typed index field, which does not change the result but
+     * enables MongoDB to use the partial index of the typed index field.
+     *
+     * @param criteria the criteria to create Bson for.
+     * @param typedIndexFields the declared typed index fields.
+     * @return the Bson object
+     */
+    public static Bson apply(final Criteria criteria, final TypedIndexFields typedIndexFields) {
+        return criteria.accept(new CreateBsonVisitor(typedIndexFields));
     }
 
     @Override
@@ -61,7 +77,11 @@ public class CreateBsonVisitor implements CriteriaVisitor<Bson> {
 
     @Override
     public Bson visitField(final FilterFieldExpression fieldExpression, final Predicate predicate) {
-        return GetFilterBsonVisitor.apply(fieldExpression, predicate.accept(CreateBsonPredicateVisitor.getInstance()));
+        final Bson filter =
+                GetFilterBsonVisitor.apply(fieldExpression, predicate.accept(CreateBsonPredicateVisitor.getInstance()));
+        return typedIndexFields.getTypedIndexFilter(fieldExpression, predicate)
+                .map(typedIndexFilter -> Filters.and(filter, typedIndexFilter))
+                .orElse(filter);
     }
 
     @Override
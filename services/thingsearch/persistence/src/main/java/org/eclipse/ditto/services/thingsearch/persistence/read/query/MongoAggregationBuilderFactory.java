@@ -14,8 +14,10 @@ import javax.annotation.concurrent.Immutable;
 
 import org.eclipse.ditto.model.query.criteria.Criteria;
 import org.eclipse.ditto.services.base.config.LimitsConfigReader;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexFields;
 import org.eclipse.ditto.services.thingsearch.persistence.read.AggregationBuilder;
 import org.eclipse.ditto.services.thingsearch.persistence.read.AggregationBuilderFactory;
+import org.eclipse.ditto.services.thingsearch.persistence.read.QueryPlanner;
 
 /**
  * Mongo implementation for {@link AggregationBuilderFactory}.
@@ -24,9 +26,12 @@ import org.eclipse.ditto.services.thingsearch.persistence.read.AggregationBuilde
 public final class MongoAggregationBuilderFactory implements AggregationBuilderFactory {
 
     private final LimitsConfigReader limitsConfigReader;
+    private final QueryPlanner queryPlanner;
 
     public MongoAggregationBuilderFactory(final LimitsConfigReader limitsConfigReader) {
         this.limitsConfigReader = limitsConfigReader;
+        // the aggregation does not filter typed index fields
+        queryPlanner = QueryPlanner.of(TypedIndexFields.empty());
     }
 
     public static AggregationBuilder newBuilder(final LimitsConfigReader limitsConfigReader) {
@@ -35,12 +40,22 @@ public final class MongoAggregationBuilderFactory implements AggregationBuilderF
 
     @Override
     public AggregationBuilder newBuilder(final Criteria criteria) {
-        return new PolicyRestrictedMongoSearchAggregation.Builder(limitsConfigReader).filterCriteria(criteria);
+        return new PolicyRestrictedMongoSearchAggregation.Builder(limitsConfigReader)
+                .filterCriteria(queryPlanner.normalize(criteria));
     }
 
     @Override
     public AggregationBuilder newCountBuilder(final Criteria criteria) {
-        return new PolicyRestrictedMongoSearchAggregation.Builder(limitsConfigReader).filterCriteria(criteria).count(true);
+        return new PolicyRestrictedMongoSearchAggregation.Builder(limitsConfigReader)
+                .filterCriteria(queryPlanner.normalize(criteria))
+                .count(true);
+    }
+
+    @Override
+    public AggregationBuilder newStreamBuilder(final Criteria criteria) {
+        return new PolicyRestrictedMongoSearchAggregation.Builder(limitsConfigReader)
+                .filterCriteria(queryPlanner.normalize(criteria))
+                .stream(true);
     }
 
 }
@@ -16,7 +16,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 import org.bson.conversions.Bson;
@@ -39,6 +41,7 @@ public final class MongoQuery implements Query {
     private final List<SortOption> sortOptions;
     private final int limit;
     private final int skip;
+    @Nullable private final ThingsSearchCursor cursor;
 
     /**
      * Constructor.
@@ -53,10 +56,29 @@ public final class MongoQuery implements Query {
             final int limit,
             final int skip) {
 
+        this(criteria, sortOptions, limit, skip, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param criteria the criteria
+     * @param sortOptions the SortOptions
+     * @param limit the limit param
+     * @param skip the skip param
+     * @param cursor the cursor of the previous page or {@code null}
+     */
+    public MongoQuery(final Criteria criteria,
+            final List<SortOption> sortOptions,
+            final int limit,
+            final int skip,
+            @Nullable final ThingsSearchCursor cursor) {
+
         this.criteria = checkNotNull(criteria, "criterion");
         this.sortOptions = Collections.unmodifiableList(new ArrayList<>(sortOptions));
         this.limit = limit;
         this.skip = skip;
+        this.cursor = cursor;
     }
 
     @Override
@@ -79,6 +101,13 @@ public final class MongoQuery implements Query {
         return skip;
     }
 
+    /**
+     * @return the cursor of the previous page, if this query continues a previous query.
+     */
+    public Optional<ThingsSearchCursor> getCursor() {
+        return Optional.ofNullable(cursor);
+    }
+
     /**
      * Gets the SortOptions as {@link Bson}.
      *
@@ -111,12 +140,13 @@ public final class MongoQuery implements Query {
         return limit == that.limit &&
                 skip == that.skip &&
                 Objects.equals(criteria, that.criteria) &&
-                Objects.equals(sortOptions, that.sortOptions);
+                Objects.equals(sortOptions, that.sortOptions) &&
+                Objects.equals(cursor, that.cursor);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(criteria, sortOptions, limit, skip);
+        return Objects.hash(criteria, sortOptions, limit, skip, cursor);
     }
 
     @Override
@@ -126,6 +156,7 @@ public final class MongoQuery implements Query {
                 ", sortOptions=" + sortOptions +
                 ", limit=" + limit +
                 ", skip=" + skip +
+                ", cursor=" + cursor +
                 "]";
     }
 
@@ -15,8 +15,10 @@ import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
+import org.bson.conversions.Bson;
 import org.eclipse.ditto.model.query.Query;
 import org.eclipse.ditto.model.query.QueryBuilder;
 import org.eclipse.ditto.model.query.SortOption;
@@ -45,6 +47,7 @@ final class MongoQueryBuilder implements QueryBuilder {
     private int limit;
     private int skip;
     private List<SortOption> sortOptions;
+    @Nullable private ThingsSearchCursor cursor;
 
     private MongoQueryBuilder(final Criteria criteria, final int maxLimit, final int defaultLimit) {
         this.criteria = checkNotNull(criteria, "criteria");
@@ -94,9 +97,26 @@ final class MongoQueryBuilder implements QueryBuilder {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The cursor is validated against the sort options and the skip value set so far.
+     * </p>
+     */
+    @Override
+    public QueryBuilder cursor(final String cursor) {
+        checkNotNull(cursor, "cursor");
+        if (DEFAULT_SKIP != skip) {
+            throw new IllegalArgumentException("A cursor cannot be combined with an offset.");
+        }
+        final Bson sort = new MongoQuery(criteria, sortOptions, limit, skip).getSortOptionsAsBson();
+        this.cursor = ThingsSearchCursor.decode(cursor).validate(ThingsSearchCursor.sortWithTiebreaker(sort));
+        return this;
+    }
+
     @Override
     public Query build() {
-        return new MongoQuery(criteria, sortOptions, limit, skip);
+        return new MongoQuery(criteria, sortOptions, limit, skip, cursor);
     }
 
 }
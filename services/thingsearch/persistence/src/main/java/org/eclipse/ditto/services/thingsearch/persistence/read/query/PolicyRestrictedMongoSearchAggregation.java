@@ -62,6 +62,8 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.bson.BsonArray;
 import org.bson.BsonBoolean;
 import org.bson.BsonDocument;
@@ -116,7 +118,6 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
     private static final Bson GROUP_STAGE = createGroupStage();
     private static final Bson GROUPED_ID_PROJECT_STAGE = createGroupedIdProjectStage();
     private static final Bson PROJECTION_STAGE_1 = createFirstProjectionStage();
-    private static final Bson PROJECTION_STAGE_2 = createSecondProjectionStage();
     private static final Bson UNWIND_STAGE_1 = unwind(FIELD_INTERNAL_VARIABLE);
     private static final Bson UNWIND_STAGE_2 = createSecondUnwindStage();
     private static final Bson LOOKUP_STAGE =
@@ -126,6 +127,8 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
     private final int skip;
     private final int limit;
     private final Criteria filterCriteria;
+    private final BsonDocument sort;
+    private final boolean cursor;
 
     private PolicyRestrictedMongoSearchAggregation(final Builder builder) {
         final boolean isSudo = builder.sudo;
@@ -163,8 +166,11 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
         pipeline.add(GROUP_STAGE);
         pipeline.add(GROUPED_ID_PROJECT_STAGE);
 
-        // filter out mismatched results after computing view
-        final Bson match4 = match(CreateBsonVisitor.apply(builder.filterCriteria));
+        // the thing ID as tiebreaker makes the order and thereby the cursor of the next page unique
+        final BsonDocument sortWithTiebreaker = getSortWithTiebreaker(builder.sortOptions);
+
+        // filter out mismatched results after computing view and continue after the cursor of the previous page
+        final Bson match4 = match(createQuaternaryMatchFilter(builder.filterCriteria, builder.cursor));
         pipeline.add(match4);
 
         // sort results after false positives are filtered out
@@ -172,18 +178,26 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
         // Due to MongoDB issue SERVER-7568:
         // Sort stage MUST be after some UNWIND or PROJECT---otherwise MongoDB 3.2/3.4 carries out incorrect
         // optimization and iterates through an entire index before applying the filter match1.
-        addSortingStage(pipeline,
-                builder.sortOptions.isEmpty() ? DEFAULT_SORT_OPTIONS : builder.sortOptions, builder.count);
+        addSortingStage(pipeline, sortWithTiebreaker, builder.count);
 
-        // add skip & limit to reduce aggregation result size limit problem
-        addSkipAndLimit(pipeline, builder.skip, builder.limit, builder.count);
-        addProjectionStage2IfCount(pipeline, builder.count);
+        // add skip & limit to reduce aggregation result size limit problem; streams are limited by the consumer
+        addSkipAndLimit(pipeline, builder.skip, builder.limit, builder.count || builder.stream);
+        addProjectionStage2IfCount(pipeline, sortWithTiebreaker, builder.count);
         addCountStage(pipeline, builder.count);
 
         aggregationPipeline = pipeline;
         skip = builder.skip;
         limit = builder.limit;
         filterCriteria = builder.filterCriteria;
+        sort = sortWithTiebreaker;
+        cursor = null != builder.cursor;
+    }
+
+    private static Bson createQuaternaryMatchFilter(final Criteria filterCriteria,
+            @Nullable final ThingsSearchCursor cursor) {
+
+        final Bson filter = CreateBsonVisitor.apply(filterCriteria);
+        return null != cursor ? and(filter, cursor.toFilter()) : filter;
     }
 
     private static Bson createGroupStage() {
@@ -225,17 +239,18 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
     private static void addSkipAndLimit(final Collection<Bson> pipeline,
             final int skip,
             final int limit,
-            final boolean isCount) {
+            final boolean isUnlimited) {
 
-        if (!isCount) {
+        if (!isUnlimited) {
             pipeline.add(Aggregates.skip(skip));
             pipeline.add(Aggregates.limit(limit + 1));
         }
     }
 
-    private static void addProjectionStage2IfCount(final Collection<Bson> pipeline, final boolean isCount) {
+    private static void addProjectionStage2IfCount(final Collection<Bson> pipeline, final BsonDocument sort,
+            final boolean isCount) {
         if (!isCount) {
-            pipeline.add(PROJECTION_STAGE_2);
+            pipeline.add(createSecondProjectionStage(sort));
         }
     }
 
@@ -256,13 +271,17 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
                 : criteriaFactory.fieldCriteria(global, authorizationSubjectsPredicate));
     }
 
-    private static void addSortingStage(final Collection<Bson> pipeline, final Collection<SortOption> sortOptions,
-            final boolean isCount) {
-        if (!isCount && !sortOptions.isEmpty()) {
-            pipeline.add(sort(getSortOptionsAsBson(sortOptions)));
+    private static void addSortingStage(final Collection<Bson> pipeline, final Bson sort, final boolean isCount) {
+        if (!isCount) {
+            pipeline.add(sort(sort));
         }
     }
 
+    private static BsonDocument getSortWithTiebreaker(final List<SortOption> sortOptions) {
+        return ThingsSearchCursor.sortWithTiebreaker(
+                getSortOptionsAsBson(sortOptions.isEmpty() ? DEFAULT_SORT_OPTIONS : sortOptions));
+    }
+
     private static Bson getSortOptionsAsBson(final Iterable<SortOption> sortOptions) {
         final List<Bson> sortings = new ArrayList<>();
 
@@ -344,8 +363,11 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
         return match(and(authorization, filterNotDeleted(), CreateBsonVisitor.apply(filterCriteria)));
     }
 
-    private static Bson createSecondProjectionStage() {
-        return project(new BsonDocument().append(FIELD_ID, BsonBoolean.TRUE));
+    private static Bson createSecondProjectionStage(final BsonDocument sort) {
+        // the values of the sort keys are needed to create the cursor of the next page
+        final BsonDocument projection = new BsonDocument().append(FIELD_ID, BsonBoolean.TRUE);
+        sort.keySet().forEach(sortKey -> projection.append(sortKey, BsonBoolean.TRUE));
+        return project(projection);
     }
 
     private static Bson createSecondUnwindStage() {
@@ -372,6 +394,16 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
         return filterCriteria;
     }
 
+    @Override
+    public BsonDocument getSort() {
+        return sort;
+    }
+
+    @Override
+    public boolean hasCursor() {
+        return cursor;
+    }
+
     @Override
     public Source<Document, NotUsed> execute(final MongoCollection<Document> collection, final Duration maxTime) {
         checkNotNull(collection, "collection to be aggregated");
@@ -385,6 +417,18 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
         return Source.<Document>fromPublisher(publisher);
     }
 
+    @Override
+    public Source<Document, NotUsed> stream(final MongoCollection<Document> collection) {
+        checkNotNull(collection, "collection to be aggregated");
+
+        // the driver fetches batches of the size requested by the subscriber, i.e. demand of the stream
+        final Publisher<Document> publisher = collection.aggregate(aggregationPipeline)
+                .allowDiskUse(true)
+                .useCursor(true);
+
+        return Source.<Document>fromPublisher(publisher);
+    }
+
     /**
      * Pretty-prints the aggregation pipeline.
      *
@@ -403,6 +447,7 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
                 "aggregationPipeline=" + aggregationPipeline +
                 ", skip=" + skip +
                 ", limit=" + limit +
+                ", sort=" + sort +
                 "]";
     }
 
@@ -416,7 +461,9 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
         private List<SortOption> sortOptions = Collections.emptyList();
         private int limit;
         private int skip = 0;
+        @Nullable private ThingsSearchCursor cursor;
         private boolean count = false;
+        private boolean stream = false;
         private boolean withDeletedThings = false;
         private boolean sudo = false;
         private final LimitsConfigReader limitsConfigReader;
@@ -456,6 +503,25 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
             return this;
         }
 
+        /**
+         * {@inheritDoc}
+         * <p>
+         * The cursor is validated against the sort options and the skip value set so far.
+         * </p>
+         *
+         * @throws IllegalArgumentException if {@code cursor} is invalid, was created for other sort options or
+         * elements are skipped.
+         */
+        @Override
+        public Builder cursor(final String cursor) {
+            requireNonNull(cursor);
+            if (0 != skip) {
+                throw new IllegalArgumentException("A cursor cannot be combined with an offset.");
+            }
+            this.cursor = ThingsSearchCursor.decode(cursor).validate(getSortWithTiebreaker(sortOptions));
+            return this;
+        }
+
         /**
          * Sets whether this aggregation should be used for counting.
          *
@@ -468,6 +534,19 @@ final class PolicyRestrictedMongoSearchAggregation implements PolicyRestrictedSe
             return this;
         }
 
+        /**
+         * Sets whether this aggregation should be used for streaming all results. Aggregations for streaming neither
+         * skip nor limit the results.
+         *
+         * @param stream if {@code true} this aggregation is used for streaming, if {@code false} it is used for paged
+         * queries.
+         * @return this builder.
+         */
+        public Builder stream(final boolean stream) {
+            this.stream = stream;
+            return this;
+        }
+
         @Override
         public Builder withDeletedThings(final boolean withDeletedThings) {
             this.withDeletedThings = withDeletedThings;
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.read.query;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.bson.BSONException;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonNull;
+import org.bson.BsonValue;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
+import org.bson.io.BasicOutputBuffer;
+import org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants;
+import org.eclipse.ditto.services.utils.persistence.mongo.BsonUtil;
+
+import com.mongodb.client.model.Filters;
+
+/**
+ * An opaque position in a sorted search result. A cursor holds the sort of the query it was created for and the
+ * values of the sort keys of the last Thing of a page; the next page is found by a range predicate on these values
+ * instead of skipping all previous results.
+ * <p>
+ * The sort of every query with a cursor is completed by the Thing ID as tiebreaker, so that the position is unique.
+ * The range predicate follows the MongoDB sort order only for sort keys whose values have the same BSON type for all
+ * Things; the order of values of different types is not reproduced.
+ * </p>
+ */
+@Immutable
+public final class ThingsSearchCursor {
+
+    private static final String SORT_FIELD = "s";
+    private static final String VALUES_FIELD = "v";
+
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private final BsonDocument sort;
+    private final BsonArray values;
+
+    private ThingsSearchCursor(final BsonDocument sort, final BsonArray values) {
+        this.sort = sort;
+        this.values = values;
+    }
+
+    /**
+     * Returns the given sort followed by the Thing ID in ascending order, if the sort does not contain the Thing ID
+     * yet.
+     *
+     * @param sort the sort of a query.
+     * @return the sort with the Thing ID as tiebreaker.
+     * @throws NullPointerException if {@code sort} is {@code null}.
+     */
+    public static BsonDocument sortWithTiebreaker(final Bson sort) {
+        checkNotNull(sort, "sort");
+        final BsonDocument result = BsonUtil.toBsonDocument(sort).clone();
+        if (!result.containsKey(PersistenceConstants.FIELD_ID)) {
+            result.append(PersistenceConstants.FIELD_ID, new BsonInt32(1));
+        }
+        return result;
+    }
+
+    /**
+     * Creates the cursor string pointing behind the given search result.
+     *
+     * @param sort the sort of the query including the tiebreaker.
+     * @param lastResult the last search result of a page, containing at least the sort keys.
+     * @return the cursor string.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static String encode(final BsonDocument sort, final Bson lastResult) {
+        checkNotNull(sort, "sort");
+        checkNotNull(lastResult, "last result");
+
+        final BsonArray values = new BsonArray();
+        for (final String key : sort.keySet()) {
+            values.add(getValue(lastResult, key));
+        }
+        final BsonDocument cursor = new BsonDocument()
+                .append(SORT_FIELD, sort)
+                .append(VALUES_FIELD, values);
+
+        final BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buffer), cursor, EncoderContext.builder().build());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.toByteArray());
+    }
+
+    /**
+     * Parses a cursor string created by {@link #encode(BsonDocument, Bson)}.
+     *
+     * @param cursor the cursor string.
+     * @return the cursor.
+     * @throws NullPointerException if {@code cursor} is {@code null}.
+     * @throws IllegalArgumentException if {@code cursor} is not a valid cursor string.
+     */
+    public static ThingsSearchCursor decode(final String cursor) {
+        checkNotNull(cursor, "cursor");
+        try {
+            final ByteBuffer bytes = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            final BsonDocument document =
+                    CODEC.decode(new BsonBinaryReader(bytes), DecoderContext.builder().build());
+            final BsonDocument sort = document.getDocument(SORT_FIELD);
+            final BsonArray values = document.getArray(VALUES_FIELD);
+            if (sort.isEmpty() || sort.size() != values.size()) {
+                throw new IllegalArgumentException("Invalid cursor: <" + cursor + ">");
+            }
+            return new ThingsSearchCursor(sort, values);
+        } catch (final BSONException | ClassCastException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("Invalid cursor: <" + cursor + ">", e);
+        }
+    }
+
+    /**
+     * Checks that this cursor was created for a query with the given sort.
+     *
+     * @param expectedSort the sort of the current query including the tiebreaker.
+     * @return this cursor.
+     * @throws IllegalArgumentException if the sort of the cursor differs.
+     */
+    public ThingsSearchCursor validate(final BsonDocument expectedSort) {
+        if (!sort.equals(expectedSort)) {
+            throw new IllegalArgumentException("The cursor was created for the sort <" + sort.toJson() +
+                    "> and cannot be used with the sort <" + expectedSort.toJson() + ">.");
+        }
+        return this;
+    }
+
+    /**
+     * Creates the filter matching all search results after the position of this cursor: the first sort key is
+     * after the cursor, or the first sort key is equal and the second one is after the cursor, and so on.
+     *
+     * @return the filter.
+     */
+    public Bson toFilter() {
+        final List<Bson> alternatives = new ArrayList<>(sort.size());
+        final List<Bson> equalKeys = new ArrayList<>(sort.size());
+        int i = 0;
+        for (final Map.Entry<String, BsonValue> sortEntry : sort.entrySet()) {
+            final String key = sortEntry.getKey();
+            final BsonValue value = values.get(i);
+            final boolean ascending = sortEntry.getValue().asNumber().intValue() >= 0;
+            final Bson after = after(key, value, ascending);
+            if (null != after) {
+                final List<Bson> conjunction = new ArrayList<>(equalKeys);
+                conjunction.add(after);
+                alternatives.add(conjunction.size() == 1 ? after : Filters.and(conjunction));
+            }
+            equalKeys.add(Filters.eq(key, value.isNull() ? null : value));
+            i++;
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : Filters.or(alternatives);
+    }
+
+    /*
+     * MongoDB sorts missing values and null first in ascending order.
+     */
+    private static Bson after(final String key, final BsonValue value, final boolean ascending) {
+        if (ascending) {
+            return value.isNull() ? Filters.ne(key, null) : Filters.gt(key, value);
+        }
+        return value.isNull() ? null : Filters.or(Filters.lt(key, value), Filters.eq(key, null));
+    }
+
+    private static BsonValue getValue(final Bson document, final String key) {
+        try {
+            final BsonValue value = BsonUtil.getValueByPath(document, key);
+            return null != value ? value : BsonNull.VALUE;
+        } catch (final ClassCastException e) {
+            // a parent of the sort key is no document, MongoDB treats the value as missing
+            return BsonNull.VALUE;
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ThingsSearchCursor that = (ThingsSearchCursor) o;
+        return Objects.equals(sort, that.sort) && Objects.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sort, values);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "sort=" + sort +
+                ", values=" + values +
+                "]";
+    }
+
+}
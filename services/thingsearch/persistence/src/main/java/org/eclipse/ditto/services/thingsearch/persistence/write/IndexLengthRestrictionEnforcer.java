@@ -21,6 +21,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.eclipse.ditto.json.JsonField;
 import org.eclipse.ditto.json.JsonPointer;
@@ -323,6 +324,26 @@ public final class IndexLengthRestrictionEnforcer {
         return featurePropertiesBuilder.build();
     }
 
+    /**
+     * Checks whether a string value read from the search index may have been shortened by this enforcer, i.e. whether
+     * it may differ from the value of the Thing. Only top-level attributes and feature properties are shortened.
+     *
+     * @param thingId the ID of the Thing.
+     * @param featureId the ID of the feature of a feature property or {@code null} for an attribute.
+     * @param key the key of the attribute or feature property.
+     * @param indexedValue the value read from the search index.
+     * @return whether the value may have been shortened.
+     */
+    public static boolean mayBeShortened(final String thingId, @Nullable final String featureId,
+            final JsonPointer key, final String indexedValue) {
+
+        final int featureOverhead = null != featureId ? featureId.length() : 0;
+        final int overhead = calculateThingIdNamespaceOverhead(thingId) + featureOverhead +
+                jsonPointerLengthWithoutStartingSlash(key);
+        // values are cut at exactly this length; an unchanged value of this length cannot be told apart
+        return indexedValue.length() >= Math.max(0, MAX_INDEX_CONTENT_LENGTH - overhead);
+    }
+
     private JsonValue fixViolation(final JsonPointer key,
             final JsonValue value,
             final int overhead,
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.write;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import akka.NotUsed;
+import akka.stream.javadsl.Source;
+
+/**
+ * The persistence of a rebuild of the search index. A rebuild of the whole search index writes into shadow
+ * collections which replace the live collections of the search index once the rebuild is complete, so that searches
+ * are served by the old index in the meantime. A rebuild of the Things modified since a point in time writes into the
+ * live collections directly.
+ */
+public interface SearchIndexRebuildPersistence {
+
+    /**
+     * Drops the shadow collections of a previous rebuild and creates empty ones with all indices of the search index.
+     *
+     * @return a future which completes when the shadow collections are ready.
+     */
+    CompletionStage<Void> prepareShadowCollections();
+
+    /**
+     * Writes the passed in Things into the shadow collections. A Thing is skipped if the shadow collections already
+     * contain it with at least the same revisions.
+     *
+     * @param thingsToReindex the Things to write.
+     * @return a {@link Source} holding the publisher to execute the operation, emitting the number of written Things.
+     */
+    Source<Integer, NotUsed> write(List<ThingToReindex> thingsToReindex);
+
+    /**
+     * Writes the passed in Things into the live collections of the search index, for rebuilding only the Things
+     * modified since a point in time. A Thing is skipped if the live collections already contain it with at least the
+     * same revisions.
+     *
+     * @param thingsToReindex the Things to write.
+     * @return a {@link Source} holding the publisher to execute the operation, emitting the number of written Things.
+     */
+    Source<Integer, NotUsed> writeIntoLiveCollections(List<ThingToReindex> thingsToReindex);
+
+    /**
+     * Replaces the live collections of the search index by the shadow collections.
+     *
+     * @return a future which completes when the live collections are replaced.
+     */
+    CompletionStage<Void> swapShadowCollections();
+
+    /**
+     * Drops the shadow collections.
+     *
+     * @return a future which completes when the shadow collections are dropped.
+     */
+    CompletionStage<Void> dropShadowCollections();
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.write;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.model.enforcers.Enforcer;
+import org.eclipse.ditto.model.things.Thing;
+
+/**
+ * A Thing retrieved by a rebuild of the search index together with the enforcer of its Policy.
+ */
+@Immutable
+public final class ThingToReindex {
+
+    private final Thing thing;
+    private final long revision;
+    private final long policyRevision;
+    @Nullable private final Enforcer policyEnforcer;
+
+    private ThingToReindex(final Thing thing, final long revision, final long policyRevision,
+            @Nullable final Enforcer policyEnforcer) {
+
+        this.thing = thing;
+        this.revision = revision;
+        this.policyRevision = policyRevision;
+        this.policyEnforcer = policyEnforcer;
+    }
+
+    /**
+     * Returns a new {@code ThingToReindex}.
+     *
+     * @param thing the Thing.
+     * @param revision the revision of the Thing.
+     * @param policyRevision the revision of the Policy of the Thing or -1 if the Thing has no Policy.
+     * @param policyEnforcer the enforcer of the Policy or {@code null} if the Thing is secured by an ACL.
+     * @return the Thing to reindex.
+     * @throws NullPointerException if {@code thing} is {@code null}.
+     */
+    public static ThingToReindex of(final Thing thing, final long revision, final long policyRevision,
+            @Nullable final Enforcer policyEnforcer) {
+
+        return new ThingToReindex(requireNonNull(thing, "The Thing must not be null!"), revision, policyRevision,
+                policyEnforcer);
+    }
+
+    /**
+     * @return the Thing.
+     */
+    public Thing getThing() {
+        return thing;
+    }
+
+    /**
+     * @return the revision of the Thing.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return the revision of the Policy of the Thing or -1 if the Thing has no Policy.
+     */
+    public long getPolicyRevision() {
+        return policyRevision;
+    }
+
+    /**
+     * @return the enforcer of the Policy or an empty Optional if the Thing is secured by an ACL.
+     */
+    public Optional<Enforcer> getPolicyEnforcer() {
+        return Optional.ofNullable(policyEnforcer);
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ThingToReindex that = (ThingToReindex) o;
+        return revision == that.revision &&
+                policyRevision == that.policyRevision &&
+                Objects.equals(thing, that.thing) &&
+                Objects.equals(policyEnforcer, that.policyEnforcer);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(thing, revision, policyRevision, policyEnforcer);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "thing=" + thing +
+                ", revision=" + revision +
+                ", policyRevision=" + policyRevision +
+                ", policyEnforcer=" + policyEnforcer +
+                "]";
+    }
+
+}
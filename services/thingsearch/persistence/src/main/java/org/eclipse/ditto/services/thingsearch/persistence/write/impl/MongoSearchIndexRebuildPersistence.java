@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.write.impl;
+
+import static com.mongodb.client.model.Filters.eq;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.FIELD_ID;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.POLICIES_BASED_SEARCH_INDEX_COLLECTION_NAME;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.POLICIES_BASED_SEARCH_INDEX_REINDEX_COLLECTION_NAME;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.THINGS_COLLECTION_NAME;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.THINGS_REINDEX_COLLECTION_NAME;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+import org.bson.Document;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.services.thingsearch.persistence.Indices;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexFields;
+import org.eclipse.ditto.services.thingsearch.persistence.mapping.ThingDocumentMapper;
+import org.eclipse.ditto.services.thingsearch.persistence.write.IndexLengthRestrictionEnforcer;
+import org.eclipse.ditto.services.thingsearch.persistence.write.SearchIndexRebuildPersistence;
+import org.eclipse.ditto.services.thingsearch.persistence.write.ThingToReindex;
+import org.eclipse.ditto.services.utils.persistence.mongo.MongoClientWrapper;
+import org.eclipse.ditto.services.utils.persistence.mongo.indices.Index;
+import org.eclipse.ditto.services.utils.persistence.mongo.indices.IndexInitializer;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.RenameCollectionOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+
+import akka.NotUsed;
+import akka.event.LoggingAdapter;
+import akka.japi.pf.PFBuilder;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
+
+/**
+ * MongoDB specific implementation of the {@link SearchIndexRebuildPersistence}. The shadow collections are written
+ * with the same documents, filters and indices as the live collections of
+ * {@link MongoThingsSearchUpdaterPersistence} and replace them by renaming. Each of the two renames is atomic, but
+ * they are not atomic together.
+ */
+public final class MongoSearchIndexRebuildPersistence implements SearchIndexRebuildPersistence {
+
+    private final MongoDatabase database;
+    private final MongoCollection<Document> shadowThingsCollection;
+    private final MongoCollection<Document> shadowPoliciesCollection;
+    private final MongoCollection<Document> liveThingsCollection;
+    private final MongoCollection<Document> livePoliciesCollection;
+    private final IndexInitializer indexInitializer;
+    private final TypedIndexFields typedIndexFields;
+    private final LoggingAdapter log;
+    private final Materializer materializer;
+
+    /**
+     * Constructor.
+     *
+     * @param clientWrapper the client wrapper holding the connection information.
+     * @param typedIndexFields the declared typed index fields whose indices the shadow things collection gets.
+     * @param log the logger to use for logging.
+     * @param materializer the materializer to run the operations with.
+     */
+    public MongoSearchIndexRebuildPersistence(final MongoClientWrapper clientWrapper,
+            final TypedIndexFields typedIndexFields,
+            final LoggingAdapter log,
+            final Materializer materializer) {
+
+        database = clientWrapper.getDatabase();
+        shadowThingsCollection = database.getCollection(THINGS_REINDEX_COLLECTION_NAME);
+        shadowPoliciesCollection = database.getCollection(POLICIES_BASED_SEARCH_INDEX_REINDEX_COLLECTION_NAME);
+        liveThingsCollection = database.getCollection(THINGS_COLLECTION_NAME);
+        livePoliciesCollection = database.getCollection(POLICIES_BASED_SEARCH_INDEX_COLLECTION_NAME);
+        indexInitializer = IndexInitializer.of(database, materializer);
+        this.typedIndexFields = typedIndexFields;
+        this.log = log;
+        this.materializer = materializer;
+    }
+
+    @Override
+    public CompletionStage<Void> prepareShadowCollections() {
+        final List<Index> thingsIndices = new ArrayList<>(Indices.Things.all());
+        thingsIndices.addAll(typedIndexFields.getIndices());
+        return dropShadowCollections()
+                .thenCompose(unused -> indexInitializer.initialize(THINGS_REINDEX_COLLECTION_NAME, thingsIndices))
+                .thenCompose(unused -> indexInitializer.initialize(POLICIES_BASED_SEARCH_INDEX_REINDEX_COLLECTION_NAME,
+                        Indices.Policies.all()));
+    }
+
+    @Override
+    public Source<Integer, NotUsed> write(final List<ThingToReindex> thingsToReindex) {
+        return write(thingsToReindex, shadowThingsCollection, shadowPoliciesCollection);
+    }
+
+    @Override
+    public Source<Integer, NotUsed> writeIntoLiveCollections(final List<ThingToReindex> thingsToReindex) {
+        return write(thingsToReindex, liveThingsCollection, livePoliciesCollection);
+    }
+
+    private Source<Integer, NotUsed> write(final List<ThingToReindex> thingsToReindex,
+            final MongoCollection<Document> thingsCollection,
+            final MongoCollection<Document> policiesCollection) {
+
+        if (thingsToReindex.isEmpty()) {
+            return Source.single(0);
+        }
+        final List<ThingToReindex> restrictedThings = new ArrayList<>(thingsToReindex.size());
+        final List<WriteModel<Document>> thingModels = new ArrayList<>(thingsToReindex.size());
+        for (final ThingToReindex thingToReindex : thingsToReindex) {
+            final Thing thing = IndexLengthRestrictionEnforcer.enforceRestrictions(log, thingToReindex.getThing());
+            final String thingId = getThingId(thing);
+            final long revision = thingToReindex.getRevision();
+            final long policyRevision = thingToReindex.getPolicyRevision();
+            restrictedThings.add(ThingToReindex.of(thing, revision, policyRevision,
+                    thingToReindex.getPolicyEnforcer().orElse(null)));
+            thingModels.add(new UpdateOneModel<>(
+                    MongoThingsSearchUpdaterPersistence.filterWithLowerThingRevisionOrLowerPolicyRevision(thingId,
+                            revision, policyRevision),
+                    MongoThingsSearchUpdaterPersistence.toUpdate(ThingDocumentMapper.toDocument(thing), revision,
+                            policyRevision),
+                    new UpdateOptions().upsert(true)));
+        }
+
+        // unordered, as one Thing which is already up-to-date in the collection must not stop the others
+        return Source.fromPublisher(thingsCollection.bulkWrite(thingModels, new BulkWriteOptions().ordered(false)))
+                .map(result -> Collections.<Integer>emptySet())
+                .recoverWithRetries(1, new PFBuilder<Throwable, Source<Set<Integer>, NotUsed>>()
+                        .match(MongoBulkWriteException.class, e -> Source.single(getFailedIndices(e)))
+                        .build())
+                .flatMapConcat(failedIndices -> {
+                    final List<ThingToReindex> writtenThings = new ArrayList<>(restrictedThings.size());
+                    for (int i = 0; i < restrictedThings.size(); i++) {
+                        if (!failedIndices.contains(i)) {
+                            writtenThings.add(restrictedThings.get(i));
+                        }
+                    }
+                    return writePolicies(writtenThings, thingsCollection, policiesCollection)
+                            .map(unused -> writtenThings.size());
+                });
+    }
+
+    private Set<Integer> getFailedIndices(final MongoBulkWriteException exception) {
+        final Set<Integer> failedIndices = new HashSet<>();
+        for (final BulkWriteError error : exception.getWriteErrors()) {
+            if (error.getCode() != MongoThingsSearchUpdaterPersistence.MONGO_DUPLICATE_KEY_ERROR_CODE) {
+                // a duplicate key is expected for Things already written with the same revisions
+                log.error("Reindexing a Thing failed: {}", error.getMessage());
+            }
+            failedIndices.add(error.getIndex());
+        }
+        return failedIndices;
+    }
+
+    private Source<Boolean, NotUsed> writePolicies(final List<ThingToReindex> writtenThings,
+            final MongoCollection<Document> thingsCollection,
+            final MongoCollection<Document> policiesCollection) {
+
+        final List<WriteModel<Document>> thingIndexModels = new ArrayList<>();
+        final List<WriteModel<Document>> policyIndexModels = new ArrayList<>();
+        writtenThings.forEach(thingToReindex -> thingToReindex.getPolicyEnforcer().ifPresent(enforcer -> {
+            final Thing thing = thingToReindex.getThing();
+            final PolicyUpdate policyUpdate = PolicyUpdateFactory.createPolicyIndexUpdate(thing, enforcer);
+            thingIndexModels.addAll(MongoThingsSearchUpdaterPersistence.createThingIndexModels(
+                    eq(FIELD_ID, getThingId(thing)), policyUpdate));
+            policyIndexModels.addAll(MongoThingsSearchUpdaterPersistence.createPolicyIndexModels(
+                    policyUpdate.getPolicyIndexRemoveFilter(), policyUpdate.getPolicyIndexInsertEntries()));
+        }));
+        if (thingIndexModels.isEmpty() && policyIndexModels.isEmpty()) {
+            return Source.single(Boolean.TRUE);
+        }
+        final BulkWriteOptions writeOrdered = new BulkWriteOptions().ordered(true);
+        return Source.fromPublisher(thingsCollection.bulkWrite(thingIndexModels, writeOrdered))
+                .flatMapConcat(result -> Source.fromPublisher(
+                        policiesCollection.bulkWrite(policyIndexModels, writeOrdered)))
+                .map(result -> Boolean.TRUE);
+    }
+
+    @Override
+    public CompletionStage<Void> swapShadowCollections() {
+        log.info("Replacing the search index by the rebuilt shadow collections.");
+        final RenameCollectionOptions dropTarget = new RenameCollectionOptions().dropTarget(true);
+        final String databaseName = database.getName();
+        return Source.fromPublisher(shadowThingsCollection.renameCollection(
+                new MongoNamespace(databaseName, THINGS_COLLECTION_NAME), dropTarget))
+                .concat(Source.fromPublisher(shadowPoliciesCollection.renameCollection(
+                        new MongoNamespace(databaseName, POLICIES_BASED_SEARCH_INDEX_COLLECTION_NAME), dropTarget)))
+                .runWith(Sink.ignore(), materializer)
+                .thenApply(done -> null);
+    }
+
+    @Override
+    public CompletionStage<Void> dropShadowCollections() {
+        return Source.fromPublisher(shadowThingsCollection.drop())
+                .concat(Source.fromPublisher(shadowPoliciesCollection.drop()))
+                .runWith(Sink.ignore(), materializer)
+                .thenApply(done -> null);
+    }
+
+    private static String getThingId(final Thing thing) {
+        return thing.getId().orElseThrow(() -> new IllegalArgumentException("The Thing has no ID!"));
+    }
+
+}
@@ -89,7 +89,7 @@ import scala.PartialFunction;
  */
 public final class MongoThingsSearchUpdaterPersistence extends AbstractThingsSearchUpdaterPersistence {
 
-    private static final int MONGO_DUPLICATE_KEY_ERROR_CODE = 11000;
+    static final int MONGO_DUPLICATE_KEY_ERROR_CODE = 11000;
     private static final int MONGO_INDEX_VALUE_ERROR_CODE = 17280;
     private final MongoDatabase database;
     private final MongoCollection<Document> collection;
@@ -130,7 +130,7 @@ public final class MongoThingsSearchUpdaterPersistence extends AbstractThingsSea
         return and(eq(FIELD_ID, thingId), lt(FIELD_REVISION, revision));
     }
 
-    private static Bson filterWithLowerThingRevisionOrLowerPolicyRevision(final String thingId,
+    static Bson filterWithLowerThingRevisionOrLowerPolicyRevision(final String thingId,
             final long revision, final long policyRevision) {
         // In case of a policy update, it is ok when the current thing revision is equal to new one (must not be
         // less than!
@@ -141,7 +141,7 @@ public final class MongoThingsSearchUpdaterPersistence extends AbstractThingsSea
         return and(eq(FIELD_ID, thingId), or(thingLowerRevision, policyLowerRevision));
     }
 
-    private static Document toUpdate(final Document document, final long thingRevision, final long policyRevision) {
+    static Document toUpdate(final Document document, final long thingRevision, final long policyRevision) {
         document.put(FIELD_REVISION, thingRevision);
         document.put(FIELD_POLICY_REVISION, policyRevision);
         return toUpdate(document);
@@ -423,7 +423,7 @@ public final class MongoThingsSearchUpdaterPersistence extends AbstractThingsSea
                 });
     }
 
-    private static List<WriteModel<Document>> createPolicyIndexModels(final Bson policiesFilter,
+    static List<WriteModel<Document>> createPolicyIndexModels(final Bson policiesFilter,
             final Collection<Document> policyEntries) {
 
         final DeleteManyModel<Document> deleteExistingPolicyEntries = new DeleteManyModel<>(policiesFilter);
@@ -435,7 +435,7 @@ public final class MongoThingsSearchUpdaterPersistence extends AbstractThingsSea
         return writeModels;
     }
 
-    private static List<UpdateOneModel<Document>> createThingIndexModels(final Bson filter, final PolicyUpdate update) {
+    static List<UpdateOneModel<Document>> createThingIndexModels(final Bson filter, final PolicyUpdate update) {
         final List<UpdateOneModel<Document>> updates = new ArrayList<>(3);
 
         final Bson pullGlobalReads = update.getPullGlobalReads();
@@ -231,6 +231,24 @@ public abstract class AbstractThingSearchPersistenceITBase {
         }
     }
 
+    protected List<String> stream(final PolicyRestrictedSearchAggregation policyRestrictedSearchAggregation) {
+        return runBlockingToList(readPersistence.stream(policyRestrictedSearchAggregation));
+    }
+
+    protected List<String> stream(final Query query) {
+        return runBlockingToList(readPersistence.stream(query));
+    }
+
+    private <T> List<T> runBlockingToList(final Source<T, NotUsed> source) {
+        try {
+            return source.runWith(Sink.seq(), actorMaterializer)
+                    .toCompletableFuture()
+                    .get();
+        } catch (final InterruptedException | ExecutionException e) {
+            throw mapAsRuntimeException(e);
+        }
+    }
+
     protected void runBlocking(final Source<?, NotUsed> publisher) {
         final List<Source<?, NotUsed>> publishers = Collections.singletonList(publisher);
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.conversions.Bson;
+import org.eclipse.ditto.model.query.criteria.CriteriaFactory;
+import org.eclipse.ditto.model.query.criteria.CriteriaFactoryImpl;
+import org.eclipse.ditto.model.query.expression.ThingsFieldExpressionFactory;
+import org.eclipse.ditto.model.query.expression.ThingsFieldExpressionFactoryImpl;
+import org.eclipse.ditto.services.utils.persistence.mongo.BsonUtil;
+import org.eclipse.ditto.services.utils.persistence.mongo.indices.Index;
+import org.junit.Test;
+
+import com.mongodb.client.model.Filters;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Tests {@link TypedIndexFields}.
+ */
+public final class TypedIndexFieldsTest {
+
+    private static final String NAMESPACE = "org.eclipse.ditto";
+    private static final CriteriaFactory CF = new CriteriaFactoryImpl();
+    private static final ThingsFieldExpressionFactory EF = new ThingsFieldExpressionFactoryImpl();
+
+    private static final TypedIndexFields UNDER_TEST = TypedIndexFields.of(Arrays.asList(
+            TypedIndexField.of(NAMESPACE, "attributes/manufacturer", TypedIndexField.Type.STRING),
+            TypedIndexField.of(NAMESPACE, "/features/sensor/properties/temperature", TypedIndexField.Type.NUMBER)));
+
+    @Test
+    public void readFromConfig() {
+        final TypedIndexFields fromConfig = TypedIndexFields.fromConfig(ConfigFactory.parseString(
+                "ditto.things-search.typed-index-fields = [\n" +
+                        "{ namespace = \"org.eclipse.ditto\", path = \"attributes/manufacturer\", type = \"string\" },\n" +
+                        "{ namespace = \"org.eclipse.ditto\", path = \"features/sensor/properties/temperature\", " +
+                        "type = \"NUMBER\" }\n" +
+                        "]"));
+
+        assertThat(fromConfig).isEqualTo(UNDER_TEST);
+    }
+
+    @Test
+    public void missingConfigDeclaresNoFields() {
+        assertThat(TypedIndexFields.fromConfig(ConfigFactory.empty()).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void tryToDeclareFieldOutsideOfAttributesAndFeatureProperties() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> TypedIndexField.of(NAMESPACE, "features/sensor", TypedIndexField.Type.STRING));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> TypedIndexField.of(NAMESPACE, "policyId", TypedIndexField.Type.STRING));
+    }
+
+    @Test
+    public void indexIsRestrictedToNamespaceAndType() {
+        final Index index =
+                TypedIndexField.of(NAMESPACE, "attributes/manufacturer", TypedIndexField.Type.STRING).toIndex();
+
+        assertThat(index.getName()).isEqualTo("typed:org.eclipse.ditto:attributes/manufacturer");
+        assertThat(index.getKeys().keySet()).containsExactly("attributes.manufacturer", PersistenceConstants.FIELD_ID);
+        assertThat(index.toIndexModel().getOptions().getPartialFilterExpression()).isEqualTo(new BsonDocument()
+                .append(PersistenceConstants.FIELD_DELETED_FLAG, BsonBoolean.FALSE)
+                .append(PersistenceConstants.FIELD_NAMESPACE, new BsonString(NAMESPACE))
+                .append("attributes.manufacturer", new BsonDocument("$type", new BsonString("string"))));
+    }
+
+    @Test
+    public void filterOnTypedAttributeWithOperandOfItsType() {
+        final Bson expected = Filters.and(
+                new BsonDocument("attributes.manufacturer", new BsonDocument("$type", new BsonString("string"))),
+                Filters.eq("attributes.manufacturer", "ACME"));
+
+        assertThat(UNDER_TEST.getTypedIndexFilter(EF.filterByAttribute("manufacturer"), CF.eq("ACME"))
+                .map(BsonUtil::toBsonDocument))
+                .contains(BsonUtil.toBsonDocument(expected));
+    }
+
+    @Test
+    public void filterOnTypedFeaturePropertyWithOperandsOfItsType() {
+        final Bson expected = Filters.and(
+                new BsonDocument("features.sensor.properties.temperature",
+                        new BsonDocument("$type", new BsonString("number"))),
+                Filters.in("features.sensor.properties.temperature", Arrays.asList(20L, 21.5)));
+
+        assertThat(UNDER_TEST.getTypedIndexFilter(EF.filterByFeatureProperty("sensor", "temperature"),
+                CF.in(Arrays.asList(20L, 21.5)))
+                .map(BsonUtil::toBsonDocument))
+                .contains(BsonUtil.toBsonDocument(expected));
+    }
+
+    @Test
+    public void noFilterForOperandsOfOtherTypesOrNegations() {
+        assertThat(UNDER_TEST.getTypedIndexFilter(EF.filterByAttribute("manufacturer"), CF.eq(42L))).isEmpty();
+        assertThat(UNDER_TEST.getTypedIndexFilter(EF.filterByAttribute("manufacturer"), CF.eq(null))).isEmpty();
+        assertThat(UNDER_TEST.getTypedIndexFilter(EF.filterByAttribute("manufacturer"), CF.ne("ACME"))).isEmpty();
+        assertThat(UNDER_TEST.getTypedIndexFilter(EF.filterByFeatureProperty("sensor", "temperature"),
+                CF.in(Arrays.asList(20L, "21")))).isEmpty();
+        assertThat(UNDER_TEST.getTypedIndexFilter(EF.filterByFeatureProperty("sensor", "temperature"),
+                CF.like("2*"))).isEmpty();
+    }
+
+    @Test
+    public void noFilterForUndeclaredFields() {
+        assertThat(UNDER_TEST.getTypedIndexFilter(EF.filterByAttribute("model"), CF.eq("ACME"))).isEmpty();
+        assertThat(UNDER_TEST.getTypedIndexFilter(EF.filterByFeatureProperty("temperature"), CF.eq(20L))).isEmpty();
+        assertThat(TypedIndexFields.of(Collections.emptyList())
+                .getTypedIndexFilter(EF.filterByAttribute("manufacturer"), CF.eq("ACME"))).isEmpty();
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bson.Document;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonFieldSelector;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseOptions;
+import org.eclipse.ditto.services.thingsearch.common.util.KeyEscapeUtil;
+import org.junit.Test;
+
+/**
+ * Tests {@link IndexProjection}.
+ */
+public final class IndexProjectionTest {
+
+    private static final String THING_ID = "org.eclipse.ditto:thing";
+    private static final String SUBJECT = "sid";
+    private static final Collection<String> SUBJECTS = Collections.singletonList(SUBJECT);
+    private static final JsonParseOptions JSON_PARSE_OPTIONS =
+            JsonFactory.newParseOptionsBuilder().withoutUrlDecoding().build();
+
+    @Test
+    public void indexedFieldsCanBeProjected() {
+        assertThat(projection("thingId,attributes,features/f1/properties/temp")).isNotNull();
+        assertThat(IndexProjection.of(fieldSelector("attributes/a/b"))).isPresent();
+    }
+
+    @Test
+    public void fieldsWhichAreNotIndexedCannotBeProjected() {
+        assertThat(IndexProjection.of(fieldSelector("thingId,policyId"))).isEmpty();
+        assertThat(IndexProjection.of(fieldSelector("features"))).isEmpty();
+        assertThat(IndexProjection.of(fieldSelector("features/f1"))).isEmpty();
+        assertThat(IndexProjection.of(fieldSelector("features/f1/definition"))).isEmpty();
+    }
+
+    @Test
+    public void thingIdNeedsNoGrants() {
+        assertThat(projection("thingId").getGrantsFilter(Collections.singletonList(THING_ID))).isEmpty();
+        assertThat(projection("thingId,attributes/a").getGrantsFilter(Collections.singletonList(THING_ID)))
+                .isPresent();
+    }
+
+    @Test
+    public void projectThingWithAcl() {
+        final Document thingDocument = new Document("_id", THING_ID)
+                .append("_policyId", null)
+                .append("attributes", new Document("location", new Document("lat", 1.5).append("lon", 2))
+                        .append(KeyEscapeUtil.escape("key$with.dots"), true))
+                .append("features", new Document("f1",
+                        new Document("properties", new Document("temp", 21L).append("unit", "C"))));
+
+        final JsonObject expected = JsonFactory.newObjectBuilder()
+                .set("thingId", THING_ID)
+                .set("attributes", JsonFactory.newObjectBuilder()
+                        .set("location", JsonFactory.newObjectBuilder().set("lat", 1.5).set("lon", 2).build())
+                        .set(JsonFactory.newKey("key$with.dots"), true)
+                        .build())
+                .set("features", JsonFactory.newObjectBuilder()
+                        .set("f1", JsonFactory.newObjectBuilder()
+                                .set("properties", JsonFactory.newObjectBuilder().set("temp", 21L).build())
+                                .build())
+                        .build())
+                .build();
+
+        assertThat(projection("thingId,attributes,features/f1/properties/temp,attributes/missing")
+                .project(thingDocument, Collections.emptyMap(), SUBJECTS))
+                .contains(expected);
+    }
+
+    @Test
+    public void projectThingWithPolicyGrants() {
+        final Document thingDocument = new Document("_id", THING_ID)
+                .append("_policyId", "org.eclipse.ditto:policy")
+                .append("attributes", new Document("public", "visible").append("secret", "hidden")
+                        .append("nested", new Document("secret", 1)))
+                .append("features", new Document("f1", new Document("properties", new Document("temp", 21))));
+
+        final Map<String, Document> grants = new HashMap<>();
+        grants.put(THING_ID + ":attribute/public", grant(SUBJECT));
+        grants.put(THING_ID + ":attribute/nested/secret", grant("other"));
+        grants.put(THING_ID + ":f1features/properties/temp", grant(SUBJECT));
+        grants.put(THING_ID + ":attribute/secret",
+                grant(SUBJECT).append("revoked", Collections.singletonList(SUBJECT)));
+
+        final JsonObject expected = JsonFactory.newObjectBuilder()
+                .set("attributes", JsonFactory.newObjectBuilder().set("public", "visible").build())
+                .set("features", JsonFactory.newObjectBuilder()
+                        .set("f1", JsonFactory.newObjectBuilder()
+                                .set("properties", JsonFactory.newObjectBuilder().set("temp", 21).build())
+                                .build())
+                        .build())
+                .build();
+
+        assertThat(projection("attributes,features/f1/properties").project(thingDocument, grants, SUBJECTS))
+                .contains(expected);
+    }
+
+    @Test
+    public void valuesWhichAreNotExactCannotBeProjected() {
+        // longer than any value which is not shortened
+        final String longValue = new String(new char[1000]).replace('\0', 'x');
+
+        assertNotExact(new Document("array", null));
+        assertNotExact(new Document("empty", new Document()));
+        assertNotExact(new Document("long", longValue));
+    }
+
+    private static void assertNotExact(final Document attributes) {
+        final Document thingDocument = new Document("_id", THING_ID)
+                .append("_policyId", null)
+                .append("attributes", attributes);
+
+        assertThat(projection("thingId,attributes").project(thingDocument, Collections.emptyMap(), SUBJECTS))
+                .isEmpty();
+    }
+
+    private static IndexProjection projection(final String fields) {
+        return IndexProjection.of(fieldSelector(fields)).orElseThrow(AssertionError::new);
+    }
+
+    private static Document grant(final String subject) {
+        return new Document("granted", Collections.singletonList(subject))
+                .append("revoked", Collections.emptyList());
+    }
+
+    private static JsonFieldSelector fieldSelector(final String fields) {
+        return JsonFactory.newFieldSelector(fields, JSON_PARSE_OPTIONS);
+    }
+
+}
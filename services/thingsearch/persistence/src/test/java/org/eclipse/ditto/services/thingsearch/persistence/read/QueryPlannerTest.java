@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.query.criteria.Criteria;
+import org.eclipse.ditto.model.query.criteria.CriteriaFactory;
+import org.eclipse.ditto.model.query.criteria.CriteriaFactoryImpl;
+import org.eclipse.ditto.model.query.expression.ThingsFieldExpressionFactory;
+import org.eclipse.ditto.model.query.expression.ThingsFieldExpressionFactoryImpl;
+import org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexField;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexFields;
+import org.junit.Test;
+
+/**
+ * Tests {@link QueryPlanner}.
+ */
+public final class QueryPlannerTest {
+
+    private static final CriteriaFactory CF = new CriteriaFactoryImpl();
+    private static final ThingsFieldExpressionFactory EF = new ThingsFieldExpressionFactoryImpl();
+
+    private static final QueryPlanner UNDER_TEST = QueryPlanner.of(TypedIndexFields.of(Collections.singletonList(
+            TypedIndexField.of("org.eclipse.ditto", "attributes/manufacturer", TypedIndexField.Type.STRING))));
+
+    private static final Criteria THING_ID_EQ = CF.fieldCriteria(EF.filterByThingId(), CF.eq("org.eclipse.ditto:t"));
+    private static final Criteria NAMESPACE_EQ = CF.fieldCriteria(EF.filterByNamespace(), CF.eq("org.eclipse.ditto"));
+    private static final Criteria COLOR_EQ = CF.fieldCriteria(EF.filterByAttribute("color"), CF.eq("red"));
+    private static final Criteria MANUFACTURER_EQ =
+            CF.fieldCriteria(EF.filterByAttribute("manufacturer"), CF.eq("ACME"));
+    private static final Criteria SIZE_GT = CF.fieldCriteria(EF.filterByAttribute("size"), CF.gt(5));
+    private static final Criteria NAME_LIKE = CF.fieldCriteria(EF.filterByAttribute("name"), CF.like("lamp*"));
+    private static final Criteria COLOR_NE = CF.fieldCriteria(EF.filterByAttribute("color"), CF.ne("blue"));
+    private static final Criteria LOCATION_EXISTS = CF.existsCriteria(EF.existsByAttribute("location"));
+
+    @Test
+    public void nestedJunctionsAreFlattened() {
+        final Criteria criteria = CF.and(Arrays.asList(COLOR_EQ,
+                CF.and(Arrays.asList(SIZE_GT, CF.and(Collections.singletonList(NAME_LIKE))))));
+
+        assertThat(UNDER_TEST.normalize(criteria)).isEqualTo(CF.and(Arrays.asList(COLOR_EQ, SIZE_GT, NAME_LIKE)));
+    }
+
+    @Test
+    public void duplicatesAndNeutralElementsAreRemoved() {
+        final Criteria criteria = CF.and(Arrays.asList(COLOR_EQ, CF.any(), COLOR_EQ));
+
+        assertThat(UNDER_TEST.normalize(criteria)).isEqualTo(COLOR_EQ);
+        assertThat(UNDER_TEST.normalize(CF.and(Collections.singletonList(CF.any())))).isEqualTo(CF.any());
+        assertThat(UNDER_TEST.normalize(CF.or(Arrays.asList(COLOR_EQ, CF.any())))).isEqualTo(CF.any());
+    }
+
+    @Test
+    public void equalitiesOnTheSameFieldAreMergedIntoIn() {
+        final Criteria criteria = CF.or(Arrays.asList(
+                CF.fieldCriteria(EF.filterByAttribute("color"), CF.eq("red")),
+                SIZE_GT,
+                CF.fieldCriteria(EF.filterByAttribute("color"), CF.in(Arrays.asList("green", "red")))));
+
+        assertThat(UNDER_TEST.normalize(criteria)).isEqualTo(CF.or(Arrays.asList(
+                CF.fieldCriteria(EF.filterByAttribute("color"), CF.in(Arrays.asList("red", "green"))),
+                SIZE_GT)));
+    }
+
+    @Test
+    public void selectiveConjunctsComeFirst() {
+        final Criteria nor = CF.nor(Collections.singletonList(SIZE_GT));
+        final Criteria or = CF.or(Arrays.asList(NAME_LIKE, SIZE_GT));
+        final Criteria criteria = CF.and(Arrays.asList(nor, COLOR_NE, NAME_LIKE, or, SIZE_GT, LOCATION_EXISTS,
+                COLOR_EQ, MANUFACTURER_EQ, NAMESPACE_EQ));
+
+        final QueryPlan plan = UNDER_TEST.plan(criteria, true);
+
+        assertThat(plan.getCriteria()).isEqualTo(CF.and(Arrays.asList(MANUFACTURER_EQ, NAMESPACE_EQ, COLOR_EQ,
+                LOCATION_EXISTS, SIZE_GT, NAME_LIKE, COLOR_NE, or, nor)));
+        assertThat(plan.isReordered()).isTrue();
+    }
+
+    @Test
+    public void normalizedCriteriaAreNotReordered() {
+        final QueryPlan plan = UNDER_TEST.plan(CF.and(Arrays.asList(COLOR_EQ, SIZE_GT)), true);
+
+        assertThat(plan.isReordered()).isFalse();
+    }
+
+    @Test
+    public void policyRestrictedFieldsAreSearchedByAggregationIfAuthorizedByPolicies() {
+        assertThat(UNDER_TEST.plan(COLOR_EQ, true).getPath()).isEqualTo(QueryPlan.Path.AGGREGATION);
+        assertThat(UNDER_TEST.plan(COLOR_EQ, false).getPath()).isEqualTo(QueryPlan.Path.FIND);
+        assertThat(UNDER_TEST.plan(NAMESPACE_EQ, true).getPath()).isEqualTo(QueryPlan.Path.FIND);
+    }
+
+    @Test
+    public void thingIdIndexIsHintedForThingIdEqualities() {
+        final BsonDocument idIndex = new BsonDocument(PersistenceConstants.FIELD_ID, new BsonInt32(1));
+
+        assertThat(UNDER_TEST.plan(CF.and(Arrays.asList(COLOR_EQ, THING_ID_EQ)), false).getHint())
+                .contains(idIndex);
+        assertThat(UNDER_TEST.plan(CF.or(Arrays.asList(COLOR_EQ, THING_ID_EQ)), false).getHint()).isEmpty();
+        assertThat(UNDER_TEST.plan(MANUFACTURER_EQ, false).getHint()).isEmpty();
+    }
+
+    @Test
+    public void explainedPlanContainsPathFilterAndHint() {
+        final JsonObject explained = UNDER_TEST.plan(THING_ID_EQ, true).toJson();
+
+        assertThat(explained.getValue("path")).contains(JsonValue.of("find"));
+        assertThat(explained.getValue("filter/_id")).contains(JsonValue.of("org.eclipse.ditto:t"));
+        assertThat(explained.getValue("hint/_id")).contains(JsonValue.of(1));
+    }
+
+}
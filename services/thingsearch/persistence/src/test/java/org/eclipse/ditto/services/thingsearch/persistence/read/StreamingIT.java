@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.ditto.services.thingsearch.persistence.TestConstants.Thing.NAMESPACE;
+import static org.eclipse.ditto.services.thingsearch.persistence.TestConstants.thingId;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.ditto.model.query.SortDirection;
+import org.eclipse.ditto.model.query.SortOption;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.services.base.config.DittoLimitsConfigReader;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Tests for streaming all search results of the search persistence without paging.
+ */
+public final class StreamingIT extends AbstractVersionedThingSearchPersistenceITBase {
+
+    private static final List<SortOption> SORT_BY_THING_ID_DESC =
+            Collections.singletonList(new SortOption(fef.sortByThingId(), SortDirection.DESC));
+
+    @Override
+    void createTestDataV1() {
+        // test-data are created in tests
+    }
+
+    @Override
+    void createTestDataV2() {
+        // test-data are created in tests
+    }
+
+    /** */
+    @Test
+    public void streamMoreThingsThanMaxPageSizeInSortOrder() {
+        final int maxPageSize = DittoLimitsConfigReader.fromRawConfig(ConfigFactory.load("test"))
+                .thingsSearchMaxPageSize();
+        final List<String> thingIds = new ArrayList<>();
+        for (int i = 0; i < maxPageSize + 10; i++) {
+            thingIds.add(thingId(NAMESPACE, "thingId") + String.format("%04d", i));
+        }
+        final List<Thing> things = createThings(thingIds);
+        Collections.shuffle(things);
+        things.forEach(this::persistThing);
+
+        final List<String> result = executeVersionedQuery(
+                criteria -> qbf.newUnlimitedBuilder(criteria).sort(SORT_BY_THING_ID_DESC).build(),
+                criteria -> abf.newStreamBuilder(criteria)
+                        .authorizationSubjects(KNOWN_SUBJECTS)
+                        .sortOptions(SORT_BY_THING_ID_DESC)
+                        .build(),
+                this::stream,
+                this::stream,
+                cf.any());
+
+        final List<String> expected = new ArrayList<>(thingIds);
+        Collections.reverse(expected);
+        assertThat(result).containsExactlyElementsOf(expected);
+    }
+
+    /** */
+    @Test
+    public void streamWithoutResults() {
+        final List<String> result = executeVersionedQuery(
+                criteria -> qbf.newUnlimitedBuilder(criteria).build(),
+                criteria -> abf.newStreamBuilder(criteria).authorizationSubjects(KNOWN_SUBJECTS).build(),
+                this::stream,
+                this::stream,
+                cf.any());
+
+        assertThat(result).isEmpty();
+    }
+
+}
@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.bson.BsonDocument;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.eclipse.ditto.model.query.SortDirection;
 import org.eclipse.ditto.model.query.SortOption;
@@ -71,14 +72,24 @@ public final class MongoQueryTest {
     /** */
     @Test
     public void hashcodeAndEquals() {
-        EqualsVerifier.forClass(MongoQuery.class).verify();
+        final Bson sort = Sorts.ascending("_id");
+        final ThingsSearchCursor red =
+                ThingsSearchCursor.decode(ThingsSearchCursor.encode(ThingsSearchCursor.sortWithTiebreaker(sort),
+                        new Document("_id", "org.eclipse.ditto:red")));
+        final ThingsSearchCursor black =
+                ThingsSearchCursor.decode(ThingsSearchCursor.encode(ThingsSearchCursor.sortWithTiebreaker(sort),
+                        new Document("_id", "org.eclipse.ditto:black")));
+
+        EqualsVerifier.forClass(MongoQuery.class)
+                .withPrefabValues(ThingsSearchCursor.class, red, black)
+                .verify();
     }
 
     /** */
     @Test
     public void immutability() {
         assertInstancesOf(MongoQuery.class, areImmutable(),
-                provided(Criteria.class, SortOption.class).isAlsoImmutable());
+                provided(Criteria.class, SortOption.class, ThingsSearchCursor.class).isAlsoImmutable());
     }
 
     /** */
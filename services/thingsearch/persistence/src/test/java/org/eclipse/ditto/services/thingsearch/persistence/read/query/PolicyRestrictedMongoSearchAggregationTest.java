@@ -13,6 +13,8 @@ package org.eclipse.ditto.services.thingsearch.persistence.read.query;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.bson.conversions.Bson;
@@ -21,8 +23,13 @@ import org.eclipse.ditto.model.query.criteria.CriteriaFactory;
 import org.eclipse.ditto.model.query.criteria.CriteriaFactoryImpl;
 import org.eclipse.ditto.model.query.expression.ThingsFieldExpressionFactory;
 import org.eclipse.ditto.model.query.expression.ThingsFieldExpressionFactoryImpl;
+import org.eclipse.ditto.services.base.config.DittoLimitsConfigReader;
+import org.eclipse.ditto.services.thingsearch.persistence.read.AggregationBuilderFactory;
+import org.eclipse.ditto.services.utils.persistence.mongo.BsonUtil;
 import org.junit.Test;
 
+import com.typesafe.config.ConfigFactory;
+
 /**
  * Tests {@link PolicyRestrictedMongoSearchAggregation}.
  */
@@ -40,4 +47,32 @@ public final class PolicyRestrictedMongoSearchAggregationTest {
         assertThat(actualBson).isEmpty();
     }
 
+    @Test
+    public void streamAggregationNeitherSkipsNorLimits() {
+        final AggregationBuilderFactory factory =
+                new MongoAggregationBuilderFactory(DittoLimitsConfigReader.fromRawConfig(ConfigFactory.load("test")));
+        final List<String> subjects = Collections.singletonList("abc:mySid");
+
+        final List<Bson> pagedPipeline = factory.newBuilder(cf.any())
+                .authorizationSubjects(subjects)
+                .build()
+                .getAggregationPipeline();
+        final List<Bson> streamPipeline = factory.newStreamBuilder(cf.any())
+                .authorizationSubjects(subjects)
+                .build()
+                .getAggregationPipeline();
+
+        assertThat(containsStage(pagedPipeline, "$skip")).isTrue();
+        assertThat(containsStage(pagedPipeline, "$limit")).isTrue();
+        assertThat(containsStage(streamPipeline, "$skip")).isFalse();
+        assertThat(containsStage(streamPipeline, "$limit")).isFalse();
+        assertThat(containsStage(streamPipeline, "$sort")).isTrue();
+    }
+
+    private static boolean containsStage(final List<Bson> pipeline, final String stageName) {
+        return pipeline.stream()
+                .map(BsonUtil::toBsonDocument)
+                .anyMatch(stage -> stage.containsKey(stageName));
+    }
+
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.read.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Arrays;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.eclipse.ditto.services.utils.persistence.mongo.BsonUtil;
+import org.junit.Test;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+
+/**
+ * Tests {@link ThingsSearchCursor}.
+ */
+public final class ThingsSearchCursorTest {
+
+    private static final BsonDocument SORT = ThingsSearchCursor.sortWithTiebreaker(
+            Sorts.orderBy(Sorts.descending("attributes.counter")));
+
+    private static final Document LAST_RESULT = new Document("_id", "org.eclipse.ditto:thing")
+            .append("attributes", new Document("counter", 42));
+
+    @Test
+    public void sortWithTiebreakerAppendsThingId() {
+        assertThat(SORT).isEqualTo(BsonDocument.parse("{\"attributes.counter\":-1,\"_id\":1}"));
+    }
+
+    @Test
+    public void sortWithTiebreakerKeepsExplicitThingIdSort() {
+        final BsonDocument sort = ThingsSearchCursor.sortWithTiebreaker(Sorts.descending("_id"));
+
+        assertThat(sort).isEqualTo(BsonDocument.parse("{\"_id\":-1}"));
+    }
+
+    @Test
+    public void encodedCursorIsUrlSafeAndCanBeDecoded() {
+        final String cursor = ThingsSearchCursor.encode(SORT, LAST_RESULT);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(ThingsSearchCursor.decode(cursor))
+                .isEqualTo(ThingsSearchCursor.decode(ThingsSearchCursor.encode(SORT, LAST_RESULT)));
+    }
+
+    @Test
+    public void decodeInvalidCursorThrowsIllegalArgumentException() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> ThingsSearchCursor.decode("not-a-cursor"));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> ThingsSearchCursor.decode("#"));
+    }
+
+    @Test
+    public void validateRejectsOtherSort() {
+        final ThingsSearchCursor underTest = ThingsSearchCursor.decode(ThingsSearchCursor.encode(SORT, LAST_RESULT));
+        final BsonDocument otherSort = ThingsSearchCursor.sortWithTiebreaker(Sorts.ascending("attributes.counter"));
+
+        assertThat(underTest.validate(SORT)).isSameAs(underTest);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> underTest.validate(otherSort));
+    }
+
+    @Test
+    public void toFilterContinuesAfterLastResult() {
+        final ThingsSearchCursor underTest = ThingsSearchCursor.decode(ThingsSearchCursor.encode(SORT, LAST_RESULT));
+
+        final Bson expected = Filters.or(
+                Filters.or(Filters.lt("attributes.counter", 42), Filters.eq("attributes.counter", null)),
+                Filters.and(Arrays.asList(Filters.eq("attributes.counter", 42),
+                        Filters.gt("_id", "org.eclipse.ditto:thing"))));
+
+        assertThat(BsonUtil.toBsonDocument(underTest.toFilter())).isEqualTo(BsonUtil.toBsonDocument(expected));
+    }
+
+    @Test
+    public void toFilterWithMissingSortValue() {
+        final Document lastResult = new Document("_id", "org.eclipse.ditto:thing");
+        final BsonDocument sort = ThingsSearchCursor.sortWithTiebreaker(Sorts.ascending("attributes.counter"));
+        final ThingsSearchCursor underTest = ThingsSearchCursor.decode(ThingsSearchCursor.encode(sort, lastResult));
+
+        final Bson expected = Filters.or(
+                Filters.ne("attributes.counter", null),
+                Filters.and(Arrays.asList(Filters.eq("attributes.counter", null),
+                        Filters.gt("_id", "org.eclipse.ditto:thing"))));
+
+        assertThat(BsonUtil.toBsonDocument(underTest.toFilter())).isEqualTo(BsonUtil.toBsonDocument(expected));
+    }
+
+}
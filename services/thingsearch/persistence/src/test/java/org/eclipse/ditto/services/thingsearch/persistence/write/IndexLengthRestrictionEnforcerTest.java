@@ -372,4 +372,24 @@ public final class IndexLengthRestrictionEnforcerTest {
                 .isEqualTo(expected);
     }
 
+    @Test
+    public void shortenedValuesAreDetected() {
+        final JsonPointer key = JsonPointer.of("description");
+        final String featureId = "text-to-speech";
+        final JsonValue value = JsonValue.of(createString(IndexLengthRestrictionEnforcer.MAX_INDEX_CONTENT_LENGTH));
+
+        final String shortenedAttribute =
+                indexLengthRestrictionEnforcer.enforceRestrictionsOnAttributeValue(key, value).asString();
+        final String shortenedProperty = indexLengthRestrictionEnforcer
+                .enforceRestrictionsOnFeatureProperty(featureId, key, value).asString();
+
+        assertThat(IndexLengthRestrictionEnforcer.mayBeShortened(THING_ID, null, key, shortenedAttribute)).isTrue();
+        assertThat(IndexLengthRestrictionEnforcer.mayBeShortened(THING_ID, featureId, key, shortenedProperty))
+                .isTrue();
+        assertThat(IndexLengthRestrictionEnforcer.mayBeShortened(THING_ID, null, key,
+                shortenedAttribute.substring(1))).isFalse();
+        assertThat(IndexLengthRestrictionEnforcer.mayBeShortened(THING_ID, featureId, key,
+                shortenedProperty.substring(1))).isFalse();
+    }
+
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.persistence.write.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.FIELD_ID;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.THINGS_COLLECTION_NAME;
+import static org.eclipse.ditto.services.thingsearch.persistence.PersistenceConstants.THINGS_REINDEX_COLLECTION_NAME;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.services.thingsearch.persistence.AbstractThingSearchPersistenceITBase;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexFields;
+import org.eclipse.ditto.services.thingsearch.persistence.write.ThingToReindex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mongodb.client.model.Filters;
+
+import akka.stream.javadsl.Source;
+
+/**
+ * Tests {@link MongoSearchIndexRebuildPersistence}.
+ */
+public final class MongoSearchIndexRebuildPersistenceIT extends AbstractThingSearchPersistenceITBase {
+
+    private static final String LIVE_THING_ID = "org.eclipse.ditto:live";
+    private static final String THING_ID_A = "org.eclipse.ditto:a";
+    private static final String THING_ID_B = "org.eclipse.ditto:b";
+
+    private MongoSearchIndexRebuildPersistence underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new MongoSearchIndexRebuildPersistence(getClient(), TypedIndexFields.empty(), log,
+                getMaterializer());
+        insertOrUpdateThing(Thing.newBuilder().setId(LIVE_THING_ID).build(), 1L, -1L);
+    }
+
+    @After
+    public void dropShadowCollections() {
+        if (underTest != null) {
+            await(underTest.dropShadowCollections());
+        }
+    }
+
+    @Test
+    public void swapReplacesLiveIndexByCaughtUpShadowCollections() {
+        await(underTest.prepareShadowCollections());
+
+        // first pass
+        assertThat(runBlockingWithReturn(underTest.write(Arrays.asList(thingToReindex(THING_ID_A, 1L),
+                thingToReindex(THING_ID_B, 1L))))).isEqualTo(2);
+        // catch-up pass with one modified and one already indexed Thing
+        assertThat(runBlockingWithReturn(underTest.write(Arrays.asList(thingToReindex(THING_ID_A, 2L),
+                thingToReindex(THING_ID_B, 1L))))).isEqualTo(1);
+        assertThat(count(THINGS_COLLECTION_NAME, LIVE_THING_ID)).isEqualTo(1L);
+        assertThat(count(THINGS_COLLECTION_NAME, THING_ID_A)).isZero();
+
+        await(underTest.swapShadowCollections());
+
+        assertThat(count(THINGS_COLLECTION_NAME, THING_ID_A)).isEqualTo(1L);
+        assertThat(count(THINGS_COLLECTION_NAME, THING_ID_B)).isEqualTo(1L);
+        assertThat(count(THINGS_COLLECTION_NAME, LIVE_THING_ID)).isZero();
+        assertThat(count(THINGS_REINDEX_COLLECTION_NAME, THING_ID_A)).isZero();
+    }
+
+    @Test
+    public void writeIntoLiveCollectionsKeepsAllOtherThings() {
+        assertThat(runBlockingWithReturn(underTest.writeIntoLiveCollections(
+                Collections.singletonList(thingToReindex(THING_ID_A, 1L))))).isEqualTo(1);
+        // the search updater already indexed a newer revision
+        assertThat(runBlockingWithReturn(underTest.writeIntoLiveCollections(
+                Collections.singletonList(thingToReindex(LIVE_THING_ID, 0L))))).isZero();
+
+        assertThat(count(THINGS_COLLECTION_NAME, THING_ID_A)).isEqualTo(1L);
+        assertThat(count(THINGS_COLLECTION_NAME, LIVE_THING_ID)).isEqualTo(1L);
+        assertThat(count(THINGS_REINDEX_COLLECTION_NAME, THING_ID_A)).isZero();
+    }
+
+    private long count(final String collectionName, final String thingId) {
+        return runBlockingWithReturn(Source.fromPublisher(getClient().getDatabase()
+                .getCollection(collectionName)
+                .count(Filters.eq(FIELD_ID, thingId))));
+    }
+
+    private static ThingToReindex thingToReindex(final String thingId, final long revision) {
+        return ThingToReindex.of(Thing.newBuilder().setId(thingId).build(), revision, -1L, null);
+    }
+
+    private static void await(final CompletionStage<Void> stage) {
+        try {
+            stage.toCompletableFuture().get();
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
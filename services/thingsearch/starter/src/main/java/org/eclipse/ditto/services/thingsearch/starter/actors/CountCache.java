@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.starter.actors;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoCountThings;
+import org.eclipse.ditto.services.utils.cache.Cache;
+import org.eclipse.ditto.services.utils.cache.CaffeineCache;
+import org.eclipse.ditto.signals.commands.base.Command;
+import org.eclipse.ditto.signals.commands.thingsearch.query.CountThings;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches the results of {@link CountThings} and {@link SudoCountThings} per filter, namespaces and authorization
+ * subjects of the command for a configured duration, so that counts polled by dashboards do not hit the database for
+ * each request.
+ */
+final class CountCache {
+
+    private static final String CACHE_NAME = "search_count_cache";
+
+    @Nullable private final Cache<Key, Long> cache;
+
+    private CountCache(@Nullable final Cache<Key, Long> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Returns a new {@code CountCache}.
+     *
+     * @param maxAge how long counts are cached; the cache is disabled if it is zero or negative.
+     * @param maximumSize the maximum number of cached counts.
+     * @return the count cache.
+     * @throws NullPointerException if {@code maxAge} is {@code null}.
+     */
+    static CountCache of(final Duration maxAge, final long maximumSize) {
+        requireNonNull(maxAge, "The max age must not be null!");
+        if (maxAge.isZero() || maxAge.isNegative()) {
+            return disabled();
+        }
+        final Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxAge);
+        return new CountCache(CaffeineCache.of(caffeine, CACHE_NAME));
+    }
+
+    /**
+     * Returns a {@code CountCache} which never caches any count.
+     *
+     * @return the disabled count cache.
+     */
+    static CountCache disabled() {
+        return new CountCache(null);
+    }
+
+    /**
+     * Returns the cached count of a command with the same filter, namespaces and authorization subjects as the given
+     * one.
+     *
+     * @param countCommand the {@link CountThings} or {@link SudoCountThings} command.
+     * @return a future of the cached count or an empty Optional.
+     */
+    CompletableFuture<Optional<Long>> get(final Command countCommand) {
+        return cache == null
+                ? CompletableFuture.completedFuture(Optional.empty())
+                : cache.getIfPresent(Key.of(countCommand));
+    }
+
+    /**
+     * Caches the count determined for the given command.
+     *
+     * @param countCommand the {@link CountThings} or {@link SudoCountThings} command.
+     * @param count the count.
+     */
+    void put(final Command countCommand, final long count) {
+        if (cache != null) {
+            cache.put(Key.of(countCommand), count);
+        }
+    }
+
+    /**
+     * The parts of a count command which determine its count. The order of the authorization subjects does not
+     * matter; sudo counts are not restricted by authorization subjects.
+     */
+    @Immutable
+    static final class Key {
+
+        private final boolean sudo;
+        private final JsonSchemaVersion schemaVersion;
+        @Nullable private final String filter;
+        @Nullable private final Set<String> namespaces;
+        private final Set<String> authorizationSubjectIds;
+
+        private Key(final boolean sudo,
+                final JsonSchemaVersion schemaVersion,
+                @Nullable final String filter,
+                @Nullable final Set<String> namespaces,
+                final Set<String> authorizationSubjectIds) {
+
+            this.sudo = sudo;
+            this.schemaVersion = schemaVersion;
+            this.filter = filter;
+            this.namespaces = namespaces;
+            this.authorizationSubjectIds = authorizationSubjectIds;
+        }
+
+        static Key of(final Command countCommand) {
+            final JsonSchemaVersion schemaVersion = countCommand.getImplementedSchemaVersion();
+            if (countCommand instanceof SudoCountThings) {
+                final SudoCountThings sudoCountThings = (SudoCountThings) countCommand;
+                return new Key(true, schemaVersion, sudoCountThings.getFilter().orElse(null), null,
+                        Collections.emptySet());
+            }
+            if (countCommand instanceof CountThings) {
+                final CountThings countThings = (CountThings) countCommand;
+                final DittoHeaders dittoHeaders = countThings.getDittoHeaders();
+                return new Key(false, schemaVersion, countThings.getFilter().orElse(null),
+                        countThings.getNamespaces().map(Key::copy).orElse(null),
+                        copy(dittoHeaders.getAuthorizationContext().getAuthorizationSubjectIds()));
+            }
+            throw new IllegalArgumentException("Expected a count command, but got: " + countCommand);
+        }
+
+        private static Set<String> copy(final Iterable<String> strings) {
+            final Set<String> copy = new HashSet<>();
+            strings.forEach(copy::add);
+            return Collections.unmodifiableSet(copy);
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return sudo == that.sudo &&
+                    schemaVersion == that.schemaVersion &&
+                    Objects.equals(filter, that.filter) &&
+                    Objects.equals(namespaces, that.namespaces) &&
+                    Objects.equals(authorizationSubjectIds, that.authorizationSubjectIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sudo, schemaVersion, filter, namespaces, authorizationSubjectIds);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "sudo=" + sudo +
+                    ", schemaVersion=" + schemaVersion +
+                    ", filter=" + filter +
+                    ", namespaces=" + namespaces +
+                    ", authorizationSubjectIds=" + authorizationSubjectIds +
+                    "]";
+        }
+
+    }
+
+}
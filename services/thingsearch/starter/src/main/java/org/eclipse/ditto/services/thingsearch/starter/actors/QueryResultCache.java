@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.starter.actors;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.services.thingsearch.common.model.ResultList;
+import org.eclipse.ditto.services.utils.cache.MetricsStatsCounter;
+import org.eclipse.ditto.services.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.services.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThings;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches the pages of Thing IDs found for {@link QueryThings} per filter, options, namespaces and authorization
+ * subjects of the command.
+ * <p>
+ * Entries are invalidated by Thing events of the namespaces they were searched in and by all Policy events, as the
+ * Things of a Policy may be in any namespace. To keep invalidation cheap, it only increments a version per namespace;
+ * each entry remembers the versions which were current before its search started and is discarded on lookup if any
+ * of them changed since. As events reach this cache before the search updater wrote them to the search index, an
+ * entry may still be stale for at most the configured max age.
+ * </p>
+ * <p>
+ * Hits, misses and invalidations are reported via {@link DittoMetrics} with the names of
+ * {@link MetricsStatsCounter.MetricName}.
+ * </p>
+ */
+final class QueryResultCache {
+
+    private static final String CACHE_NAME = "search_query_cache";
+    private static final String CACHE_NAME_TAG = "cache_name";
+    private static final char NAMESPACE_SEPARATOR = ':';
+
+    @Nullable private final Cache<Key, Entry> cache;
+    private final ConcurrentMap<String, AtomicLong> namespaceVersions;
+    private final AtomicLong policiesVersion;
+    private final AtomicLong totalVersion;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    private QueryResultCache(@Nullable final Cache<Key, Entry> cache) {
+        this.cache = cache;
+        namespaceVersions = new ConcurrentHashMap<>();
+        policiesVersion = new AtomicLong();
+        totalVersion = new AtomicLong();
+        hits = counter(MetricsStatsCounter.MetricName.HITS);
+        misses = counter(MetricsStatsCounter.MetricName.MISSES);
+        invalidations = counter(MetricsStatsCounter.MetricName.ESTIMATED_INVALIDATIONS);
+    }
+
+    private static Counter counter(final MetricsStatsCounter.MetricName metricName) {
+        return DittoMetrics.counter(metricName.getValue()).tag(CACHE_NAME_TAG, CACHE_NAME);
+    }
+
+    /**
+     * Returns a new {@code QueryResultCache}.
+     *
+     * @param maxAge how long results are cached at most; the cache is disabled if it is zero or negative.
+     * @param maximumSize the maximum number of cached results.
+     * @return the query result cache.
+     * @throws NullPointerException if {@code maxAge} is {@code null}.
+     */
+    static QueryResultCache of(final Duration maxAge, final long maximumSize) {
+        requireNonNull(maxAge, "The max age must not be null!");
+        if (maxAge.isZero() || maxAge.isNegative()) {
+            return disabled();
+        }
+        return new QueryResultCache(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxAge)
+                .build());
+    }
+
+    /**
+     * Returns a {@code QueryResultCache} which never caches any result.
+     *
+     * @return the disabled query result cache.
+     */
+    static QueryResultCache disabled() {
+        return new QueryResultCache(null);
+    }
+
+    /**
+     * Indicates whether this cache caches results at all and thus has to be informed about events.
+     *
+     * @return {@code true} if this cache is enabled.
+     */
+    boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the versions of the namespaces of the given command. It has to be taken before the search of the command
+     * starts and passed to {@link #put(QueryThings, Snapshot, ResultList)} afterwards.
+     *
+     * @param queryThings the command.
+     * @return the current versions of its namespaces.
+     */
+    Snapshot snapshot(final QueryThings queryThings) {
+        final Optional<Set<String>> namespaces = queryThings.getNamespaces();
+        if (!namespaces.isPresent()) {
+            return new Snapshot(totalVersion.get(), 0L, Collections.emptyMap());
+        }
+        final Map<String, Long> versions = new HashMap<>();
+        namespaces.get().forEach(namespace -> versions.put(namespace, getNamespaceVersion(namespace).get()));
+        return new Snapshot(0L, policiesVersion.get(), versions);
+    }
+
+    /**
+     * Returns the cached result of a command with the same filter, options, namespaces and authorization subjects as
+     * the given one, if no event invalidated it.
+     *
+     * @param queryThings the command.
+     * @return the cached result or an empty Optional.
+     */
+    Optional<ResultList<String>> get(final QueryThings queryThings) {
+        if (cache == null) {
+            return Optional.empty();
+        }
+        final Key key = Key.of(queryThings);
+        final Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.snapshot.equals(snapshot(queryThings))) {
+            hits.increment();
+            return Optional.of(entry.resultList);
+        }
+        if (entry != null) {
+            cache.invalidate(key);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Caches the result found for the given command.
+     *
+     * @param queryThings the command.
+     * @param snapshot the versions of the namespaces of the command taken before its search started.
+     * @param resultList the found Thing IDs.
+     */
+    void put(final QueryThings queryThings, final Snapshot snapshot, final ResultList<String> resultList) {
+        if (cache != null) {
+            cache.put(Key.of(queryThings), new Entry(snapshot, resultList));
+        }
+    }
+
+    /**
+     * Invalidates the results of all searches which may contain the Thing with the given ID.
+     *
+     * @param thingId the ID of a Thing which was changed.
+     */
+    void invalidateThing(final String thingId) {
+        if (cache != null) {
+            getNamespaceVersion(getNamespace(thingId)).incrementAndGet();
+            totalVersion.incrementAndGet();
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Invalidates the results of all searches, as the Things of a changed Policy may be in any namespace.
+     */
+    void invalidatePolicy() {
+        if (cache != null) {
+            policiesVersion.incrementAndGet();
+            totalVersion.incrementAndGet();
+            invalidations.increment();
+        }
+    }
+
+    private AtomicLong getNamespaceVersion(final String namespace) {
+        return namespaceVersions.computeIfAbsent(namespace, ns -> new AtomicLong());
+    }
+
+    private static String getNamespace(final String thingId) {
+        final int separatorIndex = thingId.indexOf(NAMESPACE_SEPARATOR);
+        return separatorIndex < 0 ? "" : thingId.substring(0, separatorIndex);
+    }
+
+    /**
+     * The versions of the namespaces of a search taken before it started.
+     */
+    @Immutable
+    static final class Snapshot {
+
+        private final long totalVersion;
+        private final long policiesVersion;
+        private final Map<String, Long> namespaceVersions;
+
+        private Snapshot(final long totalVersion, final long policiesVersion,
+                final Map<String, Long> namespaceVersions) {
+
+            this.totalVersion = totalVersion;
+            this.policiesVersion = policiesVersion;
+            this.namespaceVersions = Collections.unmodifiableMap(namespaceVersions);
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Snapshot that = (Snapshot) o;
+            return totalVersion == that.totalVersion &&
+                    policiesVersion == that.policiesVersion &&
+                    Objects.equals(namespaceVersions, that.namespaceVersions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(totalVersion, policiesVersion, namespaceVersions);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "totalVersion=" + totalVersion +
+                    ", policiesVersion=" + policiesVersion +
+                    ", namespaceVersions=" + namespaceVersions +
+                    "]";
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final Snapshot snapshot;
+        private final ResultList<String> resultList;
+
+        private Entry(final Snapshot snapshot, final ResultList<String> resultList) {
+            this.snapshot = snapshot;
+            this.resultList = resultList;
+        }
+
+    }
+
+    /**
+     * The parts of a query command which determine its result. The order of the options and of the authorization
+     * subjects does not matter; the selected fields do not influence the found Thing IDs.
+     */
+    @Immutable
+    private static final class Key {
+
+        private final JsonSchemaVersion schemaVersion;
+        @Nullable private final String filter;
+        private final List<String> options;
+        @Nullable private final Set<String> namespaces;
+        private final Set<String> authorizationSubjectIds;
+
+        private Key(final JsonSchemaVersion schemaVersion,
+                @Nullable final String filter,
+                final List<String> options,
+                @Nullable final Set<String> namespaces,
+                final Set<String> authorizationSubjectIds) {
+
+            this.schemaVersion = schemaVersion;
+            this.filter = filter;
+            this.options = options;
+            this.namespaces = namespaces;
+            this.authorizationSubjectIds = authorizationSubjectIds;
+        }
+
+        private static Key of(final QueryThings queryThings) {
+            return new Key(queryThings.getImplementedSchemaVersion(),
+                    queryThings.getFilter().orElse(null),
+                    normalizeOptions(queryThings.getOptions().orElse(Collections.emptyList())),
+                    queryThings.getNamespaces().map(HashSet::new).map(Collections::unmodifiableSet).orElse(null),
+                    Collections.unmodifiableSet(new HashSet<>(
+                            queryThings.getDittoHeaders().getAuthorizationContext().getAuthorizationSubjectIds())));
+        }
+
+        /**
+         * Sorts the options of a query, e. g. {@code sort(+a,-b)} and {@code limit(0,2)}, as their order does not
+         * matter. The options may arrive split at every comma, so they are joined and split at the commas between
+         * options first; the order within an option, e. g. of the sort keys, is kept.
+         */
+        private static List<String> normalizeOptions(final List<String> optionFragments) {
+            final String joinedOptions = String.join(",", optionFragments);
+            final List<String> options = new ArrayList<>();
+            int depth = 0;
+            int start = 0;
+            for (int i = 0; i < joinedOptions.length(); i++) {
+                final char c = joinedOptions.charAt(i);
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                } else if (c == ',' && depth <= 0) {
+                    options.add(joinedOptions.substring(start, i).trim());
+                    start = i + 1;
+                }
+            }
+            if (start < joinedOptions.length()) {
+                options.add(joinedOptions.substring(start).trim());
+            }
+            Collections.sort(options);
+            return Collections.unmodifiableList(options);
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return schemaVersion == that.schemaVersion &&
+                    Objects.equals(filter, that.filter) &&
+                    Objects.equals(options, that.options) &&
+                    Objects.equals(namespaces, that.namespaces) &&
+                    Objects.equals(authorizationSubjectIds, that.authorizationSubjectIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(schemaVersion, filter, options, namespaces, authorizationSubjectIds);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "schemaVersion=" + schemaVersion +
+                    ", filter=" + filter +
+                    ", options=" + options +
+                    ", namespaces=" + namespaces +
+                    ", authorizationSubjectIds=" + authorizationSubjectIds +
+                    "]";
+        }
+
+    }
+
+}
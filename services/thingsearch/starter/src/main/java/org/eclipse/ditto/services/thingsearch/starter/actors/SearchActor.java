@@ -10,8 +10,10 @@
  */
 package org.eclipse.ditto.services.thingsearch.starter.actors;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.eclipse.ditto.json.JsonArray;
 import org.eclipse.ditto.json.JsonCollectors;
@@ -28,14 +30,20 @@ import org.eclipse.ditto.model.query.filter.QueryFilterCriteriaFactory;
 import org.eclipse.ditto.model.things.Thing;
 import org.eclipse.ditto.model.thingsearch.SearchModelFactory;
 import org.eclipse.ditto.model.thingsearch.SearchResult;
+import org.eclipse.ditto.services.models.thingsearch.ThingsSearchConstants;
 import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoCountThings;
+import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoExplainQuery;
+import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoExplainQueryResponse;
 import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoRetrieveNamespaceReport;
 import org.eclipse.ditto.services.thingsearch.common.model.ResultList;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexFields;
 import org.eclipse.ditto.services.thingsearch.persistence.query.AggregationQueryActor;
 import org.eclipse.ditto.services.thingsearch.persistence.query.QueryActor;
+import org.eclipse.ditto.services.thingsearch.persistence.read.IndexProjection;
 import org.eclipse.ditto.services.thingsearch.persistence.read.PolicyRestrictedSearchAggregation;
+import org.eclipse.ditto.services.thingsearch.persistence.read.QueryPlan;
+import org.eclipse.ditto.services.thingsearch.persistence.read.QueryPlanner;
 import org.eclipse.ditto.services.thingsearch.persistence.read.ThingsSearchPersistence;
-import org.eclipse.ditto.services.thingsearch.persistence.read.criteria.visitors.IsPolicyLookupNeededVisitor;
 import org.eclipse.ditto.services.utils.akka.LogUtil;
 import org.eclipse.ditto.services.utils.metrics.DittoMetrics;
 import org.eclipse.ditto.services.utils.metrics.instruments.timer.StartedTimer;
@@ -45,27 +53,34 @@ import org.eclipse.ditto.signals.commands.thingsearch.query.CountThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.CountThingsResponse;
 import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThingsResponse;
+import org.eclipse.ditto.signals.commands.thingsearch.query.StreamThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.ThingSearchQueryCommand;
+import org.eclipse.ditto.signals.events.policies.PolicyEvent;
+import org.eclipse.ditto.signals.events.things.ThingEvent;
 
 import akka.NotUsed;
 import akka.actor.AbstractActor;
 import akka.actor.ActorRef;
 import akka.actor.Props;
+import akka.cluster.pubsub.DistributedPubSub;
+import akka.cluster.pubsub.DistributedPubSubMediator;
 import akka.event.DiagnosticLoggingAdapter;
 import akka.japi.Creator;
 import akka.japi.pf.ReceiveBuilder;
 import akka.pattern.PatternsCS;
 import akka.stream.ActorMaterializer;
 import akka.stream.Graph;
+import akka.stream.SourceRef;
 import akka.stream.SourceShape;
 import akka.stream.javadsl.Flow;
 import akka.stream.javadsl.Sink;
 import akka.stream.javadsl.Source;
+import akka.stream.javadsl.StreamRefs;
 import scala.concurrent.ExecutionContextExecutor;
 
 /**
- * Actor handling all supported {@link ThingSearchCommand}s. Currently those are {@link CountThings} and {@link
- * QueryThings}.
+ * Actor handling all supported {@link ThingSearchCommand}s. Currently those are {@link CountThings}, {@link
+ * QueryThings} and {@link StreamThings}.
  * <p>
  * Passes the commands to the appropriate query actor which is determined by the API version of each received command
  * (see {@link DittoHeaders#getSchemaVersion()}).
@@ -79,6 +94,23 @@ import scala.concurrent.ExecutionContextExecutor;
  * <p>
  * The ThingsSearchPersistence returns only Thing IDs. Thus to provide complete Thing information to the requester,
  * things have to be retrieved from Things Service via distributed pub/sub.
+ * <p>
+ * If the index projection is enabled, {@link QueryThings} which select only indexed fields are answered with the
+ * selected fields read from the search index (see {@link IndexProjection}); the response is marked with the header
+ * {@value ThingsSearchConstants#INDEX_PROJECTION_HEADER} and the Things are not retrieved again.
+ * <p>
+ * {@link CountThings} are answered from the {@link CountCache} if an identical count was determined recently; the
+ * response is marked with the header {@value ThingsSearchConstants#COUNT_ACCURACY_HEADER} telling whether its count
+ * is exact, cached or estimated.
+ * <p>
+ * {@link QueryThings} are answered with the Thing IDs of the {@link QueryResultCache} if an identical query was
+ * searched recently and no Thing or Policy event invalidated its result since.
+ * <p>
+ * {@link StreamThings} is answered with a {@link SourceRef} emitting the IDs of all matching Things read from a single
+ * database cursor, so that the requester controls the pace of the search by its demand.
+ * <p>
+ * The query actor is chosen by the {@link QueryPlanner}; {@link SudoExplainQuery} is answered with the plan of its
+ * filter.
  */
 public final class SearchActor extends AbstractActor {
 
@@ -104,19 +136,42 @@ public final class SearchActor extends AbstractActor {
     private final ActorRef aggregationQueryActor;
     private final ActorRef findQueryActor;
     private final ThingsSearchPersistence searchPersistence;
+    private final boolean indexProjectionEnabled;
+    private final CountCache countCache;
+    private final boolean countEstimationEnabled;
+    private final QueryResultCache queryResultCache;
+    private final QueryPlanner queryPlanner;
     private final ActorMaterializer materializer;
     private final ExecutionContextExecutor dispatcher;
 
     private SearchActor(final ActorRef aggregationQueryActor,
             final ActorRef findQueryActor,
-            final ThingsSearchPersistence searchPersistence) {
+            final ThingsSearchPersistence searchPersistence,
+            final boolean indexProjectionEnabled,
+            final CountCache countCache,
+            final boolean countEstimationEnabled,
+            final QueryResultCache queryResultCache) {
 
         this.aggregationQueryActor = aggregationQueryActor;
         this.findQueryActor = findQueryActor;
         this.searchPersistence = searchPersistence;
+        this.indexProjectionEnabled = indexProjectionEnabled;
+        this.countCache = countCache;
+        this.countEstimationEnabled = countEstimationEnabled;
+        this.queryResultCache = queryResultCache;
+        queryPlanner = QueryPlanner.of(TypedIndexFields.fromConfig(getContext().system().settings().config()));
         materializer = ActorMaterializer.create(getContext().system());
 
         dispatcher = getContext().system().dispatchers().lookup(SEARCH_DISPATCHER_ID);
+
+        if (queryResultCache.isEnabled()) {
+            // subscribe without group as the cache of each search node has to be invalidated
+            final ActorRef pubSubMediator = DistributedPubSub.get(getContext().system()).mediator();
+            pubSubMediator.tell(new DistributedPubSubMediator.Subscribe(ThingEvent.TYPE_PREFIX, getSelf()),
+                    getSelf());
+            pubSubMediator.tell(new DistributedPubSubMediator.Subscribe(PolicyEvent.TYPE_PREFIX, getSelf()),
+                    getSelf());
+        }
     }
 
     /**
@@ -127,18 +182,27 @@ public final class SearchActor extends AbstractActor {
      * @param findQueryActor ActorRef for the {@link QueryActor} to construct find queries.
      * @param searchPersistence the {@link ThingsSearchPersistence} to use in order to execute {@link
      * PolicyRestrictedSearchAggregation}s.
+     * @param indexProjectionEnabled whether searches selecting only indexed fields are answered from the search index.
+     * @param countCache the cache of the counts of recent count commands.
+     * @param countEstimationEnabled whether sudo counts without filter are estimated from the collection statistics.
+     * @param queryResultCache the cache of the Thing IDs found for recent query commands.
      * @return the Akka configuration Props object.
      */
     static Props props(final ActorRef aggregationQueryActor,
             final ActorRef findQueryActor,
-            final ThingsSearchPersistence searchPersistence) {
+            final ThingsSearchPersistence searchPersistence,
+            final boolean indexProjectionEnabled,
+            final CountCache countCache,
+            final boolean countEstimationEnabled,
+            final QueryResultCache queryResultCache) {
 
         return Props.create(SearchActor.class, new Creator<SearchActor>() {
             private static final long serialVersionUID = 1L;
 
             @Override
             public SearchActor create() {
-                return new SearchActor(aggregationQueryActor, findQueryActor, searchPersistence);
+                return new SearchActor(aggregationQueryActor, findQueryActor, searchPersistence,
+                        indexProjectionEnabled, countCache, countEstimationEnabled, queryResultCache);
             }
         });
     }
@@ -149,7 +213,13 @@ public final class SearchActor extends AbstractActor {
                 .match(CountThings.class, this::count)
                 .match(SudoCountThings.class, this::count)
                 .match(QueryThings.class, this::query)
+                .match(StreamThings.class, this::stream)
                 .match(SudoRetrieveNamespaceReport.class, this::namespaceReport)
+                .match(SudoExplainQuery.class, this::explain)
+                .match(ThingEvent.class, thingEvent -> queryResultCache.invalidateThing(thingEvent.getThingId()))
+                .match(PolicyEvent.class, policyEvent -> queryResultCache.invalidatePolicy())
+                .match(DistributedPubSubMediator.SubscribeAck.class, subscribeAck ->
+                        log.debug("Subscribed to <{}>.", subscribeAck.subscribe().topic()))
                 .matchAny(any -> log.warning("Got unknown message '{}'", any))
                 .build();
     }
@@ -164,6 +234,23 @@ public final class SearchActor extends AbstractActor {
                 .to(getSender());
     }
 
+    private void explain(final SudoExplainQuery explainQuery) {
+        final DittoHeaders dittoHeaders = explainQuery.getDittoHeaders();
+        LogUtil.enhanceLogWithCorrelationId(log, dittoHeaders.getCorrelationId());
+        log.info("Processing SudoExplainQuery command: {}", explainQuery);
+
+        try {
+            final Criteria criteria =
+                    queryFilterCriteriaFactory.filterCriteria(explainQuery.getFilter().orElse(null), dittoHeaders);
+            final JsonSchemaVersion version = explainQuery.getImplementedSchemaVersion();
+            final QueryPlan plan = queryPlanner.plan(criteria, JsonSchemaVersion.V_1 != version);
+            getSender().tell(SudoExplainQueryResponse.of(plan.toJson(), dittoHeaders), getSelf());
+        } catch (final DittoRuntimeException e) {
+            log.info("Could not explain the filter of <{}>: {}", explainQuery, e.getMessage());
+            getSender().tell(e, getSelf());
+        }
+    }
+
     private void count(final Command countThings) {
         final DittoHeaders dittoHeaders = countThings.getDittoHeaders();
         final Optional<String> correlationIdOpt = dittoHeaders.getCorrelationId();
@@ -179,43 +266,26 @@ public final class SearchActor extends AbstractActor {
 
         final ActorRef sender = getSender();
 
-        // choose a query actor based on the API version in command headers
-        final ActorRef chosenQueryActor = chooseQueryActor(version, countThings);
-
         PatternsCS.pipe(
-                Source.fromCompletionStage(PatternsCS.ask(chosenQueryActor, countThings, QUERY_ASK_TIMEOUT))
-                        .flatMapConcat(query -> {
-                            LogUtil.enhanceLogWithCorrelationId(log, correlationIdOpt);
-                            queryParsingTimer.stop();
-                            if (query instanceof PolicyRestrictedSearchAggregation) {
+                Source.fromCompletionStage(countCache.get(countThings))
+                        .flatMapConcat(cachedCount -> {
+                            if (cachedCount.isPresent()) {
+                                queryParsingTimer.stop();
+                                return Source.<Object>single(countThingsResponse(cachedCount.get(),
+                                        ThingsSearchConstants.COUNT_ACCURACY_CACHED, dittoHeaders));
+                            } else if (countEstimationEnabled && isUnrestrictedSudoCount(countThings)) {
+                                queryParsingTimer.stop();
                                 final StartedTimer databaseAccessTimer =
                                         countTimer.startNewSegment(DATABASE_ACCESS_SEGMENT_NAME);
-                                // aggregation-based count for things with policies
-                                return processSearchPersistenceResult(
-                                        () -> searchPersistence.count((PolicyRestrictedSearchAggregation) query),
-                                        dittoHeaders)
+                                return processSearchPersistenceResult(searchPersistence::estimateCount, dittoHeaders)
                                         .via(Flow.fromFunction(result -> {
                                             databaseAccessTimer.stop();
                                             return result;
                                         }))
-                                        .map(count -> CountThingsResponse.of(count, dittoHeaders));
-                            } else if (query instanceof Query) {
-                                final StartedTimer databaseAccessTimer =
-                                        countTimer.startNewSegment(DATABASE_ACCESS_SEGMENT_NAME);
-                                // count without aggregation for things without policies
-                                return processSearchPersistenceResult(() -> searchPersistence.count((Query) query),
-                                        dittoHeaders)
-                                        .via(Flow.fromFunction(result -> {
-                                            databaseAccessTimer.stop();
-                                            return result;
-                                        }))
-                                        .map(count -> CountThingsResponse.of(count, dittoHeaders));
-                            } else if (query instanceof DittoRuntimeException) {
-                                log.info("QueryActor responded with DittoRuntimeException: {}", query);
-                                return Source.<Object>failed((Throwable) query);
+                                        .map(count -> countThingsResponse(count,
+                                                ThingsSearchConstants.COUNT_ACCURACY_ESTIMATED, dittoHeaders));
                             } else {
-                                log.error("Expected 'PolicyRestrictedSearchAggregation', but got: {}", query);
-                                return Source.<Object>single(CountThingsResponse.of(-1, dittoHeaders));
+                                return countInPersistence(countThings, version, queryParsingTimer, countTimer);
                             }
                         })
                         .via(Flow.fromFunction(result -> {
@@ -226,7 +296,75 @@ public final class SearchActor extends AbstractActor {
                 .to(sender);
     }
 
-    private void query(final QueryThings queryThings) {
+    private Source<Object, NotUsed> countInPersistence(final Command countThings, final JsonSchemaVersion version,
+            final StartedTimer queryParsingTimer, final StartedTimer countTimer) {
+
+        final DittoHeaders dittoHeaders = countThings.getDittoHeaders();
+        final Optional<String> correlationIdOpt = dittoHeaders.getCorrelationId();
+
+        // choose a query actor based on the API version in command headers
+        final ActorRef chosenQueryActor = chooseQueryActor(version, countThings);
+
+        return Source.fromCompletionStage(PatternsCS.ask(chosenQueryActor, countThings, QUERY_ASK_TIMEOUT))
+                .flatMapConcat(query -> {
+                    LogUtil.enhanceLogWithCorrelationId(log, correlationIdOpt);
+                    queryParsingTimer.stop();
+                    if (query instanceof PolicyRestrictedSearchAggregation) {
+                        final StartedTimer databaseAccessTimer =
+                                countTimer.startNewSegment(DATABASE_ACCESS_SEGMENT_NAME);
+                        // aggregation-based count for things with policies
+                        return processSearchPersistenceResult(
+                                () -> searchPersistence.count((PolicyRestrictedSearchAggregation) query),
+                                dittoHeaders)
+                                .via(Flow.fromFunction(result -> {
+                                    databaseAccessTimer.stop();
+                                    return result;
+                                }))
+                                .map(count -> cacheAndRespond(countThings, count));
+                    } else if (query instanceof Query) {
+                        final StartedTimer databaseAccessTimer =
+                                countTimer.startNewSegment(DATABASE_ACCESS_SEGMENT_NAME);
+                        // count without aggregation for things without policies
+                        return processSearchPersistenceResult(() -> searchPersistence.count((Query) query),
+                                dittoHeaders)
+                                .via(Flow.fromFunction(result -> {
+                                    databaseAccessTimer.stop();
+                                    return result;
+                                }))
+                                .map(count -> cacheAndRespond(countThings, count));
+                    } else if (query instanceof DittoRuntimeException) {
+                        log.info("QueryActor responded with DittoRuntimeException: {}", query);
+                        return Source.<Object>failed((Throwable) query);
+                    } else {
+                        log.error("Expected 'PolicyRestrictedSearchAggregation', but got: {}", query);
+                        return Source.<Object>single(CountThingsResponse.of(-1, dittoHeaders));
+                    }
+                });
+    }
+
+    private CountThingsResponse cacheAndRespond(final Command countThings, final long count) {
+        countCache.put(countThings, count);
+        return countThingsResponse(count, ThingsSearchConstants.COUNT_ACCURACY_EXACT, countThings.getDittoHeaders());
+    }
+
+    private static CountThingsResponse countThingsResponse(final long count, final String accuracy,
+            final DittoHeaders dittoHeaders) {
+
+        return CountThingsResponse.of(count, dittoHeaders.toBuilder()
+                .putHeader(ThingsSearchConstants.COUNT_ACCURACY_HEADER, accuracy)
+                .build());
+    }
+
+    private static boolean isUnrestrictedSudoCount(final Command countThings) {
+        return countThings instanceof SudoCountThings && !((SudoCountThings) countThings).getFilter().isPresent();
+    }
+
+    private void query(final QueryThings command) {
+        // only the search service may mark its responses as index projections:
+        final QueryThings queryThings = command.setDittoHeaders(command.getDittoHeaders()
+                .toBuilder()
+                .removeHeader(ThingsSearchConstants.INDEX_PROJECTION_HEADER)
+                .build());
         final DittoHeaders dittoHeaders = queryThings.getDittoHeaders();
         final Optional<String> correlationIdOpt = dittoHeaders.getCorrelationId();
         LogUtil.enhanceLogWithCorrelationId(log, correlationIdOpt);
@@ -239,53 +377,126 @@ public final class SearchActor extends AbstractActor {
 
         final ActorRef sender = getSender();
 
+        final Optional<ResultList<String>> cachedResult = queryResultCache.get(queryThings);
+        final Source<QueryThingsResponse, NotUsed> responseSource;
+        if (cachedResult.isPresent()) {
+            queryParsingTimer.stop();
+            responseSource = Source.fromGraph(retrieveThingsForIds(cachedResult.get(), queryThings));
+        } else {
+            responseSource = queryInPersistence(queryThings, version, queryParsingTimer, searchTimer);
+        }
+
+        PatternsCS.pipe(
+                responseSource
+                        .via(Flow.fromFunction(result -> {
+                            searchTimer.stop();
+                            return result;
+                        }))
+                        .runWith(Sink.head(), materializer), dispatcher)
+                .to(sender);
+    }
+
+    private Source<QueryThingsResponse, NotUsed> queryInPersistence(final QueryThings queryThings,
+            final JsonSchemaVersion version, final StartedTimer queryParsingTimer, final StartedTimer searchTimer) {
+
+        final DittoHeaders dittoHeaders = queryThings.getDittoHeaders();
+        final Optional<String> correlationIdOpt = dittoHeaders.getCorrelationId();
+
+        // events arriving during the search invalidate its result
+        final QueryResultCache.Snapshot snapshot = queryResultCache.snapshot(queryThings);
+
         // choose a query actor based on the API version in command headers
         final ActorRef chosenQueryActor = chooseQueryActor(version, queryThings);
 
+        return Source.fromCompletionStage(PatternsCS.ask(chosenQueryActor, queryThings, QUERY_ASK_TIMEOUT))
+                .flatMapConcat(query -> {
+                    LogUtil.enhanceLogWithCorrelationId(log, correlationIdOpt);
+                    queryParsingTimer.stop();
+
+                    if (query instanceof PolicyRestrictedSearchAggregation) {
+                        final StartedTimer databaseAccessTimer =
+                                searchTimer.startNewSegment(DATABASE_ACCESS_SEGMENT_NAME);
+                        // policy-based search via aggregation
+                        return processSearchPersistenceResult(
+                                () -> searchPersistence.findAll((PolicyRestrictedSearchAggregation) query),
+                                dittoHeaders)
+                                .via(Flow.fromFunction(result -> {
+                                    databaseAccessTimer.stop();
+                                    queryResultCache.put(queryThings, snapshot, result);
+                                    return result;
+                                }))
+                                .flatMapConcat(resultList -> retrieveThingsForIds(resultList, queryThings));
+                    } else if (query instanceof Query) {
+                        final StartedTimer databaseAccessTimer =
+                                searchTimer.startNewSegment(DATABASE_ACCESS_SEGMENT_NAME);
+                        // api/1 search via 'find'
+                        return processSearchPersistenceResult(() -> searchPersistence.findAll((Query) query),
+                                dittoHeaders)
+                                .via(Flow.fromFunction(result -> {
+                                    databaseAccessTimer.stop();
+                                    queryResultCache.put(queryThings, snapshot, result);
+                                    return result;
+                                }))
+                                .flatMapConcat(resultList -> retrieveThingsForIds(resultList, queryThings));
+                    } else if (query instanceof DittoRuntimeException) {
+                        log.info("QueryActor responded with DittoRuntimeException: {}", query);
+                        return Source.<QueryThingsResponse>failed((Throwable) query);
+                    } else {
+                        log.error("Expected 'PolicyRestrictedSearchAggregation' or 'query', but got: {}",
+                                query);
+                        return Source.<QueryThingsResponse>single(
+                                QueryThingsResponse.of(SearchModelFactory.emptySearchResult(), dittoHeaders));
+                    }
+                });
+    }
+
+    private void stream(final StreamThings streamThings) {
+        final DittoHeaders dittoHeaders = streamThings.getDittoHeaders();
+        final Optional<String> correlationIdOpt = dittoHeaders.getCorrelationId();
+        LogUtil.enhanceLogWithCorrelationId(log, correlationIdOpt);
+        log.info("Processing StreamThings command: {}", streamThings);
+        final JsonSchemaVersion version = streamThings.getImplementedSchemaVersion();
+
+        final String queryType = "stream";
+        final StartedTimer streamTimer = startNewTimer(version, queryType);
+        final StartedTimer queryParsingTimer = streamTimer.startNewSegment(QUERY_PARSING_SEGMENT_NAME);
+
+        final ActorRef sender = getSender();
+
+        // choose a query actor based on the API version in command headers
+        final ActorRef chosenQueryActor = chooseQueryActor(version, streamThings);
+
+        // errors of the query are answered directly; the stream reference is only created for valid queries
         PatternsCS.pipe(
-                Source.fromCompletionStage(PatternsCS.ask(chosenQueryActor, queryThings, QUERY_ASK_TIMEOUT))
+                Source.fromCompletionStage(PatternsCS.ask(chosenQueryActor, streamThings, QUERY_ASK_TIMEOUT))
                         .flatMapConcat(query -> {
                             LogUtil.enhanceLogWithCorrelationId(log, correlationIdOpt);
                             queryParsingTimer.stop();
 
                             if (query instanceof PolicyRestrictedSearchAggregation) {
-                                final StartedTimer databaseAccessTimer =
-                                        searchTimer.startNewSegment(DATABASE_ACCESS_SEGMENT_NAME);
-                                // policy-based search via aggregation
-                                return processSearchPersistenceResult(
-                                        () -> searchPersistence.findAll((PolicyRestrictedSearchAggregation) query),
-                                        dittoHeaders)
-                                        .via(Flow.fromFunction(result -> {
-                                            databaseAccessTimer.stop();
-                                            return result;
-                                        }))
-                                        .flatMapConcat(resultList -> retrieveThingsForIds(resultList, queryThings));
+                                return Source.<Source<String, NotUsed>>single(
+                                        searchPersistence.stream((PolicyRestrictedSearchAggregation) query));
                             } else if (query instanceof Query) {
-                                final StartedTimer databaseAccessTimer =
-                                        searchTimer.startNewSegment(DATABASE_ACCESS_SEGMENT_NAME);
-                                // api/1 search via 'find'
-                                return processSearchPersistenceResult(() -> searchPersistence.findAll((Query) query),
-                                        dittoHeaders)
-                                        .via(Flow.fromFunction(result -> {
-                                            databaseAccessTimer.stop();
-                                            return result;
-                                        }))
-                                        .flatMapConcat(resultList -> retrieveThingsForIds(resultList, queryThings));
+                                return Source.<Source<String, NotUsed>>single(
+                                        searchPersistence.stream((Query) query));
                             } else if (query instanceof DittoRuntimeException) {
                                 log.info("QueryActor responded with DittoRuntimeException: {}", query);
-                                return Source.<QueryThingsResponse>failed((Throwable) query);
+                                return Source.<Source<String, NotUsed>>failed((Throwable) query);
                             } else {
                                 log.error("Expected 'PolicyRestrictedSearchAggregation' or 'query', but got: {}",
                                         query);
-                                return Source.<QueryThingsResponse>single(
-                                        QueryThingsResponse.of(SearchModelFactory.emptySearchResult(), dittoHeaders));
+                                return Source.<Source<String, NotUsed>>single(Source.empty());
                             }
                         })
-                        .via(Flow.fromFunction(result -> {
-                            searchTimer.stop();
-                            return result;
-                        }))
-                        .runWith(Sink.head(), materializer), dispatcher)
+                        .mapAsync(1, thingIds -> thingIds
+                                // the stream is done when the requester consumed all Thing IDs, not when the
+                                // reference to the stream is sent
+                                .watchTermination((notUsed, done) -> {
+                                    done.whenComplete((d, error) -> streamTimer.stop());
+                                    return notUsed;
+                                })
+                                .runWith(StreamRefs.<String>sourceRef(), materializer))
+                        .runWith(Sink.<SourceRef<String>>head(), materializer), dispatcher)
                 .to(sender);
     }
 
@@ -312,34 +523,59 @@ public final class SearchActor extends AbstractActor {
         final DittoHeaders dittoHeaders = queryThings.getDittoHeaders();
         final Optional<String> correlationIdOpt = dittoHeaders.getCorrelationId();
         LogUtil.enhanceLogWithCorrelationId(log, correlationIdOpt);
+        final Optional<IndexProjection> indexProjection = indexProjectionEnabled
+                ? queryThings.getFields().flatMap(IndexProjection::of)
+                : Optional.empty();
         if (thingIds.isEmpty()) {
             result = Source.<QueryThingsResponse>single(QueryThingsResponse.of(SearchModelFactory.emptySearchResult(), dittoHeaders));
+        } else if (indexProjection.isPresent()) {
+            // respond with the selected fields from the search index if it holds their exact values:
+            final List<String> authorizationSubjects =
+                    dittoHeaders.getAuthorizationContext().getAuthorizationSubjectIds();
+            result = searchPersistence.project(thingIds, indexProjection.get(), authorizationSubjects)
+                    .map(projectedThings -> projectedThings
+                            .map(things -> toQueryThingsResponse(things.stream(), thingIds,
+                                    dittoHeaders.toBuilder()
+                                            .putHeader(ThingsSearchConstants.INDEX_PROJECTION_HEADER,
+                                                    Boolean.TRUE.toString())
+                                            .build()))
+                            .orElseGet(() -> toQueryThingsResponse(toIdObjects(thingIds), thingIds, dittoHeaders)));
         } else  {
             // only respond with the determined "thingIds", the lookup of the things is done in gateway:
-            final JsonArray items = thingIds.stream()
-                    .map(JsonValue::of)
-                    .map(jsonStr -> JsonObject.newBuilder()
-                            .set(Thing.JsonFields.ID.getPointer(), jsonStr)
-                            .build()
-                    )
-                    .collect(JsonCollectors.valuesToArray());
-            final SearchResult searchResult = SearchModelFactory.newSearchResult(items, thingIds.nextPageOffset());
-
-            result = Source.<QueryThingsResponse>single(QueryThingsResponse.of(searchResult, dittoHeaders));
+            result = Source.<QueryThingsResponse>single(
+                    toQueryThingsResponse(toIdObjects(thingIds), thingIds, dittoHeaders));
         }
 
         return result;
     }
 
+    private static Stream<JsonObject> toIdObjects(final List<String> thingIds) {
+        return thingIds.stream()
+                .map(JsonValue::of)
+                .map(jsonStr -> JsonObject.newBuilder()
+                        .set(Thing.JsonFields.ID.getPointer(), jsonStr)
+                        .build()
+                );
+    }
+
+    private static QueryThingsResponse toQueryThingsResponse(final Stream<JsonObject> things,
+            final ResultList<String> thingIds, final DittoHeaders dittoHeaders) {
+
+        final JsonArray items = things.collect(JsonCollectors.valuesToArray());
+        final SearchResult searchResult = SearchModelFactory.newSearchResult(items, thingIds.nextPageOffset(),
+                thingIds.cursor().orElse(null));
+
+        return QueryThingsResponse.of(searchResult, dittoHeaders);
+    }
+
     private ActorRef chooseQueryActor(final JsonSchemaVersion version, final Command<?> command) {
         if (command instanceof ThingSearchQueryCommand<?>) {
             final String filter = ((ThingSearchQueryCommand<?>) command).getFilter().orElse(null);
             // useless parsing of command just to choose another actor to "parse" the filter string
             try {
                 final Criteria criteria = queryFilterCriteriaFactory.filterCriteria(filter, command.getDittoHeaders());
-                final boolean needToLookupPolicy =
-                        JsonSchemaVersion.V_1 != version && criteria.accept(new IsPolicyLookupNeededVisitor());
-                return needToLookupPolicy ? aggregationQueryActor : findQueryActor;
+                final QueryPlan plan = queryPlanner.plan(criteria, JsonSchemaVersion.V_1 != version);
+                return plan.getPath() == QueryPlan.Path.AGGREGATION ? aggregationQueryActor : findQueryActor;
             } catch (final DittoRuntimeException e) {
                 // criteria is invalid, let the query actor deal with it
                 return findQueryActor;
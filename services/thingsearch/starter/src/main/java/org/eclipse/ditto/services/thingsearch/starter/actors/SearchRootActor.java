@@ -144,8 +144,17 @@ public final class SearchRootActor extends AbstractActor {
         final ActorRef apiV1QueryActor = startChildActor(QueryActor.ACTOR_NAME,
                 QueryActor.props(criteriaFactory, fieldExpressionFactory, queryBuilderFactory));
 
+        final boolean indexProjectionEnabled = rawConfig.getBoolean(ConfigKeys.INDEX_PROJECTION_ENABLED);
+        final CountCache countCache = CountCache.of(rawConfig.getDuration(ConfigKeys.COUNT_CACHE_MAX_AGE),
+                rawConfig.getLong(ConfigKeys.COUNT_CACHE_MAXIMUM_SIZE));
+        final boolean countEstimationEnabled = rawConfig.getBoolean(ConfigKeys.COUNT_ESTIMATION_ENABLED);
+        final QueryResultCache queryResultCache =
+                QueryResultCache.of(rawConfig.getDuration(ConfigKeys.QUERY_CACHE_MAX_AGE),
+                        rawConfig.getLong(ConfigKeys.QUERY_CACHE_MAXIMUM_SIZE));
+
         return startChildActor(SearchActor.ACTOR_NAME,
-                SearchActor.props(aggregationQueryActor, apiV1QueryActor, thingsSearchPersistence));
+                SearchActor.props(aggregationQueryActor, apiV1QueryActor, thingsSearchPersistence,
+                        indexProjectionEnabled, countCache, countEstimationEnabled, queryResultCache));
     }
 
     private ActorRef initializeHealthCheckActor(final ServiceConfigReader configReader,
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.starter.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoCountThings;
+import org.eclipse.ditto.signals.commands.thingsearch.query.CountThings;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CountCache}.
+ */
+public final class CountCacheTest {
+
+    private static final String FILTER = "eq(attributes/manufacturer,\"ACME\")";
+
+    @Test
+    public void countOfIdenticalCommandIsCached() {
+        final CountCache underTest = CountCache.of(Duration.ofMinutes(1L), 100L);
+
+        underTest.put(CountThings.of(FILTER, Collections.singleton("org.eclipse.ditto"), headers("a", "b")), 42L);
+
+        assertThat(underTest.get(
+                CountThings.of(FILTER, Collections.singleton("org.eclipse.ditto"), headers("b", "a"))).join())
+                .contains(42L);
+    }
+
+    @Test
+    public void countsOfOtherFiltersNamespacesOrSubjectsAreNotShared() {
+        final CountCache underTest = CountCache.of(Duration.ofMinutes(1L), 100L);
+
+        underTest.put(CountThings.of(FILTER, Collections.singleton("org.eclipse.ditto"), headers("a")), 42L);
+
+        assertThat(underTest.get(CountThings.of(null, Collections.singleton("org.eclipse.ditto"), headers("a")))
+                .join()).isEmpty();
+        assertThat(underTest.get(CountThings.of(FILTER, Collections.singleton("com.acme"), headers("a")))
+                .join()).isEmpty();
+        assertThat(underTest.get(CountThings.of(FILTER, null, headers("a"))).join()).isEmpty();
+        assertThat(underTest.get(CountThings.of(FILTER, Collections.singleton("org.eclipse.ditto"), headers("b")))
+                .join()).isEmpty();
+        assertThat(underTest.get(SudoCountThings.of(FILTER, headers("a"))).join()).isEmpty();
+    }
+
+    @Test
+    public void sudoCountsAreNotRestrictedBySubjects() {
+        final CountCache underTest = CountCache.of(Duration.ofMinutes(1L), 100L);
+
+        underTest.put(SudoCountThings.of(FILTER, headers("a")), 42L);
+
+        assertThat(underTest.get(SudoCountThings.of(FILTER, headers("b"))).join()).contains(42L);
+    }
+
+    @Test
+    public void zeroMaxAgeDisablesCache() {
+        final CountCache underTest = CountCache.of(Duration.ZERO, 100L);
+
+        underTest.put(SudoCountThings.of(FILTER, DittoHeaders.empty()), 42L);
+
+        assertThat(underTest.get(SudoCountThings.of(FILTER, DittoHeaders.empty())).join()).isEmpty();
+    }
+
+    private static DittoHeaders headers(final String subject, final String... furtherSubjects) {
+        return DittoHeaders.newBuilder().authorizationSubjects(subject, furtherSubjects).build();
+    }
+
+}
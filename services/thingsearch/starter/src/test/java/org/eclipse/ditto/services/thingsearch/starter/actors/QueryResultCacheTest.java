@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.starter.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.services.thingsearch.common.model.ResultList;
+import org.eclipse.ditto.services.thingsearch.common.model.ResultListImpl;
+import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThings;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link QueryResultCache}.
+ */
+public final class QueryResultCacheTest {
+
+    private static final String FILTER = "eq(attributes/manufacturer,\"ACME\")";
+    private static final DittoHeaders HEADERS = DittoHeaders.newBuilder().authorizationSubjects("a", "b").build();
+    private static final QueryThings QUERY = QueryThings.of(FILTER, Arrays.asList("sort(+thingId)", "limit(0,2)"),
+            null, Collections.singleton("org.eclipse.ditto"), HEADERS);
+    private static final ResultList<String> RESULT =
+            new ResultListImpl<>(Arrays.asList("org.eclipse.ditto:a", "org.eclipse.ditto:b"), 2);
+
+    private QueryResultCache underTest;
+
+    @Before
+    public void setUp() {
+        underTest = QueryResultCache.of(Duration.ofMinutes(1L), 100L);
+        underTest.put(QUERY, underTest.snapshot(QUERY), RESULT);
+    }
+
+    @Test
+    public void resultOfEquivalentQueryIsCached() {
+        final QueryThings equivalentQuery = QueryThings.of(FILTER, Arrays.asList("limit(0,2)", "sort(+thingId)"),
+                null, Collections.singleton("org.eclipse.ditto"),
+                DittoHeaders.newBuilder().authorizationSubjects("b", "a").build());
+
+        assertThat(underTest.get(equivalentQuery)).contains(RESULT);
+    }
+
+    @Test
+    public void multiKeySortsOfDifferentOrderAreNotShared() {
+        final QueryThings sortByABCD = QueryThings.of(FILTER, Arrays.asList("sort(+a", "+b", "+c", "+d)"), null,
+                Collections.singleton("org.eclipse.ditto"), HEADERS);
+        final QueryThings sortByACBD = QueryThings.of(FILTER, Arrays.asList("sort(+a", "+c", "+b", "+d)"), null,
+                Collections.singleton("org.eclipse.ditto"), HEADERS);
+        underTest.put(sortByABCD, underTest.snapshot(sortByABCD), RESULT);
+
+        assertThat(underTest.get(sortByABCD)).contains(RESULT);
+        assertThat(underTest.get(sortByACBD)).isEmpty();
+    }
+
+    @Test
+    public void reorderedOptionsWithMultiKeySortAreShared() {
+        final QueryThings sortThenLimit = QueryThings.of(FILTER, Arrays.asList("sort(+a", "-b)", "limit(0", "2)"),
+                null, Collections.singleton("org.eclipse.ditto"), HEADERS);
+        final QueryThings limitThenSort = QueryThings.of(FILTER, Arrays.asList("limit(0", "2)", "sort(+a", "-b)"),
+                null, Collections.singleton("org.eclipse.ditto"), HEADERS);
+        underTest.put(sortThenLimit, underTest.snapshot(sortThenLimit), RESULT);
+
+        assertThat(underTest.get(limitThenSort)).contains(RESULT);
+    }
+
+    @Test
+    public void resultsOfOtherSubjectsAreNotShared() {
+        final QueryThings otherSubjectsQuery = QueryThings.of(FILTER, Arrays.asList("sort(+thingId)", "limit(0,2)"),
+                null, Collections.singleton("org.eclipse.ditto"),
+                DittoHeaders.newBuilder().authorizationSubjects("a").build());
+
+        assertThat(underTest.get(otherSubjectsQuery)).isEmpty();
+    }
+
+    @Test
+    public void thingEventOfSearchedNamespaceInvalidatesResult() {
+        underTest.invalidateThing("com.acme:x");
+
+        assertThat(underTest.get(QUERY)).contains(RESULT);
+
+        underTest.invalidateThing("org.eclipse.ditto:x");
+
+        assertThat(underTest.get(QUERY)).isEmpty();
+    }
+
+    @Test
+    public void anyThingEventInvalidatesResultOfQueryWithoutNamespaces() {
+        final QueryThings queryWithoutNamespaces = QueryThings.of(FILTER, null, null, null, HEADERS);
+        underTest.put(queryWithoutNamespaces, underTest.snapshot(queryWithoutNamespaces), RESULT);
+
+        underTest.invalidateThing("com.acme:x");
+
+        assertThat(underTest.get(queryWithoutNamespaces)).isEmpty();
+    }
+
+    @Test
+    public void policyEventInvalidatesResult() {
+        underTest.invalidatePolicy();
+
+        assertThat(underTest.get(QUERY)).isEmpty();
+    }
+
+    @Test
+    public void eventDuringSearchInvalidatesItsResult() {
+        final QueryThings otherQuery = QueryThings.of(null, null, null, Collections.singleton("org.eclipse.ditto"),
+                HEADERS);
+        final QueryResultCache.Snapshot snapshotBeforeSearch = underTest.snapshot(otherQuery);
+        underTest.invalidateThing("org.eclipse.ditto:x");
+        underTest.put(otherQuery, snapshotBeforeSearch, RESULT);
+
+        assertThat(underTest.get(otherQuery)).isEmpty();
+    }
+
+    @Test
+    public void zeroMaxAgeDisablesCache() {
+        final QueryResultCache disabled = QueryResultCache.of(Duration.ZERO, 100L);
+        disabled.put(QUERY, disabled.snapshot(QUERY), RESULT);
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.get(QUERY)).isEmpty();
+    }
+
+}
@@ -15,8 +15,11 @@ import java.time.Duration;
 import org.eclipse.ditto.services.base.config.ServiceConfigReader;
 import org.eclipse.ditto.services.thingsearch.common.util.ConfigKeys;
 import org.eclipse.ditto.services.thingsearch.common.util.RootSupervisorStrategyFactory;
+import org.eclipse.ditto.services.thingsearch.persistence.TypedIndexFields;
+import org.eclipse.ditto.services.thingsearch.persistence.write.SearchIndexRebuildPersistence;
 import org.eclipse.ditto.services.thingsearch.persistence.write.ThingsSearchUpdaterPersistence;
 import org.eclipse.ditto.services.thingsearch.persistence.write.impl.MongoEventToPersistenceStrategyFactory;
+import org.eclipse.ditto.services.thingsearch.persistence.write.impl.MongoSearchIndexRebuildPersistence;
 import org.eclipse.ditto.services.thingsearch.persistence.write.impl.MongoThingsSearchUpdaterPersistence;
 import org.eclipse.ditto.services.utils.akka.streaming.StreamConsumerSettings;
 import org.eclipse.ditto.services.utils.akka.streaming.StreamMetadataPersistence;
@@ -155,6 +158,13 @@ public final class SearchUpdaterRootActor extends AbstractActor {
         } else {
             log.warning("Deletion of marked as deleted Things from search index is not enabled");
         }
+
+        final SearchIndexRebuildPersistence searchIndexRebuildPersistence =
+                new MongoSearchIndexRebuildPersistence(mongoDbClientWrapper, TypedIndexFields.fromConfig(config), log,
+                        materializer);
+        startClusterSingletonActor(ThingsSearchReindexActor.ACTOR_NAME,
+                ThingsSearchReindexActor.props(pubSubMediator, shardRegionFactory.getThingsShardRegion(numberOfShards),
+                        shardRegionFactory.getPoliciesShardRegion(numberOfShards), searchIndexRebuildPersistence));
     }
 
     private ThingsSearchUpdaterPersistence inizializeThingsSearchUpdaterPersistence(
@@ -181,9 +191,10 @@ public final class SearchUpdaterRootActor extends AbstractActor {
         final Duration streamingActorTimeout = config.getDuration(ConfigKeys.THINGS_SYNCER_STREAMING_ACTOR_TIMEOUT);
         final int elementsStreamedPerBatch = config.getInt(ConfigKeys.THINGS_SYNCER_ELEMENTS_STREAMED_PER_BATCH);
         final Duration outdatedWarningOffset = config.getDuration(ConfigKeys.THINGS_SYNCER_OUTDATED_WARNING_OFFSET);
+        final int parallelism = config.getInt(ConfigKeys.THINGS_SYNCER_PARALLELISM);
 
         return StreamConsumerSettings.of(startOffset, streamInterval, initialStartOffset, maxIdleTime,
-                streamingActorTimeout, elementsStreamedPerBatch, outdatedWarningOffset);
+                streamingActorTimeout, elementsStreamedPerBatch, outdatedWarningOffset, parallelism);
     }
 
     private static StreamConsumerSettings createPoliciesStreamConsumerSettings(final Config config) {
@@ -194,9 +205,10 @@ public final class SearchUpdaterRootActor extends AbstractActor {
         final Duration streamingActorTimeout = config.getDuration(ConfigKeys.POLICIES_SYNCER_STREAMING_ACTOR_TIMEOUT);
         final int elementsStreamedPerBatch = config.getInt(ConfigKeys.POLICIES_SYNCER_ELEMENTS_STREAMED_PER_BATCH);
         final Duration outdatedWarningOffset = config.getDuration(ConfigKeys.POLICIES_SYNCER_OUTDATED_WARNING_OFFSET);
+        final int parallelism = config.getInt(ConfigKeys.POLICIES_SYNCER_PARALLELISM);
 
         return StreamConsumerSettings.of(startOffset, streamInterval, initialStartOffset, maxIdleTime,
-                streamingActorTimeout, elementsStreamedPerBatch, outdatedWarningOffset);
+                streamingActorTimeout, elementsStreamedPerBatch, outdatedWarningOffset, parallelism);
     }
 
     /**
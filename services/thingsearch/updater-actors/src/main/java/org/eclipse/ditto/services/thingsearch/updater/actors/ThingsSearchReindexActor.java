@@ -0,0 +1,630 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.updater.actors;
+
+import static org.eclipse.ditto.services.utils.akka.streaming.StreamConstants.FORWARDER_EXCEEDED_MAX_IDLE_TIME_MSG;
+import static org.eclipse.ditto.services.utils.akka.streaming.StreamConstants.STREAM_COMPLETED;
+import static org.eclipse.ditto.services.utils.akka.streaming.StreamConstants.STREAM_FAILED;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.json.FieldType;
+import org.eclipse.ditto.model.enforcers.Enforcer;
+import org.eclipse.ditto.model.enforcers.PolicyEnforcers;
+import org.eclipse.ditto.model.policies.Policy;
+import org.eclipse.ditto.model.policies.PolicyRevision;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.model.things.ThingRevision;
+import org.eclipse.ditto.services.models.policies.commands.sudo.SudoRetrievePolicy;
+import org.eclipse.ditto.services.models.policies.commands.sudo.SudoRetrievePolicyResponse;
+import org.eclipse.ditto.services.models.streaming.SudoStreamModifiedEntities;
+import org.eclipse.ditto.services.models.things.ThingTag;
+import org.eclipse.ditto.services.models.things.ThingsMessagingConstants;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThing;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThingResponse;
+import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoReindexThings;
+import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoReindexThingsResponse;
+import org.eclipse.ditto.services.thingsearch.common.util.ConfigKeys;
+import org.eclipse.ditto.services.thingsearch.persistence.write.SearchIndexRebuildPersistence;
+import org.eclipse.ditto.services.thingsearch.persistence.write.ThingToReindex;
+import org.eclipse.ditto.services.utils.akka.streaming.DefaultStreamForwarder;
+import org.eclipse.ditto.services.utils.akka.streaming.StreamAck;
+import org.eclipse.ditto.signals.base.ShardedMessageEnvelope;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.typesafe.config.Config;
+
+import akka.Done;
+import akka.NotUsed;
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.cluster.pubsub.DistributedPubSubMediator;
+import akka.event.DiagnosticLoggingAdapter;
+import akka.event.Logging;
+import akka.japi.Pair;
+import akka.pattern.PatternsCS;
+import akka.stream.ActorMaterializer;
+import akka.stream.KillSwitches;
+import akka.stream.Materializer;
+import akka.stream.OverflowStrategy;
+import akka.stream.QueueOfferResult;
+import akka.stream.UniqueKillSwitch;
+import akka.stream.javadsl.Keep;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
+import akka.stream.javadsl.SourceQueueWithComplete;
+
+/**
+ * Cluster singleton actor which rebuilds the search index on {@link SudoReindexThings} commands, e.g. after the
+ * index format changed or the index was corrupted.
+ * <p>
+ * The IDs of all Things are streamed from the things service. Each Thing is retrieved from its shard with
+ * {@code parallelism} requests in flight, each Policy only once per pass, and the Things are bulk-written into shadow
+ * collections while searches are still served by the live index. A second pass catches up with the Things modified
+ * during the first one, then the shadow collections replace the live ones. The updates of the search updater since
+ * the second pass started went into the replaced collections, thus a last pass re-syncs the Things modified since
+ * then into the now live collections.
+ * </p>
+ * <p>
+ * If the rebuild is restricted to the Things modified since a point in time, they are written into the live index
+ * directly and nothing is swapped, as the shadow collections would lack all other Things.
+ * </p>
+ */
+public final class ThingsSearchReindexActor extends AbstractActor {
+
+    /**
+     * The name of this Actor.
+     */
+    static final String ACTOR_NAME = "thingsSearchReindexActor";
+
+    private static final String FORWARDER_NAME_PREFIX = "reindexForwarder-";
+
+    private final DiagnosticLoggingAdapter log = Logging.apply(this);
+
+    private final ActorRef pubSubMediator;
+    private final ActorRef thingsShardRegion;
+    private final ActorRef policiesShardRegion;
+    private final SearchIndexRebuildPersistence persistence;
+    private final Materializer materializer;
+    private final int parallelism;
+    private final int bulkSize;
+    private final Duration askTimeout;
+    private final Duration maxIdleTime;
+    private final int elementsStreamedPerBatch;
+    private final long policyCacheSize;
+
+    private State state = State.IDLE;
+    private int jobNumber = 0;
+    private Progress progress = new Progress();
+    @Nullable private Instant since = null;
+    private boolean inPlace = false;
+    @Nullable private Instant jobStart = null;
+    @Nullable private Instant passStart = null;
+    @Nullable private Instant passEnd = null;
+    @Nullable private Instant jobEnd = null;
+    @Nullable private String error = null;
+    @Nullable private SourceQueueWithComplete<ThingTag> queue = null;
+    @Nullable private UniqueKillSwitch killSwitch = null;
+    @Nullable private ActorRef forwarder = null;
+
+    private ThingsSearchReindexActor(final ActorRef pubSubMediator,
+            final ActorRef thingsShardRegion,
+            final ActorRef policiesShardRegion,
+            final SearchIndexRebuildPersistence persistence) {
+
+        this.pubSubMediator = pubSubMediator;
+        this.thingsShardRegion = thingsShardRegion;
+        this.policiesShardRegion = policiesShardRegion;
+        this.persistence = persistence;
+        materializer = ActorMaterializer.create(getContext());
+
+        final Config config = getContext().getSystem().settings().config();
+        parallelism = config.getInt(ConfigKeys.REINDEX_PARALLELISM);
+        bulkSize = config.getInt(ConfigKeys.REINDEX_BULK_SIZE);
+        askTimeout = config.getDuration(ConfigKeys.REINDEX_ASK_TIMEOUT);
+        maxIdleTime = config.getDuration(ConfigKeys.REINDEX_MAX_IDLE_TIME);
+        elementsStreamedPerBatch = config.getInt(ConfigKeys.REINDEX_ELEMENTS_STREAMED_PER_BATCH);
+        policyCacheSize = config.getLong(ConfigKeys.REINDEX_POLICY_CACHE_SIZE);
+    }
+
+    /**
+     * Creates Akka configuration object Props for this Actor.
+     *
+     * @param pubSubMediator the PubSub mediator Actor.
+     * @param thingsShardRegion the shard region of the Things to retrieve.
+     * @param policiesShardRegion the shard region of the Policies to retrieve.
+     * @param persistence the persistence to write the rebuilt search index with.
+     * @return the Akka configuration Props object.
+     */
+    public static Props props(final ActorRef pubSubMediator,
+            final ActorRef thingsShardRegion,
+            final ActorRef policiesShardRegion,
+            final SearchIndexRebuildPersistence persistence) {
+
+        return Props.create(ThingsSearchReindexActor.class,
+                () -> new ThingsSearchReindexActor(pubSubMediator, thingsShardRegion, policiesShardRegion,
+                        persistence));
+    }
+
+    @Override
+    public void preStart() {
+        pubSubMediator.tell(new DistributedPubSubMediator.Subscribe(SudoReindexThings.TYPE, getSelf()), getSelf());
+    }
+
+    @Override
+    public void postStop() {
+        stopRunningPass();
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(SudoReindexThings.class, this::handleSudoReindexThings)
+                .match(ThingTag.class, this::handleThingTag)
+                .matchEquals(STREAM_COMPLETED, msg -> handleStreamCompleted())
+                .matchEquals(STREAM_FAILED, msg -> handleStreamFailed("The stream of modified Things failed."))
+                .matchEquals(FORWARDER_EXCEEDED_MAX_IDLE_TIME_MSG,
+                        msg -> handleStreamFailed("The stream of modified Things exceeded the max idle time."))
+                .match(ShadowCollectionsPrepared.class, msg -> isCurrentJob(msg.jobNumber), this::startIndexing)
+                .match(PassCompleted.class, msg -> isCurrentJob(msg.jobNumber), msg -> handlePassCompleted())
+                .match(SwapCompleted.class, msg -> isCurrentJob(msg.jobNumber), msg -> startResync())
+                .match(JobFailed.class, msg -> isCurrentJob(msg.jobNumber), msg -> failJob(msg.cause))
+                .match(JobMessage.class, msg -> log.debug("Ignoring message of a previous job: <{}>", msg))
+                .match(DistributedPubSubMediator.SubscribeAck.class, ack ->
+                        log.debug("Successfully subscribed to <{}>.", ack.subscribe().topic()))
+                .matchAny(m -> log.warning("Got unknown message: <{}>", m))
+                .build();
+    }
+
+    private void handleSudoReindexThings(final SudoReindexThings command) {
+        switch (command.getAction()) {
+            case START:
+                startJob(command.getSince().orElse(null));
+                break;
+            case ABORT:
+                abortJob();
+                break;
+            default:
+                break;
+        }
+        getSender().tell(SudoReindexThingsResponse.of(getStatus(), command.getDittoHeaders()), getSelf());
+    }
+
+    private void startJob(@Nullable final Instant theSince) {
+        if (state.isRunning()) {
+            log.info("Not starting a rebuild of the search index as one is already <{}>.", state);
+            return;
+        }
+        jobNumber++;
+        progress = new Progress();
+        since = theSince;
+        inPlace = theSince != null;
+        jobStart = Instant.now();
+        passStart = null;
+        passEnd = null;
+        jobEnd = null;
+        error = null;
+        if (theSince != null) {
+            log.info("Starting rebuild <{}> of the search index in place with the Things modified since <{}>.",
+                    jobNumber, theSince);
+            startPass(theSince, jobStart, State.INDEXING);
+            return;
+        }
+        state = State.PREPARING;
+        log.info("Starting rebuild <{}> of the whole search index.", jobNumber);
+
+        final ActorRef self = getSelf();
+        final int currentJob = jobNumber;
+        persistence.prepareShadowCollections().whenComplete((result, throwable) -> self.tell(throwable == null
+                ? new ShadowCollectionsPrepared(currentJob)
+                : new JobFailed(currentJob, throwable), ActorRef.noSender()));
+    }
+
+    private void abortJob() {
+        if (!state.isRunning()) {
+            return;
+        }
+        if (state == State.SWAPPING) {
+            log.warning("Not aborting the rebuild of the search index while the shadow collections replace the " +
+                    "live ones.");
+            return;
+        }
+        log.info("Aborting rebuild <{}> of the search index.", jobNumber);
+        final boolean dropShadowCollections = hasShadowCollections();
+        endJob(State.ABORTED);
+        if (dropShadowCollections) {
+            persistence.dropShadowCollections();
+        }
+    }
+
+    private void startIndexing(final ShadowCollectionsPrepared prepared) {
+        startPass(Instant.EPOCH, jobStart, State.INDEXING);
+    }
+
+    private void handlePassCompleted() {
+        stopRunningPass();
+        if (state == State.INDEXING) {
+            startPass(passEnd, Instant.now(), State.CATCHING_UP);
+        } else if (inPlace || state == State.RESYNCING) {
+            finishJob();
+        } else {
+            state = State.SWAPPING;
+            final ActorRef self = getSelf();
+            final int currentJob = jobNumber;
+            persistence.swapShadowCollections().whenComplete((result, throwable) -> self.tell(throwable == null
+                    ? new SwapCompleted(currentJob)
+                    : new JobFailed(currentJob, throwable), ActorRef.noSender()));
+        }
+    }
+
+    private void startResync() {
+        // the catch-up pass ended when it started
+        startPass(passEnd, Instant.now(), State.RESYNCING);
+    }
+
+    private void finishJob() {
+        endJob(State.FINISHED);
+        log.info("Finished rebuild of the search index: {}", getStatus());
+    }
+
+    private void failJob(final Throwable cause) {
+        log.error(cause, "Rebuild <{}> of the search index failed in state <{}>.", jobNumber, state);
+        error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        final boolean dropShadowCollections = hasShadowCollections();
+        endJob(State.FAILED);
+        if (dropShadowCollections) {
+            persistence.dropShadowCollections();
+        }
+    }
+
+    /**
+     * @return whether the shadow collections exist and have not replaced the live ones yet.
+     */
+    private boolean hasShadowCollections() {
+        return !inPlace && state != State.SWAPPING && state != State.RESYNCING;
+    }
+
+    private void endJob(final State endState) {
+        stopRunningPass();
+        state = endState;
+        jobEnd = Instant.now();
+        // messages of the ended job are ignored from now on
+        jobNumber++;
+    }
+
+    private void startPass(final Instant start, final Instant end, final State passState) {
+        state = passState;
+        passStart = start;
+        passEnd = end;
+        log.info("Rebuilding the search index from the Things modified between <{}> and <{}>.", start, end);
+
+        final Progress passProgress = progress;
+        final boolean writeInPlace = inPlace || passState == State.RESYNCING;
+        final Cache<String, CompletableFuture<Optional<RetrievedPolicy>>> policyCache = Caffeine.newBuilder()
+                .maximumSize(policyCacheSize)
+                .build();
+        final Pair<Pair<SourceQueueWithComplete<ThingTag>, UniqueKillSwitch>, CompletionStage<Done>> materialized =
+                Source.<ThingTag>queue(bulkSize, OverflowStrategy.backpressure())
+                        .viaMat(KillSwitches.single(), Keep.both())
+                        .mapAsyncUnordered(parallelism, thingTag ->
+                                retrieveThingToReindex(thingTag, policyCache, passProgress))
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .grouped(bulkSize)
+                        .flatMapConcat(thingsToReindex ->
+                                writeThingsToReindex(thingsToReindex, writeInPlace, passProgress))
+                        .toMat(Sink.ignore(), Keep.both())
+                        .run(materializer);
+        queue = materialized.first().first();
+        killSwitch = materialized.first().second();
+
+        final ActorRef self = getSelf();
+        final int currentJob = jobNumber;
+        materialized.second().whenComplete((done, throwable) -> self.tell(throwable == null
+                ? new PassCompleted(currentJob)
+                : new JobFailed(currentJob, throwable), ActorRef.noSender()));
+
+        forwarder = getContext().actorOf(DefaultStreamForwarder.props(getSelf(), getSelf(), maxIdleTime,
+                ThingTag.class, Source::single), FORWARDER_NAME_PREFIX + jobNumber + "-" + passState);
+        final SudoStreamModifiedEntities streamModifiedThings = SudoStreamModifiedEntities.of(start, end,
+                elementsStreamedPerBatch, maxIdleTime.toMillis(), DittoHeaders.empty());
+        pubSubMediator.tell(new DistributedPubSubMediator.Send(
+                ThingsMessagingConstants.THINGS_STREAM_PROVIDER_ACTOR_PATH, streamModifiedThings, true), forwarder);
+    }
+
+    private void stopRunningPass() {
+        if (forwarder != null) {
+            getContext().stop(forwarder);
+            forwarder = null;
+        }
+        if (killSwitch != null) {
+            killSwitch.shutdown();
+            killSwitch = null;
+        }
+        queue = null;
+    }
+
+    private void handleThingTag(final ThingTag thingTag) {
+        final ActorRef sender = getSender();
+        if (queue == null) {
+            sender.tell(StreamAck.failure(thingTag.asIdentifierString()), getSelf());
+            return;
+        }
+        // acknowledging only after enqueueing backpressures the things service
+        queue.offer(thingTag).whenComplete((result, throwable) -> {
+            final String elementId = thingTag.asIdentifierString();
+            sender.tell(QueueOfferResult.enqueued().equals(result)
+                    ? StreamAck.success(elementId)
+                    : StreamAck.failure(elementId), ActorRef.noSender());
+        });
+    }
+
+    private void handleStreamCompleted() {
+        if (forwarder != null && forwarder.equals(getSender()) && queue != null) {
+            log.debug("Stream of modified Things completed.");
+            forwarder = null;
+            queue.complete();
+        }
+    }
+
+    private void handleStreamFailed(final String message) {
+        if (forwarder != null && forwarder.equals(getSender())) {
+            forwarder = null;
+            failJob(new IllegalStateException(message));
+        }
+    }
+
+    private boolean isCurrentJob(final int messageJobNumber) {
+        return jobNumber == messageJobNumber;
+    }
+
+    private CompletionStage<Optional<ThingToReindex>> retrieveThingToReindex(final ThingTag thingTag,
+            final Cache<String, CompletableFuture<Optional<RetrievedPolicy>>> policyCache,
+            final Progress passProgress) {
+
+        final String thingId = thingTag.getId();
+        final DittoHeaders dittoHeaders = DittoHeaders.newBuilder()
+                .correlationId("thingsSearchReindex-sudoRetrieveThing-" + UUID.randomUUID())
+                .build();
+        final SudoRetrieveThing sudoRetrieveThing = SudoRetrieveThing.withOriginalSchemaVersion(thingId,
+                dittoHeaders);
+        final JsonObject commandJson = sudoRetrieveThing.toJson(sudoRetrieveThing.getImplementedSchemaVersion(),
+                FieldType.regularOrSpecial());
+        final Object messageEnvelope =
+                ShardedMessageEnvelope.of(thingId, sudoRetrieveThing.getType(), commandJson, dittoHeaders);
+
+        return PatternsCS.ask(thingsShardRegion, messageEnvelope, askTimeout.toMillis())
+                .thenCompose(response -> {
+                    if (response instanceof SudoRetrieveThingResponse) {
+                        return toThingToReindex(((SudoRetrieveThingResponse) response).getThing(), policyCache,
+                                passProgress);
+                    }
+                    // deleted Things are not part of the rebuilt search index
+                    log.debug("Skipping Thing <{}> due to response: <{}>", thingId, response);
+                    passProgress.thingsSkipped.incrementAndGet();
+                    return CompletableFuture.completedFuture(Optional.<ThingToReindex>empty());
+                })
+                .exceptionally(throwable -> {
+                    log.warning("Retrieving Thing <{}> failed: {}", thingId, throwable.getMessage());
+                    passProgress.thingsFailed.incrementAndGet();
+                    return Optional.empty();
+                });
+    }
+
+    private CompletionStage<Optional<ThingToReindex>> toThingToReindex(final Thing thing,
+            final Cache<String, CompletableFuture<Optional<RetrievedPolicy>>> policyCache,
+            final Progress passProgress) {
+
+        final Optional<Long> revision = thing.getRevision().map(ThingRevision::toLong);
+        final Optional<String> policyId = thing.getPolicyId();
+        if (revision.isPresent() && policyId.isPresent()) {
+            return policyCache.get(policyId.get(), id -> retrievePolicy(id, passProgress))
+                    .thenApply(policy -> {
+                        if (!policy.isPresent()) {
+                            passProgress.thingsFailed.incrementAndGet();
+                        }
+                        return policy.map(p -> ThingToReindex.of(thing, revision.get(), p.revision, p.enforcer));
+                    });
+        }
+        final boolean hasAcl = thing.getAccessControlList().filter(acl -> !acl.isEmpty()).isPresent();
+        if (revision.isPresent() && hasAcl) {
+            return CompletableFuture.completedFuture(Optional.of(ThingToReindex.of(thing, revision.get(), -1L, null)));
+        }
+        log.warning("Skipping Thing without revision or without policyId and ACL: <{}>", thing);
+        passProgress.thingsSkipped.incrementAndGet();
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    private CompletableFuture<Optional<RetrievedPolicy>> retrievePolicy(final String policyId,
+            final Progress passProgress) {
+
+        final DittoHeaders dittoHeaders = DittoHeaders.newBuilder()
+                .correlationId("thingsSearchReindex-sudoRetrievePolicy-" + UUID.randomUUID())
+                .build();
+        return PatternsCS.ask(policiesShardRegion, SudoRetrievePolicy.of(policyId, dittoHeaders),
+                askTimeout.toMillis())
+                .thenApply(response -> {
+                    if (response instanceof SudoRetrievePolicyResponse) {
+                        passProgress.policiesRetrieved.incrementAndGet();
+                        final Policy policy = ((SudoRetrievePolicyResponse) response).getPolicy();
+                        final long policyRevision = policy.getRevision().map(PolicyRevision::toLong).orElse(-1L);
+                        final Enforcer enforcer = PolicyEnforcers.defaultEvaluator(policy);
+                        return Optional.of(new RetrievedPolicy(policyRevision, enforcer));
+                    }
+                    log.warning("Retrieving Policy <{}> failed with response: <{}>", policyId, response);
+                    return Optional.<RetrievedPolicy>empty();
+                })
+                .exceptionally(throwable -> {
+                    log.warning("Retrieving Policy <{}> failed: {}", policyId, throwable.getMessage());
+                    return Optional.empty();
+                })
+                .toCompletableFuture();
+    }
+
+    private Source<Integer, NotUsed> writeThingsToReindex(final List<ThingToReindex> thingsToReindex,
+            final boolean writeInPlace, final Progress passProgress) {
+
+        final Source<Integer, NotUsed> write = writeInPlace
+                ? persistence.writeIntoLiveCollections(thingsToReindex)
+                : persistence.write(thingsToReindex);
+        return write.map(written -> {
+                    passProgress.thingsIndexed.addAndGet(written);
+                    passProgress.thingsSkipped.addAndGet(thingsToReindex.size() - written);
+                    return written;
+                });
+    }
+
+    private JsonObject getStatus() {
+        final JsonObjectBuilder builder = JsonFactory.newObjectBuilder()
+                .set("state", state.toString())
+                .set("thingsIndexed", progress.thingsIndexed.get())
+                .set("thingsSkipped", progress.thingsSkipped.get())
+                .set("thingsFailed", progress.thingsFailed.get())
+                .set("policiesRetrieved", progress.policiesRetrieved.get());
+        if (since != null) {
+            builder.set("since", since.toString());
+        }
+        if (jobStart != null) {
+            builder.set("started", jobStart.toString());
+        }
+        if (passStart != null && passEnd != null) {
+            builder.set("passStart", passStart.toString()).set("passEnd", passEnd.toString());
+        }
+        if (jobEnd != null) {
+            builder.set("ended", jobEnd.toString());
+        }
+        if (error != null) {
+            builder.set("error", error);
+        }
+        return builder.build();
+    }
+
+    private enum State {
+
+        IDLE("idle", false),
+        PREPARING("preparing", true),
+        INDEXING("indexing", true),
+        CATCHING_UP("catching-up", true),
+        SWAPPING("swapping", true),
+        RESYNCING("re-syncing", true),
+        FINISHED("finished", false),
+        ABORTED("aborted", false),
+        FAILED("failed", false);
+
+        private final String name;
+        private final boolean running;
+
+        State(final String name, final boolean running) {
+            this.name = name;
+            this.running = running;
+        }
+
+        private boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+    /**
+     * The counters of a rebuild, updated by the stream of its passes.
+     */
+    private static final class Progress {
+
+        private final AtomicLong thingsIndexed = new AtomicLong();
+        private final AtomicLong thingsSkipped = new AtomicLong();
+        private final AtomicLong thingsFailed = new AtomicLong();
+        private final AtomicLong policiesRetrieved = new AtomicLong();
+
+    }
+
+    private static final class RetrievedPolicy {
+
+        private final long revision;
+        private final Enforcer enforcer;
+
+        private RetrievedPolicy(final long revision, final Enforcer enforcer) {
+            this.revision = revision;
+            this.enforcer = enforcer;
+        }
+
+    }
+
+    private abstract static class JobMessage {
+
+        final int jobNumber;
+
+        private JobMessage(final int jobNumber) {
+            this.jobNumber = jobNumber;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [jobNumber=" + jobNumber + "]";
+        }
+
+    }
+
+    private static final class ShadowCollectionsPrepared extends JobMessage {
+
+        private ShadowCollectionsPrepared(final int jobNumber) {
+            super(jobNumber);
+        }
+
+    }
+
+    private static final class PassCompleted extends JobMessage {
+
+        private PassCompleted(final int jobNumber) {
+            super(jobNumber);
+        }
+
+    }
+
+    private static final class SwapCompleted extends JobMessage {
+
+        private SwapCompleted(final int jobNumber) {
+            super(jobNumber);
+        }
+
+    }
+
+    private static final class JobFailed extends JobMessage {
+
+        private final Throwable cause;
+
+        private JobFailed(final int jobNumber, final Throwable cause) {
+            super(jobNumber);
+            this.cause = cause;
+        }
+
+    }
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.thingsearch.updater.actors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.ditto.services.utils.akka.streaming.StreamConstants.STREAM_ACK_MSG;
+import static org.eclipse.ditto.services.utils.akka.streaming.StreamConstants.STREAM_COMPLETED;
+import static org.eclipse.ditto.services.utils.akka.streaming.StreamConstants.STREAM_STARTED;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.json.FieldType;
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.model.policies.PoliciesModelFactory;
+import org.eclipse.ditto.model.policies.Policy;
+import org.eclipse.ditto.model.policies.SubjectIssuer;
+import org.eclipse.ditto.model.things.Thing;
+import org.eclipse.ditto.model.things.ThingsModelFactory;
+import org.eclipse.ditto.services.models.policies.commands.sudo.SudoRetrievePolicy;
+import org.eclipse.ditto.services.models.policies.commands.sudo.SudoRetrievePolicyResponse;
+import org.eclipse.ditto.services.models.streaming.BatchedEntityIdWithRevisions;
+import org.eclipse.ditto.services.models.streaming.SudoStreamModifiedEntities;
+import org.eclipse.ditto.services.models.things.ThingTag;
+import org.eclipse.ditto.services.models.things.commands.sudo.SudoRetrieveThingResponse;
+import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoReindexThings;
+import org.eclipse.ditto.services.models.thingsearch.commands.sudo.SudoReindexThingsResponse;
+import org.eclipse.ditto.services.thingsearch.common.util.ConfigKeys;
+import org.eclipse.ditto.services.thingsearch.persistence.write.SearchIndexRebuildPersistence;
+import org.eclipse.ditto.services.thingsearch.persistence.write.ThingToReindex;
+import org.eclipse.ditto.signals.base.ShardedMessageEnvelope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.cluster.pubsub.DistributedPubSubMediator;
+import akka.stream.javadsl.Source;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Unit test for {@link ThingsSearchReindexActor}.
+ */
+public final class ThingsSearchReindexActorTest {
+
+    private static final String POLICY_ID = "org.eclipse.ditto:policy";
+    private static final Policy POLICY = PoliciesModelFactory.newPolicyBuilder(POLICY_ID)
+            .setRevision(1L)
+            .forLabel("DEFAULT")
+            .setSubject(SubjectIssuer.GOOGLE, "user")
+            .setGrantedPermissions("thing", "/", "READ")
+            .build();
+
+    private ActorSystem actorSystem;
+    private SearchIndexRebuildPersistence persistence;
+    private TestKit pubSubMediator;
+    private TestKit thingsShardRegion;
+    private TestKit policiesShardRegion;
+    private TestKit thingsStreamProvider;
+
+    @Before
+    public void setUp() {
+        actorSystem = ActorSystem.create("AkkaTestSystem", reindexConfig().withFallback(ConfigFactory.load("test")));
+        persistence = mock(SearchIndexRebuildPersistence.class);
+        when(persistence.write(anyListOf(ThingToReindex.class)))
+                .thenAnswer(invocation -> Source.single(invocation.<List<?>>getArgument(0).size()));
+        when(persistence.writeIntoLiveCollections(anyListOf(ThingToReindex.class)))
+                .thenAnswer(invocation -> Source.single(invocation.<List<?>>getArgument(0).size()));
+        when(persistence.prepareShadowCollections()).thenReturn(CompletableFuture.completedFuture(null));
+        when(persistence.dropShadowCollections()).thenReturn(CompletableFuture.completedFuture(null));
+        pubSubMediator = new TestKit(actorSystem);
+        thingsShardRegion = new TestKit(actorSystem);
+        policiesShardRegion = new TestKit(actorSystem);
+        thingsStreamProvider = new TestKit(actorSystem);
+    }
+
+    @After
+    public void tearDown() {
+        TestKit.shutdownActorSystem(actorSystem);
+    }
+
+    @Test
+    public void rebuildOfWholeIndexCatchesUpAndSwapsShadowCollections() {
+        final CompletableFuture<Void> swap = new CompletableFuture<>();
+        when(persistence.swapShadowCollections()).thenReturn(swap);
+
+        new TestKit(actorSystem) {{
+            final ActorRef underTest = createReindexActor();
+
+            underTest.tell(SudoReindexThings.start(null, DittoHeaders.empty()), getRef());
+            assertThat(expectMsgClass(SudoReindexThingsResponse.class).getStatus().getValue("state")
+                    .map(JsonValue::asString)).contains("preparing");
+            verify(persistence, timeout(5000L)).prepareShadowCollections();
+
+            // the first pass indexes all Things into the shadow collections
+            final SudoStreamModifiedEntities firstPass = streamThingTags("org.eclipse.ditto:a");
+            assertThat(firstPass.getStart()).isEqualTo(Instant.EPOCH);
+            answerRetrieveThing("org.eclipse.ditto:a");
+            answerRetrievePolicy();
+            verify(persistence, timeout(5000L)).write(anyListOf(ThingToReindex.class));
+
+            // the catch-up pass indexes the Things modified during the first pass
+            final SudoStreamModifiedEntities catchUpPass = streamThingTags("org.eclipse.ditto:b");
+            assertThat(catchUpPass.getStart()).isEqualTo(firstPass.getEnd());
+            answerRetrieveThing("org.eclipse.ditto:b");
+            answerRetrievePolicy();
+
+            verify(persistence, timeout(5000L)).swapShadowCollections();
+            assertThat(retrieveState(underTest)).isEqualTo("swapping");
+            swap.complete(null);
+
+            // the last pass re-syncs the Things modified since the catch-up pass started into the swapped collections
+            final SudoStreamModifiedEntities resyncPass = streamThingTags("org.eclipse.ditto:c");
+            assertThat(resyncPass.getStart()).isEqualTo(catchUpPass.getEnd());
+            answerRetrieveThing("org.eclipse.ditto:c");
+            answerRetrievePolicy();
+            verify(persistence, timeout(5000L)).writeIntoLiveCollections(anyListOf(ThingToReindex.class));
+
+            awaitState(underTest, "finished");
+            assertThat(retrieveStatus(underTest).getValue("thingsIndexed").map(JsonValue::asLong)).contains(3L);
+            verify(persistence, never()).dropShadowCollections();
+        }};
+    }
+
+    @Test
+    public void rebuildSinceAPointInTimeWritesIntoLiveCollections() {
+        final Instant since = Instant.now().minusSeconds(3600L);
+
+        new TestKit(actorSystem) {{
+            final ActorRef underTest = createReindexActor();
+
+            underTest.tell(SudoReindexThings.start(since, DittoHeaders.empty()), getRef());
+            expectMsgClass(SudoReindexThingsResponse.class);
+
+            final SudoStreamModifiedEntities firstPass = streamThingTags("org.eclipse.ditto:a");
+            assertThat(firstPass.getStart()).isEqualTo(since);
+            answerRetrieveThing("org.eclipse.ditto:a");
+            answerRetrievePolicy();
+            verify(persistence, timeout(5000L)).writeIntoLiveCollections(anyListOf(ThingToReindex.class));
+
+            streamThingTags();
+
+            awaitState(underTest, "finished");
+            assertThat(retrieveStatus(underTest).getValue("thingsIndexed").map(JsonValue::asLong)).contains(1L);
+            verify(persistence, never()).prepareShadowCollections();
+            verify(persistence, never()).write(anyListOf(ThingToReindex.class));
+            verify(persistence, never()).swapShadowCollections();
+            verify(persistence, never()).dropShadowCollections();
+        }};
+    }
+
+    private ActorRef createReindexActor() {
+        final ActorRef reindexActor = actorSystem.actorOf(ThingsSearchReindexActor.props(pubSubMediator.getRef(),
+                thingsShardRegion.getRef(), policiesShardRegion.getRef(), persistence));
+        pubSubMediator.expectMsgClass(DistributedPubSubMediator.Subscribe.class);
+        return reindexActor;
+    }
+
+    /**
+     * Answers the request of a pass for modified Things like the things service by streaming the given Thing IDs.
+     */
+    private SudoStreamModifiedEntities streamThingTags(final String... thingIds) {
+        final DistributedPubSubMediator.Send send = pubSubMediator.expectMsgClass(DistributedPubSubMediator.Send.class);
+        final ActorRef forwarder = pubSubMediator.getLastSender();
+        forwarder.tell(STREAM_STARTED, thingsStreamProvider.getRef());
+        thingsStreamProvider.expectMsg(STREAM_ACK_MSG);
+        if (thingIds.length > 0) {
+            final ThingTag[] thingTags = Arrays.stream(thingIds)
+                    .map(thingId -> ThingTag.of(thingId, 1L))
+                    .toArray(ThingTag[]::new);
+            forwarder.tell(BatchedEntityIdWithRevisions.of(ThingTag.class, Arrays.asList(thingTags)),
+                    thingsStreamProvider.getRef());
+            thingsStreamProvider.expectMsg(STREAM_ACK_MSG);
+        }
+        forwarder.tell(STREAM_COMPLETED, thingsStreamProvider.getRef());
+        return (SudoStreamModifiedEntities) send.msg();
+    }
+
+    private void answerRetrieveThing(final String thingId) {
+        final ShardedMessageEnvelope envelope = thingsShardRegion.expectMsgClass(ShardedMessageEnvelope.class);
+        assertThat(envelope.getId()).isEqualTo(thingId);
+        final Thing thing = ThingsModelFactory.newThingBuilder()
+                .setId(thingId)
+                .setPolicyId(POLICY_ID)
+                .setRevision(1L)
+                .build();
+        thingsShardRegion.reply(SudoRetrieveThingResponse.of(
+                thing.toJson(JsonSchemaVersion.V_2, FieldType.regularOrSpecial()), DittoHeaders.empty()));
+    }
+
+    private void answerRetrievePolicy() {
+        policiesShardRegion.expectMsgClass(SudoRetrievePolicy.class);
+        policiesShardRegion.reply(SudoRetrievePolicyResponse.of(POLICY_ID, POLICY, DittoHeaders.empty()));
+    }
+
+    private JsonObject retrieveStatus(final ActorRef reindexActor) {
+        final TestKit requester = new TestKit(actorSystem);
+        reindexActor.tell(SudoReindexThings.status(DittoHeaders.empty()), requester.getRef());
+        return requester.expectMsgClass(SudoReindexThingsResponse.class).getStatus();
+    }
+
+    private String retrieveState(final ActorRef reindexActor) {
+        return retrieveStatus(reindexActor).getValue("state").map(JsonValue::asString).orElse("");
+    }
+
+    private void awaitState(final ActorRef reindexActor, final String expectedState) {
+        for (int i = 0; i < 50 && !expectedState.equals(retrieveState(reindexActor)); i++) {
+            try {
+                Thread.sleep(100L);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+        assertThat(retrieveState(reindexActor)).isEqualTo(expectedState);
+    }
+
+    private static Config reindexConfig() {
+        final Map<String, Object> reindexConfig = new HashMap<>();
+        reindexConfig.put(ConfigKeys.REINDEX_PARALLELISM, 2);
+        reindexConfig.put(ConfigKeys.REINDEX_BULK_SIZE, 10);
+        reindexConfig.put(ConfigKeys.REINDEX_ASK_TIMEOUT, "5s");
+        reindexConfig.put(ConfigKeys.REINDEX_MAX_IDLE_TIME, "10s");
+        reindexConfig.put(ConfigKeys.REINDEX_ELEMENTS_STREAMED_PER_BATCH, 10);
+        reindexConfig.put(ConfigKeys.REINDEX_POLICY_CACHE_SIZE, 10L);
+        return ConfigFactory.parseMap(reindexConfig);
+    }
+
+}
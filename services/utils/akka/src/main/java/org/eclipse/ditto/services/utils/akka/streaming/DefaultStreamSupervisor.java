@@ -17,8 +17,13 @@ import static org.eclipse.ditto.services.utils.akka.streaming.StreamConstants.ST
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Objects;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -42,7 +47,6 @@ import akka.japi.pf.DeciderBuilder;
 import akka.japi.pf.ReceiveBuilder;
 import akka.stream.Materializer;
 import akka.stream.javadsl.Source;
-import scala.Option;
 import scala.concurrent.duration.FiniteDuration;
 
 /**
@@ -117,11 +121,19 @@ import scala.concurrent.duration.FiniteDuration;
  *    |                                                                            Supervisor             |
  * }
  * </pre>
+ * <p>
+ * While the supervisor is behind, i.e. while the planned start of several consecutive stream intervals has already
+ * passed, it streams up to {@link StreamConsumerSettings#getParallelism()} of these intervals in parallel, each by its
+ * own forwarder. The end timestamp in the {@code StreamMetadataPersistence} is only advanced over intervals which
+ * completed without a gap before them, so that a restart never skips an interval which failed or did not complete
+ * yet. Failed intervals are streamed again before any later interval is started.
+ * </p>
  */
 public final class DefaultStreamSupervisor<E> extends AbstractActor {
 
     /**
-     * The name of the supervised stream forwarder.
+     * The name of the supervised stream forwarder. If intervals are streamed in parallel, the names of the further
+     * forwarders are suffixed by their index.
      */
     public static final String STREAM_FORWARDER_ACTOR_NAME = "streamForwarder";
 
@@ -140,10 +152,37 @@ public final class DefaultStreamSupervisor<E> extends AbstractActor {
     private final StreamMetadataPersistence streamMetadataPersistence;
     private final Materializer materializer;
     private final StreamConsumerSettings streamConsumerSettings;
-    private @Nullable ActorRef forwarder;
-    private @Nullable StreamTrigger nextStream;
-    private @Nullable StreamTrigger activeStream;
-    private @Nullable Boolean activeStreamSuccess;
+
+    /*
+     * The streams which are currently running, by their forwarders.
+     */
+    private final Map<ActorRef, StreamTrigger> activeStreams;
+
+    /*
+     * Whether the active streams completed successfully, by their forwarders; absent as long as it is unknown.
+     */
+    private final Map<ActorRef, Boolean> activeStreamSuccesses;
+
+    /*
+     * Streams which failed and are to be started again before any later stream.
+     */
+    private final Deque<StreamTrigger> failedStreams;
+
+    /*
+     * Query end by query start of successful streams which are not yet covered by lastSuccessfulQueryEnd, because an
+     * earlier stream is still running or failed.
+     */
+    private final SortedMap<Instant, Instant> completedStreams;
+
+    /*
+     * The end of the last successful stream without a gap before it.
+     */
+    private Instant lastSuccessfulQueryEnd;
+
+    /*
+     * The stream of the first interval which was never started.
+     */
+    private StreamTrigger nextStream;
 
     /*
      * Regular check that this actor is not stuck.
@@ -174,11 +213,17 @@ public final class DefaultStreamSupervisor<E> extends AbstractActor {
         this.materializer = requireNonNull(materializer);
         this.streamConsumerSettings = requireNonNull(streamConsumerSettings);
 
+        activeStreams = new HashMap<>();
+        activeStreamSuccesses = new HashMap<>();
+        failedStreams = new ArrayDeque<>();
+        completedStreams = new TreeMap<>();
+
         activityCheck = scheduleActivityCheck(streamConsumerSettings);
         lastStreamStartOrStop = Instant.now();
 
-        final StreamTrigger nextStreamTrigger = computeNextStreamTrigger(null);
-        scheduleStream(nextStreamTrigger);
+        nextStream = computeNextStreamTrigger(lastStreamStartOrStop, null);
+        lastSuccessfulQueryEnd = nextStream.getQueryStart();
+        scheduleStream(nextStream.getPlannedStreamStart());
     }
 
     /**
@@ -255,7 +300,7 @@ public final class DefaultStreamSupervisor<E> extends AbstractActor {
                     log.debug("Switching to supervisingBehaviour has been triggered by message: {}",
                             tryToStartStream);
                     becomeSupervising();
-                    tryToStartStream();
+                    tryToStartStreams();
                 })
                 .match(Terminated.class, this::terminated)
                 .matchEquals(CheckForActivity.INSTANCE, this::checkForActivity)
@@ -272,62 +317,73 @@ public final class DefaultStreamSupervisor<E> extends AbstractActor {
                 .matchEquals(STREAM_COMPLETED, msg -> streamCompleted())
                 .matchEquals(STREAM_FAILED, msg -> streamFailed())
                 .matchEquals(FORWARDER_EXCEEDED_MAX_IDLE_TIME_MSG, msg -> streamTimedOut())
-                .matchEquals(TryToStartStream.INSTANCE, msg -> tryToStartStream())
+                .matchEquals(TryToStartStream.INSTANCE, msg -> tryToStartStreams())
                 .match(Terminated.class, this::terminated)
                 .matchEquals(CheckForActivity.INSTANCE, this::checkForActivity)
                 .build();
     }
 
     private void streamCompleted() {
-        log.debug("Stream completed.");
-        activeStreamSuccess = true;
+        log.debug("Stream of <{}> completed.", getSender());
+        activeStreamSuccesses.put(getSender(), true);
     }
 
     private void streamTimedOut() {
-        log.debug("Stream timed out.");
-        activeStreamSuccess = false;
+        log.debug("Stream of <{}> timed out.", getSender());
+        activeStreamSuccesses.put(getSender(), false);
     }
 
     private void streamFailed() {
-        log.debug("Stream failed");
-        activeStreamSuccess = false;
+        log.debug("Stream of <{}> failed", getSender());
+        activeStreamSuccesses.put(getSender(), false);
     }
 
-    private void scheduleNextStream() {
-        if (activeStream == null) {
-            log.error("Cannot schedule next stream, because active stream is unknown.");
+    private void streamTerminated(final ActorRef terminatedForwarder) {
+        final StreamTrigger terminatedStream = activeStreams.remove(terminatedForwarder);
+        final Boolean success = activeStreamSuccesses.remove(terminatedForwarder);
+        if (terminatedStream == null) {
+            log.warning("Received Terminated-Message from actor <{}> which is not an active forwarder",
+                    terminatedForwarder);
             return;
         }
-        if (activeStreamSuccess == null) {
-            log.warning("Cannot schedule next stream, because success of active stream is unknown.");
-            return;
+
+        if (Boolean.TRUE.equals(success)) {
+            completedStreams.put(terminatedStream.getQueryStart(), terminatedStream.getQueryEnd());
+            advanceLastSuccessfulQueryEnd();
+        } else {
+            if (success == null) {
+                log.warning("Success of stream <{}> is unknown, streaming it again.", terminatedStream);
+            }
+            rescheduleFailedStream(terminatedStream);
         }
+        scheduleNextStream();
+    }
 
-        if (activeStreamSuccess) {
-            final Instant lastSuccessfulQueryEnd = activeStream.getQueryEnd();
-            streamMetadataPersistence.updateLastSuccessfulStreamEnd(lastSuccessfulQueryEnd)
+    private void advanceLastSuccessfulQueryEnd() {
+        final Instant previousQueryEnd = lastSuccessfulQueryEnd;
+        while (!completedStreams.isEmpty() && !completedStreams.firstKey().isAfter(lastSuccessfulQueryEnd)) {
+            final Instant completedQueryEnd = completedStreams.remove(completedStreams.firstKey());
+            if (completedQueryEnd.isAfter(lastSuccessfulQueryEnd)) {
+                lastSuccessfulQueryEnd = completedQueryEnd;
+            }
+        }
+        if (!lastSuccessfulQueryEnd.equals(previousQueryEnd)) {
+            final Instant queryEnd = lastSuccessfulQueryEnd;
+            streamMetadataPersistence.updateLastSuccessfulStreamEnd(queryEnd)
                     .runWith(akka.stream.javadsl.Sink.last(), materializer)
-                    .thenRun(() -> log.info("Updated last sync timestamp to value: <{}>.", lastSuccessfulQueryEnd))
+                    .thenRun(() -> log.info("Updated last sync timestamp to value: <{}>.", queryEnd))
                     .exceptionally(error -> {
-                        log.error(error, "Failed to update last sync timestamp to value: <{}>.",
-                                lastSuccessfulQueryEnd);
+                        log.error(error, "Failed to update last sync timestamp to value: <{}>.", queryEnd);
                         return null;
                     });
-
-            final StreamTrigger nextStreamTrigger = computeNextStreamTrigger(lastSuccessfulQueryEnd);
-            scheduleStream(nextStreamTrigger);
-        } else {
-            rescheduleActiveStream();
         }
     }
 
-    private StreamTrigger computeNextStreamTrigger(@Nullable final Instant lastSuccessfulQueryEnd) {
-        final Instant now = Instant.now();
-
+    private StreamTrigger computeNextStreamTrigger(final Instant now, @Nullable final Instant lastQueryEnd) {
         final Instant queryStart;
         // short-cut: we do not need to access the database if last synch has been completed
-        if (lastSuccessfulQueryEnd != null) {
-            queryStart = lastSuccessfulQueryEnd;
+        if (lastQueryEnd != null) {
+            queryStart = lastQueryEnd;
         } else {
             // the initial start ts is only used when no sync has been run yet (i.e. no timestamp has been persisted)
             final Instant initialStartTsWithoutStandardOffset =
@@ -351,10 +407,16 @@ public final class DefaultStreamSupervisor<E> extends AbstractActor {
         return StreamTrigger.calculateStreamTrigger(now, queryStart, startOffset, streamInterval);
     }
 
-    private void scheduleStream(final StreamTrigger streamTrigger) {
-        this.nextStream = streamTrigger;
-
-        scheduleStream(streamTrigger.getPlannedStreamStart());
+    /*
+     * Schedules the start of the next stream if not all forwarders are busy; otherwise the termination of a forwarder
+     * schedules it.
+     */
+    private void scheduleNextStream() {
+        if (activeStreams.size() < streamConsumerSettings.getParallelism()) {
+            final StreamTrigger failedStream = failedStreams.peek();
+            final StreamTrigger streamTrigger = failedStream != null ? failedStream : nextStream;
+            scheduleStream(streamTrigger.getPlannedStreamStart());
+        }
     }
 
     private void scheduleStream(final Instant when) {
@@ -391,54 +453,73 @@ public final class DefaultStreamSupervisor<E> extends AbstractActor {
                 .schedule(initialDelay, interval, getSelf(), message, getContext().dispatcher(), ActorRef.noSender());
     }
 
-    private void tryToStartStream() {
-        if (forwarder != null) {
-            log.warning("Forwarder is still running: {}. Re-scheduling current stream.", forwarder);
-            rescheduleActiveStream();
-        } else {
-            final Object startStreamCommand = newStartStreamingCommand(nextStream);
-
-            forwarder = createOrGetForwarder();
-
-            log.info("Requesting stream from <{}> on behalf of <{}> by <{}>", provider, forwarder,
-                    startStreamCommand);
-            provider.tell(startStreamCommand, forwarder);
-            activeStream = nextStream;
-            activeStreamSuccess = null;
+    private void tryToStartStreams() {
+        final Instant now = Instant.now();
+        final int parallelism = streamConsumerSettings.getParallelism();
+        StreamTrigger dueStream = activeStreams.size() < parallelism ? pollStreamDueAt(now) : null;
+        while (dueStream != null) {
+            startStream(dueStream);
+            dueStream = activeStreams.size() < parallelism ? pollStreamDueAt(now) : null;
         }
-    }
-
-    private void rescheduleActiveStream() {
-        final Instant rescheduledPlannedStreamStart = Instant.now().plus(streamConsumerSettings.getStreamInterval());
-        log.warning("Re-scheduling at {}", rescheduledPlannedStreamStart);
-
-        if (activeStream == null) {
-            log.error("Cannot re-schedule stream, because metadata of active stream is unknown.");
-            return;
+        if (activeStreams.size() >= parallelism) {
+            log.debug("All <{}> forwarders are busy, next stream is scheduled when one of them terminates.",
+                    parallelism);
         }
-
-        final StreamTrigger rescheduledStreamTrigger = activeStream.rescheduleAt(rescheduledPlannedStreamStart);
-        scheduleStream(rescheduledStreamTrigger);
+        scheduleNextStream();
     }
 
-    private ActorRef createOrGetForwarder() {
-        final Option<ActorRef> refOption = getContext().child(STREAM_FORWARDER_ACTOR_NAME);
-        final ActorRef forwarderRef;
-        if (refOption.isDefined()) {
-            forwarderRef = refOption.get();
+    /*
+     * Returns the stream to start next if its planned start has passed. Failed streams are started again before any
+     * later stream, as the last successful stream end cannot advance beyond them anyway.
+     */
+    @Nullable
+    private StreamTrigger pollStreamDueAt(final Instant now) {
+        final StreamTrigger failedStream = failedStreams.peek();
+        if (failedStream != null) {
+            return failedStream.getPlannedStreamStart().isAfter(now) ? null : failedStreams.poll();
+        } else if (nextStream.getPlannedStreamStart().isAfter(now)) {
+            return null;
         } else {
-            forwarderRef = startStreamForwarder();
-            log.debug("Watching forwarder: {}", forwarderRef);
-            // important: watch the child to get notified when it terminates
-            getContext().watch(forwarderRef);
+            final StreamTrigger dueStream = nextStream;
+            nextStream = computeNextStreamTrigger(now, dueStream.getQueryEnd());
+            return dueStream;
         }
+    }
+
+    private void startStream(final StreamTrigger streamTrigger) {
+        final Object startStreamCommand = newStartStreamingCommand(streamTrigger);
+        final ActorRef forwarder = startStreamForwarder();
+        log.debug("Watching forwarder: {}", forwarder);
+        // important: watch the child to get notified when it terminates
+        getContext().watch(forwarder);
+
+        log.info("Requesting stream from <{}> on behalf of <{}> by <{}>", provider, forwarder, startStreamCommand);
+        provider.tell(startStreamCommand, forwarder);
+        activeStreams.put(forwarder, streamTrigger);
+    }
 
-        return forwarderRef;
+    private void rescheduleFailedStream(final StreamTrigger failedStream) {
+        final Instant rescheduledPlannedStreamStart = Instant.now().plus(streamConsumerSettings.getStreamInterval());
+        log.warning("Re-scheduling <{}> at {}", failedStream, rescheduledPlannedStreamStart);
+        failedStreams.add(failedStream.rescheduleAt(rescheduledPlannedStreamStart));
     }
 
     private ActorRef startStreamForwarder() {
         streamForwarderStartedOrStopped();
-        return getContext().actorOf(getStreamForwarderProps(), STREAM_FORWARDER_ACTOR_NAME);
+        return getContext().actorOf(getStreamForwarderProps(), getFreeForwarderName());
+    }
+
+    /*
+     * Names of terminated forwarders are reused, so that there are at most "parallelism" different names.
+     */
+    private String getFreeForwarderName() {
+        int index = 0;
+        String forwarderName = STREAM_FORWARDER_ACTOR_NAME;
+        while (getContext().child(forwarderName).isDefined()) {
+            ++index;
+            forwarderName = STREAM_FORWARDER_ACTOR_NAME + "-" + index;
+        }
+        return forwarderName;
     }
 
     private void terminated(final Terminated terminated) {
@@ -446,16 +527,8 @@ public final class DefaultStreamSupervisor<E> extends AbstractActor {
         final ActorRef terminatedActor = terminated.getActor();
         log.debug("Received Terminated-Message: {}", terminated);
 
-        if (!Objects.equals(terminatedActor, forwarder)) {
-            log.warning("Received Terminated-Message from actor <{}> which does not match current forwarder <{}>",
-                    terminatedActor, forwarder);
-            return;
-        }
-
         getContext().unwatch(terminatedActor);
-        forwarder = null;
-
-        scheduleNextStream();
+        streamTerminated(terminatedActor);
     }
 
     private void checkForActivity(final CheckForActivity instance) {
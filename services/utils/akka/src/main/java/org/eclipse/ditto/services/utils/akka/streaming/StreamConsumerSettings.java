@@ -30,11 +30,12 @@ public final class StreamConsumerSettings {
     private final Duration streamingActorTimeout;
     private final int elementsStreamedPerBatch;
     private final Duration outdatedWarningOffset;
+    private final int parallelism;
 
     private StreamConsumerSettings(final Duration startOffset,
             final Duration streamInterval, final Duration initialStartOffset,
             final Duration maxIdleTime, final Duration streamingActorTimeout,
-            final int elementsStreamedPerBatch, final Duration outdatedWarningOffset) {
+            final int elementsStreamedPerBatch, final Duration outdatedWarningOffset, final int parallelism) {
         this.startOffset = requireNonNull(checkNonNegative(startOffset));
         this.streamInterval = requireNonNull(checkNonNegative(streamInterval));
         this.initialStartOffset = requireNonNull(checkNonNegative(initialStartOffset));
@@ -46,6 +47,10 @@ public final class StreamConsumerSettings {
         }
         this.elementsStreamedPerBatch = elementsStreamedPerBatch;
         this.outdatedWarningOffset = requireNonNull(checkNonNegative(outdatedWarningOffset));
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism should be positive, but is: " + parallelism);
+        }
+        this.parallelism = parallelism;
     }
 
     private static Duration checkNonNegative(final Duration duration) {
@@ -75,8 +80,35 @@ public final class StreamConsumerSettings {
             final Duration streamInterval, final Duration initialStartOffset,
             final Duration maxIdleTime, final Duration streamingActorTimeout,
             final int elementsStreamedPerBatch, final Duration outdatedWarningOffset) {
+        return of(startOffset, streamInterval, initialStartOffset, maxIdleTime, streamingActorTimeout,
+                elementsStreamedPerBatch, outdatedWarningOffset, 1);
+    }
+
+    /**
+     * Creates settings based on the given params.
+     *
+     * @param startOffset the offset for the start timestamp - it is needed to make sure that we don't lose events,
+     * cause the timestamp of a thing-event is created before the actual insert to the DB.
+     * @param streamInterval this interval defines the minimum and maximum creation time of the entities to be queried
+     * by the underlying stream.
+     * @param initialStartOffset the duration starting from which the modified tags are requested for the first time
+     * (further syncs will know the last-success timestamp).
+     * @param maxIdleTime the maximum idle time of a stream forwarder. A stream is considered idle when it does not
+     * retrieve any messages.
+     * @param streamingActorTimeout timeout at the streaming actor (server) side.
+     * @param elementsStreamedPerBatch the elements to be streamed per batch.
+     * @param outdatedWarningOffset if a query-start is more than this offset in the past, a warning will be logged.
+     * @param parallelism the maximum number of consecutive stream intervals streamed in parallel while the consumer
+     * catches up.
+     * @return the created settings.
+     * @throws IllegalArgumentException if {@code parallelism} is not positive.
+     */
+    public static StreamConsumerSettings of(final Duration startOffset,
+            final Duration streamInterval, final Duration initialStartOffset,
+            final Duration maxIdleTime, final Duration streamingActorTimeout,
+            final int elementsStreamedPerBatch, final Duration outdatedWarningOffset, final int parallelism) {
         return new StreamConsumerSettings(startOffset, streamInterval, initialStartOffset, maxIdleTime,
-                streamingActorTimeout, elementsStreamedPerBatch, outdatedWarningOffset);
+                streamingActorTimeout, elementsStreamedPerBatch, outdatedWarningOffset, parallelism);
     }
 
     /**
@@ -147,6 +179,17 @@ public final class StreamConsumerSettings {
         return outdatedWarningOffset;
     }
 
+    /**
+     * Returns the maximum number of consecutive stream intervals which are streamed in parallel. Intervals are only
+     * streamed in parallel while the consumer is behind, i.e. while the planned start of more than one interval has
+     * already passed.
+     *
+     * @return the parallelism.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -157,6 +200,7 @@ public final class StreamConsumerSettings {
         }
         final StreamConsumerSettings that = (StreamConsumerSettings) o;
         return elementsStreamedPerBatch == that.elementsStreamedPerBatch &&
+                parallelism == that.parallelism &&
                 Objects.equals(startOffset, that.startOffset) &&
                 Objects.equals(streamInterval, that.streamInterval) &&
                 Objects.equals(initialStartOffset, that.initialStartOffset) &&
@@ -168,7 +212,7 @@ public final class StreamConsumerSettings {
     @Override
     public int hashCode() {
         return Objects.hash(startOffset, streamInterval, initialStartOffset, maxIdleTime, streamingActorTimeout,
-                elementsStreamedPerBatch, outdatedWarningOffset);
+                elementsStreamedPerBatch, outdatedWarningOffset, parallelism);
     }
 
     @Override
@@ -181,6 +225,7 @@ public final class StreamConsumerSettings {
                 ", streamingActorTimeout" + streamingActorTimeout +
                 ", elementsStreamedPerBatch=" + elementsStreamedPerBatch +
                 ", outdatedWarningOffset=" + outdatedWarningOffset +
+                ", parallelism=" + parallelism +
                 ']';
     }
 }
@@ -15,6 +15,7 @@ import static org.eclipse.ditto.services.utils.akka.streaming.StreamConstants.ST
 import static org.eclipse.ditto.services.utils.akka.streaming.StreamConstants.STREAM_STARTED;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
@@ -182,6 +183,35 @@ public class DefaultStreamSupervisorTest {
         }};
     }
 
+    /**
+     * This test verifies that intervals whose planned start has passed are streamed in parallel and that the last
+     * successful stream end only advances over intervals which completed without a gap before them.
+     */
+    @Test
+    public void parallelStreamsAdvanceLastSuccessfulStreamEndWithoutGaps() {
+        new TestKit(actorSystem) {{
+            final int parallelism = 3;
+            actorSystem.actorOf(DefaultStreamSupervisor.props(forwardTo.ref(), provider.ref(), String.class,
+                    Source::single, Function.identity(), searchSyncPersistence, materializer,
+                    getStreamConsumerSettings(getDefaultMaxIdleTime(), parallelism)));
+            final Instant firstQueryEnd = KNOWN_LAST_SYNC.plus(STREAM_INTERVAL);
+            final Instant secondQueryEnd = firstQueryEnd.plus(STREAM_INTERVAL);
+
+            // the first intervals are far enough in the past to be streamed at once
+            final ActorRef firstForwarder = expectStreamTriggerMsg(KNOWN_LAST_SYNC, firstQueryEnd);
+            final ActorRef secondForwarder = expectStreamTriggerMsg(firstQueryEnd, secondQueryEnd);
+            expectStreamTriggerMsg(secondQueryEnd, secondQueryEnd.plus(STREAM_INTERVAL));
+
+            // completing the second interval does not advance the last successful stream end past the first one
+            completeStream(this, secondForwarder);
+            verify(searchSyncPersistence, after(500).never()).updateLastSuccessfulStreamEnd(any(Instant.class));
+
+            // completing the first interval advances it over both
+            completeStream(this, firstForwarder);
+            verify(searchSyncPersistence, SHORT_MOCKITO_TIMEOUT).updateLastSuccessfulStreamEnd(eq(secondQueryEnd));
+        }};
+    }
+
     @Test
     public void supervisorRestartsIfStreamItDoesNotStartOrStopStreamForTooLong() {
         actorSystem.log().info("Logging disabled for this test because many stack traces are expected.");
@@ -234,6 +264,21 @@ public class DefaultStreamSupervisorTest {
         assertThat(msg).isEqualTo(expectedStreamTriggerMsg);
     }
 
+    private ActorRef expectStreamTriggerMsg(final Instant expectedQueryStart, final Instant expectedQueryEnd) {
+        final SudoStreamModifiedEntities msg = provider.expectMsgClass(FiniteDuration.apply(SHORT_TIMEOUT.toMillis(),
+                TimeUnit.MILLISECONDS), SudoStreamModifiedEntities.class);
+        assertThat(msg.getStart()).isEqualTo(expectedQueryStart);
+        assertThat(msg.getEnd()).isEqualTo(expectedQueryEnd);
+        return provider.lastSender();
+    }
+
+    private static void completeStream(final TestKit testKit, final ActorRef forwarderActor) {
+        forwarderActor.tell(STREAM_STARTED, ActorRef.noSender());
+        testKit.watch(forwarderActor);
+        forwarderActor.tell(STREAM_COMPLETED, testKit.getRef());
+        testKit.expectTerminated(forwarderActor);
+    }
+
     private ActorRef createStreamSupervisor() {
         return createStreamSupervisor(getDefaultMaxIdleTime());
     }
@@ -250,8 +295,13 @@ public class DefaultStreamSupervisorTest {
     }
 
     private static StreamConsumerSettings getStreamConsumerSettings(final Duration maxIdleTime) {
+        return getStreamConsumerSettings(maxIdleTime, 1);
+    }
+
+    private static StreamConsumerSettings getStreamConsumerSettings(final Duration maxIdleTime,
+            final int parallelism) {
         return StreamConsumerSettings.of(START_OFFSET, STREAM_INTERVAL, INITIAL_START_OFFSET, maxIdleTime,
-                Duration.ofDays(1), ELEMENTS_STREAMED_PER_BATCH, Duration.ofDays(10));
+                Duration.ofDays(1), ELEMENTS_STREAMED_PER_BATCH, Duration.ofDays(10), parallelism);
     }
 
     private void sendMessageToForwarderAndExpectTerminated(final TestKit testKit, final ActorRef superVisorActorRef,
@@ -98,19 +98,29 @@ public final class ShardRegionExtractor implements ShardRegion.MessageExtractor
         return entity;
     }
 
-    @SuppressWarnings({"squid:S2676"})
     @Override
     public String shardId(final Object message) {
         final String entityId = entityId(message);
         if (entityId != null) {
-            final int hashcode = entityId.hashCode();
-            // make sure not to negate Integer.MIN_VALUE because -Integer.MIN_VALUE == Integer.MIN_VALUE < 0.
-            final int nonNegativeHashcode = hashcode == Integer.MIN_VALUE ? 0 : Math.abs(hashcode);
-            return Integer.toString(nonNegativeHashcode % numberOfShards);
+            return shardIdOf(entityId);
         }
         return null;
     }
 
+    /**
+     * Returns the ID of the shard of an entity, which is the same for every message to the entity.
+     *
+     * @param entityId the ID of the entity.
+     * @return the shard ID.
+     */
+    @SuppressWarnings({"squid:S2676"})
+    public String shardIdOf(final String entityId) {
+        final int hashcode = entityId.hashCode();
+        // make sure not to negate Integer.MIN_VALUE because -Integer.MIN_VALUE == Integer.MIN_VALUE < 0.
+        final int nonNegativeHashcode = hashcode == Integer.MIN_VALUE ? 0 : Math.abs(hashcode);
+        return Integer.toString(nonNegativeHashcode % numberOfShards);
+    }
+
     private Jsonifiable createJsonifiableFrom(final ShardedMessageEnvelope messageEnvelope) {
         final String type = messageEnvelope.getType();
         final BiFunction<JsonObject, DittoHeaders, Jsonifiable> mappingFunction = mappingStrategies.get(type);
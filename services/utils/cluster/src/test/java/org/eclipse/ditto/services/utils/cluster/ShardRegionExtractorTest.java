@@ -133,4 +133,17 @@ public final class ShardRegionExtractorTest {
         assertThat(actual).isEqualTo(errorResponse);
     }
 
+    @Test
+    public void shardIdOfEntityIsShardIdOfItsMessages() {
+        final Thing thing = Thing.newBuilder().setId(THING_ID).build();
+        final CreateThing createThing = CreateThing.of(thing, null, DITTO_HEADERS);
+        final ShardedMessageEnvelope messageEnvelope = ShardedMessageEnvelope.of(THING_ID, createThing.getType(),
+                createThing.toJson(JsonSchemaVersion.V_2, FieldType.regularOrSpecial()), DITTO_HEADERS);
+
+        assertThat(underTest.shardIdOf(THING_ID))
+                .isEqualTo(underTest.shardId(createThing))
+                .isEqualTo(underTest.shardId(messageEnvelope));
+        assertThat(Integer.parseInt(underTest.shardIdOf(THING_ID))).isBetween(0, NUMBER_OF_SHARDS - 1);
+    }
+
 }
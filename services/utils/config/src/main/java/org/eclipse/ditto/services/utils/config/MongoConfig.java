@@ -32,6 +32,8 @@ public final class MongoConfig {
 
     private static final String POOL_PREFIX = PREFIX + ".pool";
 
+    private static final String JOURNAL_PREFIX = PREFIX + ".journal";
+
     /**
      * Config key of source MongoDB URI.
      */
@@ -72,6 +74,28 @@ public final class MongoConfig {
      */
     public static final String SSL_ENABLED = OPTIONS + ".ssl";
 
+    /**
+     * Whether events are written to the journal in the compact format.
+     */
+    public static final String JOURNAL_COMPACT_FORMAT_ENABLED = JOURNAL_PREFIX + ".compactFormat";
+
+    /**
+     * Size in bytes above which the payload of an event in the compact journal format is compressed. A negative size
+     * disables compression.
+     */
+    public static final String JOURNAL_COMPRESSION_THRESHOLD = JOURNAL_PREFIX + ".compressionThreshold";
+
+    /**
+     * Maximum number of journal collections which are read in parallel when streaming modified entities.
+     */
+    public static final String JOURNAL_READ_PARALLELISM = JOURNAL_PREFIX + ".readParallelism";
+
+    /**
+     * Maximum number of journal documents read per second when streaming modified entities. A non-positive number
+     * disables the limit.
+     */
+    public static final String JOURNAL_READ_MAX_DOCUMENTS_PER_SECOND = JOURNAL_PREFIX + ".readMaxDocumentsPerSecond";
+
     /**
      * Fallback client configuration.
      */
@@ -86,6 +110,10 @@ public final class MongoConfig {
         fallbackMap.put(POOL_JMX_LISTENER_ENABLED, false);
         fallbackMap.put(MAX_QUERY_TIME, Duration.ofSeconds(60));
         fallbackMap.put(SSL_ENABLED, false);
+        fallbackMap.put(JOURNAL_COMPACT_FORMAT_ENABLED, false);
+        fallbackMap.put(JOURNAL_COMPRESSION_THRESHOLD, 2048);
+        fallbackMap.put(JOURNAL_READ_PARALLELISM, 5);
+        fallbackMap.put(JOURNAL_READ_MAX_DOCUMENTS_PER_SECOND, 0);
         fallbackMongoConfig = ConfigFactory.parseMap(fallbackMap);
     }
 
@@ -151,6 +179,46 @@ public final class MongoConfig {
         return config.withFallback(fallbackMongoConfig).getBoolean(SSL_ENABLED);
     }
 
+    /**
+     * Whether events are written to the journal in the compact format.
+     *
+     * @param config The configuration.
+     * @return whether the compact journal format is enabled.
+     */
+    public static boolean isJournalCompactFormatEnabled(final Config config) {
+        return config.withFallback(fallbackMongoConfig).getBoolean(JOURNAL_COMPACT_FORMAT_ENABLED);
+    }
+
+    /**
+     * Retrieve the size in bytes above which event payloads in the compact journal format are compressed.
+     *
+     * @param config The configuration.
+     * @return The compression threshold, negative if compression is disabled.
+     */
+    public static int getJournalCompressionThreshold(final Config config) {
+        return config.withFallback(fallbackMongoConfig).getInt(JOURNAL_COMPRESSION_THRESHOLD);
+    }
+
+    /**
+     * Retrieve the maximum number of journal collections read in parallel when streaming modified entities.
+     *
+     * @param config The configuration.
+     * @return The journal read parallelism.
+     */
+    public static int getJournalReadParallelism(final Config config) {
+        return config.withFallback(fallbackMongoConfig).getInt(JOURNAL_READ_PARALLELISM);
+    }
+
+    /**
+     * Retrieve the maximum number of journal documents read per second when streaming modified entities.
+     *
+     * @param config The configuration.
+     * @return The maximum number of documents per second, non-positive if unlimited.
+     */
+    public static int getJournalReadMaxDocumentsPerSecond(final Config config) {
+        return config.withFallback(fallbackMongoConfig).getInt(JOURNAL_READ_MAX_DOCUMENTS_PER_SECOND);
+    }
+
     /**
      * Computes MongoDB URI from configured source URI and MongoDB settings.
      *
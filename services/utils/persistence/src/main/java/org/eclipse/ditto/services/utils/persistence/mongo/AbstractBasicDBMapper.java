@@ -12,15 +12,17 @@ package org.eclipse.ditto.services.utils.persistence.mongo;
 
 import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
 
+import java.util.Map;
 import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
 import org.eclipse.ditto.json.JsonArray;
-import org.eclipse.ditto.json.JsonCollectors;
+import org.eclipse.ditto.json.JsonArrayBuilder;
 import org.eclipse.ditto.json.JsonFactory;
 import org.eclipse.ditto.json.JsonKey;
 import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
 import org.eclipse.ditto.json.JsonValue;
 
 import com.mongodb.BasicDBList;
@@ -41,18 +43,21 @@ abstract class AbstractBasicDBMapper<T extends DBObject, J extends JsonValue> im
 
     static JsonObject mapBasicDBObjectToJsonObject(final BasicDBObject basicDBObject,
             final Function<String, String> jsonKeyNameReviser) {
-        return basicDBObject.entrySet()
-                .stream()
-                .map(e -> JsonFactory.newField(reviseKeyName(e.getKey(), jsonKeyNameReviser),
-                        mapJavaObjectToJsonValue(e.getValue(), jsonKeyNameReviser)))
-                .collect(JsonCollectors.fieldsToObject());
+        final JsonObjectBuilder builder = JsonFactory.newObjectBuilder();
+        for (final Map.Entry<String, Object> entry : basicDBObject.entrySet()) {
+            builder.set(JsonFactory.newField(reviseKeyName(entry.getKey(), jsonKeyNameReviser),
+                    mapJavaObjectToJsonValue(entry.getValue(), jsonKeyNameReviser)));
+        }
+        return builder.build();
     }
 
     static JsonArray mapBasicDBListToJsonArray(final BasicDBList basicDBList,
             final Function<String, String> jsonKeyNameReviser) {
-        return basicDBList.stream()
-                .map(obj -> AbstractBasicDBMapper.mapJavaObjectToJsonValue(obj, jsonKeyNameReviser))
-                .collect(JsonCollectors.valuesToArray());
+        final JsonArrayBuilder builder = JsonFactory.newArrayBuilder();
+        for (final Object obj : basicDBList) {
+            builder.add(mapJavaObjectToJsonValue(obj, jsonKeyNameReviser));
+        }
+        return builder.build();
     }
 
     private static JsonKey reviseKeyName(final String jsonKeyName, final Function<String, String> jsonKeyNameReviser) {
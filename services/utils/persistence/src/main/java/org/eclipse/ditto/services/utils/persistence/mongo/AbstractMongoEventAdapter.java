@@ -10,6 +10,7 @@
  */
 package org.eclipse.ditto.services.utils.persistence.mongo;
 
+import java.util.Collections;
 import java.util.function.Predicate;
 
 import org.eclipse.ditto.json.JsonField;
@@ -43,16 +44,32 @@ public abstract class AbstractMongoEventAdapter<T extends Event> implements Even
 
     private final ExtendedActorSystem system;
     private final EventRegistry<T> eventRegistry;
+    private final CompactEventJournalFormat compactFormat;
 
     protected AbstractMongoEventAdapter(final ExtendedActorSystem system, final EventRegistry<T> eventRegistry) {
+        this(system, eventRegistry, CompactEventJournalFormat.of(Collections.emptyList(), Collections.emptyList(),
+                false, -1));
+    }
+
+    /**
+     * Constructs an event adapter which writes events in the given compact format if it is enabled. Events in the
+     * compact format are always read, regardless of whether the format is enabled.
+     *
+     * @param system the actor system.
+     * @param eventRegistry the registry to parse events.
+     * @param compactFormat the compact journal format.
+     */
+    protected AbstractMongoEventAdapter(final ExtendedActorSystem system, final EventRegistry<T> eventRegistry,
+            final CompactEventJournalFormat compactFormat) {
         this.system = system;
         this.eventRegistry = eventRegistry;
+        this.compactFormat = compactFormat;
     }
 
     @Override
     public String manifest(final Object event) {
         if (event instanceof Event) {
-            return ((Event) event).getType();
+            return compactFormat.manifest(((Event) event).getType());
         } else {
             throw new IllegalArgumentException(
                     "Unable to create manifest for a non-'Event' object! Was: " + event.getClass());
@@ -66,7 +83,9 @@ public abstract class AbstractMongoEventAdapter<T extends Event> implements Even
             final JsonSchemaVersion schemaVersion = theEvent.getImplementedSchemaVersion();
             final JsonObject jsonObject =
                     theEvent.toJson(schemaVersion, IS_REVISION.negate().and(FieldType.regularOrSpecial()));
-            return DittoBsonJson.getInstance().parse(jsonObject);
+            return compactFormat.isEnabled()
+                    ? compactFormat.toJournal(jsonObject)
+                    : DittoBsonJson.getInstance().parse(jsonObject);
         } else {
             throw new IllegalArgumentException("Unable to toJournal a non-'Event' object! Was: " + event.getClass());
         }
@@ -76,21 +95,24 @@ public abstract class AbstractMongoEventAdapter<T extends Event> implements Even
     public EventSeq fromJournal(final Object event, final String manifest) {
         if (event instanceof DBObject) {
             final DBObject dbObject = (DBObject) event;
-            return EventSeq.single(tryParseEvent(DittoBsonJson.getInstance().serialize(dbObject)));
+            return EventSeq.single(tryParseEvent(dbObject));
         } else {
             throw new IllegalArgumentException(
                     "Unable to fromJournal a non-'DBObject' object! Was: " + event.getClass());
         }
     }
 
-    private T tryParseEvent(final JsonValue jsonValue) {
+    private T tryParseEvent(final DBObject dbObject) {
         try {
+            final JsonValue jsonValue = CompactEventJournalFormat.isCompact(dbObject)
+                    ? compactFormat.fromJournal(dbObject)
+                    : DittoBsonJson.getInstance().serialize(dbObject);
             return parseEvent(jsonValue);
         } catch (final JsonParseException | DittoRuntimeException e) {
             if (system != null) {
-                system.log().error(e, "Could not deserialize Event JSON: '{}'", jsonValue);
+                system.log().error(e, "Could not deserialize Event: '{}'", dbObject);
             } else {
-                LOGGER.error("Could not deserialize Event JSON: '{}': {}", jsonValue, e.getMessage());
+                LOGGER.error("Could not deserialize Event: '{}': {}", dbObject, e.getMessage());
             }
             return null;
         }
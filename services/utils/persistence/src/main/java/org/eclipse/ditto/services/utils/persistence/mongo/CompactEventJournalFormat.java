@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonArrayBuilder;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonParseException;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.services.utils.config.MongoConfig;
+import org.eclipse.ditto.signals.events.base.Event;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.typesafe.config.Config;
+
+/**
+ * A compact format for events in the journal. An event in the compact format is stored as
+ * <pre>
+ * { "_f": 1, "t": &lt;type&gt;, "p": &lt;payload&gt; }
+ * </pre>
+ * or, if the payload is larger than the compression threshold, as
+ * <pre>
+ * { "_f": 1, "t": &lt;type&gt;, "z": &lt;deflated payload&gt; }
+ * </pre>
+ * The type is the index of the event type in the type dictionary or the type itself if the dictionary does not contain
+ * it. The payload is the JSON of the event without its type. Keys of the payload which are contained in the field
+ * name dictionary are replaced with {@code "~"} followed by their index; keys which already start with {@code "~"} are
+ * prefixed with another {@code "~"}.
+ * <p>
+ * The format field {@code "_f"} never occurs in events in the plain format, thus events in both formats can be read
+ * side by side. Both dictionaries must only ever be appended to as their indices are persisted.
+ * </p>
+ */
+@Immutable
+public final class CompactEventJournalFormat {
+
+    /**
+     * Name of the field containing the version of the format.
+     */
+    static final String FORMAT_FIELD = "_f";
+
+    /**
+     * Name of the field containing the event type.
+     */
+    static final String TYPE_FIELD = "t";
+
+    /**
+     * Name of the field containing the uncompressed payload.
+     */
+    static final String PAYLOAD_FIELD = "p";
+
+    /**
+     * Name of the field containing the compressed payload.
+     */
+    static final String COMPRESSED_PAYLOAD_FIELD = "z";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final char DICTIONARY_KEY_MARKER = '~';
+    private static final int RADIX = 36;
+
+    private final List<String> eventTypes;
+    private final Map<String, Integer> eventTypeIndices;
+    private final List<String> fieldNames;
+    private final Map<String, String> compactFieldNames;
+    private final boolean enabled;
+    private final int compressionThreshold;
+
+    private CompactEventJournalFormat(final List<String> eventTypes, final List<String> fieldNames,
+            final boolean enabled, final int compressionThreshold) {
+
+        this.eventTypes = Collections.unmodifiableList(new ArrayList<>(eventTypes));
+        this.fieldNames = Collections.unmodifiableList(new ArrayList<>(fieldNames));
+        eventTypeIndices = Collections.unmodifiableMap(indicesOf(eventTypes));
+        final Map<String, String> theCompactFieldNames = new HashMap<>();
+        indicesOf(fieldNames).forEach((fieldName, index) -> theCompactFieldNames.put(fieldName,
+                DICTIONARY_KEY_MARKER + Integer.toString(index, RADIX)));
+        compactFieldNames = Collections.unmodifiableMap(theCompactFieldNames);
+        this.enabled = enabled;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Returns a new {@code CompactEventJournalFormat}.
+     *
+     * @param eventTypes the dictionary of event types.
+     * @param fieldNames the dictionary of field names.
+     * @param enabled whether events are written in the compact format.
+     * @param compressionThreshold size in bytes above which payloads are compressed, negative to disable compression.
+     * @return the format.
+     * @throws NullPointerException if {@code eventTypes} or {@code fieldNames} is {@code null}.
+     */
+    public static CompactEventJournalFormat of(final List<String> eventTypes, final List<String> fieldNames,
+            final boolean enabled, final int compressionThreshold) {
+
+        checkNotNull(eventTypes, "event types");
+        checkNotNull(fieldNames, "field names");
+        return new CompactEventJournalFormat(eventTypes, fieldNames, enabled, compressionThreshold);
+    }
+
+    /**
+     * Returns a new {@code CompactEventJournalFormat} which is configured according to the given config.
+     *
+     * @param config the config of the actor system, may be {@code null} if the event adapter is used without actor
+     * system.
+     * @param eventTypes the dictionary of event types.
+     * @param fieldNames the dictionary of field names.
+     * @return the format.
+     * @throws NullPointerException if {@code eventTypes} or {@code fieldNames} is {@code null}.
+     */
+    public static CompactEventJournalFormat fromConfig(@Nullable final Config config, final List<String> eventTypes,
+            final List<String> fieldNames) {
+
+        if (null == config) {
+            return of(eventTypes, fieldNames, false, -1);
+        }
+        return of(eventTypes, fieldNames, MongoConfig.isJournalCompactFormatEnabled(config),
+                MongoConfig.getJournalCompressionThreshold(config));
+    }
+
+    /**
+     * Indicates whether events are to be written in the compact format.
+     *
+     * @return {@code true} if the compact format is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the manifest of an event of the given type: the index of the type in the type dictionary if the format
+     * is enabled and the dictionary contains the type, the type otherwise.
+     *
+     * @param eventType the type of the event.
+     * @return the manifest.
+     */
+    public String manifest(final String eventType) {
+        final Integer index = enabled ? eventTypeIndices.get(eventType) : null;
+        return null != index ? Integer.toString(index) : eventType;
+    }
+
+    /**
+     * Indicates whether the given journal entry is in the compact format.
+     *
+     * @param journalEntry the entry read from the journal.
+     * @return {@code true} if {@code journalEntry} is in the compact format.
+     */
+    public static boolean isCompact(final DBObject journalEntry) {
+        return journalEntry.containsField(FORMAT_FIELD);
+    }
+
+    /**
+     * Converts the JSON of an event into a journal entry in the compact format.
+     *
+     * @param eventJson the JSON of the event including its type.
+     * @return the journal entry.
+     * @throws NullPointerException if {@code eventJson} is {@code null}.
+     * @throws IllegalArgumentException if {@code eventJson} does not contain the type of the event.
+     */
+    public DBObject toJournal(final JsonObject eventJson) {
+        checkNotNull(eventJson, "event JSON");
+        final String type = eventJson.getValue(Event.JsonFields.TYPE)
+                .orElseThrow(() -> new IllegalArgumentException("Event JSON has no type: " + eventJson));
+        final Integer typeIndex = eventTypeIndices.get(type);
+        final JsonObject payload = compact(eventJson.remove(Event.JsonFields.TYPE.getPointer()));
+
+        final BasicDBObject result = new BasicDBObject(FORMAT_FIELD, FORMAT_VERSION);
+        result.put(TYPE_FIELD, null != typeIndex ? typeIndex : type);
+        final byte[] payloadBytes = compressionThreshold >= 0
+                ? payload.toString().getBytes(StandardCharsets.UTF_8)
+                : null;
+        if (null != payloadBytes && payloadBytes.length > compressionThreshold) {
+            result.put(COMPRESSED_PAYLOAD_FIELD, deflate(payloadBytes));
+        } else {
+            result.put(PAYLOAD_FIELD, DittoBsonJson.getInstance().parse(payload));
+        }
+        return result;
+    }
+
+    /**
+     * Converts a journal entry in the compact format back into the JSON of the event.
+     *
+     * @param journalEntry the entry read from the journal.
+     * @return the JSON of the event including its type.
+     * @throws NullPointerException if {@code journalEntry} is {@code null}.
+     * @throws JsonParseException if {@code journalEntry} is not a valid entry in the compact format.
+     */
+    public JsonObject fromJournal(final DBObject journalEntry) {
+        checkNotNull(journalEntry, "journal entry");
+        final JsonObject payload;
+        final Object compressedPayload = journalEntry.get(COMPRESSED_PAYLOAD_FIELD);
+        if (compressedPayload instanceof byte[]) {
+            payload = JsonFactory.newObject(inflate((byte[]) compressedPayload));
+        } else if (journalEntry.get(PAYLOAD_FIELD) instanceof DBObject) {
+            payload = DittoBsonJson.getInstance().serialize((DBObject) journalEntry.get(PAYLOAD_FIELD)).asObject();
+        } else {
+            throw JsonParseException.newBuilder()
+                    .message("Journal entry in compact format has no payload: " + journalEntry)
+                    .build();
+        }
+        return JsonFactory.newObjectBuilder()
+                .set(Event.JsonFields.TYPE, typeOf(journalEntry.get(TYPE_FIELD)))
+                .setAll(expand(payload))
+                .build();
+    }
+
+    private String typeOf(@Nullable final Object type) {
+        if (type instanceof Number) {
+            final int index = ((Number) type).intValue();
+            if (index >= 0 && index < eventTypes.size()) {
+                return eventTypes.get(index);
+            }
+        } else if (type instanceof String) {
+            return (String) type;
+        }
+        throw JsonParseException.newBuilder()
+                .message("Unknown event type in compact journal format: " + type)
+                .build();
+    }
+
+    private JsonObject compact(final JsonObject jsonObject) {
+        final JsonObjectBuilder builder = JsonFactory.newObjectBuilder();
+        for (final JsonField field : jsonObject) {
+            builder.set(JsonFactory.newField(JsonFactory.newKey(compactKey(field.getKeyName())),
+                    compact(field.getValue())));
+        }
+        return builder.build();
+    }
+
+    private JsonValue compact(final JsonValue jsonValue) {
+        if (jsonValue.isObject()) {
+            return compact(jsonValue.asObject());
+        } else if (jsonValue.isArray()) {
+            final JsonArrayBuilder builder = JsonFactory.newArrayBuilder();
+            for (final JsonValue element : jsonValue.asArray()) {
+                builder.add(compact(element));
+            }
+            return builder.build();
+        }
+        return jsonValue;
+    }
+
+    private String compactKey(final String key) {
+        final String compactKey = compactFieldNames.get(key);
+        if (null != compactKey) {
+            return compactKey;
+        } else if (!key.isEmpty() && DICTIONARY_KEY_MARKER == key.charAt(0)) {
+            return DICTIONARY_KEY_MARKER + key;
+        }
+        return key;
+    }
+
+    private JsonObject expand(final JsonObject jsonObject) {
+        final JsonObjectBuilder builder = JsonFactory.newObjectBuilder();
+        for (final JsonField field : jsonObject) {
+            builder.set(JsonFactory.newField(JsonFactory.newKey(expandKey(field.getKeyName())),
+                    expand(field.getValue())));
+        }
+        return builder.build();
+    }
+
+    private JsonValue expand(final JsonValue jsonValue) {
+        if (jsonValue.isObject()) {
+            return expand(jsonValue.asObject());
+        } else if (jsonValue.isArray()) {
+            final JsonArrayBuilder builder = JsonFactory.newArrayBuilder();
+            for (final JsonValue element : jsonValue.asArray()) {
+                builder.add(expand(element));
+            }
+            return builder.build();
+        }
+        return jsonValue;
+    }
+
+    private String expandKey(final String key) {
+        if (key.length() < 2 || DICTIONARY_KEY_MARKER != key.charAt(0)) {
+            return key;
+        } else if (DICTIONARY_KEY_MARKER == key.charAt(1)) {
+            return key.substring(1);
+        }
+        try {
+            return fieldNames.get(Integer.parseInt(key.substring(1), RADIX));
+        } catch (final NumberFormatException | IndexOutOfBoundsException e) {
+            throw JsonParseException.newBuilder()
+                    .message("Unknown field name in compact journal format: " + key)
+                    .cause(e)
+                    .build();
+        }
+    }
+
+    private static Map<String, Integer> indicesOf(final List<String> dictionary) {
+        final Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < dictionary.size(); i++) {
+            indices.putIfAbsent(dictionary.get(i), i);
+        }
+        return indices;
+    }
+
+    private static byte[] deflate(final byte[] payload) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final OutputStream outputStream = new DeflaterOutputStream(bytes)) {
+            outputStream.write(payload);
+        } catch (final IOException e) {
+            // cannot happen when writing to a byte array
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String inflate(final byte[] compressedPayload) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(compressedPayload.length * 4);
+        final byte[] buffer = new byte[4096];
+        try (final InputStream inputStream = new InflaterInputStream(new ByteArrayInputStream(compressedPayload))) {
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0) {
+                bytes.write(buffer, 0, read);
+            }
+        } catch (final IOException e) {
+            throw JsonParseException.newBuilder()
+                    .message("Could not inflate compressed payload of journal entry.")
+                    .cause(e)
+                    .build();
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "eventTypes=" + eventTypes +
+                ", fieldNames=" + fieldNames +
+                ", enabled=" + enabled +
+                ", compressionThreshold=" + compressionThreshold +
+                "]";
+    }
+
+}
@@ -51,7 +51,7 @@ final class KeyNameReviser implements Function<String, String> {
      * @return the instance.
      */
     public static KeyNameReviser escapeProblematicPlainChars() {
-        return getInstance(replace(DOT_CHAR, DOT_UNICODE_CHAR).andThen(replace(DOLLAR_CHAR, DOLLAR_UNICODE_CHAR)));
+        return getInstance(KeyNameReviser::escape);
     }
 
     /**
@@ -61,11 +61,51 @@ final class KeyNameReviser implements Function<String, String> {
      * @return the instance.
      */
     public static KeyNameReviser decodeKnownUnicodeChars() {
-        return getInstance(replace(DOLLAR_UNICODE_CHAR, DOLLAR_CHAR).andThen(replace(DOT_UNICODE_CHAR, DOT_CHAR)));
+        return getInstance(KeyNameReviser::decode);
     }
 
-    private static Function<String, String> replace(final char oldChar, final char charNewChar) {
-        return s -> s.replace(oldChar, charNewChar);
+    /**
+     * Replaces dots and dollar signs in a key name with their unicode counterparts. Allocates a new String only if the
+     * key name contains one of these characters.
+     *
+     * @param keyName the key name to be escaped.
+     * @return the escaped key name.
+     */
+    static String escape(final String keyName) {
+        return replaceChars(keyName, DOT_CHAR, DOT_UNICODE_CHAR, DOLLAR_CHAR, DOLLAR_UNICODE_CHAR);
+    }
+
+    /**
+     * Replaces the unicode counterparts of dots and dollar signs in a key name with the plain characters. Allocates
+     * a new String only if the key name contains one of these characters.
+     *
+     * @param keyName the key name to be decoded.
+     * @return the decoded key name.
+     */
+    static String decode(final String keyName) {
+        return replaceChars(keyName, DOT_UNICODE_CHAR, DOT_CHAR, DOLLAR_UNICODE_CHAR, DOLLAR_CHAR);
+    }
+
+    private static String replaceChars(final String s, final char oldChar1, final char newChar1,
+            final char oldChar2, final char newChar2) {
+
+        final int length = s.length();
+        int i = 0;
+        while (i < length && s.charAt(i) != oldChar1 && s.charAt(i) != oldChar2) {
+            i++;
+        }
+        if (i == length) {
+            return s;
+        }
+        final char[] chars = s.toCharArray();
+        for (; i < length; i++) {
+            if (chars[i] == oldChar1) {
+                chars[i] = newChar1;
+            } else if (chars[i] == oldChar2) {
+                chars[i] = newChar2;
+            }
+        }
+        return new String(chars);
     }
 
     @Override
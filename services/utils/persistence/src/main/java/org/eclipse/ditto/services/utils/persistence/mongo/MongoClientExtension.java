@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.ditto.services.utils.config.MongoConfig;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.AbstractExtensionId;
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Extension;
+
+/**
+ * Akka extension holding the MongoDB clients shared by the actors and persistence plugins of an actor system, so that
+ * they do not open a connection pool each. There is one client per MongoDB URI; the pool settings are taken from the
+ * config of the actor system. The clients are closed when the actor system terminates.
+ */
+public final class MongoClientExtension implements Extension {
+
+    private static final ExtensionId EXTENSION_ID = new ExtensionId();
+
+    private final Config config;
+    private final ConcurrentMap<String, MongoClientWrapper> clients;
+
+    private MongoClientExtension(final Config config) {
+        this.config = config;
+        clients = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the {@code MongoClientExtension} of an actor system.
+     *
+     * @param actorSystem the actor system.
+     * @return the extension.
+     */
+    public static MongoClientExtension get(final ActorSystem actorSystem) {
+        return EXTENSION_ID.get(actorSystem);
+    }
+
+    /**
+     * Returns the client of the MongoDB configured for the service at {@link MongoConfig#URI}.
+     *
+     * @return the shared client.
+     */
+    public MongoClientWrapper getClient() {
+        return getClient(MongoConfig.getMongoUri(config));
+    }
+
+    /**
+     * Returns the client of the MongoDB with the given URI, e. g. the URI configured for a persistence plugin.
+     *
+     * @param mongoUri the URI of the MongoDB.
+     * @return the shared client.
+     * @throws NullPointerException if {@code mongoUri} is {@code null}.
+     */
+    public MongoClientWrapper getClient(final String mongoUri) {
+        checkNotNull(mongoUri, "MongoDB URI");
+        return clients.computeIfAbsent(mongoUri, uri -> MongoClientWrapper.newInstance(
+                ConfigFactory.parseMap(Collections.singletonMap(MongoConfig.URI, uri)).withFallback(config)));
+    }
+
+    private void closeClients() {
+        clients.values().forEach(MongoClientWrapper::close);
+        clients.clear();
+    }
+
+    private static final class ExtensionId extends AbstractExtensionId<MongoClientExtension> {
+
+        @Override
+        public MongoClientExtension createExtension(final ExtendedActorSystem system) {
+            final MongoClientExtension extension = new MongoClientExtension(system.settings().config());
+            system.registerOnTermination(extension::closeClients);
+            return extension;
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo.recovery;
+
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nullable;
+
+import com.typesafe.config.Config;
+
+import akka.contrib.persistence.mongodb.MongoJournal;
+import akka.persistence.PersistentRepr;
+import akka.stream.ActorMaterializer;
+import scala.Function1;
+import scala.compat.java8.FutureConverters;
+import scala.concurrent.Future;
+import scala.runtime.BoxedUnit;
+
+/**
+ * MongoDB journal plugin which reads the events of recovering persistent actors in batches by a
+ * {@link RecoveryReadCoordinator}. Writing and deleting events as well as reading the highest sequence number is done
+ * by the MongoDB persistence plugin, which also takes over if a batched read fails or finds an event without BSON
+ * payload.
+ * <p>
+ * Batching is configured in the {@code recovery-batch} section of the plugin configuration.
+ * </p>
+ */
+public final class BatchedMongoJournal extends MongoJournal {
+
+    private static final String JOURNAL_COLLECTION = "overrides.journal-collection";
+    private static final String DEFAULT_JOURNAL_COLLECTION = "akka_persistence_journal";
+
+    @Nullable private final RecoveryReadCoordinator coordinator;
+
+    /**
+     * Constructs a new {@code BatchedMongoJournal}. Called by Akka Persistence with the config of the plugin.
+     *
+     * @param config the config of the plugin.
+     */
+    public BatchedMongoJournal(final Config config) {
+        super(config);
+        final Config batchConfig = config.getConfig(RecoveryReadCoordinator.RECOVERY_BATCH);
+        if (batchConfig.getBoolean(RecoveryReadCoordinator.ENABLED)) {
+            final Config systemConfig = context().system().settings().config();
+            final String collectionName = config.hasPath(JOURNAL_COLLECTION) ? config.getString(JOURNAL_COLLECTION)
+                    : DEFAULT_JOURNAL_COLLECTION;
+            coordinator = RecoveryReadCoordinator.of(RecoveryPluginSupport.getDatabase(context().system(), config),
+                    collectionName, systemConfig, batchConfig, ActorMaterializer.create(context()));
+        } else {
+            coordinator = null;
+        }
+    }
+
+    @Override
+    public Future<BoxedUnit> asyncReplayMessages(final String persistenceId, final long fromSequenceNr,
+            final long toSequenceNr, final long max, final Function1<PersistentRepr, BoxedUnit> recoveryCallback) {
+
+        if (coordinator == null || max <= 0 || fromSequenceNr > toSequenceNr) {
+            return super.asyncReplayMessages(persistenceId, fromSequenceNr, toSequenceNr, max, recoveryCallback);
+        }
+        final CompletionStage<BoxedUnit> result = RecoveryPluginSupport.readBatchedOrByPlugin(
+                coordinator.replay(persistenceId, fromSequenceNr, toSequenceNr),
+                atoms -> RecoveryDocuments.toPersistentReprs(persistenceId, atoms, fromSequenceNr, toSequenceNr, max)
+                        .map(events -> {
+                            events.forEach(recoveryCallback::apply);
+                            return BoxedUnit.UNIT;
+                        }),
+                () -> replayByPlugin(persistenceId, fromSequenceNr, toSequenceNr, max, recoveryCallback));
+        return FutureConverters.toScala(result);
+    }
+
+    private CompletionStage<BoxedUnit> replayByPlugin(final String persistenceId, final long fromSequenceNr,
+            final long toSequenceNr, final long max, final Function1<PersistentRepr, BoxedUnit> recoveryCallback) {
+
+        return FutureConverters.toJava(
+                super.asyncReplayMessages(persistenceId, fromSequenceNr, toSequenceNr, max, recoveryCallback));
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        if (coordinator != null) {
+            coordinator.shutdown();
+        }
+        super.postStop();
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo.recovery;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import javax.annotation.Nullable;
+
+import com.typesafe.config.Config;
+
+import akka.contrib.persistence.mongodb.MongoSnapshots;
+import akka.persistence.SelectedSnapshot;
+import akka.persistence.SnapshotSelectionCriteria;
+import akka.stream.ActorMaterializer;
+import scala.Option;
+import scala.compat.java8.FutureConverters;
+import scala.concurrent.Future;
+
+/**
+ * MongoDB snapshot store plugin which loads the latest snapshots of recovering persistent actors in batches by a
+ * {@link RecoveryReadCoordinator}. Saving, deleting and loading snapshots by any other criteria is done by the
+ * MongoDB persistence plugin, which also takes over if a batched load fails.
+ * <p>
+ * Batching is configured in the {@code recovery-batch} section of the plugin configuration.
+ * </p>
+ */
+public final class BatchedMongoSnapshots extends MongoSnapshots {
+
+    private static final String SNAPS_COLLECTION = "overrides.snaps-collection";
+    private static final String DEFAULT_SNAPS_COLLECTION = "akka_persistence_snaps";
+
+    @Nullable private final RecoveryReadCoordinator coordinator;
+
+    /**
+     * Constructs a new {@code BatchedMongoSnapshots}. Called by Akka Persistence with the config of the plugin.
+     *
+     * @param config the config of the plugin.
+     */
+    public BatchedMongoSnapshots(final Config config) {
+        super(config);
+        final Config batchConfig = config.getConfig(RecoveryReadCoordinator.RECOVERY_BATCH);
+        if (batchConfig.getBoolean(RecoveryReadCoordinator.ENABLED)) {
+            final Config systemConfig = context().system().settings().config();
+            final String collectionName = config.hasPath(SNAPS_COLLECTION) ? config.getString(SNAPS_COLLECTION)
+                    : DEFAULT_SNAPS_COLLECTION;
+            coordinator = RecoveryReadCoordinator.of(RecoveryPluginSupport.getDatabase(context().system(), config),
+                    collectionName, systemConfig, batchConfig, ActorMaterializer.create(context()));
+        } else {
+            coordinator = null;
+        }
+    }
+
+    @Override
+    public Future<Option<SelectedSnapshot>> loadAsync(final String persistenceId,
+            final SnapshotSelectionCriteria criteria) {
+
+        if (coordinator == null || !SnapshotSelectionCriteria.latest().equals(criteria)) {
+            return super.loadAsync(persistenceId, criteria);
+        }
+        final CompletionStage<Option<SelectedSnapshot>> result = RecoveryPluginSupport.readBatchedOrByPlugin(
+                coordinator.loadLatestSnapshot(persistenceId),
+                snapshot -> snapshot.isPresent()
+                        ? RecoveryDocuments.toSelectedSnapshot(snapshot.get()).map(Option::apply)
+                        : Optional.of(Option.<SelectedSnapshot>empty()),
+                () -> loadByPlugin(persistenceId, criteria));
+        return FutureConverters.toScala(result);
+    }
+
+    private CompletionStage<Option<SelectedSnapshot>> loadByPlugin(final String persistenceId,
+            final SnapshotSelectionCriteria criteria) {
+
+        return FutureConverters.toJava(super.loadAsync(persistenceId, criteria));
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        if (coordinator != null) {
+            coordinator.shutdown();
+        }
+        super.postStop();
+    }
+
+}
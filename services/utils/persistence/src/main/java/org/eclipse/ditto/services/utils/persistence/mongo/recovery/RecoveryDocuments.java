@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo.recovery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.mongodb.DBObject;
+
+import akka.contrib.persistence.mongodb.JournallingFieldNames$;
+import akka.persistence.PersistentRepr;
+import akka.persistence.PersistentRepr$;
+import akka.persistence.SelectedSnapshot;
+import akka.persistence.SnapshotMetadata;
+
+/**
+ * Converts the documents of the event journal and the snapshot store written by the MongoDB persistence plugin to
+ * the objects Akka Persistence recovers from. Only payloads stored as BSON documents are converted, which is how the
+ * event and snapshot adapters of Ditto store them; for any other payload the plugin has to do the conversion.
+ */
+@Immutable
+final class RecoveryDocuments {
+
+    static final String PROCESSOR_ID = JournallingFieldNames$.MODULE$.PROCESSOR_ID();
+    static final String SEQUENCE_NUMBER = JournallingFieldNames$.MODULE$.SEQUENCE_NUMBER();
+    static final String FROM = JournallingFieldNames$.MODULE$.FROM();
+    static final String TO = JournallingFieldNames$.MODULE$.TO();
+    static final String EVENTS = JournallingFieldNames$.MODULE$.EVENTS();
+    static final String TYPE = JournallingFieldNames$.MODULE$.TYPE();
+    static final String PAYLOAD = JournallingFieldNames$.MODULE$.PayloadKey();
+    static final String MANIFEST = JournallingFieldNames$.MODULE$.MANIFEST();
+    static final String WRITER_UUID = JournallingFieldNames$.MODULE$.WRITER_UUID();
+
+    /**
+     * Field of the timestamp of a snapshot.
+     */
+    static final String TIMESTAMP = "ts";
+
+    /**
+     * Field of the payload of a snapshot in version 2 of the snapshot format.
+     */
+    static final String SNAPSHOT_PAYLOAD = "s2";
+
+    /**
+     * Value of {@link #TYPE} for payloads stored as BSON document.
+     */
+    static final String BSON_TYPE = "bson";
+
+    private RecoveryDocuments() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Converts the journal documents of a persistence ID to the events within the given range of sequence numbers.
+     *
+     * @param persistenceId the persistence ID.
+     * @param atoms the journal documents sorted by their first sequence number.
+     * @param fromSequenceNr the lowest sequence number to return.
+     * @param toSequenceNr the highest sequence number to return.
+     * @param max the maximal number of events to return.
+     * @return the events or an empty optional if any event in the range has no BSON payload.
+     */
+    static Optional<List<PersistentRepr>> toPersistentReprs(final String persistenceId, final List<DBObject> atoms,
+            final long fromSequenceNr, final long toSequenceNr, final long max) {
+
+        final List<PersistentRepr> result = new ArrayList<>();
+        for (final DBObject atom : atoms) {
+            final Object events = atom.get(EVENTS);
+            if (!(events instanceof List)) {
+                return Optional.empty();
+            }
+            for (final Object event : (List<?>) events) {
+                if (!(event instanceof DBObject)) {
+                    return Optional.empty();
+                }
+                final DBObject eventObject = (DBObject) event;
+                final long sequenceNr = getLong(eventObject, SEQUENCE_NUMBER);
+                if (sequenceNr >= fromSequenceNr && sequenceNr <= toSequenceNr && result.size() < max) {
+                    final Optional<DBObject> payload = getBsonPayload(eventObject);
+                    if (!payload.isPresent()) {
+                        return Optional.empty();
+                    }
+                    result.add(PersistentRepr$.MODULE$.apply(payload.get(), sequenceNr, persistenceId,
+                            getStringOrUndefined(eventObject, MANIFEST), false, null,
+                            getStringOrUndefined(eventObject, WRITER_UUID)));
+                }
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Converts a document of the snapshot store to a snapshot.
+     *
+     * @param snapshot the document of the snapshot store.
+     * @return the snapshot or an empty optional if it has no BSON payload.
+     */
+    static Optional<SelectedSnapshot> toSelectedSnapshot(final DBObject snapshot) {
+        final Object payloadObject = snapshot.get(SNAPSHOT_PAYLOAD);
+        if (!(payloadObject instanceof DBObject)) {
+            return Optional.empty();
+        }
+        return getBsonPayload((DBObject) payloadObject).map(payload -> {
+            final SnapshotMetadata metadata = new SnapshotMetadata(String.valueOf(snapshot.get(PROCESSOR_ID)),
+                    getLong(snapshot, SEQUENCE_NUMBER), getLong(snapshot, TIMESTAMP));
+            return SelectedSnapshot.create(metadata, payload);
+        });
+    }
+
+    private static Optional<DBObject> getBsonPayload(final DBObject payloadContainer) {
+        final Object payload = payloadContainer.get(PAYLOAD);
+        if (BSON_TYPE.equals(payloadContainer.get(TYPE)) && payload instanceof DBObject) {
+            return Optional.of((DBObject) payload);
+        }
+        return Optional.empty();
+    }
+
+    private static long getLong(final DBObject dbObject, final String field) {
+        final Object value = dbObject.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    private static String getStringOrUndefined(final DBObject dbObject, final String field) {
+        @Nullable final Object value = dbObject.get(field);
+        return value instanceof String ? (String) value : PersistentRepr$.MODULE$.Undefined();
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo.recovery;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.ditto.services.utils.persistence.mongo.MongoClientExtension;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.typesafe.config.Config;
+
+import akka.actor.ActorSystem;
+
+/**
+ * Functions shared by the persistence plugins which batch recovery reads.
+ */
+final class RecoveryPluginSupport {
+
+    /**
+     * Config key of the MongoDB URI within the configuration of a persistence plugin.
+     */
+    private static final String PLUGIN_MONGO_URI = "mongouri";
+
+    /**
+     * Config key of the MongoDB URI of all persistence plugins.
+     */
+    private static final String MONGO_URI = "akka.contrib.persistence.mongodb.mongo.mongouri";
+
+    private RecoveryPluginSupport() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the database a persistence plugin writes to. The client is shared by all plugins of the actor system
+     * with the same MongoDB URI; it reads from the primary like the plugin in order to see the latest writes.
+     *
+     * @param actorSystem the actor system of the plugin.
+     * @param pluginConfig the configuration of the plugin.
+     * @return the database.
+     */
+    static MongoDatabase getDatabase(final ActorSystem actorSystem, final Config pluginConfig) {
+        final String mongoUri = pluginConfig.hasPath(PLUGIN_MONGO_URI)
+                ? pluginConfig.getString(PLUGIN_MONGO_URI)
+                : actorSystem.settings().config().getString(MONGO_URI);
+        return MongoClientExtension.get(actorSystem)
+                .getClient(mongoUri)
+                .getDatabase()
+                .withReadPreference(ReadPreference.primary());
+    }
+
+    /**
+     * Completes a recovery read by the result of a batched read or by the persistence plugin if the batched read
+     * failed or its result could not be converted.
+     *
+     * @param batchedRead the batched read.
+     * @param conversion converts the result of the batched read; returns an empty Optional if it cannot.
+     * @param pluginRead starts the read by the persistence plugin.
+     * @param <R> the type of the result of the batched read.
+     * @param <T> the type of the result of the recovery read.
+     * @return the result of the recovery read.
+     */
+    static <R, T> CompletionStage<T> readBatchedOrByPlugin(final CompletionStage<R> batchedRead,
+            final Function<R, Optional<T>> conversion, final Supplier<CompletionStage<T>> pluginRead) {
+
+        return batchedRead.<CompletionStage<T>>handle((result, error) -> {
+            if (error == null) {
+                final Optional<T> converted = conversion.apply(result);
+                if (converted.isPresent()) {
+                    return CompletableFuture.completedFuture(converted.get());
+                }
+            }
+            return pluginRead.get();
+        }).thenCompose(Function.identity());
+    }
+
+}
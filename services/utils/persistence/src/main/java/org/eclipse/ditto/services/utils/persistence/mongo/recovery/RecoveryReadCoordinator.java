@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo.recovery;
+
+import static org.eclipse.ditto.model.base.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.bson.conversions.Bson;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.typesafe.config.Config;
+
+import akka.Done;
+import akka.contrib.persistence.mongodb.CanSuffixCollectionNames;
+import akka.stream.Materializer;
+import akka.stream.OverflowStrategy;
+import akka.stream.QueueOfferResult;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
+import akka.stream.javadsl.SourceQueueWithComplete;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Coalesces the reads of many concurrently recovering persistent actors into batched queries. Requests arriving within
+ * {@code max-delay} are combined into one query per collection with up to {@code max-size} persistence IDs:
+ * <ul>
+ * <li>the latest snapshots are selected by a single aggregation matching the persistence IDs with {@code $in},</li>
+ * <li>the journal documents are read by a single query sorted by persistence ID; the documents of a persistence ID
+ * are handed to its waiting request as soon as the query moves on to the next persistence ID.</li>
+ * </ul>
+ * A request fails if it cannot be enqueued or if its query fails; callers are expected to fall back to reading on
+ * their own then.
+ */
+@ThreadSafe
+public final class RecoveryReadCoordinator {
+
+    /**
+     * Config key of the batching of recovery reads within the configuration of a persistence plugin.
+     */
+    static final String RECOVERY_BATCH = "recovery-batch";
+
+    /**
+     * Config key of whether recovery reads are batched.
+     */
+    public static final String ENABLED = "enabled";
+
+    /**
+     * Config key of the maximal number of requests of one batch.
+     */
+    static final String MAX_SIZE = "max-size";
+
+    /**
+     * Config key of how long to wait for further requests of a batch.
+     */
+    static final String MAX_DELAY = "max-delay";
+
+    /**
+     * Config key of how many batches are queried in parallel.
+     */
+    static final String PARALLELISM = "parallelism";
+
+    /**
+     * Config key of how many requests may wait for their batch; further requests are rejected.
+     */
+    static final String BUFFER_SIZE = "buffer-size";
+
+    private static final String LATEST_FIELD = "latest";
+
+    private final MongoDatabase database;
+    private final CollectionNames collectionNames;
+    private final Materializer materializer;
+    private final SourceQueueWithComplete<SnapshotRequest> snapshotRequests;
+    private final SourceQueueWithComplete<ReplayRequest> replayRequests;
+
+    private RecoveryReadCoordinator(final MongoDatabase database, final CollectionNames collectionNames,
+            final Config batchConfig, final Materializer materializer) {
+
+        this.database = database;
+        this.collectionNames = collectionNames;
+        this.materializer = materializer;
+
+        final int maxSize = batchConfig.getInt(MAX_SIZE);
+        final Duration maxDelay = batchConfig.getDuration(MAX_DELAY);
+        final int parallelism = batchConfig.getInt(PARALLELISM);
+        final int bufferSize = batchConfig.getInt(BUFFER_SIZE);
+        snapshotRequests = startBatching(bufferSize, maxSize, maxDelay, parallelism, this::queryLatestSnapshots);
+        replayRequests = startBatching(bufferSize, maxSize, maxDelay, parallelism, this::queryJournal);
+    }
+
+    /**
+     * Creates a new {@code RecoveryReadCoordinator}.
+     *
+     * @param database the database of the journal or snapshot collections.
+     * @param collectionName the name of the collection without the suffix of the persistence IDs.
+     * @param config the configuration of the actor system containing the suffix builder of the persistence plugin.
+     * @param batchConfig the configuration of the batches.
+     * @param materializer the materializer to run the queries with.
+     * @return the coordinator.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static RecoveryReadCoordinator of(final MongoDatabase database, final String collectionName,
+            final Config config, final Config batchConfig, final Materializer materializer) {
+
+        checkNotNull(database, "database");
+        checkNotNull(collectionName, "collection name");
+        checkNotNull(config, "config");
+        checkNotNull(batchConfig, "batch config");
+        checkNotNull(materializer, "materializer");
+        return new RecoveryReadCoordinator(database, CollectionNames.of(collectionName, config), batchConfig,
+                materializer);
+    }
+
+    /**
+     * Loads the document of the latest snapshot of a persistence ID.
+     *
+     * @param persistenceId the persistence ID.
+     * @return the snapshot document or an empty optional if there is no snapshot.
+     */
+    public CompletionStage<Optional<DBObject>> loadLatestSnapshot(final String persistenceId) {
+        return enqueue(snapshotRequests, new SnapshotRequest(persistenceId, collectionNames.of(persistenceId)));
+    }
+
+    /**
+     * Loads the journal documents of a persistence ID which contain events within the given range of sequence numbers.
+     *
+     * @param persistenceId the persistence ID.
+     * @param fromSequenceNr the lowest sequence number of events to load.
+     * @param toSequenceNr the highest sequence number of events to load.
+     * @return the journal documents sorted by their first sequence number.
+     */
+    public CompletionStage<List<DBObject>> replay(final String persistenceId, final long fromSequenceNr,
+            final long toSequenceNr) {
+
+        return enqueue(replayRequests, new ReplayRequest(persistenceId, collectionNames.of(persistenceId),
+                fromSequenceNr, toSequenceNr));
+    }
+
+    /**
+     * Stops batching; requests which are already enqueued are still answered.
+     */
+    public void shutdown() {
+        snapshotRequests.complete();
+        replayRequests.complete();
+    }
+
+    private <R extends Request<?>> SourceQueueWithComplete<R> startBatching(final int bufferSize,
+            final int maxSize, final Duration maxDelay, final int parallelism,
+            final BiFunction<String, List<R>, CompletionStage<Done>> query) {
+
+        return Source.<R>queue(bufferSize, OverflowStrategy.dropNew())
+                .groupedWithin(maxSize, FiniteDuration.create(maxDelay.toNanos(), TimeUnit.NANOSECONDS))
+                .mapConcat(RecoveryReadCoordinator::groupByCollection)
+                .mapAsyncUnordered(parallelism, batch -> query.apply(batch.get(0).collectionName, batch)
+                        .handle((done, error) -> {
+                            batch.forEach(request -> request.fail(error));
+                            return Done.getInstance();
+                        }))
+                .to(Sink.ignore())
+                .run(materializer);
+    }
+
+    private static <R extends Request<?>> List<List<R>> groupByCollection(final List<R> requests) {
+        return new ArrayList<>(requests.stream()
+                .collect(Collectors.groupingBy(request -> request.collectionName, LinkedHashMap::new,
+                        Collectors.toList()))
+                .values());
+    }
+
+    private static <T, R extends Request<T>> CompletionStage<T> enqueue(final SourceQueueWithComplete<R> queue,
+            final R request) {
+
+        return queue.offer(request).thenCompose(offerResult -> {
+            if (!(offerResult instanceof QueueOfferResult.Enqueued$)) {
+                request.fail(new IllegalStateException("Recovery read was not enqueued: " + offerResult));
+            }
+            return request.result;
+        });
+    }
+
+    private CompletionStage<Done> queryLatestSnapshots(final String collectionName,
+            final List<SnapshotRequest> batch) {
+
+        final Map<String, List<SnapshotRequest>> requestsByPid = groupByPid(batch);
+        final List<Bson> pipeline = Arrays.asList(
+                Aggregates.match(Filters.in(RecoveryDocuments.PROCESSOR_ID, requestsByPid.keySet())),
+                Aggregates.sort(Sorts.orderBy(Sorts.ascending(RecoveryDocuments.PROCESSOR_ID),
+                        Sorts.descending(RecoveryDocuments.SEQUENCE_NUMBER))),
+                Aggregates.group("$" + RecoveryDocuments.PROCESSOR_ID, Accumulators.first(LATEST_FIELD, "$$ROOT"))
+        );
+        return Source.fromPublisher(database.getCollection(collectionName, BasicDBObject.class)
+                .aggregate(pipeline, BasicDBObject.class))
+                .runForeach(group -> {
+                    final DBObject latest = (DBObject) group.get(LATEST_FIELD);
+                    requestsByPid.getOrDefault(String.valueOf(group.get("_id")), Collections.emptyList())
+                            .forEach(request -> request.complete(Optional.of(latest)));
+                }, materializer)
+                .thenApply(done -> {
+                    batch.forEach(request -> request.complete(Optional.empty()));
+                    return done;
+                });
+    }
+
+    private CompletionStage<Done> queryJournal(final String collectionName, final List<ReplayRequest> batch) {
+        final Map<String, List<ReplayRequest>> requestsByPid = groupByPid(batch);
+        final List<Bson> filters = batch.stream()
+                .map(request -> Filters.and(
+                        Filters.eq(RecoveryDocuments.PROCESSOR_ID, request.persistenceId),
+                        Filters.gte(RecoveryDocuments.TO, request.fromSequenceNr),
+                        Filters.lte(RecoveryDocuments.FROM, request.toSequenceNr)))
+                .collect(Collectors.toList());
+        final ReplayDispatcher dispatcher = new ReplayDispatcher(requestsByPid);
+        return Source.fromPublisher(database.getCollection(collectionName, BasicDBObject.class)
+                .find(Filters.or(filters))
+                .sort(Sorts.ascending(RecoveryDocuments.PROCESSOR_ID, RecoveryDocuments.FROM)))
+                .runForeach(dispatcher::add, materializer)
+                .thenApply(done -> {
+                    dispatcher.flush();
+                    batch.forEach(request -> request.complete(Collections.emptyList()));
+                    return done;
+                });
+    }
+
+    private static <R extends Request<?>> Map<String, List<R>> groupByPid(final List<R> batch) {
+        return batch.stream().collect(Collectors.groupingBy(request -> request.persistenceId));
+    }
+
+    /**
+     * Collects the journal documents of the current persistence ID of a query sorted by persistence ID and completes
+     * its requests when the query moves on.
+     */
+    private static final class ReplayDispatcher {
+
+        private final Map<String, List<ReplayRequest>> requestsByPid;
+        private final List<DBObject> atoms;
+        @Nullable private String currentPid;
+
+        private ReplayDispatcher(final Map<String, List<ReplayRequest>> requestsByPid) {
+            this.requestsByPid = requestsByPid;
+            atoms = new ArrayList<>();
+            currentPid = null;
+        }
+
+        private void add(final DBObject atom) {
+            final String pid = String.valueOf(atom.get(RecoveryDocuments.PROCESSOR_ID));
+            if (!pid.equals(currentPid)) {
+                flush();
+                currentPid = pid;
+            }
+            atoms.add(atom);
+        }
+
+        private void flush() {
+            if (currentPid != null) {
+                requestsByPid.getOrDefault(currentPid, Collections.emptyList())
+                        .forEach(request -> request.complete(request.select(atoms)));
+                atoms.clear();
+            }
+        }
+    }
+
+    private abstract static class Request<T> {
+
+        final String persistenceId;
+        final String collectionName;
+        final CompletableFuture<T> result;
+
+        private Request(final String persistenceId, final String collectionName) {
+            this.persistenceId = persistenceId;
+            this.collectionName = collectionName;
+            result = new CompletableFuture<>();
+        }
+
+        void complete(final T value) {
+            result.complete(value);
+        }
+
+        void fail(@Nullable final Throwable error) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+
+    private static final class SnapshotRequest extends Request<Optional<DBObject>> {
+
+        private SnapshotRequest(final String persistenceId, final String collectionName) {
+            super(persistenceId, collectionName);
+        }
+    }
+
+    private static final class ReplayRequest extends Request<List<DBObject>> {
+
+        private final long fromSequenceNr;
+        private final long toSequenceNr;
+
+        private ReplayRequest(final String persistenceId, final String collectionName, final long fromSequenceNr,
+                final long toSequenceNr) {
+
+            super(persistenceId, collectionName);
+            this.fromSequenceNr = fromSequenceNr;
+            this.toSequenceNr = toSequenceNr;
+        }
+
+        private List<DBObject> select(final Collection<DBObject> atoms) {
+            return atoms.stream()
+                    .filter(atom -> getLong(atom, RecoveryDocuments.TO) >= fromSequenceNr &&
+                            getLong(atom, RecoveryDocuments.FROM) <= toSequenceNr)
+                    .collect(Collectors.toList());
+        }
+
+        private static long getLong(final DBObject atom, final String field) {
+            final Object value = atom.get(field);
+            return value instanceof Number ? ((Number) value).longValue() : 0L;
+        }
+    }
+
+    /**
+     * Resolves the names of collections of persistence IDs the same way as the MongoDB persistence plugin.
+     */
+    private static final class CollectionNames {
+
+        private static final String SUFFIX_BUILDER_CLASS = "akka.contrib.persistence.mongodb.mongo.suffix-builder.class";
+        private static final String SUFFIX_BUILDER_SEPARATOR =
+                "akka.contrib.persistence.mongodb.mongo.suffix-builder.separator";
+
+        private final String collectionName;
+        @Nullable private final CanSuffixCollectionNames suffixBuilder;
+        private final String separator;
+
+        private CollectionNames(final String collectionName,
+                @Nullable final CanSuffixCollectionNames suffixBuilder,
+                final String separator) {
+
+            this.collectionName = collectionName;
+            this.suffixBuilder = suffixBuilder;
+            this.separator = separator;
+        }
+
+        private static CollectionNames of(final String collectionName, final Config config) {
+            final String className = config.hasPath(SUFFIX_BUILDER_CLASS) ? config.getString(SUFFIX_BUILDER_CLASS) : "";
+            final String separator =
+                    config.hasPath(SUFFIX_BUILDER_SEPARATOR) ? config.getString(SUFFIX_BUILDER_SEPARATOR) : "_";
+            if (className.trim().isEmpty()) {
+                return new CollectionNames(collectionName, null, separator);
+            }
+            try {
+                return new CollectionNames(collectionName, Class.forName(className)
+                        .asSubclass(CanSuffixCollectionNames.class)
+                        .newInstance(), separator);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not instantiate suffix builder <" + className + ">!", e);
+            }
+        }
+
+        private String of(final String persistenceId) {
+            if (suffixBuilder == null) {
+                return collectionName;
+            }
+            final String suffix = suffixBuilder.getSuffixFromPersistenceId(persistenceId);
+            return suffix.isEmpty() ? collectionName
+                    : collectionName + separator + suffixBuilder.validateMongoCharacters(suffix);
+        }
+    }
+
+}
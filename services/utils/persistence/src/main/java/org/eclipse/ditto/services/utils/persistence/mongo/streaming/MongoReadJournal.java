@@ -16,10 +16,12 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.eclipse.ditto.services.utils.config.MongoConfig;
 import org.eclipse.ditto.services.utils.persistence.mongo.MongoClientWrapper;
 import org.eclipse.ditto.utils.jsr305.annotations.AllValuesAreNonnullByDefault;
 import org.slf4j.Logger;
@@ -33,7 +35,9 @@ import com.typesafe.config.Config;
 
 import akka.NotUsed;
 import akka.contrib.persistence.mongodb.JournallingFieldNames$;
+import akka.stream.ThrottleMode;
 import akka.stream.javadsl.Source;
+import scala.concurrent.duration.FiniteDuration;
 
 /**
  * Reads the event journal of com.github.scullxbones.akka-persistence-mongo plugin.
@@ -74,20 +78,28 @@ public class MongoReadJournal {
 
     private static final String COLLECTION_NAME_FIELD = "name";
 
+    private final Logger log;
+
+    private final Pattern journalCollectionPrefix;
+    private final MongoClientWrapper clientWrapper;
+
     /**
      * Concurrently consumes this amount of streams from different journals (if used with namespace suffixed
      * collections).
      */
-    private static final int CONCURRENT_JOURNAL_READS = 5;
-
-    private final Logger log;
+    private final int readParallelism;
 
-    private final Pattern journalCollectionPrefix;
-    private final MongoClientWrapper clientWrapper;
+    /**
+     * Limits the documents read from all journals per second; unlimited if not positive.
+     */
+    private final int readMaxDocumentsPerSecond;
 
-    private MongoReadJournal(final Pattern journalCollectionPrefix, final MongoClientWrapper clientWrapper) {
+    private MongoReadJournal(final Pattern journalCollectionPrefix, final MongoClientWrapper clientWrapper,
+            final int readParallelism, final int readMaxDocumentsPerSecond) {
         this.journalCollectionPrefix = journalCollectionPrefix;
         this.clientWrapper = clientWrapper;
+        this.readParallelism = Math.max(1, readParallelism);
+        this.readMaxDocumentsPerSecond = readMaxDocumentsPerSecond;
         log = LoggerFactory.getLogger(MongoSearchSyncPersistence.class);
     }
 
@@ -99,12 +111,19 @@ public class MongoReadJournal {
      * @return A {@code MongoReadJournal} object.
      */
     public static MongoReadJournal newInstance(final Config config, final MongoClientWrapper clientWrapper) {
-        return new MongoReadJournal(resolveJournalCollectionPrefix(config), clientWrapper);
+        return new MongoReadJournal(resolveJournalCollectionPrefix(config), clientWrapper,
+                MongoConfig.getJournalReadParallelism(config), MongoConfig.getJournalReadMaxDocumentsPerSecond(config));
     }
 
     /**
      * Retrieve sequence numbers for persistence IDs modified within the time interval as a source of {@code
      * PidWithSeqNr}. A persistence ID may appear multiple times with various sequence numbers.
+     * <p>
+     * The journal collections of namespace suffixed collections are read in parallel up to the configured
+     * {@value MongoConfig#JOURNAL_READ_PARALLELISM}; the configured
+     * {@value MongoConfig#JOURNAL_READ_MAX_DOCUMENTS_PER_SECOND} limits the load of the returned source on the
+     * database.
+     * </p>
      *
      * @param start start of the time window.
      * @param end end of the time window.
@@ -114,16 +133,23 @@ public class MongoReadJournal {
         final MongoDatabase database = clientWrapper.getDatabase();
         final Document filterDocument = createFilterObject(start, end);
 
-        return resolveJournalCollectionNames(journalCollectionPrefix, database)
-                .map(database::getCollection)
-                .map(journal -> journal.find(filterDocument, Document.class)
-                        .projection(PROJECT_DOCUMENT)
-                        .sort(SORT_DOCUMENT)
-                )
-                .map(Source::fromPublisher)
-                .flatMapMerge(CONCURRENT_JOURNAL_READS, source -> source
-                        .map(doc -> new PidWithSeqNr(doc.getString(PROCESSOR_ID), doc.getLong(TO)))
-                );
+        final Source<PidWithSeqNr, NotUsed> pidWithSeqNrs =
+                resolveJournalCollectionNames(journalCollectionPrefix, database)
+                        .map(database::getCollection)
+                        .map(journal -> journal.find(filterDocument, Document.class)
+                                .projection(PROJECT_DOCUMENT)
+                                .sort(SORT_DOCUMENT)
+                        )
+                        .map(Source::fromPublisher)
+                        .flatMapMerge(readParallelism, source -> source
+                                .map(doc -> new PidWithSeqNr(doc.getString(PROCESSOR_ID), doc.getLong(TO)))
+                        );
+
+        if (readMaxDocumentsPerSecond > 0) {
+            return pidWithSeqNrs.throttle(readMaxDocumentsPerSecond, FiniteDuration.create(1, TimeUnit.SECONDS),
+                    readMaxDocumentsPerSecond, ThrottleMode.shaping());
+        }
+        return pidWithSeqNrs;
     }
 
     private Document createFilterObject(final Instant start, final Instant end) {
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo.warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.services.utils.akka.LogUtil;
+import org.eclipse.ditto.services.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.services.utils.metrics.instruments.counter.Counter;
+import org.eclipse.ditto.services.utils.metrics.instruments.gauge.Gauge;
+import org.eclipse.ditto.services.utils.persistence.mongo.MongoClientExtension;
+import org.eclipse.ditto.services.utils.persistence.mongo.streaming.MongoReadJournal;
+import org.eclipse.ditto.services.utils.persistence.mongo.streaming.PidWithSeqNr;
+
+import com.typesafe.config.Config;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Address;
+import akka.actor.Cancellable;
+import akka.actor.Props;
+import akka.actor.Status;
+import akka.cluster.sharding.ShardRegion;
+import akka.event.DiagnosticLoggingAdapter;
+import akka.japi.pf.ReceiveBuilder;
+import akka.pattern.PatternsCS;
+import akka.stream.ActorMaterializer;
+import akka.stream.ThrottleMode;
+import akka.stream.javadsl.Sink;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Recovers recently active entities proactively after their shards were allocated to a cluster member, so that the
+ * first command to such an entity does not have to wait for the recovery of the entity.
+ * <p>
+ * The actor periodically asks the shard region for the allocation of all shards in the cluster. On the first check,
+ * all entities which wrote to the event journal within the configured {@code history} are warmed up; afterwards only
+ * the entities of shards which were newly allocated or moved to another cluster member. An entity is warmed up by
+ * sending a message created by the given factory through the shard region; the reply tells that the entity has been
+ * recovered. The number of parallel recoveries and the rate of recoveries are limited in order to bound the load on
+ * the database.
+ * </p>
+ * <p>
+ * Instances of this actor should run as cluster singleton.
+ * </p>
+ */
+public final class EntityWarmUpActor extends AbstractActor {
+
+    /**
+     * The name of this Actor in the ActorSystem.
+     */
+    public static final String ACTOR_NAME = "entityWarmUp";
+
+    /**
+     * Config key of the interval to check the shard allocation in.
+     */
+    static final String INTERVAL = "interval";
+
+    /**
+     * Config key of how long ago an entity may have been active last in order to be warmed up.
+     */
+    static final String HISTORY = "history";
+
+    /**
+     * Config key of the maximal number of entities recovered in parallel.
+     */
+    static final String PARALLELISM = "parallelism";
+
+    /**
+     * Config key of the maximal number of entities recovered per second.
+     */
+    static final String MAX_ENTITIES_PER_SECOND = "max-entities-per-second";
+
+    /**
+     * Config key of the maximal number of entities recovered for one change of the shard allocation.
+     */
+    static final String MAX_ENTITIES = "max-entities";
+
+    /**
+     * Config key of how long to wait for the recovery of one entity.
+     */
+    static final String ASK_TIMEOUT = "ask-timeout";
+
+    private static final String ENTITIES_METRIC_NAME = "warm_up_entities";
+    private static final String IN_PROGRESS_METRIC_NAME = "warm_up_in_progress";
+    private static final String ENTITY_TYPE_TAG = "entity_type";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final DiagnosticLoggingAdapter log = LogUtil.obtain(this);
+
+    private final String persistenceIdPrefix;
+    private final ActorRef shardRegion;
+    private final Function<String, String> shardIdOf;
+    private final Function<String, Object> warmUpMessageFactory;
+    private final MongoReadJournal readJournal;
+    private final ActorMaterializer materializer;
+
+    private final Duration interval;
+    private final Duration history;
+    private final int parallelism;
+    private final int maxEntitiesPerSecond;
+    private final long maxEntities;
+    private final Duration askTimeout;
+
+    private final Counter recoveredEntities;
+    private final Counter failedEntities;
+    private final Gauge inProgress;
+
+    @Nullable private Map<String, Address> lastShardAllocation;
+    @Nullable private Cancellable checkShardAllocation;
+    private boolean checkInProgress;
+
+    private EntityWarmUpActor(final Config warmUpConfig,
+            final String entityType,
+            final String persistenceIdPrefix,
+            final ActorRef shardRegion,
+            final Function<String, String> shardIdOf,
+            final Function<String, Object> warmUpMessageFactory,
+            final Function<ActorSystem, MongoReadJournal> readJournalFactory) {
+
+        this.persistenceIdPrefix = persistenceIdPrefix;
+        this.shardRegion = shardRegion;
+        this.shardIdOf = shardIdOf;
+        this.warmUpMessageFactory = warmUpMessageFactory;
+        readJournal = readJournalFactory.apply(getContext().getSystem());
+        materializer = ActorMaterializer.create(getContext());
+
+        interval = warmUpConfig.getDuration(INTERVAL);
+        history = warmUpConfig.getDuration(HISTORY);
+        parallelism = warmUpConfig.getInt(PARALLELISM);
+        maxEntitiesPerSecond = warmUpConfig.getInt(MAX_ENTITIES_PER_SECOND);
+        maxEntities = warmUpConfig.getLong(MAX_ENTITIES);
+        askTimeout = warmUpConfig.getDuration(ASK_TIMEOUT);
+
+        recoveredEntities = DittoMetrics.counter(ENTITIES_METRIC_NAME)
+                .tag(ENTITY_TYPE_TAG, entityType)
+                .tag(OUTCOME_TAG, "recovered");
+        failedEntities = DittoMetrics.counter(ENTITIES_METRIC_NAME)
+                .tag(ENTITY_TYPE_TAG, entityType)
+                .tag(OUTCOME_TAG, "failed");
+        inProgress = DittoMetrics.gauge(IN_PROGRESS_METRIC_NAME).tag(ENTITY_TYPE_TAG, entityType);
+
+        lastShardAllocation = null;
+        checkShardAllocation = null;
+        checkInProgress = false;
+    }
+
+    /**
+     * Creates Akka configuration object Props for this EntityWarmUpActor.
+     *
+     * @param config the configuration of the akka system.
+     * @param warmUpConfig the configuration of warming up entities.
+     * @param entityType the type of the entities to be warmed up, used to tag metrics.
+     * @param persistenceIdPrefix the prefix of persistence IDs of the entities to be warmed up.
+     * @param shardRegion the shard region of the entities.
+     * @param shardIdOf computes the shard ID of an entity ID.
+     * @param warmUpMessageFactory creates the message which recovers an entity from its entity ID. The entity must
+     * reply to the message.
+     * @return the Akka configuration Props object.
+     */
+    public static Props props(final Config config,
+            final Config warmUpConfig,
+            final String entityType,
+            final String persistenceIdPrefix,
+            final ActorRef shardRegion,
+            final Function<String, String> shardIdOf,
+            final Function<String, Object> warmUpMessageFactory) {
+
+        // the journal is read with the MongoDB client shared by the service
+        return props(warmUpConfig, entityType, persistenceIdPrefix, shardRegion, shardIdOf, warmUpMessageFactory,
+                system -> MongoReadJournal.newInstance(config, MongoClientExtension.get(system).getClient()));
+    }
+
+    /**
+     * Creates Akka configuration object Props for this EntityWarmUpActor which reads the active entities from the
+     * journal created by the given factory.
+     *
+     * @param warmUpConfig the configuration of warming up entities.
+     * @param entityType the type of the entities to be warmed up, used to tag metrics.
+     * @param persistenceIdPrefix the prefix of persistence IDs of the entities to be warmed up.
+     * @param shardRegion the shard region of the entities.
+     * @param shardIdOf computes the shard ID of an entity ID.
+     * @param warmUpMessageFactory creates the message which recovers an entity from its entity ID.
+     * @param readJournalFactory creates the journal to read the active entities from.
+     * @return the Akka configuration Props object.
+     */
+    static Props props(final Config warmUpConfig,
+            final String entityType,
+            final String persistenceIdPrefix,
+            final ActorRef shardRegion,
+            final Function<String, String> shardIdOf,
+            final Function<String, Object> warmUpMessageFactory,
+            final Function<ActorSystem, MongoReadJournal> readJournalFactory) {
+
+        return Props.create(EntityWarmUpActor.class, () -> new EntityWarmUpActor(warmUpConfig, entityType,
+                persistenceIdPrefix, shardRegion, shardIdOf, warmUpMessageFactory, readJournalFactory));
+    }
+
+    @Override
+    public void preStart() {
+        final FiniteDuration checkInterval = FiniteDuration.create(interval.toMillis(), TimeUnit.MILLISECONDS);
+        checkShardAllocation = getContext().getSystem()
+                .scheduler()
+                .schedule(checkInterval, checkInterval, getSelf(), CheckShardAllocation.INSTANCE,
+                        getContext().dispatcher(), getSelf());
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        if (null != checkShardAllocation) {
+            checkShardAllocation.cancel();
+        }
+        inProgress.set(0L);
+        super.postStop();
+    }
+
+    @Override
+    public Receive createReceive() {
+        return ReceiveBuilder.create()
+                .match(CheckShardAllocation.class, this::checkShardAllocation)
+                .match(ShardRegion.ClusterShardingStats.class, this::warmUpChangedShards)
+                .match(WarmUpFinished.class, this::warmUpFinished)
+                .match(Status.Failure.class, failure -> {
+                    checkInProgress = false;
+                    log.warning("Failed to retrieve the shard allocation: {}", failure.cause().getMessage());
+                })
+                .matchAny(message -> log.warning("Unknown message: <{}>", message))
+                .build();
+    }
+
+    private void checkShardAllocation(final CheckShardAllocation message) {
+        // skip checks while the shard allocation is retrieved or entities are warmed up
+        if (!checkInProgress) {
+            checkInProgress = true;
+            final FiniteDuration timeout = FiniteDuration.create(askTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            PatternsCS.pipe(PatternsCS.ask(shardRegion, new ShardRegion.GetClusterShardingStats(timeout),
+                    askTimeout.toMillis()), getContext().dispatcher())
+                    .to(getSelf());
+        }
+    }
+
+    private void warmUpChangedShards(final ShardRegion.ClusterShardingStats stats) {
+        final Map<String, Address> shardAllocation = new HashMap<>();
+        stats.getRegions().forEach((address, regionStats) ->
+                regionStats.getStats().keySet().forEach(shardId -> shardAllocation.put(shardId, address)));
+
+        final Set<String> changedShards = new HashSet<>();
+        if (null != lastShardAllocation) {
+            shardAllocation.forEach((shardId, address) -> {
+                if (!address.equals(lastShardAllocation.get(shardId))) {
+                    changedShards.add(shardId);
+                }
+            });
+        }
+        final boolean firstCheck = null == lastShardAllocation;
+        lastShardAllocation = shardAllocation;
+
+        if (firstCheck) {
+            log.info("Warming up all entities active within <{}>.", history);
+            warmUp(shardId -> true);
+        } else if (!changedShards.isEmpty()) {
+            log.info("Warming up entities of <{}> newly allocated shards active within <{}>.", changedShards.size(),
+                    history);
+            warmUp(changedShards::contains);
+        } else {
+            checkInProgress = false;
+        }
+    }
+
+    private void warmUp(final Predicate<String> shardFilter) {
+        inProgress.set(1L);
+
+        final Instant now = Instant.now();
+        final Set<String> seenEntityIds = new HashSet<>();
+        final ActorRef self = getSelf();
+        readJournal.getPidWithSeqNrsByInterval(now.minus(history), now)
+                .map(PidWithSeqNr::getPersistenceId)
+                .filter(persistenceId -> persistenceId.startsWith(persistenceIdPrefix))
+                .map(persistenceId -> persistenceId.substring(persistenceIdPrefix.length()))
+                .filter(entityId -> shardFilter.test(shardIdOf.apply(entityId)) && seenEntityIds.add(entityId))
+                .take(maxEntities)
+                .throttle(maxEntitiesPerSecond, FiniteDuration.create(1, TimeUnit.SECONDS), maxEntitiesPerSecond,
+                        ThrottleMode.shaping())
+                .mapAsyncUnordered(parallelism, this::warmUpEntity)
+                .runWith(Sink.fold(0L, (count, recovered) -> recovered ? count + 1 : count), materializer)
+                .whenComplete((count, error) -> self.tell(new WarmUpFinished(count, error), ActorRef.noSender()));
+    }
+
+    private CompletionStage<Boolean> warmUpEntity(final String entityId) {
+        return PatternsCS.ask(shardRegion, warmUpMessageFactory.apply(entityId), askTimeout.toMillis())
+                .handle((response, error) -> {
+                    if (null == error) {
+                        recoveredEntities.increment();
+                        return true;
+                    } else {
+                        failedEntities.increment();
+                        return false;
+                    }
+                });
+    }
+
+    private void warmUpFinished(final WarmUpFinished message) {
+        checkInProgress = false;
+        inProgress.set(0L);
+        if (null != message.error) {
+            log.error(message.error, "Warming up entities failed: {}", message.error.getMessage());
+        } else {
+            log.info("Warmed up <{}> entities.", message.recoveredEntities);
+        }
+    }
+
+    private static final class CheckShardAllocation {
+
+        private static final CheckShardAllocation INSTANCE = new CheckShardAllocation();
+
+        private CheckShardAllocation() {}
+
+    }
+
+    private static final class WarmUpFinished {
+
+        @Nullable private final Long recoveredEntities;
+        @Nullable private final Throwable error;
+
+        private WarmUpFinished(@Nullable final Long recoveredEntities, @Nullable final Throwable error) {
+            this.recoveredEntities = recoveredEntities;
+            this.error = error;
+        }
+
+    }
+
+}
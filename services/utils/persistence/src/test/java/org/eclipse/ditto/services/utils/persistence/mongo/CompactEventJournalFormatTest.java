@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonParseException;
+import org.junit.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit test for {@link CompactEventJournalFormat}.
+ */
+public final class CompactEventJournalFormatTest {
+
+    private static final List<String> EVENT_TYPES = Arrays.asList("things.events:thingCreated",
+            "things.events:attributeModified");
+    private static final List<String> FIELD_NAMES = Arrays.asList("_timestamp", "thingId", "attribute", "value");
+
+    private static final JsonObject EVENT_JSON = JsonFactory.newObject("{" +
+            "\"type\":\"things.events:attributeModified\"," +
+            "\"_timestamp\":\"2018-10-19T10:00:00Z\"," +
+            "\"thingId\":\"org.eclipse.ditto:thing\"," +
+            "\"attribute\":\"/location\"," +
+            "\"value\":{\"value\":1,\"~0\":\"tilde\",\"org.eclipse.ditto\":[{\"thingId\":2}]}" +
+            "}");
+
+    @Test
+    public void plainJournalEntryIsNotCompact() {
+        assertThat(CompactEventJournalFormat.isCompact(DittoBsonJson.getInstance().parse(EVENT_JSON))).isFalse();
+    }
+
+    @Test
+    public void typeAndFieldNamesAreEncodedByDictionary() {
+        final CompactEventJournalFormat underTest = CompactEventJournalFormat.of(EVENT_TYPES, FIELD_NAMES, true, -1);
+
+        final DBObject journalEntry = underTest.toJournal(EVENT_JSON);
+
+        assertThat(CompactEventJournalFormat.isCompact(journalEntry)).isTrue();
+        assertThat(journalEntry.get(CompactEventJournalFormat.TYPE_FIELD)).isEqualTo(1);
+        final DBObject payload = (DBObject) journalEntry.get(CompactEventJournalFormat.PAYLOAD_FIELD);
+        assertThat(payload.keySet()).containsExactly("~0", "~1", "~2", "~3");
+        assertThat(((DBObject) payload.get("~3")).keySet()).containsExactly("~3", "~~0", "org．eclipse．ditto");
+        assertThat(underTest.manifest("things.events:attributeModified")).isEqualTo("1");
+    }
+
+    @Test
+    public void compactJournalEntryIsReadBack() {
+        final CompactEventJournalFormat underTest = CompactEventJournalFormat.of(EVENT_TYPES, FIELD_NAMES, true, -1);
+
+        assertThat(underTest.fromJournal(underTest.toJournal(EVENT_JSON))).isEqualTo(EVENT_JSON);
+    }
+
+    @Test
+    public void largePayloadIsCompressedAndReadBack() {
+        final CompactEventJournalFormat underTest = CompactEventJournalFormat.of(EVENT_TYPES, FIELD_NAMES, true, 10);
+
+        final DBObject journalEntry = underTest.toJournal(EVENT_JSON);
+
+        assertThat(journalEntry.get(CompactEventJournalFormat.COMPRESSED_PAYLOAD_FIELD)).isInstanceOf(byte[].class);
+        assertThat(journalEntry.containsField(CompactEventJournalFormat.PAYLOAD_FIELD)).isFalse();
+        assertThat(underTest.fromJournal(journalEntry)).isEqualTo(EVENT_JSON);
+    }
+
+    @Test
+    public void unknownTypeIsStoredAsString() {
+        final JsonObject eventJson = EVENT_JSON.setValue("type", "things.events:attributeDeleted");
+        final CompactEventJournalFormat underTest = CompactEventJournalFormat.of(EVENT_TYPES, FIELD_NAMES, true, -1);
+
+        final DBObject journalEntry = underTest.toJournal(eventJson);
+
+        assertThat(journalEntry.get(CompactEventJournalFormat.TYPE_FIELD)).isEqualTo("things.events:attributeDeleted");
+        assertThat(underTest.manifest("things.events:attributeDeleted")).isEqualTo("things.events:attributeDeleted");
+        assertThat(underTest.fromJournal(journalEntry)).isEqualTo(eventJson);
+    }
+
+    @Test
+    public void manifestIsTypeIfFormatIsDisabled() {
+        final CompactEventJournalFormat underTest = CompactEventJournalFormat.of(EVENT_TYPES, FIELD_NAMES, false, -1);
+
+        assertThat(underTest.manifest("things.events:attributeModified")).isEqualTo("things.events:attributeModified");
+    }
+
+    @Test
+    public void unknownFieldNameIndexIsRejected() {
+        final CompactEventJournalFormat underTest = CompactEventJournalFormat.of(EVENT_TYPES, FIELD_NAMES, true, -1);
+        final DBObject journalEntry = new BasicDBObject(CompactEventJournalFormat.FORMAT_FIELD, 1)
+                .append(CompactEventJournalFormat.TYPE_FIELD, 0)
+                .append(CompactEventJournalFormat.PAYLOAD_FIELD, new BasicDBObject("~z", 1));
+
+        assertThatExceptionOfType(JsonParseException.class).isThrownBy(() -> underTest.fromJournal(journalEntry));
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo.recovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+import akka.persistence.PersistentRepr;
+import akka.persistence.SelectedSnapshot;
+
+/**
+ * Unit test for {@link RecoveryDocuments}.
+ */
+public final class RecoveryDocumentsTest {
+
+    private static final String PID = "thing:org.eclipse.ditto:thing";
+
+    @Test
+    public void eventsWithinRangeAreConverted() {
+        final List<DBObject> atoms = Arrays.asList(atom(event(1L), event(2L)), atom(event(3L), event(4L)));
+
+        final Optional<List<PersistentRepr>> events = RecoveryDocuments.toPersistentReprs(PID, atoms, 2L, 4L, 2L);
+
+        assertThat(events).isPresent();
+        assertThat(events.get().stream().map(PersistentRepr::sequenceNr).collect(Collectors.toList()))
+                .containsExactly(2L, 3L);
+        assertThat(events.get().get(0).persistenceId()).isEqualTo(PID);
+        assertThat(events.get().get(0).manifest()).isEqualTo("thingCreated");
+        assertThat(events.get().get(0).payload()).isEqualTo(new BasicDBObject("sn", 2L));
+    }
+
+    @Test
+    public void eventWithoutBsonPayloadIsNotConverted() {
+        final DBObject binaryEvent = event(2L).append(RecoveryDocuments.TYPE, "bin");
+        final List<DBObject> atoms = Collections.singletonList(atom(event(1L), binaryEvent));
+
+        assertThat(RecoveryDocuments.toPersistentReprs(PID, atoms, 1L, 2L, Long.MAX_VALUE)).isEmpty();
+        assertThat(RecoveryDocuments.toPersistentReprs(PID, atoms, 1L, 1L, Long.MAX_VALUE)).isPresent();
+    }
+
+    @Test
+    public void snapshotWithBsonPayloadIsConverted() {
+        final DBObject payload = new BasicDBObject("thingId", "org.eclipse.ditto:thing");
+        final DBObject snapshot = new BasicDBObject(RecoveryDocuments.PROCESSOR_ID, PID)
+                .append(RecoveryDocuments.SEQUENCE_NUMBER, 7L)
+                .append(RecoveryDocuments.TIMESTAMP, 1234L)
+                .append(RecoveryDocuments.SNAPSHOT_PAYLOAD,
+                        new BasicDBObject(RecoveryDocuments.TYPE, RecoveryDocuments.BSON_TYPE)
+                                .append(RecoveryDocuments.PAYLOAD, payload));
+
+        final Optional<SelectedSnapshot> selectedSnapshot = RecoveryDocuments.toSelectedSnapshot(snapshot);
+
+        assertThat(selectedSnapshot).isPresent();
+        assertThat(selectedSnapshot.get().metadata().persistenceId()).isEqualTo(PID);
+        assertThat(selectedSnapshot.get().metadata().sequenceNr()).isEqualTo(7L);
+        assertThat(selectedSnapshot.get().metadata().timestamp()).isEqualTo(1234L);
+        assertThat(selectedSnapshot.get().snapshot()).isEqualTo(payload);
+    }
+
+    @Test
+    public void snapshotWithoutBsonPayloadIsNotConverted() {
+        final DBObject snapshot = new BasicDBObject(RecoveryDocuments.PROCESSOR_ID, PID)
+                .append(RecoveryDocuments.SEQUENCE_NUMBER, 7L)
+                .append("s", new byte[]{1, 2, 3});
+
+        assertThat(RecoveryDocuments.toSelectedSnapshot(snapshot)).isEmpty();
+    }
+
+    private static DBObject atom(final DBObject... events) {
+        final BasicDBList eventList = new BasicDBList();
+        eventList.addAll(Arrays.asList(events));
+        return new BasicDBObject(RecoveryDocuments.PROCESSOR_ID, PID)
+                .append(RecoveryDocuments.FROM, events[0].get(RecoveryDocuments.SEQUENCE_NUMBER))
+                .append(RecoveryDocuments.TO, events[events.length - 1].get(RecoveryDocuments.SEQUENCE_NUMBER))
+                .append(RecoveryDocuments.EVENTS, eventList);
+    }
+
+    private static BasicDBObject event(final long sequenceNr) {
+        return new BasicDBObject(RecoveryDocuments.PROCESSOR_ID, PID)
+                .append(RecoveryDocuments.SEQUENCE_NUMBER, sequenceNr)
+                .append(RecoveryDocuments.TYPE, RecoveryDocuments.BSON_TYPE)
+                .append(RecoveryDocuments.PAYLOAD, new BasicDBObject("sn", sequenceNr))
+                .append(RecoveryDocuments.MANIFEST, "thingCreated");
+    }
+
+}
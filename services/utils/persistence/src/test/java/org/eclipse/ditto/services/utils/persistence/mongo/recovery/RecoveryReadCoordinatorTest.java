@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo.recovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.BsonDocument;
+import org.bson.conversions.Bson;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.MongoClient;
+import com.mongodb.MongoException;
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ActorSystem;
+import akka.stream.ActorMaterializer;
+import akka.stream.Materializer;
+import akka.stream.javadsl.AsPublisher;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
+import akka.testkit.javadsl.TestKit;
+
+/**
+ * Unit test for {@link RecoveryReadCoordinator}.
+ */
+public final class RecoveryReadCoordinatorTest {
+
+    private static final String COLLECTION = "akka_persistence_journal";
+    private static final String PID_A = "thing:org.eclipse.ditto:a";
+    private static final String PID_B = "thing:org.eclipse.ditto:b";
+    private static final String PID_C = "thing:org.eclipse.ditto:c";
+
+    private static ActorSystem actorSystem;
+    private static Materializer materializer;
+
+    private MongoCollection<BasicDBObject> collection;
+    private FindPublisher<BasicDBObject> findPublisher;
+    private AggregatePublisher<BasicDBObject> aggregatePublisher;
+    private RecoveryReadCoordinator underTest;
+
+    @BeforeClass
+    public static void initActorSystem() {
+        actorSystem = ActorSystem.create("AkkaTestSystem", ConfigFactory.load("test"));
+        materializer = ActorMaterializer.create(actorSystem);
+    }
+
+    @AfterClass
+    public static void shutdownActorSystem() {
+        TestKit.shutdownActorSystem(actorSystem);
+    }
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final MongoDatabase database = mock(MongoDatabase.class);
+        collection = mock(MongoCollection.class);
+        findPublisher = mock(FindPublisher.class);
+        aggregatePublisher = mock(AggregatePublisher.class);
+        when(database.getCollection(anyString(), eq(BasicDBObject.class))).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(findPublisher);
+        when(findPublisher.sort(any(Bson.class))).thenReturn(findPublisher);
+        when(collection.aggregate(anyListOf(Bson.class), eq(BasicDBObject.class))).thenReturn(aggregatePublisher);
+        underTest = RecoveryReadCoordinator.of(database, COLLECTION, ConfigFactory.empty(), batchConfig(10, 10),
+                materializer);
+    }
+
+    @After
+    public void shutdownCoordinator() {
+        underTest.shutdown();
+    }
+
+    @Test
+    public void replaysOfMixedPersistenceIdsAreQueriedTogether() throws Exception {
+        final List<BasicDBObject> atoms = Arrays.asList(atom(PID_A, 1L, 2L), atom(PID_A, 3L, 4L),
+                atom(PID_B, 1L, 1L), atom(PID_B, 2L, 3L));
+        answerFind(Source.from(atoms));
+
+        final CompletionStage<List<DBObject>> replayA = underTest.replay(PID_A, 1L, 3L);
+        final CompletionStage<List<DBObject>> replayB = underTest.replay(PID_B, 2L, 2L);
+        final CompletionStage<List<DBObject>> replayC = underTest.replay(PID_C, 1L, 5L);
+
+        assertThat(await(replayA)).containsExactly(atoms.get(0), atoms.get(1));
+        assertThat(await(replayB)).containsExactly(atoms.get(3));
+        assertThat(await(replayC)).isEmpty();
+
+        final ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        verify(collection, times(1)).find(filter.capture());
+        assertThat(filter.getValue()
+                .toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry())
+                .getArray("$or")).hasSize(3);
+    }
+
+    @Test
+    public void latestSnapshotsOfMixedPersistenceIdsAreAggregatedTogether() throws Exception {
+        final BasicDBObject snapshotA = new BasicDBObject(RecoveryDocuments.PROCESSOR_ID, PID_A)
+                .append(RecoveryDocuments.SEQUENCE_NUMBER, 7L);
+        answerAggregate(Source.single(new BasicDBObject("_id", PID_A).append("latest", snapshotA)));
+
+        final CompletionStage<Optional<DBObject>> snapshotOfA = underTest.loadLatestSnapshot(PID_A);
+        final CompletionStage<Optional<DBObject>> snapshotOfB = underTest.loadLatestSnapshot(PID_B);
+
+        assertThat(await(snapshotOfA)).contains(snapshotA);
+        assertThat(await(snapshotOfB)).isEmpty();
+        verify(collection, times(1)).aggregate(anyListOf(Bson.class), eq(BasicDBObject.class));
+    }
+
+    @Test
+    public void failedQueryFallsBackToPlugin() throws Exception {
+        answerFind(Source.failed(new MongoException("connection lost")));
+        final AtomicBoolean readByPlugin = new AtomicBoolean(false);
+
+        final CompletionStage<String> result = RecoveryPluginSupport.readBatchedOrByPlugin(
+                underTest.replay(PID_A, 1L, 3L),
+                atoms -> Optional.of("batched"),
+                () -> {
+                    readByPlugin.set(true);
+                    return CompletableFuture.completedFuture("plugin");
+                });
+
+        assertThat(await(result)).isEqualTo("plugin");
+        assertThat(readByPlugin.get()).isTrue();
+    }
+
+    @Test
+    public void eventWithoutBsonPayloadFallsBackToPlugin() throws Exception {
+        final BasicDBObject binaryAtom = atom(PID_A, 1L, 1L);
+        ((DBObject) ((BasicDBList) binaryAtom.get(RecoveryDocuments.EVENTS)).get(0))
+                .put(RecoveryDocuments.TYPE, "bin");
+        answerFind(Source.single(binaryAtom));
+
+        final CompletionStage<String> result = RecoveryPluginSupport.readBatchedOrByPlugin(
+                underTest.replay(PID_A, 1L, 1L),
+                atoms -> RecoveryDocuments.toPersistentReprs(PID_A, atoms, 1L, 1L, Long.MAX_VALUE)
+                        .map(events -> "batched"),
+                () -> CompletableFuture.completedFuture("plugin"));
+
+        assertThat(await(result)).isEqualTo("plugin");
+    }
+
+    @Test
+    public void convertibleResultIsNotReadByPlugin() throws Exception {
+        answerFind(Source.single(atom(PID_A, 1L, 2L)));
+
+        final CompletionStage<String> result = RecoveryPluginSupport.readBatchedOrByPlugin(
+                underTest.replay(PID_A, 1L, 2L),
+                atoms -> RecoveryDocuments.toPersistentReprs(PID_A, atoms, 1L, 2L, Long.MAX_VALUE)
+                        .map(events -> "batched " + events.size()),
+                () -> CompletableFuture.completedFuture("plugin"));
+
+        assertThat(await(result)).isEqualTo("batched 2");
+    }
+
+    @Test
+    public void requestsBeyondBufferAreRejected() {
+        underTest.shutdown();
+        final MongoDatabase database = mock(MongoDatabase.class);
+        when(database.getCollection(anyString(), eq(BasicDBObject.class))).thenReturn(collection);
+        underTest = RecoveryReadCoordinator.of(database, COLLECTION, ConfigFactory.empty(), batchConfig(1, 1),
+                materializer);
+        // the first query never completes, so that all further requests pile up
+        doAnswer(invocation -> {
+            final Subscriber<?> subscriber = invocation.getArgument(0);
+            subscriber.onSubscribe(new IdleSubscription());
+            return null;
+        }).when(findPublisher).subscribe(any());
+
+        final List<CompletableFuture<List<DBObject>>> replays = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            replays.add(underTest.replay(PID_A + i, 1L, 1L).toCompletableFuture());
+        }
+
+        // only rejected requests complete
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(() -> CompletableFuture.anyOf(replays.toArray(new CompletableFuture[0]))
+                        .get(5L, TimeUnit.SECONDS))
+                .withCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private void answerFind(final Source<BasicDBObject, ?> documents) {
+        doAnswer(invocation -> {
+            documents.runWith(Sink.asPublisher(AsPublisher.WITHOUT_FANOUT), materializer)
+                    .subscribe(invocation.getArgument(0));
+            return null;
+        }).when(findPublisher).subscribe(any());
+    }
+
+    private void answerAggregate(final Source<BasicDBObject, ?> documents) {
+        doAnswer(invocation -> {
+            documents.runWith(Sink.asPublisher(AsPublisher.WITHOUT_FANOUT), materializer)
+                    .subscribe(invocation.getArgument(0));
+            return null;
+        }).when(aggregatePublisher).subscribe(any());
+    }
+
+    private static Config batchConfig(final int maxSize, final int bufferSize) {
+        final Map<String, Object> batchConfig = new HashMap<>();
+        batchConfig.put(RecoveryReadCoordinator.ENABLED, true);
+        batchConfig.put(RecoveryReadCoordinator.MAX_SIZE, maxSize);
+        batchConfig.put(RecoveryReadCoordinator.MAX_DELAY, "500ms");
+        batchConfig.put(RecoveryReadCoordinator.PARALLELISM, 1);
+        batchConfig.put(RecoveryReadCoordinator.BUFFER_SIZE, bufferSize);
+        return ConfigFactory.parseMap(batchConfig);
+    }
+
+    private static <T> T await(final CompletionStage<T> result) throws Exception {
+        return result.toCompletableFuture().get(5L, TimeUnit.SECONDS);
+    }
+
+    private static BasicDBObject atom(final String persistenceId, final long from, final long to) {
+        final BasicDBList events = new BasicDBList();
+        for (long sequenceNr = from; sequenceNr <= to; sequenceNr++) {
+            events.add(new BasicDBObject(RecoveryDocuments.PROCESSOR_ID, persistenceId)
+                    .append(RecoveryDocuments.SEQUENCE_NUMBER, sequenceNr)
+                    .append(RecoveryDocuments.TYPE, RecoveryDocuments.BSON_TYPE)
+                    .append(RecoveryDocuments.PAYLOAD, new BasicDBObject("sn", sequenceNr))
+                    .append(RecoveryDocuments.MANIFEST, "thingCreated"));
+        }
+        return new BasicDBObject(RecoveryDocuments.PROCESSOR_ID, persistenceId)
+                .append(RecoveryDocuments.FROM, from)
+                .append(RecoveryDocuments.TO, to)
+                .append(RecoveryDocuments.EVENTS, events);
+    }
+
+    private static final class IdleSubscription implements Subscription {
+
+        @Override
+        public void request(final long n) {
+            // never emits
+        }
+
+        @Override
+        public void cancel() {
+            // nothing to release
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.services.utils.persistence.mongo.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.services.utils.metrics.DittoMetrics;
+import org.eclipse.ditto.services.utils.persistence.mongo.streaming.MongoReadJournal;
+import org.eclipse.ditto.services.utils.persistence.mongo.streaming.PidWithSeqNr;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Address;
+import akka.cluster.sharding.ShardRegion;
+import akka.stream.javadsl.Source;
+import akka.testkit.javadsl.TestKit;
+import scala.Tuple2;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Tests {@link EntityWarmUpActor}.
+ */
+public final class EntityWarmUpActorTest {
+
+    private static final String PREFIX = "thing:";
+    private static final Address NODE_1 = new Address("akka.tcp", "ditto-cluster", "node1", 2552);
+    private static final Address NODE_2 = new Address("akka.tcp", "ditto-cluster", "node2", 2552);
+
+    // entities "a" and "c" are in shard 1, entity "b" is in shard 2
+    private static final List<PidWithSeqNr> ACTIVE_ENTITIES = Arrays.asList(
+            new PidWithSeqNr(PREFIX + "a", 1L),
+            new PidWithSeqNr("policy:a", 1L),
+            new PidWithSeqNr(PREFIX + "b", 1L),
+            new PidWithSeqNr(PREFIX + "a", 2L),
+            new PidWithSeqNr(PREFIX + "c", 1L));
+
+    private static ActorSystem actorSystem;
+
+    @BeforeClass
+    public static void initActorSystem() {
+        actorSystem = ActorSystem.create("AkkaTestSystem", ConfigFactory.load("test"));
+    }
+
+    @AfterClass
+    public static void shutdownActorSystem() {
+        TestKit.shutdownActorSystem(actorSystem);
+    }
+
+    @Test
+    public void firstCheckWarmsUpAllEntitiesAndLaterChecksOnlyReallocatedShards() {
+        new TestKit(actorSystem) {{
+            createWarmUpActor(getRef(), warmUpConfig(100L, 10), randomEntityType());
+
+            replyShardAllocation(this, NODE_1, NODE_1);
+            assertThat(warmUpEntities(this, 3)).containsExactlyInAnyOrder("a", "b", "c");
+
+            // shard 2 moved to node 2
+            replyShardAllocation(this, NODE_1, NODE_2);
+            assertThat(warmUpEntities(this, 1)).containsExactly("b");
+
+            // unchanged allocation
+            replyShardAllocation(this, NODE_1, NODE_2);
+            expectMsgClass(ShardRegion.GetClusterShardingStats.class);
+        }};
+    }
+
+    @Test
+    public void maxEntitiesIsRespected() {
+        new TestKit(actorSystem) {{
+            createWarmUpActor(getRef(), warmUpConfig(2L, 10), randomEntityType());
+
+            replyShardAllocation(this, NODE_1, NODE_1);
+            assertThat(warmUpEntities(this, 2)).hasSize(2);
+
+            // the next check starts after the warm-up without further entities
+            expectMsgClass(ShardRegion.GetClusterShardingStats.class);
+        }};
+    }
+
+    @Test
+    public void parallelismIsRespected() {
+        new TestKit(actorSystem) {{
+            createWarmUpActor(getRef(), warmUpConfig(100L, 2), randomEntityType());
+            replyShardAllocation(this, NODE_1, NODE_1);
+
+            final String first = expectMsgClass(String.class);
+            final ActorRef firstAsker = getLastSender();
+            expectMsgClass(String.class);
+            // no third recovery while two are in progress
+            expectNoMessage(FiniteDuration.create(300L, TimeUnit.MILLISECONDS));
+
+            firstAsker.tell("recovered " + first, getRef());
+            expectMsgClass(String.class);
+        }};
+    }
+
+    @Test
+    public void recoveredAndFailedEntitiesAreCounted() {
+        new TestKit(actorSystem) {{
+            final String entityType = randomEntityType();
+            createWarmUpActor(getRef(), warmUpConfig(100L, 10), entityType);
+            replyShardAllocation(this, NODE_1, NODE_1);
+
+            final Set<String> entities = new HashSet<>();
+            for (int i = 0; i < 3; i++) {
+                final String entityId = expectMsgClass(String.class);
+                entities.add(entityId);
+                // entity "b" does not answer and times out
+                if (!"b".equals(entityId)) {
+                    reply("recovered " + entityId);
+                }
+            }
+            assertThat(entities).containsExactlyInAnyOrder("a", "b", "c");
+
+            // the next check starts after the timed out recovery
+            expectMsgClass(ShardRegion.GetClusterShardingStats.class);
+            assertThat(DittoMetrics.counter("warm_up_entities")
+                    .tag("entity_type", entityType)
+                    .tag("outcome", "recovered")
+                    .getCount()).isEqualTo(2L);
+            assertThat(DittoMetrics.counter("warm_up_entities")
+                    .tag("entity_type", entityType)
+                    .tag("outcome", "failed")
+                    .getCount()).isEqualTo(1L);
+        }};
+    }
+
+    private static void createWarmUpActor(final ActorRef shardRegion, final Config warmUpConfig,
+            final String entityType) {
+
+        final MongoReadJournal readJournal = mock(MongoReadJournal.class);
+        when(readJournal.getPidWithSeqNrsByInterval(any(), any())).thenReturn(Source.from(ACTIVE_ENTITIES));
+        actorSystem.actorOf(EntityWarmUpActor.props(warmUpConfig, entityType, PREFIX, shardRegion,
+                entityId -> "b".equals(entityId) ? "2" : "1", entityId -> entityId, system -> readJournal));
+    }
+
+    private static Config warmUpConfig(final long maxEntities, final int parallelism) {
+        final Map<String, Object> warmUpConfig = new HashMap<>();
+        warmUpConfig.put(EntityWarmUpActor.INTERVAL, "100ms");
+        warmUpConfig.put(EntityWarmUpActor.HISTORY, "1h");
+        warmUpConfig.put(EntityWarmUpActor.PARALLELISM, parallelism);
+        warmUpConfig.put(EntityWarmUpActor.MAX_ENTITIES_PER_SECOND, 1000);
+        warmUpConfig.put(EntityWarmUpActor.MAX_ENTITIES, maxEntities);
+        warmUpConfig.put(EntityWarmUpActor.ASK_TIMEOUT, "1s");
+        return ConfigFactory.parseMap(warmUpConfig);
+    }
+
+    private static String randomEntityType() {
+        return "test-" + UUID.randomUUID();
+    }
+
+    private static void replyShardAllocation(final TestKit shardRegion, final Address nodeOfShard1,
+            final Address nodeOfShard2) {
+
+        shardRegion.expectMsgClass(ShardRegion.GetClusterShardingStats.class);
+        final Map<Address, Map<String, Object>> regions = new HashMap<>();
+        regions.computeIfAbsent(nodeOfShard1, node -> new HashMap<>()).put("1", 1);
+        regions.computeIfAbsent(nodeOfShard2, node -> new HashMap<>()).put("2", 1);
+        shardRegion.reply(new ShardRegion.ClusterShardingStats(toScala(regions)));
+    }
+
+    private static Set<String> warmUpEntities(final TestKit shardRegion, final int count) {
+        final Set<String> entities = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            final String entityId = shardRegion.expectMsgClass(String.class);
+            entities.add(entityId);
+            shardRegion.reply("recovered " + entityId);
+        }
+        return entities;
+    }
+
+    private static scala.collection.immutable.Map<Address, ShardRegion.ShardRegionStats> toScala(
+            final Map<Address, Map<String, Object>> regions) {
+
+        scala.collection.immutable.Map<Address, ShardRegion.ShardRegionStats> result =
+                new scala.collection.immutable.HashMap<>();
+        for (final Map.Entry<Address, Map<String, Object>> region : regions.entrySet()) {
+            scala.collection.immutable.Map<String, Object> stats = new scala.collection.immutable.HashMap<>();
+            for (final Map.Entry<String, Object> shard : region.getValue().entrySet()) {
+                stats = stats.$plus(new Tuple2<>(shard.getKey(), shard.getValue()));
+            }
+            result = result.$plus(new Tuple2<>(region.getKey(), new ShardRegion.ShardRegionStats(stats)));
+        }
+        return result;
+    }
+
+}
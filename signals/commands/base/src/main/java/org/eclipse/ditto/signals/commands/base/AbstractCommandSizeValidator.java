@@ -16,6 +16,7 @@ import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
+import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.model.base.exceptions.DittoRuntimeException;
 import org.eclipse.ditto.model.base.headers.DittoHeaders;
 
@@ -61,6 +62,21 @@ public abstract class AbstractCommandSizeValidator<T extends DittoRuntimeExcepti
         }
     }
 
+    /**
+     * Guard function that throws when a size limit is specified and the string representation of the given JSON value
+     * is longer than the limit. The JSON value is only serialized for measuring if its
+     * {@link JsonValue#getUpperBoundForStringSize() upper bound of the string size} exceeds the limit.
+     *
+     * @param jsonValue the JSON value to be measured.
+     * @param headersSupplier the headersSupplier for the exception
+     * @throws T if size limit is set and exceeded
+     */
+    public void ensureValidSize(final JsonValue jsonValue, final Supplier<DittoHeaders> headersSupplier) {
+        if (null != maxSize && maxSize < jsonValue.getUpperBoundForStringSize()) {
+            ensureValidSize(() -> jsonValue.toString().length(), headersSupplier);
+        }
+    }
+
     /**
      * Builds a new exception that is used to flag an too large size.
      *
@@ -56,8 +56,7 @@ class MessagePayloadSerializer {
         } else if (payloadOptional.isPresent()) {
             final T payload = payloadOptional.get();
             if (payload instanceof JsonValue) {
-                MessageCommandSizeValidator.getInstance().ensureValidSize(() ->
-                                ((JsonValue) payload).toString().length(), message::getHeaders);
+                MessageCommandSizeValidator.getInstance().ensureValidSize((JsonValue) payload, message::getHeaders);
 
                 messageBuilder.set(MessageCommand.JsonFields.JSON_MESSAGE_PAYLOAD, (JsonValue) payload, predicate);
             } else {
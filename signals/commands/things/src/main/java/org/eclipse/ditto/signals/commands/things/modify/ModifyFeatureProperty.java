@@ -79,8 +79,7 @@ public final class ModifyFeatureProperty extends AbstractCommand<ModifyFeaturePr
         this.propertyPointer = checkNotNull(propertyPointer, "Property JsonPointer");
         this.propertyValue = checkNotNull(propertyValue, "Property Value");
 
-        ThingCommandSizeValidator.getInstance().ensureValidSize(() -> propertyValue.toString().length(), () ->
-                dittoHeaders);
+        ThingCommandSizeValidator.getInstance().ensureValidSize(propertyValue, () -> dittoHeaders);
     }
 
     /**
@@ -23,6 +23,7 @@ import org.eclipse.ditto.signals.base.JsonParsable;
 import org.eclipse.ditto.signals.commands.base.AbstractCommandRegistry;
 import org.eclipse.ditto.signals.commands.thingsearch.query.CountThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThings;
+import org.eclipse.ditto.signals.commands.thingsearch.query.StreamThings;
 
 /**
  * A {@link org.eclipse.ditto.signals.commands.base.CommandRegistry} aware of all {@link ThingSearchCommand}s.
@@ -44,6 +45,7 @@ public final class SearchCommandRegistry extends AbstractCommandRegistry<ThingSe
 
         parseStrategies.put(QueryThings.TYPE, QueryThings::fromJson);
         parseStrategies.put(CountThings.TYPE, CountThings::fromJson);
+        parseStrategies.put(StreamThings.TYPE, StreamThings::fromJson);
 
         return new SearchCommandRegistry(parseStrategies);
     }
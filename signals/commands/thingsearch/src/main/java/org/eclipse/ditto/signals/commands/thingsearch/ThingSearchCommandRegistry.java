@@ -19,6 +19,7 @@ import org.eclipse.ditto.signals.base.JsonParsable;
 import org.eclipse.ditto.signals.commands.base.AbstractCommandRegistry;
 import org.eclipse.ditto.signals.commands.thingsearch.query.CountThings;
 import org.eclipse.ditto.signals.commands.thingsearch.query.QueryThings;
+import org.eclipse.ditto.signals.commands.thingsearch.query.StreamThings;
 
 /**
  * A {@link org.eclipse.ditto.signals.commands.base.CommandRegistry} aware of all {@link ThingSearchCommand}s.
@@ -40,6 +41,7 @@ public final class ThingSearchCommandRegistry extends AbstractCommandRegistry<Th
 
         parseStrategies.put(QueryThings.TYPE, QueryThings::fromJson);
         parseStrategies.put(CountThings.TYPE, CountThings::fromJson);
+        parseStrategies.put(StreamThings.TYPE, StreamThings::fromJson);
 
         return new ThingSearchCommandRegistry(parseStrategies);
     }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.signals.commands.thingsearch.query;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonCollectors;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonFieldDefinition;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.model.base.json.FieldType;
+import org.eclipse.ditto.model.base.json.JsonSchemaVersion;
+import org.eclipse.ditto.signals.commands.base.AbstractCommand;
+import org.eclipse.ditto.signals.commands.base.CommandJsonDeserializer;
+
+/**
+ * Command for streaming the IDs of all Things matching a search query. In contrast to {@link QueryThings} the result
+ * is not paged: the search service answers with a {@code akka.stream.SourceRef} emitting the Thing IDs one after
+ * another in the sort order of the query, so that arbitrarily large result sets can be exported with backpressure.
+ * <p>
+ * The options {@code sort} and {@code cursor} are supported; the page size and offset options are ignored.
+ * </p>
+ */
+@Immutable
+public final class StreamThings extends AbstractCommand<StreamThings>
+        implements ThingSearchQueryCommand<StreamThings> {
+
+    /**
+     * Name of the command.
+     */
+    public static final String NAME = "streamThings";
+
+    /**
+     * Type of this command.
+     */
+    public static final String TYPE = TYPE_PREFIX + NAME;
+
+    static final JsonFieldDefinition<String> JSON_FILTER =
+            JsonFactory.newStringFieldDefinition("filter", FieldType.REGULAR, JsonSchemaVersion.V_1,
+                    JsonSchemaVersion.V_2);
+
+    static final JsonFieldDefinition<JsonArray> JSON_OPTIONS =
+            JsonFactory.newJsonArrayFieldDefinition("options", FieldType.REGULAR, JsonSchemaVersion.V_1,
+                    JsonSchemaVersion.V_2);
+
+    static final JsonFieldDefinition<JsonArray> JSON_NAMESPACES =
+            JsonFactory.newJsonArrayFieldDefinition("namespaces", FieldType.REGULAR, JsonSchemaVersion.V_1,
+                    JsonSchemaVersion.V_2);
+
+    @Nullable private final String filter;
+    @Nullable private final List<String> options;
+    @Nullable private final Set<String> namespaces;
+
+    private StreamThings(final DittoHeaders dittoHeaders, @Nullable final String filter,
+            @Nullable final List<String> options, @Nullable final Collection<String> namespaces) {
+        super(TYPE, dittoHeaders);
+        this.filter = filter;
+        if (options != null) {
+            this.options = Collections.unmodifiableList(options);
+        } else {
+            this.options = null;
+        }
+        if (namespaces != null) {
+            this.namespaces = Collections.unmodifiableSet(new HashSet<>(namespaces));
+        } else {
+            this.namespaces = null;
+        }
+    }
+
+    /**
+     * Returns a new instance of {@code StreamThings}.
+     *
+     * @param filter the optional query filter string
+     * @param options the optional query options
+     * @param namespaces the optional namespaces for the query
+     * @param dittoHeaders the headers of the command.
+     * @return a new command for streaming the IDs of Things.
+     * @throws NullPointerException if {@code dittoHeaders} is {@code null}.
+     */
+    public static StreamThings of(@Nullable final String filter, @Nullable final List<String> options,
+            @Nullable final Set<String> namespaces, final DittoHeaders dittoHeaders) {
+        return new StreamThings(dittoHeaders, filter, options, namespaces);
+    }
+
+    /**
+     * Returns a new instance of {@code StreamThings} for all Things visible to the issuer of the command.
+     *
+     * @param dittoHeaders the headers of the command.
+     * @return a new command for streaming the IDs of Things.
+     * @throws NullPointerException if {@code dittoHeaders} is {@code null}.
+     */
+    public static StreamThings of(final DittoHeaders dittoHeaders) {
+        return new StreamThings(dittoHeaders, null, null, null);
+    }
+
+    /**
+     * Creates a new {@code StreamThings} from a JSON string.
+     *
+     * @param jsonString the JSON string of which the command is to be created.
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code jsonString} is {@code null}.
+     * @throws IllegalArgumentException if {@code jsonString} is empty.
+     * @throws org.eclipse.ditto.json.JsonParseException if the passed in {@code jsonString} was not in the expected
+     * format.
+     */
+    public static StreamThings fromJson(final String jsonString, final DittoHeaders dittoHeaders) {
+        return fromJson(JsonFactory.newObject(jsonString), dittoHeaders);
+    }
+
+    /**
+     * Creates a new {@code StreamThings} from a JSON object.
+     *
+     * @param jsonObject the JSON object of which the command is to be created.
+     * @param dittoHeaders the headers of the command.
+     * @return the command.
+     * @throws NullPointerException if {@code jsonObject} is {@code null}.
+     * @throws org.eclipse.ditto.json.JsonParseException if the passed in {@code jsonObject} was not in the expected
+     * format.
+     */
+    public static StreamThings fromJson(final JsonObject jsonObject, final DittoHeaders dittoHeaders) {
+        return new CommandJsonDeserializer<StreamThings>(TYPE, jsonObject).deserialize(() -> {
+            final String extractedFilter = jsonObject.getValue(JSON_FILTER).orElse(null);
+
+            final List<String> extractedOptions = jsonObject.getValue(JSON_OPTIONS)
+                    .map(jsonArray -> jsonArray.stream()
+                            .filter(JsonValue::isString)
+                            .map(JsonValue::asString)
+                            .collect(Collectors.toList()))
+                    .orElse(null);
+
+            final Set<String> extractedNamespaces = jsonObject.getValue(JSON_NAMESPACES)
+                    .map(jsonValues -> jsonValues.stream()
+                            .filter(JsonValue::isString)
+                            .map(JsonValue::asString)
+                            .collect(Collectors.toSet()))
+                    .orElse(null);
+
+            return new StreamThings(dittoHeaders, extractedFilter, extractedOptions, extractedNamespaces);
+        });
+    }
+
+    @Override
+    public Optional<String> getFilter() {
+        return Optional.ofNullable(filter);
+    }
+
+    /**
+     * Get the optional options.
+     *
+     * @return the optional options.
+     */
+    public Optional<List<String>> getOptions() {
+        return Optional.ofNullable(options);
+    }
+
+    @Override
+    public Optional<Set<String>> getNamespaces() {
+        return Optional.ofNullable(namespaces);
+    }
+
+    @Override
+    public StreamThings setNamespaces(@Nullable final Collection<String> namespaces) {
+        return new StreamThings(getDittoHeaders(), filter, options, namespaces);
+    }
+
+    @Override
+    protected void appendPayload(final JsonObjectBuilder jsonObjectBuilder, final JsonSchemaVersion schemaVersion,
+            final Predicate<JsonField> thePredicate) {
+        final Predicate<JsonField> predicate = schemaVersion.and(thePredicate);
+        getFilter().ifPresent(presentFilter -> jsonObjectBuilder.set(JSON_FILTER, presentFilter, predicate));
+        getOptions().ifPresent(presentOptions -> jsonObjectBuilder.set(JSON_OPTIONS, presentOptions.stream()
+                .map(JsonValue::of)
+                .collect(JsonCollectors.valuesToArray()), predicate));
+        getNamespaces().ifPresent(presentNamespaces -> jsonObjectBuilder.set(JSON_NAMESPACES,
+                presentNamespaces.stream()
+                        .map(JsonValue::of)
+                        .collect(JsonCollectors.valuesToArray()), predicate));
+    }
+
+    @Override
+    public StreamThings setDittoHeaders(final DittoHeaders dittoHeaders) {
+        return of(filter, options, namespaces, dittoHeaders);
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StreamThings)) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        final StreamThings that = (StreamThings) o;
+        return Objects.equals(filter, that.filter) &&
+                Objects.equals(options, that.options) &&
+                Objects.equals(namespaces, that.namespaces);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), filter, options, namespaces);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + "filter='" + filter + "', options=" + options + ", namespaces=" +
+                namespaces + ']';
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2018 Bosch Software Innovations GmbH.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/org/documents/epl-2.0/index.php
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.signals.commands.thingsearch.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mutabilitydetector.unittesting.AllowedReason.assumingFields;
+import static org.mutabilitydetector.unittesting.MutabilityAssert.assertInstancesOf;
+import static org.mutabilitydetector.unittesting.MutabilityMatchers.areEffectivelyImmutable;
+
+import java.util.Arrays;
+
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.model.base.headers.DittoHeaders;
+import org.eclipse.ditto.signals.commands.thingsearch.ThingSearchCommand;
+import org.eclipse.ditto.signals.commands.thingsearch.ThingSearchCommandRegistry;
+import org.junit.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+/**
+ * Tests {@link StreamThings}.
+ */
+public final class StreamThingsTest {
+
+    private static final String JSON_ALL_FIELDS = JsonFactory.newObjectBuilder()
+            .set(ThingSearchCommand.JsonFields.TYPE, StreamThings.TYPE)
+            .set(StreamThings.JSON_FILTER, TestConstants.Search.KNOWN_FILTER_STR)
+            .set(StreamThings.JSON_OPTIONS, JsonFactory.newArrayBuilder()
+                    .add(TestConstants.Search.KNOWN_OPT_1)
+                    .add(TestConstants.Search.KNOWN_OPT_2)
+                    .build())
+            .set(StreamThings.JSON_NAMESPACES, JsonFactory.newArrayBuilder()
+                    .add(TestConstants.Search.KNOWN_NAMESPACE)
+                    .build())
+            .build().toString();
+
+    private static final String JSON_MINIMAL = JsonFactory.newObjectBuilder()
+            .set(ThingSearchCommand.JsonFields.TYPE, StreamThings.TYPE)
+            .build().toString();
+
+
+    @Test
+    public void assertImmutability() {
+        assertInstancesOf(StreamThings.class,
+                areEffectivelyImmutable(),
+                assumingFields("options").areSafelyCopiedUnmodifiableCollectionsWithImmutableElements());
+    }
+
+
+    @Test
+    public void testHashCodeAndEquals() {
+        EqualsVerifier.forClass(StreamThings.class)
+                .withRedefinedSuperclass()
+                .verify();
+    }
+
+
+    @Test
+    public void toJsonWithAllFieldsSet() {
+        final StreamThings command = StreamThings.of(TestConstants.Search.KNOWN_FILTER_STR,
+                Arrays.asList(TestConstants.Search.KNOWN_OPT_1, TestConstants.Search.KNOWN_OPT_2),
+                TestConstants.Search.KNOWN_NAMESPACES_SET, DittoHeaders.empty());
+
+        assertThat(command.toJsonString()).isEqualTo(JSON_ALL_FIELDS);
+    }
+
+
+    @Test
+    public void toJsonWithOnlyRequiredFieldsSet() {
+        assertThat(StreamThings.of(DittoHeaders.empty()).toJsonString()).isEqualTo(JSON_MINIMAL);
+    }
+
+
+    @Test
+    public void fromJsonWithAllFieldsSet() {
+        final StreamThings command = StreamThings.fromJson(JSON_ALL_FIELDS, DittoHeaders.empty());
+
+        assertThat(command.getFilter()).contains(TestConstants.Search.KNOWN_FILTER_STR);
+        assertThat(command.getOptions()).contains(
+                Arrays.asList(TestConstants.Search.KNOWN_OPT_1, TestConstants.Search.KNOWN_OPT_2));
+        assertThat(command.getNamespaces()).contains(TestConstants.Search.KNOWN_NAMESPACES_SET);
+    }
+
+
+    @Test
+    public void fromJsonWithOnlyRequiredFieldsSet() {
+        final StreamThings command = StreamThings.fromJson(JSON_MINIMAL, DittoHeaders.empty());
+
+        assertThat(command.getFilter()).isEmpty();
+        assertThat(command.getOptions()).isEmpty();
+        assertThat(command.getNamespaces()).isEmpty();
+    }
+
+
+    @Test
+    public void parseWithRegistry() {
+        final StreamThings command = StreamThings.of(TestConstants.Search.KNOWN_FILTER_STR, null,
+                TestConstants.Search.KNOWN_NAMESPACES_SET, DittoHeaders.empty());
+
+        final ThingSearchCommand parsed = ThingSearchCommandRegistry.newInstance()
+                .parse(JsonFactory.newObject(command.toJsonString()), DittoHeaders.empty());
+
+        assertThat(parsed).isEqualTo(command);
+    }
+
+}